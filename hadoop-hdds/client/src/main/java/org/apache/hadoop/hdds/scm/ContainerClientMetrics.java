@@ -66,6 +66,10 @@ public final class ContainerClientMetrics {
   private MutableCounterLong writeChunksDuringWrite;
   @Metric
   private MutableCounterLong flushesDuringWrite;
+  @Metric
+  private MutableRate bufferAllocateWaitNs;
+  @Metric
+  private MutableRate bufferFullWaitNs;
 
   private MutableQuantiles[] listBlockLatency;
   private MutableQuantiles[] getBlockLatency;
@@ -327,4 +331,14 @@ public MutableCounterLong getWriteChunksDuringWrite() {
   public MutableCounterLong getFlushesDuringWrite() {
     return flushesDuringWrite;
   }
+
+  /** Time to allocate a buffer, including waiting for buffers to be freed. */
+  public MutableRate getBufferAllocateWaitNs() {
+    return bufferAllocateWaitNs;
+  }
+
+  /** Time waiting for the data to be committed when all buffers are used. */
+  public MutableRate getBufferFullWaitNs() {
+    return bufferFullWaitNs;
+  }
 }
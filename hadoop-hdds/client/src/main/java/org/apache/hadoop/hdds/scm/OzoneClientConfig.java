@@ -105,6 +105,17 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private int bufferIncrement = 0;
 
+  @Config(key = "ozone.client.stream.buffer.total.max.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "Maximum size of the stream buffers of all the keys "
+          + "written by a client at the same time.  A key may always use the "
+          + "buffers up to ozone.client.stream.buffer.flush.size; beyond "
+          + "them, writing waits until buffers of other keys are freed.  "
+          + "0 means no limit.",
+      tags = ConfigTag.CLIENT)
+  private long streamBufferTotalMaxSize = 0;
+
   @Config(key = "ozone.client.stream.buffer.flush.delay",
       defaultValue = "true",
       description = "Default true, when call flush() and determine whether "
@@ -319,11 +330,38 @@ public class OzoneClientConfig {
       description = "Timeout for receiving streaming read responses.")
   private Duration streamReadTimeout = Duration.ofSeconds(10);
 
+  @Config(key = "ozone.client.parallel.write.part.size",
+      defaultValue = "64MB",
+      type = ConfigType.SIZE,
+      tags = ConfigTag.CLIENT,
+      description = "Size of the parts a key written by the parallel writer "
+          + "is uploaded in.  Each part in flight is buffered in memory.  It "
+          + "should not be smaller than ozone.om.multipart.min.size.")
+  private int parallelWritePartSize = 64 * 1024 * 1024;
+
+  @Config(key = "ozone.client.parallel.write.threads",
+      defaultValue = "4",
+      type = ConfigType.INT,
+      tags = ConfigTag.CLIENT,
+      description = "Maximum number of parts of a key uploaded concurrently "
+          + "by the parallel writer.")
+  private int parallelWriteThreads = 4;
+
+  @Config(key = "ozone.client.parallel.write.part.retries",
+      defaultValue = "3",
+      type = ConfigType.INT,
+      tags = ConfigTag.CLIENT,
+      description = "Number of times the parallel writer uploads a part "
+          + "again after it failed.")
+  private int parallelWritePartRetries = 3;
+
   @PostConstruct
   public void validate() {
     Preconditions.checkState(streamBufferSize > 0);
     Preconditions.checkState(streamBufferFlushSize > 0);
     Preconditions.checkState(streamBufferMaxSize > 0);
+    Preconditions.checkState(parallelWritePartSize > 0);
+    Preconditions.checkState(parallelWriteThreads > 0);
 
     Preconditions.checkArgument(bufferIncrement < streamBufferSize,
         "Buffer increment should be smaller than the size of the stream "
@@ -646,6 +684,38 @@ public void setStreamReadTimeout(Duration streamReadTimeout) {
     this.streamReadTimeout = streamReadTimeout;
   }
 
+  public long getStreamBufferTotalMaxSize() {
+    return streamBufferTotalMaxSize;
+  }
+
+  public void setStreamBufferTotalMaxSize(long streamBufferTotalMaxSize) {
+    this.streamBufferTotalMaxSize = streamBufferTotalMaxSize;
+  }
+
+  public int getParallelWritePartSize() {
+    return parallelWritePartSize;
+  }
+
+  public void setParallelWritePartSize(int parallelWritePartSize) {
+    this.parallelWritePartSize = parallelWritePartSize;
+  }
+
+  public int getParallelWriteThreads() {
+    return parallelWriteThreads;
+  }
+
+  public void setParallelWriteThreads(int parallelWriteThreads) {
+    this.parallelWriteThreads = parallelWriteThreads;
+  }
+
+  public int getParallelWritePartRetries() {
+    return parallelWritePartRetries;
+  }
+
+  public void setParallelWritePartRetries(int parallelWritePartRetries) {
+    this.parallelWritePartRetries = parallelWritePartRetries;
+  }
+
   /**
    * Enum for indicating what mode to use when combining chunk and block
    * checksums to define an aggregate FileChecksum. This should be considered
@@ -409,7 +409,9 @@ private void doFlushOrWatchIfNeeded() throws IOException {
       }
 
       if (bufferPool.isAtCapacity()) {
+        final long start = Time.monotonicNowNanos();
         handleFullBuffer();
+        clientMetrics.getBufferFullWaitNs().add(Time.monotonicNowNanos() - start);
       }
     }
   }
@@ -425,7 +427,9 @@ private void recordWatchForCommitAsync(CompletableFuture<PutBlockResult> putBloc
   private void allocateNewBufferIfNeeded() throws IOException {
     if (currentBufferRemaining == 0) {
       try {
+        final long start = Time.monotonicNowNanos();
         currentBuffer = bufferPool.allocateBuffer(config.getBufferIncrement());
+        clientMetrics.getBufferAllocateWaitNs().add(Time.monotonicNowNanos() - start);
         currentBufferRemaining = currentBuffer.remaining();
         LOG.debug("Allocated new buffer {}, used = {}, capacity = {}", currentBuffer,
             bufferPool.getNumberOfUsedBuffers(), bufferPool.getCapacity());
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the memory of the {@link BufferPool}s of all the streams written by
+ * a client.  Buffers are reserved with compare-and-set, so streams do not
+ * contend on a lock to account for their buffers.
+ */
+public final class BufferLimit {
+  private static final BufferLimit UNLIMITED = new BufferLimit(0);
+
+  private final long maxBytes;
+  private final AtomicLong usedBytes = new AtomicLong();
+
+  /** @return a limit which does not limit anything. */
+  public static BufferLimit unlimited() {
+    return UNLIMITED;
+  }
+
+  /**
+   * @param maxBytes the maximum memory of the buffers, or 0 for no limit.
+   */
+  public BufferLimit(long maxBytes) {
+    this.maxBytes = maxBytes > 0 ? maxBytes : Long.MAX_VALUE;
+  }
+
+  /**
+   * Reserves memory for a buffer if it is within the limit.
+   * @return true if reserved.
+   */
+  boolean tryReserve(long bytes) {
+    long used;
+    do {
+      used = usedBytes.get();
+      if (used + bytes > maxBytes) {
+        return false;
+      }
+    } while (!usedBytes.compareAndSet(used, used + bytes));
+    return true;
+  }
+
+  /** Reserves memory for a buffer, even beyond the limit. */
+  void reserve(long bytes) {
+    usedBytes.addAndGet(bytes);
+  }
+
+  void release(long bytes) {
+    usedBytes.addAndGet(-bytes);
+  }
+
+  public long getUsedBytes() {
+    return usedBytes.get();
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+}
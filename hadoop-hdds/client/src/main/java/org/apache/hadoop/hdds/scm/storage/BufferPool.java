@@ -22,6 +22,7 @@
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -40,14 +41,23 @@
  * This pool is designed for concurrent access to allocation and release. It imposes a maximum number of buffers to be
  * allocated at the same time and once the limit has been approached, the thread requesting a new allocation needs to
  * wait until a allocated buffer is released.
+ * <p>
+ * The buffers created by the pools of a client are also limited by a shared
+ * {@link BufferLimit}.  A pool may always create its first
+ * {@code reservedBuffers} buffers; beyond them, it waits for either its own
+ * buffers to be released or the buffers of other pools to be freed.
  */
 public class BufferPool {
   private static final Logger LOG = LoggerFactory.getLogger(BufferPool.class);
+  /** How long to wait before checking the {@link BufferLimit} again. */
+  private static final long LIMIT_RECHECK_MS = 10;
 
   private static final BufferPool EMPTY = new BufferPool(0, 0);
   private final int bufferSize;
   private final int capacity;
   private final Function<ByteBuffer, ByteString> byteStringConversion;
+  private final BufferLimit limit;
+  private final int reservedBuffers;
 
   private final LinkedList<ChunkBuffer> allocated = new LinkedList<>();
   private final LinkedList<ChunkBuffer> released = new LinkedList<>();
@@ -66,9 +76,23 @@ public BufferPool(int bufferSize, int capacity) {
 
   public BufferPool(int bufferSize, int capacity,
       Function<ByteBuffer, ByteString> byteStringConversion) {
+    this(bufferSize, capacity, byteStringConversion, BufferLimit.unlimited(),
+        capacity);
+  }
+
+  /**
+   * @param limit the limit shared with the other pools of the client
+   * @param reservedBuffers the number of buffers which may be created
+   *                        regardless of the limit
+   */
+  public BufferPool(int bufferSize, int capacity,
+      Function<ByteBuffer, ByteString> byteStringConversion,
+      BufferLimit limit, int reservedBuffers) {
     this.capacity = capacity;
     this.bufferSize = bufferSize;
     this.byteStringConversion = byteStringConversion;
+    this.limit = limit;
+    this.reservedBuffers = reservedBuffers;
   }
 
   public Function<ByteBuffer, ByteString> byteStringConversion() {
@@ -94,8 +118,18 @@ public ChunkBuffer allocateBuffer(int increment) throws InterruptedException {
         notFull.await();
       }
       // Get a buffer to allocate, preferably from the released ones.
-      final ChunkBuffer buffer = released.isEmpty() ?
-          ChunkBuffer.allocate(bufferSize, increment) : released.removeFirst();
+      ChunkBuffer buffer = null;
+      while (buffer == null) {
+        if (!released.isEmpty()) {
+          buffer = released.removeFirst();
+        } else if (reserveNewBuffer()) {
+          buffer = ChunkBuffer.allocate(bufferSize, increment);
+        } else {
+          LOG.debug("Allocation needs to wait the client is at its buffer limit ({} bytes).",
+              limit.getMaxBytes());
+          notFull.await(LIMIT_RECHECK_MS, TimeUnit.MILLISECONDS);
+        }
+      }
       allocated.add(buffer);
       currentBuffer = buffer;
 
@@ -107,6 +141,15 @@ public ChunkBuffer allocateBuffer(int increment) throws InterruptedException {
     }
   }
 
+  /** Reserves the memory of a new buffer from the {@link BufferLimit}. */
+  private boolean reserveNewBuffer() {
+    if (allocated.size() + released.size() < reservedBuffers) {
+      limit.reserve(bufferSize);
+      return true;
+    }
+    return limit.tryReserve(bufferSize);
+  }
+
   void releaseBuffer(ChunkBuffer buffer) {
     LOG.debug("Releasing buffer {}", buffer);
     lock.lock();
@@ -164,6 +207,7 @@ public void clearBufferPool() {
     try {
       allocated.forEach(ChunkBuffer::close);
       released.forEach(ChunkBuffer::close);
+      limit.release((long) bufferSize * (allocated.size() + released.size()));
       allocated.clear();
       released.clear();
       currentBuffer = null;
@@ -21,7 +21,8 @@
 import com.google.common.collect.ComparisonChain;
 import java.nio.ByteBuffer;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.hadoop.io.ByteBufferPool;
@@ -33,66 +34,78 @@
  *
  * When the pool reaches its maximum size, newly returned buffers are not
  * added back to the pool and will be garbage collected instead.
+ *
+ * The pool is shared by all the streams of a client, so it does not lock:
+ * the buffers are kept in concurrent skip lists and the pool size is
+ * reserved with compare-and-set.
  */
 public class BoundedElasticByteBufferPool implements ByteBufferPool {
-  private final TreeMap<Key, ByteBuffer> buffers = new TreeMap<>();
-  private final TreeMap<Key, ByteBuffer> directBuffers = new TreeMap<>();
+  private final ConcurrentNavigableMap<Key, ByteBuffer> buffers =
+      new ConcurrentSkipListMap<>();
+  private final ConcurrentNavigableMap<Key, ByteBuffer> directBuffers =
+      new ConcurrentSkipListMap<>();
   private final long maxPoolSize;
   private  final AtomicLong currentPoolSize = new AtomicLong(0);
 
   /**
-   * A logical timestamp counter used for creating unique Keys in the TreeMap.
+   * A logical timestamp counter used for creating unique Keys in the maps.
    * This is used as the insertionTime for the Key instead of System.nanoTime()
    * to guarantee uniqueness and avoid a potential spin-wait in putBuffer
    * if two buffers of the same capacity are added at the same nanosecond.
    */
-  private long logicalTimestamp = 0;
+  private final AtomicLong logicalTimestamp = new AtomicLong();
 
   public BoundedElasticByteBufferPool(long maxPoolSize) {
     super();
     this.maxPoolSize = maxPoolSize;
   }
 
-  private TreeMap<Key, ByteBuffer> getBufferTree(boolean direct) {
+  private ConcurrentNavigableMap<Key, ByteBuffer> getBufferTree(boolean direct) {
     return direct ? this.directBuffers : this.buffers;
   }
 
   @Override
-  public synchronized ByteBuffer getBuffer(boolean direct, int length) {
-    TreeMap<Key, ByteBuffer> tree = this.getBufferTree(direct);
-    Map.Entry<Key, ByteBuffer> entry = tree.ceilingEntry(new Key(length, 0L));
-    if (entry == null) {
-      // Pool is empty or has no suitable buffer. Allocate a new one.
-      return direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+  public ByteBuffer getBuffer(boolean direct, int length) {
+    final ConcurrentNavigableMap<Key, ByteBuffer> tree = getBufferTree(direct);
+    final Key smallest = new Key(length, 0L);
+    for (Map.Entry<Key, ByteBuffer> entry = tree.ceilingEntry(smallest);
+         entry != null; entry = tree.ceilingEntry(smallest)) {
+      // Another thread may have taken the buffer in the meantime.
+      if (tree.remove(entry.getKey(), entry.getValue())) {
+        final ByteBuffer buffer = entry.getValue();
+        // Decrement the size because we are taking a buffer OUT of the pool.
+        currentPoolSize.addAndGet(-buffer.capacity());
+        buffer.clear();
+        return buffer;
+      }
     }
-    tree.remove(entry.getKey());
-    ByteBuffer buffer = entry.getValue();
-
-    // Decrement the size because we are taking a buffer OUT of the pool.
-    currentPoolSize.addAndGet(-buffer.capacity());
-    buffer.clear();
-    return buffer;
+    // Pool is empty or has no suitable buffer. Allocate a new one.
+    return direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
   }
 
   @Override
-  public synchronized void putBuffer(ByteBuffer buffer) {
+  public void putBuffer(ByteBuffer buffer) {
     if (buffer == null) {
       return;
     }
 
-    if (currentPoolSize.get() + buffer.capacity() > maxPoolSize) {
-      // Pool is full, do not add the buffer back.
-      // It will be garbage collected by JVM.
-      return;
-    }
+    // Reserve the size before adding the buffer, so that concurrent
+    // puts do not exceed the maximum.
+    final long capacity = buffer.capacity();
+    long size;
+    do {
+      size = currentPoolSize.get();
+      if (size + capacity > maxPoolSize) {
+        // Pool is full, do not add the buffer back.
+        // It will be garbage collected by JVM.
+        return;
+      }
+    } while (!currentPoolSize.compareAndSet(size, size + capacity));
 
     buffer.clear();
-    TreeMap<Key, ByteBuffer> tree = getBufferTree(buffer.isDirect());
-    Key key = new Key(buffer.capacity(), logicalTimestamp++);
-
-    tree.put(key, buffer);
-    // Increment the size because we have successfully added buffer back to the pool.
-    currentPoolSize.addAndGet(buffer.capacity());
+    final Key key = new Key(buffer.capacity(),
+        logicalTimestamp.getAndIncrement());
+    getBufferTree(buffer.isDirect()).put(key, buffer);
   }
 
   /**
@@ -101,7 +114,7 @@ public synchronized void putBuffer(ByteBuffer buffer) {
    * @return Current pool size in bytes
    */
   @VisibleForTesting
-  public synchronized long getCurrentPoolSize() {
+  public long getCurrentPoolSize() {
     return currentPoolSize.get();
   }
 
@@ -29,6 +29,7 @@
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.ozone.test.GenericTestUtils;
 import org.apache.ozone.test.GenericTestUtils.LogCapturer;
@@ -63,6 +64,50 @@ void testBufferPoolConcurrently() throws Exception {
     assertAllocationBlockedUntilReleased(pool, buffers);
   }
 
+  @Test
+  void testBufferLimitSharedByPools() throws Exception {
+    final int size = 1 << 10;
+    final BufferLimit limit = new BufferLimit(2L * size);
+    final BufferPool pool1 = newLimitedPool(size, limit);
+    final BufferPool pool2 = newLimitedPool(size, limit);
+
+    pool1.allocateBuffer(0);
+    pool1.allocateBuffer(0);
+    // The reserved buffer of a pool is created beyond the limit.
+    final ChunkBuffer reserved = pool2.allocateBuffer(0);
+    assertEquals(3L * size, limit.getUsedBytes());
+
+    // A released buffer of the pool is reused without waiting.
+    pool2.releaseBuffer(reserved);
+    assertSame(reserved, pool2.allocateBuffer(0));
+
+    // Other buffers wait until other pools free theirs.
+    AtomicReference<ChunkBuffer> allocated = new AtomicReference<>();
+    Thread allocator = new Thread(() -> {
+      try {
+        allocated.set(pool2.allocateBuffer(0));
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    allocator.start();
+    allocator.join(200);
+    assertNull(allocated.get());
+
+    pool1.clearBufferPool();
+    allocator.join();
+    assertEquals(2, pool2.getNumberOfUsedBuffers());
+    assertEquals(2L * size, limit.getUsedBytes());
+
+    pool2.clearBufferPool();
+    assertEquals(0, limit.getUsedBytes());
+  }
+
+  private static BufferPool newLimitedPool(int size, BufferLimit limit) {
+    return new BufferPool(size, 4,
+        ByteStringConversion.createByteBufferConversion(false), limit, 1);
+  }
+
   private void assertAllocationBlockedUntilReleased(BufferPool pool, Deque<ChunkBuffer> buffers) throws Exception {
     // As the pool is full, allocation will need to wait until a buffer is released.
     assertFull(pool);
@@ -167,6 +167,9 @@ public final class HddsConfigKeys {
   public static final String HDDS_BLOCK_TOKEN_EXPIRY_TIME =
       "hdds.block.token.expiry.time";
   public static final String HDDS_BLOCK_TOKEN_EXPIRY_TIME_DEFAULT = "1d";
+  public static final String HDDS_TOKEN_VERIFICATION_CACHE_SIZE =
+      "hdds.token.verification.cache.size";
+  public static final int HDDS_TOKEN_VERIFICATION_CACHE_SIZE_DEFAULT = 10000;
   /**
    * Maximum duration of certificates issued by SCM including Self-Signed
    * Roots and sub-ca certificates issued by root CA.
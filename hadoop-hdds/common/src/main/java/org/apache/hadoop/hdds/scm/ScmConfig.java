@@ -138,10 +138,31 @@ public class ScmConfig extends ReconfigurableConfig {
   )
   private int transactionToDNsCommitMapLimit = 5000000;
 
+  @Config(key = "hdds.scm.block.deletion.per-dn.adaptive",
+      defaultValue = "true",
+      type = ConfigType.BOOLEAN,
+      tags = { ConfigTag.SCM, ConfigTag.DELETION },
+      description =
+          "If true, the number of blocks SCM sends to a datanode for deletion"
+              + " in an interval follows the rate at which the datanode"
+              + " acknowledges deleted blocks, bounded by"
+              + " hdds.scm.block.deletion.per-interval.max. If false, every"
+              + " datanode gets an even share of the blocks of the interval."
+  )
+  private boolean adaptiveBlockDeletionPerDatanode = true;
+
   public int getTransactionToDNsCommitMapLimit() {
     return transactionToDNsCommitMapLimit;
   }
 
+  public boolean isAdaptiveBlockDeletionPerDatanode() {
+    return adaptiveBlockDeletionPerDatanode;
+  }
+
+  public void setAdaptiveBlockDeletionPerDatanode(boolean adaptive) {
+    this.adaptiveBlockDeletionPerDatanode = adaptive;
+  }
+
   public Duration getBlockDeletionInterval() {
     return blockDeletionInterval;
   }
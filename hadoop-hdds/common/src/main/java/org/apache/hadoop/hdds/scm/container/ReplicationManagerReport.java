@@ -98,6 +98,32 @@ public void setComplete() {
     reportTimeStamp = System.currentTimeMillis();
   }
 
+  /**
+   * Adds the stats and samples of the given report to this report, keeping
+   * at most sampleLimit samples for each stat. This allows separate sets of
+   * containers to be checked into separate reports, which are combined once
+   * all the checks are complete.
+   * @param other The report to add to this report.
+   */
+  public void merge(ReplicationManagerReport other) {
+    for (Map.Entry<String, LongAdder> e : other.stats.entrySet()) {
+      getStatAndEnsurePresent(e.getKey()).add(e.getValue().longValue());
+    }
+    for (Map.Entry<String, List<ContainerID>> e :
+        other.containerSample.entrySet()) {
+      List<ContainerID> list = containerSample
+          .computeIfAbsent(e.getKey(), k -> new ArrayList<>());
+      synchronized (list) {
+        for (ContainerID container : other.getSample(e.getKey())) {
+          if (list.size() >= sampleLimit) {
+            break;
+          }
+          list.add(container);
+        }
+      }
+    }
+  }
+
   /**
    * The epoch time in milli-seconds when this report was completed.
    * @return epoch time in milli-seconds.
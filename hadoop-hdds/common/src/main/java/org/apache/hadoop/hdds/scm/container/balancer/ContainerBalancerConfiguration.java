@@ -152,6 +152,13 @@ public final class ContainerBalancerConfiguration {
           "OVER_REPLICATED CLOSED/QUASI_CLOSED and HEALTHY QUASI_CLOSED containers.")
   private boolean includeNonStandardContainers = false;
 
+  @Config(key = "hdds.container.balancer.planning.threads", type = ConfigType.INT,
+      defaultValue = "4", tags = {ConfigTag.BALANCER},
+      description = "The number of threads used to evaluate candidate containers " +
+          "and targets for a source datanode while planning moves. With 1, " +
+          "candidates are evaluated one by one on the balancer thread.")
+  private int planningThreads = 4;
+
   /**
    * Gets the threshold value for Container Balancer.
    *
@@ -456,6 +463,19 @@ public void setIncludeNonStandardContainers(boolean enable) {
     includeNonStandardContainers = enable;
   }
 
+  /**
+   * Gets the number of threads evaluating move candidates.
+   *
+   * @return number of threads, at least 1
+   */
+  public int getPlanningThreads() {
+    return Math.max(1, planningThreads);
+  }
+
+  public void setPlanningThreads(int threads) {
+    planningThreads = threads;
+  }
+
   @Override
   public String toString() {
     return String.format("Container Balancer Configuration values:%n" +
@@ -132,6 +132,7 @@ public class SecurityConfig {
   private final String x509SignatureAlgo;
   private final boolean blockTokenEnabled;
   private final long blockTokenExpiryDurationMs;
+  private final int tokenVerificationCacheSize;
   private final boolean tokenSanityChecksEnabled;
   private final boolean containerTokenEnabled;
   private final String certificateDir;
@@ -198,6 +199,9 @@ public SecurityConfig(ConfigurationSource configuration) {
         HddsConfigKeys.HDDS_BLOCK_TOKEN_EXPIRY_TIME,
         HddsConfigKeys.HDDS_BLOCK_TOKEN_EXPIRY_TIME_DEFAULT,
         TimeUnit.MILLISECONDS);
+    this.tokenVerificationCacheSize = configuration.getInt(
+        HddsConfigKeys.HDDS_TOKEN_VERIFICATION_CACHE_SIZE,
+        HddsConfigKeys.HDDS_TOKEN_VERIFICATION_CACHE_SIZE_DEFAULT);
     tokenSanityChecksEnabled = configuration.getBoolean(
         HddsConfigKeys.HDDS_X509_GRACE_DURATION_TOKEN_CHECKS_ENABLED,
         HddsConfigKeys.HDDS_X509_GRACE_DURATION_TOKEN_CHECKS_ENABLED_DEFAULT);
@@ -567,6 +571,14 @@ public long getBlockTokenExpiryDurationMs() {
     return blockTokenExpiryDurationMs;
   }
 
+  /**
+   * Maximum number of verified short-lived tokens remembered by a datanode,
+   * 0 to verify the signature of every request.
+   */
+  public int getTokenVerificationCacheSize() {
+    return tokenVerificationCacheSize;
+  }
+
   /**
    * Whether to require short-lived tokens for container operations.
    */
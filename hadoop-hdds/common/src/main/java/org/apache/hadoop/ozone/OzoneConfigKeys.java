@@ -485,6 +485,12 @@ public final class OzoneConfigKeys {
   public static final String OZONE_FS_ITERATE_BATCH_SIZE =
       "ozone.fs.iterate.batch-size";
   public static final int OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT = 100;
+  public static final String OZONE_FS_ITERATE_THREADS =
+      "ozone.fs.iterate.threads";
+  public static final int OZONE_FS_ITERATE_THREADS_DEFAULT = 4;
+  public static final String OZONE_FS_ITERATE_BATCH_RETRIES =
+      "ozone.fs.iterate.batch-retries";
+  public static final int OZONE_FS_ITERATE_BATCH_RETRIES_DEFAULT = 3;
 
   // Ozone Client Retry and Failover configurations
   public static final String OZONE_CLIENT_FAILOVER_MAX_ATTEMPTS_KEY =
@@ -645,6 +651,20 @@ public final class OzoneConfigKeys {
   public static final String OZONE_AUDIT_LOG_DEBUG_CMD_LIST_OMAUDIT =
       "ozone.audit.log.debug.cmd.list.omaudit";
 
+  public static final String OZONE_AUDIT_LOG_ASYNC_ENABLED =
+      "ozone.audit.log.async.enabled";
+  public static final boolean OZONE_AUDIT_LOG_ASYNC_ENABLED_DEFAULT = false;
+  public static final String OZONE_AUDIT_LOG_ASYNC_QUEUE_SIZE =
+      "ozone.audit.log.async.queue.size";
+  public static final int OZONE_AUDIT_LOG_ASYNC_QUEUE_SIZE_DEFAULT = 65536;
+  public static final String OZONE_AUDIT_LOG_ASYNC_BATCH_SIZE =
+      "ozone.audit.log.async.batch.size";
+  public static final int OZONE_AUDIT_LOG_ASYNC_BATCH_SIZE_DEFAULT = 256;
+  public static final String OZONE_AUDIT_LOG_ASYNC_OVERFLOW_POLICY =
+      "ozone.audit.log.async.overflow.policy";
+  public static final String OZONE_AUDIT_LOG_ASYNC_OVERFLOW_POLICY_DEFAULT =
+      "BLOCK";
+
   // Items listing page size for fs client sub-commands output
   public static final String
       OZONE_FS_LISTING_PAGE_SIZE = "ozone.fs.listing.page.size";
@@ -652,6 +672,10 @@ public final class OzoneConfigKeys {
   public static final int
       OZONE_FS_LISTING_PAGE_SIZE_DEFAULT = 1024;
 
+  public static final String OZONE_FS_LISTING_PREFETCH_ENABLED =
+      "ozone.fs.listing.prefetch.enabled";
+  public static final boolean OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT = true;
+
   public static final int
       OZONE_FS_MAX_LISTING_PAGE_SIZE = 5000;
 
@@ -61,6 +61,12 @@ public enum OzoneManagerVersion implements ComponentVersion {
   S3_BUCKET_TAGGING_API(13,
       "OzoneManager version that supports S3 bucket tagging APIs, such as "
           + "PutBucketTagging, GetBucketTagging, and DeleteBucketTagging"),
+
+  CONTENT_SUMMARY(14,
+      "OzoneManager version that supports computing the content summary of a directory"),
+
+  COPY_KEY(15,
+      "OzoneManager version that supports copying a key by sharing its blocks"),
     
   FUTURE_VERSION(-1, "Used internally in the client when the server side is "
       + " newer and an unknown server version has arrived to the client.");
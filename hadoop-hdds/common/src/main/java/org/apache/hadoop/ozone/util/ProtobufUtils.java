@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.util;
 
 import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
 import java.util.UUID;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 
@@ -50,4 +51,8 @@ public static int computeRepeatedStringSize(String value) {
   public static int computeLongSizeWithTag(int fieldNumber, long value) {
     return CodedOutputStream.computeInt64Size(fieldNumber, value);
   }
+
+  public static int computeMessageSizeWithTag(int fieldNumber, MessageLite value) {
+    return CodedOutputStream.computeMessageSize(fieldNumber, value);
+  }
 }
@@ -148,6 +148,42 @@ void testCustomSampleLimit() {
     verifySampleLimit(customReport, 50);
   }
 
+  @Test
+  void testReportsCanBeMerged() {
+    ReplicationManagerReport mergedReport = new ReplicationManagerReport(3);
+    ReplicationManagerReport first = new ReplicationManagerReport(3);
+    first.increment(HddsProtos.LifeCycleState.CLOSED);
+    first.increment(ContainerHealthState.UNDER_REPLICATED);
+    first.increment(ContainerHealthState.UNDER_REPLICATED);
+    List<ContainerID> firstSample = new ArrayList<>();
+    firstSample.add(ContainerID.valueOf(1));
+    firstSample.add(ContainerID.valueOf(2));
+    first.setSample(ContainerHealthState.UNDER_REPLICATED.name(), firstSample);
+
+    ReplicationManagerReport second = new ReplicationManagerReport(3);
+    second.increment(HddsProtos.LifeCycleState.CLOSED);
+    second.increment(ContainerHealthState.UNDER_REPLICATED);
+    second.increment(ContainerHealthState.OVER_REPLICATED);
+    List<ContainerID> secondSample = new ArrayList<>();
+    secondSample.add(ContainerID.valueOf(3));
+    secondSample.add(ContainerID.valueOf(4));
+    second.setSample(ContainerHealthState.UNDER_REPLICATED.name(),
+        secondSample);
+
+    mergedReport.merge(first);
+    mergedReport.merge(second);
+
+    assertEquals(2, mergedReport.getStat(HddsProtos.LifeCycleState.CLOSED));
+    assertEquals(3,
+        mergedReport.getStat(ContainerHealthState.UNDER_REPLICATED));
+    assertEquals(1,
+        mergedReport.getStat(ContainerHealthState.OVER_REPLICATED));
+    // Samples are limited to the sample limit of the merged report.
+    assertThat(mergedReport.getSample(ContainerHealthState.UNDER_REPLICATED))
+        .containsExactly(ContainerID.valueOf(1), ContainerID.valueOf(2),
+            ContainerID.valueOf(3));
+  }
+
   /**
    * Helper method to verify that sample limit is set correctly.
    * Note: Sample collection happens via incrementAndSample() which takes ContainerInfo.
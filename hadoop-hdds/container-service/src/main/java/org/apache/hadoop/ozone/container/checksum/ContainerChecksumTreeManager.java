@@ -450,7 +450,6 @@ public static ContainerProtos.ContainerChecksumInfo readChecksumInfo(ContainerDa
     }
   }
 
-  @VisibleForTesting
   public ContainerMerkleTreeMetrics getMetrics() {
     return this.metrics;
   }
@@ -57,6 +57,12 @@ public class ContainerMerkleTreeMetrics {
   @Metric(about = "Number of diverged block deletes identified during container reconciliation")
   private MutableCounterLong numDivergedDeletedBlocksIdentified;
 
+  @Metric(about = "Number of bytes fetched from peers to repair containers during container reconciliation")
+  private MutableCounterLong numReconciliationBytesTransferred;
+
+  @Metric(about = "Number of bytes in the containers reconciled, to compare with the bytes fetched from peers")
+  private MutableCounterLong numReconciledContainerBytes;
+
   @Metric(about = "Merkle tree write latency")
   private MutableRate merkleTreeWriteLatencyNS;
 
@@ -120,6 +126,14 @@ public void incrementDivergedDeletedBlocksIdentified(long value) {
     this.numDivergedDeletedBlocksIdentified.incr(value);
   }
 
+  public void incrementReconciliationBytesTransferred(long value) {
+    this.numReconciliationBytesTransferred.incr(value);
+  }
+
+  public void incrementReconciledContainerBytes(long value) {
+    this.numReconciledContainerBytes.incr(value);
+  }
+
   public MutableRate getWriteContainerMerkleTreeLatencyNS() {
     return this.merkleTreeWriteLatencyNS;
   }
@@ -159,4 +173,12 @@ public long getMissingChunksIdentified() {
   public long getCorruptChunksIdentified() {
     return this.numCorruptChunksIdentified.value();
   }
+
+  public long getReconciliationBytesTransferred() {
+    return this.numReconciliationBytesTransferred.value();
+  }
+
+  public long getReconciledContainerBytes() {
+    return this.numReconciledContainerBytes.value();
+  }
 }
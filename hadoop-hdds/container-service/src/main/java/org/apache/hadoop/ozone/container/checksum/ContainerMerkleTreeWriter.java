@@ -40,7 +40,10 @@
  * This class can be used to construct a consistent and completely filled {@link ContainerProtos.ContainerMerkleTree}
  * object. It allows building a container merkle tree from scratch by incrementally adding chunks.
  * The final checksums above the leaf levels of the tree are not calculated until
- * {@link ContainerMerkleTreeWriter#toProto} is called.
+ * {@link ContainerMerkleTreeWriter#toProto} is called. Blocks loaded from an existing tree keep their checksums until
+ * they are modified, so updating a tree only recomputes the blocks that changed.
+ *
+ * This class is thread safe, so blocks can be added to the same writer while they are repaired in parallel.
  */
 public class ContainerMerkleTreeWriter {
 
@@ -67,10 +70,7 @@ public ContainerMerkleTreeWriter(ContainerProtos.ContainerMerkleTree fromTree) {
       if (blockTree.getDeleted()) {
         setDeletedBlock(blockID, blockTree.getDataChecksum());
       } else {
-        addBlock(blockID);
-        for (ContainerProtos.ChunkMerkleTree chunkTree: blockTree.getChunkMerkleTreeList()) {
-          addChunks(blockID, new ChunkMerkleTreeWriter(chunkTree));
-        }
+        id2Block.put(blockID, new BlockMerkleTreeWriter(blockTree));
       }
     }
   }
@@ -84,13 +84,14 @@ public ContainerMerkleTreeWriter(ContainerProtos.ContainerMerkleTree fromTree) {
    *    the chunks being added had checksum errors.
    * @param chunks A list of chunks to add to this block. The chunks will be sorted internally by their offset.
    */
-  public void addChunks(long blockID, boolean checksumMatches, Collection<ContainerProtos.ChunkInfo> chunks) {
+  public synchronized void addChunks(long blockID, boolean checksumMatches,
+      Collection<ContainerProtos.ChunkInfo> chunks) {
     for (ContainerProtos.ChunkInfo chunk: chunks) {
       addChunks(blockID, new ChunkMerkleTreeWriter(chunk, checksumMatches));
     }
   }
 
-  public void addChunks(long blockID, boolean checksumMatches, ContainerProtos.ChunkInfo... chunks) {
+  public synchronized void addChunks(long blockID, boolean checksumMatches, ContainerProtos.ChunkInfo... chunks) {
     for (ContainerProtos.ChunkInfo chunk: chunks) {
       addChunks(blockID, new ChunkMerkleTreeWriter(chunk, checksumMatches));
     }
@@ -106,7 +107,7 @@ private void addChunks(long blockID, ChunkMerkleTreeWriter chunkWriter) {
    *
    * @param blockID The ID of the empty block to add to the tree
    */
-  public void addBlock(long blockID) {
+  public synchronized void addBlock(long blockID) {
     id2Block.computeIfAbsent(blockID, BlockMerkleTreeWriter::new);
   }
 
@@ -117,7 +118,7 @@ public void addBlock(long blockID) {
    * This method is used on the reconciliation path to update the data checksum used for a deleted block based on a
    * peer's value.
    */
-  public void setDeletedBlock(long blockID, long dataChecksum) {
+  public synchronized void setDeletedBlock(long blockID, long dataChecksum) {
     BlockMerkleTreeWriter blockWriter = new BlockMerkleTreeWriter(blockID);
     blockWriter.markDeleted(dataChecksum);
     id2Block.put(blockID, blockWriter);
@@ -140,7 +141,7 @@ public void setDeletedBlock(long blockID, long dataChecksum) {
    * scanner's value because it would again diverge from the peer due to data that is expected to be deleted.
    * This would cause the checksum to oscillate back and forth until the block is deleted, instead of converging.
    */
-  public ContainerProtos.ContainerMerkleTree update(ContainerProtos.ContainerMerkleTree existingTree) {
+  public synchronized ContainerProtos.ContainerMerkleTree update(ContainerProtos.ContainerMerkleTree existingTree) {
     for (ContainerProtos.BlockMerkleTree existingBlockTree: existingTree.getBlockMerkleTreeList()) {
       long blockID = existingBlockTree.getBlockID();
       BlockMerkleTreeWriter ourBlockTree = id2Block.get(blockID);
@@ -173,7 +174,8 @@ public ContainerProtos.ContainerMerkleTree update(ContainerProtos.ContainerMerkl
    * If it is false, the resulting tree proto will have data checksums for each block, but an empty/unset data checksum
    * for the container at the root of the tree.
    */
-  public ContainerProtos.ContainerMerkleTree addDeletedBlocks(Collection<BlockData> blocks, boolean computeChecksum) {
+  public synchronized ContainerProtos.ContainerMerkleTree addDeletedBlocks(Collection<BlockData> blocks,
+      boolean computeChecksum) {
     for (BlockData block: blocks) {
       long blockID = block.getLocalID();
       BlockMerkleTreeWriter blockWriter = new BlockMerkleTreeWriter(blockID);
@@ -215,7 +217,7 @@ private ContainerProtos.ContainerMerkleTree.Builder toProtoBuilder() {
         .setDataChecksum(checksumImpl.getValue());
   }
 
-  public ContainerProtos.ContainerMerkleTree toProto() {
+  public synchronized ContainerProtos.ContainerMerkleTree toProto() {
     return toProtoBuilder().build();
   }
 
@@ -229,6 +231,8 @@ private static class BlockMerkleTreeWriter {
     private final long blockID;
     private boolean deleted;
     private Long dataChecksum;
+    // The proto of this block while it is unchanged since it was loaded from an existing tree.
+    private ContainerProtos.BlockMerkleTree unchangedProto;
 
     BlockMerkleTreeWriter(long blockID) {
       this.blockID = blockID;
@@ -236,13 +240,26 @@ private static class BlockMerkleTreeWriter {
       this.deleted = false;
     }
 
+    /**
+     * Constructs a writer for a live block which initially contains all the chunks from the specified proto.
+     */
+    BlockMerkleTreeWriter(ContainerProtos.BlockMerkleTree fromTree) {
+      this(fromTree.getBlockID());
+      for (ContainerProtos.ChunkMerkleTree chunkTree: fromTree.getChunkMerkleTreeList()) {
+        offset2Chunk.put(chunkTree.getOffset(), new ChunkMerkleTreeWriter(chunkTree));
+      }
+      this.unchangedProto = fromTree;
+    }
+
     public void markDeleted(long deletedDataChecksum) {
       this.deleted = true;
       this.dataChecksum = deletedDataChecksum;
+      this.unchangedProto = null;
     }
 
     public void markDeleted() {
       this.deleted = true;
+      this.unchangedProto = null;
     }
 
     /**
@@ -255,6 +272,7 @@ public void addChunks(ChunkMerkleTreeWriter... chunks) {
       for (ChunkMerkleTreeWriter chunk: chunks) {
         offset2Chunk.put(chunk.getOffset(), chunk);
       }
+      unchangedProto = null;
     }
 
     public boolean isDeleted() {
@@ -263,11 +281,15 @@ public boolean isDeleted() {
 
     /**
      * Uses chunk hashes to compute a block hash for this tree, and returns it as a protobuf object. All block checksum
-     * computation for the tree happens within this method.
+     * computation for the tree happens within this method. A block that was not modified since it was loaded from an
+     * existing tree returns the loaded proto without recomputing it.
      *
      * @return A complete protobuf object representation of this block tree.
      */
     public ContainerProtos.BlockMerkleTree toProto() {
+      if (unchangedProto != null) {
+        return unchangedProto;
+      }
       ContainerProtos.BlockMerkleTree.Builder blockTreeBuilder = ContainerProtos.BlockMerkleTree.newBuilder();
       if (dataChecksum != null) {
         blockTreeBuilder.setDataChecksum(dataChecksum);
@@ -23,6 +23,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.ozone.container.common.impl.BlockDeletingService;
 
 /**
@@ -84,6 +85,15 @@ public final class BlockDeletingServiceMetrics {
   @Metric(about = "The number of delete block transactions failed.")
   private MutableGaugeLong processedTransactionFailCount;
 
+  @Metric(about = "Time taken to delete the files of a block in nanoseconds.")
+  private MutableRate blockFileDeleteTime;
+
+  @Metric(about = "The number of blocks deleted per second since the previous interval.")
+  private MutableGaugeLong deletedBlocksPerSecond;
+
+  @Metric(about = "The bytes of blocks deleted per second since the previous interval.")
+  private MutableGaugeLong deletedBytesPerSecond;
+
   private BlockDeletingServiceMetrics() {
   }
 
@@ -162,6 +172,15 @@ public void setTotalPendingBlockBytes(long bytes) {
     this.totalPendingBlockBytes.set(bytes);
   }
 
+  public void addBlockFileDeleteTime(long nanos) {
+    blockFileDeleteTime.add(nanos);
+  }
+
+  public void setDeletionThroughput(long blocksPerSecond, long bytesPerSecond) {
+    deletedBlocksPerSecond.set(blocksPerSecond);
+    deletedBytesPerSecond.set(bytesPerSecond);
+  }
+
   public void incrTotalLockTimeoutTransactionCount() {
     totalLockTimeoutTransactionCount.incr();
   }
@@ -214,6 +233,14 @@ public long getProcessedTransactionFailCount() {
     return processedTransactionFailCount.value();
   }
 
+  public long getDeletedBlocksPerSecond() {
+    return deletedBlocksPerSecond.value();
+  }
+
+  public long getDeletedBytesPerSecond() {
+    return deletedBytesPerSecond.value();
+  }
+
   @Override
   public String toString() {
     StringBuilder buffer = new StringBuilder()
@@ -233,7 +260,9 @@ public String toString() {
         .append("receivedContainerCount = ").append(receivedContainerCount.value()).append('\t')
         .append("receivedBlockCount = ").append(receivedBlockCount.value()).append('\t')
         .append("markedBlockCount = ").append(markedBlockCount.value()).append('\t')
-        .append("totalLockTimeoutTransactionCount = ").append(totalLockTimeoutTransactionCount.value()).append('\t');
+        .append("totalLockTimeoutTransactionCount = ").append(totalLockTimeoutTransactionCount.value()).append('\t')
+        .append("deletedBlocksPerSecond = ").append(deletedBlocksPerSecond.value()).append('\t')
+        .append("deletedBytesPerSecond = ").append(deletedBytesPerSecond.value()).append('\t');
     return buffer.toString();
   }
 }
@@ -49,7 +49,9 @@
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.XceiverServerRatis;
 import org.apache.hadoop.ozone.container.keyvalue.statemachine.background.BlockDeletingTask;
+import org.apache.hadoop.ozone.container.keyvalue.statemachine.background.BlockFileDeleter;
 import org.apache.hadoop.ozone.container.ozoneimpl.OzoneContainer;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,6 +77,13 @@ public class BlockDeletingService extends BackgroundService {
 
   private final ContainerChecksumTreeManager checksumTreeManager;
 
+  private final BlockFileDeleter blockFileDeleter;
+
+  // Deleted blocks and bytes at the previous interval, to derive throughput.
+  private long lastSuccessCount;
+  private long lastSuccessBytes;
+  private long lastIntervalTime;
+
   @VisibleForTesting
   public BlockDeletingService(
       OzoneContainer ozoneContainer, long serviceInterval, long serviceTimeout,
@@ -111,6 +120,8 @@ public BlockDeletingService(
     this.blockDeletingMaxLockHoldingTime =
         dnConf.getBlockDeletingMaxLockHoldingTime();
     metrics = BlockDeletingServiceMetrics.create();
+    this.blockFileDeleter = new BlockFileDeleter(
+        dnConf.getBlockDeletingThreadsPerVolume(), threadNamePrefix, metrics);
   }
 
   public void registerReconfigCallbacks(ReconfigurationHandler handler) {
@@ -170,6 +181,7 @@ public Long getNumBlocksToDelete() {
   @Override
   public BackgroundTaskQueue getTasks() {
     BackgroundTaskQueue queue = new BackgroundTaskQueue();
+    updateThroughput();
 
     try {
       // We at most list a number of containers a time,
@@ -209,6 +221,21 @@ public BackgroundTaskQueue getTasks() {
     return queue;
   }
 
+  private void updateThroughput() {
+    final long now = Time.monotonicNow();
+    final long successCount = metrics.getSuccessCount();
+    final long successBytes = metrics.getSuccessBytes();
+    if (lastIntervalTime > 0 && now > lastIntervalTime) {
+      final long elapsedMs = now - lastIntervalTime;
+      metrics.setDeletionThroughput(
+          (successCount - lastSuccessCount) * 1000 / elapsedMs,
+          (successBytes - lastSuccessBytes) * 1000 / elapsedMs);
+    }
+    lastIntervalTime = now;
+    lastSuccessCount = successCount;
+    lastSuccessBytes = successBytes;
+  }
+
   public List<ContainerBlockInfo> chooseContainerForBlockDeletion(
       int blockLimit, ContainerDeletionChoosingPolicy deletionPolicy)
       throws StorageContainerException {
@@ -316,6 +343,10 @@ public BlockDeletingServiceMetrics getMetrics() {
     return metrics;
   }
 
+  public BlockFileDeleter getBlockFileDeleter() {
+    return blockFileDeleter;
+  }
+
   public Duration getBlockDeletingMaxLockHoldingTime() {
     return blockDeletingMaxLockHoldingTime;
   }
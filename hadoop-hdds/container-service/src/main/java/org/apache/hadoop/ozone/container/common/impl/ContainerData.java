@@ -110,6 +110,8 @@ public abstract class ContainerData {
    * eg. in prior versions). */
   private Long dataScanTimestamp; // for serialization
   private transient Optional<Instant> lastDataScanTime = Optional.empty();
+  /** When a scan of the container was last requested, e.g. after a failed read. */
+  private transient volatile Instant scanRequestTime;
 
   public static final Charset CHARSET_ENCODING = StandardCharsets.UTF_8;
   public static final String ZERO_CHECKSUM = new String(new byte[64],
@@ -487,6 +489,20 @@ public void updateDataScanTime(@Nullable Instant time) {
     dataScanTimestamp = time != null ? time.toEpochMilli() : null;
   }
 
+  public void setScanRequestTime(Instant time) {
+    scanRequestTime = time;
+  }
+
+  /**
+   * @return true if a scan of the container was requested after its last
+   * data scan.
+   */
+  public boolean isScanRequested() {
+    final Instant requested = scanRequestTime;
+    return requested != null
+        && lastDataScanTime.map(requested::isAfter).orElse(true);
+  }
+
   // for deserialization
   public void setDataScanTimestamp(Long timestamp) {
     dataScanTimestamp = timestamp;
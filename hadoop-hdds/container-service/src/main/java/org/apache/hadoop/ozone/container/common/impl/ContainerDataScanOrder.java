@@ -24,9 +24,11 @@
 
 /**
  * Orders containers:
- * 1. containers not yet scanned first,
- * 2. then least recently scanned first,
- * 3. ties are broken by containerID.
+ * 1. containers with a scan requested since their last scan first, as
+ *    requests follow errors reading them,
+ * 2. then containers not yet scanned,
+ * 3. then least recently scanned first,
+ * 4. ties are broken by containerID.
  */
 public class ContainerDataScanOrder implements Comparator<Container<?>> {
 
@@ -38,12 +40,17 @@ public int compare(Container<?> o1, Container<?> o2) {
     ContainerData d1 = o1.getContainerData();
     ContainerData d2 = o2.getContainerData();
 
+    int result = Boolean.compare(d2.isScanRequested(), d1.isScanRequested());
+    if (0 != result) {
+      return result;
+    }
+
     Optional<Instant> scan1 = d1.lastDataScanTime();
     boolean scanned1 = scan1.isPresent();
     Optional<Instant> scan2 = d2.lastDataScanTime();
     boolean scanned2 = scan2.isPresent();
 
-    int result = Boolean.compare(scanned1, scanned2);
+    result = Boolean.compare(scanned1, scanned2);
     if (0 == result && scanned1 && scanned2) {
       result = scan1.get().compareTo(scan2.get());
     }
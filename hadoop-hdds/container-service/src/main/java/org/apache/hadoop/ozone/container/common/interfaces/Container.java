@@ -201,6 +201,13 @@ DataScanResult scanData(DataTransferThrottler throttler, Canceler canceler)
    */
   void copyContainerDirectory(Path destPath) throws IOException;
 
+  /**
+   * Copy all the data of the container to the destination path, copying the
+   * files with the given copier.
+   */
+  void copyContainerDirectory(Path destPath, DirectoryCopier copier)
+      throws IOException;
+
   /** Acquire read lock. */
   void readLock();
 
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.interfaces;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Copies the files of a container directory to another directory.
+ */
+@FunctionalInterface
+public interface DirectoryCopier {
+
+  /** Copies the files one by one in the calling thread. */
+  DirectoryCopier DEFAULT = (source, destination) ->
+      FileUtils.copyDirectory(source.toFile(), destination.toFile());
+
+  /**
+   * Copy the source directory with all its contents to the destination
+   * directory, which does not exist yet.
+   */
+  void copy(Path source, Path destination) throws IOException;
+}
@@ -274,6 +274,14 @@ public abstract void copyContainer(
       Container container, Path destination)
       throws IOException;
 
+  /**
+   * Copy container to the destination path, copying the files with the given
+   * copier.
+   */
+  public abstract void copyContainer(
+      Container container, Path destination, DirectoryCopier copier)
+      throws IOException;
+
   /**
    * Imports container from a container which is under the temp directory.
    */
@@ -91,6 +91,7 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   public static final String CONTAINER_SCHEMA_V3_ENABLED = "hdds.datanode.container.schema.v3.enabled";
   public static final String CONTAINER_CHECKSUM_LOCK_STRIPES_KEY = "hdds.datanode.container.checksum.lock.stripes";
   public static final String CONTAINER_CLIENT_CACHE_SIZE = "hdds.datanode.container.client.cache.size";
+  public static final String CONTAINER_RECONCILE_THREADS_KEY = "hdds.datanode.container.reconcile.threads";
   public static final String CONTAINER_CLIENT_CACHE_STALE_THRESHOLD =
       "hdds.datanode.container.client.cache.stale.threshold";
 
@@ -134,6 +135,7 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
       OZONE_DATANODE_CHECK_EMPTY_CONTAINER_DIR_ON_DELETE_DEFAULT = false;
   public static final int CONTAINER_CHECKSUM_LOCK_STRIPES_DEFAULT = 127;
   public static final int CONTAINER_CLIENT_CACHE_SIZE_DEFAULT = 100;
+  public static final int CONTAINER_RECONCILE_THREADS_DEFAULT = 4;
   public static final int
       CONTAINER_CLIENT_CACHE_STALE_THRESHOLD_MILLISECONDS_DEFAULT = 10000;
 
@@ -319,6 +321,41 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   )
   private long blockDeletingMaxLockHoldingTime = Duration.ofSeconds(1).toMillis();
 
+  @Config(key = "hdds.datanode.block.deleting.threads.per.volume",
+      defaultValue = "2",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.DELETION },
+      description = "Number of threads per volume deleting the files of the "
+          + "blocks removed by the block deleting service. The files of all "
+          + "containers on a volume share the threads of the volume, which "
+          + "bounds the concurrent file deletes on each disk. If set to 1, "
+          + "the files are deleted by the block deleting service threads."
+  )
+  private int blockDeletingThreadsPerVolume = 2;
+
+  @Config(key = "hdds.datanode.container.reader.threads.per.volume",
+      defaultValue = "4",
+      type = ConfigType.INT,
+      tags = { DATANODE },
+      description = "Number of threads per volume loading the containers of "
+          + "the volume when the datanode starts. Each volume is loaded "
+          + "independently, so the total number of threads is this value "
+          + "times the number of volumes."
+  )
+  private int containerReaderThreadsPerVolume = 4;
+
+  @Config(key = "hdds.datanode.container.checkpoint.enabled",
+      defaultValue = "true",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE },
+      description = "If true, the datanode saves the metadata of its closed "
+          + "containers to a checkpoint file on each volume when it stops, "
+          + "and the next start loads the container metadata from the "
+          + "checkpoint instead of reading the container DB. The checkpoint "
+          + "is deleted once loaded, so it is only used after a clean stop."
+  )
+  private boolean containerCheckpointEnabled = true;
+
   @Config(key = "hdds.datanode.volume.min.free.space",
       defaultValue = "-1",
       type = ConfigType.SIZE,
@@ -686,6 +723,16 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   private int containerClientCacheStaleThreshold =
       CONTAINER_CLIENT_CACHE_STALE_THRESHOLD_MILLISECONDS_DEFAULT;
 
+  @Config(key = "hdds.datanode.container.reconcile.threads",
+      type = ConfigType.INT,
+      defaultValue = "4",
+      tags = { DATANODE },
+      description = "The number of threads used to reconcile containers with their peers. The checksum trees of all " +
+          "peers are fetched in parallel, and the mismatched blocks of a container are repaired from a peer in " +
+          "parallel. A value of 1 does all the work in the thread reconciling the container."
+  )
+  private int containerReconcileThreads = CONTAINER_RECONCILE_THREADS_DEFAULT;
+
   @Config(key = "hdds.datanode.delete.container.timeout",
       type = ConfigType.TIME,
       defaultValue = "60s",
@@ -836,6 +883,20 @@ public void validate() {
           BLOCK_DELETE_COMMAND_WORKER_INTERVAL_DEFAULT;
     }
 
+    if (blockDeletingThreadsPerVolume < 1) {
+      LOG.warn("hdds.datanode.block.deleting.threads.per.volume must be at "
+          + "least 1 and was set to {}. Defaulting to 1",
+          blockDeletingThreadsPerVolume);
+      blockDeletingThreadsPerVolume = 1;
+    }
+
+    if (containerReaderThreadsPerVolume < 1) {
+      LOG.warn("hdds.datanode.container.reader.threads.per.volume must be at "
+          + "least 1 and was set to {}. Defaulting to 1",
+          containerReaderThreadsPerVolume);
+      containerReaderThreadsPerVolume = 1;
+    }
+
     if (rocksdbLogMaxFileSize < 0) {
       LOG.warn(ROCKSDB_LOG_MAX_FILE_SIZE_BYTES_KEY +
               " must be no less than zero and was set to {}. Defaulting to {}",
@@ -871,6 +932,12 @@ public void validate() {
       containerClientCacheSize = CONTAINER_CLIENT_CACHE_SIZE_DEFAULT;
     }
 
+    if (containerReconcileThreads < 1) {
+      LOG.warn("{} must be at least 1. Defaulting to {}", CONTAINER_RECONCILE_THREADS_KEY,
+          CONTAINER_RECONCILE_THREADS_DEFAULT);
+      containerReconcileThreads = CONTAINER_RECONCILE_THREADS_DEFAULT;
+    }
+
     if (containerClientCacheStaleThreshold < 1) {
       LOG.warn("{} must be at least 1. Defaulting to {}", CONTAINER_CLIENT_CACHE_STALE_THRESHOLD,
           CONTAINER_CLIENT_CACHE_STALE_THRESHOLD_MILLISECONDS_DEFAULT);
@@ -951,6 +1018,30 @@ public void setBlockDeletingMaxLockHoldingTime(Duration maxLockHoldingTime) {
     blockDeletingMaxLockHoldingTime = maxLockHoldingTime.toMillis();
   }
 
+  public int getBlockDeletingThreadsPerVolume() {
+    return blockDeletingThreadsPerVolume;
+  }
+
+  public void setBlockDeletingThreadsPerVolume(int threads) {
+    this.blockDeletingThreadsPerVolume = threads;
+  }
+
+  public int getContainerReaderThreadsPerVolume() {
+    return containerReaderThreadsPerVolume;
+  }
+
+  public void setContainerReaderThreadsPerVolume(int threads) {
+    this.containerReaderThreadsPerVolume = threads;
+  }
+
+  public boolean isContainerCheckpointEnabled() {
+    return containerCheckpointEnabled;
+  }
+
+  public void setContainerCheckpointEnabled(boolean enabled) {
+    this.containerCheckpointEnabled = enabled;
+  }
+
   public boolean waitOnAllFollowers() {
     return waitOnAllFollowers;
   }
@@ -1280,6 +1371,14 @@ public int getContainerClientCacheStaleThreshold() {
     return containerClientCacheStaleThreshold;
   }
 
+  public int getContainerReconcileThreads() {
+    return containerReconcileThreads;
+  }
+
+  public void setContainerReconcileThreads(int containerReconcileThreads) {
+    this.containerReconcileThreads = containerReconcileThreads;
+  }
+
   public long getAutoCompactionSmallSstFileIntervalMinutes() {
     return autoCompactionSmallSstFileIntervalMinutes;
   }
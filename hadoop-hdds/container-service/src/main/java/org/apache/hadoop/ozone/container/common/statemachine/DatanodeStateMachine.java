@@ -453,14 +453,16 @@ public void close() throws IOException {
       connectionManager.close();
     }
 
-    if (container != null) {
-      container.stop();
-    }
-
+    // Stop the command handlers first, so that no command changes the
+    // containers after the container checkpoint is written.
     if (commandDispatcher != null) {
       commandDispatcher.stop();
     }
 
+    if (container != null) {
+      container.stop();
+    }
+
     if (queueMetrics != null) {
       DatanodeQueueMetrics.unRegister();
     }
@@ -50,12 +50,19 @@ public final class ContainerInspectorUtil {
 
   private ContainerInspectorUtil() { }
 
-  public static void load() {
+  /**
+   * Loads all inspectors.
+   *
+   * @return true if any inspector will operate when process is called.
+   */
+  public static boolean load() {
+    boolean loaded = false;
     for (List<ContainerInspector> inspectors: INSPECTORS.values()) {
       for (ContainerInspector inspector: inspectors) {
-        inspector.load();
+        loaded |= inspector.load();
       }
     }
+    return loaded;
   }
 
   public static void unload() {
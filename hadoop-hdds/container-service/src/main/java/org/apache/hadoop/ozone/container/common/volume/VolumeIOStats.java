@@ -17,6 +17,7 @@
 
 package org.apache.hadoop.ozone.container.common.volume;
 
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.hadoop.metrics2.MetricsSystem;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
@@ -48,6 +49,10 @@ public class VolumeIOStats {
   private MutableRate writeTime;
   @Metric
   private MutableQuantiles[] writeLatencyQuantiles;
+  // Running totals of the timed reads and writes.  Unlike readTime and
+  // writeTime, these are not reset by metrics snapshots.
+  private final LongAdder ioTime = new LongAdder();
+  private final LongAdder timedIOCount = new LongAdder();
 
   @Deprecated
   public VolumeIOStats() {
@@ -128,6 +133,8 @@ public void incWriteOpCount() {
    */
   public void incReadTime(long time) {
     readTime.add(time);
+    ioTime.add(time);
+    timedIOCount.increment();
     for (MutableQuantiles q : readLatencyQuantiles) {
       q.add(time);
     }
@@ -152,6 +159,8 @@ public void recordReadOperation(long startTime, long bytesRead) {
    */
   public void incWriteTime(long time) {
     writeTime.add(time);
+    ioTime.add(time);
+    timedIOCount.increment();
     for (MutableQuantiles q : writeLatencyQuantiles) {
       q.add(time);
     }
@@ -205,6 +214,25 @@ public long getWriteTime() {
     return (long) writeTime.lastStat().total();
   }
 
+  /**
+   * Returns the total time of the timed read and write operations on the
+   * volume since it was created.  Together with {@link #getTimedIOCount()}
+   * this gives the recent average latency of the volume.
+   * @return long
+   */
+  public long getTotalIOTime() {
+    return ioTime.sum();
+  }
+
+  /**
+   * Returns the number of timed read and write operations on the volume
+   * since it was created.
+   * @return long
+   */
+  public long getTimedIOCount() {
+    return timedIOCount.sum();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
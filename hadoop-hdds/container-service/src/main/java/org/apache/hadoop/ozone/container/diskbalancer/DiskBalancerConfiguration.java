@@ -135,6 +135,26 @@ public final class DiskBalancerConfiguration {
           "Unit could be defined with postfix (ns,ms,s,m,h,d).")
   private long replicaDeletionDelay = Duration.ofMinutes(5).toMillis();
 
+  @Config(key = "hdds.datanode.disk.balancer.copy.threads",
+      defaultValue = "4",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.DISKBALANCER },
+      description = "The number of threads copying the files of the containers " +
+          "being moved. The files of one container are copied in parallel.")
+  private int copyThreads = 4;
+
+  @Config(key = "hdds.datanode.disk.balancer.foreground.latency.threshold",
+      defaultValue = "50ms",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.DISKBALANCER },
+      description = "The average latency of the foreground reads and writes of a " +
+          "volume above which the volume is considered busy. Container moves " +
+          "from or to a busy volume are paused for up to 10 seconds, and the " +
+          "move bandwidth is lowered until the volume is no longer busy. " +
+          "Set to 0 to disable. " +
+          "Unit could be defined with postfix (ns,ms,s,m,h,d).")
+  private long foregroundLatencyThreshold = 50;
+
   private static final String HDDS_DATANODE_DISK_BALANCER_CONTAINER_STATES =
       "hdds.datanode.disk.balancer.container.states";
 
@@ -218,6 +238,22 @@ public long getReplicaDeletionDelay() {
     return replicaDeletionDelay;
   }
 
+  public int getCopyThreads() {
+    return copyThreads;
+  }
+
+  public void setCopyThreads(int copyThreads) {
+    this.copyThreads = copyThreads;
+  }
+
+  public Duration getForegroundLatencyThreshold() {
+    return Duration.ofMillis(foregroundLatencyThreshold);
+  }
+
+  public void setForegroundLatencyThreshold(Duration duration) {
+    this.foregroundLatencyThreshold = duration.toMillis();
+  }
+
   /**
    * Gets the threshold value for DiskBalancer.
    *
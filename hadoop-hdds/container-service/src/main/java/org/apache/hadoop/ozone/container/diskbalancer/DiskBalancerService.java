@@ -25,6 +25,7 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -43,6 +44,8 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -93,6 +96,7 @@ public class DiskBalancerService extends BackgroundService {
       LoggerFactory.getLogger(DiskBalancerService.class);
 
   public static final String DISK_BALANCER_DIR = "diskBalancer";
+  private static final long MEGA_BYTE = 1024 * 1024;
   private long replicaDeletionDelay;
 
   private OzoneContainer ozoneContainer;
@@ -110,8 +114,10 @@ public class DiskBalancerService extends BackgroundService {
       DiskBalancerRunningStatus.STOPPED;
 
   private AtomicLong totalBalancedBytes = new AtomicLong(0L);
-  private AtomicLong balancedBytesInLastWindow = new AtomicLong(0L);
-  private AtomicLong nextAvailableTime = new AtomicLong(Time.monotonicNow());
+  /** Limits the bandwidth of the copies of the containers being moved. */
+  private final DiskBalancerThrottler throttler;
+  /** Copies the files of the containers being moved. */
+  private final ThreadPoolExecutor copyExecutor;
 
   private Set<ContainerID> inProgressContainers;
   private final ConcurrentSkipListMap<Long, Queue<Container>> pendingDeletionContainers =
@@ -173,6 +179,17 @@ public DiskBalancerService(OzoneContainer ozoneContainer,
     replicaDeletionDelay = diskBalancerConfiguration.getReplicaDeletionDelay();
     setContainerStates(diskBalancerConfiguration.getMovableContainerStates());
     metrics = DiskBalancerServiceMetrics.create();
+    throttler = new DiskBalancerThrottler(bandwidthInMB * MEGA_BYTE,
+        diskBalancerConfiguration.getForegroundLatencyThreshold().toMillis(),
+        metrics, Time::monotonicNow, DiskBalancerThrottler.SAMPLE_INTERVAL_MS);
+    final int copyThreads = Math.max(1, diskBalancerConfiguration.getCopyThreads());
+    copyExecutor = new ThreadPoolExecutor(copyThreads, copyThreads,
+        60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder()
+            .setNameFormat("DiskBalancerCopier-%d")
+            .setDaemon(true)
+            .build());
+    copyExecutor.allowCoreThreadTimeOut(true);
 
     loadDiskBalancerInfo();
   }
@@ -369,6 +386,7 @@ public void setThreshold(double threshold) {
 
   public void setBandwidthInMB(long bandwidthInMB) {
     this.bandwidthInMB = bandwidthInMB;
+    throttler.setMaxBandwidth(bandwidthInMB * MEGA_BYTE);
   }
 
   public void setParallelThread(int parallelThread) {
@@ -426,12 +444,6 @@ public BackgroundTaskQueue getTasks() {
     }
     metrics.incrRunningLoopCount();
 
-    if (shouldDelay()) {
-      metrics.incrIdleLoopExceedsBandwidthCount();
-      cleanupPendingDeletionContainers();
-      return queue;
-    }
-
     int availableTaskCount = parallelThread - inProgressContainers.size();
     if (availableTaskCount <= 0) {
       LOG.info("No available thread for disk balancer service. " +
@@ -446,6 +458,17 @@ public BackgroundTaskQueue getTasks() {
         HddsVolume sourceVolume = candidate.getSourceVolume();
         HddsVolume destVolume = candidate.getDestVolume();
         ContainerData toBalanceContainer = candidate.getContainerData();
+        if (toBalanceContainer != null
+            && throttler.isBusy(sourceVolume, destVolume)) {
+          // Do not start moves from or to volumes busy with foreground I/O,
+          // nor take the lack of new moves for the disks being even.
+          destVolume.incCommittedBytes(0 - toBalanceContainer.getBytesUsed());
+          metrics.incrIdleLoopVolumeBusyCount();
+          if (queue.isEmpty()) {
+            cleanupPendingDeletionContainers();
+          }
+          return queue;
+        }
         if (toBalanceContainer != null) {
           DiskBalancerTask task = new DiskBalancerTask(toBalanceContainer, sourceVolume,
               destVolume);
@@ -475,30 +498,6 @@ public BackgroundTaskQueue getTasks() {
     return queue;
   }
 
-  private boolean shouldDelay() {
-    // We should wait for next AvailableTime.
-    if (Time.monotonicNow() <= nextAvailableTime.get()) {
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("Skipping balancing until nextAvailableTime ({} ms)",
-            (nextAvailableTime.get() - Time.monotonicNow()));
-      }
-      return true;
-    }
-    // Calculate the next AvailableTime based on bandwidth
-    long bytesBalanced = balancedBytesInLastWindow.getAndSet(0L);
-    final int megaByte = 1024 * 1024;
-
-    // converting disk bandwidth in byte/millisec
-    float bytesPerMillisec = bandwidthInMB * megaByte / 1000f;
-    long delayInMillisec = (long) (bytesBalanced / bytesPerMillisec);
-    nextAvailableTime.set(Time.monotonicNow() + delayInMillisec);
-    if (LOG.isDebugEnabled()) {
-      LOG.debug("Bytes balanced: {} MB, Calculated delay: {} ms ({} sec)",
-          bytesBalanced / megaByte, delayInMillisec, delayInMillisec / 1000);
-    }
-    return false;
-  }
-
   protected class DiskBalancerTask implements BackgroundTask {
 
     private HddsVolume sourceVolume;
@@ -543,7 +542,13 @@ public BackgroundTaskResult call() {
         // Step 1: Copy container to new Volume's tmp Dir
         diskBalancerTmpDir = getDiskBalancerTmpDir(destVolume)
             .resolve(String.valueOf(containerId));
-        ozoneContainer.getController().copyContainer(containerData, diskBalancerTmpDir);
+        // The files are copied in parallel, throttled by the foreground I/O
+        // of both volumes.
+        long copyStartTime = Time.monotonicNow();
+        ozoneContainer.getController().copyContainer(containerData, diskBalancerTmpDir,
+            new ParallelDirectoryCopier(copyExecutor,
+                bytes -> throttler.throttle(bytes, sourceVolume, destVolume)));
+        long copyTime = Time.monotonicNow() - copyStartTime;
 
         // Step 2: verify checksum and Transition Temp container to Temp C1-RECOVERING
         File tempContainerFile = ContainerUtils.getContainerFile(diskBalancerTmpDir.toFile());
@@ -613,8 +618,8 @@ public BackgroundTaskResult call() {
               "It will be handled after DN restart.", containerId, e);
         }
         // The move is now successful.
-        balancedBytesInLastWindow.addAndGet(containerSize);
         metrics.incrSuccessBytes(containerSize);
+        metrics.addCopyBytesPerSec(containerSize * 1000 / Math.max(1, copyTime));
         totalBalancedBytes.addAndGet(containerSize);
       } catch (Throwable e) {
         pauseInjector();
@@ -806,11 +811,6 @@ public DiskBalancerServiceMetrics getMetrics() {
     return metrics;
   }
 
-  @VisibleForTesting
-  public void setBalancedBytesInLastWindow(long bytes) {
-    this.balancedBytesInLastWindow.set(bytes);
-  }
-
   public ContainerChoosingPolicy getVolumeContainerChoosingPolicy() {
     return volumeContainerChoosingPolicy;
   }
@@ -868,6 +868,7 @@ public synchronized void nodeStateUpdated(HddsProtos.NodeOperationalState state)
   @Override
   public void shutdown() {
     super.shutdown();
+    copyExecutor.shutdownNow();
     if (metrics != null) {
       DiskBalancerServiceMetrics.unRegister();
     }
@@ -22,6 +22,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 
 /**
@@ -59,6 +60,18 @@ public final class DiskBalancerServiceMetrics {
   @Metric(about = "The number of idle loop due to bandwidth limits.")
   private MutableCounterLong idleLoopExceedsBandwidthCount;
 
+  @Metric(about = "The number of idle loop due to foreground I/O on the volumes.")
+  private MutableCounterLong idleLoopVolumeBusyCount;
+
+  @Metric(about = "The copy speed of the successful container moves in bytes per second.")
+  private MutableRate copyBytesPerSec;
+
+  @Metric(about = "The bandwidth in bytes per second the container moves are currently limited to.")
+  private MutableGaugeLong bandwidthLimit;
+
+  @Metric(about = "The time in milliseconds container moves were paused due to foreground I/O on the volumes.")
+  private MutableCounterLong foregroundPausedTime;
+
   private DiskBalancerServiceMetrics() {
   }
 
@@ -105,6 +118,22 @@ public void incrIdleLoopExceedsBandwidthCount() {
     this.idleLoopExceedsBandwidthCount.incr();
   }
 
+  public void incrIdleLoopVolumeBusyCount() {
+    this.idleLoopVolumeBusyCount.incr();
+  }
+
+  public void addCopyBytesPerSec(long bytesPerSec) {
+    this.copyBytesPerSec.add(bytesPerSec);
+  }
+
+  public void setBandwidthLimit(long bytesPerSec) {
+    this.bandwidthLimit.set(bytesPerSec);
+  }
+
+  public void incrForegroundPausedTime(long millis) {
+    this.foregroundPausedTime.incr(millis);
+  }
+
   public long getSuccessCount() {
     return successCount.value();
   }
@@ -129,6 +158,22 @@ public long getIdleLoopExceedsBandwidthCount() {
     return idleLoopExceedsBandwidthCount.value();
   }
 
+  public long getIdleLoopVolumeBusyCount() {
+    return idleLoopVolumeBusyCount.value();
+  }
+
+  public long getBandwidthLimit() {
+    return bandwidthLimit.value();
+  }
+
+  public long getForegroundPausedTime() {
+    return foregroundPausedTime.value();
+  }
+
+  public MutableRate getCopyBytesPerSec() {
+    return copyBytesPerSec;
+  }
+
   public MutableRate getMoveSuccessTime() {
     return moveSuccessTime;
   }
@@ -147,7 +192,10 @@ public String toString() {
         .append("moveFailureTime = ").append(moveFailureTime.lastStat().mean()).append('\t')
         .append("idleLoopNoAvailableVolumePairCount = ")
         .append(idleLoopNoAvailableVolumePairCount.value()).append('\t')
-        .append("idleLoopExceedsBandwidthCount = ").append(idleLoopExceedsBandwidthCount.value());
+        .append("idleLoopExceedsBandwidthCount = ").append(idleLoopExceedsBandwidthCount.value()).append('\t')
+        .append("idleLoopVolumeBusyCount = ").append(idleLoopVolumeBusyCount.value()).append('\t')
+        .append("bandwidthLimit = ").append(bandwidthLimit.value()).append('\t')
+        .append("foregroundPausedTime = ").append(foregroundPausedTime.value());
     return buffer.toString();
   }
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.diskbalancer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.apache.hadoop.hdfs.util.DataTransferThrottler;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+
+/**
+ * Limits the bandwidth of the container moves, adapting it to the foreground
+ * I/O of the volumes.
+ * <p>
+ * The average latency of the foreground reads and writes of each volume is
+ * sampled from its {@link VolumeIOStats}.  While the source or the
+ * destination volume of a move is busy, that is its latency is above the
+ * threshold, the move is paused and the bandwidth of all the moves is halved.
+ * Once no volume is busy, the bandwidth grows again by a tenth of the
+ * configured bandwidth per sample interval, up to the configured bandwidth.
+ */
+class DiskBalancerThrottler {
+
+  static final long SAMPLE_INTERVAL_MS = 1000;
+  private static final long MAX_PAUSE_STEP_MS = 100;
+  /** The maximum pause of a move, in sample intervals. */
+  static final int MAX_PAUSE_INTERVALS = 10;
+  private static final long MIN_BANDWIDTH = 1024 * 1024;
+
+  private final DataTransferThrottler limiter;
+  private final DiskBalancerServiceMetrics metrics;
+  private final LongSupplier clock;
+  private final long sampleIntervalMs;
+  private final Map<HddsVolume, VolumeLatency> latencies =
+      new ConcurrentHashMap<>();
+
+  private final long latencyThresholdMs;
+  private long maxBandwidth;
+  private long lastAdjustment;
+
+  DiskBalancerThrottler(long bandwidth, long latencyThresholdMs,
+      DiskBalancerServiceMetrics metrics, LongSupplier clock,
+      long sampleIntervalMs) {
+    this.maxBandwidth = Math.max(1, bandwidth);
+    this.limiter = new DataTransferThrottler(maxBandwidth);
+    this.latencyThresholdMs = latencyThresholdMs;
+    this.metrics = metrics;
+    this.clock = clock;
+    this.sampleIntervalMs = sampleIntervalMs;
+    this.lastAdjustment = clock.getAsLong();
+    metrics.setBandwidthLimit(maxBandwidth);
+  }
+
+  /**
+   * Waits until the given number of bytes can be copied from the source
+   * volume to the destination volume.  Returns early if interrupted, leaving
+   * the interrupt flag set.  The caller may hold the container lock, so a
+   * move is paused for at most {@link #MAX_PAUSE_INTERVALS} sample intervals
+   * in a row, then continues at the reduced bandwidth.
+   */
+  void throttle(long bytes, HddsVolume source, HddsVolume destination) {
+    if (latencyThresholdMs > 0) {
+      long now = clock.getAsLong();
+      long pausedSince = -1;
+      while (isVolumeBusy(source, now) || isVolumeBusy(destination, now)) {
+        if (pausedSince < 0) {
+          pausedSince = now;
+        } else if (now - pausedSince >= MAX_PAUSE_INTERVALS * sampleIntervalMs) {
+          break;
+        }
+        adjustBandwidth(true, now);
+        try {
+          Thread.sleep(Math.min(MAX_PAUSE_STEP_MS, sampleIntervalMs));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+        now = clock.getAsLong();
+      }
+      if (pausedSince >= 0) {
+        metrics.incrForegroundPausedTime(now - pausedSince);
+      } else {
+        adjustBandwidth(false, now);
+      }
+    }
+    limiter.throttle(bytes);
+  }
+
+  /**
+   * @return true if the source or the destination volume is busy with
+   *         foreground I/O.
+   */
+  boolean isBusy(HddsVolume source, HddsVolume destination) {
+    final long now = clock.getAsLong();
+    return latencyThresholdMs > 0
+        && (isVolumeBusy(source, now) || isVolumeBusy(destination, now));
+  }
+
+  /**
+   * Sets the configured bandwidth, which also resets the current bandwidth.
+   */
+  synchronized void setMaxBandwidth(long bandwidth) {
+    maxBandwidth = Math.max(1, bandwidth);
+    setBandwidth(maxBandwidth);
+  }
+
+  long getBandwidth() {
+    return limiter.getBandwidth();
+  }
+
+  private boolean isVolumeBusy(HddsVolume volume, long now) {
+    final VolumeIOStats stats = volume.getVolumeIOStats();
+    if (stats == null) {
+      return false;
+    }
+    return latencies.computeIfAbsent(volume, v -> new VolumeLatency(stats, now))
+        .isBusy(stats, now);
+  }
+
+  private synchronized void adjustBandwidth(boolean busy, long now) {
+    if (now - lastAdjustment < sampleIntervalMs) {
+      return;
+    }
+    lastAdjustment = now;
+    final long current = limiter.getBandwidth();
+    final long updated = busy
+        ? Math.max(Math.min(MIN_BANDWIDTH, maxBandwidth), current / 2)
+        : Math.min(maxBandwidth, current + Math.max(1, maxBandwidth / 10));
+    if (updated != current) {
+      setBandwidth(updated);
+    }
+  }
+
+  private void setBandwidth(long bandwidth) {
+    limiter.setBandwidth(bandwidth);
+    metrics.setBandwidthLimit(bandwidth);
+  }
+
+  /**
+   * The average latency of a volume during the last sample interval.
+   */
+  private final class VolumeLatency {
+    private long lastTime;
+    private long lastCount;
+    private long lastSample;
+    private boolean busy;
+
+    private VolumeLatency(VolumeIOStats stats, long now) {
+      lastTime = stats.getTotalIOTime();
+      lastCount = stats.getTimedIOCount();
+      lastSample = now;
+    }
+
+    synchronized boolean isBusy(VolumeIOStats stats, long now) {
+      if (now - lastSample >= sampleIntervalMs) {
+        final long time = stats.getTotalIOTime();
+        final long count = stats.getTimedIOCount();
+        final long ops = count - lastCount;
+        busy = ops > 0 && (time - lastTime) > latencyThresholdMs * ops;
+        lastTime = time;
+        lastCount = count;
+        lastSample = now;
+      }
+      return busy;
+    }
+  }
+}
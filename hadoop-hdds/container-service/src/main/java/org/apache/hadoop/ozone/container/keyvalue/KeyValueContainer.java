@@ -73,6 +73,7 @@
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.ContainerPacker;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.interfaces.DirectoryCopier;
 import org.apache.hadoop.ozone.container.common.interfaces.VolumeChoosingPolicy;
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
@@ -922,6 +923,12 @@ public DataScanResult scanData(DataTransferThrottler throttler, Canceler cancele
 
   @Override
   public void copyContainerDirectory(Path destination) throws IOException {
+    copyContainerDirectory(destination, DirectoryCopier.DEFAULT);
+  }
+
+  @Override
+  public void copyContainerDirectory(Path destination, DirectoryCopier copier)
+      throws IOException {
     readLock();
     try {
       // Closed/ Quasi closed containers are considered for replication by
@@ -950,10 +957,10 @@ public void copyContainerDirectory(Path destination) throws IOException {
         // so it should not influence performance much.
         synchronized (dumpLock) {
           BlockUtils.dumpKVContainerDataToFiles(containerData, config);
-          copyContainerToDestination(destination);
+          copyContainerToDestination(destination, copier);
         }
       } else {
-        copyContainerToDestination(destination);
+        copyContainerToDestination(destination, copier);
       }
       if (getInjector() != null && getInjector().getException() != null) {
         throw new IOException("Fault injection", getInjector().getException());
@@ -1031,14 +1038,13 @@ private void packContainerToDestination(OutputStream destination,
    * @param destination destination path
    * @throws IOException file operation exception
    */
-  private void copyContainerToDestination(Path destination)
-      throws IOException {
+  private void copyContainerToDestination(Path destination,
+      DirectoryCopier copier) throws IOException {
     try {
       if (Files.exists(destination)) {
         FileUtils.deleteDirectory(destination.toFile());
       }
-      FileUtils.copyDirectory(new File(containerData.getContainerPath()),
-          destination.toFile());
+      copier.copy(Paths.get(containerData.getContainerPath()), destination);
 
     } catch (IOException e) {
       LOG.error("Failed when copying container to {}", destination, e);
@@ -20,16 +20,26 @@
 import static org.apache.hadoop.ozone.OzoneConsts.CONTAINER_DB_TYPE_ROCKSDB;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -83,6 +93,26 @@ public class KeyValueContainerCheck {
   // This is not loaded until a scan begins.
   private KeyValueContainerData containerDataFromDisk;
   private static final DirectBufferPool BUFFER_POOL = new DirectBufferPool();
+  /** The size of the reads of chunk data, rounded down to whole checksums. */
+  private static final int READ_SIZE = 1024 * 1024;
+  /**
+   * Verifies the checksums of the chunk data already read, while the scanner
+   * reads the next data.  Shared by the scanners of all the volumes.
+   */
+  private static final ThreadPoolExecutor CHECKSUM_EXECUTOR =
+      newChecksumExecutor();
+
+  private static ThreadPoolExecutor newChecksumExecutor() {
+    final int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+        60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder()
+            .setNameFormat("ContainerScanChecksum-%d")
+            .setDaemon(true)
+            .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
 
   public KeyValueContainerCheck(ConfigurationSource conf, KeyValueContainer container) {
     this.checkConfig = conf;
@@ -385,11 +415,15 @@ private List<ContainerScanError> scanBlock(DBHandle db, File dbFile, BlockData b
           // chunks.
           currentTree.addBlock(block.getBlockID().getLocalID());
           int bytesPerChecksum = chunk.getChecksumData().getBytesPerChecksum();
-          ByteBuffer buffer = BUFFER_POOL.getBuffer(bytesPerChecksum);
+          int readSize = bytesPerChecksum * Math.max(1, READ_SIZE / bytesPerChecksum);
+          ByteBuffer[] buffers = {BUFFER_POOL.getBuffer(readSize), BUFFER_POOL.getBuffer(readSize)};
           // Keep scanning the block even if there are errors with individual chunks.
-          blockErrors.addAll(verifyChecksum(block, chunk, chunkFile, layout, buffer, currentTree, throttler, canceler));
-          buffer.clear();
-          BUFFER_POOL.returnBuffer(buffer);
+          blockErrors.addAll(verifyChecksum(block, chunk, chunkFile, layout, buffers, currentTree,
+              throttler, canceler));
+          for (ByteBuffer buffer : buffers) {
+            buffer.clear();
+            BUFFER_POOL.returnBuffer(buffer);
+          }
         }
       }
 
@@ -414,9 +448,15 @@ private List<ContainerScanError> scanBlock(DBHandle db, File dbFile, BlockData b
     return blockErrors;
   }
 
+  /**
+   * Verifies the checksums of a chunk.  The chunk is read sequentially into
+   * the given buffers in turn, each holding whole checksums.  While the
+   * checksums of one buffer are computed on {@link #CHECKSUM_EXECUTOR}, the
+   * next buffer is read.
+   */
   @SuppressWarnings("checkstyle:ParameterNumber")
   private static List<ContainerScanError> verifyChecksum(BlockData block,
-      ContainerProtos.ChunkInfo chunk, File chunkFile, ContainerLayoutVersion layout, ByteBuffer buffer,
+      ContainerProtos.ChunkInfo chunk, File chunkFile, ContainerLayoutVersion layout, ByteBuffer[] buffers,
       ContainerMerkleTreeWriter currentTree, DataTransferThrottler throttler, Canceler canceler) {
 
     List<ContainerScanError> scanErrors = new ArrayList<>();
@@ -435,51 +475,68 @@ private static List<ContainerScanError> verifyChecksum(BlockData block,
     int bytesPerChecksum = checksumData.getBytesPerChecksum();
     Checksum cal = new Checksum(checksumData.getChecksumType(),
         bytesPerChecksum);
+    // limit last read for FILE_PER_BLOCK, to avoid reading next chunk
+    long lastChecksumLength = bytesPerChecksum;
+    if (layout == ContainerLayoutVersion.FILE_PER_BLOCK &&
+        chunk.getLen() % bytesPerChecksum != 0) {
+      lastChecksumLength = chunk.getLen() % bytesPerChecksum;
+    }
+    long bytesToRead = checksumCount == 0 ? 0
+        : (checksumCount - 1L) * bytesPerChecksum + lastChecksumLength;
     long bytesRead = 0;
+    // Checksums of the buffers read, in the order of the reads.
+    Deque<Future<ChecksumData>> pending = new ArrayDeque<>(buffers.length);
     try (FileChannel channel = FileChannel.open(chunkFile.toPath(),
         ChunkUtils.READ_OPTIONS, ChunkUtils.NO_ATTRIBUTES)) {
       if (layout == ContainerLayoutVersion.FILE_PER_BLOCK) {
         channel.position(chunk.getOffset());
       }
-      for (int i = 0; i < checksumCount; i++) {
-        // limit last read for FILE_PER_BLOCK, to avoid reading next chunk
-        if (layout == ContainerLayoutVersion.FILE_PER_BLOCK &&
-            i == checksumCount - 1 &&
-            chunk.getLen() % bytesPerChecksum != 0) {
-          buffer.limit((int) (chunk.getLen() % bytesPerChecksum));
-        }
+      int reads = 0;
+      int checksumIndex = 0;
+      boolean endOfData = bytesToRead == 0;
+      while (!endOfData || !pending.isEmpty()) {
+        if (!endOfData && pending.size() < buffers.length) {
+          ByteBuffer buffer = buffers[reads++ % buffers.length];
+          buffer.clear();
+          buffer.limit((int) Math.min(buffer.capacity(), bytesToRead - bytesRead));
+          int v = readFully(channel, buffer);
+          endOfData = buffer.hasRemaining() || bytesRead + v == bytesToRead;
+          if (v == 0) {
+            continue;
+          }
+          bytesRead += v;
+          buffer.flip();
 
-        int v = channel.read(buffer);
-        if (v == -1) {
-          break;
+          throttler.throttle(v, canceler);
+          pending.add(CHECKSUM_EXECUTOR.submit(() -> cal.computeChecksum(buffer)));
+          continue;
         }
-        bytesRead += v;
-        buffer.flip();
-
-        throttler.throttle(v, canceler);
-
-        ByteString expected = checksumData.getChecksums().get(i);
-        ByteString actual = cal.computeChecksum(buffer)
-            .getChecksums().get(0);
-        observedChecksumData.addChecksums(actual);
-        // Only report one error per chunk. Reporting corruption at every "bytes per checksum" interval will lead to a
-        // large amount of errors when a full chunk is corrupted.
-        // Continue scanning the chunk even after the first error so the full merkle tree can be built.
-        if (chunkHealthy && !expected.equals(actual)) {
-          String message = String
-              .format("Inconsistent read for chunk=%s" +
-                  " checksum item %d" +
-                  " expected checksum %s" +
-                  " actual checksum %s" +
-                  " for block %s",
-                  ChunkInfo.getFromProtoBuf(chunk),
-                  i,
-                  StringUtils.bytes2Hex(expected.asReadOnlyByteBuffer()),
-                  StringUtils.bytes2Hex(actual.asReadOnlyByteBuffer()),
-                  block.getBlockID());
-          chunkHealthy = false;
-          scanErrors.add(new ContainerScanError(FailureType.CORRUPT_CHUNK, chunkFile,
-              new OzoneChecksumException(message)));
+
+        List<ByteString> actualChecksums = getChecksums(pending.peek());
+        pending.remove();
+        for (ByteString actual : actualChecksums) {
+          int i = checksumIndex++;
+          ByteString expected = checksumData.getChecksums().get(i);
+          observedChecksumData.addChecksums(actual);
+          // Only report one error per chunk. Reporting corruption at every "bytes per checksum" interval will lead to
+          // a large amount of errors when a full chunk is corrupted.
+          // Continue scanning the chunk even after the first error so the full merkle tree can be built.
+          if (chunkHealthy && !expected.equals(actual)) {
+            String message = String
+                .format("Inconsistent read for chunk=%s" +
+                    " checksum item %d" +
+                    " expected checksum %s" +
+                    " actual checksum %s" +
+                    " for block %s",
+                    ChunkInfo.getFromProtoBuf(chunk),
+                    i,
+                    StringUtils.bytes2Hex(expected.asReadOnlyByteBuffer()),
+                    StringUtils.bytes2Hex(actual.asReadOnlyByteBuffer()),
+                    block.getBlockID());
+            chunkHealthy = false;
+            scanErrors.add(new ContainerScanError(FailureType.CORRUPT_CHUNK, chunkFile,
+                new OzoneChecksumException(message)));
+          }
         }
       }
 
@@ -510,6 +567,15 @@ private static List<ContainerScanError> verifyChecksum(BlockData block,
       // An unknown error occurred trying to access the chunk. Report it as corrupted.
       chunkHealthy = false;
       scanErrors.add(new ContainerScanError(FailureType.CORRUPT_CHUNK, chunkFile, ex));
+    } finally {
+      // The buffers are reused once this returns, so wait for the checksums still being computed.
+      for (Future<ChecksumData> future : pending) {
+        try {
+          Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException ignored) {
+          // The chunk is reported as corrupted already.
+        }
+      }
     }
 
     // Missing chunks should not be added to the merkle tree.
@@ -520,6 +586,38 @@ private static List<ContainerScanError> verifyChecksum(BlockData block,
     return scanErrors;
   }
 
+  /**
+   * Reads from the channel until the buffer is full or the end of the file.
+   * @return the number of bytes read.
+   */
+  private static int readFully(FileChannel channel, ByteBuffer buffer)
+      throws IOException {
+    int total = 0;
+    while (buffer.hasRemaining()) {
+      int n = channel.read(buffer);
+      if (n < 0) {
+        break;
+      }
+      total += n;
+    }
+    return total;
+  }
+
+  private static List<ByteString> getChecksums(Future<ChecksumData> future)
+      throws IOException {
+    try {
+      return future.get().getChecksums();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while verifying checksums");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to compute checksums", e.getCause());
+    }
+  }
+
   private void loadContainerData(File containerFile) throws IOException {
     containerDataFromDisk = (KeyValueContainerData) ContainerDataYaml
         .readContainerFile(containerFile);
@@ -67,12 +67,17 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.file.DirectoryStream;
@@ -83,7 +88,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -91,7 +96,17 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.hadoop.fs.FileUtil;
@@ -149,6 +164,7 @@
 import org.apache.hadoop.ozone.container.common.interfaces.BlockIterator;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.interfaces.DirectoryCopier;
 import org.apache.hadoop.ozone.container.common.interfaces.Handler;
 import org.apache.hadoop.ozone.container.common.interfaces.ScanResult;
 import org.apache.hadoop.ozone.container.common.interfaces.VolumeChoosingPolicy;
@@ -199,6 +215,7 @@ public class KeyValueHandler extends Handler {
   private static FaultInjector injector;
   private final Clock clock;
   private final BlockInputStreamFactoryImpl blockInputStreamFactory;
+  private final ExecutorService reconcileExecutor;
 
   public KeyValueHandler(ConfigurationSource config,
                          String datanodeId,
@@ -237,6 +254,7 @@ public KeyValueHandler(ConfigurationSource config,
 
     DatanodeConfiguration dnConf = conf.getObject(DatanodeConfiguration.class);
     maxDeleteLockWaitMs = dnConf.getDeleteContainerTimeoutMs();
+    reconcileExecutor = createReconcileExecutor(dnConf.getContainerReconcileThreads());
     // this striped handler lock is used for synchronizing createContainer
     // Requests.
     final int threadCountPerDisk = conf.getInt(
@@ -289,10 +307,24 @@ public StateMachine.DataChannel getStreamDataChannel(
     }
   }
 
+  private static ExecutorService createReconcileExecutor(int threads) {
+    if (threads == 1) {
+      return MoreExecutors.newDirectExecutorService();
+    }
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), new ThreadFactoryBuilder()
+            .setNameFormat("ContainerReconciler-%d")
+            .setDaemon(true)
+            .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   @Override
   public void stop() {
     chunkManager.shutdown();
     blockManager.shutdown();
+    reconcileExecutor.shutdownNow();
   }
 
   @Override
@@ -1640,6 +1672,13 @@ public void copyContainer(final Container container, Path destinationPath)
     kvc.copyContainerDirectory(destinationPath);
   }
 
+  @Override
+  public void copyContainer(final Container container, Path destinationPath,
+      DirectoryCopier copier) throws IOException {
+    final KeyValueContainer kvc = (KeyValueContainer) container;
+    kvc.copyContainerDirectory(destinationPath, copier);
+  }
+
   private KeyValueContainer createNewContainer(
       ContainerData originalContainerData) {
     Preconditions.checkState(originalContainerData instanceof
@@ -1687,14 +1726,21 @@ private void reconcileContainerInternal(DNContainerOperationClient dnClient, Con
     ContainerProtos.ContainerChecksumInfo latestChecksumInfo = originalChecksumInfo;
 
     int successfulPeerCount = 0;
-    Set<Long> allBlocksUpdated = new HashSet<>();
-    ByteBuffer chunkByteBuffer = ByteBuffer.allocate(chunkSize);
+    Set<Long> allBlocksUpdated = ConcurrentHashMap.newKeySet();
+    // Blocks are repaired in parallel, but their metadata is committed one block at a time.
+    Lock blockCommitLock = new ReentrantLock();
+
+    // Fetch the checksum info of all peers up front, so that the requests to the peers overlap.
+    Map<DatanodeDetails, Future<ContainerProtos.ContainerChecksumInfo>> peerChecksumInfos = new LinkedHashMap<>();
+    for (DatanodeDetails peer : peers) {
+      peerChecksumInfos.put(peer, reconcileExecutor.submit(() -> dnClient.getContainerChecksumInfo(containerID, peer)));
+    }
 
     for (DatanodeDetails peer : peers) {
       try {
-        long numMissingBlocksRepaired = 0;
-        long numCorruptChunksRepaired = 0;
-        long numMissingChunksRepaired = 0;
+        LongAdder numMissingBlocksRepaired = new LongAdder();
+        LongAdder numCorruptChunksRepaired = new LongAdder();
+        LongAdder numMissingChunksRepaired = new LongAdder();
         long numDivergedDeletedBlocksUpdated = 0;
 
         LOG.info("Beginning reconciliation for container {} with peer {}. Current data checksum is {}",
@@ -1705,7 +1751,7 @@ private void reconcileContainerInternal(DNContainerOperationClient dnClient, Con
 
 
         // Data checksum updated after each peer reconciles.
-        peerChecksumInfo = dnClient.getContainerChecksumInfo(containerID, peer);
+        peerChecksumInfo = getReconcileResult(peerChecksumInfos.get(peer));
         if (peerChecksumInfo == null) {
           LOG.warn("Cannot reconcile container {} with peer {} which has not yet generated a checksum",
               containerID, peer);
@@ -1719,55 +1765,67 @@ private void reconcileContainerInternal(DNContainerOperationClient dnClient, Con
             new ContainerMerkleTreeWriter(latestChecksumInfo.getContainerMerkleTree());
         ContainerDiffReport diffReport = checksumManager.diff(latestChecksumInfo, peerChecksumInfo);
         Pipeline pipeline = createSingleNodePipeline(peer);
+        // Each block is repaired by one task, so that the chunks of a block are written in order.
+        List<Future<?>> blockRepairs = new ArrayList<>();
 
         // Handle missing blocks
         for (ContainerProtos.BlockMerkleTree missingBlock : diffReport.getMissingBlocks()) {
-          try {
-            long localID = missingBlock.getBlockID();
-            long chunksInBlockRetrieved = reconcileChunksPerBlock(kvContainer, pipeline, dnClient, localID,
-                missingBlock.getChunkMerkleTreeList(), updatedTreeWriter, chunkByteBuffer);
-            if (chunksInBlockRetrieved >= 0) {
-              allBlocksUpdated.add(localID);
-              numMissingBlocksRepaired++;
-            }
-          } catch (IOException e) {
-            LOG.error("Error while reconciling missing block for block {} in container {}", missingBlock.getBlockID(),
+          blockRepairs.add(reconcileExecutor.submit(() -> {
+            try {
+              long localID = missingBlock.getBlockID();
+              long chunksInBlockRetrieved = reconcileChunksPerBlock(kvContainer, pipeline, dnClient, localID,
+                  missingBlock.getChunkMerkleTreeList(), updatedTreeWriter, blockCommitLock);
+              if (chunksInBlockRetrieved >= 0) {
+                allBlocksUpdated.add(localID);
+                numMissingBlocksRepaired.increment();
+              }
+            } catch (IOException e) {
+              LOG.error("Error while reconciling missing block for block {} in container {}", missingBlock.getBlockID(),
                   containerID, e);
-          }
+            }
+          }));
         }
 
-        // Handle missing chunks
-        for (Map.Entry<Long, List<ContainerProtos.ChunkMerkleTree>> entry : diffReport.getMissingChunks().entrySet()) {
-          long localID = entry.getKey();
-          try {
-            long missingChunksRepaired = reconcileChunksPerBlock(kvContainer, pipeline, dnClient, entry.getKey(),
-                entry.getValue(), updatedTreeWriter, chunkByteBuffer);
-            if (missingChunksRepaired != 0) {
-              allBlocksUpdated.add(localID);
-              numMissingChunksRepaired += missingChunksRepaired;
+        Set<Long> blocksWithChunkDiffs = new TreeSet<>(diffReport.getMissingChunks().keySet());
+        blocksWithChunkDiffs.addAll(diffReport.getCorruptChunks().keySet());
+        for (long localID : blocksWithChunkDiffs) {
+          List<ContainerProtos.ChunkMerkleTree> missingChunks = diffReport.getMissingChunks().get(localID);
+          List<ContainerProtos.ChunkMerkleTree> corruptChunks = diffReport.getCorruptChunks().get(localID);
+          blockRepairs.add(reconcileExecutor.submit(() -> {
+            // Handle missing chunks
+            if (missingChunks != null) {
+              try {
+                long missingChunksRepaired = reconcileChunksPerBlock(kvContainer, pipeline, dnClient, localID,
+                    missingChunks, updatedTreeWriter, blockCommitLock);
+                if (missingChunksRepaired != 0) {
+                  allBlocksUpdated.add(localID);
+                  numMissingChunksRepaired.add(missingChunksRepaired);
+                }
+              } catch (IOException e) {
+                LOG.error("Error while reconciling missing chunk for block {} in container {}", localID,
+                    containerID, e);
+              }
             }
-          } catch (IOException e) {
-            LOG.error("Error while reconciling missing chunk for block {} in container {}", entry.getKey(),
-                containerID, e);
-          }
-        }
 
-        // Handle corrupt chunks
-        for (Map.Entry<Long, List<ContainerProtos.ChunkMerkleTree>> entry : diffReport.getCorruptChunks().entrySet()) {
-          long localID = entry.getKey();
-          try {
-            long corruptChunksRepaired = reconcileChunksPerBlock(kvContainer, pipeline, dnClient, entry.getKey(),
-                entry.getValue(), updatedTreeWriter, chunkByteBuffer);
-            if (corruptChunksRepaired != 0) {
-              allBlocksUpdated.add(localID);
-              numCorruptChunksRepaired += corruptChunksRepaired;
+            // Handle corrupt chunks
+            if (corruptChunks != null) {
+              try {
+                long corruptChunksRepaired = reconcileChunksPerBlock(kvContainer, pipeline, dnClient, localID,
+                    corruptChunks, updatedTreeWriter, blockCommitLock);
+                if (corruptChunksRepaired != 0) {
+                  allBlocksUpdated.add(localID);
+                  numCorruptChunksRepaired.add(corruptChunksRepaired);
+                }
+              } catch (IOException e) {
+                LOG.error("Error while reconciling corrupt chunk for block {} in container {}", localID,
+                    containerID, e);
+              }
             }
-          } catch (IOException e) {
-            LOG.error("Error while reconciling corrupt chunk for block {} in container {}", entry.getKey(),
-                containerID, e);
-          }
+          }));
         }
 
+        waitForBlockRepairs(blockRepairs);
+
         // Merge block deletes from the peer that do not match our list of deleted blocks.
         for (ContainerDiffReport.DeletedBlock deletedBlock : diffReport.getDivergedDeletedBlocks()) {
           updatedTreeWriter.setDeletedBlock(deletedBlock.getBlockID(), deletedBlock.getDataChecksum());
@@ -1784,9 +1842,9 @@ private void reconcileContainerInternal(DNContainerOperationClient dnClient, Con
         long previousDataChecksum = ContainerChecksumTreeManager.getDataChecksum(previousChecksumInfo);
         long latestDataChecksum = ContainerChecksumTreeManager.getDataChecksum(latestChecksumInfo);
         if (previousDataChecksum == latestDataChecksum) {
-          if (numCorruptChunksRepaired != 0 ||
-              numMissingBlocksRepaired != 0 ||
-              numMissingChunksRepaired != 0 ||
+          if (numCorruptChunksRepaired.sum() != 0 ||
+              numMissingBlocksRepaired.sum() != 0 ||
+              numMissingChunksRepaired.sum() != 0 ||
               numDivergedDeletedBlocksUpdated != 0) {
             // This condition should never happen.
             LOG.error("Checksum of container was not updated but blocks were repaired.");
@@ -1801,9 +1859,9 @@ private void reconcileContainerInternal(DNContainerOperationClient dnClient, Con
                   "Diverged deleted blocks updated:  {}/{}\n" +
                   "Time taken: {} ms",
               containerID, peer, checksumToString(previousDataChecksum), checksumToString(latestDataChecksum),
-              numMissingBlocksRepaired, diffReport.getNumMissingBlocks(),
-              numMissingChunksRepaired, diffReport.getNumMissingChunks(),
-              numCorruptChunksRepaired, diffReport.getNumCorruptChunks(),
+              numMissingBlocksRepaired.sum(), diffReport.getNumMissingBlocks(),
+              numMissingChunksRepaired.sum(), diffReport.getNumMissingChunks(),
+              numCorruptChunksRepaired.sum(), diffReport.getNumCorruptChunks(),
               numDivergedDeletedBlocksUpdated, diffReport.getNumdivergedDeletedBlocks(),
               duration);
         }
@@ -1816,6 +1874,8 @@ containerID, peer, checksumToString(previousDataChecksum), checksumToString(late
       }
     }
 
+    checksumManager.getMetrics().incrementReconciledContainerBytes(containerData.getBytesUsed());
+
     // Log a summary after reconciling with all peers.
     long originalDataChecksum = ContainerChecksumTreeManager.getDataChecksum(originalChecksumInfo);
     long latestDataChecksum = ContainerChecksumTreeManager.getDataChecksum(latestChecksumInfo);
@@ -1849,11 +1909,14 @@ containerID, peer, checksumToString(previousDataChecksum), checksumToString(late
    * To avoid verbose logging during reconciliation, this method should not log successful operations above the debug
    * level.
    *
+   * Only the chunks in the peer's list are read from the peer. Blocks may be reconciled in parallel, the block metadata
+   * is committed while holding the blockCommitLock.
+   *
    * @return The number of chunks that were reconciled in our container.
    */
   private long reconcileChunksPerBlock(KeyValueContainer container, Pipeline pipeline,
       DNContainerOperationClient dnClient, long localID, List<ContainerProtos.ChunkMerkleTree> peerChunkList,
-      ContainerMerkleTreeWriter treeWriter, ByteBuffer chunkByteBuffer) throws IOException {
+      ContainerMerkleTreeWriter treeWriter, Lock blockCommitLock) throws IOException {
     long containerID = container.getContainerData().getContainerID();
     DatanodeDetails peer = pipeline.getFirstNode();
 
@@ -1884,6 +1947,7 @@ private long reconcileChunksPerBlock(KeyValueContainer container, Pipeline pipel
 
     boolean allChunksSuccessful = true;
     int numSuccessfulChunks = 0;
+    ByteBuffer chunkByteBuffer = null;
 
     BlockLocationInfo blkInfo = new BlockLocationInfo.Builder()
         .setBlockID(blockID)
@@ -1926,8 +1990,8 @@ private long reconcileChunksPerBlock(KeyValueContainer container, Pipeline pipel
 
           // Read the chunk data from the BlockInputStream and write it to the container.
           int chunkLength = (int) chunkInfoProto.getLen();
-          if (chunkByteBuffer.capacity() < chunkLength) {
-            chunkByteBuffer = ByteBuffer.allocate(chunkLength);
+          if (chunkByteBuffer == null || chunkByteBuffer.capacity() < chunkLength) {
+            chunkByteBuffer = ByteBuffer.allocate(Math.max(chunkSize, chunkLength));
           }
 
           chunkByteBuffer.clear();
@@ -1938,6 +2002,7 @@ private long reconcileChunksPerBlock(KeyValueContainer container, Pipeline pipel
             throw new IOException("Error while reading chunk data from peer " + peer + ". Expected length: " +
                 chunkLength + ", Actual length: " + bytesRead);
           }
+          checksumManager.getMetrics().incrementReconciliationBytesTransferred(bytesRead);
 
           chunkByteBuffer.flip();
           ChunkBuffer chunkBuffer = ChunkBuffer.wrap(chunkByteBuffer);
@@ -1971,7 +2036,12 @@ private long reconcileChunksPerBlock(KeyValueContainer container, Pipeline pipel
       if (!localOffset2Chunk.isEmpty()) {
         List<ContainerProtos.ChunkInfo> allChunks = new ArrayList<>(localOffset2Chunk.values());
         localBlockData.setChunks(allChunks);
-        putBlockForClosedContainer(container, localBlockData, maxBcsId, allChunksSuccessful);
+        blockCommitLock.lock();
+        try {
+          putBlockForClosedContainer(container, localBlockData, maxBcsId, allChunksSuccessful);
+        } finally {
+          blockCommitLock.unlock();
+        }
         // Invalidate the file handle cache, so new read requests get the new file if one was created.
         chunkManager.finishWriteChunks(container, localBlockData);
       }
@@ -1988,6 +2058,49 @@ private long reconcileChunksPerBlock(KeyValueContainer container, Pipeline pipel
     return numSuccessfulChunks;
   }
 
+  /**
+   * Waits for a task submitted to the reconcile executor, rethrowing its IOException.
+   */
+  private static <T> T getReconcileResult(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reconciling container");
+    } catch (ExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Waits for all the block repairs with a peer, so that none is still writing to the container once this returns.
+   * Rethrows the first failure, with the failures of the other repairs added as suppressed.
+   */
+  private static void waitForBlockRepairs(List<Future<?>> blockRepairs) throws IOException {
+    Throwable failure = null;
+    for (Future<?> blockRepair : blockRepairs) {
+      try {
+        Uninterruptibles.getUninterruptibly(blockRepair);
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        } else {
+          failure.addSuppressed(e.getCause());
+        }
+      }
+    }
+    if (failure != null) {
+      Throwables.throwIfInstanceOf(failure, IOException.class);
+      Throwables.throwIfUnchecked(failure);
+      throw new IOException(failure);
+    }
+    if (Thread.currentThread().isInterrupted()) {
+      throw new InterruptedIOException("Interrupted while reconciling container");
+    }
+  }
+
   private void verifyChunksLength(ContainerProtos.ChunkInfo peerChunkInfo, ContainerProtos.ChunkInfo localChunkInfo)
       throws StorageContainerException {
     if (localChunkInfo == null || peerChunkInfo == null) {
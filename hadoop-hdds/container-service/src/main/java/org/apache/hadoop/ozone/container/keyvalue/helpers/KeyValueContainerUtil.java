@@ -28,6 +28,7 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Objects;
+import java.util.function.Consumer;
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -222,30 +223,7 @@ public static void parseKVContainerData(KeyValueContainerData kvContainerData,
   public static void parseKVContainerData(KeyValueContainerData kvContainerData,
       ConfigurationSource config, boolean skipVerifyChecksum) throws IOException {
 
-    long containerID = kvContainerData.getContainerID();
-
-    // Verify Checksum
-    // skip verify checksum if the state has changed to RECOVERING during container import
-    if (!skipVerifyChecksum) {
-      ContainerUtils.verifyContainerFileChecksum(kvContainerData, config);
-    }
-
-    if (kvContainerData.getSchemaVersion() == null) {
-      // If this container has not specified a schema version, it is in the old
-      // format with one default column family.
-      kvContainerData.setSchemaVersion(OzoneConsts.SCHEMA_V1);
-    }
-
-    File dbFile = KeyValueContainerLocationUtil.getContainerDBFile(
-        kvContainerData);
-    if (!dbFile.exists()) {
-      LOG.error("Container DB file is missing at {} for ContainerID {}. " +
-          "Skipping loading of this container.", dbFile, containerID);
-      // Don't further process this container, as it is missing db file.
-      throw new IOException("Container DB file is missing for containerID "
-          + containerID);
-    }
-    kvContainerData.setDbFile(dbFile);
+    verifyAndSetDbFile(kvContainerData, config, skipVerifyChecksum);
 
     DatanodeConfiguration dnConf =
         config.getObject(DatanodeConfiguration.class);
@@ -291,6 +269,76 @@ public static void parseKVContainerData(KeyValueContainerData kvContainerData,
     }
   }
 
+  /**
+   * Verifies the .container file and sets the DB file of a schema V3
+   * container like
+   * {@link #parseKVContainerData(KeyValueContainerData, ConfigurationSource)},
+   * but takes the container metadata from a checkpoint saved when the
+   * datanode stopped.  The delete transaction ID is still read from the DB
+   * to check that the container did not change after the checkpoint was
+   * written.  The finalized blocks, and the data checksum if the checkpoint
+   * has none, are loaded as usual.
+   *
+   * @param checkpointDeleteTxnId the delete transaction ID in the checkpoint
+   * @param applyCheckpoint sets the metadata of the checkpoint
+   * @return false, without setting any metadata, if the delete transaction ID
+   * in the DB differs from the checkpoint.
+   */
+  public static boolean parseKVContainerDataFromCheckpoint(
+      KeyValueContainerData kvContainerData, ConfigurationSource config,
+      long checkpointDeleteTxnId,
+      Consumer<KeyValueContainerData> applyCheckpoint) throws IOException {
+    Preconditions.checkArgument(kvContainerData.hasSchema(OzoneConsts.SCHEMA_V3),
+        "Container %s is not schema V3", kvContainerData.getContainerID());
+    verifyAndSetDbFile(kvContainerData, config, false);
+
+    try (DBHandle db = BlockUtils.getDB(kvContainerData, config)) {
+      DatanodeStore store = db.getStore();
+      Table<String, Long> metadataTable = store.getMetadataTable();
+      Long delTxnId = metadataTable.get(kvContainerData.getLatestDeleteTxnKey());
+      if ((delTxnId == null ? 0 : delTxnId) != checkpointDeleteTxnId) {
+        return false;
+      }
+      applyCheckpoint.accept(kvContainerData);
+
+      File chunksDir = new File(kvContainerData.getChunksPath());
+      if (!chunksDir.exists()) {
+        Files.createDirectories(chunksDir.toPath());
+      }
+      loadAndSetContainerDataChecksum(kvContainerData, metadataTable);
+      populateContainerFinalizeBlock(kvContainerData, store);
+    }
+    return true;
+  }
+
+  private static void verifyAndSetDbFile(KeyValueContainerData kvContainerData,
+      ConfigurationSource config, boolean skipVerifyChecksum) throws IOException {
+    long containerID = kvContainerData.getContainerID();
+
+    // Verify Checksum
+    // skip verify checksum if the state has changed to RECOVERING during container import
+    if (!skipVerifyChecksum) {
+      ContainerUtils.verifyContainerFileChecksum(kvContainerData, config);
+    }
+
+    if (kvContainerData.getSchemaVersion() == null) {
+      // If this container has not specified a schema version, it is in the old
+      // format with one default column family.
+      kvContainerData.setSchemaVersion(OzoneConsts.SCHEMA_V1);
+    }
+
+    File dbFile = KeyValueContainerLocationUtil.getContainerDBFile(
+        kvContainerData);
+    if (!dbFile.exists()) {
+      LOG.error("Container DB file is missing at {} for ContainerID {}. " +
+          "Skipping loading of this container.", dbFile, containerID);
+      // Don't further process this container, as it is missing db file.
+      throw new IOException("Container DB file is missing for containerID "
+          + containerID);
+    }
+    kvContainerData.setDbFile(dbFile);
+  }
+
   private static void loadAndSetContainerDataChecksum(KeyValueContainerData kvContainerData,
                                                       Table<String, Long> metadataTable) {
     if (kvContainerData.isOpen()) {
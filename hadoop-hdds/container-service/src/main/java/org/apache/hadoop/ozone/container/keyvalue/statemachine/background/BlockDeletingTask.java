@@ -27,10 +27,12 @@
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.DeletedBlocksTransaction;
@@ -74,6 +76,7 @@ public class BlockDeletingTask implements BackgroundTask {
   private final ConfigurationSource conf;
   private Duration blockDeletingMaxLockHoldingTime;
   private final ContainerChecksumTreeManager checksumTreeManager;
+  private final BlockFileDeleter blockFileDeleter;
 
   public BlockDeletingTask(
       BlockDeletingService blockDeletingService,
@@ -90,6 +93,7 @@ public BlockDeletingTask(
         (KeyValueContainerData) containerBlockInfo.getContainerData();
     this.blocksToDelete = containerBlockInfo.getNumBlocksToDelete();
     this.checksumTreeManager = checksumTreeManager;
+    this.blockFileDeleter = blockDeletingService.getBlockFileDeleter();
   }
 
   private static class ContainerBackgroundTaskResult
@@ -451,12 +455,17 @@ private DeleteTransactionStats deleteTransactions(
     Map<Long, BlockData> deletedBlocks = new HashMap<>();
 
     for (DeletedBlocksTransaction entry : delBlocks) {
+      // The files of the blocks in a transaction are deleted in parallel on
+      // the threads of the container's volume.
+      List<BlockData> txnBlocks = new ArrayList<>();
+      Set<Long> blocksInTransaction = new HashSet<>();
       for (Long blkLong : entry.getLocalIDList()) {
         // Increment blocksProcessed for every block processed
         blocksProcessed++;
 
         // Check if the block has already been deleted
-        if (deletedBlocks.containsKey(blkLong)) {
+        if (deletedBlocks.containsKey(blkLong)
+            || !blocksInTransaction.add(blkLong)) {
           LOG.debug("Skipping duplicate deletion for block {}", blkLong);
           continue;
         }
@@ -474,26 +483,28 @@ private DeleteTransactionStats deleteTransactions(
           }
           continue;
         }
+        txnBlocks.add(blkInfo);
+      }
 
-        boolean deleted = false;
-        try {
-          handler.deleteBlock(container, blkInfo);
-          blocksDeleted++;
-          deleted = true;
-          // Track this block as deleted
-          deletedBlocks.put(blkLong, blkInfo);
-        } catch (IOException e) {
+      List<IOException> failures = blockFileDeleter.deleteBlocks(
+          containerData.getVolume(), txnBlocks,
+          blkInfo -> handler.deleteBlock(container, blkInfo));
+      for (int i = 0; i < txnBlocks.size(); i++) {
+        BlockData blkInfo = txnBlocks.get(i);
+        if (failures.get(i) != null) {
           // TODO: if deletion of certain block retries exceed the certain
           //  number of times, service should skip deleting it,
           //  otherwise invalid numPendingDeletionBlocks could accumulate
           //  beyond the limit and the following deletion will stop.
-          LOG.error("Failed to delete files for block {}", blkLong, e);
-        }
-
-        if (deleted) {
-          bytesReleased += KeyValueContainerUtil.getBlockLengthTryCatch(blkInfo);
-          // TODO: handle the bytesReleased correctly for the unexpected exception.
+          LOG.error("Failed to delete files for block {}",
+              blkInfo.getLocalID(), failures.get(i));
+          continue;
         }
+        blocksDeleted++;
+        // Track this block as deleted
+        deletedBlocks.put(blkInfo.getLocalID(), blkInfo);
+        bytesReleased += KeyValueContainerUtil.getBlockLengthTryCatch(blkInfo);
+        // TODO: handle the bytesReleased correctly for the unexpected exception.
       }
       bytesProcessed += entry.getTotalBlockSize();
       deletedBlocksTxs.add(entry);
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.statemachine.background;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.helpers.BlockDeletingServiceMetrics;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes the files of blocks on a thread pool per volume.
+ * <p>
+ * The block deleting service processes several containers at the same time,
+ * possibly on the same disk.  Submitting the file deletes of all of them to
+ * the pool of the volume bounds the number of concurrent deletes per disk,
+ * while containers on different disks are deleted independently.  The
+ * caller waits for the deletes of its blocks to complete, so the block
+ * metadata is only removed from the DB after its files are gone.
+ */
+public class BlockFileDeleter {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BlockFileDeleter.class);
+
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+  private final int threadsPerVolume;
+  private final String threadNamePrefix;
+  private final BlockDeletingServiceMetrics metrics;
+  private final Map<String, ExecutorService> volumeExecutors =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Deletes the files of one block.
+   */
+  @FunctionalInterface
+  public interface Deletion {
+    void delete(BlockData block) throws IOException;
+  }
+
+  public BlockFileDeleter(int threadsPerVolume, String threadNamePrefix,
+      BlockDeletingServiceMetrics metrics) {
+    this.threadsPerVolume = Math.max(1, threadsPerVolume);
+    this.threadNamePrefix = threadNamePrefix;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Deletes the files of the given blocks and waits for completion.
+   *
+   * @return the failure of each block, in the order of {@code blocks};
+   * null for the blocks deleted successfully.
+   */
+  public List<IOException> deleteBlocks(HddsVolume volume,
+      List<BlockData> blocks, Deletion deletion) throws IOException {
+    final IOException[] failures = new IOException[blocks.size()];
+    if (threadsPerVolume == 1 || blocks.size() <= 1 || volume == null) {
+      for (int i = 0; i < blocks.size(); i++) {
+        failures[i] = delete(blocks.get(i), deletion);
+      }
+      return Arrays.asList(failures);
+    }
+
+    final ExecutorService executor = getExecutor(volume);
+    final List<Future<IOException>> futures = new ArrayList<>(blocks.size());
+    for (BlockData block : blocks) {
+      futures.add(executor.submit(() -> delete(block, deletion)));
+    }
+    try {
+      for (int i = 0; i < futures.size(); i++) {
+        failures[i] = futures.get(i).get();
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(f -> f.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while deleting block files on "
+          + volume, e);
+    } catch (ExecutionException e) {
+      futures.forEach(f -> f.cancel(true));
+      throw new IOException("Failed to delete block files on " + volume,
+          e.getCause());
+    }
+    return Arrays.asList(failures);
+  }
+
+  private IOException delete(BlockData block, Deletion deletion) {
+    final long start = Time.monotonicNowNanos();
+    try {
+      deletion.delete(block);
+      return null;
+    } catch (IOException e) {
+      return e;
+    } finally {
+      metrics.addBlockFileDeleteTime(Time.monotonicNowNanos() - start);
+    }
+  }
+
+  private ExecutorService getExecutor(HddsVolume volume) {
+    return volumeExecutors.computeIfAbsent(volume.getStorageDir().getPath(),
+        dir -> {
+          LOG.info("Starting {} block file delete threads for volume {}",
+              threadsPerVolume, dir);
+          ThreadPoolExecutor executor = new ThreadPoolExecutor(
+              threadsPerVolume, threadsPerVolume,
+              IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat(threadNamePrefix + "BlockFileDeleter-"
+                      + volume.getStorageID() + "-%d")
+                  .setDaemon(true)
+                  .build());
+          // Threads of idle volumes exit, so there is no need to track
+          // removed volumes.
+          executor.allowCoreThreadTimeOut(true);
+          return executor;
+        });
+  }
+
+  /**
+   * Stops the delete threads of all volumes.
+   */
+  public void shutdown() {
+    volumeExecutors.values().forEach(ExecutorService::shutdownNow);
+    volumeExecutors.clear();
+  }
+}
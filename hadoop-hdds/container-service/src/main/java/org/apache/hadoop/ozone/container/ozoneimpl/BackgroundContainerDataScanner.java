@@ -24,11 +24,13 @@
 import org.apache.hadoop.hdfs.util.DataTransferThrottler;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Data scanner that full checks a volume. Each volume gets a separate thread.
+ * Data scanner that full checks a volume. Each volume gets a separate thread,
+ * which backs off while the volume is busy with foreground I/O.
  */
 public class BackgroundContainerDataScanner extends
     AbstractBackgroundContainerScanner {
@@ -52,10 +54,12 @@ public BackgroundContainerDataScanner(ContainerScannerConfiguration conf,
     super(String.format(NAME_FORMAT, volume), conf.getDataScanInterval());
     this.controller = controller;
     this.volume = volume;
-    throttler = new HddsDataTransferThrottler(conf.getBandwidthPerVolume());
     canceler = new Canceler();
     this.metrics = ContainerDataScannerMetrics.create(volume.toString());
     this.metrics.setStorageDirectory(volume.toString());
+    throttler = new VolumeUtilizationThrottler(conf.getBandwidthPerVolume(),
+        conf.getVolumeUtilizationThreshold(), volume.getVolumeIOStats(),
+        metrics, Time::monotonicNow);
     this.scanHelper = ContainerScanHelper.withScanGap(LOG, controller, metrics, conf);
   }
 
@@ -99,24 +103,4 @@ public ContainerDataScannerMetrics getMetrics() {
   public String toString() {
     return String.format(NAME_FORMAT, volume + ", " + volume.getStorageID());
   }
-
-  private class HddsDataTransferThrottler extends DataTransferThrottler {
-    HddsDataTransferThrottler(long bandwidthPerSec) {
-      super(bandwidthPerSec);
-    }
-
-    @Override
-    public synchronized void throttle(long numOfBytes) {
-      BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
-          numOfBytes);
-      super.throttle(numOfBytes);
-    }
-
-    @Override
-    public synchronized void throttle(long numOfBytes, Canceler c) {
-      BackgroundContainerDataScanner.this.metrics.incNumBytesScanned(
-          numOfBytes);
-      super.throttle(numOfBytes, c);
-    }
-  }
 }
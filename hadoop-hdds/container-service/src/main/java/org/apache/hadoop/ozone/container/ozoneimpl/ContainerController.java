@@ -36,6 +36,7 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.interfaces.DirectoryCopier;
 import org.apache.hadoop.ozone.container.common.interfaces.Handler;
 import org.apache.hadoop.ozone.container.common.interfaces.ScanResult;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
@@ -223,6 +224,15 @@ public void copyContainer(final ContainerData containerData,
             destinationPath);
   }
 
+  public void copyContainer(final ContainerData containerData,
+      final Path destinationPath, final DirectoryCopier copier)
+      throws IOException {
+    handlers.get(containerData.getContainerType())
+        .copyContainer(
+            containerSet.getContainer(containerData.getContainerID()),
+            destinationPath, copier);
+  }
+
   public void exportContainer(final ContainerType type,
       final long containerId, final OutputStream outputStream,
       final TarContainerPacker packer) throws IOException {
@@ -23,6 +23,8 @@
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 
 /**
@@ -36,6 +38,12 @@
   @Metric("disk bandwidth used by the container data scanner per volume")
   private MutableRate numBytesScanned;
 
+  @Metric("current bandwidth limit of the container data scanner per volume")
+  private MutableGaugeLong bandwidth;
+
+  @Metric("number of times the container data scanner backed off from a busy volume")
+  private MutableCounterLong numBackoffs;
+
   private String storageDirectory;
 
   public double getNumBytesScannedMean() {
@@ -54,6 +62,22 @@ public void incNumBytesScanned(long bytes) {
     numBytesScanned.add(bytes);
   }
 
+  public long getBandwidth() {
+    return bandwidth.value();
+  }
+
+  public void setBandwidth(long bytesPerSecond) {
+    bandwidth.set(bytesPerSecond);
+  }
+
+  public long getNumBackoffs() {
+    return numBackoffs.value();
+  }
+
+  public void incNumBackoffs() {
+    numBackoffs.incr();
+  }
+
   private ContainerDataScannerMetrics(String name, MetricsSystem ms) {
     super(name, ms);
   }
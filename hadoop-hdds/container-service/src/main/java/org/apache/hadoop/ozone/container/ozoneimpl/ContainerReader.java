@@ -21,9 +21,19 @@
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.DELETED;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.RECOVERING;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
@@ -33,6 +43,7 @@
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerDataYaml;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
@@ -67,7 +78,12 @@
  * the {@literal <<dataPath>>} layout for KeyValueContainers is:
  * <p>{@literal ../hdds/<<clusterUuid>>/current/<<containerDir>>/<<KVcontainerID
  * >/chunks/<<chunksFile>>}
- *
+ * <p>
+ * The containers of the volume are loaded by
+ * {@link DatanodeConfiguration#getContainerReaderThreadsPerVolume()} threads.
+ * If a {@link ContainerSetCheckpoint} of the volume is given, the metadata of
+ * the containers in it is taken from the checkpoint instead of the container
+ * DB.
  */
 public class ContainerReader implements Runnable {
 
@@ -79,10 +95,20 @@ public class ContainerReader implements Runnable {
   private final File hddsVolumeDir;
   private final MutableVolumeSet volumeSet;
   private final boolean shouldDelete;
+  private final int threadsPerVolume;
+  private final Map<Long, ContainerSetCheckpoint.Entry> checkpoint;
+  private final AtomicLong checkpointLoadedCount = new AtomicLong();
 
   public ContainerReader(
       MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
       ConfigurationSource conf, boolean shouldDelete) {
+    this(volSet, volume, cset, conf, shouldDelete, Collections.emptyMap());
+  }
+
+  public ContainerReader(
+      MutableVolumeSet volSet, HddsVolume volume, ContainerSet cset,
+      ConfigurationSource conf, boolean shouldDelete,
+      Map<Long, ContainerSetCheckpoint.Entry> checkpoint) {
     Objects.requireNonNull(volume,  "volume == null");
     this.hddsVolume = volume;
     this.hddsVolumeDir = hddsVolume.getHddsRootDir();
@@ -90,6 +116,17 @@ public ContainerReader(
     this.config = conf;
     this.volumeSet = volSet;
     this.shouldDelete = shouldDelete;
+    this.threadsPerVolume = conf.getObject(DatanodeConfiguration.class)
+        .getContainerReaderThreadsPerVolume();
+    this.checkpoint = Objects.requireNonNull(checkpoint, "checkpoint == null");
+  }
+
+  /**
+   * @return the number of containers whose metadata was loaded from the
+   * checkpoint.
+   */
+  public long getCheckpointLoadedCount() {
+    return checkpointLoadedCount.get();
   }
 
   @Override
@@ -133,35 +170,73 @@ public void readVolume(File hddsVolumeRootDir) {
       }
 
       LOG.info("Start to verify containers on volume {}", hddsVolumeRootDir);
+      List<File> allContainerDirs = new ArrayList<>();
       File[] containerTopDirs = currentDir.listFiles();
       if (containerTopDirs != null && containerTopDirs.length > 0) {
         for (File containerTopDir : containerTopDirs) {
           if (containerTopDir.isDirectory()) {
             File[] containerDirs = containerTopDir.listFiles();
             if (containerDirs != null) {
-              for (File containerDir : containerDirs) {
-                try {
-                  File containerFile = ContainerUtils.getContainerFile(
-                      containerDir);
-                  long containerID =
-                      ContainerUtils.getContainerID(containerDir);
-                  if (containerFile.exists()) {
-                    verifyContainerFile(containerID, containerFile);
-                  } else {
-                    LOG.error("Missing .container file for ContainerID: {}",
-                        containerDir.getName());
-                  }
-                } catch (Throwable e) {
-                  LOG.error("Failed to load container from {}",
-                      containerDir.getAbsolutePath(), e);
-                }
-              }
+              Collections.addAll(allContainerDirs, containerDirs);
             }
           }
         }
       }
+      if (threadsPerVolume > 1 && allContainerDirs.size() > 1) {
+        readContainerDirs(allContainerDirs);
+      } else {
+        allContainerDirs.forEach(this::readContainerDir);
+      }
+    }
+    LOG.info("Finish verifying containers on volume {}, {} loaded from " +
+        "checkpoint", hddsVolumeRootDir, checkpointLoadedCount.get());
+  }
+
+  /**
+   * Reads the given container directories of the volume in parallel.  A
+   * container ID maps to a single directory of a volume, so the threads
+   * never load the same container.
+   */
+  private void readContainerDirs(List<File> containerDirs) {
+    ExecutorService executor = Executors.newFixedThreadPool(threadsPerVolume,
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat(Thread.currentThread().getName() + "-%d")
+            .build());
+    try {
+      List<Future<?>> futures = new ArrayList<>(containerDirs.size());
+      for (File containerDir : containerDirs) {
+        futures.add(executor.submit(() -> readContainerDir(containerDir)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      LOG.error("Interrupted while reading containers on volume {}",
+          hddsVolumeDir, e);
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // readContainerDir logs and swallows all failures.
+      LOG.error("Failed to read containers on volume {}", hddsVolumeDir, e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void readContainerDir(File containerDir) {
+    try {
+      File containerFile = ContainerUtils.getContainerFile(containerDir);
+      long containerID = ContainerUtils.getContainerID(containerDir);
+      if (containerFile.exists()) {
+        verifyContainerFile(containerID, containerFile);
+      } else {
+        LOG.error("Missing .container file for ContainerID: {}",
+            containerDir.getName());
+      }
+    } catch (Throwable e) {
+      LOG.error("Failed to load container from {}",
+          containerDir.getAbsolutePath(), e);
     }
-    LOG.info("Finish verifying containers on volume {}", hddsVolumeRootDir);
   }
 
   private void verifyContainerFile(long containerID,
@@ -174,7 +249,12 @@ private void verifyContainerFile(long containerID,
             "Skipping loading of this container.", containerFile);
         return;
       }
-      verifyAndFixupContainerData(containerData);
+      ContainerSetCheckpoint.Entry entry = checkpoint.get(containerID);
+      if (entry != null && (!entry.matches(containerFile)
+          || !ContainerSetCheckpoint.isCheckpointed(containerData))) {
+        entry = null;
+      }
+      verifyAndFixupContainerData(containerData, entry);
     } catch (IOException ex) {
       LOG.error("Failed to parse ContainerFile for ContainerID: {}",
           containerID, ex);
@@ -190,6 +270,11 @@ private void verifyContainerFile(long containerID,
    */
   public void verifyAndFixupContainerData(ContainerData containerData)
       throws IOException {
+    verifyAndFixupContainerData(containerData, null);
+  }
+
+  private void verifyAndFixupContainerData(ContainerData containerData,
+      ContainerSetCheckpoint.Entry checkpointEntry) throws IOException {
     switch (containerData.getContainerType()) {
     case KeyValueContainer:
       if (!(containerData instanceof KeyValueContainerData)) {
@@ -202,7 +287,20 @@ public void verifyAndFixupContainerData(ContainerData containerData)
       KeyValueContainerData kvContainerData = (KeyValueContainerData)
           containerData;
       containerData.setVolume(hddsVolume);
-      KeyValueContainerUtil.parseKVContainerData(kvContainerData, config);
+      if (checkpointEntry != null
+          && KeyValueContainerUtil.parseKVContainerDataFromCheckpoint(
+              kvContainerData, config,
+              checkpointEntry.getDeleteTransactionId(),
+              checkpointEntry::apply)) {
+        checkpointLoadedCount.incrementAndGet();
+      } else {
+        if (checkpointEntry != null) {
+          LOG.info("Container {} changed after the checkpoint was written, " +
+              "reading its metadata from the DB",
+              kvContainerData.getContainerID());
+        }
+        KeyValueContainerUtil.parseKVContainerData(kvContainerData, config);
+      }
       KeyValueContainer kvContainer = new KeyValueContainer(kvContainerData,
           config);
       if (kvContainer.getContainerState() == RECOVERING) {
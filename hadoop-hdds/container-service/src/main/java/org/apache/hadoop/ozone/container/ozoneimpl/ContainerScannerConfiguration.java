@@ -55,6 +55,8 @@ public class ContainerScannerConfiguration {
       "hdds.container.scrub.on.demand.volume.bytes.per.second";
   public static final String CONTAINER_SCAN_MIN_GAP =
       "hdds.container.scrub.min.gap";
+  public static final String VOLUME_UTILIZATION_THRESHOLD_KEY =
+      "hdds.container.scrub.volume.utilization.threshold";
 
   static final long CONTAINER_SCAN_MIN_GAP_DEFAULT =
       Duration.ofMinutes(15).toMillis();
@@ -67,6 +69,7 @@ public class ContainerScannerConfiguration {
   public static final long BANDWIDTH_PER_VOLUME_DEFAULT = OzoneConsts.MB * 5L;
   public static final long ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT =
       OzoneConsts.MB * 5L;
+  public static final double VOLUME_UTILIZATION_THRESHOLD_DEFAULT = 0.5;
 
   @Config(key = "hdds.container.scrub.enabled",
       type = ConfigType.BOOLEAN,
@@ -115,9 +118,25 @@ public class ContainerScannerConfiguration {
       defaultValue = "5242880",
       tags = {ConfigTag.STORAGE},
       description = "Config parameter to throttle I/O bandwidth used"
-          + " by scanner per volume.")
+          + " by scanner per volume.  The background data scanner uses less"
+          + " while the volume is busy, see " + VOLUME_UTILIZATION_THRESHOLD_KEY
+          + ".")
   private long bandwidthPerVolume = BANDWIDTH_PER_VOLUME_DEFAULT;
 
+  @Config(key = VOLUME_UTILIZATION_THRESHOLD_KEY,
+      type = ConfigType.DOUBLE,
+      defaultValue = "0.5",
+      tags = {ConfigTag.STORAGE},
+      description = "The background data scanner of a volume backs off while"
+          + " the volume is busy with foreground I/O: the time spent in"
+          + " foreground reads and writes, per second, is above this"
+          + " fraction of a second.  Then the bandwidth of the scanner is"
+          + " halved each second, down to a sixteenth of "
+          + VOLUME_BYTES_PER_SECOND_KEY + ", and grows back once the volume"
+          + " is no longer busy.  Set to 0 to always use the full bandwidth.")
+  private double volumeUtilizationThreshold =
+      VOLUME_UTILIZATION_THRESHOLD_DEFAULT;
+
   @Config(key = "hdds.container.scrub.on.demand.volume.bytes.per.second",
       type = ConfigType.LONG,
       defaultValue = "5242880",
@@ -172,6 +191,12 @@ public void validate() {
           onDemandBandwidthPerVolume, ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT);
       onDemandBandwidthPerVolume = ON_DEMAND_BANDWIDTH_PER_VOLUME_DEFAULT;
     }
+    if (volumeUtilizationThreshold < 0) {
+      LOG.warn(VOLUME_UTILIZATION_THRESHOLD_KEY +
+              " must be >= 0 and was set to {}. Defaulting to {}",
+          volumeUtilizationThreshold, VOLUME_UTILIZATION_THRESHOLD_DEFAULT);
+      volumeUtilizationThreshold = VOLUME_UTILIZATION_THRESHOLD_DEFAULT;
+    }
   }
 
   public void setEnabled(boolean enabled) {
@@ -214,6 +239,14 @@ public long getOnDemandBandwidthPerVolume() {
     return onDemandBandwidthPerVolume;
   }
 
+  public double getVolumeUtilizationThreshold() {
+    return volumeUtilizationThreshold;
+  }
+
+  public void setVolumeUtilizationThreshold(double threshold) {
+    volumeUtilizationThreshold = threshold;
+  }
+
   public long getContainerScanMinGap() {
     return containerScanMinGap;
   }
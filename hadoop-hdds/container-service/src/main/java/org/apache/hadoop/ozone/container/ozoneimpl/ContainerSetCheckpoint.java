@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerUtils;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.ratis.util.AtomicFileOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checkpoint of the container metadata kept in the container DBs of a volume.
+ * <p>
+ * When the datanode starts, {@link ContainerReader} reads the metadata of
+ * each container, like its block count, bytes used and block commit sequence
+ * ID, from the container DB. This checkpoint saves that metadata for the
+ * closed containers of the volume when the datanode stops, after all the
+ * services changing containers have stopped, so the next start can take it
+ * from the checkpoint instead.
+ * <p>
+ * The checkpoint is deleted when it is loaded, before any container can
+ * change, so it is never used after an unclean stop. An entry is only used
+ * if the .container file still has the length and modification time it had
+ * when the checkpoint was written, and if the delete transaction ID in the
+ * container DB is still the one in the entry, in case a command changed the
+ * container while the datanode was stopping. Only schema V3 containers are
+ * saved, as their DB is shared by the volume and is cheap to check. The
+ * whole file is protected by a CRC32 checksum.
+ */
+public final class ContainerSetCheckpoint {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ContainerSetCheckpoint.class);
+
+  public static final String FILE_NAME = "container-set.checkpoint";
+
+  private static final int MAGIC = 0x4f435343;
+  private static final int VERSION = 1;
+  private static final long UNSET_DATA_CHECKSUM = -1;
+
+  private ContainerSetCheckpoint() {
+  }
+
+  /**
+   * The metadata of one container read from the container DB.
+   */
+  public static final class Entry {
+    private final long containerID;
+    private final long containerFileLength;
+    private final long containerFileModificationTime;
+    private final long blockCommitSequenceId;
+    private final long deleteTransactionId;
+    private final long blockCount;
+    private final long blockBytes;
+    private final long pendingDeletionCount;
+    private final long pendingDeletionBytes;
+    private final boolean empty;
+    private final long dataChecksum;
+
+    @SuppressWarnings("parameternumber")
+    private Entry(long containerID, long containerFileLength,
+        long containerFileModificationTime, long blockCommitSequenceId,
+        long deleteTransactionId, long blockCount, long blockBytes,
+        long pendingDeletionCount, long pendingDeletionBytes, boolean empty,
+        long dataChecksum) {
+      this.containerID = containerID;
+      this.containerFileLength = containerFileLength;
+      this.containerFileModificationTime = containerFileModificationTime;
+      this.blockCommitSequenceId = blockCommitSequenceId;
+      this.deleteTransactionId = deleteTransactionId;
+      this.blockCount = blockCount;
+      this.blockBytes = blockBytes;
+      this.pendingDeletionCount = pendingDeletionCount;
+      this.pendingDeletionBytes = pendingDeletionBytes;
+      this.empty = empty;
+      this.dataChecksum = dataChecksum;
+    }
+
+    static Entry of(KeyValueContainerData data, File containerFile) {
+      final ContainerData.BlockByteAndCounts counts =
+          data.getStatistics().getBlockByteAndCounts();
+      return new Entry(data.getContainerID(), containerFile.length(),
+          containerFile.lastModified(), data.getBlockCommitSequenceId(),
+          data.getDeleteTransactionId(), counts.getCount(), counts.getBytes(),
+          counts.getPendingDeletion(), counts.getPendingDeletionBytes(),
+          data.isEmpty(), data.needsDataChecksum() ? UNSET_DATA_CHECKSUM
+              : data.getDataChecksum());
+    }
+
+    public long getContainerID() {
+      return containerID;
+    }
+
+    public long getDeleteTransactionId() {
+      return deleteTransactionId;
+    }
+
+    /**
+     * Returns true if the given .container file is unchanged since this
+     * entry was written.
+     */
+    public boolean matches(File containerFile) {
+      return containerFile.length() == containerFileLength
+          && containerFile.lastModified() == containerFileModificationTime;
+    }
+
+    /**
+     * Sets the metadata of this entry on the given container.
+     */
+    public void apply(KeyValueContainerData data) {
+      data.updateBlockCommitSequenceId(blockCommitSequenceId);
+      data.updateDeleteTransactionId(deleteTransactionId);
+      data.getStatistics().updateBlocks(blockBytes, blockCount);
+      data.getStatistics().setBlockPendingDeletion(pendingDeletionCount,
+          pendingDeletionBytes);
+      if (empty) {
+        data.markAsEmpty();
+      }
+      if (dataChecksum != UNSET_DATA_CHECKSUM && data.needsDataChecksum()) {
+        data.setDataChecksum(dataChecksum);
+      }
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+      out.writeLong(containerID);
+      out.writeLong(containerFileLength);
+      out.writeLong(containerFileModificationTime);
+      out.writeLong(blockCommitSequenceId);
+      out.writeLong(deleteTransactionId);
+      out.writeLong(blockCount);
+      out.writeLong(blockBytes);
+      out.writeLong(pendingDeletionCount);
+      out.writeLong(pendingDeletionBytes);
+      out.writeBoolean(empty);
+      out.writeLong(dataChecksum);
+    }
+
+    private static Entry read(DataInputStream in) throws IOException {
+      return new Entry(in.readLong(), in.readLong(), in.readLong(),
+          in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+          in.readLong(), in.readLong(), in.readBoolean(), in.readLong());
+    }
+  }
+
+  /**
+   * Returns true if the metadata of the given container can be saved in the
+   * checkpoint. Only closed schema V3 containers are saved, as their
+   * metadata no longer changes with writes.
+   */
+  static boolean isCheckpointed(ContainerData data) {
+    if (!(data instanceof KeyValueContainerData)) {
+      return false;
+    }
+    final KeyValueContainerData kvData = (KeyValueContainerData) data;
+    final State state = data.getState();
+    return (state == State.CLOSED || state == State.QUASI_CLOSED)
+        && kvData.hasSchema(OzoneConsts.SCHEMA_V3)
+        && kvData.getFinalizedBlockSet().isEmpty();
+  }
+
+  /**
+   * @return the checkpoint file in the working directory of the volume, or
+   * null if the volume has no working directory yet.
+   */
+  static File getFile(HddsVolume volume) {
+    final File tmpDir = volume.getTmpDir();
+    return tmpDir == null ? null
+        : new File(tmpDir.getParentFile(), FILE_NAME);
+  }
+
+  /**
+   * Writes the checkpoint of the given containers of the volume.
+   *
+   * @return the number of containers written.
+   */
+  public static int write(HddsVolume volume,
+      Collection<KeyValueContainerData> containers) throws IOException {
+    final File checkpointFile = getFile(volume);
+    if (checkpointFile == null) {
+      return 0;
+    }
+    final CRC32 crc = new CRC32();
+    int count = 0;
+    try (OutputStream file = new AtomicFileOutputStream(checkpointFile);
+         CheckedOutputStream checked = new CheckedOutputStream(
+             new BufferedOutputStream(file), crc);
+         DataOutputStream out = new DataOutputStream(checked)) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      for (KeyValueContainerData data : containers) {
+        final File containerFile = ContainerUtils.getContainerFile(
+            new File(data.getContainerPath()));
+        if (!containerFile.exists()) {
+          continue;
+        }
+        out.writeBoolean(true);
+        Entry.of(data, containerFile).write(out);
+        count++;
+      }
+      out.writeBoolean(false);
+      out.flush();
+      // The checksum covers everything written before it.
+      out.writeLong(crc.getValue());
+    }
+    return count;
+  }
+
+  /**
+   * Reads the checkpoint of the volume and deletes it, so it is not used
+   * again after the containers change.
+   *
+   * @return the entries by container ID, empty if there is no checkpoint or
+   * it cannot be read.
+   */
+  public static Map<Long, Entry> load(HddsVolume volume) {
+    final File file = getFile(volume);
+    if (file == null || !file.exists()) {
+      return Collections.emptyMap();
+    }
+    try {
+      return read(file);
+    } catch (IOException e) {
+      LOG.warn("Ignoring unreadable container checkpoint {}", file, e);
+      return Collections.emptyMap();
+    } finally {
+      delete(volume);
+    }
+  }
+
+  private static Map<Long, Entry> read(File file) throws IOException {
+    final CRC32 crc = new CRC32();
+    final Map<Long, Entry> entries = new HashMap<>();
+    try (InputStream in = Files.newInputStream(file.toPath());
+         DataInputStream checked = new DataInputStream(new CheckedInputStream(
+             new BufferedInputStream(in), crc))) {
+      if (checked.readInt() != MAGIC) {
+        throw new IOException("Not a container checkpoint");
+      }
+      final int version = checked.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported container checkpoint version "
+            + version);
+      }
+      while (checked.readBoolean()) {
+        final Entry entry = Entry.read(checked);
+        entries.put(entry.getContainerID(), entry);
+      }
+      final long expected = crc.getValue();
+      if (checked.readLong() != expected) {
+        throw new IOException("Container checkpoint checksum mismatch");
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Deletes the checkpoint of the volume, if any.
+   */
+  public static void delete(HddsVolume volume) {
+    final File file = getFile(volume);
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file.toPath());
+    } catch (IOException e) {
+      LOG.warn("Failed to delete container checkpoint {}", file, e);
+    }
+  }
+}
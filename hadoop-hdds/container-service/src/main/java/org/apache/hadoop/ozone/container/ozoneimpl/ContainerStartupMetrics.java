@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
+
+/**
+ * Metrics of the phases of {@link OzoneContainer} startup.
+ */
+@Metrics(name = "ContainerStartup Metrics", about = "Metrics related to "
+    + "loading the containers when the Datanode starts", context = "dfs")
+public final class ContainerStartupMetrics {
+
+  public static final String SOURCE_NAME =
+      ContainerStartupMetrics.class.getSimpleName();
+
+  private final String name;
+
+  @Metric(about = "Time taken to load the container checkpoints of all "
+      + "volumes in milliseconds.")
+  private MutableGaugeLong checkpointLoadTimeMs;
+
+  @Metric(about = "Time taken to read the containers of all volumes in "
+      + "milliseconds.")
+  private MutableGaugeLong containerReadTimeMs;
+
+  @Metric(about = "Time taken to find and validate the missing containers "
+      + "in milliseconds.")
+  private MutableGaugeLong missingContainerValidationTimeMs;
+
+  @Metric(about = "Time taken to check the volumes in milliseconds.")
+  private MutableGaugeLong volumeCheckTimeMs;
+
+  @Metric(about = "Time taken to start the container services in "
+      + "milliseconds.")
+  private MutableGaugeLong serviceStartTimeMs;
+
+  @Metric(about = "The number of containers loaded.")
+  private MutableGaugeLong loadedContainerCount;
+
+  @Metric(about = "The number of containers whose metadata was loaded from "
+      + "the checkpoint.")
+  private MutableGaugeLong checkpointLoadedContainerCount;
+
+  private ContainerStartupMetrics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Registers the startup metrics of the datanode with the given ID.
+   */
+  public static ContainerStartupMetrics create(String datanodeId) {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    String name = SOURCE_NAME + "-" + datanodeId;
+    return ms.register(name, "ContainerStartup",
+        new ContainerStartupMetrics(name));
+  }
+
+  /**
+   * Unregister the metrics instance.
+   */
+  public void unregister() {
+    DefaultMetricsSystem.instance().unregisterSource(name);
+  }
+
+  public void setCheckpointLoadTimeMs(long time) {
+    checkpointLoadTimeMs.set(time);
+  }
+
+  public void setContainerReadTimeMs(long time) {
+    containerReadTimeMs.set(time);
+  }
+
+  public void setMissingContainerValidationTimeMs(long time) {
+    missingContainerValidationTimeMs.set(time);
+  }
+
+  public void setVolumeCheckTimeMs(long time) {
+    volumeCheckTimeMs.set(time);
+  }
+
+  public void setServiceStartTimeMs(long time) {
+    serviceStartTimeMs.set(time);
+  }
+
+  public void setLoadedContainerCount(long count) {
+    loadedContainerCount.set(count);
+  }
+
+  public void setCheckpointLoadedContainerCount(long count) {
+    checkpointLoadedContainerCount.set(count);
+  }
+
+  public long getCheckpointLoadedContainerCount() {
+    return checkpointLoadedContainerCount.value();
+  }
+
+  public long getLoadedContainerCount() {
+    return loadedContainerCount.value();
+  }
+}
@@ -38,6 +38,7 @@
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -73,6 +74,7 @@
 import org.apache.hadoop.ozone.container.common.DatanodeLayoutStorage;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
 import org.apache.hadoop.ozone.container.common.impl.BlockDeletingService;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.impl.HddsDispatcher;
 import org.apache.hadoop.ozone.container.common.impl.StorageLocationReport;
@@ -96,6 +98,7 @@
 import org.apache.hadoop.ozone.container.diskbalancer.DiskBalancerConfiguration;
 import org.apache.hadoop.ozone.container.diskbalancer.DiskBalancerInfo;
 import org.apache.hadoop.ozone.container.diskbalancer.DiskBalancerService;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.statemachine.background.StaleRecoveringContainerScrubbingService;
 import org.apache.hadoop.ozone.container.metadata.WitnessedContainerMetadataStore;
 import org.apache.hadoop.ozone.container.metadata.WitnessedContainerMetadataStoreImpl;
@@ -148,6 +151,8 @@ public class OzoneContainer {
   private ScheduledExecutorService dbCompactionExecutorService;
 
   private final ContainerMetrics metrics;
+  private final ContainerStartupMetrics startupMetrics;
+  private final boolean containerCheckpointEnabled;
   private WitnessedContainerMetadataStore witnessedContainerMetadataStore;
 
   enum InitializingStatus {
@@ -210,6 +215,9 @@ public OzoneContainer(HddsDatanodeService hddsDatanodeService,
     metadataScanner = null;
 
     metrics = ContainerMetrics.create(conf);
+    startupMetrics = ContainerStartupMetrics.create(
+        datanodeDetails.getUuidString());
+    containerCheckpointEnabled = dnConf.isContainerCheckpointEnabled();
     handlers = Maps.newHashMap();
 
     IncrementalReportSender<Container> icrSender = createIncrementalReportSender();
@@ -338,30 +346,55 @@ public void buildContainerSet() throws IOException {
     Iterator<StorageVolume> volumeSetIterator = volumeSet.getVolumesList()
         .iterator();
     ArrayList<Thread> volumeThreads = new ArrayList<>();
+    List<ContainerReader> containerReaders = new ArrayList<>();
     long startTime = Time.monotonicNow();
 
     // Load container inspectors that may be triggered at startup based on
     // system properties set. These can inspect and possibly repair
     // containers as we iterate them here.
-    ContainerInspectorUtil.load();
+    boolean inspectorsLoaded = ContainerInspectorUtil.load();
+    // The inspectors need the container DB, so do not use the checkpoint
+    // when they are loaded.
+    boolean useCheckpoint = containerCheckpointEnabled && !inspectorsLoaded;
     String threadNamePrefix = datanodeDetails.threadNamePrefix();
     ThreadFactory threadFactory = new ThreadFactoryBuilder()
         .setDaemon(true)
         .setNameFormat(threadNamePrefix + "ContainerReader-%d")
         .build();
+    long checkpointLoadTime = 0;
     while (volumeSetIterator.hasNext()) {
-      StorageVolume volume = volumeSetIterator.next();
+      HddsVolume volume = (HddsVolume) volumeSetIterator.next();
+      long checkpointStartTime = Time.monotonicNow();
+      Map<Long, ContainerSetCheckpoint.Entry> checkpoint;
+      if (useCheckpoint) {
+        checkpoint = ContainerSetCheckpoint.load(volume);
+      } else {
+        ContainerSetCheckpoint.delete(volume);
+        checkpoint = Collections.emptyMap();
+      }
+      checkpointLoadTime += Time.monotonicNow() - checkpointStartTime;
       ContainerReader containerReader = new ContainerReader(volumeSet,
-          (HddsVolume) volume, containerSet, config, true);
+          volume, containerSet, config, true, checkpoint);
       Thread thread = threadFactory.newThread(containerReader);
       thread.start();
       volumeThreads.add(thread);
+      containerReaders.add(containerReader);
     }
+    startupMetrics.setCheckpointLoadTimeMs(checkpointLoadTime);
 
     try {
+      long readStartTime = Time.monotonicNow();
       for (Thread volumeThread : volumeThreads) {
         volumeThread.join();
       }
+      startupMetrics.setContainerReadTimeMs(
+          Time.monotonicNow() - readStartTime);
+      startupMetrics.setLoadedContainerCount(containerSet.containerCount());
+      startupMetrics.setCheckpointLoadedContainerCount(containerReaders
+          .stream().mapToLong(ContainerReader::getCheckpointLoadedCount)
+          .sum());
+
+      long validationStartTime = Time.monotonicNow();
       try (TableIterator<ContainerID, ContainerID> itr
                = getWitnessedContainerMetadataStore().getContainerCreateInfoTable().keyIterator()) {
         final Map<ContainerID, Long> containerIds = new HashMap<>();
@@ -370,6 +403,8 @@ public void buildContainerSet() throws IOException {
         }
         containerSet.buildMissingContainerSetAndValidate(containerIds, ContainerID::getId);
       }
+      startupMetrics.setMissingContainerValidationTimeMs(
+          Time.monotonicNow() - validationStartTime);
     } catch (InterruptedException ex) {
       LOG.error("Volume Threads Interrupted exception", ex);
       Thread.currentThread().interrupt();
@@ -379,8 +414,44 @@ public void buildContainerSet() throws IOException {
     // inspectors so they are not hit during normal datanode execution.
     ContainerInspectorUtil.unload();
 
-    LOG.info("Build ContainerSet costs {}s",
-        (Time.monotonicNow() - startTime) / 1000);
+    LOG.info("Build ContainerSet costs {}s, loaded {} containers, {} from " +
+            "checkpoint", (Time.monotonicNow() - startTime) / 1000,
+        startupMetrics.getLoadedContainerCount(),
+        startupMetrics.getCheckpointLoadedContainerCount());
+  }
+
+  /**
+   * Writes the {@link ContainerSetCheckpoint} of the given volumes.  Called
+   * after all services changing containers have stopped.
+   */
+  private void writeContainerCheckpoints(List<StorageVolume> volumes) {
+    long startTime = Time.monotonicNow();
+    Map<HddsVolume, List<KeyValueContainerData>> containersByVolume =
+        new HashMap<>();
+    for (Container<?> container : containerSet) {
+      ContainerData data = container.getContainerData();
+      if (ContainerSetCheckpoint.isCheckpointed(data)
+          && data.getVolume() != null) {
+        containersByVolume.computeIfAbsent(data.getVolume(),
+            v -> new ArrayList<>()).add((KeyValueContainerData) data);
+      }
+    }
+    for (StorageVolume volume : volumes) {
+      HddsVolume hddsVolume = (HddsVolume) volume;
+      try {
+        int count = ContainerSetCheckpoint.write(hddsVolume,
+            containersByVolume.getOrDefault(hddsVolume,
+                Collections.emptyList()));
+        LOG.info("Wrote checkpoint of {} containers on volume {}", count,
+            hddsVolume);
+      } catch (IOException e) {
+        LOG.warn("Failed to write container checkpoint on volume {}",
+            hddsVolume, e);
+        ContainerSetCheckpoint.delete(hddsVolume);
+      }
+    }
+    LOG.info("Wrote container checkpoints of {} volumes in {} ms",
+        volumes.size(), Time.monotonicNow() - startTime);
   }
 
   private IncrementalReportSender<Container> createIncrementalReportSender() {
@@ -550,6 +621,7 @@ public void start(String clusterId) throws IOException {
 
     buildContainerSet();
 
+    long volumeCheckStartTime = Time.monotonicNow();
     // Start background volume checks, which will begin after the configured
     // delay.
     volumeChecker.start();
@@ -564,7 +636,10 @@ public void start(String clusterId) throws IOException {
       dbVolumeSet.checkAllVolumes();
       dbVolumeSet.startAllVolume();
     }
+    startupMetrics.setVolumeCheckTimeMs(
+        Time.monotonicNow() - volumeCheckStartTime);
     LOG.info("Attempting to start container services.");
+    long serviceStartTime = Time.monotonicNow();
     startContainerScrub();
 
     replicationServer.start();
@@ -582,6 +657,8 @@ public void start(String clusterId) throws IOException {
     recoveringContainerScrubbingService.start();
 
     initHddsVolumeContainer();
+    startupMetrics.setServiceStartTimeMs(
+        Time.monotonicNow() - serviceStartTime);
 
     // mark OzoneContainer as INITIALIZED.
     initializingStatus.set(InitializingStatus.INITIALIZED);
@@ -593,6 +670,10 @@ public void start(String clusterId) throws IOException {
   public void stop() {
     //TODO: at end of container IO integration work.
     LOG.info("Attempting to stop container services.");
+    // Only save the checkpoint if all containers were loaded.
+    List<StorageVolume> checkpointVolumes = containerCheckpointEnabled
+        && initializingStatus.get() == InitializingStatus.INITIALIZED
+        ? volumeSet.getVolumesList() : Collections.emptyList();
     stopContainerScrub();
     replicationServer.stop();
     writeChannel.stop();
@@ -609,10 +690,15 @@ public void stop() {
       dbCompactionExecutorService.shutdown();
     }
     blockDeletingService.shutdown();
+    blockDeletingService.getBlockFileDeleter().shutdown();
     if (diskBalancerService != null) {
       diskBalancerService.shutdown();
     }
     recoveringContainerScrubbingService.shutdown();
+    if (!checkpointVolumes.isEmpty()) {
+      writeContainerCheckpoints(checkpointVolumes);
+    }
+    startupMetrics.unregister();
     IOUtils.closeQuietly(metrics);
     ContainerMetrics.remove();
     checksumTreeManager.stop();
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import java.util.function.LongSupplier;
+import org.apache.hadoop.hdfs.util.Canceler;
+import org.apache.hadoop.hdfs.util.DataTransferThrottler;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+
+/**
+ * Throttles the data scanner of a volume, backing off while the volume is
+ * busy with foreground I/O.
+ * <p>
+ * The utilization of the volume is the time spent in foreground reads and
+ * writes per elapsed time, sampled from its {@link VolumeIOStats} once per
+ * second.  While it is above the threshold, the bandwidth is halved, down to
+ * a sixteenth of the configured bandwidth.  Otherwise it grows back by a
+ * tenth of the configured bandwidth per second.
+ */
+class VolumeUtilizationThrottler extends DataTransferThrottler {
+
+  static final long SAMPLE_INTERVAL_MS = 1000;
+
+  private final long maxBandwidth;
+  private final double utilizationThreshold;
+  private final VolumeIOStats stats;
+  private final ContainerDataScannerMetrics metrics;
+  private final LongSupplier clock;
+
+  private long lastSampleTime;
+  private long lastIOTime;
+
+  /**
+   * @param stats the stats of the volume, or null to use a fixed bandwidth.
+   */
+  VolumeUtilizationThrottler(long bandwidth, double utilizationThreshold,
+      VolumeIOStats stats, ContainerDataScannerMetrics metrics,
+      LongSupplier clock) {
+    super(bandwidth);
+    this.maxBandwidth = bandwidth;
+    this.utilizationThreshold = utilizationThreshold;
+    this.stats = stats;
+    this.metrics = metrics;
+    this.clock = clock;
+    if (stats != null) {
+      lastIOTime = stats.getTotalIOTime();
+    }
+    lastSampleTime = clock.getAsLong();
+    metrics.setBandwidth(bandwidth);
+  }
+
+  @Override
+  public synchronized void throttle(long numOfBytes) {
+    throttle(numOfBytes, null);
+  }
+
+  @Override
+  public synchronized void throttle(long numOfBytes, Canceler c) {
+    metrics.incNumBytesScanned(numOfBytes);
+    adjustBandwidth();
+    super.throttle(numOfBytes, c);
+  }
+
+  private void adjustBandwidth() {
+    if (stats == null || utilizationThreshold <= 0 || maxBandwidth <= 0) {
+      return;
+    }
+    final long now = clock.getAsLong();
+    final long elapsed = now - lastSampleTime;
+    if (elapsed < SAMPLE_INTERVAL_MS) {
+      return;
+    }
+    final long ioTime = stats.getTotalIOTime();
+    final double utilization = (double) (ioTime - lastIOTime) / elapsed;
+    lastIOTime = ioTime;
+    lastSampleTime = now;
+
+    final long current = getBandwidth();
+    final long updated;
+    if (utilization > utilizationThreshold) {
+      metrics.incNumBackoffs();
+      updated = Math.max(Math.max(1, maxBandwidth / 16), current / 2);
+    } else {
+      updated = Math.min(maxBandwidth, current + Math.max(1, maxBandwidth / 10));
+    }
+    if (updated != current) {
+      setBandwidth(updated);
+      metrics.setBandwidth(updated);
+    }
+  }
+}
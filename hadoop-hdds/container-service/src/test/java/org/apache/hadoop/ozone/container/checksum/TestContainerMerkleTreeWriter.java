@@ -22,6 +22,8 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.ByteBuffer;
@@ -444,6 +446,31 @@ public void testProtoToWriterConversion() {
     assertTreesSortedAndMatch(expectedUpdatedTree, treeWriter.toProto());
   }
 
+  /**
+   * Tests that updating a tree loaded from a proto only recomputes the blocks that were modified.
+   */
+  @Test
+  public void testUnchangedBlocksAreReused() {
+    final long blockID1 = 1;
+    final long blockID2 = 2;
+    ContainerProtos.ChunkInfo b1c1 = buildChunk(config, 0, ByteBuffer.wrap(new byte[]{1, 2, 3}));
+    ContainerProtos.ChunkInfo b2c1 = buildChunk(config, 0, ByteBuffer.wrap(new byte[]{4, 5, 6}));
+    ContainerProtos.BlockMerkleTree blockTree1 = buildExpectedBlockTree(blockID1, buildExpectedChunkTree(b1c1));
+    ContainerProtos.BlockMerkleTree blockTree2 = buildExpectedBlockTree(blockID2, buildExpectedChunkTree(b2c1));
+    ContainerProtos.ContainerMerkleTree existingTree = buildExpectedContainerTree(blockTree1, blockTree2);
+
+    ContainerMerkleTreeWriter treeWriter = new ContainerMerkleTreeWriter(existingTree);
+    ContainerProtos.ChunkInfo b2c2 = buildChunk(config, 1, ByteBuffer.wrap(new byte[]{7, 8, 9}));
+    treeWriter.addChunks(blockID2, true, b2c2);
+    ContainerProtos.ContainerMerkleTree actualTree = treeWriter.toProto();
+
+    assertSame(existingTree.getBlockMerkleTree(0), actualTree.getBlockMerkleTree(0));
+    assertNotSame(existingTree.getBlockMerkleTree(1), actualTree.getBlockMerkleTree(1));
+    ContainerProtos.ContainerMerkleTree expectedTree = buildExpectedContainerTree(blockTree1,
+        buildExpectedBlockTree(blockID2, buildExpectedChunkTree(b2c1), buildExpectedChunkTree(b2c2)));
+    assertTreesSortedAndMatch(expectedTree, actualTree);
+  }
+
   /**
    * Tests adding deleted blocks to an empty tree for cases where the final tree checksum should and should not be
    * computed.
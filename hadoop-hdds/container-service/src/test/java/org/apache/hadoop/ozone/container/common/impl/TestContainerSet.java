@@ -40,6 +40,7 @@
 import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -283,6 +284,40 @@ public void iteratorIsOrderedByScanTime(ContainerLayoutVersion layout)
     assertEquals(containerCount, containersToBeScanned);
   }
 
+  @ContainerLayoutTestInfo.ContainerTest
+  public void iteratorPutsRequestedScansFirst(ContainerLayoutVersion layout)
+      throws StorageContainerException {
+    setLayoutVersion(layout);
+    HddsVolume vol = mockHddsVolume("uuid-1");
+    ContainerSet containerSet = newContainerSet();
+    for (int i = 0; i < 3; i++) {
+      KeyValueContainerData kvData = new KeyValueContainerData(i,
+          layout,
+          (long) StorageUnit.GB.toBytes(5), UUID.randomUUID().toString(),
+          UUID.randomUUID().toString());
+      if (i > 0) {
+        kvData.updateDataScanTime(Instant.ofEpochMilli(i * 1000L));
+      }
+      kvData.setVolume(vol);
+      kvData.setState(ContainerProtos.ContainerDataProto.State.CLOSED);
+      containerSet.addContainer(new KeyValueContainer(kvData, new OzoneConfiguration()));
+    }
+    containerSet.registerOnDemandScanner(mock(OnDemandContainerScanner.class));
+    containerSet.scanContainer(2, TEST_SCAN);
+
+    List<Long> order = new ArrayList<>();
+    containerSet.getContainerIterator(vol)
+        .forEachRemaining(c -> order.add(c.getContainerData().getContainerID()));
+    assertEquals(Arrays.asList(2L, 0L, 1L), order);
+
+    // Once scanned again, the container is ordered by its scan time.
+    containerSet.getContainer(2).getContainerData().updateDataScanTime(Instant.now().plusMillis(1));
+    order.clear();
+    containerSet.getContainerIterator(vol)
+        .forEachRemaining(c -> order.add(c.getContainerData().getContainerID()));
+    assertEquals(Arrays.asList(0L, 1L, 2L), order);
+  }
+
   @ContainerLayoutTestInfo.ContainerTest
   public void testGetContainerReport(ContainerLayoutVersion layout)
       throws IOException {
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.diskbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DiskBalancerThrottler}.
+ */
+public class TestDiskBalancerThrottler {
+
+  private static final long MB = 1024 * 1024;
+  private static final long INTERVAL_MS = 1000;
+  private static final long THRESHOLD_MS = 50;
+
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicLong sourceIOTime = new AtomicLong();
+  private final AtomicLong sourceIOCount = new AtomicLong();
+  private DiskBalancerServiceMetrics metrics;
+  private HddsVolume source;
+  private HddsVolume destination;
+
+  @BeforeEach
+  public void setup() {
+    metrics = DiskBalancerServiceMetrics.create();
+    VolumeIOStats sourceStats = mock(VolumeIOStats.class);
+    when(sourceStats.getTotalIOTime()).thenAnswer(i -> sourceIOTime.get());
+    when(sourceStats.getTimedIOCount()).thenAnswer(i -> sourceIOCount.get());
+    source = mock(HddsVolume.class);
+    when(source.getVolumeIOStats()).thenReturn(sourceStats);
+    destination = mock(HddsVolume.class);
+    when(destination.getVolumeIOStats()).thenReturn(mock(VolumeIOStats.class));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    DiskBalancerServiceMetrics.unRegister();
+  }
+
+  @Test
+  public void movePausesWhileVolumeIsBusy() throws Exception {
+    DiskBalancerThrottler throttler = newThrottler(THRESHOLD_MS);
+    throttler.throttle(1, source, destination);
+    assertFalse(throttler.isBusy(source, destination));
+
+    // Foreground reads averaging 100 ms on the source volume.
+    sourceIOTime.addAndGet(1000);
+    sourceIOCount.addAndGet(10);
+    now.set(INTERVAL_MS);
+    assertTrue(throttler.isBusy(source, destination));
+
+    Thread mover = new Thread(() -> throttler.throttle(1, source, destination));
+    mover.start();
+    GenericTestUtils.waitFor(() -> throttler.getBandwidth() == 5 * MB, 10, 5000);
+    assertTrue(mover.isAlive());
+
+    // No more foreground I/O in the next interval.
+    now.set(2 * INTERVAL_MS);
+    mover.join(5000);
+    assertFalse(mover.isAlive());
+    assertEquals(INTERVAL_MS, metrics.getForegroundPausedTime());
+    assertEquals(5 * MB, metrics.getBandwidthLimit());
+
+    // The bandwidth grows back one step per interval.
+    now.set(3 * INTERVAL_MS);
+    throttler.throttle(1, source, destination);
+    assertEquals(6 * MB, throttler.getBandwidth());
+    throttler.throttle(1, source, destination);
+    assertEquals(6 * MB, throttler.getBandwidth());
+
+    throttler.setMaxBandwidth(20 * MB);
+    assertEquals(20 * MB, throttler.getBandwidth());
+  }
+
+  @Test
+  public void movePauseIsBounded() throws Exception {
+    DiskBalancerThrottler throttler = newThrottler(THRESHOLD_MS);
+    throttler.throttle(1, source, destination);
+
+    sourceIOTime.addAndGet(1000);
+    sourceIOCount.addAndGet(10);
+    now.set(INTERVAL_MS);
+    Thread mover = new Thread(() -> throttler.throttle(1, source, destination));
+    mover.start();
+
+    GenericTestUtils.waitFor(() -> throttler.getBandwidth() == 5 * MB, 10, 5000);
+    assertTrue(mover.isAlive());
+
+    // The source volume is still busy when the maximum pause is reached.
+    sourceIOTime.addAndGet(10000);
+    sourceIOCount.addAndGet(100);
+    now.set((DiskBalancerThrottler.MAX_PAUSE_INTERVALS + 1) * INTERVAL_MS);
+    mover.join(5000);
+    assertFalse(mover.isAlive());
+    assertTrue(throttler.isBusy(source, destination));
+    assertEquals(DiskBalancerThrottler.MAX_PAUSE_INTERVALS * INTERVAL_MS,
+        metrics.getForegroundPausedTime());
+  }
+
+  @Test
+  public void fastForegroundIODoesNotPauseMoves() {
+    DiskBalancerThrottler throttler = newThrottler(THRESHOLD_MS);
+    throttler.throttle(1, source, destination);
+
+    // Foreground reads averaging 10 ms on the source volume.
+    sourceIOTime.addAndGet(100);
+    sourceIOCount.addAndGet(10);
+    now.set(INTERVAL_MS);
+    assertFalse(throttler.isBusy(source, destination));
+    throttler.throttle(1, source, destination);
+    assertEquals(10 * MB, throttler.getBandwidth());
+  }
+
+  @Test
+  public void zeroThresholdDisablesAdaptation() {
+    DiskBalancerThrottler throttler = newThrottler(0);
+    throttler.throttle(1, source, destination);
+
+    sourceIOTime.addAndGet(1000);
+    sourceIOCount.addAndGet(10);
+    now.set(INTERVAL_MS);
+    assertFalse(throttler.isBusy(source, destination));
+    throttler.throttle(1, source, destination);
+    assertEquals(10 * MB, throttler.getBandwidth());
+    assertEquals(0, metrics.getForegroundPausedTime());
+  }
+
+  private DiskBalancerThrottler newThrottler(long thresholdMs) {
+    return new DiskBalancerThrottler(10 * MB, thresholdMs, metrics, now::get,
+        INTERVAL_MS);
+  }
+}
@@ -76,12 +76,14 @@
 import org.apache.hadoop.ozone.common.Checksum;
 import org.apache.hadoop.ozone.common.ChecksumData;
 import org.apache.hadoop.ozone.container.checksum.ContainerChecksumTreeManager;
+import org.apache.hadoop.ozone.container.checksum.ContainerMerkleTreeMetrics;
 import org.apache.hadoop.ozone.container.checksum.DNContainerOperationClient;
 import org.apache.hadoop.ozone.container.common.ContainerTestUtils;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
@@ -216,6 +218,9 @@ public void testContainerReconciliation(int numBlocksToRemove, int numChunksToCo
     // Each datanode should have had one on-demand scan during test setup, and a second one after corruption was
     // introduced.
     waitForExpectedScanCount(1);
+    ContainerMerkleTreeMetrics metrics = dnsToCorrupt.get(0).getHandler().getChecksumManager().getMetrics();
+    long bytesTransferredBefore = metrics.getReconciliationBytesTransferred();
+    long containerBytesBefore = metrics.getReconciledContainerBytes();
 
     // Reconcile each datanode with its peers.
     // In a real cluster, SCM will not send a command to reconcile a datanode with itself.
@@ -232,6 +237,11 @@ public void testContainerReconciliation(int numBlocksToRemove, int numChunksToCo
     // After reconciliation, checksums should be the same for all containers.
     long repairedDataChecksum = assertUniqueChecksumCount(CONTAINER_ID, datanodes, 1);
     assertEquals(healthyDataChecksum, repairedDataChecksum);
+
+    // Only the missing and corrupt chunks were fetched from the peers.
+    assertThat(metrics.getReconciliationBytesTransferred() - bytesTransferredBefore)
+        .isPositive()
+        .isLessThan(metrics.getReconciledContainerBytes() - containerBytesBefore);
   }
 
   /**
@@ -447,6 +457,8 @@ private static class MockDatanode {
       this.conf = new OzoneConfiguration();
       conf.set(HDDS_DATANODE_DIR_KEY, dataVolume.toString());
       conf.set(OZONE_METADATA_DIRS, metadataVolume.toString());
+      // ContainerProtocolCalls is mocked statically, which only applies to the thread reconciling the container.
+      conf.setInt(DatanodeConfiguration.CONTAINER_RECONCILE_THREADS_KEY, 1);
 
       containerSet = newContainerSet();
       MutableVolumeSet volumeSet = createVolumeSet();
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.statemachine.background;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.helpers.BlockDeletingServiceMetrics;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link BlockFileDeleter}.
+ */
+public class TestBlockFileDeleter {
+
+  @TempDir
+  private File volumeDir;
+
+  private HddsVolume volume;
+  private BlockDeletingServiceMetrics metrics;
+
+  @BeforeEach
+  public void setup() {
+    volume = mock(HddsVolume.class);
+    when(volume.getStorageDir()).thenReturn(volumeDir);
+    when(volume.getStorageID()).thenReturn("DS-1");
+    metrics = BlockDeletingServiceMetrics.create();
+  }
+
+  @AfterEach
+  public void cleanup() {
+    BlockDeletingServiceMetrics.unRegister();
+  }
+
+  private static List<BlockData> newBlocks(int count) {
+    return LongStream.range(0, count)
+        .mapToObj(id -> new BlockData(new BlockID(1, id)))
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void deletesOnVolumeThreadsAndReportsFailuresInOrder()
+      throws IOException {
+    BlockFileDeleter deleter = new BlockFileDeleter(4, "", metrics);
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    try {
+      List<IOException> failures = deleter.deleteBlocks(volume, newBlocks(20),
+          block -> {
+            threads.add(Thread.currentThread().getName());
+            if (block.getLocalID() % 5 == 0) {
+              throw new IOException("failed " + block.getLocalID());
+            }
+          });
+
+      assertEquals(20, failures.size());
+      for (int i = 0; i < failures.size(); i++) {
+        if (i % 5 == 0) {
+          assertNotNull(failures.get(i));
+          assertEquals("failed " + i, failures.get(i).getMessage());
+        } else {
+          assertNull(failures.get(i));
+        }
+      }
+      assertThat(threads).isNotEmpty()
+          .allMatch(name -> name.contains("BlockFileDeleter-DS-1"));
+    } finally {
+      deleter.shutdown();
+    }
+  }
+
+  @Test
+  public void deletesInCallerThreadWithSingleThreadPerVolume()
+      throws IOException {
+    BlockFileDeleter deleter = new BlockFileDeleter(1, "", metrics);
+    String caller = Thread.currentThread().getName();
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    List<IOException> failures = deleter.deleteBlocks(volume, newBlocks(3),
+        block -> threads.add(Thread.currentThread().getName()));
+
+    assertThat(failures).containsOnlyNulls().hasSize(3);
+    assertThat(threads).containsExactly(caller);
+  }
+}
@@ -42,6 +42,7 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import org.apache.hadoop.conf.StorageUnit;
@@ -844,6 +845,120 @@ public void testContainerLoadingWithoutMerkleTree(ContainerTestVersionInfo versi
     verifyAllDataChecksumsMatch(loadedData, conf);
   }
 
+  @ContainerTestVersionInfo.ContainerTest
+  public void testContainerReaderWithCheckpoint(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    setLayoutAndSchemaVersion(versionInfo);
+    setup(versionInfo);
+    createContainer(10L);
+    ContainerCache.getInstance(conf).shutdownCache();
+
+    new ContainerReader(volumeSet, hddsVolume, containerSet, conf, true)
+        .run();
+    KeyValueContainerData closedData = (KeyValueContainerData)
+        containerSet.getContainer(10L).getContainerData();
+    // Make the checkpoint differ from the container DB.
+    closedData.getStatistics().updateBlocks(4 * blockLen, 4);
+    assertEquals(1, ContainerSetCheckpoint.write(hddsVolume,
+        Collections.singletonList(closedData)));
+    BlockUtils.shutdownCache(conf);
+
+    ContainerSet reloaded = newContainerSet(1000, mockMetadataStore);
+    ContainerReader containerReader = new ContainerReader(volumeSet,
+        hddsVolume, reloaded, conf, true,
+        ContainerSetCheckpoint.load(hddsVolume));
+    containerReader.run();
+
+    // The checkpoint is only used once, and only for schema V3 containers.
+    assertFalse(ContainerSetCheckpoint.getFile(hddsVolume).exists());
+    boolean checkpointed = closedData.hasSchema(OzoneConsts.SCHEMA_V3);
+    assertEquals(checkpointed ? 1 : 0,
+        containerReader.getCheckpointLoadedCount());
+    assertEquals(3, reloaded.containerCount());
+    KeyValueContainerData loadedData = (KeyValueContainerData)
+        reloaded.getContainer(10L).getContainerData();
+    assertEquals(checkpointed ? 4 : 0, loadedData.getBlockCount());
+    assertEquals(checkpointed ? 4 * blockLen : 0, loadedData.getBytesUsed());
+    assertNotNull(loadedData.getDbFile());
+    // Open containers are read from the container DB.
+    for (int i = 0; i < 2; i++) {
+      assertEquals(blockCount, ((KeyValueContainerData) reloaded
+          .getContainer(i).getContainerData()).getBlockCount());
+    }
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  public void testContainerReaderIgnoresStaleCheckpoint(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    setLayoutAndSchemaVersion(versionInfo);
+    setup(versionInfo);
+    KeyValueContainer container = createContainer(10L);
+    ContainerCache.getInstance(conf).shutdownCache();
+
+    KeyValueContainerData data = container.getContainerData();
+    data.getStatistics().updateBlocks(4 * blockLen, 4);
+    ContainerSetCheckpoint.write(hddsVolume, Collections.singletonList(data));
+    // The .container file changed after the checkpoint was written.
+    File containerFile = container.getContainerFile();
+    assertTrue(containerFile.setLastModified(
+        containerFile.lastModified() - 10_000));
+
+    ContainerReader containerReader = new ContainerReader(volumeSet,
+        hddsVolume, containerSet, conf, true,
+        ContainerSetCheckpoint.load(hddsVolume));
+    containerReader.run();
+
+    assertEquals(0, containerReader.getCheckpointLoadedCount());
+    assertEquals(0, containerSet.getContainer(10L).getContainerData()
+        .getBlockCount());
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  public void testContainerReaderIgnoresCheckpointOfDeletedBlocks(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    setLayoutAndSchemaVersion(versionInfo);
+    setup(versionInfo);
+    KeyValueContainer container = createContainer(10L);
+    KeyValueContainerData data = container.getContainerData();
+    data.getStatistics().updateBlocks(4 * blockLen, 4);
+    ContainerSetCheckpoint.write(hddsVolume, Collections.singletonList(data));
+    // A delete blocks command was handled after the checkpoint was written.
+    try (DBHandle db = BlockUtils.getDB(data, conf)) {
+      db.getStore().getMetadataTable().put(data.getLatestDeleteTxnKey(), 5L);
+    }
+    ContainerCache.getInstance(conf).shutdownCache();
+    BlockUtils.shutdownCache(conf);
+
+    ContainerReader containerReader = new ContainerReader(volumeSet,
+        hddsVolume, containerSet, conf, true,
+        ContainerSetCheckpoint.load(hddsVolume));
+    containerReader.run();
+
+    assertEquals(0, containerReader.getCheckpointLoadedCount());
+    KeyValueContainerData loadedData = (KeyValueContainerData)
+        containerSet.getContainer(10L).getContainerData();
+    assertEquals(0, loadedData.getBlockCount());
+    assertEquals(5, loadedData.getDeleteTransactionId());
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  public void testCorruptCheckpointIgnored(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    setLayoutAndSchemaVersion(versionInfo);
+    setup(versionInfo);
+    KeyValueContainer container = createContainer(10L);
+    ContainerSetCheckpoint.write(hddsVolume,
+        Collections.singletonList(container.getContainerData()));
+
+    File checkpointFile = ContainerSetCheckpoint.getFile(hddsVolume);
+    byte[] bytes = Files.readAllBytes(checkpointFile.toPath());
+    bytes[bytes.length / 2] ^= 1;
+    Files.write(checkpointFile.toPath(), bytes);
+
+    assertThat(ContainerSetCheckpoint.load(hddsVolume)).isEmpty();
+    assertFalse(checkpointFile.exists());
+  }
+
   private KeyValueContainer createContainer(long containerId) throws Exception {
     KeyValueContainerData containerData = new KeyValueContainerData(containerId, layout,
         (long) StorageUnit.GB.toBytes(5), UUID.randomUUID().toString(), datanodeId.toString());
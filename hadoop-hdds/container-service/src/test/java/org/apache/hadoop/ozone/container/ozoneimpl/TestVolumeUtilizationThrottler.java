@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.ozoneimpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link VolumeUtilizationThrottler}.
+ */
+public class TestVolumeUtilizationThrottler {
+
+  private static final long BANDWIDTH = 160L << 20;
+
+  private final AtomicLong clock = new AtomicLong();
+  private final AtomicLong ioTime = new AtomicLong();
+  private VolumeIOStats stats;
+  private ContainerDataScannerMetrics metrics;
+
+  @BeforeEach
+  public void setup() {
+    stats = mock(VolumeIOStats.class);
+    when(stats.getTotalIOTime()).thenAnswer(i -> ioTime.get());
+    metrics = ContainerDataScannerMetrics.create("TestVolumeUtilizationThrottler");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    metrics.unregister();
+  }
+
+  @Test
+  public void backsOffWhileVolumeIsBusy() {
+    VolumeUtilizationThrottler throttler = newThrottler(0.5, stats);
+
+    // 60% utilization halves the bandwidth.
+    busyFor(throttler, 600);
+    assertEquals(BANDWIDTH / 2, throttler.getBandwidth());
+    assertEquals(1, metrics.getNumBackoffs());
+    assertEquals(BANDWIDTH / 2, metrics.getBandwidth());
+
+    // Down to a sixteenth of the configured bandwidth.
+    for (int i = 0; i < 10; i++) {
+      busyFor(throttler, 900);
+    }
+    assertEquals(BANDWIDTH / 16, throttler.getBandwidth());
+    assertEquals(11, metrics.getNumBackoffs());
+
+    // Grows back by a tenth per second when the volume is idle.
+    busyFor(throttler, 100);
+    assertEquals(BANDWIDTH / 16 + BANDWIDTH / 10, throttler.getBandwidth());
+    for (int i = 0; i < 10; i++) {
+      busyFor(throttler, 0);
+    }
+    assertEquals(BANDWIDTH, throttler.getBandwidth());
+    assertEquals(11, metrics.getNumBackoffs());
+  }
+
+  @Test
+  public void samplesOncePerInterval() {
+    VolumeUtilizationThrottler throttler = newThrottler(0.5, stats);
+    ioTime.addAndGet(VolumeUtilizationThrottler.SAMPLE_INTERVAL_MS);
+    clock.addAndGet(VolumeUtilizationThrottler.SAMPLE_INTERVAL_MS - 1);
+    throttler.throttle(1);
+    assertEquals(BANDWIDTH, throttler.getBandwidth());
+
+    clock.incrementAndGet();
+    throttler.throttle(1);
+    assertEquals(BANDWIDTH / 2, throttler.getBandwidth());
+    assertEquals(2, metrics.getNumBytesScannedSampleCount());
+  }
+
+  @Test
+  public void fixedBandwidthWhenDisabled() {
+    VolumeUtilizationThrottler noThreshold = newThrottler(0, stats);
+    VolumeUtilizationThrottler noStats = newThrottler(0.5, null);
+    for (int i = 0; i < 3; i++) {
+      ioTime.addAndGet(VolumeUtilizationThrottler.SAMPLE_INTERVAL_MS);
+      clock.addAndGet(VolumeUtilizationThrottler.SAMPLE_INTERVAL_MS);
+      noThreshold.throttle(1);
+      noStats.throttle(1);
+    }
+    assertEquals(BANDWIDTH, noThreshold.getBandwidth());
+    assertEquals(BANDWIDTH, noStats.getBandwidth());
+    assertEquals(0, metrics.getNumBackoffs());
+  }
+
+  private VolumeUtilizationThrottler newThrottler(double threshold,
+      VolumeIOStats volumeStats) {
+    return new VolumeUtilizationThrottler(BANDWIDTH, threshold, volumeStats,
+        metrics, clock::get);
+  }
+
+  /**
+   * Spends the given milliseconds of the next second in foreground I/O and
+   * lets the throttler sample it.
+   */
+  private void busyFor(VolumeUtilizationThrottler throttler, long ms) {
+    ioTime.addAndGet(ms);
+    clock.addAndGet(VolumeUtilizationThrottler.SAMPLE_INTERVAL_MS);
+    throttler.throttle(1);
+  }
+}
@@ -17,7 +17,10 @@
 
 package org.apache.hadoop.hdds.security.token;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.Objects;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -30,6 +33,13 @@
 
 /**
  * Verifies short-lived token.
+ * <p>
+ * Clients send the same token with every chunk of a block, so tokens whose
+ * signature has been verified are kept in a bounded cache keyed by the
+ * token's identifier and password bytes.  A cached token is still checked
+ * for expiry and for its signing secret key being present and not expired,
+ * so expiry and secret key rotation are honored.  The checks that depend on
+ * the command (service and access mode) are always performed.
  * @param <T> type of short-lived token
  */
 public abstract class
@@ -38,11 +48,19 @@
 
   private final SecurityConfig conf;
   private final SecretKeyVerifierClient secretKeyClient;
+  /** Tokens with verified signature; null if caching is disabled. */
+  private final Cache<ByteBuffer, T> verifiedTokens;
+  private final TokenVerifierMetrics metrics;
 
   protected ShortLivedTokenVerifier(SecurityConfig conf,
       SecretKeyVerifierClient secretKeyClient) {
     this.conf = conf;
     this.secretKeyClient = secretKeyClient;
+    final long cacheSize = conf.getTokenVerificationCacheSize();
+    this.verifiedTokens = cacheSize > 0
+        ? CacheBuilder.newBuilder().maximumSize(cacheSize).build()
+        : null;
+    this.metrics = TokenVerifierMetrics.create();
   }
 
   /** Whether the specific kind of token is required for {@code cmdType}. */
@@ -69,14 +87,7 @@ public void verify(Token<?> token,
       return;
     }
 
-    T tokenId = createTokenIdentifier();
-    try {
-      tokenId.readFromByteArray(token.getIdentifier());
-    } catch (IOException ex) {
-      throw new BlockTokenException("Failed to decode token : " + token);
-    }
-
-    verifyTokenPassword(tokenId, token.getPassword());
+    T tokenId = getVerifiedTokenId(token);
 
     // check expiration
     if (tokenId.isExpired(Instant.now())) {
@@ -94,6 +105,63 @@ public void verify(Token<?> token,
     verify(tokenId, cmd);
   }
 
+  /**
+   * Decodes the token and verifies its signature, unless the same token
+   * has already been verified and its secret key is still valid.
+   */
+  private T getVerifiedTokenId(Token<?> token) throws SCMSecurityException {
+    final ByteBuffer cacheKey =
+        verifiedTokens != null ? toCacheKey(token) : null;
+    if (cacheKey != null) {
+      final T cached = verifiedTokens.getIfPresent(cacheKey);
+      if (cached != null) {
+        if (isStillValid(cached)) {
+          metrics.incVerifiedTokenCacheHits();
+          return cached;
+        }
+        verifiedTokens.invalidate(cacheKey);
+        metrics.incVerifiedTokenCacheInvalidations();
+      }
+      metrics.incVerifiedTokenCacheMisses();
+    }
+
+    final long startNanos = System.nanoTime();
+    T tokenId = createTokenIdentifier();
+    try {
+      tokenId.readFromByteArray(token.getIdentifier());
+    } catch (IOException ex) {
+      throw new BlockTokenException("Failed to decode token : " + token);
+    }
+
+    verifyTokenPassword(tokenId, token.getPassword());
+    metrics.addSignatureVerificationTime(System.nanoTime() - startNanos);
+
+    if (cacheKey != null && !tokenId.isExpired(Instant.now())) {
+      verifiedTokens.put(cacheKey, tokenId);
+    }
+    return tokenId;
+  }
+
+  private boolean isStillValid(T tokenId) throws SCMSecurityException {
+    if (tokenId.isExpired(Instant.now())) {
+      return false;
+    }
+    ManagedSecretKey secretKey = secretKeyClient.getSecretKey(
+        tokenId.getSecretKeyId());
+    return secretKey != null && !secretKey.isExpired();
+  }
+
+  /** Identifier length, identifier bytes and password bytes. */
+  private static ByteBuffer toCacheKey(Token<?> token) {
+    final byte[] identifier = token.getIdentifier();
+    final byte[] password = token.getPassword();
+    final ByteBuffer key = ByteBuffer.allocate(
+        Integer.BYTES + identifier.length + password.length);
+    key.putInt(identifier.length).put(identifier).put(password);
+    key.flip();
+    return key;
+  }
+
   protected SecurityConfig getConf() {
     return conf;
   }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.security.token;
+
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+
+/**
+ * Metrics for short-lived token verification on the datanode.
+ */
+@Metrics(about = "Token verifier metrics", context = "dfs")
+public class TokenVerifierMetrics {
+
+  private static final String SOURCE_NAME =
+      TokenVerifierMetrics.class.getSimpleName();
+
+  private static TokenVerifierMetrics instance;
+
+  @Metric("Number of tokens found in the verified token cache")
+  private MutableCounterLong verifiedTokenCacheHits;
+
+  @Metric("Number of tokens not found in the verified token cache")
+  private MutableCounterLong verifiedTokenCacheMisses;
+
+  @Metric("Number of cached tokens dropped due to expiry or key rotation")
+  private MutableCounterLong verifiedTokenCacheInvalidations;
+
+  @Metric("Time spent decoding and checking the signature of a token")
+  private MutableRate signatureVerificationNs;
+
+  public TokenVerifierMetrics() {
+  }
+
+  public static synchronized TokenVerifierMetrics create() {
+    if (instance != null) {
+      return instance;
+    }
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    instance = ms.register(SOURCE_NAME,
+        "Token verifier metrics",
+        new TokenVerifierMetrics());
+    return instance;
+  }
+
+  public static synchronized void unRegister() {
+    instance = null;
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(SOURCE_NAME);
+  }
+
+  public void incVerifiedTokenCacheHits() {
+    verifiedTokenCacheHits.incr();
+  }
+
+  public void incVerifiedTokenCacheMisses() {
+    verifiedTokenCacheMisses.incr();
+  }
+
+  public void incVerifiedTokenCacheInvalidations() {
+    verifiedTokenCacheInvalidations.incr();
+  }
+
+  public void addSignatureVerificationTime(long nanos) {
+    signatureVerificationNs.add(nanos);
+  }
+
+  public long getVerifiedTokenCacheHits() {
+    return verifiedTokenCacheHits.value();
+  }
+
+  public long getVerifiedTokenCacheMisses() {
+    return verifiedTokenCacheMisses.value();
+  }
+
+  public long getVerifiedTokenCacheInvalidations() {
+    return verifiedTokenCacheInvalidations.value();
+  }
+}
@@ -22,6 +22,7 @@
 import static org.apache.ratis.util.JavaUtils.getClassSimpleName;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -29,6 +30,12 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters.KeyPrefixFilter;
 import org.apache.hadoop.hdds.utils.TableCacheMetrics;
@@ -55,6 +62,10 @@
 public class TypedTable<KEY, VALUE> implements Table<KEY, VALUE> {
   private static final long EPOCH_DEFAULT = -1L;
   static final int BUFFER_SIZE_DEFAULT = 4 << 10; // 4 KB
+  static final int CACHE_LOAD_BATCH_SIZE = 1024;
+  /** The maximum number of threads decoding the batches of a table. */
+  private static final int CACHE_LOAD_THREADS =
+      Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
 
   private final RDBTable rawTable;
   private final String info;
@@ -90,19 +101,7 @@
     final String threadNamePrefix = rawTable.getName() + "_";
     if (cacheType == CacheType.FULL_CACHE) {
       cache = new FullTableCache<>(threadNamePrefix);
-      //fill cache
-      try (KeyValueIterator<KEY, VALUE> tableIterator = iterator()) {
-
-        while (tableIterator.hasNext()) {
-          KeyValue< KEY, VALUE > kv = tableIterator.next();
-
-          // We should build cache after OM restart when clean up policy is
-          // NEVER. Setting epoch value -1, so that when it is marked for
-          // delete, this will be considered for cleanup.
-          cache.loadInitial(new CacheKey<>(kv.getKey()),
-              CacheValue.get(EPOCH_DEFAULT, kv.getValue()));
-        }
-      }
+      loadFullCache();
     } else if (cacheType == CacheType.PARTIAL_CACHE) {
       cache = new PartialTableCache<>(threadNamePrefix);
     } else {
@@ -110,6 +109,89 @@
     }
   }
 
+  /**
+   * Fills the full table cache with all the entries of the table.
+   * The entries are read in order and decoded in parallel in batches of
+   * {@link #CACHE_LOAD_BATCH_SIZE}, since decoding the values takes most of
+   * the time to load a large table.  Small tables are loaded in this thread.
+   * The batches are decoded by up to {@link #CACHE_LOAD_THREADS} threads
+   * created for the load; once they are all busy and a few batches are
+   * queued, this thread decodes the next batch itself.
+   */
+  private void loadFullCache() throws RocksDatabaseException, CodecException {
+    final List<CompletableFuture<Void>> batches = new ArrayList<>();
+    ExecutorService executor = null;
+    try {
+      try (KeyValueIterator<byte[], byte[]> rawIterator = rawTable.iterator((byte[]) null,
+          IteratorType.KEY_AND_VALUE)) {
+        List<KeyValue<byte[], byte[]>> batch = new ArrayList<>(CACHE_LOAD_BATCH_SIZE);
+        while (rawIterator.hasNext()) {
+          batch.add(rawIterator.next());
+          if (batch.size() == CACHE_LOAD_BATCH_SIZE) {
+            if (executor == null) {
+              executor = newCacheLoadExecutor();
+            }
+            final List<KeyValue<byte[], byte[]>> fullBatch = batch;
+            batches.add(CompletableFuture.runAsync(() -> {
+              try {
+                loadInitial(fullBatch);
+              } catch (CodecException e) {
+                throw new CompletionException(e);
+              }
+            }, executor));
+            batch = new ArrayList<>(CACHE_LOAD_BATCH_SIZE);
+          }
+        }
+        loadInitial(batch);
+      } catch (RocksDatabaseException | CodecException | RuntimeException e) {
+        // Keep the failure of the iteration, with those of the batches.
+        for (CompletableFuture<Void> f : batches) {
+          try {
+            f.join();
+          } catch (CompletionException batchFailure) {
+            e.addSuppressed(batchFailure.getCause());
+          }
+        }
+        throw e;
+      }
+      for (CompletableFuture<Void> f : batches) {
+        try {
+          f.join();
+        } catch (CompletionException e) {
+          if (e.getCause() instanceof CodecException) {
+            throw (CodecException) e.getCause();
+          }
+          throw e;
+        }
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  private ExecutorService newCacheLoadExecutor() {
+    return new ThreadPoolExecutor(CACHE_LOAD_THREADS, CACHE_LOAD_THREADS,
+        0, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(2 * CACHE_LOAD_THREADS),
+        new ThreadFactoryBuilder()
+            .setNameFormat(rawTable.getName() + "-CacheLoader-%d")
+            .setDaemon(true)
+            .build(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  private void loadInitial(List<KeyValue<byte[], byte[]>> entries) throws CodecException {
+    for (KeyValue<byte[], byte[]> kv : entries) {
+      // We should build cache after OM restart when clean up policy is
+      // NEVER. Setting epoch value -1, so that when it is marked for
+      // delete, this will be considered for cleanup.
+      cache.loadInitial(new CacheKey<>(decodeKey(kv.getKey())),
+          CacheValue.get(EPOCH_DEFAULT, decodeValue(kv.getValue())));
+    }
+  }
+
   private CodecBuffer encodeKeyCodecBuffer(KEY key) throws CodecException {
     return key == null ? null : keyCodec.toDirectCodecBuffer(key);
   }
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.audit;
+
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_AUDIT_LOG_ASYNC_BATCH_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_AUDIT_LOG_ASYNC_BATCH_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_AUDIT_LOG_ASYNC_OVERFLOW_POLICY;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_AUDIT_LOG_ASYNC_OVERFLOW_POLICY_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_AUDIT_LOG_ASYNC_QUEUE_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_AUDIT_LOG_ASYNC_QUEUE_SIZE_DEFAULT;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.ozone.util.ShutdownHookManager;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes audit messages to the underlying log4j logger on a dedicated
+ * thread.
+ * <p>
+ * Callers only append a record to a lock-free ring buffer, so the
+ * (lazily computed) message formatting and the appender I/O happen off the
+ * request handler and Ratis apply threads.  The writer thread drains the
+ * buffer in batches.  When the buffer is full the record is either dropped
+ * or the caller waits for space, see {@link OverflowPolicy}.
+ * <p>
+ * There is one writer per {@link AuditLoggerType}, shared by all
+ * {@link AuditLogger} instances of that type.
+ */
+final class AsyncAuditWriter {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AsyncAuditWriter.class);
+
+  private static final Map<AuditLoggerType, AsyncAuditWriter> WRITERS =
+      new ConcurrentHashMap<>();
+
+  /** Wait time of the writer thread when the buffer is empty. */
+  private static final long IDLE_WAIT_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(1);
+  /** Wait time of a caller for space when the policy is BLOCK. */
+  private static final long FULL_WAIT_NANOS =
+      TimeUnit.MICROSECONDS.toNanos(50);
+  private static final int SHUTDOWN_HOOK_PRIORITY = 0;
+
+  /**
+   * Behavior when the buffer is full.
+   */
+  enum OverflowPolicy {
+    /** Discard the new record and count it in the dropped metric. */
+    DROP,
+    /** Make the caller wait until the writer frees a slot. */
+    BLOCK
+  }
+
+  private final ExtendedLogger logger;
+  private final String fqcn;
+  private final AuditRingBuffer<Record> buffer;
+  private final OverflowPolicy overflowPolicy;
+  private final int batchSize;
+  private final AuditLoggerMetrics metrics;
+  private final Thread writerThread;
+  private volatile boolean running = true;
+
+  @VisibleForTesting
+  AsyncAuditWriter(AuditLoggerType type, ExtendedLogger logger, String fqcn,
+      int queueSize, int batchSize, OverflowPolicy overflowPolicy) {
+    this.logger = logger;
+    this.fqcn = fqcn;
+    this.buffer = new AuditRingBuffer<>(queueSize);
+    this.batchSize = batchSize;
+    this.overflowPolicy = overflowPolicy;
+    this.metrics = AuditLoggerMetrics.create(type, buffer::size);
+    this.writerThread = new Thread(this::run,
+        type.getType() + "-AsyncAuditWriter");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Returns the writer for the given type, creating it on first use.
+   */
+  static AsyncAuditWriter getOrCreate(AuditLoggerType type,
+      ExtendedLogger logger, String fqcn, ConfigurationSource conf) {
+    return WRITERS.computeIfAbsent(type, t -> {
+      final int queueSize = conf.getInt(OZONE_AUDIT_LOG_ASYNC_QUEUE_SIZE,
+          OZONE_AUDIT_LOG_ASYNC_QUEUE_SIZE_DEFAULT);
+      final int batch = conf.getInt(OZONE_AUDIT_LOG_ASYNC_BATCH_SIZE,
+          OZONE_AUDIT_LOG_ASYNC_BATCH_SIZE_DEFAULT);
+      final OverflowPolicy policy = OverflowPolicy.valueOf(
+          conf.getTrimmed(OZONE_AUDIT_LOG_ASYNC_OVERFLOW_POLICY,
+              OZONE_AUDIT_LOG_ASYNC_OVERFLOW_POLICY_DEFAULT)
+              .toUpperCase(Locale.ROOT));
+      LOG.info("Starting asynchronous audit writer for {}: queueSize={}, "
+          + "batchSize={}, overflowPolicy={}", t.getType(), queueSize, batch,
+          policy);
+      final AsyncAuditWriter writer = new AsyncAuditWriter(
+          t, logger, fqcn, queueSize, batch, policy);
+      ShutdownHookManager.get().addShutdownHook(writer::close,
+          SHUTDOWN_HOOK_PRIORITY);
+      return writer;
+    });
+  }
+
+  /**
+   * Queues the message for writing.
+   * @return false if the message was dropped.
+   */
+  boolean submit(Level level, Marker marker, AuditMessage msg,
+      Throwable throwable) {
+    final Record record =
+        new Record(level, marker, msg, throwable, System.nanoTime());
+    if (buffer.offer(record)) {
+      metrics.incrEnqueued();
+      return true;
+    }
+    if (overflowPolicy == OverflowPolicy.DROP || !running) {
+      metrics.incrDropped();
+      return false;
+    }
+    metrics.incrBlocked();
+    while (!buffer.offer(record)) {
+      if (!running) {
+        metrics.incrDropped();
+        return false;
+      }
+      LockSupport.parkNanos(FULL_WAIT_NANOS);
+    }
+    metrics.incrEnqueued();
+    return true;
+  }
+
+  private void run() {
+    final List<Record> batch = new ArrayList<>(batchSize);
+    while (running || buffer.size() > 0) {
+      if (buffer.drainTo(batch, batchSize) == 0) {
+        if (running) {
+          LockSupport.parkNanos(IDLE_WAIT_NANOS);
+        }
+        continue;
+      }
+      write(batch);
+      batch.clear();
+    }
+  }
+
+  private void write(List<Record> batch) {
+    final long now = System.nanoTime();
+    for (Record record : batch) {
+      try {
+        logger.logIfEnabled(fqcn, record.level, record.marker, record.msg,
+            record.throwable);
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to write audit message {}", record.msg.getOp(), e);
+      }
+      metrics.addQueueLatency(now - record.enqueueNanos);
+    }
+    metrics.incrWritten(batch.size());
+  }
+
+  /**
+   * Stops accepting new records, flushes queued ones and stops the writer
+   * thread.
+   */
+  synchronized void close() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    LockSupport.unpark(writerThread);
+    try {
+      writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    metrics.unRegister();
+  }
+
+  @VisibleForTesting
+  AuditLoggerMetrics getMetrics() {
+    return metrics;
+  }
+
+  /** An audit message waiting to be written. */
+  private static final class Record {
+    private final Level level;
+    private final Marker marker;
+    private final AuditMessage msg;
+    private final Throwable throwable;
+    private final long enqueueNanos;
+
+    private Record(Level level, Marker marker, AuditMessage msg,
+        Throwable throwable, long enqueueNanos) {
+      this.level = level;
+      this.marker = marker;
+      this.msg = msg;
+      this.throwable = throwable;
+      this.enqueueNanos = enqueueNanos;
+    }
+  }
+}
@@ -28,6 +28,7 @@
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Marker;
@@ -54,6 +55,8 @@ public class AuditLogger {
       "ozone.audit.log.debug.cmd.list.";
   private AuditLoggerType type;
   private final Map<String, String> opNameCache = new ConcurrentHashMap<>();
+  /** Null when audit messages are written on the calling thread. */
+  private AsyncAuditWriter asyncWriter;
 
   /**
    * Parametrized Constructor to initialize logger.
@@ -70,7 +73,13 @@ public AuditLogger(AuditLoggerType type) {
   private void initializeLogger(AuditLoggerType loggerType) {
     this.logger = LogManager.getContext(false).getLogger(loggerType.getType());
     this.type = loggerType;
-    refreshDebugCmdSet();
+    OzoneConfiguration conf = new OzoneConfiguration();
+    refreshDebugCmdSet(conf);
+    if (conf.getBoolean(OzoneConfigKeys.OZONE_AUDIT_LOG_ASYNC_ENABLED,
+        OzoneConfigKeys.OZONE_AUDIT_LOG_ASYNC_ENABLED_DEFAULT)) {
+      this.asyncWriter =
+          AsyncAuditWriter.getOrCreate(loggerType, logger, FQCN, conf);
+    }
   }
 
   @VisibleForTesting
@@ -80,32 +89,32 @@ public ExtendedLogger getLogger() {
 
   public void logWriteSuccess(AuditMessage msg) {
     if (shouldLogAtDebug(msg)) {
-      this.logger.logIfEnabled(FQCN, Level.DEBUG, WRITE_MARKER, msg, null);
+      log(Level.DEBUG, WRITE_MARKER, msg, null);
     } else {
-      this.logger.logIfEnabled(FQCN, Level.INFO, WRITE_MARKER, msg, null);
+      log(Level.INFO, WRITE_MARKER, msg, null);
     }
   }
 
   public void logWriteFailure(AuditMessage msg) {
-    this.logger.logIfEnabled(FQCN, Level.ERROR, WRITE_MARKER, msg,
+    log(Level.ERROR, WRITE_MARKER, msg,
         msg.getThrowable());
   }
 
   public void logAuthFailure(AuditMessage msg) {
-    this.logger.logIfEnabled(FQCN, Level.ERROR, AUTH_MARKER, msg,
+    log(Level.ERROR, AUTH_MARKER, msg,
         msg.getThrowable());
   }
 
   public void logReadSuccess(AuditMessage msg) {
     if (shouldLogAtDebug(msg)) {
-      this.logger.logIfEnabled(FQCN, Level.DEBUG, READ_MARKER, msg, null);
+      log(Level.DEBUG, READ_MARKER, msg, null);
     } else {
-      this.logger.logIfEnabled(FQCN, Level.INFO, READ_MARKER, msg, null);
+      log(Level.INFO, READ_MARKER, msg, null);
     }
   }
 
   public void logReadFailure(AuditMessage msg) {
-    this.logger.logIfEnabled(FQCN, Level.ERROR, READ_MARKER, msg,
+    log(Level.ERROR, READ_MARKER, msg,
         msg.getThrowable());
   }
 
@@ -118,7 +127,16 @@ public void logWrite(AuditMessage auditMessage) {
   }
 
   public void logPerformance(AuditMessage msg) {
-    this.logger.logIfEnabled(FQCN, Level.INFO, PERFORMANCE, msg, null);
+    log(Level.INFO, PERFORMANCE, msg, null);
+  }
+
+  private void log(Level level, Marker marker, AuditMessage msg,
+      Throwable throwable) {
+    if (asyncWriter == null) {
+      logger.logIfEnabled(FQCN, level, marker, msg, throwable);
+    } else if (logger.isEnabled(level, marker)) {
+      asyncWriter.submit(level, marker, msg, throwable);
+    }
   }
 
   public void refreshDebugCmdSet() {
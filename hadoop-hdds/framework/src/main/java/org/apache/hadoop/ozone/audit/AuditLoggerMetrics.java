@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.audit;
+
+import java.util.function.IntSupplier;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+
+/**
+ * Metrics source for the asynchronous audit log writer of one logger type.
+ */
+@Metrics(about = "Asynchronous audit logger metrics", context = "ozone")
+public class AuditLoggerMetrics implements MetricsSource {
+  private static final String SOURCE_PREFIX =
+      AuditLoggerMetrics.class.getSimpleName();
+
+  private final String name;
+  private final MetricsRegistry registry;
+  private final IntSupplier queueDepthSupplier;
+
+  @Metric("Number of audit records currently waiting to be written")
+  private MutableGaugeInt queueDepth;
+
+  @Metric("Number of audit records accepted into the queue")
+  private MutableCounterLong enqueued;
+
+  @Metric("Number of audit records written to the appender")
+  private MutableCounterLong written;
+
+  @Metric("Number of audit records dropped because the queue was full")
+  private MutableCounterLong dropped;
+
+  @Metric("Number of times a caller waited for space in a full queue")
+  private MutableCounterLong blocked;
+
+  @Metric("Time between enqueueing and writing an audit record")
+  private MutableRate queueLatencyNs;
+
+  @Metric("Number of audit records written per batch")
+  private MutableRate batchSize;
+
+  AuditLoggerMetrics(AuditLoggerType type, IntSupplier queueDepthSupplier) {
+    this.name = SOURCE_PREFIX + type.getType();
+    this.registry = new MetricsRegistry(name);
+    this.queueDepthSupplier = queueDepthSupplier;
+  }
+
+  static AuditLoggerMetrics create(AuditLoggerType type,
+      IntSupplier queueDepthSupplier) {
+    AuditLoggerMetrics metrics =
+        new AuditLoggerMetrics(type, queueDepthSupplier);
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    return ms.register(metrics.name, "Asynchronous audit logger for "
+        + type.getType(), metrics);
+  }
+
+  public void unRegister() {
+    MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(name);
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    queueDepth.set(queueDepthSupplier.getAsInt());
+    MetricsRecordBuilder builder = collector.addRecord(name);
+    registry.snapshot(builder, all);
+  }
+
+  void incrEnqueued() {
+    enqueued.incr();
+  }
+
+  void incrWritten(int count) {
+    written.incr(count);
+    batchSize.add(count);
+  }
+
+  void incrDropped() {
+    dropped.incr();
+  }
+
+  void incrBlocked() {
+    blocked.incr();
+  }
+
+  void addQueueLatency(long nanos) {
+    queueLatencyNs.add(nanos);
+  }
+
+  public long getEnqueued() {
+    return enqueued.value();
+  }
+
+  public long getWritten() {
+    return written.value();
+  }
+
+  public long getDropped() {
+    return dropped.value();
+  }
+
+  public long getBlocked() {
+    return blocked.value();
+  }
+
+  public int getQueueDepth() {
+    return queueDepthSupplier.getAsInt();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.audit;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free, multi-producer single-consumer ring buffer.
+ * <p>
+ * Each slot carries a sequence number telling producers and the consumer
+ * whether the slot is free or published, so neither side takes a lock.
+ * Only one thread may call {@link #poll()} or {@link #drainTo(List, int)}.
+ *
+ * @param <E> element type
+ */
+final class AuditRingBuffer<E> {
+
+  private final int mask;
+  private final AtomicReferenceArray<E> slots;
+  private final AtomicLongArray sequences;
+  /** Next position to be claimed by a producer. */
+  private final AtomicLong tail = new AtomicLong();
+  /** Next position to be consumed. */
+  private final AtomicLong head = new AtomicLong();
+
+  AuditRingBuffer(int requestedCapacity) {
+    Preconditions.checkArgument(requestedCapacity > 0,
+        "capacity must be positive: %s", requestedCapacity);
+    final int capacity = requestedCapacity == 1 ? 1
+        : Integer.highestOneBit(requestedCapacity - 1) << 1;
+    this.mask = capacity - 1;
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Inserts the element if there is space.
+   * @return false if the buffer is full.
+   */
+  boolean offer(E element) {
+    Objects.requireNonNull(element, "element == null");
+    long pos = tail.get();
+    while (true) {
+      final int index = (int) (pos & mask);
+      final long diff = sequences.get(index) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          slots.lazySet(index, element);
+          // publish: the consumer waits for sequence == pos + 1
+          sequences.set(index, pos + 1);
+          return true;
+        }
+        pos = tail.get();
+      } else if (diff < 0) {
+        return false;
+      } else {
+        pos = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Removes the next published element.
+   * @return the element, or null if nothing is published yet.
+   */
+  E poll() {
+    final long pos = head.get();
+    final int index = (int) (pos & mask);
+    if (sequences.get(index) != pos + 1) {
+      return null;
+    }
+    final E element = slots.get(index);
+    slots.lazySet(index, null);
+    // release the slot for the producer which wraps around to it
+    sequences.set(index, pos + mask + 1);
+    head.lazySet(pos + 1);
+    return element;
+  }
+
+  /**
+   * Moves up to {@code max} published elements into the given list.
+   * @return the number of elements moved.
+   */
+  int drainTo(List<? super E> sink, int max) {
+    int count = 0;
+    while (count < max) {
+      final E element = poll();
+      if (element == null) {
+        break;
+      }
+      sink.add(element);
+      count++;
+    }
+    return count;
+  }
+
+  int size() {
+    return (int) Math.max(0, tail.get() - head.get());
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+}
@@ -23,6 +23,7 @@
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +34,7 @@
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
+import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.security.SecurityConfig;
@@ -216,6 +218,75 @@ public void acceptsValidToken() throws Exception {
     subject.verify(token, cmd);
   }
 
+  @Test
+  public void verifiesSignatureOncePerToken() throws Exception {
+    // GIVEN
+    SecretKeyVerifierClient secretKeyClient = mockSecretKeyClient(true);
+    ManagedSecretKey secretKey = secretKeyClient.getSecretKey(SECRET_KEY_ID);
+
+    ShortLivedTokenSecretManager<T> secretManager = new MockTokenManager();
+    T tokenId = valid(newTokenId());
+    ContainerCommandRequestProto cmd = verifiedRequest(tokenId);
+    Token<?> token = secretManager.generateToken(tokenId);
+    TokenVerifier subject = newTestSubject(tokenEnabled(), secretKeyClient);
+
+    // WHEN
+    subject.verify(token, cmd);
+    subject.verify(token, cmd);
+    subject.verify(token, cmd);
+
+    // THEN
+    verify(secretKey, times(1))
+        .isValidSignature((TokenIdentifier) any(), any());
+  }
+
+  @Test
+  public void rejectsCachedTokenAfterSecretKeyRemoved() throws Exception {
+    // GIVEN
+    SecretKeyVerifierClient secretKeyClient = mockSecretKeyClient(true);
+
+    ShortLivedTokenSecretManager<T> secretManager = new MockTokenManager();
+    T tokenId = valid(newTokenId());
+    ContainerCommandRequestProto cmd = verifiedRequest(tokenId);
+    Token<?> token = secretManager.generateToken(tokenId);
+    TokenVerifier subject = newTestSubject(tokenEnabled(), secretKeyClient);
+    subject.verify(token, cmd);
+
+    // WHEN
+    when(secretKeyClient.getSecretKey(SECRET_KEY_ID)).thenReturn(null);
+
+    // THEN
+    BlockTokenException ex = assertThrows(BlockTokenException.class, () ->
+        subject.verify(token, cmd));
+    assertThat(ex.getMessage())
+        .contains("Can't find the signing secret key");
+  }
+
+  @Test
+  public void verifiesEveryRequestIfCacheDisabled() throws Exception {
+    // GIVEN
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(tokenEnabledConfigKey(), true);
+    conf.setInt(HddsConfigKeys.HDDS_TOKEN_VERIFICATION_CACHE_SIZE, 0);
+    SecretKeyVerifierClient secretKeyClient = mockSecretKeyClient(true);
+    ManagedSecretKey secretKey = secretKeyClient.getSecretKey(SECRET_KEY_ID);
+
+    ShortLivedTokenSecretManager<T> secretManager = new MockTokenManager();
+    T tokenId = valid(newTokenId());
+    ContainerCommandRequestProto cmd = verifiedRequest(tokenId);
+    Token<?> token = secretManager.generateToken(tokenId);
+    TokenVerifier subject =
+        newTestSubject(new SecurityConfig(conf), secretKeyClient);
+
+    // WHEN
+    subject.verify(token, cmd);
+    subject.verify(token, cmd);
+
+    // THEN
+    verify(secretKey, times(2))
+        .isValidSignature((TokenIdentifier) any(), any());
+  }
+
   private T expired(T tokenId) {
     tokenId.setExpiry(Instant.now().minusSeconds(3600));
     return tokenId;
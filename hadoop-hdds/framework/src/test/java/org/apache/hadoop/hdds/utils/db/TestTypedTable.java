@@ -25,6 +25,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -33,6 +34,7 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -44,6 +46,8 @@
 import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedDBOptions;
@@ -220,6 +224,66 @@ public void testContainerIDvsLong() throws Exception {
     }
   }
 
+  @Test
+  public void testFullCacheLoad() throws Exception {
+    final TypedTable<Long, String> table = newTypedTable(3, LongCodec.get(), StringCodec.get());
+    final int count = TypedTable.CACHE_LOAD_BATCH_SIZE * 5 / 2;
+    for (long n = 0; n < count; n++) {
+      table.put(n, "value-" + n);
+    }
+
+    // Reopen the table with a full cache, which is loaded in batches.
+    final TypedTable<Long, String> cachedTable = new TypedTable<>(rdb.getTable(families.get(3)),
+        LongCodec.get(), StringCodec.get(), TableCache.CacheType.FULL_CACHE);
+    int cached = 0;
+    for (Iterator<Map.Entry<CacheKey<Long>, CacheValue<String>>> i = cachedTable.cacheIterator(); i.hasNext();) {
+      final Map.Entry<CacheKey<Long>, CacheValue<String>> entry = i.next();
+      assertEquals("value-" + entry.getKey().getCacheKey(), entry.getValue().getCacheValue());
+      cached++;
+    }
+    assertEquals(count, cached);
+  }
+
+  @Test
+  public void testFullCacheLoadFailure() throws Exception {
+    final TypedTable<Long, String> table = newTypedTable(3, LongCodec.get(), StringCodec.get());
+    final int count = TypedTable.CACHE_LOAD_BATCH_SIZE * 3;
+    for (long n = 0; n < count; n++) {
+      table.put(n, n == 1 ? "bad" : "value-" + n);
+    }
+    final Codec<String> failingCodec = new Codec<String>() {
+      @Override
+      public Class<String> getTypeClass() {
+        return String.class;
+      }
+
+      @Override
+      public byte[] toPersistedFormat(String object) throws CodecException {
+        return StringCodec.get().toPersistedFormat(object);
+      }
+
+      @Override
+      public String fromPersistedFormat(byte[] rawData) throws CodecException {
+        final String value = StringCodec.get().fromPersistedFormat(rawData);
+        if (value.equals("bad")) {
+          throw new CodecException("Failed to decode " + value);
+        }
+        return value;
+      }
+
+      @Override
+      public String copyObject(String object) {
+        return object;
+      }
+    };
+
+    // The first batch is decoded on a loader thread, and its failure is
+    // thrown once all the batches are done.
+    final CodecException e = assertThrows(CodecException.class, () -> new TypedTable<>(
+        rdb.getTable(families.get(3)), LongCodec.get(), failingCodec, TableCache.CacheType.FULL_CACHE));
+    assertEquals("Failed to decode bad", e.getMessage());
+  }
+
   @Test
   public void testIteratorWithoutPrefixByteArray() throws Exception {
     final Codec<Long> keyCodec = CodecTestUtil.newCodecWithoutCodecBuffer(LongCodec.get());
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AsyncAuditWriter} and {@link AuditRingBuffer}.
+ */
+public class TestAsyncAuditWriter {
+
+  private static final Marker MARKER = AuditMarker.WRITE.getMarker();
+
+  private static AuditMessage newMessage() {
+    return new AuditMessage.Builder()
+        .setUser("john")
+        .atIp("192.168.0.1")
+        .forOperation(DummyAction.CREATE_VOLUME)
+        .withResult(AuditEventStatus.SUCCESS)
+        .build();
+  }
+
+  @Test
+  public void ringBufferRoundsUpCapacityAndRejectsWhenFull() {
+    AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+    assertEquals(4, buffer.capacity());
+    for (int i = 0; i < 4; i++) {
+      assertTrue(buffer.offer(i));
+    }
+    assertFalse(buffer.offer(4));
+    assertEquals(4, buffer.size());
+
+    assertEquals(0, buffer.poll());
+    assertTrue(buffer.offer(4));
+
+    List<Integer> drained = new ArrayList<>();
+    assertEquals(4, buffer.drainTo(drained, 10));
+    assertThat(drained).containsExactly(1, 2, 3, 4);
+    assertNull(buffer.poll());
+    assertEquals(0, buffer.size());
+  }
+
+  @Test
+  public void messagesAreWrittenOnWriterThread() {
+    ExtendedLogger logger = mock(ExtendedLogger.class);
+    List<String> threads = new ArrayList<>();
+    doAnswer(invocation -> {
+      threads.add(Thread.currentThread().getName());
+      return null;
+    }).when(logger).logIfEnabled(anyString(), any(Level.class),
+        any(Marker.class), any(Message.class), nullable(Throwable.class));
+
+    AsyncAuditWriter writer = new AsyncAuditWriter(AuditLoggerType.OMLOGGER,
+        logger, "fqcn", 16, 4, AsyncAuditWriter.OverflowPolicy.BLOCK);
+    try {
+      for (int i = 0; i < 100; i++) {
+        assertTrue(writer.submit(Level.INFO, MARKER, newMessage(), null));
+      }
+      writer.close();
+
+      verify(logger, timeout(10_000).times(100)).logIfEnabled(eq("fqcn"),
+          eq(Level.INFO), eq(MARKER), any(Message.class), nullable(Throwable.class));
+      assertThat(threads).allMatch(name -> name.contains("AsyncAuditWriter"));
+      assertEquals(100, writer.getMetrics().getEnqueued());
+      assertEquals(100, writer.getMetrics().getWritten());
+      assertEquals(0, writer.getMetrics().getDropped());
+    } finally {
+      writer.close();
+    }
+  }
+
+  @Test
+  public void dropPolicyDiscardsWhenFull() throws Exception {
+    ExtendedLogger logger = mock(ExtendedLogger.class);
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      writing.countDown();
+      release.await();
+      return null;
+    }).when(logger).logIfEnabled(anyString(), any(Level.class),
+        any(Marker.class), any(Message.class), nullable(Throwable.class));
+
+    AsyncAuditWriter writer = new AsyncAuditWriter(AuditLoggerType.SCMLOGGER,
+        logger, "fqcn", 2, 1, AsyncAuditWriter.OverflowPolicy.DROP);
+    try {
+      // the first message keeps the writer thread busy
+      assertTrue(writer.submit(Level.INFO, MARKER, newMessage(), null));
+      assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+      assertTrue(writer.submit(Level.INFO, MARKER, newMessage(), null));
+      assertTrue(writer.submit(Level.INFO, MARKER, newMessage(), null));
+      assertFalse(writer.submit(Level.INFO, MARKER, newMessage(), null));
+      assertEquals(1, writer.getMetrics().getDropped());
+      assertEquals(2, writer.getMetrics().getQueueDepth());
+    } finally {
+      release.countDown();
+      writer.close();
+    }
+    assertEquals(3, writer.getMetrics().getWritten());
+  }
+}
@@ -34,6 +34,8 @@ class DatanodeDeletedBlockTransactions {
   // A list of TXs mapped to a certain datanode ID.
   private final Map<DatanodeID, List<DeletedBlocksTransaction>> transactions =
       new HashMap<>();
+  // The number of blocks in the TXs of each datanode.
+  private final Map<DatanodeID, Integer> blocksPerDatanode = new HashMap<>();
   // counts blocks deleted across datanodes. Blocks deleted will be counted
   // for all the replicas and may not be unique.
   private int blocksDeleted = 0;
@@ -44,6 +46,7 @@ class DatanodeDeletedBlockTransactions {
   void addTransactionToDN(DatanodeID dnID, DeletedBlocksTransaction tx) {
     transactions.computeIfAbsent(dnID, k -> new LinkedList<>()).add(tx);
     blocksDeleted += tx.getLocalIDCount();
+    blocksPerDatanode.merge(dnID, tx.getLocalIDCount(), Integer::sum);
     if (SCMBlockDeletingService.LOG.isDebugEnabled()) {
       SCMBlockDeletingService.LOG
           .debug("Transaction added: {} <- TX({}), DN {} <- blocksDeleted Add {}.",
@@ -69,11 +72,7 @@ List<String> getTransactionIDList(DatanodeID dnId) {
   }
 
   public int getNumberOfBlocksForDatanode(DatanodeID dnId) {
-    return Optional.ofNullable(transactions.get(dnId))
-        .orElse(new LinkedList<>())
-        .stream()
-        .mapToInt(DeletedBlocksTransaction::getLocalIDCount)
-        .sum();
+    return blocksPerDatanode.getOrDefault(dnId, 0);
   }
 
   boolean isEmpty() {
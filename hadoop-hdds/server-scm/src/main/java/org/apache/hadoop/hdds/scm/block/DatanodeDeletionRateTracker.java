@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.block;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.apache.hadoop.hdds.protocol.DatanodeID;
+
+/**
+ * Tracks the delete blocks commands in flight to each datanode and the rate
+ * at which each datanode acknowledges deleted blocks.
+ * <p>
+ * {@link DeletedBlockLogImpl} uses the rate to size the blocks it hands to a
+ * datanode in one run of the block deleting service.  A datanode gets the
+ * blocks it is expected to delete in one interval, less the blocks it still
+ * has in flight, so fast datanodes are not held to the share of slow ones,
+ * and slow ones do not queue more than they can delete.  Datanodes without
+ * a measured rate get the even share.
+ */
+class DatanodeDeletionRateTracker {
+
+  // Weight of the newest sample in the moving average of the rate.
+  private static final double SMOOTHING = 0.3;
+  // The budget of a slow datanode does not drop below this part of the even
+  // share, so its rate keeps being measured.
+  private static final int MIN_SHARE_DIVISOR = 4;
+
+  private final Clock clock;
+  private final long intervalMs;
+  private final ScmBlockDeletingServiceMetrics metrics;
+  private final Map<DatanodeID, NodeState> nodes = new HashMap<>();
+
+  DatanodeDeletionRateTracker(Clock clock, long intervalMs,
+      ScmBlockDeletingServiceMetrics metrics) {
+    this.clock = clock;
+    this.intervalMs = intervalMs;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Records a delete blocks command queued for the datanode.
+   */
+  synchronized void onCommandCreated(DatanodeID dnId, long scmCmdId,
+      long blocks) {
+    final NodeState state = nodes.computeIfAbsent(dnId, k -> new NodeState());
+    state.commands.put(scmCmdId, new InFlightCommand(blocks, clock.millis()));
+    state.inFlightBlocks += blocks;
+    updateInFlightMetrics(dnId, state);
+  }
+
+  /**
+   * Records the datanode executing the command, and takes a sample of its
+   * deletion rate.  The sample covers the time since the command was queued,
+   * or since the previous acknowledgement of the datanode if that is later,
+   * so commands executed one after another are not counted as slow.
+   */
+  synchronized void onCommandExecuted(DatanodeID dnId, long scmCmdId) {
+    final NodeState state = nodes.get(dnId);
+    final InFlightCommand command = remove(dnId, state, scmCmdId);
+    if (command == null) {
+      return;
+    }
+    final long now = clock.millis();
+    final long elapsed = Math.max(1,
+        now - Math.max(command.createdTime, state.lastAckTime));
+    state.lastAckTime = now;
+    final double sample = command.blocks * 1000.0 / elapsed;
+    state.blocksPerSecond = state.blocksPerSecond < 0 ? sample
+        : SMOOTHING * sample + (1 - SMOOTHING) * state.blocksPerSecond;
+  }
+
+  /**
+   * Records the datanode failing the command.  The blocks are sent again,
+   * so they are no longer in flight.
+   */
+  synchronized void onCommandFailed(DatanodeID dnId, long scmCmdId) {
+    remove(dnId, nodes.get(dnId), scmCmdId);
+  }
+
+  /**
+   * Forgets the commands not acknowledged within the timeout, like
+   * {@link SCMDeletedBlockTransactionStatusManager} does.
+   */
+  synchronized void removeExpired(long timeoutMs) {
+    final long expiry = clock.millis() - timeoutMs;
+    for (Map.Entry<DatanodeID, NodeState> e : nodes.entrySet()) {
+      final NodeState state = e.getValue();
+      boolean removed = false;
+      for (Iterator<InFlightCommand> i = state.commands.values().iterator();
+           i.hasNext();) {
+        final InFlightCommand command = i.next();
+        if (command.createdTime < expiry) {
+          i.remove();
+          state.inFlightBlocks -= command.blocks;
+          removed = true;
+        }
+      }
+      if (removed) {
+        updateInFlightMetrics(e.getKey(), state);
+      }
+    }
+  }
+
+  synchronized void onDatanodeDead(DatanodeID dnId) {
+    if (nodes.remove(dnId) != null) {
+      metrics.setDNCommandsInFlight(dnId, 0, 0);
+    }
+  }
+
+  synchronized void clear() {
+    nodes.keySet().forEach(dnId -> metrics.setDNCommandsInFlight(dnId, 0, 0));
+    nodes.clear();
+  }
+
+  /**
+   * @param evenShare the blocks each datanode gets if they are divided
+   *                  evenly
+   * @param limit the maximum blocks of a run
+   * @return the maximum number of blocks to send to the datanode in this run
+   */
+  synchronized int getBudget(DatanodeID dnId, int evenShare, int limit) {
+    final NodeState state = nodes.get(dnId);
+    if (state == null || state.blocksPerSecond < 0) {
+      return evenShare;
+    }
+    final long target = (long) (state.blocksPerSecond * intervalMs / 1000)
+        - state.inFlightBlocks;
+    final long floor = Math.max(1, evenShare / MIN_SHARE_DIVISOR);
+    return (int) Math.min(limit, Math.max(floor, target));
+  }
+
+  synchronized double getBlocksPerSecond(DatanodeID dnId) {
+    final NodeState state = nodes.get(dnId);
+    return state == null ? -1 : state.blocksPerSecond;
+  }
+
+  synchronized long getBlocksInFlight(DatanodeID dnId) {
+    final NodeState state = nodes.get(dnId);
+    return state == null ? 0 : state.inFlightBlocks;
+  }
+
+  private InFlightCommand remove(DatanodeID dnId, NodeState state,
+      long scmCmdId) {
+    if (state == null) {
+      return null;
+    }
+    final InFlightCommand command = state.commands.remove(scmCmdId);
+    if (command != null) {
+      state.inFlightBlocks -= command.blocks;
+      updateInFlightMetrics(dnId, state);
+    }
+    return command;
+  }
+
+  private void updateInFlightMetrics(DatanodeID dnId, NodeState state) {
+    metrics.setDNCommandsInFlight(dnId, state.commands.size(),
+        state.inFlightBlocks);
+  }
+
+  private static final class InFlightCommand {
+    private final long blocks;
+    private final long createdTime;
+
+    private InFlightCommand(long blocks, long createdTime) {
+      this.blocks = blocks;
+      this.createdTime = createdTime;
+    }
+  }
+
+  private static final class NodeState {
+    private final Map<Long, InFlightCommand> commands = new HashMap<>();
+    private long inFlightBlocks;
+    private long lastAckTime;
+    // Blocks acknowledged per second, negative until the first sample.
+    private double blocksPerSecond = -1;
+  }
+}
@@ -68,9 +68,10 @@ void incrementCount(List<Long> txIDs)
    * @param dnId The identifier of the DataNode.
    * @param scmCmdId The ID of the SCM command.
    * @param dnTxSet Set of transaction IDs for the DataNode.
+   * @param blockCount Number of blocks in the transactions.
    */
   void recordTransactionCreated(
-      DatanodeID dnId, long scmCmdId, Set<Long> dnTxSet);
+      DatanodeID dnId, long scmCmdId, Set<Long> dnTxSet, long blockCount);
 
   /**
    * Handles the cleanup process when a DataNode is reported dead. This method
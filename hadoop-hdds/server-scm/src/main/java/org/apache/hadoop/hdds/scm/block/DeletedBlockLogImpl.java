@@ -24,8 +24,10 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.ByteString;
 import java.io.IOException;
+import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +42,7 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.CommandStatus;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerBlocksDeletionACKProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.DeletedBlocksTransaction;
+import org.apache.hadoop.hdds.scm.ScmConfig;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.command.CommandStatusReportHandler.DeleteBlockStatus;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
@@ -73,6 +76,10 @@
  * of each transaction so as long as transaction is still valid, they get
  * equally same chance to be retrieved which only depends on the nature
  * order of the transaction ID.
+ * The blocks of a scan are divided between datanodes by a budget per
+ * datanode, which follows the deletion rate of the datanode reported by
+ * {@link DatanodeDeletionRateTracker}, and the scan stops once every
+ * datanode reached its budget.
  */
 public class DeletedBlockLogImpl
     implements DeletedBlockLog, EventHandler<DeleteBlockStatus> {
@@ -94,6 +101,8 @@
   private long lastProcessedTransactionId = -1;
   private final int logAppenderQueueByteLimit;
   private int deletionFactorPerDatanode;
+  private DatanodeDeletionRateTracker rateTracker;
+  private boolean adaptivePerDatanode;
 
   public DeletedBlockLogImpl(ConfigurationSource conf,
       StorageContainerManager scm,
@@ -126,7 +135,10 @@ public DeletedBlockLogImpl(ConfigurationSource conf,
     int deletionFactor = conf.getInt(OZONE_SCM_BLOCK_DELETION_PER_DN_DISTRIBUTION_FACTOR,
         OZONE_SCM_BLOCK_DELETION_PER_DN_DISTRIBUTION_FACTOR_DEFAULT);
     this.deletionFactorPerDatanode = deletionFactor <= 0 ? 1 : deletionFactor;
-
+    ScmConfig scmConfig = conf.getObject(ScmConfig.class);
+    this.adaptivePerDatanode = scmConfig.isAdaptiveBlockDeletionPerDatanode();
+    this.rateTracker = new DatanodeDeletionRateTracker(Clock.systemUTC(),
+        scmConfig.getBlockDeletionInterval().toMillis(), metrics);
   }
 
   @VisibleForTesting
@@ -139,6 +151,16 @@ void setDeleteBlocksFactorPerDatanode(int deleteBlocksFactorPerDatanode) {
     this.deletionFactorPerDatanode = deleteBlocksFactorPerDatanode;
   }
   
+  @VisibleForTesting
+  void setAdaptivePerDatanode(boolean adaptive) {
+    this.adaptivePerDatanode = adaptive;
+  }
+
+  @VisibleForTesting
+  void setRateTracker(DatanodeDeletionRateTracker tracker) {
+    this.rateTracker = tracker;
+  }
+
   public DeletedBlockLogStateManager getDeletedBlockLogStateManager() {
     return deletedBlockLogStateManager;
   }
@@ -215,6 +237,7 @@ public void reinitialize(
    */
   public void onBecomeLeader() {
     transactionStatusManager.onBecomeLeader();
+    rateTracker.clear();
   }
 
   /**
@@ -267,32 +290,49 @@ public void addTransactions(Map<Long, List<DeletedBlock>> containerBlocksMap)
   public void close() {
   }
 
-  private void getTransaction(DeletedBlocksTransaction tx,
+  /**
+   * Adds the transaction to its datanodes if all of them are below their
+   * budget.
+   * @return the number of datanodes which reached their budget with it.
+   */
+  private int getTransaction(DeletedBlocksTransaction tx,
       DatanodeDeletedBlockTransactions transactions,
       Set<ContainerReplica> replicas,
       Map<DatanodeID, Map<Long, CmdStatus>> commandStatus,
-      int maxDeleteBlocksPerDatanode) {
-    // Ensure all DNs for this transaction are below their max block limit.
-    if (!replicas.stream().allMatch(replica -> {
+      Map<DatanodeID, Integer> budgets,
+      Map<DatanodeID, Long> backlog) {
+    // Ensure all DNs for this transaction are below their block budget.
+    boolean withinBudget = true;
+    for (ContainerReplica replica : replicas) {
       final DatanodeID datanodeID = replica.getDatanodeDetails().getID();
-      return transactions.getNumberOfBlocksForDatanode(datanodeID) < maxDeleteBlocksPerDatanode;
-    })) {
-      return;
+      if (transactions.getNumberOfBlocksForDatanode(datanodeID) >= budgets.getOrDefault(datanodeID, 0)) {
+        backlog.merge(datanodeID, (long) tx.getLocalIDCount(), Long::sum);
+        withinBudget = false;
+      }
+    }
+    if (!withinBudget) {
+      return 0;
     }
 
     boolean flag = false;
+    int reachedBudget = 0;
     for (ContainerReplica replica : replicas) {
       final DatanodeID datanodeID = replica.getDatanodeDetails().getID();
       if (!transactionStatusManager.isDuplication(
           datanodeID, tx.getTxID(), commandStatus)) {
         transactions.addTransactionToDN(datanodeID, tx);
         flag = true;
+        // Each datanode was below its budget before this transaction.
+        if (transactions.getNumberOfBlocksForDatanode(datanodeID) >= budgets.get(datanodeID)) {
+          reachedBudget++;
+        }
       }
     }
     if (flag) {
       addTxToTxSizeMap(tx);
       metrics.incrProcessedTransaction();
     }
+    return reachedBudget;
   }
 
   private Boolean checkInadequateReplica(Set<ContainerReplica> replicas,
@@ -345,6 +385,7 @@ public DatanodeDeletedBlockTransactions getTransactions(
       // reports heartbeats
       getSCMDeletedBlockTransactionStatusManager().cleanAllTimeoutSCMCommand(
           scmCommandTimeoutMs);
+      rateTracker.removeExpired(scmCommandTimeoutMs);
       DatanodeDeletedBlockTransactions transactions =
           new DatanodeDeletedBlockTransactions();
       try (Table.KeyValueIterator<Long, DeletedBlocksTransaction> iter =
@@ -391,13 +432,22 @@ public DatanodeDeletedBlockTransactions getTransactions(
         int maxDeleteBlocksPerDatanode = (factor > 0)
             ? Math.min(blockDeletionLimit, blockDeletionLimit / factor)
             : blockDeletionLimit;
+        final Map<DatanodeID, Integer> budgets =
+            getBudgets(dnList, maxDeleteBlocksPerDatanode, blockDeletionLimit);
+        final Map<DatanodeID, Long> backlog = new HashMap<>();
+        int reachedBudget = (int) budgets.values().stream()
+            .filter(budget -> budget <= 0).count();
 
         // Here takes block replica count as the threshold to avoid the case
         // that part of replicas committed the TXN and recorded in the
         // SCMDeletedBlockTransactionStatusManager, while they are counted
         // in the threshold.
+        // The scan stops early once every datanode reached its budget, as
+        // nothing more can be sent in this run. Without any datanode, it
+        // keeps scanning to clean up the transactions of deleted containers.
         while (iter.hasNext() &&
-            transactions.getBlocksDeleted() < blockDeletionLimit) {
+            transactions.getBlocksDeleted() < blockDeletionLimit &&
+            (budgets.isEmpty() || reachedBudget < budgets.size())) {
           keyValue = iter.next();
           DeletedBlocksTransaction txn = keyValue.getValue();
           final ContainerID id = ContainerID.valueOf(txn.getContainerID());
@@ -414,7 +464,7 @@ public DatanodeDeletedBlockTransactions getTransactions(
                   .getContainerReplicas(
                       ContainerID.valueOf(txn.getContainerID()));
               if (!checkInadequateReplica(replicas, txn, dnList)) {
-                getTransaction(txn, transactions, replicas, commandStatus, maxDeleteBlocksPerDatanode);
+                reachedBudget += getTransaction(txn, transactions, replicas, commandStatus, budgets, backlog);
               } else {
                 metrics.incrSkippedTransaction();
               }
@@ -443,6 +493,8 @@ public DatanodeDeletedBlockTransactions getTransactions(
         }
 
         lastProcessedTransactionId = keyValue != null ? keyValue.getKey() : -1;
+        budgets.keySet().forEach(dnId ->
+            metrics.setDNBacklogBlocks(dnId, backlog.getOrDefault(dnId, 0L)));
 
         if (!txIDs.isEmpty()) {
           transactionStatusManager.removeTransactions(txIDs);
@@ -457,6 +509,24 @@ public DatanodeDeletedBlockTransactions getTransactions(
     }
   }
 
+  /**
+   * @return the maximum number of blocks to send to each datanode in this
+   * run, following its deletion rate if adaptive, or else the even share.
+   */
+  private Map<DatanodeID, Integer> getBudgets(Set<DatanodeDetails> dnList,
+      int evenShare, int blockDeletionLimit) {
+    final Map<DatanodeID, Integer> budgets = new HashMap<>();
+    for (DatanodeDetails dn : dnList) {
+      final DatanodeID dnId = dn.getID();
+      final int budget = adaptivePerDatanode
+          ? rateTracker.getBudget(dnId, evenShare, blockDeletionLimit)
+          : evenShare;
+      budgets.put(dnId, budget);
+      metrics.setDNBlockBudget(dnId, budget);
+    }
+    return budgets;
+  }
+
   public void setScmCommandTimeoutMs(long scmCommandTimeoutMs) {
     this.scmCommandTimeoutMs = scmCommandTimeoutMs;
   }
@@ -474,9 +544,10 @@ public void setSCMDeletedBlockTransactionStatusManager(SCMDeletedBlockTransactio
 
   @Override
   public void recordTransactionCreated(DatanodeID dnId, long scmCmdId,
-      Set<Long> dnTxSet) {
+      Set<Long> dnTxSet, long blockCount) {
     getSCMDeletedBlockTransactionStatusManager()
         .recordTransactionCreated(dnId, scmCmdId, dnTxSet);
+    rateTracker.onCommandCreated(dnId, scmCmdId, blockCount);
   }
 
   @Override
@@ -492,6 +563,7 @@ public DeletedBlocksTransactionSummary getTransactionSummary() {
   @Override
   public void onDatanodeDead(DatanodeID dnId) {
     getSCMDeletedBlockTransactionStatusManager().onDatanodeDead(dnId);
+    rateTracker.onDatanodeDead(dnId);
   }
 
   @Override
@@ -525,9 +597,11 @@ public void onMessage(
               .commitTransactions(ackProto.getResultsList(), dnId);
           metrics.incrBlockDeletionCommandSuccess();
           metrics.incrDNCommandsSuccess(dnId, 1);
+          rateTracker.onCommandExecuted(dnId, commandStatus.getCmdId());
         } else if (status == CommandStatus.Status.FAILED) {
           metrics.incrBlockDeletionCommandFailure();
           metrics.incrDNCommandsFailure(dnId, 1);
+          rateTracker.onCommandFailed(dnId, commandStatus.getCmdId());
         } else {
           LOG.debug("Delete Block Command {} is not executed on the Datanode" +
               " {}.", commandStatus.getCmdId(), dnId);
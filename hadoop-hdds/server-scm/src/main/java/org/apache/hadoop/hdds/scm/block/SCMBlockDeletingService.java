@@ -200,7 +200,7 @@ public EmptyTaskResult call() throws Exception {
               DeleteBlocksCommand command = new DeleteBlocksCommand(dnTXs);
               command.setTerm(scmContext.getTermOfLeader());
               deletedBlockLog.recordTransactionCreated(dnId, command.getId(),
-                  dnTxSet);
+                  dnTxSet, blocksToDn);
               eventPublisher.fireEvent(SCMEvents.DATANODE_COMMAND,
                   new CommandForDatanode<>(dnId, command));
               metrics.incrNumBlockDeletionSentDN(dnId, blocksToDn);
@@ -17,6 +17,7 @@
 
 package org.apache.hadoop.hdds.scm.block;
 
+import com.google.common.annotations.VisibleForTesting;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
@@ -211,6 +212,27 @@ public void incrNumBlockDeletionSentDN(DatanodeID id, long delta) {
         .incrBlocksSent(delta);
   }
 
+  public void setDNCommandsInFlight(DatanodeID id, long commands,
+      long blocks) {
+    numCommandsDatanode.computeIfAbsent(id, k -> new DatanodeCommandDetails())
+        .setInFlight(commands, blocks);
+  }
+
+  public void setDNBacklogBlocks(DatanodeID id, long blocks) {
+    numCommandsDatanode.computeIfAbsent(id, k -> new DatanodeCommandDetails())
+        .setBacklogBlocks(blocks);
+  }
+
+  public void setDNBlockBudget(DatanodeID id, long blocks) {
+    numCommandsDatanode.computeIfAbsent(id, k -> new DatanodeCommandDetails())
+        .setBlockBudget(blocks);
+  }
+
+  @VisibleForTesting
+  DatanodeCommandDetails getDatanodeCommandDetails(DatanodeID id) {
+    return numCommandsDatanode.get(id);
+  }
+
   public void incrTotalBlockSentToDNForDeletion(long count) {
     this.numBlockAddedForDeletionToDN.incr(count);
   }
@@ -302,7 +324,15 @@ public void getMetrics(MetricsCollector metricsCollector, boolean all) {
           .addGauge(DatanodeCommandDetails.COMMANDS_TIMEOUT_BY_DN,
               e.getValue().getCommandsTimeout())
           .addGauge(DatanodeCommandDetails.BLOCKS_SENT_TO_DN_COMMAND,
-          e.getValue().getBlocksSent());
+          e.getValue().getBlocksSent())
+          .addGauge(DatanodeCommandDetails.COMMANDS_IN_FLIGHT,
+              e.getValue().getCommandsInFlight())
+          .addGauge(DatanodeCommandDetails.BLOCKS_IN_FLIGHT,
+              e.getValue().getBlocksInFlight())
+          .addGauge(DatanodeCommandDetails.BACKLOG_BLOCKS,
+              e.getValue().getBacklogBlocks())
+          .addGauge(DatanodeCommandDetails.BLOCK_BUDGET,
+              e.getValue().getBlockBudget());
     }
     recordBuilder.endRecord();
   }
@@ -316,6 +346,10 @@ public static final class DatanodeCommandDetails {
     private long commandsFailure;
     private long commandsTimeout;
     private long blocksSent;
+    private long commandsInFlight;
+    private long blocksInFlight;
+    private long backlogBlocks;
+    private long blockBudget;
 
     private static final MetricsInfo COMMANDS_SENT_TO_DN = Interns.info(
         "CommandsSent",
@@ -335,6 +369,22 @@ public static final class DatanodeCommandDetails {
         "BlocksSent",
         "Number of blocks sent to DN in a command for deletion.");
 
+    private static final MetricsInfo COMMANDS_IN_FLIGHT = Interns.info(
+        "CommandsInFlight",
+        "Number of commands sent to the datanode for deletion which are not acknowledged yet.");
+
+    private static final MetricsInfo BLOCKS_IN_FLIGHT = Interns.info(
+        "BlocksInFlight",
+        "Number of blocks in the commands sent to the datanode which are not acknowledged yet.");
+
+    private static final MetricsInfo BACKLOG_BLOCKS = Interns.info(
+        "BacklogBlocks",
+        "Number of blocks held back from the datanode in the last run, because it reached its block budget.");
+
+    private static final MetricsInfo BLOCK_BUDGET = Interns.info(
+        "BlockBudget",
+        "Maximum number of blocks sent to the datanode in the last run.");
+
     public DatanodeCommandDetails() {
       this.commandsSent = 0;
       this.commandsSuccess = 0;
@@ -363,6 +413,19 @@ public void incrBlocksSent(long delta) {
       this.blocksSent += delta;
     }
 
+    public void setInFlight(long commands, long blocks) {
+      this.commandsInFlight = commands;
+      this.blocksInFlight = blocks;
+    }
+
+    public void setBacklogBlocks(long blocks) {
+      this.backlogBlocks = blocks;
+    }
+
+    public void setBlockBudget(long blocks) {
+      this.blockBudget = blocks;
+    }
+
     public long getCommandsSent() {
       return commandsSent;
     }
@@ -383,10 +446,28 @@ public long getBlocksSent() {
       return blocksSent;
     }
 
+    public long getCommandsInFlight() {
+      return commandsInFlight;
+    }
+
+    public long getBlocksInFlight() {
+      return blocksInFlight;
+    }
+
+    public long getBacklogBlocks() {
+      return backlogBlocks;
+    }
+
+    public long getBlockBudget() {
+      return blockBudget;
+    }
+
     @Override
     public String toString() {
       return "Sent=" + commandsSent + ", Success=" + commandsSuccess + ", Failed=" + commandsFailure + 
-          ", Timeout=" + commandsTimeout + ", BlocksSent = " + blocksSent;
+          ", Timeout=" + commandsTimeout + ", BlocksSent = " + blocksSent +
+          ", InFlight=" + commandsInFlight + ", BlocksInFlight=" + blocksInFlight +
+          ", BacklogBlocks=" + backlogBlocks + ", BlockBudget=" + blockBudget;
     }
   }
 
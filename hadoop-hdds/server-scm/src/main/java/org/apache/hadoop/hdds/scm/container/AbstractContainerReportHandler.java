@@ -111,13 +111,28 @@ protected void processContainerReplica(final DatanodeDetails datanodeDetails,
     // Synchronized block should be replaced by container lock,
     // once we have introduced lock inside ContainerInfo.
     synchronized (containerInfo) {
+      final LifeCycleState stateBefore = containerInfo.getState();
       updateContainerStats(datanodeDetails, containerInfo, replicaProto, detailsForLogging);
+      boolean replicaUpdated = false;
       if (!updateContainerState(datanodeDetails, containerInfo, replicaProto, publisher, detailsForLogging)) {
-        updateContainerReplica(datanodeDetails, containerInfo.containerID(), replicaProto);
+        replicaUpdated = updateContainerReplica(datanodeDetails, containerInfo.containerID(), replicaProto);
+      }
+      if (replicaUpdated || containerInfo.getState() != stateBefore) {
+        notifyContainerUpdated(containerInfo.containerID(), publisher);
       }
     }
   }
 
+  /**
+   * Notify ReplicationManager that the replicas or the state of the given
+   * container changed.
+   */
+  protected void notifyContainerUpdated(ContainerID containerID,
+      EventPublisher publisher) {
+    publisher.fireEvent(SCMEvents.REPLICATION_MANAGER_CONTAINER_NOTIFY,
+        containerID);
+  }
+
   /**
    * Update the container stats if it's lagging behind the stats in reported
    * replica.
@@ -395,7 +410,13 @@ private boolean bcsidMismatched(ContainerInfo container, ContainerReplicaProto r
     return true;
   }
 
-  private void updateContainerReplica(final DatanodeDetails datanodeDetails,
+  /**
+   * Updates the replica of the container on the given datanode.
+   *
+   * @return true if the replica was added or removed, or its state, index or
+   * emptiness changed.
+   */
+  private boolean updateContainerReplica(final DatanodeDetails datanodeDetails,
                                       final ContainerID containerId,
                                       final ContainerReplicaProto replicaProto)
       throws ContainerNotFoundException, ContainerReplicaNotFoundException {
@@ -413,11 +434,19 @@ private void updateContainerReplica(final DatanodeDetails datanodeDetails,
         .setChecksums(ContainerChecksums.of(replicaProto.getDataChecksum()))
         .build();
 
+    final ContainerReplica existing = containerManager
+        .getContainerReplicas(containerId).stream()
+        .filter(r -> r.getDatanodeDetails().equals(datanodeDetails))
+        .findFirst().orElse(null);
     if (replica.getState().equals(State.DELETED)) {
       containerManager.removeContainerReplica(containerId, replica);
-    } else {
-      containerManager.updateContainerReplica(containerId, replica);
+      return existing != null;
     }
+    containerManager.updateContainerReplica(containerId, replica);
+    return existing == null
+        || existing.getState() != replica.getState()
+        || existing.getReplicaIndex() != replica.getReplicaIndex()
+        || existing.isEmpty() != replica.isEmpty();
   }
 
   /**
@@ -189,7 +189,8 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
         // Anything left in expectedContainersInDatanode was not in the full
         // report, so it is now missing on the DN. We need to remove it from the
         // list
-        processMissingReplicas(datanodeDetails, expectedContainersInDatanode);
+        processMissingReplicas(datanodeDetails, expectedContainersInDatanode,
+            publisher);
         getContainerManager().notifyContainerReportProcessing(true, true);
         if (reportFromDatanode.isRegister()) {
           publisher.fireEvent(SCMEvents.CONTAINER_REGISTRATION_REPORT,
@@ -241,9 +242,11 @@ private void processSingleReplica(final DatanodeDetails datanodeDetails,
    *
    * @param datanodeDetails DatanodeDetails
    * @param missingReplicas ContainerID which are missing on the given datanode
+   * @param publisher EventPublisher reference
    */
   private void processMissingReplicas(final DatanodeDetails datanodeDetails,
-                                      final Set<ContainerID> missingReplicas) {
+                                      final Set<ContainerID> missingReplicas,
+                                      final EventPublisher publisher) {
     for (ContainerID id : missingReplicas) {
       try {
         getNodeManager().removeContainer(datanodeDetails, id);
@@ -258,6 +261,7 @@ private void processMissingReplicas(final DatanodeDetails datanodeDetails,
             .ifPresent(replica -> {
               try {
                 getContainerManager().removeContainerReplica(id, replica);
+                notifyContainerUpdated(id, publisher);
               } catch (ContainerNotFoundException |
                   ContainerReplicaNotFoundException ignored) {
                 // This should not happen, but even if it happens, not an issue
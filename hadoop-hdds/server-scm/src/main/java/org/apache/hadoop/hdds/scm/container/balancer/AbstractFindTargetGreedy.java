@@ -18,11 +18,13 @@
 package org.apache.hadoop.hdds.scm.container.balancer;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.scm.ContainerPlacementStatus;
@@ -44,6 +46,11 @@ public abstract class AbstractFindTargetGreedy implements FindTargetStrategy {
   private ContainerManager containerManager;
   private PlacementPolicyValidateProxy placementPolicyValidateProxy;
   private Map<DatanodeDetails, Long> sizeEnteringNode;
+  // Usage of the potential targets when they were set. The size entering a
+  // target is added to it, instead of getting the usage from NodeManager
+  // for every candidate.
+  private final Map<DatanodeDetails, DatanodeUsageInfo> targetUsage =
+      new ConcurrentHashMap<>();
   private NodeManager nodeManager;
   private ContainerBalancerConfiguration config;
   private Double upperLimit;
@@ -102,19 +109,31 @@ private void setConfiguration(ContainerBalancerConfiguration conf) {
   public ContainerMoveSelection findTargetForContainerMove(
       DatanodeDetails source, ContainerID container) {
     sortTargetForSource(source);
-    for (DatanodeUsageInfo targetInfo : potentialTargets) {
-      DatanodeDetails target = targetInfo.getDatanodeDetails();
-      Set<ContainerReplica> replicas;
-      ContainerInfo containerInfo;
-      try {
-        replicas = containerManager.getContainerReplicas(container);
-        containerInfo = containerManager.getContainer(container);
-      } catch (ContainerNotFoundException e) {
-        logger.warn("Could not get Container {} from Container Manager for " +
-            "obtaining replicas in Container Balancer.", container, e);
-        return null;
-      }
+    return findTarget(source, container, potentialTargets);
+  }
+
+  @Override
+  public Function<ContainerID, ContainerMoveSelection> getTargetFinder(
+      DatanodeDetails source) {
+    sortTargetForSource(source);
+    final List<DatanodeUsageInfo> targets = new ArrayList<>(potentialTargets);
+    return container -> findTarget(source, container, targets);
+  }
 
+  private ContainerMoveSelection findTarget(DatanodeDetails source,
+      ContainerID container, Collection<DatanodeUsageInfo> targets) {
+    Set<ContainerReplica> replicas;
+    ContainerInfo containerInfo;
+    try {
+      replicas = containerManager.getContainerReplicas(container);
+      containerInfo = containerManager.getContainer(container);
+    } catch (ContainerNotFoundException e) {
+      logger.warn("Could not get Container {} from Container Manager for " +
+          "obtaining replicas in Container Balancer.", container, e);
+      return null;
+    }
+    for (DatanodeUsageInfo targetInfo : targets) {
+      DatanodeDetails target = targetInfo.getDatanodeDetails();
       if (replicas.stream().noneMatch(
           replica -> replica.getDatanodeDetails().equals(target)) &&
           containerMoveSatisfiesPlacementPolicy(container, replicas, source,
@@ -192,7 +211,7 @@ private boolean canSizeEnterTarget(DatanodeDetails target, long size) {
             sizeEnteringNode.get(target));
         return false;
       }
-      if (Double.compare(nodeManager.getUsageInfo(target)
+      if (Double.compare(getTargetUsage(target)
           .calculateUtilization(sizeEnteringAfterMove), upperLimit) > 0) {
         logger.debug("{} bytes cannot enter datanode {} because its " +
                 "utilization will exceed the upper limit of {}.", size,
@@ -218,7 +237,7 @@ public void increaseSizeEntering(DatanodeDetails target, long size) {
           c -> c.getDatanodeDetails().equals(target));
       if (totalEnteringSize < config.getMaxSizeEnteringTarget()) {
         //reorder
-        potentialTargets.add(nodeManager.getUsageInfo(target));
+        potentialTargets.add(getTargetUsage(target));
       } else {
         logger.debug("Datanode {} removed from the list of potential targets. The total size of data entering it in " +
             "this iteration is {}.", target, totalEnteringSize);
@@ -238,6 +257,7 @@ public void reInitialize(List<DatanodeUsageInfo> potentialDataNodes,
     setConfiguration(conf);
     setUpperLimit(upLimit);
     sizeEnteringNode.clear();
+    targetUsage.clear();
     resetTargets(potentialDataNodes);
   }
 
@@ -263,10 +283,16 @@ void resetTargets(Collection<DatanodeUsageInfo> targets) {
     potentialTargets.clear();
     targets.forEach(datanodeUsageInfo -> {
       sizeEnteringNode.putIfAbsent(datanodeUsageInfo.getDatanodeDetails(), 0L);
+      targetUsage.put(datanodeUsageInfo.getDatanodeDetails(), datanodeUsageInfo);
       potentialTargets.add(datanodeUsageInfo);
     });
   }
 
+  private DatanodeUsageInfo getTargetUsage(DatanodeDetails target) {
+    final DatanodeUsageInfo usage = targetUsage.get(target);
+    return usage != null ? usage : nodeManager.getUsageInfo(target);
+  }
+
   NodeManager getNodeManager() {
     return nodeManager;
   }
@@ -22,6 +22,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 
 /**
  * Metrics related to Container Balancer running in SCM.
@@ -90,6 +91,14 @@ public final class ContainerBalancerMetrics {
       " all iterations of Container Balancer.")
   private MutableCounterLong numContainerMovesScheduled;
 
+  @Metric(about = "Time in milliseconds Container Balancer spent selecting " +
+      "the moves of the latest iteration, not waiting for them to complete.")
+  private MutableGaugeLong planningTimeMsInLatestIteration;
+
+  @Metric(about = "Total time in milliseconds Container Balancer spent " +
+      "selecting moves across all iterations.")
+  private MutableCounterLong planningTimeMs;
+
   /**
    * Create and register metrics named {@link ContainerBalancerMetrics#NAME}
    * for {@link ContainerBalancer}.
@@ -363,4 +372,17 @@ public void resetNumContainerMovesFailedInLatestIteration() {
     numContainerMovesFailedInLatestIteration.incr(
         -getNumContainerMovesFailedInLatestIteration());
   }
+
+  public long getPlanningTimeMsInLatestIteration() {
+    return planningTimeMsInLatestIteration.value();
+  }
+
+  public long getPlanningTimeMs() {
+    return planningTimeMs.value();
+  }
+
+  void recordPlanningTime(long millis) {
+    planningTimeMsInLatestIteration.set(millis);
+    planningTimeMs.incr(millis);
+  }
 }
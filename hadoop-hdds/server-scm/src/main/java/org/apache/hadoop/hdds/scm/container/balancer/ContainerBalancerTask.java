@@ -23,6 +23,7 @@
 import static org.apache.hadoop.util.StringUtils.byteDesc;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.OffsetDateTime;
@@ -41,9 +42,14 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
@@ -64,6 +70,7 @@
 import org.apache.hadoop.hdds.scm.node.states.NodeNotFoundException;
 import org.apache.hadoop.hdds.scm.server.StorageContainerManager;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,6 +83,8 @@ public class ContainerBalancerTask implements Runnable {
   private static final Logger LOG =
       LoggerFactory.getLogger(ContainerBalancerTask.class);
   public static final long ABSENCE_OF_DURATION = -1L;
+  // Candidate containers evaluated together per planning thread.
+  private static final int PLANNING_BATCH_PER_THREAD = 4;
 
   private NodeManager nodeManager;
   private ContainerManager containerManager;
@@ -122,6 +131,9 @@ public class ContainerBalancerTask implements Runnable {
   private volatile String stopMessage;
   private volatile OffsetDateTime stoppedAt;
   private volatile String lastInitializationFailureDetail;
+  // Evaluates candidate containers of a source concurrently, null if
+  // planning is single threaded.
+  private final ExecutorService planningExecutor;
 
   /**
    * Constructs ContainerBalancerTask with the specified arguments.
@@ -172,6 +184,19 @@ public ContainerBalancerTask(StorageContainerManager scm,
           placementPolicyValidateProxy, nodeManager);
     }
     this.iterationsStatistic = new ConcurrentLinkedQueue<>();
+    int planningThreads = config.getPlanningThreads();
+    if (planningThreads > 1) {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(planningThreads,
+          planningThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat(scmContext.threadNamePrefix()
+                  + "ContainerBalancerPlanner-%d")
+              .build());
+      executor.allowCoreThreadTimeOut(true);
+      this.planningExecutor = executor;
+    } else {
+      this.planningExecutor = null;
+    }
   }
 
   /**
@@ -195,6 +220,9 @@ public void run() {
       recordStopReason(ContainerBalancerStopReason.ERROR,
           ContainerBalancerStopReason.exceptionDetails(e));
     } finally {
+      if (planningExecutor != null) {
+        planningExecutor.shutdownNow();
+      }
       synchronized (this) {
         finalizeInProgressIteration();
         if (stoppedAt == null) {
@@ -652,6 +680,7 @@ private boolean isValidSCMState() {
   }
 
   private IterationResult doIteration() {
+    final long planningStart = Time.monotonicNow();
     // note that potential and selected targets are updated in the following
     // loop
     List<DatanodeUsageInfo> potentialTargets = getPotentialTargets();
@@ -710,6 +739,9 @@ involve, take some action in adaptWhenNearingIterationLimits()
       }
     }
 
+    // Moves start as they are selected, so this is the time spent selecting
+    // them, not waiting for them to complete.
+    metrics.recordPlanningTime(Time.monotonicNow() - planningStart);
     checkIterationResults(isMoveGeneratedInThisIteration);
     return iterationResult;
   }
@@ -891,18 +923,23 @@ private ContainerMoveSelection matchSourceWithTarget(DatanodeDetails source) {
     }
 
     ContainerMoveSelection moveSelection = null;
-    Set<ContainerID> toRemoveContainerIds = new HashSet<>();
-    for (ContainerID containerId: sourceContainerIDSet) {
-      if (selectionCriteria.shouldBeExcluded(containerId, source,
-          sizeScheduledForMoveInLatestIteration)) {
-        toRemoveContainerIds.add(containerId);
-        continue;
-      }
-      moveSelection = findTargetStrategy.findTargetForContainerMove(source,
-          containerId);
-      if (moveSelection != null) {
-        break;
+    Set<ContainerID> toRemoveContainerIds = ConcurrentHashMap.newKeySet();
+    if (planningExecutor == null) {
+      for (ContainerID containerId: sourceContainerIDSet) {
+        if (selectionCriteria.shouldBeExcluded(containerId, source,
+            sizeScheduledForMoveInLatestIteration)) {
+          toRemoveContainerIds.add(containerId);
+          continue;
+        }
+        moveSelection = findTargetStrategy.findTargetForContainerMove(source,
+            containerId);
+        if (moveSelection != null) {
+          break;
+        }
       }
+    } else {
+      moveSelection = matchInParallel(source, sourceContainerIDSet,
+          toRemoveContainerIds);
     }
     // Update cached containerIDSet in setMap
     sourceContainerIDSet.removeAll(toRemoveContainerIds);
@@ -918,6 +955,93 @@ private ContainerMoveSelection matchSourceWithTarget(DatanodeDetails source) {
     return moveSelection;
   }
 
+  /**
+   * Evaluates the candidate containers of the source in batches on the
+   * planning threads. Returns the move of the first container, in the order
+   * of the candidates, that has a target. This is the move the single
+   * threaded loop selects, as nothing changes the selection criteria or the
+   * target strategy while a batch is evaluated: the tasks of a batch read
+   * them without locking, so every batch is waited for before returning.
+   *
+   * @param toRemoveContainerIds collects the containers that are excluded
+   * @return the selected move, or null if no candidate has a target
+   */
+  private ContainerMoveSelection matchInParallel(DatanodeDetails source,
+      Set<ContainerID> candidates, Set<ContainerID> toRemoveContainerIds) {
+    final Function<ContainerID, ContainerMoveSelection> targetFinder =
+        findTargetStrategy.getTargetFinder(source);
+    final long sizeScheduled = sizeScheduledForMoveInLatestIteration;
+    final int batchSize =
+        config.getPlanningThreads() * PLANNING_BATCH_PER_THREAD;
+    final Iterator<ContainerID> iterator = candidates.iterator();
+    while (iterator.hasNext() && isBalancerRunning()) {
+      final List<Future<ContainerMoveSelection>> batch =
+          new ArrayList<>(batchSize);
+      // Set once the batch has a result, so that the tasks not started yet
+      // are skipped.
+      final AtomicBoolean batchDone = new AtomicBoolean();
+      while (iterator.hasNext() && batch.size() < batchSize) {
+        final ContainerID containerId = iterator.next();
+        batch.add(planningExecutor.submit(() -> {
+          if (batchDone.get()) {
+            return null;
+          }
+          if (selectionCriteria.shouldBeExcluded(containerId, source,
+              sizeScheduled)) {
+            toRemoveContainerIds.add(containerId);
+            return null;
+          }
+          return targetFinder.apply(containerId);
+        }));
+      }
+      try {
+        for (Future<ContainerMoveSelection> future : batch) {
+          final ContainerMoveSelection moveSelection = future.get();
+          if (moveSelection != null) {
+            return moveSelection;
+          }
+        }
+      } catch (InterruptedException e) {
+        LOG.info("Container Balancer was interrupted while matching source " +
+            "{} with a target.", source);
+        Thread.currentThread().interrupt();
+        return null;
+      } catch (ExecutionException e) {
+        LOG.warn("Failed to evaluate candidate containers of source {}.",
+            source, e.getCause());
+        return null;
+      } finally {
+        batchDone.set(true);
+        awaitBatch(batch);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Waits for all the tasks of the batch to finish, as the caller changes
+   * the state they read once the batch returns.  The tasks are not
+   * cancelled, since a cancelled task may still be running.
+   */
+  private static void awaitBatch(List<? extends Future<?>> batch) {
+    boolean interrupted = false;
+    for (Future<?> future : batch) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private boolean reachedMaxSizeToMovePerIteration() {
     // since candidate containers in ContainerBalancerSelectionCriteria are
     // filtered out according to this limit, balancer should not have crossed it
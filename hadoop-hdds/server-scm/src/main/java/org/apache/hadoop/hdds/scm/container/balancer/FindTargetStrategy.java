@@ -21,6 +21,7 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.node.DatanodeUsageInfo;
@@ -49,6 +50,20 @@ public interface FindTargetStrategy {
   ContainerMoveSelection findTargetForContainerMove(
       DatanodeDetails source, ContainerID candidateContainer);
 
+  /**
+   * Prepares to find targets for the containers of a source, like
+   * {@link #findTargetForContainerMove} does for one container.
+   * The returned function does not change this strategy, so it can be
+   * called concurrently for several containers, until the strategy is
+   * changed.
+   *
+   * @param source Datanode to find targets for
+   * @return function finding the target for a candidate container, or
+   * null if there is none
+   */
+  Function<ContainerID, ContainerMoveSelection> getTargetFinder(
+      DatanodeDetails source);
+
   /**
    * increase the Entering size of a candidate target data node.
    */
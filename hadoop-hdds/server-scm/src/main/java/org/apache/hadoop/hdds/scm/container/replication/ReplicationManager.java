@@ -26,6 +26,7 @@
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType.EC;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ByteString;
 import java.io.IOException;
 import java.time.Clock;
@@ -36,6 +37,10 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
@@ -92,6 +97,7 @@
 import org.apache.hadoop.ozone.protocol.commands.ReplicateContainerCommand;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
 import org.apache.hadoop.util.ExitUtil;
+import org.apache.hadoop.util.Time;
 import org.apache.ratis.protocol.exceptions.NotLeaderException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -106,6 +112,13 @@ public class ReplicationManager implements SCMService, ContainerReplicaPendingOp
   private static final Logger LOG =
       LoggerFactory.getLogger(ReplicationManager.class);
 
+  /**
+   * The minimum number of containers checked by each thread when checking
+   * all containers, below which the thread handoff costs more than it saves.
+   */
+  @VisibleForTesting
+  static final int MIN_CONTAINERS_PER_SCAN_PARTITION = 5000;
+
   /**
    * Reference to the ContainerManager.
    */
@@ -191,6 +204,31 @@ public class ReplicationManager implements SCMService, ContainerReplicaPendingOp
   private final ReplicationQueue noOpsReplicationQueue =
       new MonitoringReplicationQueue();
 
+  /**
+   * Containers which changed since they were last checked, with the
+   * monotonic time in milliseconds of the latest change notified.  They are
+   * checked by the replication monitor between the checks of all containers.
+   */
+  private final Map<ContainerID, Long> updatedContainers =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Set when the next wake up of the replication monitor should check all
+   * the containers rather than only the updated ones.
+   */
+  private volatile boolean fullScanRequested;
+
+  /**
+   * Threads checking the partitions of the containers in parallel, created
+   * on the first check with more than one partition.
+   */
+  private ExecutorService scanExecutor;
+
+  /**
+   * The time taken by each partition of the last check of all containers.
+   */
+  private volatile long[] lastPartitionScanTimes = new long[0];
+
   /**
    * Constructs ReplicationManager instance with the given configuration.
    *
@@ -321,6 +359,10 @@ public synchronized void stop() {
       running = false;
       metrics.unRegister();
       replicationMonitor.interrupt();
+      if (scanExecutor != null) {
+        scanExecutor.shutdownNow();
+        scanExecutor = null;
+      }
     } else {
       LOG.info("Replication Monitor Thread is not running.");
     }
@@ -362,11 +404,105 @@ public synchronized void processAll() {
       return;
     }
     final long start = clock.millis();
+    final long scanStart = Time.monotonicNow();
     final List<ContainerInfo> containers =
         containerManager.getContainers();
+    ReplicationQueue newRepQueue = new ReplicationQueue();
+    final int partitions = getScanPartitionCount(containers.size());
+    final long[] partitionTimes = new long[partitions];
+    final ReplicationManagerReport report;
+    if (partitions == 1) {
+      report = processPartition(containers, newRepQueue, partitionTimes, 0);
+    } else {
+      report = processPartitions(containers, partitions, newRepQueue,
+          partitionTimes);
+      if (report == null) {
+        return;
+      }
+    }
+    report.setComplete();
+    replicationQueue.set(newRepQueue);
+    this.containerReport = report;
+    // The containers updated before this check started have been checked
+    // with their latest replicas.
+    updatedContainers.values().removeIf(notified -> notified <= scanStart);
+    lastPartitionScanTimes = partitionTimes;
+    metrics.addFullScanTime(Time.monotonicNow() - scanStart);
+    LOG.info("Replication Monitor Thread took {} milliseconds for" +
+            " processing {} containers in {} partitions.",
+        clock.millis() - start, containers.size(), partitions);
+  }
+
+  /**
+   * Returns the number of partitions to split the check of the given
+   * number of containers into.
+   */
+  @VisibleForTesting
+  int getScanPartitionCount(int containerCount) {
+    final int byCount = (containerCount + MIN_CONTAINERS_PER_SCAN_PARTITION
+        - 1) / MIN_CONTAINERS_PER_SCAN_PARTITION;
+    return Math.max(1, Math.min(rmConf.getScanPartitions(), byCount));
+  }
+
+  /**
+   * Checks the containers split into the given number of ID ranges in
+   * parallel. Each range is checked into its own report, as the report
+   * tracks the health state of the container being checked, and the reports
+   * are merged once all the ranges are complete.
+   *
+   * @return the merged report, or null if interrupted.
+   */
+  private ReplicationManagerReport processPartitions(
+      List<ContainerInfo> containers, int partitions,
+      ReplicationQueue newRepQueue, long[] partitionTimes) {
+    if (scanExecutor == null) {
+      scanExecutor = Executors.newFixedThreadPool(rmConf.getScanPartitions(),
+          new ThreadFactoryBuilder()
+              .setNameFormat(scmContext.threadNamePrefix()
+                  + "ReplicationMonitorScan-%d")
+              .setDaemon(true)
+              .build());
+    }
+    final List<Future<ReplicationManagerReport>> futures =
+        new ArrayList<>(partitions);
+    for (int i = 0; i < partitions; i++) {
+      final int index = i;
+      final List<ContainerInfo> partition = containers.subList(
+          (int) ((long) containers.size() * i / partitions),
+          (int) ((long) containers.size() * (i + 1) / partitions));
+      futures.add(scanExecutor.submit(() ->
+          processPartition(partition, newRepQueue, partitionTimes, index)));
+    }
+    final ReplicationManagerReport report = new ReplicationManagerReport(
+        rmConf.getContainerSampleLimit());
+    try {
+      for (Future<ReplicationManagerReport> future : futures) {
+        report.merge(future.get());
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(f -> f.cancel(true));
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      futures.forEach(f -> f.cancel(true));
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+    return report;
+  }
+
+  private ReplicationManagerReport processPartition(
+      List<ContainerInfo> containers, ReplicationQueue newRepQueue,
+      long[] partitionTimes, int index) {
+    final long start = Time.monotonicNow();
     ReplicationManagerReport report = new ReplicationManagerReport(
         rmConf.getContainerSampleLimit());
-    ReplicationQueue newRepQueue = new ReplicationQueue();
     for (ContainerInfo c : containers) {
       if (!shouldRun()) {
         break;
@@ -379,12 +515,85 @@ public synchronized void processAll() {
         LOG.error("Container {} not found", c.getContainerID(), e);
       }
     }
-    report.setComplete();
-    replicationQueue.set(newRepQueue);
-    this.containerReport = report;
-    LOG.info("Replication Monitor Thread took {} milliseconds for" +
-            " processing {} containers.", clock.millis() - start,
-        containers.size());
+    partitionTimes[index] = Time.monotonicNow() - start;
+    metrics.addPartitionScanTime(partitionTimes[index]);
+    return report;
+  }
+
+  /**
+   * Checks the containers which changed since they were last checked, adding
+   * them to the current replication queue as needed. The report of the last
+   * check of all containers is not updated.
+   */
+  @VisibleForTesting
+  public synchronized void processUpdatedContainers() {
+    if (updatedContainers.isEmpty() || !shouldRun()) {
+      return;
+    }
+    final ReplicationQueue queue = getQueue();
+    final ReplicationManagerReport report = new ReplicationManagerReport(
+        rmConf.getContainerSampleLimit());
+    int processed = 0;
+    for (ContainerID id : updatedContainers.keySet()) {
+      if (!shouldRun()) {
+        break;
+      }
+      // Remove before the check, so a change notified during the check is
+      // checked again.
+      final Long notified = updatedContainers.remove(id);
+      if (notified == null) {
+        continue;
+      }
+      try {
+        processContainer(containerManager.getContainer(id), queue, report);
+        processed++;
+      } catch (ContainerNotFoundException e) {
+        LOG.debug("Updated container {} not found", id);
+      }
+      metrics.addContainerUpdateLag(Time.monotonicNow() - notified);
+    }
+    metrics.incrIncrementalContainersProcessedTotal(processed);
+    LOG.debug("Replication Monitor Thread processed {} updated containers",
+        processed);
+  }
+
+  /**
+   * Notify the ReplicationManager that the replicas or the state of the
+   * given container changed, so it is checked before the next check of all
+   * the containers.
+   */
+  public void notifyContainerUpdated(ContainerID containerID) {
+    if (rmConf.isIncrementalEnabled()) {
+      updatedContainers.merge(containerID, Time.monotonicNow(), Math::max);
+    }
+  }
+
+  /**
+   * Returns the number of updated containers waiting to be checked.
+   */
+  public int getUpdatedContainerCount() {
+    return updatedContainers.size();
+  }
+
+  /**
+   * Returns how long, in milliseconds, the longest waiting updated container
+   * has been waiting to be checked since its latest notification, or zero if
+   * there are none.
+   */
+  public long getUpdatedContainerLag() {
+    long oldest = Long.MAX_VALUE;
+    for (long notified : updatedContainers.values()) {
+      oldest = Math.min(oldest, notified);
+    }
+    return oldest == Long.MAX_VALUE ? 0 : Time.monotonicNow() - oldest;
+  }
+
+  /**
+   * Returns the time taken, in milliseconds, by each partition of the last
+   * check of all the containers.
+   */
+  public long[] getLastPartitionScanTimes() {
+    return lastPartitionScanTimes.clone();
   }
 
   public void sendCloseContainerEvent(ContainerID containerID) {
@@ -935,8 +1144,9 @@ public boolean isThreadWaiting() {
   private synchronized void run() {
     try {
       while (running) {
+        fullScanRequested = false;
         processAll();
-        wait(rmConf.getInterval().toMillis());
+        waitForNextFullScan();
       }
     } catch (Throwable t) {
       if (t instanceof InterruptedException) {
@@ -950,6 +1160,30 @@ private synchronized void run() {
     }
   }
 
+  /**
+   * Waits for the interval between checks of all the containers, or until
+   * one is requested, checking the updated containers in the meantime if
+   * enabled.
+   */
+  private void waitForNextFullScan() throws InterruptedException {
+    final long nextScan = Time.monotonicNow()
+        + rmConf.getInterval().toMillis();
+    while (running && !fullScanRequested) {
+      final long remaining = nextScan - Time.monotonicNow();
+      if (remaining <= 0) {
+        return;
+      }
+      if (!rmConf.isIncrementalEnabled()) {
+        wait(remaining);
+        return;
+      }
+      wait(Math.min(remaining, rmConf.getIncrementalInterval().toMillis()));
+      if (!fullScanRequested) {
+        processUpdatedContainers();
+      }
+    }
+  }
+
   /**
    * Given a ContainerID, lookup the ContainerInfo and then return a
    * ContainerReplicaCount object for the container.
@@ -1059,6 +1293,9 @@ ReplicationQueue getQueue() {
 
   @Override
   public void opCompleted(ContainerReplicaOp op, ContainerID containerID, boolean timedOut) {
+    // Completed ops change the replicas, and timed out ones may need to be
+    // scheduled again.
+    notifyContainerUpdated(containerID);
     if (!(timedOut && op.getOpType() == ContainerReplicaOp.PendingOpType.DELETE)) {
       // We only care about expired delete ops. All others should be ignored.
       return;
@@ -1290,6 +1527,42 @@ public void opCompleted(ContainerReplicaOp op, ContainerID containerID, boolean
     )
     private int quasiClosedStuckOtherOriginCopies = 2;
 
+    @Config(key = "hdds.scm.replication.scan.partitions",
+        type = ConfigType.INT,
+        defaultValue = "4",
+        tags = { SCM },
+        description = "The number of container ID ranges which the " +
+            "replication monitor checks in parallel when it processes all " +
+            "the containers. Each range holds at least a few thousand " +
+            "containers, so small clusters are checked by a single thread. " +
+            "A value of 1 checks all the containers sequentially."
+    )
+    private int scanPartitions = 4;
+
+    @Config(key = "hdds.scm.replication.incremental.enabled",
+        type = ConfigType.BOOLEAN,
+        defaultValue = "true",
+        tags = { SCM },
+        description = "If true, containers whose replicas or state change " +
+            "due to container reports, datanode state changes or completed " +
+            "replication commands are checked again between the periodic " +
+            "checks of all containers, at the incremental interval. If " +
+            "false, datanode state changes trigger a check of all the " +
+            "containers instead."
+    )
+    private boolean incrementalEnabled = true;
+
+    @Config(key = "hdds.scm.replication.incremental.interval",
+        type = ConfigType.TIME,
+        defaultValue = "10s",
+        reconfigurable = true,
+        tags = { SCM },
+        description = "How frequently the replication monitor checks the " +
+            "containers which changed since they were last checked. Only " +
+            "used if hdds.scm.replication.incremental.enabled is true."
+    )
+    private Duration incrementalInterval = Duration.ofSeconds(10);
+
     public long getDatanodeTimeoutOffset() {
       return datanodeTimeoutOffset;
     }
@@ -1394,6 +1667,30 @@ public void setQuasiClosedStuckOtherOriginCopies(int copies) {
       this.quasiClosedStuckOtherOriginCopies = copies;
     }
 
+    public int getScanPartitions() {
+      return scanPartitions;
+    }
+
+    public void setScanPartitions(int partitions) {
+      this.scanPartitions = partitions;
+    }
+
+    public boolean isIncrementalEnabled() {
+      return incrementalEnabled;
+    }
+
+    public void setIncrementalEnabled(boolean enabled) {
+      this.incrementalEnabled = enabled;
+    }
+
+    public Duration getIncrementalInterval() {
+      return incrementalInterval;
+    }
+
+    public void setIncrementalInterval(Duration duration) {
+      this.incrementalInterval = duration;
+    }
+
     @PostConstruct
     public void validate() {
       if (datanodeTimeoutOffset < 0) {
@@ -1425,6 +1722,14 @@ public void validate() {
             "inflight.limit.factor is set to " + inflightReplicationLimitFactor
                 + " and must be <= 1");
       }
+      if (scanPartitions < 1) {
+        throw new IllegalArgumentException("scan.partitions is set to "
+            + scanPartitions + " and must be >= 1");
+      }
+      if (incrementalInterval.isNegative() || incrementalInterval.isZero()) {
+        throw new IllegalArgumentException("incremental.interval is set to "
+            + incrementalInterval + " and must be > 0");
+      }
     }
   }
 
@@ -1583,6 +1888,7 @@ public synchronized boolean notifyNodeStateChange() {
     if (getQueue().isEmpty()) {
       LOG.debug("Waking up replication monitor due to node state change");
       // Notify the replication monitor thread to wake up
+      fullScanRequested = true;
       notify();
       return true;
     } else {
@@ -1590,5 +1896,27 @@ public synchronized boolean notifyNodeStateChange() {
       return false;
     }
   }
-}
 
+  /**
+   * Notify the ReplicationManager that the state of the given node changed.
+   * If incremental checks are enabled, only the containers on the node are
+   * checked, otherwise the replication monitor is woken up to check all the
+   * containers as in {@link #notifyNodeStateChange()}.
+   *
+   * @param datanode the node whose state changed
+   */
+  public void notifyNodeStateChange(DatanodeDetails datanode) {
+    if (rmConf.isIncrementalEnabled()) {
+      try {
+        final long now = Time.monotonicNow();
+        for (ContainerID id : nodeManager.getContainers(datanode)) {
+          updatedContainers.merge(id, now, Math::max);
+        }
+        return;
+      } catch (NodeNotFoundException e) {
+        LOG.warn("Node {} not found, checking all containers", datanode, e);
+      }
+    }
+    notifyNodeStateChange();
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container.replication;
+
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.ha.SCMContext;
+import org.apache.hadoop.hdds.server.events.EventHandler;
+import org.apache.hadoop.hdds.server.events.EventPublisher;
+
+/**
+ * Passes the containers updated by container reports to the
+ * ReplicationManager, to be checked before its next check of all containers.
+ */
+public class ReplicationManagerContainerEventHandler
+    implements EventHandler<ContainerID> {
+
+  private final ReplicationManager replicationManager;
+  private final SCMContext scmContext;
+
+  public ReplicationManagerContainerEventHandler(
+      ReplicationManager replicationManager, SCMContext scmContext) {
+    this.replicationManager = replicationManager;
+    this.scmContext = scmContext;
+  }
+
+  @Override
+  public void onMessage(ContainerID containerID, EventPublisher publisher) {
+    if (!scmContext.isLeaderReady() || scmContext.isInSafeMode()) {
+      // same condition in ReplicationManager
+      return;
+    }
+    replicationManager.notifyContainerUpdated(containerID);
+  }
+}
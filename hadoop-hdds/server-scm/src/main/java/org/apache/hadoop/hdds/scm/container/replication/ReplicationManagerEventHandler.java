@@ -46,6 +46,6 @@ public void onMessage(DatanodeDetails datanodeDetails, EventPublisher eventPubli
       return;
     }
     LOG.debug("ReplicationManagerEventHandler received event for datanode: {}", datanodeDetails);
-    replicationManager.notifyNodeStateChange();
+    replicationManager.notifyNodeStateChange(datanodeDetails);
   }
 }
@@ -87,6 +87,15 @@ public final class ReplicationManagerMetrics implements MetricsSource {
       "OverReplicatedQueueSize",
       "Number of containers currently in the over replicated queue");
 
+  private static final MetricsInfo UPDATED_CONTAINERS = Interns.info(
+      "UpdatedContainers",
+      "Number of updated containers waiting to be checked");
+
+  private static final MetricsInfo UPDATED_CONTAINER_LAG = Interns.info(
+      "UpdatedContainerLagMs",
+      "Time the longest waiting updated container has been waiting to be" +
+          " checked");
+
   // Setup metric names and descriptions for Container Lifecycle states
   private static final Map<LifeCycleState, MetricsInfo> LIFECYCLE_STATE_METRICS
       = Collections.unmodifiableMap(
@@ -158,6 +167,19 @@ public final class ReplicationManagerMetrics implements MetricsSource {
       " reaching the cluster inflight replication limit.")
   private MutableCounterLong pendingReplicationLimitReachedTotal;
 
+  @Metric("Time taken to check all the containers.")
+  private MutableRate fullScanTime;
+
+  @Metric("Time taken to check one partition of all the containers.")
+  private MutableRate partitionScanTime;
+
+  @Metric("Time between a container being updated and it being checked.")
+  private MutableRate containerUpdateLag;
+
+  @Metric("Number of updated containers checked between the checks of all" +
+      " containers.")
+  private MutableCounterLong incrementalContainersProcessedTotal;
+
   private MetricsRegistry registry;
 
   private final ReplicationManager replicationManager;
@@ -264,6 +286,21 @@ public void getMetrics(MetricsCollector collector, boolean all) {
       builder.addGauge(e.getValue(), report.getStat(e.getKey()));
     }
 
+    builder.addGauge(UPDATED_CONTAINERS,
+            (long) replicationManager.getUpdatedContainerCount())
+        .addGauge(UPDATED_CONTAINER_LAG,
+            replicationManager.getUpdatedContainerLag());
+    long[] partitionTimes = replicationManager.getLastPartitionScanTimes();
+    for (int i = 0; i < partitionTimes.length; i++) {
+      builder.addGauge(Interns.info("ScanPartition" + i + "TimeMs",
+          "Time taken by partition " + i + " of the last check of all" +
+              " containers"), partitionTimes[i]);
+    }
+    fullScanTime.snapshot(builder, all);
+    partitionScanTime.snapshot(builder, all);
+    containerUpdateLag.snapshot(builder, all);
+    incrementalContainersProcessedTotal.snapshot(builder, all);
+
     replicationCmdsSentTotal.snapshot(builder, all);
     replicasCreatedTotal.snapshot(builder, all);
     replicaCreateTimeoutTotal.snapshot(builder, all);
@@ -343,6 +380,26 @@ public void addDeletionTime(long millis) {
     this.deletionTime.add(millis);
   }
 
+  public void addFullScanTime(long millis) {
+    this.fullScanTime.add(millis);
+  }
+
+  public void addPartitionScanTime(long millis) {
+    this.partitionScanTime.add(millis);
+  }
+
+  public void addContainerUpdateLag(long millis) {
+    this.containerUpdateLag.add(millis);
+  }
+
+  public void incrIncrementalContainersProcessedTotal(long count) {
+    this.incrementalContainersProcessedTotal.incr(count);
+  }
+
+  public long getIncrementalContainersProcessedTotal() {
+    return this.incrementalContainersProcessedTotal.value();
+  }
+
   public void incrInflightSkipped(InflightType type) {
     switch (type) {
     case REPLICATION:
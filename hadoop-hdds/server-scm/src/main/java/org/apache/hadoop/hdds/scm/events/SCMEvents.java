@@ -216,6 +216,16 @@ public final class SCMEvents {
       REPLICATION_MANAGER_NOTIFY =
       new TypedEvent<>(DatanodeDetails.class, "Replication_Manager_Notify");
 
+  /**
+   * This event will be triggered by the container report handlers whenever
+   * the replicas or the state of a container change, so ReplicationManager
+   * can check the container before its next check of all containers.
+   */
+  public static final TypedEvent<ContainerID>
+      REPLICATION_MANAGER_CONTAINER_NOTIFY =
+      new TypedEvent<>(ContainerID.class,
+          "Replication_Manager_Container_Notify");
+
   /**
    * This event will be triggered whenever a datanode needs to reconcile its replica of a container with other
    * replicas in the cluster.
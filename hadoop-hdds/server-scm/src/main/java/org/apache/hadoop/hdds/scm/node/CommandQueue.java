@@ -24,6 +24,8 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.SCMCommandProto;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
@@ -35,26 +37,28 @@
  * datanodes into this queue. These commands will be sent in the order in which
  * they were queued.
  *
- * Note this class is not thread safe, and accesses must be protected by a lock.
+ * The queues of different datanodes can be accessed concurrently, but the
+ * accesses to the queue of a datanode must be protected by a lock on that
+ * datanode.
  */
 public class CommandQueue {
   private final Map<DatanodeID, Commands> commandMap;
-  private long commandsInQueue;
+  private final AtomicLong commandsInQueue;
 
   /**
    * Returns number of commands in queue.
    * @return Command Count.
    */
   public long getCommandsInQueue() {
-    return commandsInQueue;
+    return commandsInQueue.get();
   }
 
   /**
    * Constructs a Command Queue.
    */
   public CommandQueue() {
-    commandMap = new HashMap<>();
-    commandsInQueue = 0;
+    commandMap = new ConcurrentHashMap<>();
+    commandsInQueue = new AtomicLong();
   }
 
   /**
@@ -63,7 +67,7 @@ public CommandQueue() {
   @VisibleForTesting
   public void clear() {
     commandMap.clear();
-    commandsInQueue = 0;
+    commandsInQueue.set(0);
   }
 
   /**
@@ -79,9 +83,9 @@ List<SCMCommand<?>> getCommand(final DatanodeID datanodeID) {
     List<SCMCommand<?>> cmdList = null;
     if (cmds != null) {
       cmdList = cmds.getCommands();
-      commandsInQueue -= !cmdList.isEmpty() ? cmdList.size() : 0;
+      final long remaining = commandsInQueue.addAndGet(-cmdList.size());
       // A post condition really.
-      Preconditions.checkState(commandsInQueue >= 0);
+      Preconditions.checkState(remaining >= 0);
     }
     return cmds == null ? Collections.emptyList() : cmdList;
   }
@@ -126,7 +130,7 @@ public Map<SCMCommandProto.Type, Integer> getDatanodeCommandSummary(
   /** Adds a Command to the SCM Queue to send the command to container. */
   public void addCommand(final DatanodeID datanodeID, final SCMCommand<?> command) {
     commandMap.computeIfAbsent(datanodeID, s -> new Commands()).add(command);
-    commandsInQueue++;
+    commandsInQueue.incrementAndGet();
   }
 
   /**
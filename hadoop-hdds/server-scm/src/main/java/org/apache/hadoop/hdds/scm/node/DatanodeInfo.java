@@ -26,6 +26,7 @@
 import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.CommandQueueReportProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.LayoutVersionProto;
@@ -62,6 +63,8 @@ public class DatanodeInfo extends DatanodeDetails {
   private final Map<SCMCommandProto.Type, Integer> commandCounts;
 
   private NodeStatus nodeStatus;
+  // Notified of each status change, under the write lock.
+  private BiConsumer<NodeStatus, NodeStatus> statusListener;
 
   /**
    * Constructs DatanodeInfo from DatanodeDetails.
@@ -94,17 +97,15 @@ public void updateLastHeartbeatTime() {
   /**
    * Sets the last heartbeat time to a given value. Intended to be used
    * only for tests.
+   * <p>
+   * The heartbeat time is volatile and set without the lock, so heartbeats
+   * of a datanode do not wait for readers of its other state.
    *
    * @param milliSecondsSinceEpoch - ms since Epoch to set as the heartbeat time
    */
   @VisibleForTesting
   public void updateLastHeartbeatTime(long milliSecondsSinceEpoch) {
-    try {
-      lock.writeLock().lock();
-      lastHeartbeatTime = milliSecondsSinceEpoch;
-    } finally {
-      lock.writeLock().unlock();
-    }
+    lastHeartbeatTime = milliSecondsSinceEpoch;
   }
 
   /**
@@ -130,12 +131,7 @@ public void updateLastKnownLayoutVersion(LayoutVersionProto version) {
    * @return last heartbeat time.
    */
   public long getLastHeartbeatTime() {
-    try {
-      lock.readLock().lock();
-      return lastHeartbeatTime;
-    } finally {
-      lock.readLock().unlock();
-    }
+    return lastHeartbeatTime;
   }
 
   /**
@@ -288,7 +284,29 @@ public NodeStatus getNodeStatus() {
   public void setNodeStatus(NodeStatus newNodeStatus) {
     try {
       lock.writeLock().lock();
+      final NodeStatus oldNodeStatus = this.nodeStatus;
       this.nodeStatus = newNodeStatus;
+      if (statusListener != null) {
+        statusListener.accept(oldNodeStatus, newNodeStatus);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Sets the listener notified of each status change of this datanode, or
+   * removes it if null.
+   *
+   * @return the status when the listener was set, so the listener does not
+   * miss a change.
+   */
+  public NodeStatus setStatusListener(
+      BiConsumer<NodeStatus, NodeStatus> listener) {
+    try {
+      lock.writeLock().lock();
+      this.statusListener = listener;
+      return nodeStatus;
     } finally {
       lock.writeLock().unlock();
     }
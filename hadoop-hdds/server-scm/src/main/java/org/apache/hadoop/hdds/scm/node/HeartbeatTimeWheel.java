@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.node;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.hadoop.hdds.protocol.DatanodeID;
+
+/**
+ * Hashed time wheel of the datanodes to check in the node health checks.
+ * <p>
+ * Each datanode is scheduled for the time its health may change next, for
+ * example when it becomes stale if it does not heartbeat again.  A health
+ * check only takes the datanodes that are due, instead of scanning all of
+ * them.  Heartbeats do not touch the wheel: a datanode that heartbeated
+ * since it was scheduled is simply scheduled again when it is due.
+ * <p>
+ * A slot of the wheel holds the datanodes due in one tick.  Datanodes due
+ * more than one revolution ahead stay in their slot until their tick comes.
+ */
+class HeartbeatTimeWheel {
+
+  private final long tickMs;
+  private final List<Map<DatanodeID, Long>> slots;
+  /** The tick each datanode is scheduled for. */
+  private final Map<DatanodeID, Long> scheduled = new HashMap<>();
+  private long lastTick;
+
+  /**
+   * @param tickMs the interval of the health checks
+   * @param spanMs the longest delay datanodes are usually scheduled for
+   * @param nowMs the current time
+   */
+  HeartbeatTimeWheel(long tickMs, long spanMs, long nowMs) {
+    this.tickMs = tickMs;
+    final int slotCount = Math.toIntExact(spanMs / tickMs + 2);
+    this.slots = new ArrayList<>(slotCount);
+    for (int i = 0; i < slotCount; i++) {
+      slots.add(new HashMap<>());
+    }
+    this.lastTick = toTick(nowMs);
+  }
+
+  /**
+   * Schedules the datanode to be checked at the given time, unless it is
+   * already scheduled earlier.
+   */
+  synchronized void schedule(DatanodeID id, long timeMs) {
+    final long tick = Math.max(lastTick + 1, toTick(timeMs));
+    final Long existing = scheduled.get(id);
+    if (existing != null) {
+      if (existing <= tick) {
+        return;
+      }
+      slotOf(existing).remove(id);
+    }
+    scheduled.put(id, tick);
+    slotOf(tick).put(id, tick);
+  }
+
+  /**
+   * Schedules the datanode to be checked in the next health check.
+   */
+  void scheduleNext(DatanodeID id) {
+    schedule(id, 0);
+  }
+
+  synchronized void remove(DatanodeID id) {
+    final Long tick = scheduled.remove(id);
+    if (tick != null) {
+      slotOf(tick).remove(id);
+    }
+  }
+
+  /**
+   * Advances the wheel to the given time.
+   *
+   * @return the datanodes due by then, which are no longer scheduled.
+   */
+  synchronized List<DatanodeID> advance(long nowMs) {
+    final long currentTick = toTick(nowMs);
+    final List<DatanodeID> due = new ArrayList<>();
+    if (currentTick <= lastTick) {
+      return due;
+    }
+    final long ticks = Math.min(currentTick - lastTick, slots.size());
+    for (long t = currentTick - ticks + 1; t <= currentTick; t++) {
+      final Iterator<Map.Entry<DatanodeID, Long>> i =
+          slotOf(t).entrySet().iterator();
+      while (i.hasNext()) {
+        final Map.Entry<DatanodeID, Long> e = i.next();
+        if (e.getValue() <= currentTick) {
+          due.add(e.getKey());
+          scheduled.remove(e.getKey());
+          i.remove();
+        }
+      }
+    }
+    lastTick = currentTick;
+    return due;
+  }
+
+  synchronized int size() {
+    return scheduled.size();
+  }
+
+  private long toTick(long timeMs) {
+    return Math.floorDiv(timeMs, tickMs);
+  }
+
+  private Map<DatanodeID, Long> slotOf(long tick) {
+    return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+  }
+}
@@ -30,6 +30,8 @@
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -57,6 +59,7 @@
 import org.apache.hadoop.hdds.scm.node.states.NodeStateMap;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.server.upgrade.FinalizationCheckpoint;
 import org.apache.hadoop.hdds.scm.server.upgrade.FinalizationManager;
 import org.apache.hadoop.hdds.server.events.Event;
 import org.apache.hadoop.hdds.server.events.EventPublisher;
@@ -147,6 +150,21 @@ public class NodeStateManager implements Runnable, Closeable {
    */
   private long skippedHealthChecks;
 
+  /**
+   * The datanodes due for a health check.  Most health checks only check
+   * those, see {@link #run()}.
+   */
+  private final HeartbeatTimeWheel healthCheckWheel;
+
+  /**
+   * Timestamp of the latest check of all the datanodes, and the finalization
+   * checkpoint of SCM then.
+   */
+  private long lastFullHealthCheck;
+  private FinalizationCheckpoint lastFinalizationCheckpoint;
+
+  private final SCMContext scmContext;
+
   private LayoutVersionManager layoutVersionManager;
 
   /**
@@ -168,6 +186,7 @@ public NodeStateManager(ConfigurationSource conf,
                           LayoutVersionManager layoutManager,
                           SCMContext scmContext) {
     this.layoutVersionManager = layoutManager;
+    this.scmContext = scmContext;
     this.nodeStateMap = new NodeStateMap();
     this.node2PipelineMap = new Node2PipelineMap();
     this.eventPublisher = eventPublisher;
@@ -196,6 +215,9 @@ public NodeStateManager(ConfigurationSource conf,
 
     skippedHealthChecks = 0;
     checkPaused = false; // accessed only from test functions
+    healthCheckWheel = new HeartbeatTimeWheel(heartbeatCheckerIntervalMs,
+        staleNodeIntervalMs, Time.monotonicNow());
+    lastFullHealthCheck = Time.monotonicNow();
 
     // This will move a datanode out of healthy readonly state if passed.
     layoutMatchCondition = (layout) ->
@@ -308,6 +330,7 @@ private void initializeStateMachines() {
   public void addNode(DatanodeDetails datanodeDetails,
       LayoutVersionProto layoutInfo) throws NodeAlreadyExistsException {
     nodeStateMap.addNode(newDatanodeInfo(datanodeDetails, layoutInfo));
+    healthCheckWheel.scheduleNext(datanodeDetails.getID());
     try {
       updateLastKnownLayoutVersion(datanodeDetails, layoutInfo);
     } catch (NodeNotFoundException ex) {
@@ -403,8 +426,13 @@ public void updateLastHeartbeatTime(DatanodeDetails datanodeDetails)
   public void updateLastKnownLayoutVersion(DatanodeDetails datanodeDetails,
                                       LayoutVersionProto layoutInfo)
       throws NodeNotFoundException {
-    nodeStateMap.getNodeInfo(datanodeDetails.getID())
-        .updateLastKnownLayoutVersion(layoutInfo);
+    final DatanodeInfo node = nodeStateMap.getNodeInfo(datanodeDetails.getID());
+    final LayoutVersionProto previous = node.getLastKnownLayoutVersion();
+    node.updateLastKnownLayoutVersion(layoutInfo);
+    if (layoutInfo != null && !layoutInfo.equals(previous)) {
+      // The layout decides between HEALTHY and HEALTHY_READONLY.
+      healthCheckWheel.scheduleNext(datanodeDetails.getID());
+    }
   }
 
   /**
@@ -719,6 +747,12 @@ public int getContainerCount(DatanodeID datanodeID)
    * Move Stale or Dead node to healthy if we got a heartbeat from them.
    * Move healthy nodes to stale nodes if it is needed.
    * Move Stales node to dead if needed.
+   * <p>
+   * Only the datanodes due in {@link #healthCheckWheel} are checked, so the
+   * check does not scan all the datanodes every interval.  All of them are
+   * still checked once every stale node interval, and when the finalization
+   * checkpoint of SCM changes, as that changes the layout version SCM expects
+   * of all datanodes.
    *
    * @see Thread#run()
    */
@@ -729,8 +763,10 @@ public void run() {
       skippedHealthChecks++;
       LOG.info("Detected long delay in scheduling HB processing thread. "
           + "Skipping heartbeat checks for one iteration.");
-    } else {
+    } else if (isFullHealthCheckDue()) {
       checkNodesHealth();
+    } else {
+      checkDueNodesHealth();
     }
 
     // we purposefully make this non-deterministic. Instead of using a
@@ -795,9 +831,41 @@ public synchronized void forceNodesToHealthyReadOnly() {
    * the upgrade finalization thread which calls
    * {@link #forceNodesToHealthyReadOnly}, and the node health processing
    * thread that calls this method.
+   * <p>
+   * This checks all the datanodes.
    */
   @VisibleForTesting
   public synchronized void checkNodesHealth() {
+    lastFullHealthCheck = Time.monotonicNow();
+    lastFinalizationCheckpoint = scmContext.getFinalizationCheckpoint();
+    checkNodesHealth(nodeStateMap.getAllDatanodeInfos());
+  }
+
+  /**
+   * Checks the datanodes due in {@link #healthCheckWheel}.
+   */
+  @VisibleForTesting
+  synchronized void checkDueNodesHealth() {
+    final List<DatanodeID> due =
+        healthCheckWheel.advance(Time.monotonicNow());
+    final List<DatanodeInfo> nodes = new ArrayList<>(due.size());
+    for (DatanodeID id : due) {
+      try {
+        nodes.add(nodeStateMap.getNodeInfo(id));
+      } catch (NodeNotFoundException e) {
+        // The node was removed after it was scheduled.
+        LOG.debug("Skipping health check of removed datanode {}", id);
+      }
+    }
+    checkNodesHealth(nodes);
+  }
+
+  private boolean isFullHealthCheckDue() {
+    return Time.monotonicNow() - lastFullHealthCheck >= staleNodeIntervalMs
+        || scmContext.getFinalizationCheckpoint() != lastFinalizationCheckpoint;
+  }
+
+  private void checkNodesHealth(Collection<DatanodeInfo> nodes) {
 
     /*
      *
@@ -840,7 +908,7 @@ public synchronized void checkNodesHealth() {
         (lastHbTime) -> lastHbTime < staleNodeDeadline;
 
     try {
-      for (DatanodeInfo node : nodeStateMap.getAllDatanodeInfos()) {
+      for (DatanodeInfo node : nodes) {
         NodeStatus status = nodeStateMap.getNodeStatus(node.getID());
         switch (status.getHealth()) {
         case HEALTHY:
@@ -877,6 +945,7 @@ public synchronized void checkNodesHealth() {
           break;
         default:
         }
+        scheduleNextCheck(node, status);
       }
     } catch (NodeNotFoundException e) {
       // This should not happen unless someone else other than
@@ -899,6 +968,30 @@ public synchronized void checkNodesHealth() {
 
   }
 
+  /**
+   * Schedules the next health check of the node, for when its health may
+   * change next.
+   *
+   * @param checkedStatus the status of the node before it was checked
+   */
+  private void scheduleNextCheck(DatanodeInfo node, NodeStatus checkedStatus)
+      throws NodeNotFoundException {
+    final NodeState health = nodeStateMap.getNodeStatus(node.getID())
+        .getHealth();
+    if (health != checkedStatus.getHealth()) {
+      // The node may move on again, like from HEALTHY_READONLY to HEALTHY.
+      healthCheckWheel.scheduleNext(node.getID());
+    } else if (health == HEALTHY || health == HEALTHY_READONLY) {
+      // Due when it becomes stale, unless it heartbeats before.
+      healthCheckWheel.schedule(node.getID(),
+          node.getLastHeartbeatTime() + staleNodeIntervalMs + 1);
+    } else {
+      // Stale and dead nodes are checked every time, to bring them back as
+      // soon as they heartbeat.
+      healthCheckWheel.scheduleNext(node.getID());
+    }
+  }
+
   private void scheduleNextHealthCheck() {
 
     if (!Thread.currentThread().isInterrupted() &&
@@ -1069,6 +1162,7 @@ ScheduledFuture unpause() {
 
   protected void removeNode(DatanodeID datanodeID) {
     nodeStateMap.removeNode(datanodeID);
+    healthCheckWheel.remove(datanodeID);
   }
 
   /**
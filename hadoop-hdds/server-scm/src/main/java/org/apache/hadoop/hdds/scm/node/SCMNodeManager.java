@@ -26,6 +26,7 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.Striped;
 import java.io.IOException;
 import java.math.RoundingMode;
 import java.net.InetAddress;
@@ -43,7 +44,8 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -146,10 +148,13 @@ public class SCMNodeManager implements NodeManager, ContainerReplicaPendingOpsSu
   private final int numContainerPerVolume;
 
   /**
-   * Lock used to synchronize some operation in Node manager to ensure a
-   * consistent view of the node state.
+   * Locks striped by datanode, used to synchronize the operations on the
+   * command queue and command counts of a datanode, so a node has a
+   * consistent view of them while heartbeats of other nodes proceed.
    */
-  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Striped<ReadWriteLock> locks =
+      Striped.readWriteLock(LOCK_STRIPES);
+  private static final int LOCK_STRIPES = 64;
   private static final String OPESTATE = "OPSTATE";
   private static final String COMSTATE = "COMSTATE";
   private static final String LASTHEARTBEAT = "LASTHEARTBEAT";
@@ -567,7 +572,8 @@ public List<SCMCommand<?>> processHeartbeat(DatanodeDetails datanodeDetails,
       LOG.error("SCM trying to process heartbeat from an " +
           "unregistered node {}. Ignoring the heartbeat.", datanodeDetails);
     }
-    writeLock().lock();
+    final Lock lock = writeLock(datanodeDetails.getID());
+    lock.lock();
     try {
       Map<SCMCommandProto.Type, Integer> summary =
           commandQueue.getDatanodeCommandSummary(datanodeDetails.getID());
@@ -587,7 +593,7 @@ public List<SCMCommand<?>> processHeartbeat(DatanodeDetails datanodeDetails,
       }
       return commands;
     } finally {
-      writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -859,12 +865,13 @@ private void processNodeCommandQueueReport(DatanodeDetails datanodeDetails,
   @Override
   public int getNodeQueuedCommandCount(DatanodeDetails datanodeDetails,
       SCMCommandProto.Type cmdType) throws NodeNotFoundException {
-    readLock().lock();
+    final Lock lock = readLock(datanodeDetails.getID());
+    lock.lock();
     try {
       DatanodeInfo datanodeInfo = nodeStateManager.getNode(datanodeDetails);
       return datanodeInfo.getCommandCount(cmdType);
     } finally {
-      readLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -877,11 +884,12 @@ public int getNodeQueuedCommandCount(DatanodeDetails datanodeDetails,
    */
   @Override
   public int getCommandQueueCount(DatanodeID dnID, SCMCommandProto.Type cmdType) {
-    readLock().lock();
+    final Lock lock = readLock(dnID);
+    lock.lock();
     try {
       return commandQueue.getDatanodeCommandCount(dnID, cmdType);
     } finally {
-      readLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -900,7 +908,8 @@ public int getCommandQueueCount(DatanodeID dnID, SCMCommandProto.Type cmdType) {
   @Override
   public int getTotalDatanodeCommandCount(DatanodeDetails datanodeDetails,
       SCMCommandProto.Type cmdType) throws NodeNotFoundException {
-    readLock().lock();
+    final Lock lock = readLock(datanodeDetails.getID());
+    lock.lock();
     try {
       int dnCount = getNodeQueuedCommandCount(datanodeDetails, cmdType);
       if (dnCount == -1) {
@@ -910,7 +919,7 @@ public int getTotalDatanodeCommandCount(DatanodeDetails datanodeDetails,
       }
       return getCommandQueueCount(datanodeDetails.getID(), cmdType) + dnCount;
     } finally {
-      readLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -934,14 +943,15 @@ public Map<SCMCommandProto.Type, Integer> getTotalDatanodeCommandCounts(
       DatanodeDetails datanodeDetails, SCMCommandProto.Type... cmdType)
       throws NodeNotFoundException {
     Map<SCMCommandProto.Type, Integer> counts = new HashMap<>();
-    readLock().lock();
+    final Lock lock = readLock(datanodeDetails.getID());
+    lock.lock();
     try {
       for (SCMCommandProto.Type type : cmdType) {
         counts.put(type, getTotalDatanodeCommandCount(datanodeDetails, type));
       }
       return counts;
     } finally {
-      readLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -1148,15 +1158,12 @@ public Map<String, Map<String, Integer>> getNodeCount() {
     for (NodeOperationalState opState : NodeOperationalState.values()) {
       Map<String, Integer> states = new HashMap<>();
       for (NodeState health : NodeState.values()) {
-        states.put(health.name(), 0);
+        // The counts are kept as the node status changes, no need to scan.
+        states.put(health.name(),
+            nodeStateManager.getNodeCount(opState, health));
       }
       nodes.put(opState.name(), states);
     }
-    for (DatanodeInfo dni : nodeStateManager.getAllNodes()) {
-      NodeStatus status = dni.getNodeStatus();
-      nodes.get(status.getOperationalState().name())
-          .compute(status.getHealth().name(), (k, v) -> v + 1);
-    }
     return nodes;
   }
 
@@ -1859,11 +1866,12 @@ public SpaceUsageSource.Fixed getTotalFilesystemUsage(DatanodeDetails datanodeDe
 
   @Override
   public void addDatanodeCommand(DatanodeID datanodeID, SCMCommand<?> command) {
-    writeLock().lock();
+    final Lock lock = writeLock(datanodeID);
+    lock.lock();
     try {
       this.commandQueue.addCommand(datanodeID, command);
     } finally {
-      writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -1904,11 +1912,12 @@ public void onMessage(CommandForDatanode commandForDatanode,
   public List<SCMCommand<?>> getCommandQueue(DatanodeID dnID) {
     // Getting the queue actually clears it and returns the commands, so this
     // is a write operation and not a read as the method name suggests.
-    writeLock().lock();
+    final Lock lock = writeLock(dnID);
+    lock.lock();
     try {
       return commandQueue.getCommand(dnID);
     } finally {
-      writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -2017,12 +2026,12 @@ public void forceNodesToHealthyReadOnly() {
     nodeStateManager.forceNodesToHealthyReadOnly();
   }
 
-  private ReentrantReadWriteLock.WriteLock writeLock() {
-    return lock.writeLock();
+  private Lock writeLock(DatanodeID id) {
+    return locks.get(id).writeLock();
   }
 
-  private ReentrantReadWriteLock.ReadLock readLock() {
-    return lock.readLock();
+  private Lock readLock(DatanodeID id) {
+    return locks.get(id).readLock();
   }
 
   /**
@@ -2038,7 +2047,8 @@ private ReentrantReadWriteLock.ReadLock readLock() {
    */
   @Override
   public void removeNode(DatanodeDetails datanodeDetails) throws NodeNotFoundException, IOException {
-    writeLock().lock();
+    final Lock lock = writeLock(datanodeDetails.getID());
+    lock.lock();
     try {
       NodeStatus nodeStatus = this.getNodeStatus(datanodeDetails);
       if (datanodeDetails.isDecommissioned() || nodeStatus.isDead()) {
@@ -2053,7 +2063,7 @@ public void removeNode(DatanodeDetails datanodeDetails) throws NodeNotFoundExcep
         LOG.warn("Node not decommissioned or dead, cannot remove: {}", datanodeDetails);
       }
     } finally {
-      writeLock().unlock();
+      lock.unlock();
     }
   }
 }
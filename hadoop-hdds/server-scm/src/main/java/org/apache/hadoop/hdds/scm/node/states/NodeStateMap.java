@@ -17,12 +17,14 @@
 
 package org.apache.hadoop.hdds.scm.node.states;
 
+import com.google.common.util.concurrent.Striped;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -37,13 +39,26 @@
 /**
  * Map: {@link DatanodeID} to {@link DatanodeEntry}.
  * <p>
- * This class is thread-safe.
+ * This class is thread-safe.  The map is a concurrent map, so lookups do not
+ * lock, and the updates of a node are serialized by a lock striped by
+ * {@link DatanodeID}, so heartbeats and reports of different nodes do not
+ * wait for each other.  The number of nodes in each operational state and
+ * health is kept up to date as the status of nodes changes.
  */
 public class NodeStateMap {
+  private static final int LOCK_STRIPES = 64;
+  private static final int HEALTH_STATES = NodeState.values().length;
+
   /** Map: {@link DatanodeID} -> ({@link DatanodeInfo}, {@link ContainerID}s). */
-  private final Map<DatanodeID, DatanodeEntry> nodeMap = new TreeMap<>();
+  private final ConcurrentNavigableMap<DatanodeID, DatanodeEntry> nodeMap =
+      new ConcurrentSkipListMap<>();
+
+  private final Striped<ReadWriteLock> locks =
+      Striped.readWriteLock(LOCK_STRIPES);
 
-  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  /** Number of nodes by operational state and health. */
+  private final AtomicIntegerArray statusCounts = new AtomicIntegerArray(
+      NodeOperationalState.values().length * HEALTH_STATES);
 
   /**
    * Creates a new instance of NodeStateMap with no nodes.
@@ -57,14 +72,16 @@ public NodeStateMap() { }
    */
   public void addNode(DatanodeInfo datanode) throws NodeAlreadyExistsException {
     final DatanodeID id = datanode.getID();
-    lock.writeLock().lock();
+    final Lock lock = writeLock(id);
+    lock.lock();
     try {
       if (nodeMap.containsKey(id)) {
         throw new NodeAlreadyExistsException(id);
       }
       nodeMap.put(id, new DatanodeEntry(datanode));
+      startCounting(datanode);
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -72,11 +89,15 @@ public void addNode(DatanodeInfo datanode) throws NodeAlreadyExistsException {
    * Removes a node from NodeStateMap.
    */
   public void removeNode(DatanodeID datanodeID) {
-    lock.writeLock().lock();
+    final Lock lock = writeLock(datanodeID);
+    lock.lock();
     try {
-      nodeMap.remove(datanodeID);
+      final DatanodeEntry removed = nodeMap.remove(datanodeID);
+      if (removed != null) {
+        stopCounting(removed.getInfo());
+      }
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -88,15 +109,18 @@ public void removeNode(DatanodeID datanodeID) {
   public DatanodeInfo updateNode(DatanodeInfo datanode) throws NodeNotFoundException {
     final DatanodeID id = datanode.getID();
     final DatanodeInfo oldInfo;
-    lock.writeLock().lock();
+    final Lock lock = writeLock(id);
+    lock.lock();
     try {
       oldInfo = getNodeInfo(id);
       if (oldInfo == null) {
         throw new NodeNotFoundException(id);
       }
       nodeMap.put(id, new DatanodeEntry(datanode));
+      stopCounting(oldInfo);
+      startCounting(datanode);
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
     return oldInfo;
   }
@@ -111,14 +135,15 @@ public DatanodeInfo updateNode(DatanodeInfo datanode) throws NodeNotFoundExcepti
    */
   public NodeStatus updateNodeHealthState(DatanodeID nodeId, NodeState newHealth)
       throws NodeNotFoundException {
-    lock.writeLock().lock();
+    final Lock lock = writeLock(nodeId);
+    lock.lock();
     try {
       final DatanodeInfo dn = getExisting(nodeId).getInfo();
       final NodeStatus newStatus = dn.getNodeStatus().newNodeState(newHealth);
       dn.setNodeStatus(newStatus);
       return newStatus;
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -133,14 +158,15 @@ public NodeStatus updateNodeHealthState(DatanodeID nodeId, NodeState newHealth)
   public NodeStatus updateNodeOperationalState(DatanodeID nodeId,
       NodeOperationalState newOpState, long opStateExpiryEpochSeconds)
       throws NodeNotFoundException {
-    lock.writeLock().lock();
+    final Lock lock = writeLock(nodeId);
+    lock.lock();
     try {
       final DatanodeInfo dn = getExisting(nodeId).getInfo();
       final NodeStatus newStatus = dn.getNodeStatus().newOperationalState(newOpState, opStateExpiryEpochSeconds);
       dn.setNodeStatus(newStatus);
       return newStatus;
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -149,33 +175,18 @@ public NodeStatus updateNodeOperationalState(DatanodeID nodeId,
    * @throws NodeNotFoundException if the node is not present
    */
   public DatanodeInfo getNodeInfo(DatanodeID datanodeID) throws NodeNotFoundException {
-    lock.readLock().lock();
-    try {
-      return getExisting(datanodeID).getInfo();
-    } finally {
-      lock.readLock().unlock();
-    }
+    return getExisting(datanodeID).getInfo();
   }
 
   public int getNodeCount() {
-    lock.readLock().lock();
-    try {
-      return nodeMap.size();
-    } finally {
-      lock.readLock().unlock();
-    }
+    return nodeMap.size();
   }
 
   /** @return a shadow copied list of all datanodes, sorted by {@link DatanodeID}. */
   public List<DatanodeInfo> getAllDatanodeInfos() {
-    lock.readLock().lock();
-    try {
-      return nodeMap.values().stream()
-          .map(DatanodeEntry::getInfo)
-          .collect(Collectors.toList());
-    } finally {
-      lock.readLock().unlock();
-    }
+    return nodeMap.values().stream()
+        .map(DatanodeEntry::getInfo)
+        .collect(Collectors.toList());
   }
 
   /** @return a list of datanodes for the matching nodes matching the given status. */
@@ -215,10 +226,21 @@ public int getNodeCount(NodeStatus status) {
    * @return Number of nodes in the specified state
    */
   public int getNodeCount(NodeOperationalState opState, NodeState health) {
-    return opState != null && health != null ? countNodes(matching(opState, health))
-        : opState != null ? countNodes(matching(opState))
-        : health != null ? countNodes(matching(health))
-        : getTotalNodeCount();
+    if (opState == null && health == null) {
+      return getTotalNodeCount();
+    }
+    int count = 0;
+    for (NodeOperationalState op : NodeOperationalState.values()) {
+      if (opState != null && op != opState) {
+        continue;
+      }
+      for (NodeState h : NodeState.values()) {
+        if (health == null || h == health) {
+          count += statusCounts.get(countIndex(op, h));
+        }
+      }
+    }
+    return count;
   }
 
   /**
@@ -227,12 +249,7 @@ public int getNodeCount(NodeOperationalState opState, NodeState health) {
    * @return node count
    */
   public int getTotalNodeCount() {
-    lock.readLock().lock();
-    try {
-      return nodeMap.size();
-    } finally {
-      lock.readLock().unlock();
-    }
+    return nodeMap.size();
   }
 
   /**
@@ -245,12 +262,7 @@ public int getTotalNodeCount() {
    * @throws NodeNotFoundException if the node is not found
    */
   public NodeStatus getNodeStatus(DatanodeID datanodeID) throws NodeNotFoundException {
-    lock.readLock().lock();
-    try {
-      return getExisting(datanodeID).getInfo().getNodeStatus();
-    } finally {
-      lock.readLock().unlock();
-    }
+    return getExisting(datanodeID).getInfo().getNodeStatus();
   }
 
   /**
@@ -261,11 +273,12 @@ public NodeStatus getNodeStatus(DatanodeID datanodeID) throws NodeNotFoundExcept
   public void addContainer(final DatanodeID datanodeID,
                            final ContainerID containerId)
       throws NodeNotFoundException {
-    lock.writeLock().lock();
+    final Lock lock = writeLock(datanodeID);
+    lock.lock();
     try {
       getExisting(datanodeID).add(containerId);
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -275,39 +288,43 @@ public void addContainer(final DatanodeID datanodeID,
    */
   public void setContainersForTesting(DatanodeID id, Set<ContainerID> containers)
       throws NodeNotFoundException {
-    lock.writeLock().lock();
+    final Lock lock = writeLock(id);
+    lock.lock();
     try {
       getExisting(id).setContainersForTesting(containers);
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
   public Set<ContainerID> getContainers(DatanodeID id)
       throws NodeNotFoundException {
-    lock.readLock().lock();
+    final Lock lock = readLock(id);
+    lock.lock();
     try {
       return getExisting(id).copyContainers();
     } finally {
-      lock.readLock().unlock();
+      lock.unlock();
     }
   }
 
   public int getContainerCount(DatanodeID datanodeID) throws NodeNotFoundException {
-    lock.readLock().lock();
+    final Lock lock = readLock(datanodeID);
+    lock.lock();
     try {
       return getExisting(datanodeID).getContainerCount();
     } finally {
-      lock.readLock().unlock();
+      lock.unlock();
     }
   }
 
   public void removeContainer(DatanodeID datanodeID, ContainerID containerID) throws NodeNotFoundException {
-    lock.writeLock().lock();
+    final Lock lock = writeLock(datanodeID);
+    lock.lock();
     try {
       getExisting(datanodeID).remove(containerID);
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -345,16 +362,10 @@ private DatanodeEntry getExisting(DatanodeID id) throws NodeNotFoundException {
   }
 
   private int countNodes(Predicate<DatanodeInfo> filter) {
-    final long count;
-    lock.readLock().lock();
-    try {
-      count = nodeMap.values().stream()
-          .map(DatanodeEntry::getInfo)
-          .filter(filter)
-          .count();
-    } finally {
-      lock.readLock().unlock();
-    }
+    final long count = nodeMap.values().stream()
+        .map(DatanodeEntry::getInfo)
+        .filter(filter)
+        .count();
     return Math.toIntExact(count);
   }
 
@@ -366,16 +377,43 @@ private List<DatanodeInfo> filterNodes(Predicate<DatanodeInfo> filter) {
   }
 
   private <T> List<T> filterNodes(Predicate<DatanodeInfo> filter, Function<DatanodeInfo, T> converter) {
-    lock.readLock().lock();
-    try {
-      return nodeMap.values().stream()
-          .map(DatanodeEntry::getInfo)
-          .filter(filter)
-          .map(converter)
-          .collect(Collectors.toList());
-    } finally {
-      lock.readLock().unlock();
-    }
+    return nodeMap.values().stream()
+        .map(DatanodeEntry::getInfo)
+        .filter(filter)
+        .map(converter)
+        .collect(Collectors.toList());
+  }
+
+  private Lock readLock(DatanodeID id) {
+    return locks.get(id).readLock();
+  }
+
+  private Lock writeLock(DatanodeID id) {
+    return locks.get(id).writeLock();
+  }
+
+  /**
+   * Counts the status of the given node, and its changes from now on.
+   */
+  private void startCounting(DatanodeInfo datanode) {
+    final NodeStatus status = datanode.setStatusListener((oldStatus, newStatus) -> {
+      statusCounts.decrementAndGet(countIndex(oldStatus));
+      statusCounts.incrementAndGet(countIndex(newStatus));
+    });
+    statusCounts.incrementAndGet(countIndex(status));
+  }
+
+  private void stopCounting(DatanodeInfo datanode) {
+    final NodeStatus status = datanode.setStatusListener(null);
+    statusCounts.decrementAndGet(countIndex(status));
+  }
+
+  private static int countIndex(NodeStatus status) {
+    return countIndex(status.getOperationalState(), status.getHealth());
+  }
+
+  private static int countIndex(NodeOperationalState opState, NodeState health) {
+    return opState.ordinal() * HEALTH_STATES + health.ordinal();
   }
 
   private static Predicate<DatanodeInfo> matching(NodeStatus status) {
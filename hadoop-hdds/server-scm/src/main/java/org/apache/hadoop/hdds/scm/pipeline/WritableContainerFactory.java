@@ -28,6 +28,7 @@
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.pipeline.WritableECContainerProvider.WritableECContainerProviderConfig;
+import org.apache.hadoop.hdds.scm.pipeline.WritableRatisContainerProvider.WritableRatisContainerProviderConfig;
 import org.apache.hadoop.hdds.scm.server.StorageContainerManager;
 
 /**
@@ -44,6 +45,8 @@ public WritableContainerFactory(StorageContainerManager scm) {
     ConfigurationSource conf = scm.getConfiguration();
 
     this.ratisProvider = new WritableRatisContainerProvider(
+        conf.getObject(WritableRatisContainerProviderConfig.class),
+        getConfiguredContainerSize(conf),
         scm.getPipelineManager(),
         scm.getContainerManager(), scm.getPipelineChoosePolicy());
     this.standaloneProvider = ratisProvider;
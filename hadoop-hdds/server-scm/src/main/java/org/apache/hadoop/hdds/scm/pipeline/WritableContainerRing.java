@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.ContainerManager;
+import org.apache.hadoop.hdds.scm.container.ContainerNotFoundException;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ring of the open containers of one replication config and owner, from
+ * which blocks are allocated without taking the pipeline manager lock.
+ * <p>
+ * Containers are selected round-robin.  Each slot of the ring reserves the
+ * space of the blocks allocated from it with a compare-and-set on its used
+ * bytes, starting from the used bytes last reported by the datanodes, so
+ * concurrent allocations do not overfill a container between reports.
+ * <p>
+ * The ring is only used once every open pipeline has as many open
+ * containers of the owner as the pipeline manager allows, as the locked path
+ * is the one allocating new containers and spreading them over pipelines.
+ * <p>
+ * The ring is rebuilt from the open pipelines by {@link #refresh()}, which
+ * the caller runs asynchronously when the ring finds a container that is no
+ * longer open, has no container with space, or is older than the refresh
+ * interval.  Until then {@link #select} returns null and the caller falls
+ * back to the locked allocation path.
+ */
+class WritableContainerRing {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(WritableContainerRing.class);
+
+  private final ReplicationConfig replicationConfig;
+  private final String owner;
+  private final long containerSize;
+  private final long refreshIntervalMs;
+  private final PipelineManager pipelineManager;
+  private final ContainerManager containerManager;
+
+  private volatile List<Slot> slots = Collections.emptyList();
+  private volatile Set<ContainerID> containerIDs = Collections.emptySet();
+  private volatile long lastRefreshTime;
+  private volatile boolean complete;
+  private final AtomicInteger next = new AtomicInteger();
+  private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+  /**
+   * A container of the ring.
+   */
+  private static final class Slot {
+    private final ContainerID containerID;
+    private final PipelineID pipelineID;
+    private final List<DatanodeDetails> nodes;
+    private final AtomicLong usedBytes;
+
+    Slot(ContainerInfo container, Pipeline pipeline) {
+      this.containerID = container.containerID();
+      this.pipelineID = pipeline.getId();
+      this.nodes = pipeline.getNodes();
+      this.usedBytes = new AtomicLong(container.getUsedBytes());
+    }
+
+    boolean isExcluded(ExcludeList excludeList) {
+      if (excludeList.getContainerIds().contains(containerID)
+          || excludeList.getPipelineIds().contains(pipelineID)) {
+        return true;
+      }
+      final Set<DatanodeDetails> excludedNodes = excludeList.getDatanodes();
+      if (!excludedNodes.isEmpty()) {
+        for (DatanodeDetails node : nodes) {
+          if (excludedNodes.contains(node)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Reserves the given size in the container.
+     *
+     * @return false if the container does not have enough space left.
+     */
+    boolean reserve(long size, long reportedUsedBytes, long containerSize) {
+      while (true) {
+        final long current = usedBytes.get();
+        final long used = Math.max(current, reportedUsedBytes);
+        if (used + size > containerSize) {
+          return false;
+        }
+        if (usedBytes.compareAndSet(current, used + size)) {
+          return true;
+        }
+      }
+    }
+  }
+
+  WritableContainerRing(ReplicationConfig replicationConfig, String owner,
+      long containerSize, long refreshIntervalMs,
+      PipelineManager pipelineManager, ContainerManager containerManager) {
+    this.replicationConfig = replicationConfig;
+    this.owner = owner;
+    this.containerSize = containerSize;
+    this.refreshIntervalMs = refreshIntervalMs;
+    this.pipelineManager = pipelineManager;
+    this.containerManager = containerManager;
+  }
+
+  /**
+   * Selects a container of the ring with space for a block of the given
+   * size and reserves the space.
+   *
+   * @return the container, or null if the ring has no suitable container.
+   */
+  ContainerInfo select(long size, ExcludeList excludeList) {
+    final List<Slot> current = slots;
+    final int n = current.size();
+    if (n == 0 || !complete) {
+      return null;
+    }
+    final int start = Math.floorMod(next.getAndIncrement(), n);
+    for (int i = 0; i < n; i++) {
+      final Slot slot = current.get((start + i) % n);
+      if (slot.isExcluded(excludeList)) {
+        continue;
+      }
+      final ContainerInfo container;
+      try {
+        container = containerManager.getContainer(slot.containerID);
+      } catch (ContainerNotFoundException e) {
+        markStale();
+        continue;
+      }
+      if (container.getState() != LifeCycleState.OPEN) {
+        markStale();
+        continue;
+      }
+      if (slot.reserve(size, container.getUsedBytes(), containerSize)) {
+        container.updateLastUsedTime();
+        return container;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return true if the ring should be refreshed, either because it found a
+   * container that is no longer open or because it is older than the
+   * refresh interval.
+   */
+  boolean needsRefresh() {
+    return lastRefreshTime == 0
+        || Time.monotonicNow() - lastRefreshTime >= refreshIntervalMs;
+  }
+
+  boolean contains(ContainerID id) {
+    return containerIDs.contains(id);
+  }
+
+  int size() {
+    return slots.size();
+  }
+
+  boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * Marks the start of a refresh.
+   *
+   * @return false if a refresh is already pending.
+   */
+  boolean startRefresh() {
+    return refreshPending.compareAndSet(false, true);
+  }
+
+  private void markStale() {
+    lastRefreshTime = 0;
+  }
+
+  /**
+   * Rebuilds the ring from the open containers of the owner on the open
+   * pipelines of the replication config.
+   */
+  void refresh() {
+    try {
+      final List<Slot> newSlots = new ArrayList<>();
+      final Set<ContainerID> newIDs = new HashSet<>();
+      boolean allPipelinesFull = true;
+      for (Pipeline pipeline : pipelineManager.getPipelines(
+          replicationConfig, Pipeline.PipelineState.OPEN)) {
+        final Set<ContainerID> ids;
+        try {
+          ids = pipelineManager.getContainersInPipeline(pipeline.getId());
+        } catch (PipelineNotFoundException e) {
+          continue;
+        }
+        int openContainers = 0;
+        for (ContainerID id : ids) {
+          try {
+            final ContainerInfo container = containerManager.getContainer(id);
+            if (container.getState() == LifeCycleState.OPEN
+                && owner.equals(container.getOwner())) {
+              newSlots.add(new Slot(container, pipeline));
+              newIDs.add(id);
+              openContainers++;
+            }
+          } catch (ContainerNotFoundException e) {
+            LOG.debug("Container {} of pipeline {} not found", id,
+                pipeline.getId());
+          }
+        }
+        if (openContainers
+            < pipelineManager.openContainerLimit(pipeline.getNodes())) {
+          allPipelinesFull = false;
+        }
+      }
+      slots = Collections.unmodifiableList(newSlots);
+      containerIDs = newIDs;
+      complete = allPipelinesFull;
+      lastRefreshTime = Time.monotonicNow();
+      LOG.debug("Refreshed writable containers of {}/{}: {}, complete: {}",
+          replicationConfig, owner, newSlots.size(), allPipelinesFull);
+    } finally {
+      refreshPending.set(false);
+    }
+  }
+}
@@ -17,11 +17,24 @@
 
 package org.apache.hadoop.hdds.scm.pipeline;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import jakarta.annotation.Nullable;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.Config;
+import org.apache.hadoop.hdds.conf.ConfigGroup;
+import org.apache.hadoop.hdds.conf.ConfigTag;
+import org.apache.hadoop.hdds.conf.ConfigType;
 import org.apache.hadoop.hdds.scm.PipelineChoosePolicy;
 import org.apache.hadoop.hdds.scm.PipelineRequestInformation;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
@@ -33,6 +46,12 @@
 
 /**
  * Class to obtain a writable container for Ratis and Standalone pipelines.
+ * <p>
+ * If enabled by {@link WritableRatisContainerProviderConfig}, blocks are
+ * first allocated from a {@link WritableContainerRing} of the replication
+ * config and owner without any lock.  Only if the ring has no suitable
+ * container the pipeline is chosen by the {@link PipelineChoosePolicy} under
+ * the pipeline manager lock, which may also allocate a new container.
  */
 public class WritableRatisContainerProvider
     implements WritableContainerProvider<ReplicationConfig> {
@@ -43,14 +62,45 @@
   private final PipelineManager pipelineManager;
   private final PipelineChoosePolicy pipelineChoosePolicy;
   private final ContainerManager containerManager;
+  private final boolean ringEnabled;
+  private final long containerSize;
+  private final long ringRefreshIntervalMs;
+  private final Map<ReplicationConfig, Map<String, WritableContainerRing>>
+      rings = new ConcurrentHashMap<>();
+  private final ThreadPoolExecutor ringRefresher;
 
   public WritableRatisContainerProvider(
       PipelineManager pipelineManager,
       ContainerManager containerManager,
       PipelineChoosePolicy pipelineChoosePolicy) {
+    this(null, 0, pipelineManager, containerManager, pipelineChoosePolicy);
+  }
+
+  public WritableRatisContainerProvider(
+      WritableRatisContainerProviderConfig config,
+      long containerSize,
+      PipelineManager pipelineManager,
+      ContainerManager containerManager,
+      PipelineChoosePolicy pipelineChoosePolicy) {
     this.pipelineManager = pipelineManager;
     this.containerManager = containerManager;
     this.pipelineChoosePolicy = pipelineChoosePolicy;
+    this.ringEnabled = config != null && config.isContainerRingEnabled();
+    this.containerSize = containerSize;
+    this.ringRefreshIntervalMs = config == null ? 0
+        : config.getContainerRingRefreshInterval().toMillis();
+    if (ringEnabled) {
+      ringRefresher = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(),
+          new ThreadFactoryBuilder()
+              .setNameFormat("WritableContainerRingRefresher-%d")
+              .setDaemon(true)
+              .build());
+      // The thread exits when idle, so the provider needs no shutdown.
+      ringRefresher.allowCoreThreadTimeOut(true);
+    } else {
+      ringRefresher = null;
+    }
   }
 
   @Override
@@ -60,6 +110,9 @@ public ContainerInfo getContainer(final long size,
     /*
       Here is the high level logic.
 
+      0. If enabled, we try to allocate from the ring of writable containers
+      without locking.
+
       1. We try to find pipelines in open state.
 
       2. If there are no pipelines in OPEN state, then we try to create one.
@@ -73,6 +126,21 @@ public ContainerInfo getContainer(final long size,
 
     String failureReason = null;
 
+    final WritableContainerRing ring = ringEnabled
+        ? getRing(repConfig, owner) : null;
+    if (ring != null) {
+      ContainerInfo containerInfo = ring.select(size, excludeList);
+      // An incomplete ring is refreshed when the locked path allocates a
+      // new container.
+      if (ring.needsRefresh()
+          || (containerInfo == null && ring.isComplete())) {
+        refreshAsync(ring);
+      }
+      if (containerInfo != null) {
+        return containerInfo;
+      }
+    }
+
     //TODO we need to continue the refactor to use repConfig everywhere
     //in downstream managers.
 
@@ -82,6 +150,7 @@ public ContainerInfo getContainer(final long size,
     ContainerInfo containerInfo =
         getContainer(repConfig, owner, excludeList, req);
     if (containerInfo != null) {
+      refreshIfNew(ring, containerInfo);
       return containerInfo;
     }
 
@@ -128,6 +197,7 @@ public ContainerInfo getContainer(final long size,
     // final try to fetch pipelines.
     containerInfo = getContainer(repConfig, owner, excludeList, req);
     if (containerInfo != null) {
+      refreshIfNew(ring, containerInfo);
       return containerInfo;
     }
 
@@ -141,6 +211,36 @@ public ContainerInfo getContainer(final long size,
             + ", replicationConfig: " + repConfig + ". " + failureReason);
   }
 
+  @VisibleForTesting
+  WritableContainerRing getRing(ReplicationConfig repConfig,
+      String owner) {
+    return rings.computeIfAbsent(repConfig, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(owner, k -> new WritableContainerRing(repConfig,
+            owner, containerSize, ringRefreshIntervalMs, pipelineManager,
+            containerManager));
+  }
+
+  /**
+   * Refreshes the ring if the given container, allocated by the locked
+   * path, is not in it yet.
+   */
+  private void refreshIfNew(@Nullable WritableContainerRing ring,
+      ContainerInfo containerInfo) {
+    if (ring != null && !ring.contains(containerInfo.containerID())) {
+      refreshAsync(ring);
+    }
+  }
+
+  private void refreshAsync(WritableContainerRing ring) {
+    if (ring.startRefresh()) {
+      try {
+        ringRefresher.execute(ring::refresh);
+      } catch (RejectedExecutionException e) {
+        LOG.warn("Failed to schedule refresh of writable containers", e);
+      }
+    }
+  }
+
   @Nullable
   private ContainerInfo getContainer(ReplicationConfig repConfig, String owner,
       ExcludeList excludeList, PipelineRequestInformation req) {
@@ -194,4 +294,54 @@ private List<Pipeline> findPipelinesByState(
     return null;
   }
 
+  /**
+   * Class to hold configuration for WritableRatisContainerProvider.
+   */
+  @ConfigGroup(prefix = WritableRatisContainerProviderConfig.PREFIX)
+  public static class WritableRatisContainerProviderConfig {
+
+    private static final String PREFIX = "ozone.scm.container.ring";
+
+    @Config(key = "ozone.scm.container.ring.enabled",
+        defaultValue = "false",
+        type = ConfigType.BOOLEAN,
+        tags = {ConfigTag.SCM, ConfigTag.PERFORMANCE},
+        description = "If true, SCM allocates Ratis blocks round-robin from "
+            + "the open containers of each replication config and owner "
+            + "without taking the pipeline manager lock, and only falls "
+            + "back to choosing a pipeline with the pipeline choose policy "
+            + "when none of them has space. The configured "
+            + "hdds.scm.pipeline.choose.policy.impl is thus bypassed for "
+            + "most allocations, so only enable it with a policy that does "
+            + "not need to see every allocation, like the default random one."
+    )
+    private boolean containerRingEnabled = false;
+
+    @Config(key = "ozone.scm.container.ring.refresh.interval",
+        defaultValue = "30s",
+        type = ConfigType.TIME,
+        tags = ConfigTag.SCM,
+        description = "Interval after which the open containers used for "
+            + "lock-free block allocation are listed again, to pick up new "
+            + "containers and pipelines. The list is also refreshed when a "
+            + "container in it is closed or all of them are full."
+    )
+    private long containerRingRefreshInterval = Duration.ofSeconds(30).toMillis();
+
+    public boolean isContainerRingEnabled() {
+      return containerRingEnabled;
+    }
+
+    public void setContainerRingEnabled(boolean enabled) {
+      this.containerRingEnabled = enabled;
+    }
+
+    public Duration getContainerRingRefreshInterval() {
+      return Duration.ofMillis(containerRingRefreshInterval);
+    }
+
+    public void setContainerRingRefreshInterval(Duration interval) {
+      this.containerRingRefreshInterval = interval.toMillis();
+    }
+  }
 }
@@ -99,6 +99,7 @@
 import org.apache.hadoop.hdds.scm.container.replication.ContainerReplicaPendingOpsSubscriber;
 import org.apache.hadoop.hdds.scm.container.replication.DatanodeCommandCountUpdatedHandler;
 import org.apache.hadoop.hdds.scm.container.replication.ReplicationManager;
+import org.apache.hadoop.hdds.scm.container.replication.ReplicationManagerContainerEventHandler;
 import org.apache.hadoop.hdds.scm.container.replication.ReplicationManagerEventHandler;
 import org.apache.hadoop.hdds.scm.events.SCMEvents;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
@@ -533,6 +534,10 @@ private void initializeEventHandlers() {
 
     ReplicationManagerEventHandler replicationManagerEventHandler =
         new ReplicationManagerEventHandler(replicationManager, scmContext);
+    ReplicationManagerContainerEventHandler
+        replicationManagerContainerEventHandler =
+        new ReplicationManagerContainerEventHandler(replicationManager,
+            scmContext);
 
     ReconcileContainerEventHandler reconcileContainerEventHandler =
         new ReconcileContainerEventHandler(containerManager, scmContext);
@@ -544,6 +549,8 @@ private void initializeEventHandlers() {
         new DatanodeCommandCountUpdatedHandler(replicationManager));
     eventQueue.addHandler(SCMEvents.REPLICATION_MANAGER_NOTIFY,
         replicationManagerEventHandler);
+    eventQueue.addHandler(SCMEvents.REPLICATION_MANAGER_CONTAINER_NOTIFY,
+        replicationManagerContainerEventHandler);
 
     // Use the same executor for both ICR and FCR.
     // The Executor maps the event to a thread for DN.
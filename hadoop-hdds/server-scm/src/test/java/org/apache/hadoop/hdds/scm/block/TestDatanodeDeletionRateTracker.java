@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.block;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import org.apache.hadoop.hdds.protocol.DatanodeID;
+import org.apache.hadoop.hdds.scm.block.ScmBlockDeletingServiceMetrics.DatanodeCommandDetails;
+import org.apache.ozone.test.MockClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DatanodeDeletionRateTracker}.
+ */
+public class TestDatanodeDeletionRateTracker {
+
+  private static final long INTERVAL_MS = 60_000;
+
+  private MockClock clock;
+  private ScmBlockDeletingServiceMetrics metrics;
+  private DatanodeDeletionRateTracker tracker;
+  private final DatanodeID dn = DatanodeID.randomID();
+
+  @BeforeEach
+  public void setup() {
+    clock = MockClock.newInstance();
+    metrics = ScmBlockDeletingServiceMetrics.create(mock(BlockManager.class));
+    tracker = new DatanodeDeletionRateTracker(clock, INTERVAL_MS, metrics);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    ScmBlockDeletingServiceMetrics.unRegister();
+  }
+
+  @Test
+  public void unknownDatanodeGetsEvenShare() {
+    assertEquals(100, tracker.getBudget(dn, 100, 1000));
+
+    // A command in flight gives no rate yet.
+    tracker.onCommandCreated(dn, 1, 50);
+    assertEquals(100, tracker.getBudget(dn, 100, 1000));
+    assertInFlight(1, 50);
+  }
+
+  @Test
+  public void budgetFollowsDeletionRate() {
+    tracker.onCommandCreated(dn, 1, 600);
+    clock.fastForward(60_000);
+    tracker.onCommandExecuted(dn, 1);
+
+    // 10 blocks per second, so 600 blocks in an interval.
+    assertEquals(10.0, tracker.getBlocksPerSecond(dn), 0.001);
+    assertEquals(600, tracker.getBudget(dn, 100, 1000));
+    assertEquals(500, tracker.getBudget(dn, 100, 500));
+    assertInFlight(0, 0);
+
+    // Blocks still in flight are taken off the budget.
+    tracker.onCommandCreated(dn, 2, 200);
+    assertEquals(400, tracker.getBudget(dn, 100, 1000));
+  }
+
+  @Test
+  public void slowDatanodeKeepsPartOfEvenShare() {
+    tracker.onCommandCreated(dn, 1, 1);
+    clock.fastForward(600_000);
+    tracker.onCommandExecuted(dn, 1);
+
+    assertEquals(25, tracker.getBudget(dn, 100, 1000));
+  }
+
+  @Test
+  public void consecutiveAcksMeasureFromPreviousAck() {
+    tracker.onCommandCreated(dn, 1, 100);
+    tracker.onCommandCreated(dn, 2, 100);
+    clock.fastForward(10_000);
+    tracker.onCommandExecuted(dn, 1);
+    clock.fastForward(10_000);
+    tracker.onCommandExecuted(dn, 2);
+
+    // Both commands took 10 seconds to execute after the previous one.
+    assertEquals(10.0, tracker.getBlocksPerSecond(dn), 0.001);
+  }
+
+  @Test
+  public void failedAndExpiredCommandsAreNotInFlight() {
+    tracker.onCommandCreated(dn, 1, 10);
+    tracker.onCommandCreated(dn, 2, 20);
+    tracker.onCommandFailed(dn, 1);
+    assertInFlight(1, 20);
+    assertEquals(-1, tracker.getBlocksPerSecond(dn), 0.001);
+
+    clock.fastForward(1000);
+    tracker.onCommandCreated(dn, 3, 30);
+    tracker.removeExpired(500);
+    assertInFlight(1, 30);
+
+    // Late acknowledgement of an expired command is ignored.
+    tracker.onCommandExecuted(dn, 2);
+    assertEquals(30, tracker.getBlocksInFlight(dn));
+
+    tracker.onDatanodeDead(dn);
+    assertEquals(0, tracker.getBlocksInFlight(dn));
+    assertInFlight(0, 0);
+  }
+
+  private void assertInFlight(long commands, long blocks) {
+    DatanodeCommandDetails details = metrics.getDatanodeCommandDetails(dn);
+    assertEquals(commands, details.getCommandsInFlight());
+    assertEquals(blocks, details.getBlocksInFlight());
+  }
+}
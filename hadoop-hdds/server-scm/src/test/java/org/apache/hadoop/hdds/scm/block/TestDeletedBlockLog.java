@@ -84,6 +84,7 @@
 import org.apache.hadoop.ozone.protocol.commands.CommandStatus;
 import org.apache.hadoop.ozone.protocol.commands.DeleteBlocksCommand;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
+import org.apache.ozone.test.MockClock;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -413,7 +414,10 @@ private void recordScmCommandToStatusManager(
     Set<Long> dnTxSet = command.blocksTobeDeleted()
         .stream().map(DeletedBlocksTransaction::getTxID)
         .collect(Collectors.toSet());
-    deletedBlockLog.recordTransactionCreated(dnId, command.getId(), dnTxSet);
+    long blocks = command.blocksTobeDeleted().stream()
+        .mapToLong(DeletedBlocksTransaction::getLocalIDCount).sum();
+    deletedBlockLog.recordTransactionCreated(dnId, command.getId(), dnTxSet,
+        blocks);
   }
 
   private void sendSCMDeleteBlocksCommand(DatanodeID dnId, SCMCommand<?> scmCommand) {
@@ -773,6 +777,52 @@ public void testGetTransactionsWithMaxBlocksPerDatanode(int maxAllowedBlockNum)
     assertEquals(datanodeBlockCountMap.get(dnId2.getID()), blocksPerDataNode);
   }
 
+  @Test
+  public void testGetTransactionsFollowsDatanodeDeletionRate() throws IOException {
+    deletedBlockLog.setDeleteBlocksFactorPerDatanode(1);
+    mockContainerHealthResult(true);
+    int txNum = 10;
+    DatanodeDetails fastDn = dnList.get(0), slowDn = dnList.get(1);
+
+    Map<Long, List<DeletedBlock>> deletedBlocks = generateData(txNum);
+    addTransactions(deletedBlocks, true);
+    List<Long> containerIds = new ArrayList<>(deletedBlocks.keySet());
+    for (int i = 0; i < containerIds.size(); i++) {
+      mockStandAloneContainerInfo(containerIds.get(i), i % 2 == 0 ? fastDn : slowDn);
+    }
+
+    // The fast datanode deletes 20 blocks per second, the slow one a block
+    // every two minutes.
+    MockClock clock = MockClock.newInstance();
+    DatanodeDeletionRateTracker tracker =
+        new DatanodeDeletionRateTracker(clock, 60_000, metrics);
+    deletedBlockLog.setRateTracker(tracker);
+    tracker.onCommandCreated(fastDn.getID(), 1, 1200);
+    tracker.onCommandCreated(slowDn.getID(), 2, 5);
+    clock.fastForward(60_000);
+    tracker.onCommandExecuted(fastDn.getID(), 1);
+    clock.fastForward(540_000);
+    tracker.onCommandExecuted(slowDn.getID(), 2);
+
+    // The even share would be 15 blocks for each datanode.
+    int maxAllowedBlockNum = 45;
+    DatanodeDeletedBlockTransactions transactions =
+        deletedBlockLog.getTransactions(maxAllowedBlockNum, new HashSet<>(dnList));
+    assertEquals(5 * BLOCKS_PER_TXN, transactions.getNumberOfBlocksForDatanode(fastDn.getID()));
+    assertEquals(BLOCKS_PER_TXN, transactions.getNumberOfBlocksForDatanode(slowDn.getID()));
+
+    assertEquals(maxAllowedBlockNum, metrics.getDatanodeCommandDetails(fastDn.getID()).getBlockBudget());
+    assertEquals(0, metrics.getDatanodeCommandDetails(fastDn.getID()).getBacklogBlocks());
+    assertEquals(4 * BLOCKS_PER_TXN, metrics.getDatanodeCommandDetails(slowDn.getID()).getBacklogBlocks());
+
+    // Without adaptive budgets both get the even share.
+    deletedBlockLog.setAdaptivePerDatanode(false);
+    deletedBlockLog.setScmCommandTimeoutMs(-1L);
+    transactions = deletedBlockLog.getTransactions(maxAllowedBlockNum, new HashSet<>(dnList));
+    assertEquals(3 * BLOCKS_PER_TXN, transactions.getNumberOfBlocksForDatanode(fastDn.getID()));
+    assertEquals(3 * BLOCKS_PER_TXN, transactions.getNumberOfBlocksForDatanode(slowDn.getID()));
+  }
+
   @Test
   public void testDeletedBlockTransactionsOfDeletedContainer() throws IOException {
     int txNum = 10;
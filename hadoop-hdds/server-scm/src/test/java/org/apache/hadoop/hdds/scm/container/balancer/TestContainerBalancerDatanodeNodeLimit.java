@@ -35,6 +35,7 @@
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -379,6 +380,25 @@ public void targetDatanodeShouldNotAlreadyContainSelectedContainer(@Nonnull Mock
     }
   }
 
+  @ParameterizedTest(name = "MockedSCM #{index}: {0}")
+  @MethodSource("createMockedSCMs")
+  public void parallelPlanningShouldSelectSameMovesAsSingleThreaded(@Nonnull MockedSCM mockedSCM) {
+    ContainerBalancerConfiguration config = new ContainerBalancerConfigBuilder(mockedSCM.getNodeCount()).build();
+
+    config.setPlanningThreads(1);
+    ContainerBalancerTask task = mockedSCM.startBalancerTask(config);
+    Map<ContainerID, DatanodeDetails> sources = new HashMap<>(task.getContainerToSourceMap());
+    Map<ContainerID, DatanodeDetails> targets = new HashMap<>(task.getContainerToTargetMap());
+    assertThat(targets).isNotEmpty();
+
+    config.setPlanningThreads(4);
+    task = mockedSCM.startBalancerTask(config);
+    assertEquals(sources, task.getContainerToSourceMap());
+    assertEquals(targets, task.getContainerToTargetMap());
+    assertThat(task.getMetrics().getPlanningTimeMs())
+        .isGreaterThanOrEqualTo(task.getMetrics().getPlanningTimeMsInLatestIteration());
+  }
+
   @ParameterizedTest(name = "MockedSCM #{index}: {0}")
   @MethodSource("createMockedSCMs")
   public void containerMoveSelectionShouldFollowPlacementPolicy(@Nonnull MockedSCM mockedSCM) {
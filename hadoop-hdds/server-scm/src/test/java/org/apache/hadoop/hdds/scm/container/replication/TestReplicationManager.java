@@ -1084,6 +1084,130 @@ public void testUnderReplicationQueuePopulated() {
     assertNull(res);
   }
 
+  @Test
+  public void testScanPartitionCount() {
+    rmConf.setScanPartitions(4);
+    final int min = ReplicationManager.MIN_CONTAINERS_PER_SCAN_PARTITION;
+    assertEquals(1, replicationManager.getScanPartitionCount(0));
+    assertEquals(1, replicationManager.getScanPartitionCount(min));
+    assertEquals(2, replicationManager.getScanPartitionCount(min + 1));
+    assertEquals(4, replicationManager.getScanPartitionCount(min * 10));
+
+    rmConf.setScanPartitions(1);
+    assertEquals(1, replicationManager.getScanPartitionCount(min * 10));
+  }
+
+  @Test
+  public void testProcessAllInPartitions() {
+    rmConf.setScanPartitions(3);
+    final int containerCount =
+        ReplicationManager.MIN_CONTAINERS_PER_SCAN_PARTITION * 3;
+    for (int i = 1; i <= containerCount; i++) {
+      ContainerInfo container = createContainerInfo(repConfig, i,
+          HddsProtos.LifeCycleState.CLOSED);
+      if (i % 1000 == 0) {
+        addReplicas(container, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+      } else {
+        addReplicas(container, ContainerReplicaProto.State.CLOSED,
+            1, 2, 3, 4, 5);
+      }
+    }
+
+    enableProcessAll();
+    replicationManager.processAll();
+
+    ReplicationManagerReport report = replicationManager.getContainerReport();
+    assertEquals(containerCount,
+        report.getStat(HddsProtos.LifeCycleState.CLOSED));
+    assertEquals(containerCount / 1000,
+        report.getStat(ContainerHealthState.UNDER_REPLICATED));
+    assertEquals(containerCount / 1000,
+        replicationManager.getQueue().underReplicatedQueueSize());
+    assertEquals(3, replicationManager.getLastPartitionScanTimes().length);
+  }
+
+  @Test
+  public void testUpdatedContainersProcessed()
+      throws ContainerNotFoundException {
+    ContainerInfo underRep = createContainerInfo(repConfig, 1,
+        HddsProtos.LifeCycleState.CLOSED);
+    addReplicas(underRep, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+    ContainerInfo healthy = createContainerInfo(repConfig, 2,
+        HddsProtos.LifeCycleState.CLOSED);
+    addReplicas(healthy, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4, 5);
+    when(containerManager.getContainer(underRep.containerID()))
+        .thenReturn(underRep);
+    when(containerManager.getContainer(healthy.containerID()))
+        .thenReturn(healthy);
+
+    enableProcessAll();
+    replicationManager.notifyContainerUpdated(underRep.containerID());
+    replicationManager.notifyContainerUpdated(healthy.containerID());
+    assertEquals(2, replicationManager.getUpdatedContainerCount());
+
+    replicationManager.processUpdatedContainers();
+
+    assertEquals(0, replicationManager.getUpdatedContainerCount());
+    assertEquals(0, replicationManager.getUpdatedContainerLag());
+    ReplicationQueue queue = replicationManager.getQueue();
+    assertEquals(1, queue.underReplicatedQueueSize());
+    assertEquals(underRep,
+        queue.dequeueUnderReplicatedContainer().getContainerInfo());
+    assertEquals(2, replicationManager.getMetrics()
+        .getIncrementalContainersProcessedTotal());
+  }
+
+  @Test
+  public void testUpdatedContainersClearedByProcessAll() {
+    ContainerInfo container = createContainerInfo(repConfig, 1,
+        HddsProtos.LifeCycleState.CLOSED);
+    addReplicas(container, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+
+    enableProcessAll();
+    replicationManager.notifyContainerUpdated(container.containerID());
+    replicationManager.processAll();
+
+    assertEquals(0, replicationManager.getUpdatedContainerCount());
+    assertEquals(1, replicationManager.getQueue().underReplicatedQueueSize());
+  }
+
+  @Test
+  public void testContainerUpdatedDuringProcessAllIsKept() {
+    ContainerInfo container = createContainerInfo(repConfig, 1,
+        HddsProtos.LifeCycleState.CLOSED);
+    addReplicas(container, ContainerReplicaProto.State.CLOSED, 1, 2, 3, 4);
+
+    enableProcessAll();
+    replicationManager.notifyContainerUpdated(container.containerID());
+    // Notify the container again after the full scan has started, so the
+    // change may not have been seen by the scan.
+    when(containerManager.getContainers()).thenAnswer(invocation -> {
+      Thread.sleep(10);
+      replicationManager.notifyContainerUpdated(container.containerID());
+      return new ArrayList<>(containerInfoSet);
+    });
+    replicationManager.processAll();
+
+    assertEquals(1, replicationManager.getUpdatedContainerCount());
+  }
+
+  @Test
+  public void testNodeStateChangeUpdatesContainersOnNode()
+      throws NodeNotFoundException {
+    DatanodeDetails dn = MockDatanodeDetails.randomDatanodeDetails();
+    Set<ContainerID> containersOnNode = new HashSet<>();
+    containersOnNode.add(ContainerID.valueOf(1));
+    containersOnNode.add(ContainerID.valueOf(2));
+    when(nodeManager.getContainers(dn)).thenReturn(containersOnNode);
+
+    replicationManager.notifyNodeStateChange(dn);
+    assertEquals(2, replicationManager.getUpdatedContainerCount());
+
+    rmConf.setIncrementalEnabled(false);
+    replicationManager.notifyContainerUpdated(ContainerID.valueOf(3));
+    assertEquals(2, replicationManager.getUpdatedContainerCount());
+  }
+
   @Test
   public void testSendDatanodeDeleteCommand() throws NotLeaderException {
     ECReplicationConfig ecRepConfig = new ECReplicationConfig(3, 2);
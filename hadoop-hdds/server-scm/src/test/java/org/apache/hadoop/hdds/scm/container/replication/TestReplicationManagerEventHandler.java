@@ -67,6 +67,7 @@ public void testReplicationManagerEventHandler(boolean isLeaderReady, boolean is
     DatanodeDetails dataNodeDetails = MockDatanodeDetails.randomDatanodeDetails();
     replicationManagerEventHandler.onMessage(dataNodeDetails, publisher);
 
-    verify(replicationManager, times(isExpectedToNotify ? 1 : 0)).notifyNodeStateChange();
+    verify(replicationManager, times(isExpectedToNotify ? 1 : 0))
+        .notifyNodeStateChange(dataNodeDetails);
   }
 }
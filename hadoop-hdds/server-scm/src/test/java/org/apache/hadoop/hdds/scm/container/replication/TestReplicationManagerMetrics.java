@@ -66,6 +66,10 @@ public void setup() {
     when(replicationManager.getContainerReplicaPendingOps())
         .thenReturn(mock(ContainerReplicaPendingOps.class));
     when(replicationManager.getQueue()).thenReturn(new ReplicationQueue());
+    when(replicationManager.getLastPartitionScanTimes())
+        .thenReturn(new long[] {15, 20});
+    when(replicationManager.getUpdatedContainerCount()).thenReturn(3);
+    when(replicationManager.getUpdatedContainerLag()).thenReturn(250L);
     metrics = ReplicationManagerMetrics.create(replicationManager);
   }
 
@@ -92,6 +96,14 @@ public void testHealthStateMetricsPresent() {
     }
   }
 
+  @Test
+  public void testScanMetricsPresent() {
+    assertEquals(15, getGauge("ScanPartition0TimeMs"));
+    assertEquals(20, getGauge("ScanPartition1TimeMs"));
+    assertEquals(3, getGauge("UpdatedContainers"));
+    assertEquals(250, getGauge("UpdatedContainerLagMs"));
+  }
+
   private long getGauge(String metricName) {
     return getLongGauge(metricName,
         getMetrics(ReplicationManagerMetrics.METRICS_SOURCE_NAME));
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.hadoop.hdds.protocol.DatanodeID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link HeartbeatTimeWheel}.
+ */
+public class TestHeartbeatTimeWheel {
+
+  private static final long TICK = 1000;
+  private static final long SPAN = 10_000;
+
+  private final DatanodeID dn1 = DatanodeID.randomID();
+  private final DatanodeID dn2 = DatanodeID.randomID();
+
+  @Test
+  public void nodesAreDueAtTheirTick() {
+    HeartbeatTimeWheel wheel = new HeartbeatTimeWheel(TICK, SPAN, 0);
+    wheel.scheduleNext(dn1);
+    wheel.schedule(dn2, 5_500);
+    assertEquals(2, wheel.size());
+
+    assertThat(wheel.advance(1_000)).containsExactly(dn1);
+    assertThat(wheel.advance(4_999)).isEmpty();
+    assertThat(wheel.advance(5_000)).containsExactly(dn2);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  public void earlierScheduleWins() {
+    HeartbeatTimeWheel wheel = new HeartbeatTimeWheel(TICK, SPAN, 0);
+    wheel.schedule(dn1, 8_000);
+    wheel.schedule(dn1, 9_000);
+    wheel.schedule(dn1, 3_000);
+    assertEquals(1, wheel.size());
+
+    assertThat(wheel.advance(3_000)).containsExactly(dn1);
+    assertThat(wheel.advance(9_000)).isEmpty();
+  }
+
+  @Test
+  public void nodesBeyondOneRevolutionWaitForTheirTick() {
+    HeartbeatTimeWheel wheel = new HeartbeatTimeWheel(TICK, SPAN, 0);
+    // Lands in the same slot as tick 1 of the wheel.
+    wheel.schedule(dn1, 3 * SPAN);
+    wheel.scheduleNext(dn2);
+
+    assertThat(wheel.advance(1_000)).containsExactly(dn2);
+    assertThat(wheel.advance(2 * SPAN)).isEmpty();
+    assertThat(wheel.advance(3 * SPAN)).containsExactly(dn1);
+  }
+
+  @Test
+  public void longPauseCollectsAllDueNodes() {
+    HeartbeatTimeWheel wheel = new HeartbeatTimeWheel(TICK, SPAN, 0);
+    wheel.schedule(dn1, 2_000);
+    wheel.schedule(dn2, 7_000);
+
+    assertThat(wheel.advance(100 * SPAN)).containsExactlyInAnyOrder(dn1, dn2);
+  }
+
+  @Test
+  public void removedNodeIsNotDue() {
+    HeartbeatTimeWheel wheel = new HeartbeatTimeWheel(TICK, SPAN, 0);
+    wheel.scheduleNext(dn1);
+    wheel.remove(dn1);
+
+    assertThat(wheel.advance(SPAN)).isEmpty();
+    assertEquals(0, wheel.size());
+  }
+}
@@ -152,6 +152,36 @@ private void runTestGetNode(long opExpiryEpochSeconds)
         map.getNodeCount(NodeOperationalState.DECOMMISSIONING, null));
   }
 
+  @Test
+  public void testNodeCountsFollowStatusChanges() throws Exception {
+    addNode(NodeStatus.inServiceHealthy());
+    assertEquals(1, map.getNodeCount(NodeOperationalState.IN_SERVICE, NodeState.HEALTHY));
+
+    map.updateNodeHealthState(dn.getID(), NodeState.STALE);
+    assertEquals(0, map.getNodeCount(NodeOperationalState.IN_SERVICE, NodeState.HEALTHY));
+    assertEquals(1, map.getNodeCount(NodeOperationalState.IN_SERVICE, NodeState.STALE));
+
+    map.updateNodeOperationalState(dn.getID(), NodeOperationalState.DECOMMISSIONING, 0);
+    assertEquals(0, map.getNodeCount(NodeOperationalState.IN_SERVICE, null));
+    assertEquals(1, map.getNodeCount(NodeOperationalState.DECOMMISSIONING, NodeState.STALE));
+
+    // Status changes made directly on the node are counted too.
+    map.getNodeInfo(dn.getID()).setNodeStatus(NodeStatus.inServiceHealthy());
+    assertEquals(1, map.getNodeCount(NodeOperationalState.IN_SERVICE, NodeState.HEALTHY));
+    assertEquals(0, map.getNodeCount(NodeOperationalState.DECOMMISSIONING, null));
+
+    // The replaced node is no longer counted.
+    final DatanodeInfo oldInfo = map.updateNode(new DatanodeInfo(dn,
+        NodeStatus.inServiceStale(), null, HddsTestUtils.ROLL_INTERVAL_MS_DEFAULT));
+    oldInfo.setNodeStatus(NodeStatus.inServiceDead());
+    assertEquals(0, map.getNodeCount(NodeOperationalState.IN_SERVICE, NodeState.HEALTHY));
+    assertEquals(1, map.getNodeCount(NodeOperationalState.IN_SERVICE, NodeState.STALE));
+    assertEquals(0, map.getNodeCount(null, NodeState.DEAD));
+
+    map.removeNode(dn.getID());
+    assertEquals(0, map.getNodeCount(null, NodeState.STALE));
+  }
+
   /**
    * Test if container list is iterable even if it's modified from other thread.
    */
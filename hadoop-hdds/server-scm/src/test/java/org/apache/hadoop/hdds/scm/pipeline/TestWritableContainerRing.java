@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.pipeline;
+
+import static org.apache.hadoop.hdds.scm.pipeline.Pipeline.PipelineState.OPEN;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.ContainerInfo;
+import org.apache.hadoop.hdds.scm.container.ContainerManager;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests for {@link WritableContainerRing}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TestWritableContainerRing {
+
+  private static final ReplicationConfig REPLICATION_CONFIG =
+      RatisReplicationConfig.getInstance(HddsProtos.ReplicationFactor.THREE);
+  private static final String OWNER = "owner";
+  private static final long CONTAINER_SIZE = 1000;
+  private static final long BLOCK_SIZE = 300;
+  private static final ExcludeList NO_EXCLUSION = new ExcludeList();
+
+  private final AtomicLong containerID = new AtomicLong(1);
+  private final List<Pipeline> pipelines = new ArrayList<>();
+
+  @Mock
+  private PipelineManager pipelineManager;
+
+  @Mock
+  private ContainerManager containerManager;
+
+  @BeforeEach
+  void setup() {
+    when(pipelineManager.getPipelines(REPLICATION_CONFIG, OPEN))
+        .thenReturn(pipelines);
+    when(pipelineManager.openContainerLimit(any())).thenReturn(1);
+  }
+
+  @Test
+  void selectsRoundRobin() throws Exception {
+    ContainerInfo first = addContainer(addPipeline(), OWNER);
+    ContainerInfo second = addContainer(addPipeline(), OWNER);
+    WritableContainerRing ring = createRing();
+    ring.refresh();
+
+    ContainerInfo selected = ring.select(BLOCK_SIZE, NO_EXCLUSION);
+    ContainerInfo other = ring.select(BLOCK_SIZE, NO_EXCLUSION);
+
+    assertTrue(selected == first || selected == second);
+    assertTrue(other == first || other == second);
+    assertNotSame(selected, other);
+  }
+
+  @Test
+  void reservesSpace() throws Exception {
+    ContainerInfo container = addContainer(addPipeline(), OWNER);
+    WritableContainerRing ring = createRing();
+    ring.refresh();
+
+    for (int i = 0; i < CONTAINER_SIZE / BLOCK_SIZE; i++) {
+      assertSame(container, ring.select(BLOCK_SIZE, NO_EXCLUSION));
+    }
+    assertNull(ring.select(BLOCK_SIZE, NO_EXCLUSION));
+  }
+
+  @Test
+  void respectsReportedUsedBytes() throws Exception {
+    ContainerInfo container = addContainer(addPipeline(), OWNER);
+    WritableContainerRing ring = createRing();
+    ring.refresh();
+
+    container.setUsedBytes(CONTAINER_SIZE - BLOCK_SIZE + 1);
+
+    assertNull(ring.select(BLOCK_SIZE, NO_EXCLUSION));
+    assertSame(container, ring.select(BLOCK_SIZE - 1, NO_EXCLUSION));
+  }
+
+  @Test
+  void skipsExcludedContainers() throws Exception {
+    Pipeline pipeline = addPipeline();
+    ContainerInfo container = addContainer(pipeline, OWNER);
+    WritableContainerRing ring = createRing();
+    ring.refresh();
+
+    ExcludeList excludeContainer = new ExcludeList();
+    excludeContainer.addConatinerId(container.containerID());
+    assertNull(ring.select(BLOCK_SIZE, excludeContainer));
+
+    ExcludeList excludePipeline = new ExcludeList();
+    excludePipeline.addPipeline(pipeline.getId());
+    assertNull(ring.select(BLOCK_SIZE, excludePipeline));
+
+    ExcludeList excludeNode = new ExcludeList();
+    excludeNode.addDatanode(pipeline.getFirstNode());
+    assertNull(ring.select(BLOCK_SIZE, excludeNode));
+
+    assertSame(container, ring.select(BLOCK_SIZE, NO_EXCLUSION));
+  }
+
+  @Test
+  void skipsClosedContainersAndNeedsRefresh() throws Exception {
+    ContainerInfo container = addContainer(addPipeline(), OWNER);
+    WritableContainerRing ring = createRing();
+    ring.refresh();
+    assertFalse(ring.needsRefresh());
+
+    container.setState(LifeCycleState.CLOSING);
+
+    assertNull(ring.select(BLOCK_SIZE, NO_EXCLUSION));
+    assertTrue(ring.needsRefresh());
+    ring.refresh();
+    assertFalse(ring.contains(container.containerID()));
+  }
+
+  @Test
+  void unusedUntilAllPipelinesHaveContainers() throws Exception {
+    addContainer(addPipeline(), OWNER);
+    Pipeline pipelineOfOtherOwner = addPipeline();
+    addContainer(pipelineOfOtherOwner, "other");
+    WritableContainerRing ring = createRing();
+    ring.refresh();
+
+    assertFalse(ring.isComplete());
+    assertNull(ring.select(BLOCK_SIZE, NO_EXCLUSION));
+
+    ContainerInfo container = addContainer(pipelineOfOtherOwner, OWNER);
+    ring.refresh();
+
+    assertTrue(ring.isComplete());
+    assertTrue(ring.contains(container.containerID()));
+    assertNotNull(ring.select(BLOCK_SIZE, NO_EXCLUSION));
+  }
+
+  private WritableContainerRing createRing() {
+    return new WritableContainerRing(REPLICATION_CONFIG, OWNER,
+        CONTAINER_SIZE, 60_000, pipelineManager, containerManager);
+  }
+
+  private Pipeline addPipeline() throws Exception {
+    Pipeline pipeline = MockPipeline.createPipeline(3);
+    pipelines.add(pipeline);
+    when(pipelineManager.getContainersInPipeline(pipeline.getId()))
+        .thenReturn(new TreeSet<>());
+    return pipeline;
+  }
+
+  private ContainerInfo addContainer(Pipeline pipeline, String owner)
+      throws Exception {
+    ContainerInfo container = new ContainerInfo.Builder()
+        .setContainerID(containerID.getAndIncrement())
+        .setPipelineID(pipeline.getId())
+        .setReplicationConfig(REPLICATION_CONFIG)
+        .setState(LifeCycleState.OPEN)
+        .setOwner(owner)
+        .build();
+    when(containerManager.getContainer(container.containerID()))
+        .thenReturn(container);
+    TreeSet<ContainerID> ids = new TreeSet<>(
+        pipelineManager.getContainersInPipeline(pipeline.getId()));
+    ids.add(container.containerID());
+    when(pipelineManager.getContainersInPipeline(pipeline.getId()))
+        .thenReturn(ids);
+    return container;
+  }
+}
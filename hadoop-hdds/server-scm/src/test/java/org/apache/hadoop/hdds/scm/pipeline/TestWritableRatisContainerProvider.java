@@ -24,6 +24,7 @@
 import static org.apache.hadoop.hdds.scm.pipeline.Pipeline.PipelineState.OPEN;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -32,6 +33,7 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
@@ -42,7 +44,9 @@
 import org.apache.hadoop.hdds.scm.container.ContainerManager;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.pipeline.WritableRatisContainerProvider.WritableRatisContainerProviderConfig;
 import org.apache.hadoop.hdds.scm.pipeline.choose.algorithms.RandomPipelineChoosePolicy;
+import org.apache.ozone.test.GenericTestUtils;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -118,6 +122,38 @@ void failsIfContainerCannotBeCreated() throws Exception {
     verifyPipelineCreated();
   }
 
+  @Test
+  void allocatesFromContainerRingWithoutLock() throws Exception {
+    Pipeline pipeline = MockPipeline.createPipeline(3);
+    ContainerInfo existingContainer = pipelineHasContainer(pipeline);
+    existingPipelines(pipeline);
+    when(pipelineManager.getPipelines(REPLICATION_CONFIG, OPEN))
+        .thenReturn(singletonList(pipeline));
+    when(pipelineManager.getContainersInPipeline(pipeline.getId()))
+        .thenReturn(new TreeSet<>(singletonList(
+            existingContainer.containerID())));
+    when(pipelineManager.openContainerLimit(any())).thenReturn(1);
+    when(containerManager.getContainer(existingContainer.containerID()))
+        .thenReturn(existingContainer);
+
+    WritableRatisContainerProviderConfig config =
+        conf.getObject(WritableRatisContainerProviderConfig.class);
+    config.setContainerRingEnabled(true);
+    WritableRatisContainerProvider subject = new WritableRatisContainerProvider(
+        config, CONTAINER_SIZE * 10, pipelineManager, containerManager, policy);
+
+    // The first allocation takes the locked path and fills the ring.
+    assertSame(existingContainer, subject.getContainer(CONTAINER_SIZE,
+        REPLICATION_CONFIG, OWNER, NO_EXCLUSION));
+    GenericTestUtils.waitFor(
+        () -> subject.getRing(REPLICATION_CONFIG, OWNER).size() == 1,
+        10, 10_000);
+
+    assertSame(existingContainer, subject.getContainer(CONTAINER_SIZE,
+        REPLICATION_CONFIG, OWNER, NO_EXCLUSION));
+    verify(pipelineManager, times(1)).acquireReadLock();
+  }
+
   private void existingPipelines(Pipeline... pipelines) {
     existingPipelines(new ArrayList<>(asList(pipelines)));
   }
@@ -131,6 +167,8 @@ private ContainerInfo pipelineHasContainer(Pipeline pipeline) {
     ContainerInfo container = new ContainerInfo.Builder()
         .setContainerID(containerID.getAndIncrement())
         .setPipelineID(pipeline.getId())
+        .setState(HddsProtos.LifeCycleState.OPEN)
+        .setOwner(OWNER)
         .build();
 
     when(containerManager.getMatchingContainer(CONTAINER_SIZE, OWNER, pipeline, emptySet()))
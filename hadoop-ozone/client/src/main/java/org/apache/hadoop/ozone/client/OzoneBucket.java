@@ -55,6 +55,7 @@
 import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.ErrorInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
@@ -498,6 +499,24 @@ public OzoneOutputStream createKey(String key, long size,
         .createKey(volumeName, name, key, size, replicationConfig, keyMetadata, tags);
   }
 
+  /**
+   * Creates a new key in the bucket, which is uploaded in parts concurrently
+   * as it is written.  This uses more of the cluster for large keys than
+   * {@link #createKey}, at the cost of buffering the parts in memory.
+   *
+   * @param key               Name of the key to be created.
+   * @param replicationConfig Replication configuration.
+   * @param keyMetadata       Custom key metadata.
+   * @return OzoneOutputStream to which the data has to be written.
+   * @throws IOException
+   */
+  public OzoneOutputStream createParallelKey(String key,
+      ReplicationConfig replicationConfig, Map<String, String> keyMetadata)
+      throws IOException {
+    return proxy.createParallelKey(volumeName, name, key, replicationConfig,
+        keyMetadata);
+  }
+
   /**
    * This API allows to atomically update an existing key. The key read before invoking this API
    * should remain unchanged for this key to be written. This is controlled by the generation
@@ -1210,6 +1229,17 @@ public Map<String, String> getObjectTagging(String keyName)
     return proxy.getObjectTagging(volumeName, name, keyName);
   }
 
+  /**
+   * Computes the content summary of a directory or file in this bucket.
+   * @param keyName Path of the directory or file, empty for the bucket.
+   * @return the length, space consumed, file count and directory count.
+   * @throws IOException
+   */
+  public OmContentSummary getContentSummary(String keyName)
+      throws IOException {
+    return proxy.getContentSummary(volumeName, name, keyName);
+  }
+
   /**
    * Sets the tags to an existing key.
    * @param keyName Key name.
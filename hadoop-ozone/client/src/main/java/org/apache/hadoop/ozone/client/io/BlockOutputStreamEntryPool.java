@@ -108,12 +108,17 @@ public BlockOutputStreamEntryPool(KeyOutputStream.Builder b) {
     this.excludeList = createExcludeList();
 
     this.streamBufferArgs = b.getStreamBufferArgs();
+    // Each key may use the buffers up to its flush size regardless of the
+    // client limit, as it flushes them before it needs more.
     this.bufferPool =
         new BufferPool(streamBufferArgs.getStreamBufferSize(),
             (int) (streamBufferArgs.getStreamBufferMaxSize() / streamBufferArgs
                 .getStreamBufferSize()),
             ByteStringConversion
-                .createByteBufferConversion(b.isUnsafeByteBufferConversionEnabled()));
+                .createByteBufferConversion(b.isUnsafeByteBufferConversionEnabled()),
+            b.getBufferLimit(),
+            (int) (streamBufferArgs.getStreamBufferFlushSize() / streamBufferArgs
+                .getStreamBufferSize()));
     this.clientMetrics = b.getClientMetrics();
     this.executorServiceSupplier = b.getExecutorServiceSupplier();
   }
@@ -51,6 +51,7 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.BufferLimit;
 import org.apache.hadoop.io.retry.RetryPolicy;
 import org.apache.hadoop.io_.retry.RetryPolicies;
 import org.apache.hadoop.ozone.OzoneManagerVersion;
@@ -692,6 +693,7 @@ public static class Builder {
     private StreamBufferArgs streamBufferArgs;
     private Supplier<ExecutorService> executorServiceSupplier;
     private OzoneManagerVersion ozoneManagerVersion;
+    private BufferLimit bufferLimit = BufferLimit.unlimited();
 
     public String getMultipartUploadID() {
       return multipartUploadID;
@@ -805,6 +807,15 @@ public Supplier<ExecutorService> getExecutorServiceSupplier() {
       return executorServiceSupplier;
     }
 
+    public Builder setBufferLimit(BufferLimit bufferLimit) {
+      this.bufferLimit = bufferLimit;
+      return this;
+    }
+
+    public BufferLimit getBufferLimit() {
+      return bufferLimit;
+    }
+
     public Builder setOmVersion(OzoneManagerVersion omVersion) {
       this.ozoneManagerVersion = omVersion;
       return this;
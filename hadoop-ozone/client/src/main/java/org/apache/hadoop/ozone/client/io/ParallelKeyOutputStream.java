@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.io.MD5Hash;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes a key as a multipart upload whose parts are uploaded concurrently.
+ * <p>
+ * The data is buffered in parts of a fixed size.  Each full part is uploaded
+ * in the background while the next one is written, and the upload is
+ * completed when the stream is closed.  At most {@code maxParts} parts are
+ * uploaded at the same time, so at most one more part is buffered in memory.
+ * A part that failed is uploaded again from its buffer.  If the data fits in
+ * a single part, it is written as a regular key instead.
+ */
+public class ParallelKeyOutputStream extends OutputStream {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ParallelKeyOutputStream.class);
+
+  private final ClientProtocol proxy;
+  private final String volumeName;
+  private final String bucketName;
+  private final String keyName;
+  private final ReplicationConfig replicationConfig;
+  private final Map<String, String> metadata;
+  private final int partSize;
+  private final int partRetries;
+  private final Executor executor;
+  /** Permits for the parts being uploaded. */
+  private final Semaphore uploadPermits;
+  /** Buffers of uploaded parts to be reused. */
+  private final ConcurrentLinkedQueue<byte[]> freeBuffers =
+      new ConcurrentLinkedQueue<>();
+  private final List<CompletableFuture<Void>> uploads = new ArrayList<>();
+  /** The ETag of each uploaded part, by part number. */
+  private final Map<Integer, String> partETags =
+      Collections.synchronizedMap(new TreeMap<>());
+
+  private byte[] buffer;
+  private int bufferLength;
+  private int nextPartNumber = 1;
+  private String uploadID;
+  private volatile IOException failure;
+  private boolean closed;
+
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  public ParallelKeyOutputStream(ClientProtocol proxy, String volumeName,
+      String bucketName, String keyName, ReplicationConfig replicationConfig,
+      Map<String, String> metadata, int partSize, int maxParts,
+      int partRetries, Executor executor) {
+    this.proxy = Objects.requireNonNull(proxy, "proxy == null");
+    this.volumeName = volumeName;
+    this.bucketName = bucketName;
+    this.keyName = keyName;
+    this.replicationConfig = replicationConfig;
+    this.metadata = metadata == null ? new HashMap<>() : new HashMap<>(metadata);
+    this.partSize = partSize;
+    this.partRetries = partRetries;
+    this.executor = Objects.requireNonNull(executor, "executor == null");
+    this.uploadPermits = new Semaphore(maxParts);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    checkNotClosed();
+    if (buffer == null) {
+      buffer = allocateBuffer();
+    }
+    buffer[bufferLength++] = (byte) b;
+    if (bufferLength == partSize) {
+      uploadBuffer();
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    checkNotClosed();
+    if (off < 0 || len < 0 || off > b.length - len) {
+      throw new IndexOutOfBoundsException("off = " + off + ", len = " + len
+          + ", b.length = " + b.length);
+    }
+    while (len > 0) {
+      if (buffer == null) {
+        buffer = allocateBuffer();
+      }
+      final int n = Math.min(len, partSize - bufferLength);
+      System.arraycopy(b, off, buffer, bufferLength, n);
+      bufferLength += n;
+      off += n;
+      len -= n;
+      if (bufferLength == partSize) {
+        uploadBuffer();
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      checkFailure();
+      if (uploadID == null) {
+        writeSinglePart();
+        return;
+      }
+      if (bufferLength > 0) {
+        uploadBuffer();
+      }
+      awaitUploads();
+      proxy.completeMultipartUpload(volumeName, bucketName, keyName,
+          uploadID, new TreeMap<>(partETags));
+    } catch (IOException | RuntimeException e) {
+      abort();
+      throw e;
+    } finally {
+      buffer = null;
+      freeBuffers.clear();
+    }
+  }
+
+  public String getUploadID() {
+    return uploadID;
+  }
+
+  private void checkNotClosed() throws IOException {
+    if (closed) {
+      throw new IOException("Stream of key " + keyName + " is closed");
+    }
+    checkFailure();
+  }
+
+  private void checkFailure() throws IOException {
+    final IOException e = failure;
+    if (e != null) {
+      throw new IOException("Failed to upload a part of key " + keyName, e);
+    }
+  }
+
+  private synchronized void setFailure(IOException e) {
+    if (failure == null) {
+      failure = e;
+    }
+  }
+
+  private byte[] allocateBuffer() {
+    final byte[] b = freeBuffers.poll();
+    return b != null ? b : new byte[partSize];
+  }
+
+  /** Writes the data as a regular key, since it fits in one part. */
+  private void writeSinglePart() throws IOException {
+    try (OzoneOutputStream out = proxy.createKey(volumeName, bucketName,
+        keyName, bufferLength, replicationConfig, metadata)) {
+      if (bufferLength > 0) {
+        out.write(buffer, 0, bufferLength);
+      }
+    }
+  }
+
+  /**
+   * Uploads the current buffer as the next part in the background.  If the
+   * part cannot be handed over, the stream is failed, so that closing it
+   * aborts the upload instead of writing the rest as the key.
+   */
+  private void uploadBuffer() throws IOException {
+    try {
+      if (uploadID == null) {
+        uploadID = proxy.initiateMultipartUpload(volumeName, bucketName,
+            keyName, replicationConfig, metadata, Collections.emptyMap())
+            .getUploadID();
+      }
+      uploadPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      final IOException ioe = new InterruptedIOException(
+          "Interrupted waiting to upload a part of key " + keyName);
+      setFailure(ioe);
+      throw ioe;
+    } catch (IOException e) {
+      setFailure(e);
+      throw e;
+    } catch (RuntimeException e) {
+      setFailure(new IOException(e));
+      throw e;
+    }
+    final int partNumber = nextPartNumber++;
+    final byte[] data = buffer;
+    final int length = bufferLength;
+    buffer = null;
+    bufferLength = 0;
+    uploads.add(CompletableFuture.runAsync(() -> {
+      try {
+        if (failure == null) {
+          partETags.put(partNumber, uploadPart(partNumber, data, length));
+        }
+      } catch (IOException e) {
+        setFailure(e);
+      } catch (RuntimeException e) {
+        setFailure(new IOException(e));
+      } finally {
+        freeBuffers.add(data);
+        uploadPermits.release();
+      }
+    }, executor));
+    checkFailure();
+  }
+
+  private String uploadPart(int partNumber, byte[] data, int length)
+      throws IOException {
+    final String eTag = MD5Hash.digest(data, 0, length).toString();
+    for (int attempt = 0;; attempt++) {
+      try {
+        final OzoneOutputStream out = proxy.createMultipartKey(volumeName,
+            bucketName, keyName, length, partNumber, uploadID);
+        try {
+          out.getMetadata().put(OzoneConsts.ETAG, eTag);
+          out.write(data, 0, length);
+        } finally {
+          out.close();
+        }
+        final OmMultipartCommitUploadPartInfo info =
+            out.getCommitUploadPartInfo();
+        return info != null && info.getETag() != null ? info.getETag() : eTag;
+      } catch (IOException e) {
+        // Errors from OM are not resolved by uploading the part again.
+        if (attempt >= partRetries || e instanceof OMException) {
+          throw e;
+        }
+        LOG.warn("Failed to upload part {} of key {} (upload {}), retrying",
+            partNumber, keyName, uploadID, e);
+      }
+    }
+  }
+
+  private void awaitUploads() throws IOException {
+    try {
+      CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0])).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(
+          "Interrupted waiting for the parts of key " + keyName);
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to upload a part of key " + keyName,
+          e.getCause());
+    }
+    checkFailure();
+  }
+
+  private void abort() {
+    if (uploadID == null) {
+      return;
+    }
+    // Parts still being uploaded would be left behind by the abort.
+    CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0]))
+        .handle((r, e) -> null).join();
+    try {
+      proxy.abortMultipartUpload(volumeName, bucketName, keyName, uploadID);
+    } catch (IOException e) {
+      LOG.warn("Failed to abort upload {} of key {}", uploadID, keyName, e);
+    }
+  }
+}
@@ -49,9 +49,11 @@
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
 import org.apache.hadoop.ozone.om.helpers.ErrorInfo;
 import org.apache.hadoop.ozone.om.helpers.LeaseKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
 import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
@@ -371,6 +373,23 @@ OzoneOutputStream createKey(String volumeName, String bucketName,
       Map<String, String> metadata)
       throws IOException;
 
+  /**
+   * Writes a key in an existing bucket, uploading it in parts concurrently.
+   * The data is buffered in memory in parts of
+   * {@code ozone.client.parallel.write.part.size}, which are written as a
+   * multipart upload completed when the stream is closed.  The size of the
+   * key need not be known in advance.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param keyName Name of the Key
+   * @param replicationConfig The replication configuration
+   * @param metadata Custom key value metadata
+   * @return {@link OzoneOutputStream}
+   */
+  OzoneOutputStream createParallelKey(String volumeName, String bucketName,
+      String keyName, ReplicationConfig replicationConfig,
+      Map<String, String> metadata) throws IOException;
+
   /**
    * This API allows to atomically update an existing key. The key read before invoking this API
    * should remain unchanged for this key to be written. This is controlled by the generation
@@ -1568,4 +1587,58 @@ void putBucketTagging(String volumeName, String bucketName,
    * @throws IOException
    */
   void deleteBucketTagging(String volumeName, String bucketName) throws IOException;
+
+  /**
+   * Computes the content summary of a directory or file in a
+   * FILE_SYSTEM_OPTIMIZED bucket in OzoneManager.
+   * @param volumeName Volume name.
+   * @param bucketName Bucket name.
+   * @param keyName Path of the directory or file, empty for the bucket.
+   * @return the complete content summary.
+   * @throws OMException with NOT_SUPPORTED_OPERATION if OzoneManager or the
+   *                     bucket layout does not support it.
+   */
+  OmContentSummary getContentSummary(String volumeName, String bucketName,
+      String keyName) throws IOException;
+
+  /**
+   * Copies the latest version of a key in OzoneManager.  The destination
+   * references the blocks of the source, the data is not copied.
+   * @param volumeName Volume name of both keys.
+   * @param srcBucketName Bucket name of the source key.
+   * @param srcKeyName Name of the source key.
+   * @param dstBucketName Bucket name of the destination key.
+   * @param dstKeyName Name of the destination key.
+   * @param replicationConfig Replication of the destination, null for the
+   *                          default.
+   * @param metadata Metadata of the destination.
+   * @param tags Tags of the destination.
+   * @throws OMException with NOT_SUPPORTED_OPERATION if OzoneManager, the
+   *                     bucket layouts or the source key do not support it.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  void copyKey(String volumeName, String srcBucketName, String srcKeyName,
+      String dstBucketName, String dstKeyName,
+      ReplicationConfig replicationConfig, Map<String, String> metadata,
+      Map<String, String> tags) throws IOException;
+
+  /**
+   * Copies the latest version of a key in OzoneManager as a part of a
+   * multipart upload.  The part references the blocks of the source, the
+   * data is not copied.
+   * @param volumeName Volume name of both keys.
+   * @param srcBucketName Bucket name of the source key.
+   * @param srcKeyName Name of the source key.
+   * @param dstBucketName Bucket name of the multipart upload.
+   * @param dstKeyName Key name of the multipart upload.
+   * @param uploadID ID of the multipart upload.
+   * @param partNumber Number of the part.
+   * @return the name and ETag of the part.
+   * @throws OMException with NOT_SUPPORTED_OPERATION if OzoneManager, the
+   *                     bucket layouts or the source key do not support it.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  OmMultipartCommitUploadPartInfo copyKeyToPart(String volumeName,
+      String srcBucketName, String srcKeyName, String dstBucketName,
+      String dstKeyName, String uploadID, int partNumber) throws IOException;
 }
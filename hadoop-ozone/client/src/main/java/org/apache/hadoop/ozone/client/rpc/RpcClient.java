@@ -85,6 +85,7 @@
 import org.apache.hadoop.hdds.scm.client.ClientTrustManager;
 import org.apache.hadoop.hdds.scm.client.HddsClientUtils;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.storage.BufferLimit;
 import org.apache.hadoop.hdds.scm.storage.ByteBufferStreamOutput;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.hdds.security.x509.certificate.client.CACertificateProvider;
@@ -124,6 +125,7 @@
 import org.apache.hadoop.ozone.client.io.OzoneDataStreamOutput;
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
 import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
+import org.apache.hadoop.ozone.client.io.ParallelKeyOutputStream;
 import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
 import org.apache.hadoop.ozone.om.OmConfig;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
@@ -136,11 +138,13 @@
 import org.apache.hadoop.ozone.om.helpers.LeaseKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteList;
@@ -217,12 +221,14 @@ public class RpcClient implements ClientProtocol {
   private final Cache<URI, KeyProvider> keyProviderCache;
   private final boolean getLatestVersionLocation;
   private final ByteBufferPool byteBufferPool;
+  private final BufferLimit bufferLimit;
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final OzoneManagerVersion omVersion;
   private final MemoizedSupplier<ExecutorService> ecReconstructExecutor;
   private final ContainerClientMetrics.Handle clientMetricsHandle;
   private final ContainerClientMetrics clientMetrics;
   private final MemoizedSupplier<ExecutorService> writeExecutor;
+  private final MemoizedSupplier<ExecutorService> partWriteExecutor;
   private volatile OzoneFsServerDefaults serverDefaults;
   private volatile long serverDefaultsLastUpdate;
   private final long serverDefaultsValidityPeriod;
@@ -248,6 +254,8 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
         "ec-reconstruct-reader-TID-%d"));
     this.writeExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
         WRITE_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-write-TID-%d"));
+    this.partWriteExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        WRITE_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-part-write-TID-%d"));
 
     OmTransport omTransport = createOmTransport(omServiceId);
     OzoneManagerProtocolClientSideTranslatorPB
@@ -327,6 +335,7 @@ public void onRemoval(
         OZONE_CLIENT_ELASTIC_BYTE_BUFFER_POOL_MAX_SIZE_DEFAULT,
         StorageUnit.GB);
     this.byteBufferPool = new BoundedElasticByteBufferPool(maxPoolSize);
+    this.bufferLimit = new BufferLimit(clientConfig.getStreamBufferTotalMaxSize());
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
         .getInstance(byteBufferPool, ecReconstructExecutor);
     this.clientMetricsHandle = ContainerClientMetrics.acquireHandle();
@@ -1410,6 +1419,20 @@ public OzoneOutputStream createKey(
     return openOutputStream(builder.build(), size);
   }
 
+  @Override
+  public OzoneOutputStream createParallelKey(String volumeName,
+      String bucketName, String keyName, ReplicationConfig replicationConfig,
+      Map<String, String> metadata) throws IOException {
+    verifyVolumeName(volumeName);
+    verifyBucketName(bucketName);
+    final ParallelKeyOutputStream out = new ParallelKeyOutputStream(this,
+        volumeName, bucketName, keyName, replicationConfig, metadata,
+        clientConfig.getParallelWritePartSize(),
+        clientConfig.getParallelWriteThreads(),
+        clientConfig.getParallelWritePartRetries(), partWriteExecutor.get());
+    return new OzoneOutputStream(out, null);
+  }
+
   @Override
   public OzoneOutputStream rewriteKey(String volumeName, String bucketName, String keyName,
       long size, long existingKeyGeneration, ReplicationConfig replicationConfig,
@@ -1977,6 +2000,7 @@ public void close() throws IOException {
     IOUtils.cleanupWithLogger(LOG,
         () -> shutdownExecutor(ecReconstructExecutor),
         () -> shutdownExecutor(writeExecutor),
+        () -> shutdownExecutor(partWriteExecutor),
         ozoneManagerClient,
         xceiverClientManager,
         () -> {
@@ -2694,6 +2718,7 @@ private KeyOutputStream.Builder createKeyOutputStream(
         .setConfig(clientConfig)
         .setClientMetrics(clientMetrics)
         .setExecutorServiceSupplier(writeExecutor)
+        .setBufferLimit(bufferLimit)
         .setStreamBufferArgs(streamBufferArgs)
         .setOmVersion(omVersion);
   }
@@ -2959,6 +2984,88 @@ public void deleteBucketTagging(String volumeName, String bucketName)
     ozoneManagerClient.deleteBucketTagging(bucketArgs);
   }
 
+  @Override
+  public OmContentSummary getContentSummary(String volumeName,
+      String bucketName, String keyName) throws IOException {
+    if (omVersion.compareTo(OzoneManagerVersion.CONTENT_SUMMARY) < 0) {
+      throw new OMException("OzoneManager does not support content summary",
+          OMException.ResultCodes.NOT_SUPPORTED_OPERATION);
+    }
+
+    verifyVolumeName(volumeName);
+    verifyBucketName(bucketName);
+    Objects.requireNonNull(keyName, "keyName == null");
+    OmKeyArgs keyArgs = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(keyName)
+        .build();
+    // A large directory is summarized in several calls.
+    OmContentSummary summary = ozoneManagerClient.getContentSummary(keyArgs,
+        Collections.emptyList());
+    while (!summary.isComplete()) {
+      summary = summary.add(ozoneManagerClient.getContentSummary(keyArgs,
+          summary.getCursors()));
+    }
+    return summary;
+  }
+
+  @Override
+  @SuppressWarnings("checkstyle:parameternumber")
+  public void copyKey(String volumeName, String srcBucketName,
+      String srcKeyName, String dstBucketName, String dstKeyName,
+      ReplicationConfig replicationConfig, Map<String, String> metadata,
+      Map<String, String> tags) throws IOException {
+    OmKeyArgs srcArgs = createCopySourceArgs(volumeName, srcBucketName,
+        srcKeyName);
+    OmKeyArgs.Builder dstArgs = createWriteKeyArgsBuilder(volumeName,
+        dstBucketName, dstKeyName, 0, replicationConfig, metadata, tags);
+    dstArgs.setOwnerName(getRealUserInfo().getShortUserName());
+    ozoneManagerClient.copyKey(srcArgs, dstArgs.build());
+  }
+
+  @Override
+  @SuppressWarnings("checkstyle:parameternumber")
+  public OmMultipartCommitUploadPartInfo copyKeyToPart(String volumeName,
+      String srcBucketName, String srcKeyName, String dstBucketName,
+      String dstKeyName, String uploadID, int partNumber) throws IOException {
+    OmKeyArgs srcArgs = createCopySourceArgs(volumeName, srcBucketName,
+        srcKeyName);
+    verifyBucketName(dstBucketName);
+    HddsClientUtils.checkNotNull(dstKeyName, uploadID);
+    if (partNumber <= 0 || partNumber > MAXIMUM_NUMBER_OF_PARTS_PER_UPLOAD) {
+      throw new OMException("Part number must be an integer between 1 and "
+          + MAXIMUM_NUMBER_OF_PARTS_PER_UPLOAD + ", inclusive",
+          OMException.ResultCodes.INVALID_PART);
+    }
+    OmKeyArgs dstArgs = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(dstBucketName)
+        .setKeyName(dstKeyName)
+        .setIsMultipartKey(true)
+        .setMultipartUploadID(uploadID)
+        .setMultipartUploadPartNumber(partNumber)
+        .setOwnerName(getRealUserInfo().getShortUserName())
+        .build();
+    return ozoneManagerClient.copyKeyToPart(srcArgs, dstArgs);
+  }
+
+  private OmKeyArgs createCopySourceArgs(String volumeName, String bucketName,
+      String keyName) throws IOException {
+    if (omVersion.compareTo(OzoneManagerVersion.COPY_KEY) < 0) {
+      throw new OMException("OzoneManager does not support copying keys",
+          OMException.ResultCodes.NOT_SUPPORTED_OPERATION);
+    }
+    verifyVolumeName(volumeName);
+    verifyBucketName(bucketName);
+    HddsClientUtils.checkNotNull(keyName);
+    return new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(keyName)
+        .build();
+  }
+
   private static ExecutorService createThreadPoolExecutor(
        int corePoolSize, int maximumPoolSize, String threadNameFormat) {
     return new ThreadPoolExecutor(corePoolSize, maximumPoolSize,
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.io.MD5Hash;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests for {@link ParallelKeyOutputStream}.
+ */
+public class TestParallelKeyOutputStream {
+
+  private static final String VOLUME = "vol";
+  private static final String BUCKET = "bucket";
+  private static final String KEY = "key";
+  private static final String UPLOAD_ID = "upload";
+  private static final int PART_SIZE = 10;
+  private static final ReplicationConfig REPLICATION =
+      RatisReplicationConfig.getInstance(ReplicationFactor.THREE);
+
+  private final Map<Integer, PartOutputStream> parts =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger failuresToInject = new AtomicInteger();
+  private ClientProtocol proxy;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() throws IOException {
+    executor = Executors.newFixedThreadPool(4);
+    proxy = mock(ClientProtocol.class);
+    when(proxy.initiateMultipartUpload(eq(VOLUME), eq(BUCKET), eq(KEY),
+        any(), anyMap(), anyMap()))
+        .thenReturn(new OmMultipartInfo(VOLUME, BUCKET, KEY, UPLOAD_ID));
+    when(proxy.createMultipartKey(eq(VOLUME), eq(BUCKET), eq(KEY), anyLong(),
+        anyInt(), eq(UPLOAD_ID)))
+        .thenAnswer(invocation -> {
+          final int partNumber = invocation.getArgument(4);
+          final PartOutputStream part = new PartOutputStream(
+              failuresToInject.getAndDecrement() > 0);
+          parts.put(partNumber, part);
+          return new OzoneOutputStream(part, null);
+        });
+  }
+
+  @AfterEach
+  void cleanup() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void uploadsPartsAndCompletes() throws IOException {
+    final byte[] data = newData(PART_SIZE * 2 + 5);
+    try (ParallelKeyOutputStream out = newStream(0)) {
+      out.write(data, 0, 3);
+      out.write(data[3]);
+      out.write(data, 4, data.length - 4);
+    }
+
+    assertEquals(3, parts.size());
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    final Map<Integer, String> expectedETags = new HashMap<>();
+    for (int i = 1; i <= 3; i++) {
+      final byte[] part = parts.get(i).toByteArray();
+      written.write(part);
+      expectedETags.put(i, MD5Hash.digest(part).toString());
+      assertEquals(expectedETags.get(i),
+          parts.get(i).getMetadata().get(OzoneConsts.ETAG));
+    }
+    assertArrayEquals(data, written.toByteArray());
+    verify(proxy).completeMultipartUpload(VOLUME, BUCKET, KEY, UPLOAD_ID,
+        expectedETags);
+    verify(proxy, never()).abortMultipartUpload(anyString(), anyString(),
+        anyString(), anyString());
+  }
+
+  @Test
+  void smallKeyIsWrittenAsSingleKey() throws IOException {
+    final PartOutputStream key = new PartOutputStream(false);
+    when(proxy.createKey(eq(VOLUME), eq(BUCKET), eq(KEY), anyLong(),
+        eq(REPLICATION), anyMap()))
+        .thenReturn(new OzoneOutputStream(key, null));
+    final byte[] data = newData(PART_SIZE - 1);
+    try (ParallelKeyOutputStream out = newStream(0)) {
+      out.write(data);
+    }
+
+    assertArrayEquals(data, key.toByteArray());
+    verify(proxy, never()).initiateMultipartUpload(anyString(), anyString(),
+        anyString(), any(), anyMap(), anyMap());
+  }
+
+  @Test
+  void failedPartIsUploadedAgain() throws IOException {
+    failuresToInject.set(1);
+    final byte[] data = newData(PART_SIZE * 2);
+    try (ParallelKeyOutputStream out = newStream(1)) {
+      out.write(data);
+    }
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<Map<Integer, String>> partsMap =
+        ArgumentCaptor.forClass(Map.class);
+    verify(proxy).completeMultipartUpload(eq(VOLUME), eq(BUCKET), eq(KEY),
+        eq(UPLOAD_ID), partsMap.capture());
+    assertThat(partsMap.getValue()).containsOnlyKeys(1, 2);
+  }
+
+  @Test
+  void uploadIsAbortedWhenPartFails() throws IOException {
+    failuresToInject.set(1);
+    final byte[] data = newData(PART_SIZE * 2);
+
+    assertThrows(IOException.class, () -> {
+      try (ParallelKeyOutputStream out = newStream(0)) {
+        out.write(data);
+      }
+    });
+    verify(proxy).abortMultipartUpload(VOLUME, BUCKET, KEY, UPLOAD_ID);
+  }
+
+  @Test
+  void keyIsNotWrittenWhenInitiateFails() throws IOException {
+    when(proxy.initiateMultipartUpload(eq(VOLUME), eq(BUCKET), eq(KEY),
+        any(), anyMap(), anyMap()))
+        .thenThrow(new IOException("Injected failure"));
+    final byte[] data = newData(PART_SIZE + 1);
+
+    final ParallelKeyOutputStream out = newStream(0);
+    assertThrows(IOException.class, () -> out.write(data));
+    assertThrows(IOException.class, out::close);
+    verify(proxy, never()).createKey(anyString(), anyString(), anyString(),
+        anyLong(), any(), anyMap());
+  }
+
+  private ParallelKeyOutputStream newStream(int partRetries) {
+    return new ParallelKeyOutputStream(proxy, VOLUME, BUCKET, KEY,
+        REPLICATION, Collections.emptyMap(), PART_SIZE, 2, partRetries,
+        executor);
+  }
+
+  private static byte[] newData(int length) {
+    final StringBuilder b = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      b.append((char) ('a' + i % 26));
+    }
+    return b.toString().getBytes(UTF_8);
+  }
+
+  /** Records the data of a part, or fails when it is closed. */
+  private static final class PartOutputStream extends ByteArrayOutputStream
+      implements KeyMetadataAware {
+    private final Map<String, String> metadata = new HashMap<>();
+    private final boolean fail;
+
+    PartOutputStream(boolean fail) {
+      this.fail = fail;
+    }
+
+    @Override
+    public Map<String, String> getMetadata() {
+      return metadata;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (fail) {
+        throw new IOException("Injected failure");
+      }
+    }
+  }
+}
@@ -260,6 +260,7 @@ public static boolean isReadOnly(OMRequest omRequest) {
     case GetSnapshotInfo:
     case GetObjectTagging:
     case GetBucketTagging:
+    case GetContentSummary:
       return true;
     case GetQuotaRepairStatus:
     case StartQuotaRepair:
@@ -326,6 +327,7 @@ public static boolean isReadOnly(OMRequest omRequest) {
     case DeleteObjectTagging:
     case PutBucketTagging:
     case DeleteBucketTagging:
+    case CopyKey:
       return false;
     case UnknownCommand:
       return false;
@@ -381,6 +383,7 @@ public static boolean shouldSendToFollower(OMRequest omRequest) {
     case GetKeyInfo:
     case GetSnapshotInfo:
     case GetObjectTagging:
+    case GetContentSummary:
       return true;
     case GetBucketTagging:
       return true;
@@ -446,6 +449,7 @@ public static boolean shouldSendToFollower(OMRequest omRequest) {
     case DeleteObjectTagging:
     case PutBucketTagging:
     case DeleteBucketTagging:
+    case CopyKey:
     case ServiceList: // OM leader should have the most up-to-date OM service list info
     case RangerBGSync: // Ranger Background Sync task is only run on leader
     case SnapshotDiff:
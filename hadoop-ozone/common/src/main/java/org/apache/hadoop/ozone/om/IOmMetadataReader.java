@@ -26,10 +26,12 @@
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatusLight;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
 import org.apache.hadoop.ozone.security.acl.OzoneObj;
 
 /**
@@ -181,4 +183,16 @@ ListKeysLightResult listKeysLight(String volumeName, String bucketName,
    * @return Tags associated with the bucket.
    */
   Map<String, String> getBucketTagging(OmBucketArgs args) throws IOException;
+
+  /**
+   * Computes the content summary of a directory of an FSO bucket, or of a
+   * file.  A large directory is summarized in several calls, see
+   * {@link OmContentSummary}.
+   * @param args the key args of the directory or file
+   * @param cursors the cursors returned by the previous call, empty for the
+   *                first call
+   * @return the summary of the part walked in this call.
+   */
+  OmContentSummary getContentSummary(OmKeyArgs args,
+      List<ContentSummaryCursor> cursors) throws IOException;
 }
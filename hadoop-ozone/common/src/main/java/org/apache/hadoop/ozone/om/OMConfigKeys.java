@@ -308,6 +308,15 @@ public final class OMConfigKeys {
       "ozone.om.fs.snapshot.max.limit";
   public static final int OZONE_OM_FS_SNAPSHOT_MAX_LIMIT_DEFAULT = 10000;
 
+  public static final String OZONE_OM_CONTENT_SUMMARY_THREADS =
+      "ozone.om.content.summary.threads";
+  public static final int OZONE_OM_CONTENT_SUMMARY_THREADS_DEFAULT = 8;
+
+  public static final String OZONE_OM_CONTENT_SUMMARY_MAX_ENTRIES =
+      "ozone.om.content.summary.max.entries";
+  public static final int OZONE_OM_CONTENT_SUMMARY_MAX_ENTRIES_DEFAULT =
+      100_000;
+
   public static final String OZONE_OM_KERBEROS_KEYTAB_FILE_KEY = "ozone.om."
       + "kerberos.keytab.file";
   public static final String OZONE_OM_KERBEROS_PRINCIPAL_KEY = "ozone.om"
@@ -410,6 +419,26 @@ public final class OMConfigKeys {
   // default is 20000 taking account of 32MB buffer size
   public static final int OZONE_PATH_DELETING_LIMIT_PER_TASK_DEFAULT = 20000;
 
+  /**
+   * Configuration properties for adaptive scheduling of the
+   * Key and Directory Deleting Services.
+   */
+  public static final String OZONE_OM_DELETION_ADAPTIVE_ENABLED =
+      "ozone.om.deletion.adaptive.enabled";
+  public static final boolean OZONE_OM_DELETION_ADAPTIVE_ENABLED_DEFAULT = false;
+  public static final String OZONE_OM_DELETION_ADAPTIVE_MAX_MULTIPLIER =
+      "ozone.om.deletion.adaptive.max.multiplier";
+  public static final int OZONE_OM_DELETION_ADAPTIVE_MAX_MULTIPLIER_DEFAULT = 4;
+  public static final String OZONE_OM_DELETION_ADAPTIVE_RATIS_PENDING_THRESHOLD =
+      "ozone.om.deletion.adaptive.ratis.pending.threshold";
+  public static final long OZONE_OM_DELETION_ADAPTIVE_RATIS_PENDING_THRESHOLD_DEFAULT = 1000;
+  public static final String OZONE_OM_DELETION_ADAPTIVE_DOUBLE_BUFFER_THRESHOLD =
+      "ozone.om.deletion.adaptive.double.buffer.threshold";
+  public static final long OZONE_OM_DELETION_ADAPTIVE_DOUBLE_BUFFER_THRESHOLD_DEFAULT = 5000;
+  public static final String OZONE_OM_DELETION_ADAPTIVE_TARGET_LATENCY =
+      "ozone.om.deletion.adaptive.target.latency";
+  public static final String OZONE_OM_DELETION_ADAPTIVE_TARGET_LATENCY_DEFAULT = "500ms";
+
   /**
    * Configuration properties for Snapshot Directory Service.
    */
@@ -611,6 +640,11 @@ public final class OMConfigKeys {
   public static final int OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT
       = 10;
 
+  public static final String OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS
+      = "ozone.om.snapshot.diff.delta.shards";
+  public static final int OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS_DEFAULT
+      = 4;
+
   public static final String OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME
       = "ozone.om.snapshot.diff.job.default.wait.time";
   public static final long OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME_DEFAULT
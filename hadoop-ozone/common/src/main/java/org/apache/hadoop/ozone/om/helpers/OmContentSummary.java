@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.helpers;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetContentSummaryResponse;
+
+/**
+ * Encapsulates the result of getContentSummary: the length, space consumed,
+ * file count and directory count of a directory subtree.
+ * <p>
+ * A large subtree is summarized in several calls. The result of each call
+ * covers only the part walked in that call, and has the cursors of the
+ * directories left to walk, which are passed to the next call.
+ */
+public class OmContentSummary {
+  private final long length;
+  private final long spaceConsumed;
+  private final long fileCount;
+  private final long directoryCount;
+  private final List<ContentSummaryCursor> cursors;
+
+  public OmContentSummary(long length, long spaceConsumed, long fileCount,
+      long directoryCount, List<ContentSummaryCursor> cursors) {
+    this.length = length;
+    this.spaceConsumed = spaceConsumed;
+    this.fileCount = fileCount;
+    this.directoryCount = directoryCount;
+    this.cursors = cursors == null ? Collections.emptyList() : cursors;
+  }
+
+  public long getLength() {
+    return length;
+  }
+
+  public long getSpaceConsumed() {
+    return spaceConsumed;
+  }
+
+  public long getFileCount() {
+    return fileCount;
+  }
+
+  public long getDirectoryCount() {
+    return directoryCount;
+  }
+
+  /**
+   * @return the cursors to continue the walk from, empty if the walk is
+   * complete.
+   */
+  public List<ContentSummaryCursor> getCursors() {
+    return cursors;
+  }
+
+  public boolean isComplete() {
+    return cursors.isEmpty();
+  }
+
+  /**
+   * @return the sum of this and the next part of the summary, with the
+   * cursors of the next part.
+   */
+  public OmContentSummary add(OmContentSummary next) {
+    return new OmContentSummary(length + next.length,
+        spaceConsumed + next.spaceConsumed,
+        fileCount + next.fileCount,
+        directoryCount + next.directoryCount,
+        next.cursors);
+  }
+
+  public GetContentSummaryResponse getProtobuf() {
+    return GetContentSummaryResponse.newBuilder()
+        .setLength(length)
+        .setSpaceConsumed(spaceConsumed)
+        .setFileCount(fileCount)
+        .setDirectoryCount(directoryCount)
+        .addAllCursors(cursors)
+        .build();
+  }
+
+  public static OmContentSummary getFromProtobuf(
+      GetContentSummaryResponse response) {
+    return new OmContentSummary(response.getLength(),
+        response.getSpaceConsumed(), response.getFileCount(),
+        response.getDirectoryCount(), response.getCursorsList());
+  }
+
+  @Override
+  public String toString() {
+    return "OmContentSummary{length=" + length
+        + ", spaceConsumed=" + spaceConsumed
+        + ", fileCount=" + fileCount
+        + ", directoryCount=" + directoryCount
+        + ", cursors=" + cursors.size() + '}';
+  }
+}
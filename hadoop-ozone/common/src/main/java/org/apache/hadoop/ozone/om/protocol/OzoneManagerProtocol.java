@@ -37,6 +37,7 @@
 import org.apache.hadoop.ozone.om.helpers.ListOpenFilesResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -63,6 +64,7 @@
 import org.apache.hadoop.ozone.om.helpers.TenantUserList;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CancelPrepareResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OzoneAclInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PrepareStatusResponse;
@@ -332,6 +334,32 @@ default void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
         "this to be implemented, as write requests use a new approach.");
   }
 
+  /**
+   * Copies the latest version of a key by referencing its blocks.
+   * @param srcArgs the args of the source key.
+   * @param dstArgs the args of the destination key.
+   * @throws IOException
+   */
+  default void copyKey(OmKeyArgs srcArgs, OmKeyArgs dstArgs)
+      throws IOException {
+    throw new UnsupportedOperationException("OzoneManager does not require " +
+        "this to be implemented, as write requests use a new approach.");
+  }
+
+  /**
+   * Copies the latest version of a key as a part of a multipart upload by
+   * referencing its blocks.
+   * @param srcArgs the args of the source key.
+   * @param dstArgs the args of the multipart upload part.
+   * @return OmMultipartCommitUploadPartInfo
+   * @throws IOException
+   */
+  default OmMultipartCommitUploadPartInfo copyKeyToPart(OmKeyArgs srcArgs,
+      OmKeyArgs dstArgs) throws IOException {
+    throw new UnsupportedOperationException("OzoneManager does not require " +
+        "this to be implemented, as write requests use a new approach.");
+  }
+
   /**
    * Rename existing keys within a bucket.
    * @param omRenameKeys Includes volume, bucket, and fromKey toKey name map
@@ -1221,6 +1249,18 @@ default void deleteObjectTagging(OmKeyArgs args) throws IOException {
   @Override
   Map<String, String> getBucketTagging(OmBucketArgs args) throws IOException;
 
+  /**
+   * Computes the content summary of a directory of an FSO bucket, or of a
+   * file.
+   * @param args Key args
+   * @param cursors the cursors returned by the previous call, empty for the
+   *                first call
+   * @return the summary of the part walked in this call.
+   */
+  @Override
+  OmContentSummary getContentSummary(OmKeyArgs args,
+      List<ContentSummaryCursor> cursors) throws IOException;
+
   /**
    * Sets tags on an existing bucket (replaces existing tag set).
    * @param args Bucket args
@@ -69,6 +69,7 @@
 import org.apache.hadoop.ozone.om.helpers.ListOpenFilesResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -108,6 +109,9 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CancelPrepareResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CheckVolumeAccessRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateDirectoryRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateFileRequest;
@@ -139,6 +143,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetAclResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetBucketTaggingRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetBucketTaggingResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetContentSummaryRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetContentSummaryResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetDelegationTokenResponseProto;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
@@ -949,6 +955,85 @@ public void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
     handleError(submitRequest(omRequest));
   }
 
+  @Override
+  public void copyKey(OmKeyArgs srcArgs, OmKeyArgs dstArgs)
+      throws IOException {
+    KeyArgs.Builder dstKeyArgs = KeyArgs.newBuilder()
+        .setVolumeName(dstArgs.getVolumeName())
+        .setBucketName(dstArgs.getBucketName())
+        .setKeyName(dstArgs.getKeyName());
+
+    if (dstArgs.getOwner() != null) {
+      dstKeyArgs.setOwnerName(dstArgs.getOwner());
+    }
+
+    if (dstArgs.getAcls() != null) {
+      dstKeyArgs.addAllAcls(dstArgs.getAcls().stream().distinct()
+          .map(OzoneAcl::toProtobuf).collect(Collectors.toList()));
+    }
+
+    if (dstArgs.getReplicationConfig() != null) {
+      if (dstArgs.getReplicationConfig() instanceof ECReplicationConfig) {
+        dstKeyArgs.setEcReplicationConfig(
+            ((ECReplicationConfig) dstArgs.getReplicationConfig()).toProto());
+      } else {
+        dstKeyArgs.setFactor(
+            ReplicationConfig.getLegacyFactor(dstArgs.getReplicationConfig()));
+      }
+      dstKeyArgs.setType(dstArgs.getReplicationConfig().getReplicationType());
+    }
+
+    if (dstArgs.getMetadata() != null && !dstArgs.getMetadata().isEmpty()) {
+      dstKeyArgs.addAllMetadata(KeyValueUtil.toProtobuf(dstArgs.getMetadata()));
+    }
+
+    if (dstArgs.getTags() != null && !dstArgs.getTags().isEmpty()) {
+      dstKeyArgs.addAllTags(KeyValueUtil.toProtobuf(dstArgs.getTags()));
+    }
+
+    submitCopyKey(srcArgs, dstKeyArgs.build());
+  }
+
+  @Override
+  public OmMultipartCommitUploadPartInfo copyKeyToPart(OmKeyArgs srcArgs,
+      OmKeyArgs dstArgs) throws IOException {
+    KeyArgs.Builder dstKeyArgs = KeyArgs.newBuilder()
+        .setVolumeName(dstArgs.getVolumeName())
+        .setBucketName(dstArgs.getBucketName())
+        .setKeyName(dstArgs.getKeyName())
+        .setIsMultipartKey(true)
+        .setMultipartUploadID(dstArgs.getMultipartUploadID())
+        .setMultipartNumber(dstArgs.getMultipartUploadPartNumber());
+
+    if (dstArgs.getOwner() != null) {
+      dstKeyArgs.setOwnerName(dstArgs.getOwner());
+    }
+
+    CopyKeyResponse resp = submitCopyKey(srcArgs, dstKeyArgs.build());
+    return new OmMultipartCommitUploadPartInfo(resp.getPartName(),
+        resp.getETag());
+  }
+
+  private CopyKeyResponse submitCopyKey(OmKeyArgs srcArgs, KeyArgs dstKeyArgs)
+      throws IOException {
+    KeyArgs srcKeyArgs = KeyArgs.newBuilder()
+        .setVolumeName(srcArgs.getVolumeName())
+        .setBucketName(srcArgs.getBucketName())
+        .setKeyName(srcArgs.getKeyName())
+        .build();
+
+    CopyKeyRequest req = CopyKeyRequest.newBuilder()
+        .setSrcKeyArgs(srcKeyArgs)
+        .setDstKeyArgs(dstKeyArgs)
+        .build();
+
+    OMRequest omRequest = createOMRequest(Type.CopyKey)
+        .setCopyKeyRequest(req)
+        .build();
+
+    return handleError(submitRequest(omRequest)).getCopyKeyResponse();
+  }
+
   /**
    * Deletes an existing key.
    *
@@ -2782,6 +2867,31 @@ public Map<String, String> getBucketTagging(OmBucketArgs args) throws IOExceptio
     return KeyValueUtil.getFromProtobuf(resp.getTagsList());
   }
 
+  @Override
+  public OmContentSummary getContentSummary(OmKeyArgs args,
+      List<ContentSummaryCursor> cursors) throws IOException {
+    KeyArgs keyArgs = KeyArgs.newBuilder()
+        .setVolumeName(args.getVolumeName())
+        .setBucketName(args.getBucketName())
+        .setKeyName(args.getKeyName())
+        .build();
+
+    GetContentSummaryRequest req =
+        GetContentSummaryRequest.newBuilder()
+            .setKeyArgs(keyArgs)
+            .addAllCursors(cursors)
+            .build();
+
+    OMRequest omRequest = createOMRequest(Type.GetContentSummary)
+        .setGetContentSummaryRequest(req)
+        .build();
+
+    GetContentSummaryResponse resp =
+        handleError(submitRequest(omRequest)).getGetContentSummaryResponse();
+
+    return OmContentSummary.getFromProtobuf(resp);
+  }
+
   @Override
   public void putBucketTagging(OmBucketArgs args) throws IOException {
     BucketArgs bucketArgs = BucketArgs.newBuilder()
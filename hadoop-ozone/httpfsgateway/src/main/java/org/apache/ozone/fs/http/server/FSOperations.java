@@ -17,10 +17,15 @@
 
 package org.apache.ozone.fs.http.server;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -29,6 +34,7 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockStoragePolicySpi;
 import org.apache.hadoop.fs.ContentSummary;
@@ -41,6 +47,7 @@
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.PathFilter;
 import org.apache.hadoop.fs.QuotaUsage;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.StorageType;
 import org.apache.hadoop.fs.XAttrCodec;
 import org.apache.hadoop.fs.XAttrSetFlag;
@@ -57,7 +64,9 @@
 import org.apache.hadoop.hdfs.protocol.HdfsFileStatus;
 import org.apache.hadoop.hdfs.protocol.SnapshotDiffReport;
 import org.apache.hadoop.hdfs.protocol.SnapshottableDirectoryStatus;
+import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.util.StringUtils;
+import org.apache.hadoop.util.Time;
 import org.apache.ozone.fs.http.HttpFSConstants;
 import org.apache.ozone.fs.http.HttpFSConstants.FILETYPE;
 import org.apache.ozone.lib.service.FileSystemAccess;
@@ -68,9 +77,12 @@
 @InterfaceAudience.Private
 public final class FSOperations {
 
-  private static int bufferSize = 4096;
+  private static int bufferSize = 64 * 1024;
   private static final String HTTPFS_BUFFER_SIZE_KEY = "httpfs.buffer.size";
-  private static final int HTTP_BUFFER_SIZE_DEFAULT = 4096;
+  private static final int HTTP_BUFFER_SIZE_DEFAULT = 64 * 1024;
+  private static final String ENTER = System.getProperty("line.separator");
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
   private FSOperations() {
     // not called
@@ -448,7 +460,10 @@ public FSAppend(InputStream is, String path) {
     @Override
     public Void execute(FileSystem fs) throws IOException {
       OutputStream os = fs.append(path, bufferSize);
+      long startTime = Time.monotonicNow();
       long bytes = copyBytes(is, os);
+      HttpFSServerWebApp.get().getMetrics()
+          .addWriteTime(Time.monotonicNow() - startTime);
       HttpFSServerWebApp.get().getMetrics().incrBytesWritten(bytes);
       HttpFSServerWebApp.get().getMetrics().incrOpsAppend();
       return null;
@@ -661,7 +676,10 @@ public Void execute(FileSystem fs) throws IOException {
           replication,
           blockSize,
           null);
+      long startTime = Time.monotonicNow();
       long bytes = copyBytes(is, os);
+      HttpFSServerWebApp.get().getMetrics()
+          .addWriteTime(Time.monotonicNow() - startTime);
       HttpFSServerWebApp.get().getMetrics().incrBytesWritten(bytes);
       HttpFSServerWebApp.get().getMetrics().incrOpsCreate();
       return null;
@@ -688,7 +706,7 @@ public static long copyBytes(InputStream in, OutputStream out, long count)
       throws IOException {
     long totalBytes = 0;
 
-    // If bufferSize is not initialized use 4k. This will not happen
+    // If bufferSize is not initialized use 64k. This will not happen
     // if all callers check and set it.
     byte[] buf = new byte[bufferSize];
     long bytesRemaining = count;
@@ -860,10 +878,15 @@ public Map execute(FileSystem fs) throws IOException {
   /**
    * Executor that performs a list-status FileSystemAccess files system
    * operation.
+   * <p>
+   * The listing is written to the response while the directory is iterated,
+   * so large directories are not held in memory.  The filesystem must stay
+   * open until the response is written.
    */
   @InterfaceAudience.Private
   public static class FSListStatus
-      implements FileSystemAccess.FileSystemExecutor<Map>, PathFilter {
+      implements FileSystemAccess.FileSystemExecutor<StreamingOutput>,
+      PathFilter {
     private Path path;
     private PathFilter filter;
 
@@ -881,21 +904,55 @@ public FSListStatus(String path, String filter) throws IOException {
     }
 
     /**
-     * Returns data for a JSON Map containing the information for
-     * the set of files in 'path' that match 'filter'.
+     * Returns the JSON output of the file status of the files in 'path'
+     * that match 'filter'.
      *
      * @param fs filesystem instance to use.
      *
-     * @return a Map with the file status of the directory
+     * @return the output writing the file status of the directory
      *         contents that match the filter
      *
      * @throws IOException thrown if an IO error occurred.
      */
     @Override
-    public Map execute(FileSystem fs) throws IOException {
-      FileStatus[] fileStatuses = fs.listStatus(path, filter);
+    public StreamingOutput execute(FileSystem fs) throws IOException {
+      // Fails before the response is committed if the path does not exist.
+      final boolean isFile = fs.getFileStatus(path).isFile();
+      final RemoteIterator<FileStatus> statuses = fs.listStatusIterator(path);
+      final UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
       HttpFSServerWebApp.get().getMetrics().incrOpsListing();
-      return toJson(fileStatuses, fs.getFileStatus(path).isFile());
+      return os -> {
+        try {
+          ugi.doAs((PrivilegedExceptionAction<Void>) () -> {
+            writeJson(statuses, isFile, os);
+            return null;
+          });
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Listing of " + path
+              + " interrupted");
+        }
+      };
+    }
+
+    private void writeJson(RemoteIterator<FileStatus> statuses,
+        boolean isFile, OutputStream os) throws IOException {
+      JsonGenerator json = MAPPER.getFactory().createGenerator(os);
+      json.writeStartObject();
+      json.writeObjectFieldStart(HttpFSConstants.FILE_STATUSES_JSON);
+      json.writeArrayFieldStart(HttpFSConstants.FILE_STATUS_JSON);
+      while (statuses.hasNext()) {
+        FileStatus status = statuses.next();
+        if (filter.accept(status.getPath())) {
+          json.writeObject(toJsonInner(status, isFile));
+        }
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+      json.writeEndObject();
+      json.flush();
+      os.write(ENTER.getBytes(StandardCharsets.UTF_8));
+      os.flush();
     }
 
     @Override
@@ -940,6 +997,7 @@ public Map execute(FileSystem fs) throws IOException {
       WrappedFileSystem wrappedFS = new WrappedFileSystem(fs);
       FileSystem.DirectoryEntries entries =
           wrappedFS.listStatusBatch(path, token);
+      HttpFSServerWebApp.get().getMetrics().incrOpsListing();
       return toJson(entries, wrappedFS.getFileStatus(path).isFile());
     }
   }
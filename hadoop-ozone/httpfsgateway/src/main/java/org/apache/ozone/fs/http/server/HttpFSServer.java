@@ -20,6 +20,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.security.AccessControlException;
 import java.security.PrivilegedExceptionAction;
 import java.text.MessageFormat;
@@ -39,6 +40,7 @@
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 import org.apache.hadoop.conf.Configuration;
@@ -50,6 +52,7 @@
 import org.apache.hadoop.http.JettyUtils;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.security.token.delegation.web.HttpUserGroupInformation;
+import org.apache.hadoop.util.Time;
 import org.apache.ozone.fs.http.HttpFSConstants;
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.AclPermissionParam;
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.BlockSizeParam;
@@ -71,11 +74,13 @@
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.ReplicationParam;
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.SnapshotNameParam;
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.SourcesParam;
+import org.apache.ozone.fs.http.server.HttpFSParametersProvider.StartAfterParam;
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.UnmaskedPermissionParam;
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.XAttrEncodingParam;
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.XAttrNameParam;
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.XAttrSetFlagParam;
 import org.apache.ozone.fs.http.server.HttpFSParametersProvider.XAttrValueParam;
+import org.apache.ozone.fs.http.server.metrics.HttpFSServerMetrics;
 import org.apache.ozone.lib.service.FileSystemAccess;
 import org.apache.ozone.lib.service.FileSystemAccessException;
 import org.apache.ozone.lib.service.Groups;
@@ -178,6 +183,14 @@ private FileSystem createFileSystem(UserGroupInformation ugi)
     return fs;
   }
 
+  private static void updateOpLatency(HttpFSConstants.Operation op,
+      long startTime) {
+    HttpFSServerMetrics metrics = HttpFSServerWebApp.get().getMetrics();
+    if (metrics != null) {
+      metrics.addOpLatency(op, Time.monotonicNow() - startTime);
+    }
+  }
+
   private void enforceRootPath(HttpFSConstants.Operation op, String path) {
     if (!path.equals("/")) {
       throw new UnsupportedOperationException(
@@ -250,6 +263,7 @@ public Response get(@PathParam("path") String path,
     path = makeAbsolute(path);
     MDC.put(HttpFSConstants.OP_PARAM, op.value().name());
     MDC.put("hostname", request.getRemoteAddr());
+    final long startTime = Time.monotonicNow();
     switch (op.value()) {
     case OPEN:
       response = handleOpen(path, uriInfo, params, user);
@@ -292,10 +306,8 @@ public Response get(@PathParam("path") String path,
       response = handleListXAttrs(path, user);
       break;
     case LISTSTATUS_BATCH:
-      throw new UnsupportedOperationException(getClass().getSimpleName()
-          + " doesn't support LISTSTATUS_BATCH");
-      //response = handleListStatusBatch(path, params, user);
-      //break;
+      response = handleListStatusBatch(path, params, user);
+      break;
     case GETTRASHROOT:
       throw new UnsupportedOperationException(getClass().getSimpleName()
           + " doesn't support GETTRASHROOT");
@@ -326,6 +338,7 @@ public Response get(@PathParam("path") String path,
       throw new IOException(
           MessageFormat.format("Invalid HTTP GET operation [{0}]", op.value()));
     }
+    updateOpLatency(op.value(), startTime);
     return response;
   }
 
@@ -504,10 +517,43 @@ private Response handleListStatus(String path,
       throws IOException, FileSystemAccessException {
     Response response;
     String filter = params.get(FilterParam.NAME, FilterParam.class);
-    FSOperations.FSListStatus command =
+    //Invoking the command directly using an unmanaged FileSystem that is
+    // released by the FileSystemReleaseFilter, as the listing is streamed
+    // after this method returns.
+    final FSOperations.FSListStatus command =
         new FSOperations.FSListStatus(path, filter);
-    Map json = fsExecute(user, command);
+    final FileSystem fs = createFileSystem(user);
+    UserGroupInformation ugi = UserGroupInformation
+        .createProxyUser(user.getShortUserName(),
+            UserGroupInformation.getLoginUser());
+    StreamingOutput entity;
+    try {
+      entity = ugi.doAs((PrivilegedExceptionAction<StreamingOutput>)
+          () -> command.execute(fs));
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new IOException("List status interrupted", ie);
+    }
     AUDIT_LOG.info("[{}] filter [{}]", path, (filter != null) ? filter : "-");
+    response = Response.ok(entity).type(MediaType.APPLICATION_JSON).build();
+    return response;
+  }
+
+  private Response handleListStatusBatch(String path,
+                                         Parameters params,
+                                         UserGroupInformation user)
+      throws IOException, FileSystemAccessException {
+    Response response;
+    String startAfter = params.get(StartAfterParam.NAME, StartAfterParam.class);
+    byte[] token = HttpFSConstants.EMPTY_BYTES;
+    if (startAfter != null) {
+      token = startAfter.getBytes(StandardCharsets.UTF_8);
+    }
+    FSOperations.FSListStatusBatch command =
+        new FSOperations.FSListStatusBatch(path, token);
+    Map json = fsExecute(user, command);
+    AUDIT_LOG.info("[{}] startAfter [{}]", path,
+        (startAfter != null) ? startAfter : "-");
     response = Response.ok(json).type(MediaType.APPLICATION_JSON).build();
     return response;
   }
@@ -608,6 +654,7 @@ public Response delete(@PathParam("path") String path,
     path = makeAbsolute(path);
     MDC.put(HttpFSConstants.OP_PARAM, op.value().name());
     MDC.put("hostname", request.getRemoteAddr());
+    final long startTime = Time.monotonicNow();
     switch (op.value()) {
     case DELETE:
       response = handleDelete(path, params, user);
@@ -620,6 +667,7 @@ public Response delete(@PathParam("path") String path,
         MessageFormat.format("Invalid HTTP DELETE operation [{0}]",
                              op.value()));
     }
+    updateOpLatency(op.value(), startTime);
     return response;
   }
 
@@ -712,6 +760,7 @@ public Response post(InputStream is,
     path = makeAbsolute(path);
     MDC.put(HttpFSConstants.OP_PARAM, op.value().name());
     MDC.put("hostname", request.getRemoteAddr());
+    final long startTime = Time.monotonicNow();
     switch (op.value()) {
     case APPEND:
       response = handleAppend(is, uriInfo, path, params, user);
@@ -733,6 +782,7 @@ public Response post(InputStream is,
         MessageFormat.format("Invalid HTTP POST operation [{0}]",
                              op.value()));
     }
+    updateOpLatency(op.value(), startTime);
     return response;
   }
 
@@ -892,6 +942,7 @@ public Response put(InputStream is,
     path = makeAbsolute(path);
     MDC.put(HttpFSConstants.OP_PARAM, op.value().name());
     MDC.put("hostname", request.getRemoteAddr());
+    final long startTime = Time.monotonicNow();
     switch (op.value()) {
     case CREATE:
       response = handleCreate(is, uriInfo, path, params, user);
@@ -969,6 +1020,7 @@ public Response put(InputStream is,
         MessageFormat.format("Invalid HTTP PUT operation [{0}]",
                              op.value()));
     }
+    updateOpLatency(op.value(), startTime);
     return response;
   }
 
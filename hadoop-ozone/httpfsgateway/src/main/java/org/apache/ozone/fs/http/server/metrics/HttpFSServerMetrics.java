@@ -20,6 +20,8 @@
 import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_METRICS_SESSION_ID_KEY;
 import static org.apache.hadoop.metrics2.impl.MsInfo.SessionId;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
@@ -29,7 +31,9 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.metrics2.source.JvmMetrics;
+import org.apache.ozone.fs.http.HttpFSConstants;
 
 /**
  *
@@ -64,7 +68,13 @@ public class HttpFSServerMetrics {
   private @Metric MutableCounterLong opsStat;
   private @Metric MutableCounterLong opsCheckAccess;
 
+  // Time spent streaming data, to compute the throughput with the bytes.
+  private @Metric MutableRate readTimeMs;
+  private @Metric MutableRate writeTimeMs;
+
   private final MetricsRegistry registry = new MetricsRegistry("httpfsserver");
+  private final Map<HttpFSConstants.Operation, MutableRate> opsLatencyMs =
+      new EnumMap<>(HttpFSConstants.Operation.class);
   private final String name;
   private JvmMetrics jvmMetrics = null;
 
@@ -73,6 +83,9 @@ public HttpFSServerMetrics(String name, String sessionId,
     this.name = name;
     this.jvmMetrics = jvmMetrics;
     registry.tag(SessionId, sessionId);
+    for (HttpFSConstants.Operation op : HttpFSConstants.Operation.values()) {
+      opsLatencyMs.put(op, registry.newRate(op + "Ms", op + " op"));
+    }
   }
 
   public static HttpFSServerMetrics create(Configuration conf,
@@ -144,6 +157,22 @@ public void incrOpsCheckAccess() {
     opsCheckAccess.incr();
   }
 
+  /**
+   * Records the time an operation took until its response was ready,
+   * which for OPEN and LISTSTATUS is before the response is streamed.
+   */
+  public void addOpLatency(HttpFSConstants.Operation op, long latencyMs) {
+    opsLatencyMs.get(op).add(latencyMs);
+  }
+
+  public void addReadTime(long timeMs) {
+    readTimeMs.add(timeMs);
+  }
+
+  public void addWriteTime(long timeMs) {
+    writeTimeMs.add(timeMs);
+  }
+
   public void shutdown() {
     DefaultMetricsSystem.shutdown();
   }
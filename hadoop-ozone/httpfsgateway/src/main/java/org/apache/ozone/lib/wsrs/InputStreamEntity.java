@@ -23,6 +23,7 @@
 import javax.ws.rs.core.StreamingOutput;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.util.Time;
 import org.apache.ozone.fs.http.server.FSOperations;
 import org.apache.ozone.fs.http.server.HttpFSServerWebApp;
 import org.apache.ozone.fs.http.server.metrics.HttpFSServerMetrics;
@@ -45,6 +46,7 @@ public InputStreamEntity(InputStream is, long offset, long len) {
   @Override
   public void write(OutputStream os) throws IOException {
     IOUtils.skipFully(is, offset);
+    long startTime = Time.monotonicNow();
     long bytes = 0L;
     if (len == -1) {
       // Use the configured buffer size instead of hardcoding to 4k
@@ -56,6 +58,7 @@ public void write(OutputStream os) throws IOException {
     HttpFSServerMetrics metrics = HttpFSServerWebApp.get().getMetrics();
     if (metrics != null) {
       metrics.incrBytesRead(bytes);
+      metrics.addReadTime(Time.monotonicNow() - startTime);
     }
   }
 }
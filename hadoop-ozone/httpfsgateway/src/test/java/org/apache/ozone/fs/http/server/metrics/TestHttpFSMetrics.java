@@ -18,22 +18,40 @@
 package org.apache.ozone.fs.http.server.metrics;
 
 import static org.apache.ozone.lib.service.hadoop.FileSystemAccessService.FILE_SYSTEM_SERVICE_CREATED;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsInfo;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.ozone.fs.http.server.FSOperations;
 import org.apache.ozone.fs.http.server.HttpFSServerWebApp;
@@ -110,6 +128,7 @@ public void testFsCreate() throws Exception {
 
     assertEquals(initialCreateOps + 1, metrics.getOpsCreate());
     assertEquals(initialBytesWritten + 4, metrics.getBytesWritten());
+    assertEquals(1, getCounters().get("WriteTimeMsNumOps"));
   }
 
   @Test
@@ -128,6 +147,65 @@ public void testFsAppend() throws Exception {
     assertEquals(initialBytesWritten + 4, metrics.getBytesWritten());
   }
 
+  @Test
+  public void testFsListStatus() throws Exception {
+    long initialListingOps = metrics.getOpsListing();
+
+    Path dir = new Path("/dir");
+    Iterator<FileStatus> children = Arrays.asList(
+        new FileStatus(4, false, 3, 1024, 0, new Path(dir, "a.txt")),
+        new FileStatus(0, true, 0, 0, 0, new Path(dir, "sub")),
+        new FileStatus(8, false, 3, 1024, 0, new Path(dir, "b.txt")))
+        .iterator();
+    when(mockFs.getFileStatus(dir))
+        .thenReturn(new FileStatus(0, true, 0, 0, 0, dir));
+    when(mockFs.listStatusIterator(dir)).thenReturn(
+        new RemoteIterator<FileStatus>() {
+          @Override
+          public boolean hasNext() {
+            return children.hasNext();
+          }
+
+          @Override
+          public FileStatus next() {
+            return children.next();
+          }
+        });
+
+    StreamingOutput output = fsAccess.execute(ugi.getShortUserName(), conf,
+        new FSOperations.FSListStatus(dir.toString(), "*.txt"));
+    assertEquals(initialListingOps + 1, metrics.getOpsListing());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    output.write(out);
+    assertThat(out.toString(StandardCharsets.UTF_8.name()))
+        .startsWith("{\"FileStatuses\":{\"FileStatus\":[")
+        .contains("\"pathSuffix\":\"a.txt\"", "\"pathSuffix\":\"b.txt\"")
+        .doesNotContain("\"pathSuffix\":\"sub\"");
+  }
+
+  /**
+   * Collects the counters of the metrics, including the sample counts of
+   * the rates.
+   */
+  private Map<String, Long> getCounters() {
+    MetricsSource source =
+        DefaultMetricsSystem.instance().getSource(metrics.name());
+    MetricsCollector collector = mock(MetricsCollector.class);
+    MetricsRecordBuilder builder =
+        mock(MetricsRecordBuilder.class, RETURNS_SELF);
+    when(collector.addRecord(anyString())).thenReturn(builder);
+    when(collector.addRecord(any(MetricsInfo.class))).thenReturn(builder);
+    Map<String, Long> counters = new HashMap<>();
+    doAnswer(invocation -> {
+      counters.put(invocation.<MetricsInfo>getArgument(0).name(),
+          invocation.getArgument(1));
+      return builder;
+    }).when(builder).addCounter(any(MetricsInfo.class), anyLong());
+    source.getMetrics(collector, true);
+    return counters;
+  }
+
   /**
    * Mock FileSystemAccessService.
    */
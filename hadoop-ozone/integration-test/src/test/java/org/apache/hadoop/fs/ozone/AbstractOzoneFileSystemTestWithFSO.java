@@ -29,6 +29,10 @@
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.hadoop.fs.ContentSummary;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.LeaseRecoverable;
@@ -37,12 +41,17 @@
 import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.contract.ContractTestUtils;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.client.OzoneClient;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.protocol.OzoneManagerProtocol;
 import org.apache.hadoop.ozone.om.ratis.OzoneManagerDoubleBuffer;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
 import org.apache.ozone.test.GenericTestUtils;
 import org.apache.ozone.test.GenericTestUtils.LogCapturer;
 import org.junit.jupiter.api.MethodOrderer;
@@ -593,4 +602,64 @@ public void testDeleteParentAfterChildDeleted() throws Exception {
     }
   }
 
+  @Test
+  public void testContentSummaryCursorsBoundToDirectory() throws Exception {
+    Path dir = new Path("/summaryDir");
+    Path outside = new Path("/summaryOutside/sub0");
+    byte[] data = new byte[10];
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 4; j++) {
+        ContractTestUtils.createFile(getFs(),
+            new Path(new Path(dir, "sub" + i), "file" + j), true, data);
+      }
+    }
+    ContractTestUtils.createFile(getFs(), new Path(outside, "file"), true,
+        data);
+    // The summary is computed from the DB.
+    getCluster().getOzoneManager().awaitDoubleBufferFlush();
+
+    try {
+      // Summarized in several calls, each continued from the cursors.
+      ContentSummary summary = getFs().getContentSummary(dir);
+      assertEquals(12, summary.getFileCount());
+      assertEquals(4, summary.getDirectoryCount());
+      assertEquals(120, summary.getLength());
+
+      try (OzoneClient client = getCluster().newClient()) {
+        OzoneManagerProtocol om = client.getObjectStore().getClientProxy()
+            .getOzoneManagerClient();
+        OmKeyArgs dirArgs = keyArgs("summaryDir");
+        assertFalse(om.getContentSummary(dirArgs, Collections.emptyList())
+            .isComplete());
+
+        // Cursors of a directory outside of the requested one are not
+        // walked, whatever path they claim.
+        long outsideId = om.getFileStatus(keyArgs("summaryOutside/sub0"))
+            .getKeyInfo().getObjectID();
+        List<ContentSummaryCursor> forged = Arrays.asList(
+            ContentSummaryCursor.newBuilder().setObjectID(outsideId).build(),
+            ContentSummaryCursor.newBuilder().setObjectID(outsideId)
+                .setPath("sub0").build(),
+            ContentSummaryCursor.newBuilder().setObjectID(outsideId)
+                .setPath("../summaryOutside/sub0").build());
+        OmContentSummary forgedSummary =
+            om.getContentSummary(dirArgs, forged);
+        assertTrue(forgedSummary.isComplete());
+        assertEquals(0, forgedSummary.getFileCount());
+        assertEquals(0, forgedSummary.getDirectoryCount());
+        assertEquals(0, forgedSummary.getLength());
+      }
+    } finally {
+      getFs().delete(dir, true);
+      getFs().delete(outside.getParent(), true);
+    }
+  }
+
+  private OmKeyArgs keyArgs(String keyName) {
+    return new OmKeyArgs.Builder()
+        .setVolumeName(getVolumeName())
+        .setBucketName(getBucketName())
+        .setKeyName(keyName)
+        .build();
+  }
 }
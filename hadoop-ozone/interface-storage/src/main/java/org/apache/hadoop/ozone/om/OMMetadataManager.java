@@ -480,6 +480,24 @@ String getMultipartKeyFSO(String volume, String bucket, String key, String
    */
   Table<OmMultipartPartKey, OmMultipartPartInfo> getMultipartPartsTable();
 
+  /**
+   * Gets the table of the blocks referenced by more than one key, which
+   * holds the number of additional references of each block.
+   * @return Table
+   */
+  Table<String, Long> getSharedBlockTable();
+
+  /**
+   * Returns the DB key of a block in the shared block table.
+   *
+   * @param containerID - container ID of the block
+   * @param localID - local ID of the block
+   * @return DB key
+   */
+  default String getSharedBlockKey(long containerID, long localID) {
+    return OM_KEY_PREFIX + containerID + OM_KEY_PREFIX + localID;
+  }
+
   @Override
   Table<String, TransactionInfo> getTransactionInfoTable();
 
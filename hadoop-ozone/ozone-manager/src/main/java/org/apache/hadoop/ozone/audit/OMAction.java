@@ -37,6 +37,7 @@ public enum OMAction implements AuditAction {
   DELETE_KEY,
   RENAME_KEY,
   RENAME_KEYS,
+  COPY_KEY,
   SET_OWNER,
   SET_QUOTA,
   UPDATE_VOLUME,
@@ -112,6 +113,7 @@ public enum OMAction implements AuditAction {
   LIST_OPEN_FILES,
 
   GET_OBJECT_TAGGING,
+  GET_CONTENT_SUMMARY,
   PUT_OBJECT_TAGGING,
   DELETE_OBJECT_TAGGING,
 
@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the content summary of a directory of a FILE_SYSTEM_OPTIMIZED
+ * bucket by walking its subtree in the directory and file tables.
+ * <p>
+ * The directories left to walk are tracked as {@link ContentSummaryCursor}s,
+ * each with the position within the directory to continue from.  In each
+ * round, up to one cursor per thread is walked in parallel, each for a slice
+ * of the entries left for this call.  The subdirectories found are walked
+ * before the rest of their parent, so the walk goes deep first and the number
+ * of pending cursors stays small.  Once the call has walked its maximum number
+ * of entries, the pending cursors are returned, and the client continues the
+ * walk from them in the next call.
+ * <p>
+ * The cursors come back from the client, so each one carries its path
+ * relative to the requested directory, and {@link #checkCursors} only keeps
+ * the cursors whose path still resolves to their directory.  A cursor can
+ * thus not be used to walk a directory outside of the one the ACLs were
+ * checked for.
+ * <p>
+ * The walk reads the tables from the DB, so changes not yet flushed from the
+ * double buffer may not be counted.
+ */
+class ContentSummaryWalker {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ContentSummaryWalker.class);
+
+  /** The maximum number of pending cursors, unless the tree is deeper. */
+  static final int MAX_PENDING_CURSORS = 1024;
+
+  private final OMMetadataManager metadataManager;
+  private final long volumeId;
+  private final long bucketId;
+  private final ExecutorService executor;
+  private final int parallelism;
+  private final int maxEntries;
+
+  /**
+   * @param executor the executor to walk the directories in parallel, or
+   *                 null to walk them in the calling thread
+   * @param parallelism the number of directories walked in parallel
+   * @param maxEntries the maximum number of entries walked in one call
+   */
+  ContentSummaryWalker(OMMetadataManager metadataManager, long volumeId,
+      long bucketId, ExecutorService executor, int parallelism,
+      int maxEntries) {
+    this.metadataManager = metadataManager;
+    this.volumeId = volumeId;
+    this.bucketId = bucketId;
+    this.executor = executor;
+    this.parallelism = executor == null ? 1 : Math.max(1, parallelism);
+    this.maxEntries = Math.max(1, maxEntries);
+  }
+
+  /**
+   * @param path the path of the directory relative to the requested one,
+   *             empty for the requested directory itself
+   */
+  static ContentSummaryCursor newCursor(long objectID, String path) {
+    return ContentSummaryCursor.newBuilder()
+        .setObjectID(objectID)
+        .setPath(path)
+        .build();
+  }
+
+  /**
+   * Checks the cursors of a continued walk against the requested directory.
+   * A cursor is kept only if its path, resolved from the requested directory
+   * in the directory table, leads to the directory of the cursor.  The other
+   * cursors, of directories renamed or deleted since the previous call or
+   * not under the requested directory at all, are dropped.
+   * @param rootId the object ID of the requested directory
+   * @return the cursors to continue the walk from.
+   */
+  List<ContentSummaryCursor> checkCursors(long rootId,
+      List<ContentSummaryCursor> cursors) throws IOException {
+    final Map<String, Long> resolved = new HashMap<>();
+    resolved.put("", rootId);
+    final List<ContentSummaryCursor> checked = new ArrayList<>(cursors.size());
+    for (ContentSummaryCursor cursor : cursors) {
+      final Long objectID = resolve(cursor.getPath(), resolved);
+      if (objectID != null && objectID == cursor.getObjectID()) {
+        checked.add(cursor);
+      } else {
+        LOG.debug("Dropped content summary cursor of directory {} at {}: " +
+            "resolved to {}", cursor.getObjectID(), cursor.getPath(), objectID);
+      }
+    }
+    return checked;
+  }
+
+  /**
+   * Resolves the path relative to the requested directory.
+   * @param resolved the object IDs of the paths resolved so far
+   * @return the object ID of the directory, or null if there is none.
+   */
+  private Long resolve(String path, Map<String, Long> resolved)
+      throws IOException {
+    Long objectID = resolved.get("");
+    int start = 0;
+    while (objectID != null && start < path.length()) {
+      int end = path.indexOf(OM_KEY_PREFIX, start);
+      if (end < 0) {
+        end = path.length();
+      }
+      final String prefix = path.substring(0, end);
+      if (resolved.containsKey(prefix)) {
+        objectID = resolved.get(prefix);
+      } else {
+        final OmDirectoryInfo dir = metadataManager.getDirectoryTable().get(
+            metadataManager.getOzonePathKey(volumeId, bucketId, objectID,
+                path.substring(start, end)));
+        objectID = dir == null ? null : dir.getObjectID();
+        resolved.put(prefix, objectID);
+      }
+      start = end + 1;
+    }
+    return objectID;
+  }
+
+  /**
+   * Walks from the given cursors until the walk is complete or the maximum
+   * number of entries is walked.
+   * @return the summary of the entries walked, with the pending cursors.
+   */
+  OmContentSummary walk(List<ContentSummaryCursor> cursors)
+      throws IOException {
+    final Deque<ContentSummaryCursor> pending = new ArrayDeque<>(cursors);
+    final Slice total = new Slice();
+    while (!pending.isEmpty() && total.walked < maxEntries) {
+      final int n = Math.min(parallelism, pending.size());
+      final int entriesPerCursor = Math.max(1, (maxEntries - total.walked) / n);
+      final int subdirsPerCursor =
+          Math.max(1, (MAX_PENDING_CURSORS - pending.size()) / n);
+      final List<ContentSummaryCursor> round = new ArrayList<>(n);
+      for (int i = 0; i < n; i++) {
+        round.add(pending.pollLast());
+      }
+      for (Slice slice : walkRound(round, entriesPerCursor, subdirsPerCursor)) {
+        total.add(slice);
+        if (slice.remaining != null) {
+          pending.addLast(slice.remaining);
+        }
+        slice.subdirectories.forEach(pending::addLast);
+      }
+    }
+    return new OmContentSummary(total.length, total.spaceConsumed,
+        total.fileCount, total.directoryCount, new ArrayList<>(pending));
+  }
+
+  private List<Slice> walkRound(List<ContentSummaryCursor> round,
+      int entriesPerCursor, int subdirsPerCursor) throws IOException {
+    final List<Slice> slices = new ArrayList<>(round.size());
+    if (round.size() == 1) {
+      slices.add(walkSlice(round.get(0), entriesPerCursor, subdirsPerCursor));
+      return slices;
+    }
+    final List<Future<Slice>> futures = new ArrayList<>(round.size());
+    for (ContentSummaryCursor cursor : round) {
+      futures.add(executor.submit(
+          () -> walkSlice(cursor, entriesPerCursor, subdirsPerCursor)));
+    }
+    try {
+      for (Future<Slice> future : futures) {
+        slices.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while computing content summary");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to compute content summary", e.getCause());
+    } finally {
+      futures.forEach(f -> f.cancel(true));
+    }
+    return slices;
+  }
+
+  /**
+   * Walks the files and then the subdirectories of the directory of the
+   * cursor, up to the given number of entries and subdirectories.
+   */
+  private Slice walkSlice(ContentSummaryCursor cursor, int maxSliceEntries,
+      int maxSubdirectories) throws IOException {
+    final Slice slice = new Slice();
+    final String prefix = metadataManager.getOzonePathKey(
+        volumeId, bucketId, cursor.getObjectID(), "");
+    final ContentSummaryCursor.Builder next = cursor.toBuilder();
+
+    if (!cursor.getFilesDone()) {
+      final String lastFile = walkEntries(metadataManager.getFileTable(),
+          prefix, cursor.hasLastFileName() ? cursor.getLastFileName() : null,
+          maxSliceEntries, file -> slice.addFile(file));
+      if (lastFile != null) {
+        slice.remaining = next.setLastFileName(lastFile).build();
+        return slice;
+      }
+      next.setFilesDone(true).clearLastFileName();
+      if (slice.walked == maxSliceEntries) {
+        slice.remaining = next.build();
+        return slice;
+      }
+    }
+
+    final String lastDirectory = walkEntries(
+        metadataManager.getDirectoryTable(), prefix,
+        cursor.hasLastDirectoryName() ? cursor.getLastDirectoryName() : null,
+        Math.min(maxSliceEntries - slice.walked, maxSubdirectories),
+        dir -> slice.addDirectory(cursor.getPath(), dir));
+    if (lastDirectory != null) {
+      slice.remaining = next.setLastDirectoryName(lastDirectory).build();
+    }
+    return slice;
+  }
+
+  /**
+   * Walks up to the given number of entries of the directory in the table,
+   * after the given name.
+   * @return the name of the last entry walked, or null if the directory has
+   * no more entries.
+   */
+  private static <T> String walkEntries(Table<String, T> table, String prefix,
+      String after, int limit, Consumer<T> action) throws IOException {
+    try (Table.KeyValueIterator<String, T> i = table.iterator(prefix)) {
+      if (after != null) {
+        i.seek(prefix + after);
+      }
+      String last = after;
+      int walked = 0;
+      while (i.hasNext()) {
+        final Table.KeyValue<String, T> entry = i.next();
+        final String name = entry.getKey().substring(prefix.length());
+        if (name.equals(after)) {
+          continue;
+        }
+        if (walked == limit) {
+          return last;
+        }
+        action.accept(entry.getValue());
+        last = name;
+        walked++;
+      }
+      return null;
+    }
+  }
+
+  /** The summary of the entries walked in a slice of the walk. */
+  private static final class Slice {
+    private long length;
+    private long spaceConsumed;
+    private long fileCount;
+    private long directoryCount;
+    private int walked;
+    private final List<ContentSummaryCursor> subdirectories = new ArrayList<>();
+    /** The cursor to continue the directory from, null if it is done. */
+    private ContentSummaryCursor remaining;
+
+    void addFile(OmKeyInfo file) {
+      length += file.getDataSize();
+      spaceConsumed += file.getReplicatedSize();
+      fileCount++;
+      walked++;
+    }
+
+    void addDirectory(String parentPath, OmDirectoryInfo directory) {
+      directoryCount++;
+      walked++;
+      subdirectories.add(newCursor(directory.getObjectID(),
+          parentPath.isEmpty() ? directory.getName()
+              : parentPath + OM_KEY_PREFIX + directory.getName()));
+    }
+
+    void add(Slice other) {
+      length += other.length;
+      spaceConsumed += other.spaceConsumed;
+      fileCount += other.fileCount;
+      directoryCount += other.directoryCount;
+      walked += other.walked;
+    }
+  }
+}
@@ -94,6 +94,24 @@ public final class DeletingServiceMetrics {
   @Metric("Directory Deleting Service current run start timestamp in ms")
   private MutableGaugeLong ddsCurRunTimestamp;
 
+  /*
+   * Deletion backlog and adaptive scheduling metrics.
+   */
+  @Metric("Estimated no. of entries in deletedDirectoryTable")
+  private MutableGaugeLong ddsBacklog;
+  @Metric("Estimated seconds until DirectoryDeletingService drains its backlog, -1 if unknown")
+  private MutableGaugeLong ddsEtaSeconds;
+  @Metric("Current limit per task of DirectoryDeletingService")
+  private MutableGaugeLong ddsLimitPerTask;
+  @Metric("Current no. of parallel threads per store of DirectoryDeletingService")
+  private MutableGaugeLong ddsParallelism;
+  @Metric("Estimated no. of entries in deletedTable")
+  private MutableGaugeLong kdsBacklog;
+  @Metric("Estimated seconds until KeyDeletingService drains its backlog, -1 if unknown")
+  private MutableGaugeLong kdsEtaSeconds;
+  @Metric("Current limit per task of KeyDeletingService")
+  private MutableGaugeLong kdsLimitPerTask;
+
   /*
    * Deletion service last run metrics.
    */
@@ -246,6 +264,35 @@ public void setDdsCurRunTimestamp(long timestamp) {
     this.ddsCurRunTimestamp.set(timestamp);
   }
 
+  public void updateDdsScheduling(long backlog, long etaSeconds, long limitPerTask, long parallelism) {
+    this.ddsBacklog.set(backlog);
+    this.ddsEtaSeconds.set(etaSeconds);
+    this.ddsLimitPerTask.set(limitPerTask);
+    this.ddsParallelism.set(parallelism);
+  }
+
+  public void updateKdsScheduling(long backlog, long etaSeconds, long limitPerTask) {
+    this.kdsBacklog.set(backlog);
+    this.kdsEtaSeconds.set(etaSeconds);
+    this.kdsLimitPerTask.set(limitPerTask);
+  }
+
+  public long getDdsBacklog() {
+    return ddsBacklog.value();
+  }
+
+  public long getDdsEtaSeconds() {
+    return ddsEtaSeconds.value();
+  }
+
+  public long getKdsBacklog() {
+    return kdsBacklog.value();
+  }
+
+  public long getKdsEtaSeconds() {
+    return kdsEtaSeconds.value();
+  }
+
   public void updateAosDdsLastRunMetrics(long dirsSentForPurge, long subDirs, long subFiles) {
     this.ddsAosDirsSentForPurgeLast.set(dirsSentForPurge);
     this.ddsAosSubDirsLast.set(subDirs);
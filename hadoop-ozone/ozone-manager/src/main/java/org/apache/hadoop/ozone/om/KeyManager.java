@@ -31,6 +31,7 @@
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -42,6 +43,7 @@
 import org.apache.hadoop.ozone.om.service.KeyDeletingService;
 import org.apache.hadoop.ozone.om.service.SnapshotDeletingService;
 import org.apache.hadoop.ozone.om.snapshot.defrag.SnapshotDefragService;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ExpiredMultipartUploadsBucket;
 import org.apache.ratis.util.function.CheckedFunction;
 
@@ -237,6 +239,23 @@ List<ExpiredMultipartUploadsBucket> getExpiredMultipartUploads(
    */
   Map<String, String> getObjectTagging(OmKeyArgs args, ResolvedBucket bucket) throws IOException;
 
+  /**
+   * Computes the content summary of a file or directory in an FSO bucket.
+   * A large directory is summarized in parts: the returned summary holds
+   * the cursors of the directories left to walk, which are passed back to
+   * continue the walk.
+   *
+   * @param args the args of the file or directory provided by client.
+   * @param bucket the resolved parent bucket of the key.
+   * @param cursors the cursors returned by the previous call, or empty to
+   *                start the walk at the given key.  Cursors no longer under
+   *                the given key are ignored.
+   * @return the content summary of the part walked.
+   * @throws IOException
+   */
+  OmContentSummary getContentSummary(OmKeyArgs args, ResolvedBucket bucket,
+      List<ContentSummaryCursor> cursors) throws IOException;
+
   /**
    * Returns the metadataManager.
    * @return OMMetadataManager.
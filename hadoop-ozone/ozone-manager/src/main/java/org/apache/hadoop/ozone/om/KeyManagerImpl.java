@@ -50,6 +50,10 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_RUN_INTERVAL_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_TIMEOUT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_TIMEOUT_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTENT_SUMMARY_MAX_ENTRIES;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTENT_SUMMARY_MAX_ENTRIES_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTENT_SUMMARY_THREADS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTENT_SUMMARY_THREADS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_MPU_CLEANUP_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_MPU_CLEANUP_SERVICE_INTERVAL_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_MPU_CLEANUP_SERVICE_TIMEOUT;
@@ -74,7 +78,9 @@
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INTERNAL_ERROR;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_KMS_PROVIDER;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_PART;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_REQUEST;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.NOT_SUPPORTED_OPERATION;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.SCM_GET_PIPELINE_EXCEPTION;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.VOLUME_NOT_FOUND;
 import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
@@ -152,6 +158,7 @@
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -180,6 +187,7 @@
 import org.apache.hadoop.ozone.om.service.OpenKeyCleanupService;
 import org.apache.hadoop.ozone.om.service.SnapshotDeletingService;
 import org.apache.hadoop.ozone.om.snapshot.defrag.SnapshotDefragService;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ExpiredMultipartUploadsBucket;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PartKeyInfo;
 import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
@@ -223,6 +231,8 @@ public class KeyManagerImpl implements KeyManager {
   private BackgroundService multipartUploadCleanupService;
   private DNSToSwitchMapping dnsToSwitchMapping;
   private CompactionService compactionService;
+  private final int contentSummaryThreads;
+  private final int contentSummaryMaxEntries;
 
   public KeyManagerImpl(OzoneManager om, ScmClient scmClient,
       OzoneConfiguration conf, OMPerformanceMetrics metrics) {
@@ -248,6 +258,11 @@ public KeyManagerImpl(OzoneManager om, ScmClient scmClient,
     this.secretManager = secretManager;
     this.kmsProvider = kmsProvider;
     this.metrics = metrics;
+    this.contentSummaryThreads = conf.getInt(OZONE_OM_CONTENT_SUMMARY_THREADS,
+        OZONE_OM_CONTENT_SUMMARY_THREADS_DEFAULT);
+    this.contentSummaryMaxEntries = conf.getInt(
+        OZONE_OM_CONTENT_SUMMARY_MAX_ENTRIES,
+        OZONE_OM_CONTENT_SUMMARY_MAX_ENTRIES_DEFAULT);
   }
 
   @Override
@@ -1026,6 +1041,54 @@ public Map<String, String> getObjectTagging(OmKeyArgs args, ResolvedBucket bucke
     return value.getTags();
   }
 
+  @Override
+  public OmContentSummary getContentSummary(OmKeyArgs args,
+      ResolvedBucket bucket, List<ContentSummaryCursor> cursors)
+      throws IOException {
+    Objects.requireNonNull(args, "args == null");
+    if (!bucket.bucketLayout().isFileSystemOptimized()) {
+      throw new OMException("Content summary is only supported for " +
+          BucketLayout.FILE_SYSTEM_OPTIMIZED + " buckets",
+          NOT_SUPPORTED_OPERATION);
+    }
+    final String volumeName = args.getVolumeName();
+    final String bucketName = args.getBucketName();
+    final long volumeId = metadataManager.getVolumeId(volumeName);
+    final long bucketId = metadataManager.getBucketId(volumeName, bucketName);
+    final ContentSummaryWalker walker = new ContentSummaryWalker(
+        metadataManager, volumeId, bucketId,
+        ozoneManager.getContentSummaryExecutor(), contentSummaryThreads,
+        contentSummaryMaxEntries);
+
+    // The directory is resolved in every call, as the ACLs are only checked
+    // for it, and the cursors of a continued walk are checked against it.
+    final OzoneFileStatus status = getOzoneFileStatusFSO(
+        new OmKeyArgs.Builder()
+            .setVolumeName(volumeName)
+            .setBucketName(bucketName)
+            .setKeyName(args.getKeyName())
+            .setHeadOp(true)
+            .build(), null, false);
+    if (status.isFile()) {
+      if (!cursors.isEmpty()) {
+        throw new OMException("Content summary of file " + args.getKeyName() +
+            " cannot be continued", INVALID_REQUEST);
+      }
+      final OmKeyInfo keyInfo = status.getKeyInfo();
+      return new OmContentSummary(keyInfo.getDataSize(),
+          keyInfo.getReplicatedSize(), 1, 0, Collections.emptyList());
+    }
+    final long objectID = status.getKeyInfo() == null ? bucketId
+        : status.getKeyInfo().getObjectID();
+    if (!cursors.isEmpty()) {
+      return walker.walk(walker.checkCursors(objectID, cursors));
+    }
+    // The directory itself is counted in the first call.
+    return new OmContentSummary(0, 0, 0, 1, Collections.emptyList()).add(
+        walker.walk(Collections.singletonList(
+            ContentSummaryWalker.newCursor(objectID, ""))));
+  }
+
   @Override
   public OMMetadataManager getMetadataManager() {
     return metadataManager;
@@ -29,6 +29,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.ozone.om.snapshot.OMSnapshotDirectoryMetrics;
 import org.apache.hadoop.util.Time;
 
@@ -65,6 +66,7 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numKeyAllocate;
   private @Metric MutableCounterLong numKeyLookup;
   private @Metric MutableCounterLong numKeyRenames;
+  private @Metric MutableCounterLong numKeyCopies;
   private @Metric MutableCounterLong numKeyDeletes;
   private @Metric MutableCounterLong numBucketLists;
   private @Metric MutableCounterLong numKeyLists;
@@ -112,6 +114,7 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numGetKeyInfo;
 
   private @Metric MutableCounterLong numGetObjectTagging;
+  private @Metric MutableCounterLong numGetContentSummary;
   private @Metric MutableCounterLong numPutObjectTagging;
   private @Metric MutableCounterLong numDeleteObjectTagging;
 
@@ -135,6 +138,7 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numKeyAllocateFails;
   private @Metric MutableCounterLong numKeyLookupFails;
   private @Metric MutableCounterLong numKeyRenameFails;
+  private @Metric MutableCounterLong numKeyCopyFails;
   private @Metric MutableCounterLong numKeyDeleteFails;
   private @Metric MutableCounterLong numBucketListFails;
   private @Metric MutableCounterLong numKeyListFails;
@@ -205,11 +209,18 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong getNumGetKeyInfoFails;
 
   private @Metric MutableCounterLong numGetObjectTaggingFails;
+  private @Metric MutableCounterLong numGetContentSummaryFails;
   private @Metric MutableCounterLong numPutObjectTaggingFails;
   private @Metric MutableCounterLong numDeleteObjectTaggingFails;
 
   private @Metric MutableCounterLong numRecoverLeaseFails;
 
+  // Time spent in each phase of the last OM startup
+  private @Metric MutableGaugeLong startupMetadataLoadTimeMs;
+  private @Metric MutableGaugeLong startupSnapshotManagerInitTimeMs;
+  private @Metric MutableGaugeLong startupRatisServerStartTimeMs;
+  private @Metric MutableGaugeLong startupTotalTimeMs;
+
   // Metrics for total amount of data written
   private @Metric MutableCounterLong totalDataCommitted;
 
@@ -624,6 +635,38 @@ public void decNumSnapshotCacheSize() {
     numSnapshotCacheSize.decr();
   }
 
+  public void setStartupMetadataLoadTimeMs(long timeMs) {
+    startupMetadataLoadTimeMs.set(timeMs);
+  }
+
+  public long getStartupMetadataLoadTimeMs() {
+    return startupMetadataLoadTimeMs.value();
+  }
+
+  public void setStartupSnapshotManagerInitTimeMs(long timeMs) {
+    startupSnapshotManagerInitTimeMs.set(timeMs);
+  }
+
+  public long getStartupSnapshotManagerInitTimeMs() {
+    return startupSnapshotManagerInitTimeMs.value();
+  }
+
+  public void setStartupRatisServerStartTimeMs(long timeMs) {
+    startupRatisServerStartTimeMs.set(timeMs);
+  }
+
+  public long getStartupRatisServerStartTimeMs() {
+    return startupRatisServerStartTimeMs.value();
+  }
+
+  public void setStartupTotalTimeMs(long timeMs) {
+    startupTotalTimeMs.set(timeMs);
+  }
+
+  public long getStartupTotalTimeMs() {
+    return startupTotalTimeMs.value();
+  }
+
   public void incNumCompleteMultipartUploadFails() {
     numCompleteMultipartUploadFails.incr();
   }
@@ -857,6 +900,15 @@ public void incNumKeyRenameFails() {
     numKeyRenameFails.incr();
   }
 
+  public void incNumKeyCopies() {
+    numKeyOps.incr();
+    numKeyCopies.incr();
+  }
+
+  public void incNumKeyCopyFails() {
+    numKeyCopyFails.incr();
+  }
+
   public void incNumKeyDeleteFails() {
     numKeyDeleteFails.incr();
   }
@@ -992,6 +1044,17 @@ public void incNumGetObjectTaggingFails() {
     numGetObjectTaggingFails.incr();
   }
 
+  @Override
+  public void incNumGetContentSummary() {
+    numGetContentSummary.incr();
+    numKeyOps.incr();
+  }
+
+  @Override
+  public void incNumGetContentSummaryFails() {
+    numGetContentSummaryFails.incr();
+  }
+
   public void incNumPutObjectTagging() {
     numPutObjectTagging.incr();
     numKeyOps.incr();
@@ -1200,6 +1263,16 @@ public long getNumKeyRenameFails() {
     return numKeyRenameFails.value();
   }
 
+  @VisibleForTesting
+  public long getNumKeyCopies() {
+    return numKeyCopies.value();
+  }
+
+  @VisibleForTesting
+  public long getNumKeyCopyFails() {
+    return numKeyCopyFails.value();
+  }
+
   @VisibleForTesting
   public long getNumKeyDeletes() {
     return numKeyDeletes.value();
@@ -163,6 +163,7 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private Table<String, OmKeyInfo> openKeyTable;
   private Table<String, OmMultipartKeyInfo> multipartInfoTable;
   private Table<OmMultipartPartKey, OmMultipartPartInfo> multipartPartsTable;
+  private Table<String, Long> sharedBlockTable;
   private Table<String, RepeatedOmKeyInfo> deletedTable;
 
   private Table<String, OmDirectoryInfo> dirTable;
@@ -419,6 +420,11 @@ public Table<OmMultipartPartKey, OmMultipartPartInfo> getMultipartPartsTable() {
     return multipartPartsTable;
   }
 
+  @Override
+  public Table<String, Long> getSharedBlockTable() {
+    return sharedBlockTable;
+  }
+
   /**
    * Start metadata manager.
    */
@@ -498,6 +504,7 @@ protected void initializeOmTables(CacheType cacheType,
     openKeyTable = initializer.get(OMDBDefinition.OPEN_KEY_TABLE_DEF);
     multipartInfoTable = initializer.get(OMDBDefinition.MULTIPART_INFO_TABLE_DEF);
     multipartPartsTable = initializer.get(OMDBDefinition.MULTIPART_PARTS_TABLE_DEF);
+    sharedBlockTable = initializer.get(OMDBDefinition.SHARED_BLOCK_TABLE_DEF);
     deletedTable = initializer.get(OMDBDefinition.DELETED_TABLE_DEF);
 
     dirTable = initializer.get(OMDBDefinition.DIRECTORY_TABLE_DEF);
@@ -50,12 +50,14 @@
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatusLight;
 import org.apache.hadoop.ozone.om.helpers.S3VolumeContext;
 import org.apache.hadoop.ozone.om.protocolPB.grpc.GrpcClientConstants;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
 import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
 import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer.ACLIdentityType;
 import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer.ACLType;
@@ -474,6 +476,37 @@ public Map<String, String> getObjectTagging(OmKeyArgs args) throws IOException {
     }
   }
 
+  @Override
+  public OmContentSummary getContentSummary(OmKeyArgs args,
+      List<ContentSummaryCursor> cursors) throws IOException {
+    ResolvedBucket bucket = ozoneManager.resolveBucketLink(args);
+
+    boolean auditSuccess = true;
+    Map<String, String> auditMap = bucket.audit(args.toAuditMap());
+
+    OmKeyArgs resolvedArgs = bucket.update(args);
+
+    try {
+      if (isAclEnabled) {
+        checkAcls(ResourceType.KEY, StoreType.OZONE, ACLType.READ, bucket,
+            args.getKeyName());
+      }
+      metrics.incNumGetContentSummary();
+      return keyManager.getContentSummary(resolvedArgs, bucket, cursors);
+    } catch (Exception ex) {
+      metrics.incNumGetContentSummaryFails();
+      auditSuccess = false;
+      audit.logReadFailure(buildAuditMessageForFailure(
+          OMAction.GET_CONTENT_SUMMARY, auditMap, ex));
+      throw ex;
+    } finally {
+      if (auditSuccess) {
+        audit.logReadSuccess(buildAuditMessageForSuccess(
+            OMAction.GET_CONTENT_SUMMARY, auditMap));
+      }
+    }
+  }
+
   @Override
   public Map<String, String> getBucketTagging(OmBucketArgs args) throws IOException {
     long start = Time.monotonicNowNanos();
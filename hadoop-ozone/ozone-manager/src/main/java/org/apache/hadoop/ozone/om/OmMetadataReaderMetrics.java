@@ -51,6 +51,10 @@ public interface OmMetadataReaderMetrics {
 
   void incNumGetObjectTaggingFails();
 
+  void incNumGetContentSummary();
+
+  void incNumGetContentSummaryFails();
+
   void incNumGetBucketTagging();
 
   void incNumGetBucketTaggingFails();
@@ -37,12 +37,14 @@
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatusLight;
 import org.apache.hadoop.ozone.om.helpers.SnapshotInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
 import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
 import org.apache.hadoop.ozone.security.acl.OzoneAuthorizerFactory;
 import org.apache.hadoop.ozone.security.acl.OzoneObj;
@@ -191,6 +193,12 @@ public Map<String, String> getObjectTagging(OmKeyArgs args) throws IOException {
     return omMetadataReader.getObjectTagging(normalizeOmKeyArgs(args));
   }
 
+  @Override
+  public OmContentSummary getContentSummary(OmKeyArgs args,
+      List<ContentSummaryCursor> cursors) throws IOException {
+    return omMetadataReader.getContentSummary(normalizeOmKeyArgs(args), cursors);
+  }
+
   @Override
   public Map<String, String> getBucketTagging(OmBucketArgs args) throws IOException {
     if (args == null) {
@@ -60,6 +60,8 @@ public final class OmSnapshotMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numFSOps;
   private @Metric MutableCounterLong numGetObjectTagging;
   private @Metric MutableCounterLong numGetObjectTaggingFails;
+  private @Metric MutableCounterLong numGetContentSummary;
+  private @Metric MutableCounterLong numGetContentSummaryFails;
   private @Metric MutableCounterLong numGetBucketTagging;
   private @Metric MutableCounterLong numGetBucketTaggingFails;
 
@@ -154,6 +156,17 @@ public void incNumGetObjectTaggingFails() {
     numGetObjectTaggingFails.incr();
   }
 
+  @Override
+  public void incNumGetContentSummary() {
+    numGetContentSummary.incr();
+    numKeyOps.incr();
+  }
+
+  @Override
+  public void incNumGetContentSummaryFails() {
+    numGetContentSummaryFails.incr();
+  }
+
   @Override
   public void incNumGetBucketTagging() {
     numGetBucketTagging.incr();
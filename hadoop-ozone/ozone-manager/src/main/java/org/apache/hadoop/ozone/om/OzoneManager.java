@@ -63,6 +63,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADDRESS_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BOOTSTRAP_CHECKPOINT_HEADROOM_RATIO_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BOOTSTRAP_MIN_SPACE_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTENT_SUMMARY_THREADS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTENT_SUMMARY_THREADS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_EDEKCACHELOADER_INITIAL_DELAY_MS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_EDEKCACHELOADER_INITIAL_DELAY_MS_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_EDEKCACHELOADER_INTERVAL_MS_DEFAULT;
@@ -264,6 +266,7 @@
 import org.apache.hadoop.ozone.om.helpers.OMNodeDetails;
 import org.apache.hadoop.ozone.om.helpers.OmBucketArgs;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmDBAccessIdInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBTenantState;
 import org.apache.hadoop.ozone.om.helpers.OmDBUserPrincipalInfo;
@@ -307,6 +310,7 @@
 import org.apache.hadoop.ozone.om.upgrade.OMUpgradeFinalizer;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerAdminProtocolProtos.OzoneManagerAdminService;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBUpdatesRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ExtendedUserAccessIdInfo;
@@ -418,6 +422,7 @@ public final class OzoneManager extends ServiceRuntimeInfoImpl
   private PrefixManagerImpl prefixManager;
   private final UpgradeFinalizer<OzoneManager> upgradeFinalizer;
   private ExecutorService edekCacheLoader = null;
+  private volatile ExecutorService contentSummaryExecutor;
 
   /**
    * OM super user / admin list.
@@ -430,6 +435,7 @@ public final class OzoneManager extends ServiceRuntimeInfoImpl
   private final OzoneBlacklist readBlacklist;
 
   private final OMMetrics metrics;
+  private final long constructionStartTime;
   private final OmSnapshotInternalMetrics omSnapshotIntMetrics;
   private OMHAMetrics omhaMetrics;
   private final ProtocolMessageMetrics<OzoneManagerProtocolProtos.Type>
@@ -527,6 +533,7 @@ public final class OzoneManager extends ServiceRuntimeInfoImpl
   private OzoneManager(OzoneConfiguration conf, StartupOption startupOption)
       throws IOException, AuthenticationException {
     super(OzoneVersionInfo.OZONE_VERSION_INFO);
+    constructionStartTime = monotonicNow();
     Objects.requireNonNull(conf, "conf == null");
     setConfiguration(conf);
     TracingConfig tracingConfig = conf.getObject(TracingConfig.class);
@@ -767,6 +774,23 @@ private OzoneManager(OzoneConfiguration conf, StartupOption startupOption)
     omHostName = HddsUtils.getHostName(conf);
   }
 
+  private void startContentSummaryExecutor() {
+    final int threads = configuration.getInt(OZONE_OM_CONTENT_SUMMARY_THREADS,
+        OZONE_OM_CONTENT_SUMMARY_THREADS_DEFAULT);
+    contentSummaryExecutor = Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("ContentSummary-%d")
+            .build());
+  }
+
+  /**
+   * Returns the executor walking directories in parallel to compute content
+   * summaries, or null if the OM is not running.
+   */
+  public ExecutorService getContentSummaryExecutor() {
+    return contentSummaryExecutor;
+  }
+
   public void initializeEdekCache(OzoneConfiguration conf) {
     int edekCacheLoaderDelay =
         conf.getInt(OZONE_OM_EDEKCACHELOADER_INITIAL_DELAY_MS_KEY, OZONE_OM_EDEKCACHELOADER_INITIAL_DELAY_MS_DEFAULT);
@@ -953,9 +977,11 @@ private void logVersionMismatch(OzoneConfiguration conf, ScmInfo scmInfo) {
    */
   private void instantiateServices(boolean withNewSnapshot) throws IOException {
 
+    long phaseStart = monotonicNow();
     OmMetadataManagerImpl metadataManagerImpl =
         new OmMetadataManagerImpl(configuration, this);
     this.metadataManager = metadataManagerImpl;
+    metrics.setStartupMetadataLoadTimeMs(monotonicNow() - phaseStart);
     LOG.info("S3 Multi-Tenancy is {}",
         isS3MultiTenancyEnabled ? "enabled" : "disabled");
     if (isS3MultiTenancyEnabled) {
@@ -1036,7 +1062,9 @@ public void close() {
     fsSnapshotEnabled = configuration.getBoolean(
         OMConfigKeys.OZONE_FILESYSTEM_SNAPSHOT_ENABLED_KEY,
         OMConfigKeys.OZONE_FILESYSTEM_SNAPSHOT_ENABLED_DEFAULT);
+    phaseStart = monotonicNow();
     omSnapshotManager = new OmSnapshotManager(this);
+    metrics.setStartupSnapshotManagerInitTimeMs(monotonicNow() - phaseStart);
 
     // Snapshot metrics
     updateActiveSnapshotMetrics();
@@ -1858,11 +1886,14 @@ public void start() throws IOException {
         omRpcAddress));
 
     metadataManager.start(configuration);
+    startContentSummaryExecutor();
 
     startSecretManagerIfNecessary();
     // Start Ratis services
     if (omRatisServer != null) {
+      long ratisStart = monotonicNow();
       omRatisServer.start();
+      metrics.setStartupRatisServerStartTimeMs(monotonicNow() - ratisStart);
     }
 
     Integer layoutVersionInDB = getLayoutVersionInDB();
@@ -1935,6 +1966,10 @@ public void start() throws IOException {
     }
 
     omState = State.RUNNING;
+    metrics.setStartupTotalTimeMs(monotonicNow() - constructionStartTime);
+    LOG.info("OzoneManager started in {} ms (metadata load {} ms, snapshot manager init {} ms, " +
+        "Ratis server start {} ms)", metrics.getStartupTotalTimeMs(), metrics.getStartupMetadataLoadTimeMs(),
+        metrics.getStartupSnapshotManagerInitTimeMs(), metrics.getStartupRatisServerStartTimeMs());
     auditMap.put("NewOmState", omState.name());
     SYSTEMAUDIT.logWriteSuccess(buildAuditMessageForSuccess(OMSystemAction.STARTUP, auditMap));
   }
@@ -1957,6 +1992,7 @@ public void restart() throws IOException {
 
     metadataManager.start(configuration);
     keyManager.start(configuration);
+    startContentSummaryExecutor();
     startSecretManagerIfNecessary();
 
     // Set metrics and start metrics back ground thread
@@ -2494,6 +2530,10 @@ public boolean stop() {
       if (edekCacheLoader != null) {
         edekCacheLoader.shutdown();
       }
+      if (contentSummaryExecutor != null) {
+        contentSummaryExecutor.shutdownNow();
+        contentSummaryExecutor = null;
+      }
       return true;
     } catch (Exception e) {
       LOG.error("OzoneManager stop failed.", e);
@@ -5215,6 +5255,14 @@ public Map<String, String> getObjectTagging(final OmKeyArgs args)
     }
   }
 
+  @Override
+  public OmContentSummary getContentSummary(final OmKeyArgs args,
+      final List<ContentSummaryCursor> cursors) throws IOException {
+    try (UncheckedAutoCloseableSupplier<IOmMetadataReader> rcReader = getReader(args)) {
+      return rcReader.get().getContentSummary(args, cursors);
+    }
+  }
+
   @Override
   public Map<String, String> getBucketTagging(final OmBucketArgs args)
       throws IOException {
@@ -17,7 +17,10 @@
 
 package org.apache.hadoop.ozone.om;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.ozone.common.BlockGroup;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 
@@ -69,9 +72,17 @@ public static class PurgedKey {
     private final long purgedBytes;
     private final boolean isCommittedKey;
     private final String deleteKeyName;
+    private final List<BlockID> releasedSharedBlocks;
 
     public PurgedKey(String volume, String bucket, long bucketId, BlockGroup group, String deleteKeyName,
         long purgedBytes, boolean isCommittedKey) {
+      this(volume, bucket, bucketId, group, deleteKeyName, purgedBytes, isCommittedKey,
+          Collections.emptyList());
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private PurgedKey(String volume, String bucket, long bucketId, BlockGroup group, String deleteKeyName,
+        long purgedBytes, boolean isCommittedKey, List<BlockID> releasedSharedBlocks) {
       this.volume = volume;
       this.bucket = bucket;
       this.bucketId = bucketId;
@@ -79,6 +90,17 @@ public PurgedKey(String volume, String bucket, long bucketId, BlockGroup group,
       this.purgedBytes = purgedBytes;
       this.isCommittedKey = isCommittedKey;
       this.deleteKeyName = deleteKeyName;
+      this.releasedSharedBlocks = releasedSharedBlocks;
+    }
+
+    /**
+     * Returns a copy of this key that only sends the blocks of the given
+     * group to SCM. The released blocks are still referenced by another key,
+     * so purging this key only decrements their reference count.
+     */
+    public PurgedKey withReleasedSharedBlocks(BlockGroup group, List<BlockID> released) {
+      return new PurgedKey(volume, bucket, bucketId, group, deleteKeyName, purgedBytes, isCommittedKey,
+          released);
     }
 
     public BlockGroup getBlockGroup() {
@@ -109,6 +131,10 @@ public String getDeleteKeyName() {
       return deleteKeyName;
     }
 
+    public List<BlockID> getReleasedSharedBlocks() {
+      return releasedSharedBlocks;
+    }
+
     @Override
     public String toString() {
       return "PurgedKey{" +
@@ -119,6 +145,7 @@ public String toString() {
           ", purgedBytes=" + purgedBytes +
           ", isCommittedKey=" + isCommittedKey +
           ", deleteKeyName='" + deleteKeyName + '\'' +
+          ", releasedSharedBlocks=" + releasedSharedBlocks +
           '}';
     }
   }
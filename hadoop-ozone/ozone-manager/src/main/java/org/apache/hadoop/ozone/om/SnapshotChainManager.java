@@ -44,8 +44,9 @@
  * given /volume/bucket
  * ii.) Global snapshot chain, sequence of all snapshots created in order
  * <p>
- * On start, the snapshot chains are initialized from the on disk
- * SnapshotInfoTable from the OM RocksDB.
+ * The snapshot chains are initialized from the on disk SnapshotInfoTable
+ * from the OM RocksDB on first access, so that OM startup does not wait for
+ * the chains of all snapshots to be loaded.
  */
 public class SnapshotChainManager {
   private static final Logger LOG =
@@ -57,8 +58,10 @@ public class SnapshotChainManager {
   private final ConcurrentMap<String, UUID> latestSnapshotIdByPath;
   private final ConcurrentMap<UUID, String> snapshotIdToTableKey;
   private UUID latestGlobalSnapshotId;
-  private final boolean snapshotChainCorrupted;
+  private boolean snapshotChainCorrupted;
   private UUID oldestGlobalSnapshotId;
+  private final OMMetadataManager omMetadataManager;
+  private volatile boolean loaded;
 
   public SnapshotChainManager(OMMetadataManager metadataManager) {
     globalSnapshotChain = Collections.synchronizedMap(new LinkedHashMap<>());
@@ -66,7 +69,22 @@ public SnapshotChainManager(OMMetadataManager metadataManager) {
     latestSnapshotIdByPath = new ConcurrentHashMap<>();
     snapshotIdToTableKey = new ConcurrentHashMap<>();
     latestGlobalSnapshotId = null;
-    snapshotChainCorrupted = !loadFromSnapshotInfoTable(metadataManager);
+    this.omMetadataManager = metadataManager;
+  }
+
+  /**
+   * Loads the snapshot chains from the SnapshotInfo table, if they are not
+   * loaded yet.
+   */
+  private void ensureLoaded() {
+    if (!loaded) {
+      synchronized (this) {
+        if (!loaded) {
+          snapshotChainCorrupted = !loadFromSnapshotInfoTable(omMetadataManager);
+          loaded = true;
+        }
+      }
+    }
   }
 
   /**
@@ -326,7 +344,7 @@ private boolean loadFromSnapshotInfoTable(OMMetadataManager metadataManager) {
         if (LOG.isDebugEnabled()) {
           LOG.debug("Adding Snapshot Info: {}", snaps.get(head));
         }
-        addSnapshot(snaps.get(head));
+        addSnapshotToChains(snaps.get(head));
         size += 1;
         prev = head;
         head = snapshotToNextSnapshotMap.get(head);
@@ -349,6 +367,11 @@ private boolean loadFromSnapshotInfoTable(OMMetadataManager metadataManager) {
   public synchronized void addSnapshot(SnapshotInfo snapshotInfo)
       throws IOException {
     validateSnapshotChain();
+    addSnapshotToChains(snapshotInfo);
+  }
+
+  private void addSnapshotToChains(SnapshotInfo snapshotInfo)
+      throws IOException {
     addSnapshotGlobal(snapshotInfo.getSnapshotId(),
         snapshotInfo.getGlobalPreviousSnapshotId());
     addSnapshotPath(snapshotInfo.getSnapshotPath(),
@@ -365,6 +388,7 @@ public synchronized void addSnapshot(SnapshotInfo snapshotInfo)
    * Update snapshot chain when snapshot changes (e.g. renamed).
    */
   public synchronized void updateSnapshot(SnapshotInfo snapshotInfo) {
+    ensureLoaded();
     snapshotIdToTableKey.computeIfPresent(snapshotInfo.getSnapshotId(),
         (snapshotId, dbTableKey) -> snapshotInfo.getTableKey());
   }
@@ -577,6 +601,7 @@ public UUID previousPathSnapshot(String snapshotPath,
   }
 
   public String getTableKey(UUID snapshotId) {
+    ensureLoaded();
     String tableKey = snapshotIdToTableKey.get(snapshotId);
     if (tableKey == null) {
       LOG.debug("getTableKey returned null for snapshotId={}. snapshotIdToTableKey has {} entries",
@@ -609,15 +634,17 @@ LinkedHashMap<UUID, SnapshotChainInfo>> getSnapshotChainByPath()
   /**
    * Validate if snapshot chain is loaded without any error and throw
    * IOException in case there was an issue while loading snapshot
-   * chain on OM start up.
+   * chain on first access.
    */
   private void validateSnapshotChain() throws IOException {
+    ensureLoaded();
     if (snapshotChainCorrupted) {
       throw new IOException("Snapshot chain is corrupted.");
     }
   }
 
   public boolean isSnapshotChainCorrupted() {
+    ensureLoaded();
     return snapshotChainCorrupted;
   }
 }
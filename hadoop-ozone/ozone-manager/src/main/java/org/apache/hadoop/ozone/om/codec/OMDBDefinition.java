@@ -90,6 +90,7 @@
  * |         openKeyTable | /volume/bucket/key/id                  :- KeyInfo         |
  * |   multipartInfoTable | /volume/bucket/key/uploadId            :- parts           |
  * |  multipartPartsTable | uploadId/partNumber                    :- PartKeyInfo     |
+ * |     sharedBlockTable | /containerId/localId                   :- referenceCount  |
  * |----------------------------------------------------------------------------------|
  * }
  * </pre>
@@ -238,6 +239,19 @@ public final class OMDBDefinition extends DBDefinition.WithMap {
       OmMultipartPartKey.getCodec(),
       OmMultipartPartInfo.getCodec());
 
+  public static final String SHARED_BLOCK_TABLE = "sharedBlockTable";
+  /**
+   * sharedBlockTable: /containerId/localId :- referenceCount.
+   * <p>
+   * The number of additional keys referencing a block, i.e. copies of a key
+   * made without copying its data.  A block of a purged key is only deleted
+   * once it has no entry.
+   */
+  public static final DBColumnFamilyDefinition<String, Long> SHARED_BLOCK_TABLE_DEF
+      = new DBColumnFamilyDefinition<>(SHARED_BLOCK_TABLE,
+          StringCodec.get(),
+          LongCodec.get());
+
   //---------------------------------------------------------------------------
   // File System Optimized (FSO) Tables:
   public static final String FILE_TABLE = "fileTable";
@@ -346,6 +360,7 @@ public final class OMDBDefinition extends DBDefinition.WithMap {
           PREFIX_TABLE_DEF,
           PRINCIPAL_TO_ACCESS_IDS_TABLE_DEF,
           S3_SECRET_TABLE_DEF,
+          SHARED_BLOCK_TABLE_DEF,
           SNAPSHOT_INFO_TABLE_DEF,
           SNAPSHOT_RENAMED_TABLE_DEF,
           COMPACTION_LOG_TABLE_DEF,
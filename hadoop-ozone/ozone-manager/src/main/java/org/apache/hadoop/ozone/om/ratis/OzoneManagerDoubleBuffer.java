@@ -622,6 +622,14 @@ synchronized int getReadyBufferSize() {
     return readyBuffer.size();
   }
 
+  /**
+   * @return the number of transactions added but not yet flushed to DB.
+   * This walks the buffers, so it should not be called on a hot path.
+   */
+  public int getUnflushedTransactionCount() {
+    return getCurrentBufferSize() + getReadyBufferSize();
+  }
+
   @VisibleForTesting
   public void resume() {
     isRunning.set(true);
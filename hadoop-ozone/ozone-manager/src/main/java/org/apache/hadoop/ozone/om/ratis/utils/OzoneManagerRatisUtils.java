@@ -328,6 +328,11 @@ public static OMClientRequest createClientRequest(OMRequest omRequest,
       volumeName = keyArgs.getVolumeName();
       bucketName = keyArgs.getBucketName();
       break;
+    case CopyKey:
+      keyArgs = omRequest.getCopyKeyRequest().getDstKeyArgs();
+      volumeName = keyArgs.getVolumeName();
+      bucketName = keyArgs.getBucketName();
+      break;
     case EchoRPC:
       return new OMEchoRPCWriteRequest(omRequest);
     case AbortExpiredMultiPartUploads:
@@ -36,6 +36,7 @@
 import org.apache.hadoop.ozone.om.request.key.OMAllocateBlockRequestWithFSO;
 import org.apache.hadoop.ozone.om.request.key.OMKeyCommitRequest;
 import org.apache.hadoop.ozone.om.request.key.OMKeyCommitRequestWithFSO;
+import org.apache.hadoop.ozone.om.request.key.OMKeyCopyRequest;
 import org.apache.hadoop.ozone.om.request.key.OMKeyCreateRequest;
 import org.apache.hadoop.ozone.om.request.key.OMKeyCreateRequestWithFSO;
 import org.apache.hadoop.ozone.om.request.key.OMKeyDeleteRequest;
@@ -153,6 +154,11 @@ public final class BucketLayoutAwareOMKeyRequestFactory {
         OMKeysRenameRequest.class,
         BucketLayout.OBJECT_STORE);
 
+    // CopyKey
+    addRequestClass(Type.CopyKey,
+        OMKeyCopyRequest.class,
+        BucketLayout.OBJECT_STORE);
+
     // InitiateMultiPartUpload
     addRequestClass(Type.InitiateMultiPartUpload,
         S3InitiateMultipartUploadRequest.class,
@@ -0,0 +1,570 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.NOT_SUPPORTED_OPERATION;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.OmUtils;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.OzoneManagerVersion;
+import org.apache.hadoop.ozone.audit.OMAction;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OMMetrics;
+import org.apache.hadoop.ozone.om.OzoneConfigUtil;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.execution.flowcontrol.ExecutionContext;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartPartInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartPartKey;
+import org.apache.hadoop.ozone.om.helpers.QuotaUtil;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMClientRequestUtils;
+import org.apache.hadoop.ozone.om.request.s3.multipart.S3MultipartUploadCommitPartRequest;
+import org.apache.hadoop.ozone.om.request.util.OmResponseUtil;
+import org.apache.hadoop.ozone.om.request.validation.RequestFeatureValidator;
+import org.apache.hadoop.ozone.om.request.validation.ValidationCondition;
+import org.apache.hadoop.ozone.om.request.validation.ValidationContext;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyCopyResponse;
+import org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.ozone.request.validation.RequestProcessingPhase;
+import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handles CopyKey request.
+ * <p>
+ * The destination key, or multipart upload part, points to the blocks of
+ * the latest version of the source key instead of a new copy of the data.
+ * Every copy increments the reference count of the shared blocks in the
+ * sharedBlockTable, and KeyDeletingService only asks SCM to delete a block
+ * once no other key references it.
+ * <p>
+ * Copies that cannot share blocks as-is, for example because of encryption
+ * or a different replication, fail with NOT_SUPPORTED_OPERATION so that the
+ * client can fall back to copying the data.
+ */
+public class OMKeyCopyRequest extends OMKeyRequest {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OMKeyCopyRequest.class);
+
+  public OMKeyCopyRequest(OMRequest omRequest, BucketLayout bucketLayout) {
+    super(omRequest, bucketLayout);
+  }
+
+  @Override
+  public OMRequest preExecute(OzoneManager ozoneManager) throws IOException {
+    CopyKeyRequest copyKeyRequest =
+        super.preExecute(ozoneManager).getCopyKeyRequest();
+    Objects.requireNonNull(copyKeyRequest, "copyKeyRequest == null");
+    ozoneManager.checkFeatureEnabled(OzoneManagerVersion.COPY_KEY);
+
+    // The destination would need the file system checks of a key commit.
+    if (getBucketLayout().shouldNormalizePaths(
+        ozoneManager.getEnableFileSystemPaths())) {
+      throw new OMException("Copying a key is not supported with bucket " +
+          "layout " + getBucketLayout(), NOT_SUPPORTED_OPERATION);
+    }
+
+    KeyArgs dstKeyArgs = copyKeyRequest.getDstKeyArgs();
+    OmUtils.verifyKeyNameWithSnapshotReservedWord(dstKeyArgs.getKeyName());
+    if (ozoneManager.getConfig().isKeyNameCharacterCheckEnabled()) {
+      OmUtils.validateKeyName(dstKeyArgs.getKeyName());
+    }
+
+    KeyArgs resolvedSrcArgs = resolveBucketAndCheckKeyAcls(
+        copyKeyRequest.getSrcKeyArgs(), ozoneManager,
+        IAccessAuthorizer.ACLType.READ);
+    KeyArgs resolvedDstArgs = resolveBucketAndCheckKeyAcls(
+        dstKeyArgs.toBuilder().setModificationTime(Time.now()).build(),
+        ozoneManager, IAccessAuthorizer.ACLType.CREATE);
+
+    return getOmRequest().toBuilder()
+        .setUserInfo(getUserInfo())
+        .setCopyKeyRequest(copyKeyRequest.toBuilder()
+            .setSrcKeyArgs(resolvedSrcArgs)
+            .setDstKeyArgs(resolvedDstArgs))
+        .build();
+  }
+
+  @Override
+  @SuppressWarnings("methodlength")
+  public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, ExecutionContext context) {
+    final long trxnLogIndex = context.getIndex();
+    CopyKeyRequest copyKeyRequest = getOmRequest().getCopyKeyRequest();
+    KeyArgs srcKeyArgs = copyKeyRequest.getSrcKeyArgs();
+    KeyArgs dstKeyArgs = copyKeyRequest.getDstKeyArgs();
+
+    String volumeName = dstKeyArgs.getVolumeName();
+    String bucketName = dstKeyArgs.getBucketName();
+    String keyName = dstKeyArgs.getKeyName();
+    boolean isPart = dstKeyArgs.getIsMultipartKey();
+
+    OMMetrics omMetrics = ozoneManager.getMetrics();
+    omMetrics.incNumKeyCopies();
+
+    OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    Map<String, String> auditMap = buildKeyArgsAuditMap(dstKeyArgs);
+    auditMap.put(OzoneConsts.SRC_KEY, omMetadataManager.getOzoneKey(
+        srcKeyArgs.getVolumeName(), srcKeyArgs.getBucketName(),
+        srcKeyArgs.getKeyName()));
+    auditMap.put(OzoneConsts.DST_KEY, keyName);
+    if (isPart) {
+      auditMap.put(OzoneConsts.UPLOAD_ID, dstKeyArgs.getMultipartUploadID());
+      auditMap.put(OzoneConsts.MULTIPART_UPLOAD_PART_NUMBER,
+          String.valueOf(dstKeyArgs.getMultipartNumber()));
+    }
+
+    OMResponse.Builder omResponse = OmResponseUtil.getOMResponseBuilder(
+        getOmRequest());
+    OMClientResponse omClientResponse = null;
+    IOException exception = null;
+    Result result;
+
+    List<String[]> bucketLockKeys = new ArrayList<>();
+    bucketLockKeys.add(new String[] {volumeName, bucketName});
+    if (!volumeName.equals(srcKeyArgs.getVolumeName())
+        || !bucketName.equals(srcKeyArgs.getBucketName())) {
+      bucketLockKeys.add(new String[] {srcKeyArgs.getVolumeName(),
+          srcKeyArgs.getBucketName()});
+    }
+    boolean acquiredLock = false;
+    try {
+      mergeOmLockDetails(omMetadataManager.getLock()
+          .acquireWriteLocks(BUCKET_LOCK, bucketLockKeys));
+      acquiredLock = getOmLockDetails().isLockAcquired();
+
+      validateBucketAndVolume(omMetadataManager, srcKeyArgs.getVolumeName(),
+          srcKeyArgs.getBucketName());
+      validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
+      OmBucketInfo srcBucketInfo = getBucketInfo(omMetadataManager,
+          srcKeyArgs.getVolumeName(), srcKeyArgs.getBucketName());
+      OmBucketInfo omBucketInfo =
+          getBucketInfo(omMetadataManager, volumeName, bucketName);
+
+      if (srcBucketInfo.getBucketLayout().shouldNormalizePaths(
+          ozoneManager.getEnableFileSystemPaths())) {
+        throw new OMException("Copying a key is not supported from bucket " +
+            "layout " + srcBucketInfo.getBucketLayout(),
+            NOT_SUPPORTED_OPERATION);
+      }
+      if (omBucketInfo.getEncryptionKeyInfo() != null) {
+        throw new OMException("Copying a key into an encrypted bucket is " +
+            "not supported", NOT_SUPPORTED_OPERATION);
+      }
+
+      String srcOzoneKey = omMetadataManager.getOzoneKey(
+          srcKeyArgs.getVolumeName(), srcKeyArgs.getBucketName(),
+          srcKeyArgs.getKeyName());
+      OmKeyInfo srcKeyInfo = omMetadataManager
+          .getKeyTable(srcBucketInfo.getBucketLayout()).get(srcOzoneKey);
+      if (srcKeyInfo == null) {
+        throw new OMException("Key not found " + srcOzoneKey, KEY_NOT_FOUND);
+      }
+      validateCopySource(srcKeyInfo);
+
+      List<OmKeyLocationInfo> sharedBlocks = new ArrayList<>();
+      for (OmKeyLocationInfo location
+          : srcKeyInfo.getLatestVersionLocations().getLocationList()) {
+        sharedBlocks.add(new OmKeyLocationInfo.Builder()
+            .setBlockID(location.getBlockID())
+            .setPipeline(location.getPipeline())
+            .setLength(location.getLength())
+            .setOffset(location.getOffset())
+            .setCreateVersion(0)
+            .build());
+      }
+      String eTag = srcKeyInfo.getMetadata().get(OzoneConsts.ETAG);
+      CopyKeyResponse.Builder copyKeyResponse = CopyKeyResponse.newBuilder();
+      if (eTag != null) {
+        copyKeyResponse.setETag(eTag);
+      }
+
+      if (isPart) {
+        omClientResponse = copyToPart(ozoneManager, trxnLogIndex, dstKeyArgs,
+            srcKeyInfo, sharedBlocks, omBucketInfo, copyKeyResponse,
+            omResponse);
+      } else {
+        omClientResponse = copyToKey(ozoneManager, trxnLogIndex, dstKeyArgs,
+            srcKeyInfo, sharedBlocks, omBucketInfo, copyKeyResponse,
+            omResponse);
+      }
+      result = Result.SUCCESS;
+    } catch (IOException ex) {
+      result = Result.FAILURE;
+      exception = ex;
+      omClientResponse = new OMKeyCopyResponse(
+          createErrorOMResponse(omResponse, exception), getBucketLayout());
+    } finally {
+      if (acquiredLock) {
+        mergeOmLockDetails(omMetadataManager.getLock()
+            .releaseWriteLocks(BUCKET_LOCK, bucketLockKeys));
+      }
+      if (omClientResponse != null) {
+        omClientResponse.setOmLockDetails(getOmLockDetails());
+      }
+    }
+
+    markForAudit(ozoneManager.getAuditLogger(), buildAuditMessage(
+        OMAction.COPY_KEY, auditMap, exception, getOmRequest().getUserInfo()));
+
+    switch (result) {
+    case SUCCESS:
+      LOG.debug("Copy key {} to {} in Volume/Bucket {}/{} succeeded.",
+          auditMap.get(OzoneConsts.SRC_KEY), keyName, volumeName, bucketName);
+      break;
+    case FAILURE:
+      omMetrics.incNumKeyCopyFails();
+      if (OMClientRequestUtils.shouldLogClientRequestFailure(exception)) {
+        LOG.error("Copy key {} to {} in Volume/Bucket {}/{} failed.",
+            auditMap.get(OzoneConsts.SRC_KEY), keyName, volumeName,
+            bucketName, exception);
+      }
+      break;
+    default:
+      LOG.error("Unrecognized Result for OMKeyCopyRequest: {}",
+          copyKeyRequest);
+    }
+
+    return omClientResponse;
+  }
+
+  /**
+   * Rejects the source keys whose blocks cannot be shared as they are.
+   */
+  private static void validateCopySource(OmKeyInfo srcKeyInfo)
+      throws OMException {
+    Map<String, String> metadata = srcKeyInfo.getMetadata();
+    if (srcKeyInfo.getFileEncryptionInfo() != null
+        || metadata.containsKey(OzoneConsts.GDPR_FLAG)) {
+      throw new OMException("Copying an encrypted key is not supported",
+          NOT_SUPPORTED_OPERATION);
+    }
+    if (metadata.containsKey(OzoneConsts.HSYNC_CLIENT_ID)) {
+      throw new OMException("Copying a key which is still being written " +
+          "is not supported", NOT_SUPPORTED_OPERATION);
+    }
+    if (srcKeyInfo.getLatestVersionLocations().isMultipartKey()) {
+      throw new OMException("Copying a multipart key is not supported",
+          NOT_SUPPORTED_OPERATION);
+    }
+  }
+
+  private static void validateReplication(ReplicationConfig expected,
+      OmKeyInfo srcKeyInfo) throws OMException {
+    if (!expected.equals(srcKeyInfo.getReplicationConfig())) {
+      throw new OMException("Copying a key from replication " +
+          srcKeyInfo.getReplicationConfig() + " to " + expected +
+          " is not supported", NOT_SUPPORTED_OPERATION);
+    }
+  }
+
+  /**
+   * Adds one reference to each of the given blocks.
+   * @return the updated reference count of each block.
+   */
+  private static Map<String, Long> incrementSharedBlockCounts(
+      OMMetadataManager omMetadataManager, List<OmKeyLocationInfo> blocks,
+      long trxnLogIndex) throws IOException {
+    Map<String, Long> sharedBlockCounts = new HashMap<>();
+    Table<String, Long> sharedBlockTable =
+        omMetadataManager.getSharedBlockTable();
+    for (OmKeyLocationInfo block : blocks) {
+      String sharedBlockKey = omMetadataManager.getSharedBlockKey(
+          block.getContainerID(), block.getLocalID());
+      Long references = sharedBlockCounts.containsKey(sharedBlockKey)
+          ? sharedBlockCounts.get(sharedBlockKey)
+          : sharedBlockTable.get(sharedBlockKey);
+      long count = references == null ? 1 : references + 1;
+      sharedBlockCounts.put(sharedBlockKey, count);
+      sharedBlockTable.addCacheEntry(new CacheKey<>(sharedBlockKey),
+          CacheValue.get(trxnLogIndex, count));
+    }
+    return sharedBlockCounts;
+  }
+
+  @SuppressWarnings("parameternumber")
+  private OMClientResponse copyToKey(OzoneManager ozoneManager,
+      long trxnLogIndex, KeyArgs dstKeyArgs, OmKeyInfo srcKeyInfo,
+      List<OmKeyLocationInfo> sharedBlocks, OmBucketInfo omBucketInfo,
+      CopyKeyResponse.Builder copyKeyResponse, OMResponse.Builder omResponse)
+      throws IOException {
+    OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    if (omBucketInfo.getIsVersionEnabled()) {
+      throw new OMException("Copying a key into a versioned bucket is not " +
+          "supported", NOT_SUPPORTED_OPERATION);
+    }
+    ReplicationConfig replicationConfig = OzoneConfigUtil
+        .resolveReplicationConfigPreference(dstKeyArgs.getType(),
+            dstKeyArgs.getFactor(), dstKeyArgs.getEcReplicationConfig(),
+            omBucketInfo.getDefaultReplicationConfig(), ozoneManager);
+    validateReplication(replicationConfig, srcKeyInfo);
+
+    String dbOzoneKey = omMetadataManager.getOzoneKey(
+        dstKeyArgs.getVolumeName(), dstKeyArgs.getBucketName(),
+        dstKeyArgs.getKeyName());
+    OmKeyInfo keyToDelete =
+        omMetadataManager.getKeyTable(getBucketLayout()).get(dbOzoneKey);
+    if (keyToDelete != null
+        && keyToDelete.getMetadata().containsKey(OzoneConsts.HSYNC_CLIENT_ID)) {
+      throw new OMException("Overwriting a key which is still being " +
+          "written is not supported", NOT_SUPPORTED_OPERATION);
+    }
+
+    OmKeyInfo omKeyInfo = createFileInfo(dstKeyArgs, sharedBlocks,
+        replicationConfig, srcKeyInfo.getDataSize(), null,
+        ozoneManager.getPrefixManager(), omBucketInfo, null, trxnLogIndex,
+        ozoneManager.getObjectIdFromTxId(trxnLogIndex),
+        ozoneManager.getConfig());
+    omKeyInfo = withSourceETag(omKeyInfo, srcKeyInfo);
+
+    Map<String, RepeatedOmKeyInfo> oldKeyVersionsToDeleteMap = null;
+    long correctedSpace = omKeyInfo.getReplicatedSize();
+    checkBucketQuotaInNamespace(omBucketInfo, 1L);
+    checkBucketQuotaInBytes(omMetadataManager, omBucketInfo, correctedSpace);
+    Map<String, Long> sharedBlockCounts = incrementSharedBlockCounts(
+        omMetadataManager, sharedBlocks, trxnLogIndex);
+    if (keyToDelete != null) {
+      // Shared blocks of the overwritten key are released by
+      // KeyDeletingService, so the whole key goes to the deleted table.
+      RepeatedOmKeyInfo oldVerKeyInfo = getOldVersionsToCleanUp(
+          keyToDelete, omBucketInfo.getObjectID(), trxnLogIndex);
+      // using pseudoObjId as objectId can be same in case of overwrite key
+      long pseudoObjId = ozoneManager.getObjectIdFromTxId(trxnLogIndex);
+      String delKeyName = omMetadataManager.getOzoneDeletePathKey(
+          pseudoObjId, dbOzoneKey);
+      long totalSize = 0;
+      long totalNamespace = 0;
+      if (!oldVerKeyInfo.getOmKeyInfoList().isEmpty()) {
+        oldKeyVersionsToDeleteMap = new HashMap<>();
+        oldKeyVersionsToDeleteMap.put(delKeyName, oldVerKeyInfo);
+        List<OmKeyInfo> oldKeys = oldVerKeyInfo.getOmKeyInfoList();
+        for (int i = 0; i < oldKeys.size(); i++) {
+          OmKeyInfo updatedOlderKeyVersions =
+              oldKeys.get(i).withCommittedKeyDeletedFlag(true);
+          oldKeys.set(i, updatedOlderKeyVersions);
+          totalSize += sumBlockLengths(updatedOlderKeyVersions);
+          totalNamespace += 1;
+        }
+      }
+      omBucketInfo.decrUsedNamespace(totalNamespace, true);
+      omBucketInfo.decrUsedBytes(totalSize, true);
+    }
+    omBucketInfo.incrUsedNamespace(1L);
+    omBucketInfo.incrUsedBytes(correctedSpace);
+
+    omMetadataManager.getKeyTable(getBucketLayout()).addCacheEntry(
+        dbOzoneKey, omKeyInfo, trxnLogIndex);
+
+    omResponse.setCopyKeyResponse(copyKeyResponse);
+    return new OMKeyCopyResponse(omResponse.build(), dbOzoneKey, omKeyInfo,
+        null, null, null, null, oldKeyVersionsToDeleteMap,
+        omBucketInfo.copyObject(), sharedBlockCounts, getBucketLayout());
+  }
+
+  @SuppressWarnings({"parameternumber", "methodlength"})
+  private OMClientResponse copyToPart(OzoneManager ozoneManager,
+      long trxnLogIndex, KeyArgs dstKeyArgs, OmKeyInfo srcKeyInfo,
+      List<OmKeyLocationInfo> sharedBlocks, OmBucketInfo omBucketInfo,
+      CopyKeyResponse.Builder copyKeyResponse, OMResponse.Builder omResponse)
+      throws IOException {
+    OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    String volumeName = dstKeyArgs.getVolumeName();
+    String bucketName = dstKeyArgs.getBucketName();
+    String keyName = dstKeyArgs.getKeyName();
+    String uploadID = dstKeyArgs.getMultipartUploadID();
+    int partNumber = dstKeyArgs.getMultipartNumber();
+
+    String multipartKey = omMetadataManager.getMultipartKey(volumeName,
+        bucketName, keyName, uploadID);
+    OmMultipartKeyInfo multipartKeyInfo =
+        omMetadataManager.getMultipartInfoTable().get(multipartKey);
+    if (multipartKeyInfo == null) {
+      throw new OMException("No such Multipart upload is with specified " +
+          "uploadId " + uploadID,
+          OMException.ResultCodes.NO_SUCH_MULTIPART_UPLOAD_ERROR);
+    }
+    validateReplication(multipartKeyInfo.getReplicationConfig(), srcKeyInfo);
+    String eTag = srcKeyInfo.getMetadata().get(OzoneConsts.ETAG);
+    if (eTag == null) {
+      throw new OMException("Copying a key without ETag to a multipart " +
+          "upload part is not supported", NOT_SUPPORTED_OPERATION);
+    }
+
+    String ozoneKey = omMetadataManager.getOzoneKey(volumeName, bucketName,
+        keyName);
+    String partName = S3MultipartUploadCommitPartRequest.getPartName(
+        ozoneKey, uploadID, partNumber);
+
+    OmKeyInfo partKeyInfo = new OmKeyInfo.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(keyName)
+        .setOmKeyLocationInfos(Collections.singletonList(
+            new OmKeyLocationInfoGroup(0, sharedBlocks, true)))
+        .setCreationTime(dstKeyArgs.getModificationTime())
+        .setModificationTime(dstKeyArgs.getModificationTime())
+        .setDataSize(srcKeyInfo.getDataSize())
+        .setReplicationConfig(multipartKeyInfo.getReplicationConfig())
+        .setAcls(getAclsForKey(dstKeyArgs, omBucketInfo, null,
+            ozoneManager.getPrefixManager(), ozoneManager.getConfig()))
+        .addMetadata(OzoneConsts.ETAG, eTag)
+        .setObjectID(ozoneManager.getObjectIdFromTxId(trxnLogIndex))
+        .setUpdateID(trxnLogIndex)
+        .setOwnerName(dstKeyArgs.getOwnerName())
+        .setFile(true)
+        .build();
+
+    OmKeyInfo oldPartOmKeyInfo = null;
+    OmMultipartPartKey multipartPartKey = null;
+    if (multipartKeyInfo.getSchemaVersion()
+        == OmMultipartKeyInfo.LEGACY_SCHEMA_VERSION) {
+      OzoneManagerProtocolProtos.PartKeyInfo oldPartKeyInfo =
+          multipartKeyInfo.getPartKeyInfo(partNumber);
+      if (oldPartKeyInfo != null) {
+        oldPartOmKeyInfo =
+            OmKeyInfo.getFromProtobuf(oldPartKeyInfo.getPartKeyInfo());
+      }
+    } else {
+      multipartPartKey = OmMultipartPartKey.of(uploadID, partNumber);
+      OmMultipartPartInfo oldMultipartPartInfo =
+          omMetadataManager.getMultipartPartsTable().get(multipartPartKey);
+      if (oldMultipartPartInfo != null) {
+        oldPartOmKeyInfo = oldMultipartPartInfo.toOmKeyInfo(volumeName,
+            bucketName, keyName, multipartKeyInfo.getReplicationConfig());
+      }
+    }
+
+    Map<String, RepeatedOmKeyInfo> keyVersionsToDeleteMap = null;
+    long correctedSpace = partKeyInfo.getReplicatedSize();
+    if (oldPartOmKeyInfo != null) {
+      correctedSpace -= QuotaUtil.getReplicatedSize(
+          oldPartOmKeyInfo.getDataSize(),
+          multipartKeyInfo.getReplicationConfig());
+      RepeatedOmKeyInfo oldVerKeyInfo = getOldVersionsToCleanUp(
+          oldPartOmKeyInfo, omBucketInfo.getObjectID(), trxnLogIndex);
+      // MPU part keys always use a new object ID, so it can be reused here.
+      String delKeyName = omMetadataManager.getOzoneDeletePathKey(
+          oldPartOmKeyInfo.getObjectID(), multipartKey);
+      if (!oldVerKeyInfo.getOmKeyInfoList().isEmpty()) {
+        keyVersionsToDeleteMap = new HashMap<>();
+        keyVersionsToDeleteMap.put(delKeyName, oldVerKeyInfo);
+      }
+    }
+    checkBucketQuotaInBytes(omMetadataManager, omBucketInfo, correctedSpace);
+    Map<String, Long> sharedBlockCounts = incrementSharedBlockCounts(
+        omMetadataManager, sharedBlocks, trxnLogIndex);
+    omBucketInfo.incrUsedBytes(correctedSpace);
+
+    OmMultipartPartInfo multipartPartInfo = null;
+    if (multipartPartKey == null) {
+      multipartKeyInfo.addPartKeyInfo(
+          OzoneManagerProtocolProtos.PartKeyInfo.newBuilder()
+              .setPartName(partName)
+              .setPartNumber(partNumber)
+              .setPartKeyInfo(partKeyInfo.getProtobuf(
+                  getOmRequest().getVersion()))
+              .build());
+    } else {
+      multipartPartInfo =
+          OmMultipartPartInfo.from(partName, partNumber, partKeyInfo);
+      omMetadataManager.getMultipartPartsTable().addCacheEntry(
+          new CacheKey<>(multipartPartKey),
+          CacheValue.get(trxnLogIndex, multipartPartInfo));
+    }
+    multipartKeyInfo = multipartKeyInfo.toBuilder()
+        .setUpdateID(trxnLogIndex)
+        .build();
+    omMetadataManager.getMultipartInfoTable().addCacheEntry(
+        new CacheKey<>(multipartKey),
+        CacheValue.get(trxnLogIndex, multipartKeyInfo));
+
+    omResponse.setCopyKeyResponse(copyKeyResponse.setPartName(partName));
+    return new OMKeyCopyResponse(omResponse.build(), null, null,
+        multipartKey, multipartKeyInfo, multipartPartKey, multipartPartInfo,
+        keyVersionsToDeleteMap, omBucketInfo.copyObject(), sharedBlockCounts,
+        getBucketLayout());
+  }
+
+  /**
+   * The copy has the content of the source, so it keeps the source ETag
+   * whatever metadata the client sent.
+   */
+  private static OmKeyInfo withSourceETag(OmKeyInfo omKeyInfo,
+      OmKeyInfo srcKeyInfo) {
+    String eTag = srcKeyInfo.getMetadata().get(OzoneConsts.ETAG);
+    return omKeyInfo.withMetadataMutations(metadata -> {
+      if (eTag == null) {
+        metadata.remove(OzoneConsts.ETAG);
+      } else {
+        metadata.put(OzoneConsts.ETAG, eTag);
+      }
+    });
+  }
+
+  /**
+   * Validates CopyKey requests.
+   * We do not want to allow older clients to copy keys before the shared
+   * block references can be tracked by all OMs.
+   */
+  @RequestFeatureValidator(
+      conditions = ValidationCondition.CLUSTER_NEEDS_FINALIZATION,
+      processingPhase = RequestProcessingPhase.PRE_PROCESS,
+      requestType = Type.CopyKey
+  )
+  public static OMRequest disallowCopyKeyBeforeFinalization(
+      OMRequest req, ValidationContext ctx) throws OMException {
+    if (!ctx.versionManager()
+        .isAllowed(OMLayoutFeature.SHARED_BLOCK_COPY)) {
+      throw new OMException("Cluster does not have the shared block copy " +
+          "feature finalized yet. Rejecting the request to copy a key, " +
+          "please finalize the cluster upgrade and then try again.",
+          OMException.ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION);
+    }
+    return req;
+  }
+}
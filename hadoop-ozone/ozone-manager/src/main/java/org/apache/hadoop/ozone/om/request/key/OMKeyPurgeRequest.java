@@ -28,7 +28,9 @@
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ContainerBlockID;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.audit.AuditLogger;
@@ -143,6 +145,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
       }
       List<OmBucketInfo> bucketInfoList = updateBucketSize(purgeKeysRequest.getBucketPurgeKeysSizeList(),
           omMetadataManager);
+      Map<String, Long> sharedBlocksToUpdate = releaseSharedBlocks(
+          purgeKeysRequest.getReleasedSharedBlocksList(), omMetadataManager, context.getIndex());
 
       if (LOG.isDebugEnabled()) {
         Map<String, String> auditParams = new LinkedHashMap<>();
@@ -160,13 +164,38 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
         AUDIT.logWriteSuccess(ozoneManager.buildAuditMessageForSuccess(OMSystemAction.KEY_DELETION, auditParams));
       }
       return new OMKeyPurgeResponse(omResponse.build(), keysToBePurgedList, renamedKeysToBePurged, fromSnapshotInfo,
-          keysToUpdateList, bucketInfoList);
+          keysToUpdateList, bucketInfoList, sharedBlocksToUpdate);
     } catch (IOException e) {
       AUDIT.logWriteFailure(ozoneManager.buildAuditMessageForFailure(OMSystemAction.KEY_DELETION, null, e));
       return new OMKeyPurgeResponse(createErrorOMResponse(omResponse, e));
     }
   }
 
+  /**
+   * Decrements the reference count of the shared blocks released by the
+   * purged keys.
+   * @return the remaining count per block, null once no other key shares it.
+   */
+  private Map<String, Long> releaseSharedBlocks(List<ContainerBlockID> releasedBlocks,
+      OMMetadataManager omMetadataManager, long trxnLogIndex) throws IOException {
+    Map<String, Long> sharedBlocksToUpdate = new HashMap<>();
+    Table<String, Long> sharedBlockTable = omMetadataManager.getSharedBlockTable();
+    for (ContainerBlockID block : releasedBlocks) {
+      String sharedBlockKey = omMetadataManager.getSharedBlockKey(block.getContainerID(), block.getLocalID());
+      Long references = sharedBlocksToUpdate.containsKey(sharedBlockKey)
+          ? sharedBlocksToUpdate.get(sharedBlockKey) : sharedBlockTable.get(sharedBlockKey);
+      if (references != null && references > 1) {
+        sharedBlocksToUpdate.put(sharedBlockKey, references - 1);
+        sharedBlockTable.addCacheEntry(new CacheKey<>(sharedBlockKey),
+            CacheValue.get(trxnLogIndex, references - 1));
+      } else {
+        sharedBlocksToUpdate.put(sharedBlockKey, null);
+        sharedBlockTable.addCacheEntry(new CacheKey<>(sharedBlockKey), CacheValue.get(trxnLogIndex));
+      }
+    }
+    return sharedBlocksToUpdate;
+  }
+
   private List<OmBucketInfo> updateBucketSize(List<BucketPurgeKeysSize> bucketPurgeKeysSizeList,
       OMMetadataManager omMetadataManager) throws OMException {
     Map<String, Map<String, List<BucketPurgeKeysSize>>> bucketPurgeKeysSizes = new HashMap<>();
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.response.key;
+
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.BUCKET_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.DELETED_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.KEY_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.MULTIPART_INFO_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.MULTIPART_PARTS_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.SHARED_BLOCK_TABLE;
+
+import com.google.common.annotations.VisibleForTesting;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.util.Map;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartPartInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartPartKey;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+
+/**
+ * Response for CopyKey request.
+ */
+@CleanupTableInfo(cleanupTables = {KEY_TABLE, DELETED_TABLE, BUCKET_TABLE,
+    MULTIPART_INFO_TABLE, MULTIPART_PARTS_TABLE, SHARED_BLOCK_TABLE})
+public class OMKeyCopyResponse extends OmKeyResponse {
+
+  private String ozoneKeyName;
+  private OmKeyInfo omKeyInfo;
+  private String multipartKey;
+  private OmMultipartKeyInfo multipartKeyInfo;
+  private OmMultipartPartKey multipartPartKey;
+  private OmMultipartPartInfo multipartPartInfo;
+  private Map<String, RepeatedOmKeyInfo> keyToDeleteMap;
+  private OmBucketInfo omBucketInfo;
+  private Map<String, Long> sharedBlockCounts;
+
+  /**
+   * Regular response. Either the key or the multipart upload part fields
+   * are set, depending on the destination of the copy.
+   */
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  public OMKeyCopyResponse(@Nonnull OMResponse omResponse,
+      @Nullable String ozoneKeyName, @Nullable OmKeyInfo omKeyInfo,
+      @Nullable String multipartKey,
+      @Nullable OmMultipartKeyInfo multipartKeyInfo,
+      @Nullable OmMultipartPartKey multipartPartKey,
+      @Nullable OmMultipartPartInfo multipartPartInfo,
+      @Nullable Map<String, RepeatedOmKeyInfo> keyToDeleteMap,
+      @Nonnull OmBucketInfo omBucketInfo,
+      @Nonnull Map<String, Long> sharedBlockCounts,
+      @Nonnull BucketLayout bucketLayout) {
+    super(omResponse, bucketLayout);
+    this.ozoneKeyName = ozoneKeyName;
+    this.omKeyInfo = omKeyInfo;
+    this.multipartKey = multipartKey;
+    this.multipartKeyInfo = multipartKeyInfo;
+    this.multipartPartKey = multipartPartKey;
+    this.multipartPartInfo = multipartPartInfo;
+    this.keyToDeleteMap = keyToDeleteMap;
+    this.omBucketInfo = omBucketInfo;
+    this.sharedBlockCounts = sharedBlockCounts;
+  }
+
+  /**
+   * For when the request is not successful.
+   * For a successful request, the other constructor should be used.
+   */
+  public OMKeyCopyResponse(@Nonnull OMResponse omResponse,
+      @Nonnull BucketLayout bucketLayout) {
+    super(omResponse, bucketLayout);
+    checkStatusNotOK();
+  }
+
+  @Override
+  public void addToDBBatch(OMMetadataManager omMetadataManager,
+      BatchOperation batchOperation) throws IOException {
+    if (omKeyInfo != null) {
+      omMetadataManager.getKeyTable(getBucketLayout()).putWithBatch(
+          batchOperation, ozoneKeyName, omKeyInfo);
+    }
+    if (multipartKeyInfo != null) {
+      omMetadataManager.getMultipartInfoTable().putWithBatch(batchOperation,
+          multipartKey, multipartKeyInfo);
+    }
+    if (multipartPartKey != null && multipartPartInfo != null) {
+      omMetadataManager.getMultipartPartsTable().putWithBatch(batchOperation,
+          multipartPartKey, multipartPartInfo);
+    }
+
+    // Delete the overwritten key or part.
+    if (keyToDeleteMap != null) {
+      for (Map.Entry<String, RepeatedOmKeyInfo> entry
+          : keyToDeleteMap.entrySet()) {
+        omMetadataManager.getDeletedTable().putWithBatch(batchOperation,
+            entry.getKey(), entry.getValue());
+      }
+    }
+
+    for (Map.Entry<String, Long> entry : sharedBlockCounts.entrySet()) {
+      omMetadataManager.getSharedBlockTable().putWithBatch(batchOperation,
+          entry.getKey(), entry.getValue());
+    }
+
+    // update bucket usedBytes.
+    omMetadataManager.getBucketTable().putWithBatch(batchOperation,
+        omMetadataManager.getBucketKey(omBucketInfo.getVolumeName(),
+            omBucketInfo.getBucketName()), omBucketInfo);
+  }
+
+  @VisibleForTesting
+  public Map<String, Long> getSharedBlockCounts() {
+    return sharedBlockCounts;
+  }
+
+  @VisibleForTesting
+  public Map<String, RepeatedOmKeyInfo> getKeyToDeleteMap() {
+    return keyToDeleteMap;
+  }
+}
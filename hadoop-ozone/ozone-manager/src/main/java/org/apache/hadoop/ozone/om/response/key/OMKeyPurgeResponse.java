@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.om.response.key;
 
 import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.DELETED_TABLE;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.SHARED_BLOCK_TABLE;
 import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.SNAPSHOT_INFO_TABLE;
 import static org.apache.hadoop.ozone.om.lock.DAGLeveledResource.SNAPSHOT_DB_CONTENT_LOCK;
 import static org.apache.hadoop.ozone.om.response.snapshot.OMSnapshotMoveDeletedKeysResponse.createRepeatedOmKeyInfo;
@@ -26,6 +27,7 @@
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.DBStore;
@@ -49,13 +51,14 @@
 /**
  * Response for {@link OMKeyPurgeRequest} request.
  */
-@CleanupTableInfo(cleanupTables = {DELETED_TABLE, SNAPSHOT_INFO_TABLE})
+@CleanupTableInfo(cleanupTables = {DELETED_TABLE, SNAPSHOT_INFO_TABLE, SHARED_BLOCK_TABLE})
 public class OMKeyPurgeResponse extends OmKeyResponse {
   private List<OmBucketInfo> bucketInfosToBeUpdated;
   private List<String> purgeKeyList;
   private List<String> renamedList;
   private SnapshotInfo fromSnapshot;
   private List<SnapshotMoveKeyInfos> keysToUpdateList;
+  private Map<String, Long> sharedBlocksToUpdate;
 
   public OMKeyPurgeResponse(@Nonnull OMResponse omResponse,
       @Nonnull List<String> keyList,
@@ -63,12 +66,28 @@ public OMKeyPurgeResponse(@Nonnull OMResponse omResponse,
       SnapshotInfo fromSnapshot,
       List<SnapshotMoveKeyInfos> keysToUpdate,
       List<OmBucketInfo> bucketInfosToBeUpdated) {
+    this(omResponse, keyList, renamedList, fromSnapshot, keysToUpdate,
+        bucketInfosToBeUpdated, Collections.emptyMap());
+  }
+
+  /**
+   * @param sharedBlocksToUpdate remaining reference count of the shared
+   *     blocks released by the purged keys, a null count removes the entry.
+   */
+  public OMKeyPurgeResponse(@Nonnull OMResponse omResponse,
+      @Nonnull List<String> keyList,
+      @Nonnull List<String> renamedList,
+      SnapshotInfo fromSnapshot,
+      List<SnapshotMoveKeyInfos> keysToUpdate,
+      List<OmBucketInfo> bucketInfosToBeUpdated,
+      @Nonnull Map<String, Long> sharedBlocksToUpdate) {
     super(omResponse);
     this.purgeKeyList = keyList;
     this.renamedList = renamedList;
     this.fromSnapshot = fromSnapshot;
     this.keysToUpdateList = keysToUpdate;
     this.bucketInfosToBeUpdated = bucketInfosToBeUpdated == null ? Collections.emptyList() : bucketInfosToBeUpdated;
+    this.sharedBlocksToUpdate = sharedBlocksToUpdate;
   }
 
   /**
@@ -117,6 +136,15 @@ public void addToDBBatch(OMMetadataManager omMetadataManager,
       String bucketKey = omMetadataManager.getBucketKey(bucketInfo.getVolumeName(), bucketInfo.getBucketName());
       omMetadataManager.getBucketTable().putWithBatch(batchOperation, bucketKey, bucketInfo);
     }
+    // Shared block references live in the active DB even when purging
+    // from a snapshot.
+    for (Map.Entry<String, Long> entry : sharedBlocksToUpdate.entrySet()) {
+      if (entry.getValue() == null) {
+        omMetadataManager.getSharedBlockTable().deleteWithBatch(batchOperation, entry.getKey());
+      } else {
+        omMetadataManager.getSharedBlockTable().putWithBatch(batchOperation, entry.getKey(), entry.getValue());
+      }
+    }
   }
 
   private void processKeysToUpdate(BatchOperation batchOp,
@@ -28,6 +28,7 @@
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.utils.BackgroundService;
 import org.apache.hadoop.hdds.utils.BackgroundTask;
 import org.apache.hadoop.hdds.utils.BackgroundTaskQueue;
@@ -60,6 +61,7 @@ public abstract class AbstractKeyDeletingService extends BackgroundService
   private final AtomicLong callId;
   private final AtomicBoolean suspended;
   private final BootstrapStateHandler.Lock lock;
+  private volatile AdaptiveDeletionController deletionController;
 
   public AbstractKeyDeletingService(String serviceName, long interval,
       TimeUnit unit, int threadPoolSize, long serviceTimeout,
@@ -82,7 +84,29 @@ public AbstractKeyDeletingService(String serviceName, long interval,
   public abstract DeletingServiceTaskQueue getTasks();
 
   protected OMResponse submitRequest(OMRequest omRequest) throws ServiceException {
-    return OzoneManagerRatisUtils.submitRequest(ozoneManager, omRequest, clientId, callId.incrementAndGet());
+    final long startNanos = System.nanoTime();
+    try {
+      return OzoneManagerRatisUtils.submitRequest(ozoneManager, omRequest, clientId, callId.incrementAndGet());
+    } finally {
+      final AdaptiveDeletionController controller = deletionController;
+      if (controller != null) {
+        controller.recordSubmitLatency(System.nanoTime() - startNanos);
+      }
+    }
+  }
+
+  /**
+   * (Re)creates the controller which adapts the limit per task and the
+   * parallelism of the service to the OM load, starting from the given
+   * configured values.
+   */
+  protected void initDeletionController(ConfigurationSource conf, int baseLimit, int baseParallelism) {
+    this.deletionController = new AdaptiveDeletionController(getServiceName(), conf,
+        AdaptiveDeletionController.LoadSignals.of(ozoneManager), baseLimit, baseParallelism);
+  }
+
+  AdaptiveDeletionController getDeletionController() {
+    return deletionController;
   }
 
   final boolean shouldRun() {
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.service;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_DOUBLE_BUFFER_THRESHOLD;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_DOUBLE_BUFFER_THRESHOLD_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_MAX_MULTIPLIER;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_MAX_MULTIPLIER_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_RATIS_PENDING_THRESHOLD;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_RATIS_PENDING_THRESHOLD_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_TARGET_LATENCY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_TARGET_LATENCY_DEFAULT;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer;
+import org.apache.ratis.server.RaftServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sizes the batches and the concurrency of a deleting service from the
+ * current load of the OM.
+ * <p>
+ * Before each run the controller compares three signals with their
+ * configured thresholds: the number of committed but not yet applied Ratis
+ * log entries, the number of transactions waiting in the double buffer, and
+ * the latency of the purge requests submitted by the service itself.  The
+ * highest ratio is the pressure.  Above 1 the limit and the parallelism are
+ * halved, below 0.5 they grow additively back towards the configured
+ * maximum (additive increase, multiplicative decrease).
+ * <p>
+ * The controller also tracks the service's throughput to derive an ETA for
+ * the current deletion backlog.  When disabled it always returns the
+ * configured limit and parallelism.
+ */
+public class AdaptiveDeletionController {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AdaptiveDeletionController.class);
+
+  /** Weight of the newest sample in the moving averages. */
+  private static final double EWMA_ALPHA = 0.3;
+  private static final double HIGH_PRESSURE = 1.0;
+  private static final double LOW_PRESSURE = 0.5;
+
+  /**
+   * Live load signals of the OM.
+   */
+  public interface LoadSignals {
+    /** Committed Ratis log entries not yet applied to the state machine. */
+    long getRatisPendingCount();
+
+    /** Transactions applied but not yet flushed by the double buffer. */
+    long getDoubleBufferQueueDepth();
+
+    static LoadSignals of(OzoneManager om) {
+      return new OmLoadSignals(om);
+    }
+  }
+
+  private final String name;
+  private final boolean enabled;
+  private final LoadSignals signals;
+  private final int baseLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final int baseParallelism;
+  private final int maxParallelism;
+  private final long ratisPendingThreshold;
+  private final long doubleBufferThreshold;
+  private final long targetLatencyNanos;
+
+  private volatile int limit;
+  private volatile int parallelism;
+  private volatile double lastPressure;
+  private double avgSubmitLatencyNanos;
+  private double avgThroughputPerSec;
+
+  public AdaptiveDeletionController(String name, ConfigurationSource conf,
+      LoadSignals signals, int baseLimit, int baseParallelism) {
+    this.name = name;
+    this.enabled = conf.getBoolean(OZONE_OM_DELETION_ADAPTIVE_ENABLED,
+        OZONE_OM_DELETION_ADAPTIVE_ENABLED_DEFAULT);
+    this.signals = signals;
+    final int multiplier = Math.max(1, conf.getInt(
+        OZONE_OM_DELETION_ADAPTIVE_MAX_MULTIPLIER,
+        OZONE_OM_DELETION_ADAPTIVE_MAX_MULTIPLIER_DEFAULT));
+    this.baseLimit = baseLimit;
+    this.minLimit = Math.max(1, baseLimit / multiplier);
+    this.maxLimit = (int) Math.min(Integer.MAX_VALUE,
+        (long) baseLimit * multiplier);
+    this.baseParallelism = Math.max(1, baseParallelism);
+    this.maxParallelism = this.baseParallelism * multiplier;
+    this.ratisPendingThreshold = Math.max(1, conf.getLong(
+        OZONE_OM_DELETION_ADAPTIVE_RATIS_PENDING_THRESHOLD,
+        OZONE_OM_DELETION_ADAPTIVE_RATIS_PENDING_THRESHOLD_DEFAULT));
+    this.doubleBufferThreshold = Math.max(1, conf.getLong(
+        OZONE_OM_DELETION_ADAPTIVE_DOUBLE_BUFFER_THRESHOLD,
+        OZONE_OM_DELETION_ADAPTIVE_DOUBLE_BUFFER_THRESHOLD_DEFAULT));
+    this.targetLatencyNanos = Math.max(1, conf.getTimeDuration(
+        OZONE_OM_DELETION_ADAPTIVE_TARGET_LATENCY,
+        OZONE_OM_DELETION_ADAPTIVE_TARGET_LATENCY_DEFAULT,
+        TimeUnit.NANOSECONDS));
+    this.limit = baseLimit;
+    this.parallelism = this.baseParallelism;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getLimitPerTask() {
+    return limit;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  @VisibleForTesting
+  double getLastPressure() {
+    return lastPressure;
+  }
+
+  /**
+   * Records the round trip time of a purge request submitted by the service.
+   */
+  public synchronized void recordSubmitLatency(long nanos) {
+    avgSubmitLatencyNanos = avgSubmitLatencyNanos == 0 ? nanos
+        : EWMA_ALPHA * nanos + (1 - EWMA_ALPHA) * avgSubmitLatencyNanos;
+  }
+
+  /**
+   * Reads the load signals and adjusts the limit and parallelism for the
+   * next run.  Has no effect when adaptive deletion is disabled.
+   */
+  public synchronized void adjust() {
+    if (!enabled || baseLimit <= 0) {
+      return;
+    }
+    final double pressure = Math.max(
+        Math.max((double) signals.getRatisPendingCount() / ratisPendingThreshold,
+            (double) signals.getDoubleBufferQueueDepth() / doubleBufferThreshold),
+        avgSubmitLatencyNanos / targetLatencyNanos);
+    lastPressure = pressure;
+
+    final int oldLimit = limit;
+    final int oldParallelism = parallelism;
+    if (pressure > HIGH_PRESSURE) {
+      limit = Math.max(minLimit, limit / 2);
+      parallelism = Math.max(1, parallelism / 2);
+    } else if (pressure < LOW_PRESSURE) {
+      limit = Math.min(maxLimit, limit + Math.max(1, baseLimit / 2));
+      parallelism = Math.min(maxParallelism, parallelism + 1);
+    }
+    if (oldLimit != limit || oldParallelism != parallelism) {
+      LOG.info("{}: load pressure {}, changed limit per task {} -> {}, "
+          + "parallelism {} -> {}", name, String.format("%.2f", pressure),
+          oldLimit, limit, oldParallelism, parallelism);
+    }
+  }
+
+  /**
+   * Records the number of entries processed by a run.
+   */
+  public synchronized void recordRun(long processed, long elapsedMillis) {
+    if (elapsedMillis <= 0) {
+      return;
+    }
+    final double throughput = processed * 1000.0 / elapsedMillis;
+    avgThroughputPerSec = avgThroughputPerSec == 0 ? throughput
+        : EWMA_ALPHA * throughput + (1 - EWMA_ALPHA) * avgThroughputPerSec;
+  }
+
+  /**
+   * @return estimated seconds to process {@code backlog} entries at the
+   * recent throughput, or -1 if there is no throughput to estimate from.
+   */
+  public synchronized long getEtaSeconds(long backlog) {
+    if (backlog <= 0) {
+      return 0;
+    }
+    if (avgThroughputPerSec <= 0) {
+      return -1;
+    }
+    return (long) Math.ceil(backlog / avgThroughputPerSec);
+  }
+
+  /**
+   * Reads the load signals from the OM's Ratis server and double buffer.
+   */
+  private static final class OmLoadSignals implements LoadSignals {
+    private final OzoneManager om;
+
+    private OmLoadSignals(OzoneManager om) {
+      this.om = om;
+    }
+
+    @Override
+    public long getRatisPendingCount() {
+      final OzoneManagerRatisServer ratisServer = om.getOmRatisServer();
+      if (ratisServer == null) {
+        return 0;
+      }
+      try {
+        final RaftServer.Division division = ratisServer.getServerDivision();
+        return Math.max(0, division.getRaftLog().getLastCommittedIndex()
+            - division.getInfo().getLastAppliedIndex());
+      } catch (RuntimeException e) {
+        LOG.debug("Failed to read Ratis pending count", e);
+        return 0;
+      }
+    }
+
+    @Override
+    public long getDoubleBufferQueueDepth() {
+      final OzoneManagerRatisServer ratisServer = om.getOmRatisServer();
+      if (ratisServer == null || ratisServer.getOmStateMachine() == null) {
+        return 0;
+      }
+      return ratisServer.getOmStateMachine().getOzoneManagerDoubleBuffer()
+          .getUnflushedTransactionCount();
+    }
+  }
+}
@@ -193,6 +193,7 @@ public DirectoryDeletingService(long interval, TimeUnit unit,
     this.movedFilesCount = new AtomicLong(0);
     this.pathLimitPerTask =
         configuration.getInt(OZONE_PATH_DELETING_LIMIT_PER_TASK, OZONE_PATH_DELETING_LIMIT_PER_TASK_DEFAULT);
+    initDeletionController(configuration, pathLimitPerTask, dirDeletingServiceCorePoolSize);
   }
 
   public void registerReconfigCallbacks(ReconfigurationHandler handler) {
@@ -219,6 +220,7 @@ void updateAndRestart(OzoneConfiguration conf) {
       setInterval(newInterval, TimeUnit.SECONDS);
       setPoolSize(newCorePoolSize);
       this.numberOfParallelThreadsPerStore.set(newCorePoolSize);
+      initDeletionController(conf, pathLimitPerTask, newCorePoolSize);
       start();
     }
   }
@@ -228,6 +230,7 @@ public DeletingServiceTaskQueue getTasks() {
     resetDdsRoundStats();
     ddsRunStartMs = System.currentTimeMillis();
     getMetrics().setDdsCurRunTimestamp(ddsRunStartMs);
+    adjustScheduling();
     DeletingServiceTaskQueue queue = new DeletingServiceTaskQueue();
     queue.add(new DirDeletingTask(null));
     if (deepCleanSnapshots) {
@@ -246,6 +249,48 @@ public DeletingServiceTaskQueue getTasks() {
     return queue;
   }
 
+  /**
+   * Adapts the limit per task and the parallelism to the current OM load and
+   * publishes the deletion backlog and its ETA.
+   */
+  private void adjustScheduling() {
+    AdaptiveDeletionController controller = getDeletionController();
+    controller.adjust();
+    if (controller.isEnabled()) {
+      resizeDeletionThreadPool(controller.getParallelism());
+    }
+    long backlog = -1;
+    try {
+      Table<?, ?> table = getOzoneManager().getMetadataManager().getDeletedDirTable();
+      if (table != null) {
+        backlog = table.getEstimatedKeyCount();
+      }
+    } catch (IOException e) {
+      LOG.debug("Failed to estimate the number of deleted directories", e);
+    }
+    getMetrics().updateDdsScheduling(backlog, controller.getEtaSeconds(backlog),
+        controller.getLimitPerTask(), getParallelThreads());
+  }
+
+  private int getParallelThreads() {
+    AdaptiveDeletionController controller = getDeletionController();
+    return controller.isEnabled() ? controller.getParallelism() : numberOfParallelThreadsPerStore.get();
+  }
+
+  private void resizeDeletionThreadPool(int threads) {
+    if (!isThreadPoolActive(deletionThreadPool)) {
+      return;
+    }
+    ThreadPoolExecutor pool = getDeletionThreadPool();
+    if (threads > pool.getMaximumPoolSize()) {
+      pool.setMaximumPoolSize(threads);
+      pool.setCorePoolSize(threads);
+    } else if (threads < pool.getCorePoolSize()) {
+      pool.setCorePoolSize(threads);
+      pool.setMaximumPoolSize(threads);
+    }
+  }
+
   private void resetDdsRoundStats() {
     ddsRoundAosDirDel.set(0);
     ddsRoundAosSubDir.set(0);
@@ -274,6 +319,12 @@ protected void execTaskCompletion() {
     getMetrics().updateSnapDdsLastRunMetrics(
         ddsRoundSnapDirDel.get(), ddsRoundSnapSubDir.get(), ddsRoundSnapSubFile.get());
     getMetrics().setDdsLastRunTimestamp(ddsRunStartMs);
+    if (ddsRunStartMs > 0) {
+      getDeletionController().recordRun(
+          ddsRoundAosDirDel.get() + ddsRoundAosSubDir.get() + ddsRoundAosSubFile.get()
+              + ddsRoundSnapDirDel.get() + ddsRoundSnapSubDir.get() + ddsRoundSnapSubFile.get(),
+          System.currentTimeMillis() - ddsRunStartMs);
+    }
   }
 
   @Override
@@ -661,7 +712,7 @@ void processDeletedDirsForStore(SnapshotInfo currentSnapshotInfo, KeyManager key
         Map<UUID, Pair<Long, Long>> exclusiveSizeMap = Maps.newConcurrentMap();
 
         CompletableFuture<Boolean> processedAllDeletedDirs = CompletableFuture.completedFuture(true);
-        final int parallelThreads = numberOfParallelThreadsPerStore.get();
+        final int parallelThreads = getParallelThreads();
         for (int i = 0; i < parallelThreads; i++) {
           CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> {
             try {
@@ -829,7 +880,7 @@ public BackgroundTaskResult call() {
                   snapInfo.getName())) {
             KeyManager keyManager = snapInfo == null ? getOzoneManager().getKeyManager()
                 : omSnapshot.get().getKeyManager();
-            processDeletedDirsForStore(snapInfo, keyManager, run, pathLimitPerTask);
+            processDeletedDirsForStore(snapInfo, keyManager, run, getDeletionController().getLimitPerTask());
           }
         } catch (IOException | ExecutionException e) {
           LOG.error("Error while running delete files background task for store {}. Will retry at next run.",
@@ -20,6 +20,7 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT;
 import static org.apache.hadoop.ozone.util.ProtobufUtils.computeLongSizeWithTag;
+import static org.apache.hadoop.ozone.util.ProtobufUtils.computeMessageSizeWithTag;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -41,8 +42,10 @@
 import java.util.stream.Stream;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.HddsUtils;
+import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.StorageUnit;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.BackgroundTask;
@@ -50,9 +53,12 @@
 import org.apache.hadoop.hdds.utils.BackgroundTaskResult.EmptyTaskResult;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.ozone.ClientVersion;
+import org.apache.hadoop.ozone.common.BlockGroup;
 import org.apache.hadoop.ozone.common.DeleteBlockGroupResult;
+import org.apache.hadoop.ozone.common.DeletedBlock;
 import org.apache.hadoop.ozone.om.KeyManager;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
 import org.apache.hadoop.ozone.om.OmSnapshot;
 import org.apache.hadoop.ozone.om.OmSnapshotManager;
@@ -123,6 +129,7 @@ public KeyDeletingService(OzoneManager ozoneManager,
     // Use 90% of the actual Ratis limit to account for protobuf overhead and
     // prevent accidentally exceeding the hard limit during request serialization.
     this.ratisByteLimit = (int) Math.max(limit * RATIS_LIMIT_FACTOR, 1);
+    initDeletionController(conf, keyLimitPerTask, keyDeletionCorePoolSize);
   }
 
   /**
@@ -140,7 +147,11 @@ Pair<Pair<Integer, Long>, Boolean> processKeyDeletes(Map<String, PurgedKey> keyB
       String snapTableKey, UUID expectedPreviousSnapshotId) throws IOException {
     long startTime = Time.monotonicNow();
     Pair<Pair<Integer, Long>, Boolean> purgeResult = Pair.of(Pair.of(0, 0L), false);
-    
+
+    // Blocks shared with a copied key must not reach SCM; their reference
+    // count is decremented by the purge request instead.
+    keyBlocksList = releaseSharedBlocks(keyBlocksList);
+
     // Filter out empty files (files with no blocks) before sending to SCM
     Map<String, PurgedKey> nonEmptyKeyBlocksList = keyBlocksList.entrySet().stream()
         .filter(entry -> entry.getValue().getBlockGroup() != null && 
@@ -201,6 +212,64 @@ Pair<Pair<Integer, Long>, Boolean> processKeyDeletes(Map<String, PurgedKey> keyB
     return purgeResult;
   }
 
+  /**
+   * Removes the blocks that are still referenced by another key from the
+   * block groups sent to SCM. A key whose blocks are all shared becomes an
+   * empty key and is purged without an SCM call.
+   */
+  private Map<String, PurgedKey> releaseSharedBlocks(Map<String, PurgedKey> keyBlocksList)
+      throws IOException {
+    OMMetadataManager metadataManager = getOzoneManager().getMetadataManager();
+    Table<String, Long> sharedBlockTable = metadataManager.getSharedBlockTable();
+    // References released by earlier keys of this run.
+    Map<String, Long> remainingReferences = new HashMap<>();
+    Map<String, PurgedKey> result = new HashMap<>(keyBlocksList.size());
+    for (Map.Entry<String, PurgedKey> entry : keyBlocksList.entrySet()) {
+      PurgedKey purgedKey = entry.getValue();
+      BlockGroup blockGroup = purgedKey.getBlockGroup();
+      if (blockGroup == null || blockGroup.getDeletedBlocks() == null) {
+        result.put(entry.getKey(), purgedKey);
+        continue;
+      }
+      List<DeletedBlock> blocksToDelete = new ArrayList<>();
+      List<BlockID> released = new ArrayList<>();
+      for (DeletedBlock block : blockGroup.getDeletedBlocks()) {
+        BlockID blockID = block.getBlockID();
+        String sharedBlockKey = metadataManager.getSharedBlockKey(
+            blockID.getContainerID(), blockID.getLocalID());
+        Long references = remainingReferences.containsKey(sharedBlockKey)
+            ? remainingReferences.get(sharedBlockKey) : sharedBlockTable.get(sharedBlockKey);
+        if (references != null && references > 0) {
+          remainingReferences.put(sharedBlockKey, references - 1);
+          released.add(blockID);
+        } else {
+          blocksToDelete.add(block);
+        }
+      }
+      if (!released.isEmpty()) {
+        LOG.debug("Key {} releases {} shared block(s) instead of deleting them.",
+            purgedKey.getDeleteKeyName(), released.size());
+        purgedKey = purgedKey.withReleasedSharedBlocks(BlockGroup.newBuilder()
+            .setKeyName(blockGroup.getGroupID())
+            .addAllDeletedBlocks(blocksToDelete)
+            .build(), released);
+      }
+      result.put(entry.getKey(), purgedKey);
+    }
+    return result;
+  }
+
+  private static int addReleasedSharedBlocks(PurgeKeysRequest.Builder requestBuilder, PurgedKey purgedKey) {
+    int estimatedSize = 0;
+    for (BlockID blockID : purgedKey.getReleasedSharedBlocks()) {
+      HddsProtos.ContainerBlockID block = blockID.getContainerBlockID().getProtobuf();
+      requestBuilder.addReleasedSharedBlocks(block);
+      // Field number 7 in PurgeKeysRequest proto corresponds to releasedSharedBlocks.
+      estimatedSize += computeMessageSizeWithTag(7, block);
+    }
+    return estimatedSize;
+  }
+
   private static final class BucketPurgeSize {
     private BucketNameInfo bucket;
     private long purgedBytes;
@@ -374,7 +443,8 @@ private Pair<Pair<Integer, Long>, Boolean> submitPurgeKeysRequest(
           if (purgedKey.isCommittedKey()) {
             currSize += increaseBucketPurgeSize(bucketPurgeKeysSizeMap, purgedKey);
           }
-        } else if (purgedKey.isCommittedKey()) {
+          currSize += addReleasedSharedBlocks(requestBuilder, purgedKey);
+        } else {
           modifiedKeyPurgedKeys.computeIfAbsent(deletedKey, k -> new ArrayList<>()).add(purgedKey);
         }
         purgeKeyIndex++;
@@ -390,6 +460,7 @@ private Pair<Pair<Integer, Long>, Boolean> submitPurgeKeysRequest(
             if (purgedKey.isCommittedKey()) {
               currSize += increaseBucketPurgeSize(bucketPurgeKeysSizeMap, purgedKey);
             }
+            currSize += addReleasedSharedBlocks(requestBuilder, purgedKey);
           }
         }
         currSize += estimatedSize;
@@ -483,6 +554,11 @@ protected void execTaskCompletion() {
         snapshotDeletionStats.reclaimedKeySize.get(), snapshotDeletionStats.iteratedKeyCount.get(),
         snapshotDeletionStats.notReclaimableKeyCount.get());
     getMetrics().setKdsLastRunTimestamp(latestRunTimestamp);
+    if (latestRunTimestamp > 0) {
+      getDeletionController().recordRun(
+          aosDeletionStats.iteratedKeyCount.get() + snapshotDeletionStats.iteratedKeyCount.get(),
+          System.currentTimeMillis() - latestRunTimestamp);
+    }
   }
 
   /**
@@ -498,6 +574,7 @@ private void resetMetrics() {
   @Override
   public DeletingServiceTaskQueue getTasks() {
     resetMetrics();
+    adjustScheduling();
     DeletingServiceTaskQueue queue = new DeletingServiceTaskQueue();
     queue.add(new KeyDeletingTask(null));
     if (deepCleanSnapshots) {
@@ -522,6 +599,27 @@ public int getKeyLimitPerTask() {
 
   public void setKeyLimitPerTask(int keyLimitPerTask) {
     this.keyLimitPerTask = keyLimitPerTask;
+    initDeletionController(getOzoneManager().getConfiguration(), keyLimitPerTask,
+        getDeletionController().getParallelism());
+  }
+
+  /**
+   * Adapts the limit per task to the current OM load and publishes the
+   * deletion backlog and its ETA.
+   */
+  private void adjustScheduling() {
+    AdaptiveDeletionController controller = getDeletionController();
+    controller.adjust();
+    long backlog = -1;
+    try {
+      Table<?, ?> table = getOzoneManager().getMetadataManager().getDeletedTable();
+      if (table != null) {
+        backlog = table.getEstimatedKeyCount();
+      }
+    } catch (IOException e) {
+      LOG.debug("Failed to estimate the number of deleted keys", e);
+    }
+    getMetrics().updateKdsScheduling(backlog, controller.getEtaSeconds(backlog), controller.getLimitPerTask());
   }
 
   /**
@@ -672,7 +770,7 @@ public BackgroundTaskResult call() {
         } else {
           LOG.debug("Running KeyDeletingService for snapshot : {}, {}", snapshotId, run);
         }
-        int remainNum = keyLimitPerTask;
+        int remainNum = getDeletionController().getLimitPerTask();
         OmSnapshotManager omSnapshotManager = getOzoneManager().getOmSnapshotManager();
         SnapshotInfo snapInfo = null;
         try {
@@ -29,8 +29,10 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.MutableGraph;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -49,6 +51,10 @@
 import java.util.Stack;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -288,7 +294,7 @@ private void addMissingSnapshotYamlFiles(
   }
 
   void addVersionNodeWithDependents(OmSnapshotLocalData snapshotLocalData) throws IOException {
-    addVersionNodeWithDependents(snapshotLocalData, null);
+    addVersionNodeWithDependents(snapshotLocalData, null, Collections.emptyMap());
   }
 
   /**
@@ -301,13 +307,14 @@ void addVersionNodeWithDependents(OmSnapshotLocalData snapshotLocalData) throws
    * @param failedFilePaths when non-null, a previous snapshot YAML that cannot be loaded or whose snapshotId does not
    *     match its path is skipped instead of thrown, and its path is recorded here so it is not reloaded during
    *     startup (a path recorded here is not logged again on subsequent lookups)
+   * @param preloadedLocalData snapshot local data already being loaded, keyed by the absolute YAML path
    * @return true if the snapshot local data was added or was already present, false if skipped due to an unloadable or
    *     mismatched previous snapshot
    * @throws IOException if a required YAML load fails, or the loaded snapshotId does not match, when failedFilePaths is
    *     null
    */
-  private boolean addVersionNodeWithDependents(OmSnapshotLocalData snapshotLocalData, Set<String> failedFilePaths)
-      throws IOException {
+  private boolean addVersionNodeWithDependents(OmSnapshotLocalData snapshotLocalData, Set<String> failedFilePaths,
+      Map<String, Future<OmSnapshotLocalData>> preloadedLocalData) throws IOException {
     if (versionNodeMap.containsKey(snapshotLocalData.getSnapshotId())) {
       return true;
     }
@@ -328,7 +335,7 @@ private boolean addVersionNodeWithDependents(OmSnapshotLocalData snapshotLocalDa
           OmSnapshotLocalData prevSnapshotLocalData;
           if (failedFilePaths != null) {
             Optional<OmSnapshotLocalData> loadedLocalData =
-                tryLoadSnapshotLocalData(previousSnapshotLocalDataFile, failedFilePaths);
+                tryLoadSnapshotLocalData(previousSnapshotLocalDataFile, failedFilePaths, preloadedLocalData);
             if (!loadedLocalData.isPresent()) {
               // tryLoadSnapshotLocalData recorded this path in failedFilePaths (logging the underlying failure the
               // first time it was seen). Skip this snapshot so it is not added to the version graph.
@@ -336,7 +343,7 @@ private boolean addVersionNodeWithDependents(OmSnapshotLocalData snapshotLocalDa
             }
             prevSnapshotLocalData = loadedLocalData.get();
           } else {
-            prevSnapshotLocalData = snapshotLocalDataSerializer.load(previousSnapshotLocalDataFile);
+            prevSnapshotLocalData = loadSnapshotLocalData(previousSnapshotLocalDataFile, preloadedLocalData);
           }
           if (!prevSnapId.equals(prevSnapshotLocalData.getSnapshotId())) {
             String mismatch = "Expected SnapshotId " + prevSnapId +
@@ -358,13 +365,14 @@ private boolean addVersionNodeWithDependents(OmSnapshotLocalData snapshotLocalDa
     return true;
   }
 
-  private Optional<OmSnapshotLocalData> tryLoadSnapshotLocalData(File localDataFile, Set<String> failedFilePaths) {
+  private Optional<OmSnapshotLocalData> tryLoadSnapshotLocalData(File localDataFile, Set<String> failedFilePaths,
+      Map<String, Future<OmSnapshotLocalData>> preloadedLocalData) {
     String path = localDataFile.getAbsolutePath();
     if (failedFilePaths.contains(path)) {
       return Optional.empty();
     }
     try {
-      return Optional.of(snapshotLocalDataSerializer.load(localDataFile));
+      return Optional.of(loadSnapshotLocalData(localDataFile, preloadedLocalData));
     } catch (IOException e) {
       failedFilePaths.add(path);
       LOG.error("Skipping snapshot local data file {} because it could not be loaded. " +
@@ -373,6 +381,42 @@ private Optional<OmSnapshotLocalData> tryLoadSnapshotLocalData(File localDataFil
     }
   }
 
+  /**
+   * Returns the snapshot local data of the YAML file, taking it from the preloaded data if it is there.
+   */
+  private OmSnapshotLocalData loadSnapshotLocalData(File localDataFile,
+      Map<String, Future<OmSnapshotLocalData>> preloadedLocalData) throws IOException {
+    Future<OmSnapshotLocalData> preloaded = preloadedLocalData.get(localDataFile.getAbsolutePath());
+    if (preloaded == null) {
+      return snapshotLocalDataSerializer.load(localDataFile);
+    }
+    try {
+      return preloaded.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while loading " + localDataFile.getAbsolutePath());
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to load " + localDataFile.getAbsolutePath(), e.getCause());
+    }
+  }
+
+  /**
+   * Starts parsing all the snapshot local data YAML files in parallel, so that building the version graph does
+   * not parse them one at a time.
+   */
+  private Map<String, Future<OmSnapshotLocalData>> preloadSnapshotLocalData(File[] localDataFiles,
+      ExecutorService executor) {
+    Map<String, Future<OmSnapshotLocalData>> preloaded = new HashMap<>();
+    for (File localDataFile : localDataFiles) {
+      preloaded.put(localDataFile.getAbsolutePath(),
+          executor.submit(() -> snapshotLocalDataSerializer.load(localDataFile)));
+    }
+    return preloaded;
+  }
+
   private void incrementOrphanCheckCount(UUID snapshotId) {
     if (snapshotId != null) {
       this.snapshotToBeCheckedForOrphans.compute(snapshotId, (k, v) -> v == null ? 1 : (v + 1));
@@ -416,27 +460,17 @@ private void init(OzoneConfiguration configuration, SnapshotChainManager chainMa
     }
     Arrays.sort(localDataFiles, Comparator.comparing(File::getName));
     Set<String> failedFilePaths = new HashSet<>();
-    for (File localDataFile : localDataFiles) {
-      Optional<OmSnapshotLocalData> loadedLocalData = tryLoadSnapshotLocalData(localDataFile, failedFilePaths);
-      if (!loadedLocalData.isPresent()) {
-        continue;
-      }
-      OmSnapshotLocalData snapshotLocalData = loadedLocalData.get();
-      File file = new File(getSnapshotLocalPropertyYamlPath(snapshotLocalData.getSnapshotId()));
-      String expectedPath = file.getAbsolutePath();
-      String actualPath = localDataFile.getAbsolutePath();
-      if (!expectedPath.equals(actualPath)) {
-        failedFilePaths.add(actualPath);
-        LOG.error("Skipping snapshot local data file {} because its stored snapshotId {} does not match its path. " +
-            "Expected path: {}.", actualPath, snapshotLocalData.getSnapshotId(), expectedPath);
-        continue;
-      }
-      if (!addVersionNodeWithDependents(snapshotLocalData, failedFilePaths)) {
-        // A previous snapshot in the dependency chain could not be loaded, so this snapshot was not added to the
-        // version graph. Record its path as failed so later snapshots that depend on it short-circuit in
-        // tryLoadSnapshotLocalData instead of reparsing this YAML.
-        failedFilePaths.add(actualPath);
+    ExecutorService loadExecutor = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(localDataFiles.length, Runtime.getRuntime().availableProcessors())),
+        new ThreadFactoryBuilder().setNameFormat("SnapshotLocalDataLoader-%d").setDaemon(true).build());
+    try {
+      Map<String, Future<OmSnapshotLocalData>> preloadedLocalData =
+          preloadSnapshotLocalData(localDataFiles, loadExecutor);
+      for (File localDataFile : localDataFiles) {
+        loadVersionNode(localDataFile, failedFilePaths, preloadedLocalData);
       }
+    } finally {
+      loadExecutor.shutdownNow();
     }
     for (UUID snapshotId : versionNodeMap.keySet()) {
       incrementOrphanCheckCount(snapshotId);
@@ -459,6 +493,31 @@ private void init(OzoneConfiguration configuration, SnapshotChainManager chainMa
 
   }
 
+  private void loadVersionNode(File localDataFile, Set<String> failedFilePaths,
+      Map<String, Future<OmSnapshotLocalData>> preloadedLocalData) throws IOException {
+    Optional<OmSnapshotLocalData> loadedLocalData =
+        tryLoadSnapshotLocalData(localDataFile, failedFilePaths, preloadedLocalData);
+    if (!loadedLocalData.isPresent()) {
+      return;
+    }
+    OmSnapshotLocalData snapshotLocalData = loadedLocalData.get();
+    File file = new File(getSnapshotLocalPropertyYamlPath(snapshotLocalData.getSnapshotId()));
+    String expectedPath = file.getAbsolutePath();
+    String actualPath = localDataFile.getAbsolutePath();
+    if (!expectedPath.equals(actualPath)) {
+      failedFilePaths.add(actualPath);
+      LOG.error("Skipping snapshot local data file {} because its stored snapshotId {} does not match its path. " +
+          "Expected path: {}.", actualPath, snapshotLocalData.getSnapshotId(), expectedPath);
+      return;
+    }
+    if (!addVersionNodeWithDependents(snapshotLocalData, failedFilePaths, preloadedLocalData)) {
+      // A previous snapshot in the dependency chain could not be loaded, so this snapshot was not added to the
+      // version graph. Record its path as failed so later snapshots that depend on it short-circuit in
+      // tryLoadSnapshotLocalData instead of reparsing this YAML.
+      failedFilePaths.add(actualPath);
+    }
+  }
+
   private void checkOrphanSnapshotVersions(OMMetadataManager metadataManager, SnapshotChainManager chainManager)
       throws IOException {
     for (Map.Entry<UUID, Integer> entry : snapshotToBeCheckedForOrphans.entrySet()) {
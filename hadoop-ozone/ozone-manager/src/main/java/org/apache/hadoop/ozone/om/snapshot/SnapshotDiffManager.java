@@ -29,6 +29,8 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_OM_SNAPSHOT_LOAD_NATIVE_LIB_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_DISABLE_NATIVE_LIBS;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_DISABLE_NATIVE_LIBS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME;
@@ -67,6 +69,7 @@
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import jakarta.annotation.Nonnull;
 import java.io.BufferedWriter;
 import java.io.File;
@@ -81,19 +84,25 @@
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -186,6 +195,21 @@ public class SnapshotDiffManager implements AutoCloseable, SnapshotDiffManagerMX
    */
   private final PersistentMap<String, SnapshotDiffJob> snapDiffJobTable;
   private final ExecutorService snapDiffExecutor;
+
+  /**
+   * Number of key ranges the delta SST files of a job are split into.
+   */
+  private final int deltaShards;
+
+  /**
+   * Scans key ranges of the delta SST files in parallel. Shared by all the
+   * jobs, null if the delta files are scanned serially.
+   */
+  private final ExecutorService deltaShardExecutor;
+
+  private final Map<DiffPhase, LongAdder> phaseTimeMillis =
+      new EnumMap<>(DiffPhase.class);
+  private final LongAdder deltaShardsScanned = new LongAdder();
   private ObjectName snapshotDiffManagerBeanName;
 
   /**
@@ -270,6 +294,21 @@ public SnapshotDiffManager(ManagedRocksDB db,
             .build()
     );
 
+    this.deltaShards = Math.max(1, ozoneManager.getConfiguration().getInt(
+        OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS,
+        OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS_DEFAULT));
+    this.deltaShardExecutor = deltaShards <= 1 ? null
+        : new ThreadPoolExecutor(deltaShards, deltaShards, 0,
+            TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat(ozoneManager.getThreadNamePrefix() +
+                    "snapshot-diff-delta-shard-thread-id-%d")
+                .setDaemon(true)
+                .build());
+    for (DiffPhase phase : DiffPhase.values()) {
+      phaseTimeMillis.put(phase, new LongAdder());
+    }
+
     RDBStore rdbStore = (RDBStore) ozoneManager.getMetadataManager().getStore();
     Objects.requireNonNull(rdbStore, "DBStore can't be null.");
     Path path = Paths.get(rdbStore.getSnapshotMetadataDir(), "snapDiff");
@@ -1133,6 +1172,7 @@ void generateSnapshotDiffReport(final String jobKey,
           },
           () -> {
             if (bucketLayout.isFileSystemOptimized()) {
+              final long startNanos = System.nanoTime();
               long bucketId = toSnapshot.getMetadataManager()
                   .getBucketId(volumeName, bucketName);
               String tablePrefix = tablePrefixes.getTablePrefix(fromSnapshot.getMetadataManager()
@@ -1145,11 +1185,13 @@ void generateSnapshotDiffReport(final String jobKey,
                   tablePrefix, bucketId,
                   toSnapshot.getMetadataManager().getDirectoryTable())
                   .getAbsolutePathForObjectIDs(newParentIds, true));
+              addPhaseTime(DiffPhase.PATH_RESOLUTION, startNanos);
             }
             return null;
           },
           () -> {
             recordActivity(jobKey, DIFF_REPORT_GEN);
+            final long startNanos = System.nanoTime();
             Pair<Long, String> reportEntries = generateDiffReport(jobId,
                 fsKeyTable,
                 tsKeyTable,
@@ -1162,6 +1204,7 @@ void generateSnapshotDiffReport(final String jobKey,
                 fromSnapshotName, toSnapshotName,
                 bucketLayout.isFileSystemOptimized(), oldParentIdPathMap,
                 newParentIdPathMap, tablePrefixes);
+            addPhaseTime(DiffPhase.REPORT_GENERATION, startNanos);
             // If job is cancelled, totalDiffEntries will be equal to -1.
             if (reportEntries.getKey() >= 0 &&
                 areDiffJobAndSnapshotsActive(volumeName, bucketName,
@@ -1224,14 +1267,20 @@ private void getDeltaFilesAndDiffKeysToObjectIdToKeyMap(
       final DeltaFileComputer deltaFileComputer, final String jobKey) throws IOException, RocksDBException {
 
     Set<String> tablesToLookUp = Collections.singleton(fsTable.getName());
+    long startNanos = System.nanoTime();
     Collection<Pair<Path, SstFileInfo>> deltaFiles = deltaFileComputer.getDeltaFiles(fsInfo, tsInfo,
         tablesToLookUp);
+    addPhaseTime(DiffPhase.DELTA_FILE_COMPUTATION, startNanos);
     if (LOG.isDebugEnabled()) {
       LOG.debug("Computed Delta SST File Set, Total count = {} ", deltaFiles.size());
     }
+    List<String> deltaFileStartKeys = deltaFiles.stream().map(Pair::getRight).filter(Objects::nonNull)
+        .map(SstFileInfo::getStartKey).filter(Objects::nonNull).collect(Collectors.toList());
+    startNanos = System.nanoTime();
     addToObjectIdMap(fsTable, tsTable, deltaFiles.stream().map(Pair::getLeft).collect(Collectors.toList()),
         !skipNativeDiff, oldObjIdToKeyMap, newObjIdToKeyMap, objectIdToIsDirMap, oldParentIds,
-        newParentIds, tablePrefixes, jobKey);
+        newParentIds, tablePrefixes, jobKey, deltaFileStartKeys);
+    addPhaseTime(DiffPhase.OBJECT_ID_MAP_GENERATION, startNanos);
   }
 
   @VisibleForTesting
@@ -1245,44 +1294,174 @@ void addToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
       Optional<Set<Long>> oldParentIds,
       Optional<Set<Long>> newParentIds,
       TablePrefixInfo tablePrefixes, String jobKey) throws IOException, RocksDBException {
+    addToObjectIdMap(fsTable, tsTable, deltaFiles, nativeRocksToolsLoaded,
+        oldObjIdToKeyMap, newObjIdToKeyMap, objectIdToIsDirMap, oldParentIds,
+        newParentIds, tablePrefixes, jobKey, Collections.emptyList());
+  }
+
+  /**
+   * Adds the keys changed in the delta SST files to the object id maps.
+   * <p>
+   * If parallel scanning is enabled, the key range of the table is split
+   * at the start keys of the delta files into up to
+   * {@link #deltaShards} ranges, and each range is scanned with its own
+   * {@link SstFileSetReader} on {@link #deltaShardExecutor}. The object id
+   * maps are keyed by object id, so the ranges can be written
+   * concurrently; the parent ids of each range are merged afterwards.
+   */
+  @VisibleForTesting
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  void addToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
+      Table<String, ? extends WithParentObjectId> tsTable,
+      Collection<Path> deltaFiles, boolean nativeRocksToolsLoaded,
+      PersistentMap<byte[], byte[]> oldObjIdToKeyMap,
+      PersistentMap<byte[], byte[]> newObjIdToKeyMap,
+      PersistentMap<byte[], Boolean> objectIdToIsDirMap,
+      Optional<Set<Long>> oldParentIds,
+      Optional<Set<Long>> newParentIds,
+      TablePrefixInfo tablePrefixes, String jobKey,
+      Collection<String> deltaFileStartKeys) throws IOException, RocksDBException {
     if (deltaFiles.isEmpty()) {
       return;
     }
     String tablePrefix = tablePrefixes.getTablePrefix(fsTable.getName());
-    boolean isDirectoryTable = fsTable.getName().equals(DIRECTORY_TABLE);
     SstFileSetReader sstFileReader = new SstFileSetReader(deltaFiles);
     validateEstimatedKeyChangesAreInLimits(sstFileReader);
-    long totalEstimatedKeysToProcess = sstFileReader.getEstimatedTotalKeys();
+    ObjectIdMapProgress progress = new ObjectIdMapProgress(jobKey, sstFileReader.getEstimatedTotalKeys());
     String sstFileReaderLowerBound = tablePrefix;
     String sstFileReaderUpperBound = null;
-    double stepIncreasePct = 0.1;
-    double[] checkpoint = new double[1];
-    checkpoint[0] = stepIncreasePct;
     if (Strings.isNotEmpty(tablePrefix)) {
       sstFileReaderUpperBound = getLexicographicallyHigherString(tablePrefix);
     }
+    List<String> splitKeys = deltaShardExecutor == null ? Collections.emptyList()
+        : getShardSplitKeys(deltaFileStartKeys, sstFileReaderLowerBound, sstFileReaderUpperBound, deltaShards);
+    if (splitKeys.isEmpty()) {
+      addKeyRangeToObjectIdMap(fsTable, tsTable, sstFileReader, sstFileReaderLowerBound, sstFileReaderUpperBound,
+          nativeRocksToolsLoaded, oldObjIdToKeyMap, newObjIdToKeyMap, objectIdToIsDirMap, oldParentIds,
+          newParentIds, tablePrefix, progress);
+      deltaShardsScanned.increment();
+      return;
+    }
+
+    List<String> bounds = new ArrayList<>(splitKeys.size() + 2);
+    bounds.add(sstFileReaderLowerBound);
+    bounds.addAll(splitKeys);
+    bounds.add(sstFileReaderUpperBound);
+    LOG.debug("Scanning {} delta SST files of table {} in {} key ranges for job {}",
+        deltaFiles.size(), fsTable.getName(), bounds.size() - 1, jobKey);
+    List<Future<Pair<Optional<Set<Long>>, Optional<Set<Long>>>>> futures = new ArrayList<>();
+    for (int i = 0; i < bounds.size() - 1; i++) {
+      final String lowerBound = bounds.get(i);
+      final String upperBound = bounds.get(i + 1);
+      final Optional<Set<Long>> shardOldParentIds = oldParentIds.map(ids -> new HashSet<>());
+      final Optional<Set<Long>> shardNewParentIds = newParentIds.map(ids -> new HashSet<>());
+      final SstFileSetReader shardReader = new SstFileSetReader(deltaFiles);
+      futures.add(deltaShardExecutor.submit(() -> {
+        addKeyRangeToObjectIdMap(fsTable, tsTable, shardReader, lowerBound, upperBound,
+            nativeRocksToolsLoaded, oldObjIdToKeyMap, newObjIdToKeyMap, objectIdToIsDirMap, shardOldParentIds,
+            shardNewParentIds, tablePrefix, progress);
+        return Pair.of(shardOldParentIds, shardNewParentIds);
+      }));
+    }
+    try {
+      for (Future<Pair<Optional<Set<Long>>, Optional<Set<Long>>>> future : futures) {
+        Pair<Optional<Set<Long>>, Optional<Set<Long>>> shardParentIds = future.get();
+        oldParentIds.ifPresent(ids -> ids.addAll(shardParentIds.getLeft().get()));
+        newParentIds.ifPresent(ids -> ids.addAll(shardParentIds.getRight().get()));
+        deltaShardsScanned.increment();
+      }
+    } catch (InterruptedException e) {
+      stopShards(progress, futures);
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while scanning delta SST files for job " + jobKey, e);
+    } catch (ExecutionException e) {
+      stopShards(progress, futures);
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RocksDBException) {
+        throw (RocksDBException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("Failed to scan delta SST files for job " + jobKey, cause);
+    }
+  }
+
+  /**
+   * Stops the shards of a failed scan and waits for all of them, so that none
+   * of them still writes to the object id maps once the scan has failed.
+   */
+  private static void stopShards(ObjectIdMapProgress progress, List<? extends Future<?>> futures) {
+    progress.stop();
+    for (Future<?> future : futures) {
+      try {
+        Uninterruptibles.getUninterruptibly(future);
+      } catch (ExecutionException e) {
+        LOG.debug("Delta SST file shard failed after the scan was stopped", e.getCause());
+      }
+    }
+  }
+
+  /**
+   * Picks up to {@code shards - 1} keys, strictly inside the given bounds,
+   * that split the start keys of the delta files into ranges of roughly the
+   * same number of files.
+   */
+  @VisibleForTesting
+  static List<String> getShardSplitKeys(Collection<String> deltaFileStartKeys,
+      String lowerBound, String upperBound, int shards) {
+    TreeSet<String> candidates = new TreeSet<>();
+    for (String key : deltaFileStartKeys) {
+      if ((lowerBound == null || key.compareTo(lowerBound) > 0)
+          && (upperBound == null || key.compareTo(upperBound) < 0)) {
+        candidates.add(key);
+      }
+    }
+    if (shards <= 1 || candidates.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> sorted = new ArrayList<>(candidates);
+    if (sorted.size() < shards) {
+      return sorted;
+    }
+    List<String> splitKeys = new ArrayList<>(shards - 1);
+    for (int i = 1; i < shards; i++) {
+      String key = sorted.get(i * sorted.size() / shards);
+      if (splitKeys.isEmpty() || !splitKeys.get(splitKeys.size() - 1).equals(key)) {
+        splitKeys.add(key);
+      }
+    }
+    return splitKeys;
+  }
+
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  private void addKeyRangeToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
+      Table<String, ? extends WithParentObjectId> tsTable,
+      SstFileSetReader sstFileReader, String lowerBound, String upperBound,
+      boolean nativeRocksToolsLoaded,
+      PersistentMap<byte[], byte[]> oldObjIdToKeyMap,
+      PersistentMap<byte[], byte[]> newObjIdToKeyMap,
+      PersistentMap<byte[], Boolean> objectIdToIsDirMap,
+      Optional<Set<Long>> oldParentIds,
+      Optional<Set<Long>> newParentIds,
+      String tablePrefix, ObjectIdMapProgress progress) throws IOException {
+    boolean isDirectoryTable = fsTable.getName().equals(DIRECTORY_TABLE);
     try (ClosableIterator<String> keysToCheck = nativeRocksToolsLoaded ?
-        sstFileReader.getKeyStreamWithTombstone(sstFileReaderLowerBound, sstFileReaderUpperBound)
-        : sstFileReader.getKeyStream(sstFileReaderLowerBound, sstFileReaderUpperBound);
+        sstFileReader.getKeyStreamWithTombstone(lowerBound, upperBound)
+        : sstFileReader.getKeyStream(lowerBound, upperBound);
          TableMergeIterator<String, WithParentObjectId> tableMergeIterator = new TableMergeIterator<>(keysToCheck,
              tablePrefix, (Table<String, WithParentObjectId>) fsTable, (Table<String, WithParentObjectId>) tsTable)) {
-      AtomicLong keysProcessed = new AtomicLong(0);
-      while (tableMergeIterator.hasNext()) {
+      while (!progress.isStopped() && tableMergeIterator.hasNext()) {
         Table.KeyValue<String, List<WithParentObjectId>> kvs = tableMergeIterator.next();
         String key = kvs.getKey();
-        if (totalEstimatedKeysToProcess > 0) {
-          double progressPct = (double) keysProcessed.get() / totalEstimatedKeysToProcess;
-          if (progressPct >= checkpoint[0]) {
-            updateProgress(jobKey, progressPct);
-            checkpoint[0] += stepIncreasePct;
-          }
-        }
+        progress.checkpoint();
 
         try {
           final WithParentObjectId fromObjectId = kvs.getValue().get(0);
           final WithParentObjectId toObjectId = kvs.getValue().get(1);
           if (areKeysEqual(fromObjectId, toObjectId)) {
-            keysProcessed.getAndIncrement();
+            progress.increment();
             continue;
           }
           if (fromObjectId != null) {
@@ -1306,7 +1485,7 @@ void addToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
             newParentIds.ifPresent(set -> set.add(toObjectId
                 .getParentObjectID()));
           }
-          keysProcessed.getAndIncrement();
+          progress.increment();
         } catch (IOException e) {
           throw new RuntimeException(e);
         }
@@ -1702,6 +1881,23 @@ public List<SnapshotDiffJob> getSnapshotDiffJobs() {
     return jobs;
   }
 
+  @Override
+  public Map<String, Long> getPhaseTimeMillis() {
+    Map<String, Long> phaseTimes = new LinkedHashMap<>();
+    phaseTimeMillis.forEach((phase, time) -> phaseTimes.put(phase.name(), time.sum()));
+    return phaseTimes;
+  }
+
+  @Override
+  public long getDeltaShardsScanned() {
+    return deltaShardsScanned.sum();
+  }
+
+  private void addPhaseTime(DiffPhase phase, long startNanos) {
+    phaseTimeMillis.get(phase).add(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+  }
+
   private void registerMXBean() {
     this.snapshotDiffManagerBeanName = HddsUtils.registerWithJmxProperties(
         "OzoneManager", "SnapshotDiffManager",
@@ -1721,6 +1917,9 @@ public void close() {
     if (snapDiffExecutor != null) {
       closeExecutorService(snapDiffExecutor, "SnapDiffExecutor");
     }
+    if (deltaShardExecutor != null) {
+      closeExecutorService(deltaShardExecutor, "SnapDiffDeltaShardExecutor");
+    }
   }
 
   private void closeExecutorService(ExecutorService executorService,
@@ -1739,4 +1938,62 @@ private void closeExecutorService(ExecutorService executorService,
       }
     }
   }
+
+  /**
+   * Phases of a snapshot diff job whose time is exposed through
+   * {@link SnapshotDiffManagerMXBean#getPhaseTimeMillis()}.
+   */
+  enum DiffPhase {
+    DELTA_FILE_COMPUTATION,
+    OBJECT_ID_MAP_GENERATION,
+    PATH_RESOLUTION,
+    REPORT_GENERATION
+  }
+
+  /**
+   * Tracks the keys processed by the object id map generation of a job and
+   * updates the job's progress in steps of 10%. Shared by the key ranges
+   * scanned in parallel.
+   */
+  private final class ObjectIdMapProgress {
+    private static final double STEP_INCREASE_PCT = 0.1;
+
+    private final String jobKey;
+    private final long totalEstimatedKeys;
+    private final AtomicLong keysProcessed = new AtomicLong();
+    private double checkpoint = STEP_INCREASE_PCT;
+    private volatile boolean stopped;
+
+    private ObjectIdMapProgress(String jobKey, long totalEstimatedKeys) {
+      this.jobKey = jobKey;
+      this.totalEstimatedKeys = totalEstimatedKeys;
+    }
+
+    void increment() {
+      keysProcessed.incrementAndGet();
+    }
+
+    /** Stops the scans of all the key ranges. */
+    void stop() {
+      stopped = true;
+    }
+
+    boolean isStopped() {
+      return stopped;
+    }
+
+    void checkpoint() {
+      if (totalEstimatedKeys <= 0) {
+        return;
+      }
+      double progressPct = (double) keysProcessed.get() / totalEstimatedKeys;
+      synchronized (this) {
+        if (progressPct < checkpoint) {
+          return;
+        }
+        checkpoint += STEP_INCREASE_PCT;
+      }
+      updateProgress(jobKey, progressPct);
+    }
+  }
 }
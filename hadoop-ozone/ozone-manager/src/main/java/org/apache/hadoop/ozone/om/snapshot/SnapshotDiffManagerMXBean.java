@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.om.snapshot;
 
 import java.util.List;
+import java.util.Map;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.ozone.om.helpers.SnapshotDiffJob;
 
@@ -31,4 +32,16 @@ public interface SnapshotDiffManagerMXBean {
    * @return list of snapshot diff jobs
    */
   List<SnapshotDiffJob> getSnapshotDiffJobs();
+
+  /**
+   * Returns the total time spent in each phase of the snapshot diff jobs.
+   * @return map of phase name to time in milliseconds
+   */
+  Map<String, Long> getPhaseTimeMillis();
+
+  /**
+   * Returns the number of key ranges of delta SST files scanned.
+   * @return number of key ranges scanned
+   */
+  long getDeltaShardsScanned();
 }
@@ -112,6 +112,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetBucketTaggingRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetBucketTaggingResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetContentSummaryRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetContentSummaryResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
@@ -407,6 +409,11 @@ public OMResponse handleReadRequest(OMRequest request) {
             getBucketTagging(request.getGetBucketTaggingRequest());
         responseBuilder.setGetBucketTaggingResponse(getBucketTaggingResponse);
         break;
+      case GetContentSummary:
+        GetContentSummaryResponse getContentSummaryResponse =
+            getContentSummary(request.getGetContentSummaryRequest());
+        responseBuilder.setGetContentSummaryResponse(getContentSummaryResponse);
+        break;
       default:
         responseBuilder.setSuccess(false);
         responseBuilder.setMessage("Unrecognized Command Type: " + cmdType);
@@ -1611,6 +1618,19 @@ private GetObjectTaggingResponse getObjectTagging(GetObjectTaggingRequest reques
     return resp.build();
   }
 
+  private GetContentSummaryResponse getContentSummary(
+      GetContentSummaryRequest request) throws IOException {
+    KeyArgs keyArgs = request.getKeyArgs();
+    OmKeyArgs omKeyArgs = new OmKeyArgs.Builder()
+        .setVolumeName(keyArgs.getVolumeName())
+        .setBucketName(keyArgs.getBucketName())
+        .setKeyName(keyArgs.getKeyName())
+        .build();
+
+    return impl.getContentSummary(omKeyArgs, request.getCursorsList())
+        .getProtobuf();
+  }
+
   private GetBucketTaggingResponse getBucketTagging(GetBucketTaggingRequest request)
       throws IOException {
     BucketArgs bucketArgs = request.getBucketArgs();
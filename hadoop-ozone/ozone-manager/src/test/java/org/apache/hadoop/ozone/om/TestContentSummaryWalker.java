@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_DIRS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ContentSummaryCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ContentSummaryWalker}.
+ */
+public class TestContentSummaryWalker {
+
+  private static final long VOLUME_ID = 1;
+  private static final long BUCKET_ID = 2;
+  private static final long ROOT_ID = 100;
+
+  @TempDir
+  private File folder;
+  private OmMetadataManagerImpl omMetadataManager;
+  private ExecutorService executor;
+  private long nextObjectId = ROOT_ID + 1;
+  private long siblingId;
+  private long subId;
+
+  private long length;
+  private long spaceConsumed;
+  private long fileCount;
+  private long directoryCount;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_OM_DB_DIRS, folder.getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(conf, null);
+    executor = Executors.newFixedThreadPool(4);
+
+    // A sibling of the root, which must not be counted.
+    siblingId = addDirectory(ROOT_ID + 1_000_000, "other");
+    addFile(siblingId, "other", 1);
+    directoryCount = 0;
+
+    addFiles(ROOT_ID, 11);
+    for (int i = 0; i < 5; i++) {
+      long dir = addDirectory(ROOT_ID, "dir" + i);
+      addFiles(dir, i);
+      for (int j = 0; j < 3; j++) {
+        subId = addDirectory(dir, "sub" + j);
+        addFiles(subId, 7);
+      }
+    }
+    addDirectory(ROOT_ID, "empty");
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+    omMetadataManager.stop();
+  }
+
+  @Test
+  public void walksWholeTreeInOneCall() throws Exception {
+    OmContentSummary summary = new ContentSummaryWalker(omMetadataManager,
+        VOLUME_ID, BUCKET_ID, null, 1, 100_000)
+        .walk(Collections.singletonList(ContentSummaryWalker.newCursor(ROOT_ID, "")));
+
+    assertTrue(summary.isComplete());
+    assertSummary(summary);
+  }
+
+  @Test
+  public void continuesWalkFromCursors() throws Exception {
+    assertPaginatedWalk(new ContentSummaryWalker(omMetadataManager,
+        VOLUME_ID, BUCKET_ID, null, 1, 5));
+  }
+
+  @Test
+  public void walksDirectoriesInParallel() throws Exception {
+    assertPaginatedWalk(new ContentSummaryWalker(omMetadataManager,
+        VOLUME_ID, BUCKET_ID, executor, 4, 7));
+  }
+
+  @Test
+  public void dropsCursorsNotUnderRoot() throws Exception {
+    ContentSummaryWalker walker = new ContentSummaryWalker(omMetadataManager,
+        VOLUME_ID, BUCKET_ID, null, 1, 100_000);
+    ContentSummaryCursor root = ContentSummaryWalker.newCursor(ROOT_ID, "");
+    ContentSummaryCursor sub =
+        ContentSummaryWalker.newCursor(subId, "dir4/sub2");
+    List<ContentSummaryCursor> forged = Arrays.asList(
+        // A directory outside of the root, with or without a path.
+        ContentSummaryWalker.newCursor(siblingId, ""),
+        ContentSummaryWalker.newCursor(siblingId, "dir0"),
+        ContentSummaryWalker.newCursor(siblingId, "../other"),
+        // A directory under the root, but at another path.
+        ContentSummaryWalker.newCursor(subId, "dir3/sub2"),
+        ContentSummaryWalker.newCursor(subId, "dir4/missing/sub2"));
+
+    assertEquals(Arrays.asList(root, sub), walker.checkCursors(ROOT_ID,
+        Arrays.asList(forged.get(0), root, forged.get(1), forged.get(2),
+            sub, forged.get(3), forged.get(4))));
+    assertThat(walker.checkCursors(ROOT_ID, forged)).isEmpty();
+    assertThat(walker.checkCursors(subId, Collections.singletonList(root)))
+        .isEmpty();
+  }
+
+  @Test
+  public void cursorsOfContinuedWalkPassCheck() throws Exception {
+    ContentSummaryWalker walker = new ContentSummaryWalker(omMetadataManager,
+        VOLUME_ID, BUCKET_ID, null, 1, 5);
+    List<ContentSummaryCursor> cursors =
+        Collections.singletonList(ContentSummaryWalker.newCursor(ROOT_ID, ""));
+    do {
+      assertEquals(cursors, walker.checkCursors(ROOT_ID, cursors));
+      cursors = walker.walk(cursors).getCursors();
+    } while (!cursors.isEmpty());
+  }
+
+  private void assertPaginatedWalk(ContentSummaryWalker walker)
+      throws Exception {
+    List<ContentSummaryCursor> cursors =
+        Collections.singletonList(ContentSummaryWalker.newCursor(ROOT_ID, ""));
+    OmContentSummary total = new OmContentSummary(0, 0, 0, 0,
+        Collections.emptyList());
+    int calls = 0;
+    do {
+      total = total.add(walker.walk(cursors));
+      cursors = total.getCursors();
+      calls++;
+    } while (!total.isComplete());
+
+    assertThat(calls).isGreaterThan(1);
+    assertSummary(total);
+  }
+
+  private void assertSummary(OmContentSummary summary) {
+    assertEquals(length, summary.getLength());
+    assertEquals(spaceConsumed, summary.getSpaceConsumed());
+    assertEquals(fileCount, summary.getFileCount());
+    assertEquals(directoryCount, summary.getDirectoryCount());
+  }
+
+  private long addDirectory(long parentId, String name) throws Exception {
+    OmDirectoryInfo dir = OMRequestTestUtils.createOmDirectoryInfo(name,
+        nextObjectId++, parentId);
+    omMetadataManager.getDirectoryTable().put(omMetadataManager
+        .getOzonePathKey(VOLUME_ID, BUCKET_ID, parentId, name), dir);
+    directoryCount++;
+    return dir.getObjectID();
+  }
+
+  private void addFiles(long parentId, int count) throws Exception {
+    for (int i = 0; i < count; i++) {
+      OmKeyInfo file = addFile(parentId, "file" + i, 100 + i);
+      length += file.getDataSize();
+      spaceConsumed += file.getReplicatedSize();
+      fileCount++;
+    }
+  }
+
+  private OmKeyInfo addFile(long parentId, String name, long size)
+      throws Exception {
+    OmKeyInfo file = OMRequestTestUtils.createOmKeyInfo("vol", "bucket",
+        name, RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+        .setObjectID(nextObjectId++)
+        .setParentObjectID(parentId)
+        .setDataSize(size)
+        .build();
+    omMetadataManager.getFileTable().put(omMetadataManager
+        .getOzonePathKey(VOLUME_ID, BUCKET_ID, parentId, name), file);
+    return file;
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.key;
+
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.KEY_NOT_FOUND;
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.NOT_SUPPORTED_OPERATION;
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.NO_SUCH_MULTIPART_UPLOAD_ERROR;
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyCopyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CopyKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests CopyKey request.
+ */
+public class TestOMKeyCopyRequest extends OMKeyRequestTests {
+
+  private static final String ETAG = "source-etag";
+
+  private String dstKeyName;
+  private List<OmKeyLocationInfo> srcBlocks;
+
+  @BeforeEach
+  public void createSourceKey() throws Exception {
+    dstKeyName = keyName + "-copy";
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager);
+    srcBlocks = new ArrayList<>();
+    srcBlocks.add(new OmKeyLocationInfo.Builder()
+        .setBlockID(new BlockID(1L, 1L)).setLength(600L).build());
+    srcBlocks.add(new OmKeyLocationInfo.Builder()
+        .setBlockID(new BlockID(1L, 2L)).setLength(400L).setOffset(600L)
+        .build());
+    OmKeyInfo srcKeyInfo = OMRequestTestUtils.createOmKeyInfo(volumeName,
+            bucketName, keyName, replicationConfig,
+            new OmKeyLocationInfoGroup(0L, srcBlocks))
+        .addMetadata(OzoneConsts.ETAG, ETAG)
+        .build();
+    OMRequestTestUtils.addKeyToTable(false, false, srcKeyInfo, clientID, 0L,
+        omMetadataManager);
+  }
+
+  @Test
+  public void testCopyKeySharesSourceBlocks() throws Exception {
+    OMClientResponse response = copy(createCopyKeyRequest(keyArgs(keyName),
+        keyArgs(dstKeyName)));
+
+    assertEquals(OK, response.getOMResponse().getStatus());
+    assertEquals(ETAG,
+        response.getOMResponse().getCopyKeyResponse().getETag());
+    OmKeyInfo dstKeyInfo = omMetadataManager.getKeyTable(getBucketLayout())
+        .get(omMetadataManager.getOzoneKey(volumeName, bucketName,
+            dstKeyName));
+    assertNotNull(dstKeyInfo);
+    assertEquals(ETAG, dstKeyInfo.getMetadata().get(OzoneConsts.ETAG));
+    assertEquals(1000L, dstKeyInfo.getDataSize());
+    List<OmKeyLocationInfo> dstBlocks =
+        dstKeyInfo.getLatestVersionLocations().getLocationList();
+    assertEquals(srcBlocks.size(), dstBlocks.size());
+    for (int i = 0; i < srcBlocks.size(); i++) {
+      assertEquals(srcBlocks.get(i).getBlockID(), dstBlocks.get(i).getBlockID());
+      assertEquals(1L, omMetadataManager.getSharedBlockTable().get(
+          sharedBlockKey(srcBlocks.get(i))));
+    }
+
+    // A second copy adds one more reference to the same blocks.
+    response = copy(createCopyKeyRequest(keyArgs(keyName),
+        keyArgs(dstKeyName + "-2")));
+    assertEquals(OK, response.getOMResponse().getStatus());
+    assertEquals(2L, ((OMKeyCopyResponse) response).getSharedBlockCounts()
+        .get(sharedBlockKey(srcBlocks.get(0))));
+  }
+
+  @Test
+  public void testCopyKeyOverwritesDestination() throws Exception {
+    OMRequestTestUtils.addKeyToTable(false, false, volumeName, bucketName,
+        dstKeyName, clientID, replicationConfig, omMetadataManager);
+
+    OMKeyCopyResponse response = (OMKeyCopyResponse) copy(
+        createCopyKeyRequest(keyArgs(keyName), keyArgs(dstKeyName)));
+
+    assertEquals(OK, response.getOMResponse().getStatus());
+    assertNotNull(response.getKeyToDeleteMap());
+    assertEquals(1, response.getKeyToDeleteMap().size());
+  }
+
+  @Test
+  public void testCopyKeyWithDifferentReplication() throws Exception {
+    KeyArgs dstKeyArgs = keyArgs(dstKeyName).toBuilder()
+        .setFactor(HddsProtos.ReplicationFactor.THREE)
+        .build();
+
+    OMClientResponse response = copy(createCopyKeyRequest(keyArgs(keyName),
+        dstKeyArgs));
+
+    assertEquals(NOT_SUPPORTED_OPERATION,
+        response.getOMResponse().getStatus());
+    assertNull(omMetadataManager.getSharedBlockTable().get(
+        sharedBlockKey(srcBlocks.get(0))));
+  }
+
+  @Test
+  public void testCopyMissingKey() throws Exception {
+    OMClientResponse response = copy(createCopyKeyRequest(
+        keyArgs(keyName + "-missing"), keyArgs(dstKeyName)));
+
+    assertEquals(KEY_NOT_FOUND, response.getOMResponse().getStatus());
+  }
+
+  @Test
+  public void testCopyKeyInFSOBucket() {
+    OMRequest request = createCopyKeyRequest(keyArgs(keyName),
+        keyArgs(dstKeyName));
+
+    OMException e = assertThrows(OMException.class,
+        () -> new OMKeyCopyRequest(request,
+            BucketLayout.FILE_SYSTEM_OPTIMIZED).preExecute(ozoneManager));
+    assertEquals(OMException.ResultCodes.NOT_SUPPORTED_OPERATION,
+        e.getResult());
+  }
+
+  @Test
+  public void testCopyKeyToPart() throws Exception {
+    String uploadID = UUID.randomUUID().toString();
+    OmKeyInfo mpuKeyInfo = OMRequestTestUtils.createOmKeyInfo(volumeName,
+        bucketName, dstKeyName, replicationConfig).build();
+    OmMultipartKeyInfo multipartKeyInfo =
+        OMRequestTestUtils.createOmMultipartKeyInfo(uploadID, 0L,
+            HddsProtos.ReplicationType.RATIS,
+            HddsProtos.ReplicationFactor.ONE, 0L);
+    String multipartKey = OMRequestTestUtils.addMultipartInfoToTable(false,
+        mpuKeyInfo, multipartKeyInfo, 0L, omMetadataManager);
+
+    OMClientResponse response = copy(createCopyKeyRequest(keyArgs(keyName),
+        partArgs(uploadID, 1)));
+
+    assertEquals(OK, response.getOMResponse().getStatus());
+    String partName =
+        response.getOMResponse().getCopyKeyResponse().getPartName();
+    assertEquals(ETAG,
+        response.getOMResponse().getCopyKeyResponse().getETag());
+    OmMultipartKeyInfo updated =
+        omMetadataManager.getMultipartInfoTable().get(multipartKey);
+    assertEquals(partName, updated.getPartKeyInfo(1).getPartName());
+    assertEquals(1L, omMetadataManager.getSharedBlockTable().get(
+        sharedBlockKey(srcBlocks.get(1))));
+  }
+
+  @Test
+  public void testCopyKeyToMissingUpload() throws Exception {
+    OMClientResponse response = copy(createCopyKeyRequest(keyArgs(keyName),
+        partArgs(UUID.randomUUID().toString(), 1)));
+
+    assertEquals(NO_SUCH_MULTIPART_UPLOAD_ERROR,
+        response.getOMResponse().getStatus());
+  }
+
+  private OMClientResponse copy(OMRequest request) throws Exception {
+    OMRequest modifiedRequest = new OMKeyCopyRequest(request,
+        getBucketLayout()).preExecute(ozoneManager);
+    OMKeyCopyRequest copyRequest =
+        new OMKeyCopyRequest(modifiedRequest, getBucketLayout());
+    copyRequest.setUGI(UserGroupInformation.getCurrentUser());
+    return copyRequest.validateAndUpdateCache(ozoneManager, 100L);
+  }
+
+  private String sharedBlockKey(OmKeyLocationInfo block) {
+    return omMetadataManager.getSharedBlockKey(block.getContainerID(),
+        block.getLocalID());
+  }
+
+  private KeyArgs keyArgs(String name) {
+    return KeyArgs.newBuilder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(name)
+        .setType(HddsProtos.ReplicationType.RATIS)
+        .setFactor(HddsProtos.ReplicationFactor.ONE)
+        .build();
+  }
+
+  private KeyArgs partArgs(String uploadID, int partNumber) {
+    return keyArgs(dstKeyName).toBuilder()
+        .setIsMultipartKey(true)
+        .setMultipartUploadID(uploadID)
+        .setMultipartNumber(partNumber)
+        .build();
+  }
+
+  private OMRequest createCopyKeyRequest(KeyArgs srcKeyArgs,
+      KeyArgs dstKeyArgs) {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CopyKey)
+        .setClientId(UUID.randomUUID().toString())
+        .setCopyKeyRequest(CopyKeyRequest.newBuilder()
+            .setSrcKeyArgs(srcKeyArgs)
+            .setDstKeyArgs(dstKeyArgs))
+        .build();
+  }
+}
@@ -194,6 +194,46 @@ public void testValidateAndUpdateCache() throws Exception {
     }
   }
 
+  @Test
+  public void testReleaseSharedBlocks() throws Exception {
+    Pair<List<String>, List<String>> deleteKeysAndRenamedEntry = createAndDeleteKeysAndRenamedEntry(1, null);
+    // One block is still shared by two other keys, the other one by one key.
+    String sharedTwiceKey = omMetadataManager.getSharedBlockKey(1L, 1L);
+    String sharedOnceKey = omMetadataManager.getSharedBlockKey(1L, 2L);
+    omMetadataManager.getSharedBlockTable().put(sharedTwiceKey, 2L);
+    omMetadataManager.getSharedBlockTable().put(sharedOnceKey, 1L);
+
+    OMRequest omRequest = createPurgeKeysRequest(deleteKeysAndRenamedEntry.getKey(),
+        deleteKeysAndRenamedEntry.getValue(), null);
+    omRequest = omRequest.toBuilder()
+        .setPurgeKeysRequest(omRequest.getPurgeKeysRequest().toBuilder()
+            .addReleasedSharedBlocks(HddsProtos.ContainerBlockID.newBuilder()
+                .setContainerID(1L).setLocalID(1L))
+            .addReleasedSharedBlocks(HddsProtos.ContainerBlockID.newBuilder()
+                .setContainerID(1L).setLocalID(2L)))
+        .build();
+    OMKeyPurgeRequest omKeyPurgeRequest = new OMKeyPurgeRequest(preExecute(omRequest));
+    OMKeyPurgeResponse omKeyPurgeResponse =
+        (OMKeyPurgeResponse) omKeyPurgeRequest.validateAndUpdateCache(ozoneManager, 100L);
+    assertEquals(Status.OK, omKeyPurgeResponse.getOMResponse().getStatus());
+
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    CompletableFuture.runAsync(() -> {
+      try (BatchOperation batchOperation = omMetadataManager.getStore().initBatchOperation()) {
+        omKeyPurgeResponse.addToDBBatch(omMetadataManager, batchOperation);
+        omMetadataManager.getStore().commitBatchOperation(batchOperation);
+      } catch (IOException e) {
+        future.completeExceptionally(e);
+        return;
+      }
+      future.complete(null);
+    });
+    future.get();
+
+    assertEquals(1L, omMetadataManager.getSharedBlockTable().getSkipCache(sharedTwiceKey));
+    assertFalse(omMetadataManager.getSharedBlockTable().isExist(sharedOnceKey));
+  }
+
   @Test
   public void testKeyPurgeInSnapshot() throws Exception {
     when(ozoneManager.getDefaultReplicationConfig())
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.service;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_DOUBLE_BUFFER_THRESHOLD;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_MAX_MULTIPLIER;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELETION_ADAPTIVE_RATIS_PENDING_THRESHOLD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AdaptiveDeletionController}.
+ */
+public class TestAdaptiveDeletionController {
+
+  private final AtomicLong ratisPending = new AtomicLong();
+  private final AtomicLong doubleBufferDepth = new AtomicLong();
+
+  private final AdaptiveDeletionController.LoadSignals signals =
+      new AdaptiveDeletionController.LoadSignals() {
+        @Override
+        public long getRatisPendingCount() {
+          return ratisPending.get();
+        }
+
+        @Override
+        public long getDoubleBufferQueueDepth() {
+          return doubleBufferDepth.get();
+        }
+      };
+
+  private AdaptiveDeletionController newController(boolean enabled) {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_OM_DELETION_ADAPTIVE_ENABLED, enabled);
+    conf.setInt(OZONE_OM_DELETION_ADAPTIVE_MAX_MULTIPLIER, 4);
+    conf.setLong(OZONE_OM_DELETION_ADAPTIVE_RATIS_PENDING_THRESHOLD, 100);
+    conf.setLong(OZONE_OM_DELETION_ADAPTIVE_DOUBLE_BUFFER_THRESHOLD, 100);
+    return new AdaptiveDeletionController("test", conf, signals, 1000, 2);
+  }
+
+  @Test
+  public void backsOffUnderLoadAndRecovers() {
+    AdaptiveDeletionController controller = newController(true);
+
+    ratisPending.set(500);
+    controller.adjust();
+    assertEquals(500, controller.getLimitPerTask());
+    assertEquals(1, controller.getParallelism());
+    for (int i = 0; i < 10; i++) {
+      controller.adjust();
+    }
+    assertEquals(250, controller.getLimitPerTask());
+    assertEquals(1, controller.getParallelism());
+
+    // pressure between the thresholds keeps the current values
+    ratisPending.set(0);
+    doubleBufferDepth.set(70);
+    controller.adjust();
+    assertEquals(250, controller.getLimitPerTask());
+
+    doubleBufferDepth.set(0);
+    controller.adjust();
+    assertEquals(750, controller.getLimitPerTask());
+    assertEquals(2, controller.getParallelism());
+    for (int i = 0; i < 20; i++) {
+      controller.adjust();
+    }
+    assertEquals(4000, controller.getLimitPerTask());
+    assertEquals(8, controller.getParallelism());
+  }
+
+  @Test
+  public void disabledControllerKeepsConfiguredValues() {
+    AdaptiveDeletionController controller = newController(false);
+    ratisPending.set(10_000);
+    controller.adjust();
+    assertEquals(1000, controller.getLimitPerTask());
+    assertEquals(2, controller.getParallelism());
+  }
+
+  @Test
+  public void estimatesBacklogEta() {
+    AdaptiveDeletionController controller = newController(true);
+    assertEquals(0, controller.getEtaSeconds(0));
+    assertEquals(-1, controller.getEtaSeconds(100));
+    controller.recordRun(1000, 1000);
+    assertEquals(10, controller.getEtaSeconds(10_000));
+  }
+}
@@ -335,6 +335,24 @@ public void testSnapshotChainIterator(int numberOfSnapshots) throws IOException
 
   }
 
+  @Test
+  public void testChainLoadedOnFirstAccess() throws IOException {
+    chainManager = new SnapshotChainManager(omMetadataManager);
+    UUID snapshotID1 = UUID.randomUUID();
+    UUID snapshotID2 = UUID.randomUUID();
+    long time = System.currentTimeMillis();
+    // Snapshots written after the chain manager is created are still loaded
+    // since the chains are loaded on first access.
+    omMetadataManager.getSnapshotInfoTable().put(snapshotID1.toString(),
+        createSnapshotInfo(snapshotID1, null, null, time));
+    omMetadataManager.getSnapshotInfoTable().put(snapshotID2.toString(),
+        createSnapshotInfo(snapshotID2, snapshotID1, snapshotID1, time + 1));
+
+    assertEquals(snapshotID2, chainManager.getLatestGlobalSnapshotId());
+    assertEquals(snapshotID1, chainManager.getOldestGlobalSnapshotId());
+    assertFalse(chainManager.isSnapshotChainCorrupted());
+  }
+
   private static Stream<? extends Arguments> invalidSnapshotChain() {
     List<UUID> nodes = IntStream.range(0, 5)
         .mapToObj(i -> UUID.randomUUID())
@@ -22,6 +22,8 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_OM_SNAPSHOT_LOAD_NATIVE_LIB;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_OM_SNAPSHOT_LOAD_NATIVE_LIB_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB;
@@ -98,6 +100,7 @@
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
@@ -183,6 +186,7 @@ public class TestSnapshotDiffManager {
   private List<ColumnFamilyHandle> columnFamilyHandles;
   private ColumnFamilyHandle snapDiffJobTable;
   private ColumnFamilyHandle snapDiffReportTable;
+  private ColumnFamilyHandle snapDiffPurgedJobTable;
   private SnapshotDiffManager snapshotDiffManager;
   private final List<JobStatus> jobStatuses = Arrays.asList(QUEUED, IN_PROGRESS,
       DONE, REJECTED, FAILED);
@@ -258,7 +262,7 @@ public void init() throws RocksDBException, IOException, ExecutionException {
         new ColumnFamilyDescriptor(
             StringUtils.string2Bytes(SNAP_DIFF_REPORT_TABLE_NAME),
             columnFamilyOptions));
-    ColumnFamilyHandle snapDiffPurgedJobTable = db.get().createColumnFamily(
+    snapDiffPurgedJobTable = db.get().createColumnFamily(
         new ColumnFamilyDescriptor(
             StringUtils.string2Bytes(SNAP_DIFF_PURGED_JOB_TABLE_NAME),
             columnFamilyOptions));
@@ -545,6 +549,147 @@ public void testObjectIdMapWithTombstoneEntries(boolean nativeLibraryLoaded,
     }
   }
 
+  /**
+   * Scans 100 keys in two key ranges split at the start key of a delta file.
+   * If failRange is set, listing the first range fails while the second one
+   * is slowly scanned, and the scan must still be waited for.
+   */
+  @ParameterizedTest
+  @CsvSource({"false", "true"})
+  public void testObjectIdMapWithParallelShards(boolean failRange)
+      throws IOException, RocksDBException {
+    when(configuration.getInt(OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS,
+        OZONE_OM_SNAPSHOT_DIFF_DELTA_SHARDS_DEFAULT)).thenReturn(2);
+    IOUtils.closeQuietly(snapshotDiffManager);
+    snapshotDiffManager = new SnapshotDiffManager(db, ozoneManager,
+        snapDiffJobTable, snapDiffReportTable, snapDiffPurgedJobTable,
+        columnFamilyOptions, codecRegistry);
+
+    List<String> keys = IntStream.range(0, 100).boxed()
+        .map(i -> "0" + leftPad(String.valueOf(i), 3, '0') + "/key" + i)
+        .collect(Collectors.toList());
+    AtomicBoolean secondRangeClosed = new AtomicBoolean();
+    try (MockedConstruction<SstFileSetReader> mockedSSTFileReader =
+             mockConstruction(SstFileSetReader.class,
+                 (mock, context) -> when(mock.getKeyStream(any(), any()))
+                     .thenAnswer(invocation -> {
+                       String lowerBound = invocation.getArgument(0);
+                       String upperBound = invocation.getArgument(1);
+                       if (failRange && lowerBound.equals("0")) {
+                         throw new IllegalStateException("Injected failure");
+                       }
+                       Iterator<String> rangeKeys = keys.stream()
+                           .filter(k -> k.compareTo(lowerBound) >= 0 && k.compareTo(upperBound) < 0)
+                           .iterator();
+                       return new ClosableIterator<String>() {
+                         @Override
+                         public boolean hasNext() {
+                           return rangeKeys.hasNext();
+                         }
+
+                         @Override
+                         public String next() {
+                           if (failRange) {
+                             try {
+                               Thread.sleep(10);
+                             } catch (InterruptedException e) {
+                               Thread.currentThread().interrupt();
+                             }
+                           }
+                           return rangeKeys.next();
+                         }
+
+                         @Override
+                         public void close() {
+                           secondRangeClosed.set(!lowerBound.equals("0"));
+                         }
+                       };
+                     }))) {
+      Map<String, WithParentObjectId> fromSnapshotTableMap = IntStream.range(0, 100).boxed()
+          .collect(Collectors.toMap(keys::get, i -> getKeyInfo(i, i, i + 100, KEY_TABLE)));
+      Table<String, WithParentObjectId> fromSnapshotTable =
+          new StringInMemoryTestTable<>(fromSnapshotTableMap, KEY_TABLE);
+      Table<String, WithParentObjectId> toSnapshotTable =
+          new StringInMemoryTestTable<>(new HashMap<>(), KEY_TABLE);
+
+      PersistentMap<byte[], byte[]> oldObjectIdKeyMap = new SynchronizedPersistentMap<>();
+      PersistentMap<byte[], byte[]> newObjectIdKeyMap = new SynchronizedPersistentMap<>();
+      PersistentMap<byte[], Boolean> objectIdsToCheck = new SynchronizedPersistentMap<>();
+      Set<Long> oldParentIds = Sets.newHashSet();
+      Set<Long> newParentIds = Sets.newHashSet();
+
+      CheckedRunnable scan = () -> snapshotDiffManager.addToObjectIdMap(fromSnapshotTable,
+          toSnapshotTable, Sets.newHashSet(Paths.get("dummy.sst")), false,
+          oldObjectIdKeyMap, newObjectIdKeyMap, objectIdsToCheck,
+          Optional.of(oldParentIds), Optional.of(newParentIds),
+          new TablePrefixInfo(ImmutableMap.of(KEY_TABLE, "0")), "",
+          Collections.singletonList("0050"));
+      if (failRange) {
+        assertThrows(IllegalStateException.class, scan::run);
+        // The second range was stopped and finished before the failure was
+        // reported, so it no longer writes to the maps.
+        assertTrue(secondRangeClosed.get());
+        return;
+      }
+      scan.run();
+
+      try (ClosableIterator<Map.Entry<byte[], byte[]>> oldObjectIdIter = oldObjectIdKeyMap.iterator()) {
+        int oldObjectIdCnt = 0;
+        while (oldObjectIdIter.hasNext()) {
+          oldObjectIdIter.next();
+          oldObjectIdCnt++;
+        }
+        assertEquals(100, oldObjectIdCnt);
+      }
+      assertEquals(LongStream.range(100, 200).boxed().collect(Collectors.toSet()), oldParentIds);
+      assertThat(newParentIds).isEmpty();
+    }
+  }
+
+  /** A scan which may throw the exceptions of addToObjectIdMap. */
+  private interface CheckedRunnable {
+    void run() throws IOException, RocksDBException;
+  }
+
+  /** A {@link StubbedPersistentMap} which can be written concurrently. */
+  private static final class SynchronizedPersistentMap<K, V> extends StubbedPersistentMap<K, V> {
+    @Override
+    public synchronized V get(K key) {
+      return super.get(key);
+    }
+
+    @Override
+    public synchronized void put(K key, V value) {
+      super.put(key, value);
+    }
+
+    @Override
+    public synchronized void remove(K key) {
+      super.remove(key);
+    }
+  }
+
+  @Test
+  public void testShardSplitKeys() {
+    List<String> startKeys = Arrays.asList("/vol/bucket/k5", "/vol/bucket/k1",
+        "/vol/bucket/k3", "/vol/bucket/k3", "/vol/bucket/k7", "/vol/other/k1",
+        "/vol/bucket/");
+    String lowerBound = "/vol/bucket/";
+    String upperBound = StringUtils.getLexicographicallyHigherString(lowerBound);
+
+    // keys outside the bounds or equal to the lower bound are ignored
+    assertEquals(Arrays.asList("/vol/bucket/k1", "/vol/bucket/k3", "/vol/bucket/k5", "/vol/bucket/k7"),
+        SnapshotDiffManager.getShardSplitKeys(startKeys, lowerBound, upperBound, 8));
+    assertEquals(Arrays.asList("/vol/bucket/k3", "/vol/bucket/k5"),
+        SnapshotDiffManager.getShardSplitKeys(startKeys, lowerBound, upperBound, 3));
+    assertEquals(Collections.singletonList("/vol/bucket/k5"),
+        SnapshotDiffManager.getShardSplitKeys(startKeys, lowerBound, upperBound, 2));
+    assertEquals(Collections.emptyList(),
+        SnapshotDiffManager.getShardSplitKeys(startKeys, lowerBound, upperBound, 1));
+    assertEquals(Collections.emptyList(),
+        SnapshotDiffManager.getShardSplitKeys(Collections.emptyList(), lowerBound, upperBound, 4));
+  }
+
   @Test
   public void testGenerateDiffReport() throws IOException {
     PersistentMap<byte[], byte[]> oldObjectIdKeyMap =
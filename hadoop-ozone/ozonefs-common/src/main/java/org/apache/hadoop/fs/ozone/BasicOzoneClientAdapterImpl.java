@@ -79,6 +79,7 @@
 import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.LeaseKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
@@ -678,6 +679,12 @@ public FileChecksum getFileChecksum(String keyName, long length)
         ozoneClient.getObjectStore().getClientProxy());
   }
 
+  @Override
+  public OmContentSummary getContentSummary(String key) throws IOException {
+    incrementCounter(Statistic.INVOCATION_GET_CONTENT_SUMMARY, 1);
+    return bucket.getContentSummary(key);
+  }
+
   @Override
   public String createSnapshot(String pathStr, String snapshotName)
       throws IOException {
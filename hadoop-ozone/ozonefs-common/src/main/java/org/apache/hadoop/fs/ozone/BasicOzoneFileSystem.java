@@ -24,6 +24,8 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE_DEFAULT;
@@ -33,12 +35,14 @@
 
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -46,6 +50,8 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -78,6 +84,7 @@
 import org.apache.hadoop.ozone.client.OzoneClientUtils;
 import org.apache.hadoop.ozone.client.io.SelectorOutputStream;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.security.token.Token;
@@ -113,6 +120,7 @@ public class BasicOzoneFileSystem extends FileSystem {
 
   private int listingPageSize =
       OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
+  private ExecutorService listingPrefetchExecutor;
 
   private boolean hsyncEnabled = OZONE_FS_HSYNC_ENABLED_DEFAULT;
   private boolean isRatisStreamingEnabled
@@ -140,6 +148,12 @@ public void initialize(URI name, Configuration conf) throws IOException {
     listingPageSize = OzoneClientUtils.limitValue(listingPageSize,
         OZONE_FS_LISTING_PAGE_SIZE,
         OZONE_FS_MAX_LISTING_PAGE_SIZE);
+    if (conf.getBoolean(OZONE_FS_LISTING_PREFETCH_ENABLED,
+        OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT)) {
+      listingPrefetchExecutor = Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder().setNameFormat("OzoneFSListPrefetch-%d")
+              .setDaemon(true).build());
+    }
     setConf(conf);
     Objects.requireNonNull(name.getScheme(),
         () -> "No scheme provided in " + name);
@@ -231,6 +245,9 @@ protected boolean isHsyncEnabled() {
   @Override
   public void close() throws IOException {
     try {
+      if (listingPrefetchExecutor != null) {
+        listingPrefetchExecutor.shutdownNow();
+      }
       adapter.close();
     } finally {
       super.close();
@@ -906,13 +923,38 @@ public ContentSummary getContentSummary(Path f) throws IOException {
       return builder.build();
     }
 
+    try {
+      return toContentSummary(adapter.getContentSummary(key), status);
+    } catch (OMException ex) {
+      if (ex.getResult() != OMException.ResultCodes.NOT_SUPPORTED_OPERATION) {
+        throw ex;
+      }
+    }
+    // The OM cannot summarize the directory, e.g. in a non-FSO bucket,
+    // so it is listed recursively.
+    return getContentSummaryByListing(f, status);
+  }
+
+  private ContentSummary toContentSummary(OmContentSummary summary,
+      FileStatusAdapter status) {
+    ContentSummary.Builder builder = new ContentSummary.Builder()
+        .length(summary.getLength())
+        .fileCount(summary.getFileCount())
+        .directoryCount(summary.getDirectoryCount())
+        .spaceConsumed(summary.getSpaceConsumed());
+    applyEcPolicy(builder, status.getErasureCodingPolicy());
+    return builder.build();
+  }
+
+  private ContentSummary getContentSummaryByListing(Path f,
+      FileStatusAdapter status) throws IOException {
     long[] summary = {0, 0, 0, 1};
     for (FileStatusAdapter s : listStatusAdapter(f)) {
       long length = s.getLength();
       long spaceConsumed = s.getDiskConsumed();
       ContentSummary c;
       if (s.isDir()) {
-        c = getContentSummary(s.getPath());
+        c = getContentSummaryByListing(s.getPath(), s);
       } else {
         ContentSummary.Builder childBuilder = new ContentSummary.Builder().length(length).
             fileCount(1).directoryCount(0).spaceConsumed(spaceConsumed);
@@ -1063,7 +1105,7 @@ public RemoteIterator<LocatedFileStatus> listFiles(Path f, boolean recursive)
   public RemoteIterator<LocatedFileStatus> listLocatedStatus(Path f)
       throws IOException {
     incrementCounter(Statistic.INVOCATION_LIST_LOCATED_STATUS);
-    return new OzoneFileStatusIterator<>(f,
+    return newFileStatusIterator(f,
         (stat) -> stat instanceof LocatedFileStatus ? (LocatedFileStatus) stat :
             new LocatedFileStatus(stat, stat.isFile() ? new BlockLocation[0] : null),
         false);
@@ -1072,7 +1114,7 @@ public RemoteIterator<LocatedFileStatus> listLocatedStatus(Path f)
   @Override
   public RemoteIterator<FileStatus> listStatusIterator(Path f)
       throws IOException {
-    return new OzoneFileStatusIterator<>(f, stat -> stat, true);
+    return newFileStatusIterator(f, stat -> stat, true);
   }
 
   @Override
@@ -1107,101 +1149,34 @@ public void setTimes(Path f, long mtime, long atime) throws IOException {
   }
 
   /**
-   * A private class implementation for iterating list of file status.
-   *
-   * @param <T> the type of the file status.
+   * Lists a single page of the directory, starting after the entry named by
+   * the token, so that each batch costs one round trip to OM.
    */
-  private final class OzoneFileStatusIterator<T extends FileStatus>
-      implements RemoteIterator<T> {
-    private List<FileStatus> thisListing;
-    private int i;
-    private Path p;
-    private T curStat = null;
-    private String startPath = "";
-    private boolean lite;
-    private Function<FileStatus, T> transformFunc;
-
-    /**
-     * Constructor to initialize OzoneFileStatusIterator.
-     * Get the first batch of entry for iteration.
-     *
-     * @param p path to file/directory.
-     * @param transformFunc function to convert FileStatus into an expected type.
-     * @param lite if true it should look into fetching a lightweight keys from server.
-     * @throws IOException
-     */
-    private OzoneFileStatusIterator(Path p, Function<FileStatus, T> transformFunc, boolean lite) throws IOException {
-      this.p = p;
-      this.lite = lite;
-      this.transformFunc = transformFunc;
-      // fetch the first batch of entries in the directory
-      thisListing = listFileStatus(p, startPath, lite);
-      if (thisListing != null && !thisListing.isEmpty()) {
-        startPath = pathToKey(
-            thisListing.get(thisListing.size() - 1).getPath());
-        LOG.debug("Got {} file status, next start path {}",
-            thisListing.size(), startPath);
-      }
-      i = 0;
-    }
-
-    /**
-     * @return true if next entry exists false otherwise.
-     * @throws IOException
-     */
-    @Override
-    public boolean hasNext() throws IOException {
-      while (curStat == null && hasNextNoFilter()) {
-        T next;
-        FileStatus fileStat = thisListing.get(i++);
-        next = this.transformFunc.apply(fileStat);
-        curStat = next;
-      }
-      return curStat != null;
+  @Override
+  protected DirectoryEntries listStatusBatch(Path f, byte[] token)
+      throws IOException {
+    String startPath = "";
+    if (token != null && token.length > 0) {
+      startPath = pathToKey(
+          new Path(f, new String(token, StandardCharsets.UTF_8)));
     }
-
-    /**
-     * Checks the next available entry from partial listing if not exhausted
-     * or fetches new batch for listing.
-     *
-     * @return true if next entry exists false otherwise.
-     * @throws IOException
-     */
-    private boolean hasNextNoFilter() throws IOException {
-      if (thisListing == null) {
-        return false;
-      }
-      if (i >= thisListing.size()) {
-        if (startPath != null && (!thisListing.isEmpty())) {
-          // current listing is exhausted & fetch a new listing
-          thisListing = listFileStatus(p, startPath, lite);
-          if (thisListing != null && !thisListing.isEmpty()) {
-            startPath = pathToKey(
-                thisListing.get(thisListing.size() - 1).getPath());
-            LOG.debug("Got {} file status, next start path {}",
-                thisListing.size(), startPath);
-          } else {
-            return false;
-          }
-          i = 0;
-        }
-      }
-      return (i < thisListing.size());
+    List<FileStatus> statuses = listFileStatus(f, startPath, true);
+    if (statuses.isEmpty()) {
+      return new DirectoryEntries(new FileStatus[0], null, false);
     }
+    // The first entry of a page that follows a start path is skipped.
+    int fullPage = startPath.isEmpty() ? listingPageSize : listingPageSize - 1;
+    String last = statuses.get(statuses.size() - 1).getPath().getName();
+    return new DirectoryEntries(statuses.toArray(new FileStatus[0]),
+        last.getBytes(StandardCharsets.UTF_8), statuses.size() >= fullPage);
+  }
 
-    /**
-     * @return next entry.
-     * @throws IOException
-     */
-    @Override
-    public T next() throws IOException {
-      if (hasNext()) {
-        T tmp = curStat;
-        curStat = null;
-        return tmp;
-      }
-      throw new java.util.NoSuchElementException("No more entry in " + p);
-    }
+  private <T extends FileStatus> RemoteIterator<T> newFileStatusIterator(
+      Path f, Function<FileStatus, T> transformFunc, boolean lite)
+      throws IOException {
+    return new FileStatusPageIterator<>(f,
+        startPath -> listFileStatus(f, startPath, lite), this::pathToKey,
+        transformFunc, listingPrefetchExecutor);
   }
 
   /**
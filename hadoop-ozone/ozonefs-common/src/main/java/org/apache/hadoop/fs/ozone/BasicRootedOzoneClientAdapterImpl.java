@@ -94,6 +94,7 @@
 import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.LeaseKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
@@ -651,12 +652,8 @@ public boolean deleteObjects(List<String> keyNameList) {
    * @return true if operation succeeded, false on IOException.
    */
   boolean deleteObjects(OzoneBucket bucket, List<String> keyNameList) {
-    List<String> keyList = keyNameList.stream()
-        .map(p -> new OFSPath(p, config).getKeyName())
-        .collect(Collectors.toList());
     try {
-      incrementCounter(Statistic.OBJECTS_DELETED, keyNameList.size());
-      bucket.deleteKeys(keyList);
+      deleteKeys(bucket, keyNameList);
       return true;
     } catch (IOException ioe) {
       LOG.error("delete key failed: {}", ioe.getMessage());
@@ -664,6 +661,23 @@ boolean deleteObjects(OzoneBucket bucket, List<String> keyNameList) {
     }
   }
 
+  /**
+   * Package-private helper function to delete a list of keys in a bucket,
+   * like {@link #deleteObjects(OzoneBucket, List)} but throwing the failure.
+   *
+   * @param bucket Bucket to operate in.
+   * @param keyNameList key name list to be deleted.
+   * @throws IOException IOException from bucket.deleteKeys().
+   */
+  void deleteKeys(OzoneBucket bucket, List<String> keyNameList)
+      throws IOException {
+    List<String> keyList = keyNameList.stream()
+        .map(p -> new OFSPath(p, config).getKeyName())
+        .collect(Collectors.toList());
+    incrementCounter(Statistic.OBJECTS_DELETED, keyNameList.size());
+    bucket.deleteKeys(keyList);
+  }
+
   @Override
   public FileStatusAdapter getFileStatus(String path, URI uri,
       Path qualifiedPath, String userName) throws IOException {
@@ -1346,6 +1360,18 @@ public FileChecksum getFileChecksum(String keyName, long length)
 
   }
 
+  @Override
+  public OmContentSummary getContentSummary(String pathStr)
+      throws IOException {
+    incrementCounter(Statistic.INVOCATION_GET_CONTENT_SUMMARY, 1);
+    OFSPath ofsPath = new OFSPath(pathStr, config);
+    if (ofsPath.isRoot() || ofsPath.isVolume() || ofsPath.isSnapshotPath()) {
+      throw new OMException("Content summary is only supported within a bucket",
+          OMException.ResultCodes.NOT_SUPPORTED_OPERATION);
+    }
+    return getBucket(ofsPath, false).getContentSummary(ofsPath.getKeyName());
+  }
+
   @Override
   public String createSnapshot(String pathStr, String snapshotName)
           throws IOException {
@@ -20,10 +20,16 @@
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_DEFAULT_USER;
 import static org.apache.hadoop.fs.ozone.Constants.OZONE_USER_DIR;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_HSYNC_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_RETRIES;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_RETRIES_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_THREADS;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_ITERATE_THREADS_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE_DEFAULT;
@@ -32,11 +38,13 @@
 import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.BUCKET_NOT_EMPTY;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.BUCKET_NOT_FOUND;
+import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.VOLUME_NOT_EMPTY;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.VOLUME_NOT_FOUND;
 
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.opentelemetry.api.trace.Span;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -44,13 +52,18 @@
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
@@ -86,6 +99,8 @@
 import org.apache.hadoop.ozone.client.OzoneVolume;
 import org.apache.hadoop.ozone.client.io.SelectorOutputStream;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.security.token.Token;
@@ -121,11 +136,13 @@ public class BasicRootedOzoneFileSystem extends FileSystem {
 
   private int listingPageSize =
       OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
+  private ExecutorService listingPrefetchExecutor;
 
   private boolean hsyncEnabled = OZONE_FS_HSYNC_ENABLED_DEFAULT;
   private boolean isRatisStreamingEnabled
       = OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED_DEFAULT;
   private int streamingAutoThreshold;
+  private KeyBatchProcessor keyBatchProcessor;
 
   private static final String URI_EXCEPTION_TEXT =
       "URL should be one of the following formats: " +
@@ -145,6 +162,12 @@ public void initialize(URI name, Configuration conf) throws IOException {
     listingPageSize = OzoneClientUtils.limitValue(listingPageSize,
         OZONE_FS_LISTING_PAGE_SIZE,
         OZONE_FS_MAX_LISTING_PAGE_SIZE);
+    if (conf.getBoolean(OZONE_FS_LISTING_PREFETCH_ENABLED,
+        OZONE_FS_LISTING_PREFETCH_ENABLED_DEFAULT)) {
+      listingPrefetchExecutor = Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder().setNameFormat("OzoneFSListPrefetch-%d")
+              .setDaemon(true).build());
+    }
     setConf(conf);
     Objects.requireNonNull(name.getScheme(),
         () -> "No scheme provided in " + name);
@@ -207,6 +230,24 @@ public void initialize(URI name, Configuration conf) throws IOException {
         OzoneConfigKeys.OZONE_FS_DATASTREAM_AUTO_THRESHOLD,
         OzoneConfigKeys.OZONE_FS_DATASTREAM_AUTO_THRESHOLD_DEFAULT,
         StorageUnit.BYTES);
+    keyBatchProcessor = new KeyBatchProcessor(
+        conf.getInt(OZONE_FS_ITERATE_THREADS,
+            OZONE_FS_ITERATE_THREADS_DEFAULT),
+        conf.getInt(OZONE_FS_ITERATE_BATCH_SIZE,
+            OZONE_FS_ITERATE_BATCH_SIZE_DEFAULT),
+        conf.getInt(OZONE_FS_ITERATE_BATCH_RETRIES,
+            OZONE_FS_ITERATE_BATCH_RETRIES_DEFAULT),
+        new KeyBatchProcessor.Listener() {
+          @Override
+          public void batchProcessed(int keyCount) {
+            statistics.incrementWriteOps(1);
+          }
+
+          @Override
+          public void batchRetried(IOException cause) {
+            incrementCounter(Statistic.OBJECT_BATCHES_RETRIED, 1);
+          }
+        });
   }
 
   protected OzoneClientAdapter createAdapter(ConfigurationSource conf,
@@ -221,6 +262,12 @@ protected boolean isHsyncEnabled() {
   @Override
   public void close() throws IOException {
     try {
+      if (listingPrefetchExecutor != null) {
+        listingPrefetchExecutor.shutdownNow();
+      }
+      if (keyBatchProcessor != null) {
+        keyBatchProcessor.close();
+      }
       adapter.close();
     } finally {
       super.close();
@@ -354,12 +401,20 @@ private class RenameIterator extends OzoneListingIterator {
       this.bucket = adapterImpl.getBucket(ofsPath, false);
     }
 
+    @Override
+    OzoneBucket getBucket() {
+      return bucket;
+    }
+
     @Override
     boolean processKeyPath(List<String> keyPathList) throws IOException {
-      for (String keyPath : keyPathList) {
+      for (Iterator<String> i = keyPathList.iterator(); i.hasNext();) {
+        String keyPath = i.next();
         String newPath = dstPath.concat(keyPath.substring(srcPath.length()));
         try {
           adapterImpl.rename(this.bucket, keyPath, newPath);
+          // A retry of the batch only renames the remaining keys.
+          i.remove();
         } catch (OMException ome) {
           LOG.error("Key rename failed for source key: {} to " +
               "destination key: {}.", keyPath, newPath, ome);
@@ -594,9 +649,21 @@ && listStatus(f).length != 0) {
     }
 
     @Override
-    boolean processKeyPath(List<String> keyPathList) {
+    OzoneBucket getBucket() {
+      return bucket;
+    }
+
+    @Override
+    boolean processKeyPath(List<String> keyPathList) throws IOException {
       LOG.trace("Deleting keys: {}", keyPathList);
-      boolean succeed = adapterImpl.deleteObjects(this.bucket, keyPathList);
+      boolean succeed;
+      try {
+        adapterImpl.deleteKeys(this.bucket, keyPathList);
+        succeed = true;
+      } catch (OMException ome) {
+        LOG.error("delete key failed: {}", ome.getMessage());
+        succeed = false;
+      }
       // if recursive delete is requested ignore the return value of
       // deleteObject and issue deletes for other keys.
       return recursive || succeed;
@@ -1209,7 +1276,7 @@ public RemoteIterator<LocatedFileStatus> listFiles(Path f, boolean recursive)
   public RemoteIterator<LocatedFileStatus> listLocatedStatus(Path f)
       throws IOException {
     incrementCounter(Statistic.INVOCATION_LIST_LOCATED_STATUS);
-    return new OzoneFileStatusIterator<>(f,
+    return newFileStatusIterator(f,
         (stat) -> stat instanceof LocatedFileStatus ? (LocatedFileStatus) stat :
             new LocatedFileStatus(stat, stat.isFile() ? new BlockLocation[0] : null),
         false);
@@ -1227,105 +1294,38 @@ public RemoteIterator<FileStatus> listStatusIterator(Path f)
           "Instead use 'ozone sh key list " +
           "<Volume_URI>' command");
     }
-    return new OzoneFileStatusIterator<>(f, stat -> stat, true);
+    return newFileStatusIterator(f, stat -> stat, true);
   }
 
   /**
-   * A private class implementation for iterating list of file status.
-   *
-   * @param <T> the type of the file status.
+   * Lists a single page of the directory, starting after the entry named by
+   * the token, so that each batch costs one round trip to OM.
    */
-  private final class OzoneFileStatusIterator<T extends FileStatus>
-      implements RemoteIterator<T> {
-    private final Function<FileStatus, T> transformFunc;
-    private List<FileStatus> thisListing;
-    private int i;
-    private Path p;
-    private T curStat = null;
-    private String startPath = "";
-    private boolean lite;
-
-    /**
-     * Constructor to initialize OzoneFileStatusIterator.
-     * Get the first batch of entry for iteration.
-     *
-     * @param p path to file/directory.
-     * @param transformFunc function to convert FileStatus into an expected type.
-     * @param lite if true it should look into fetching a lightweight keys from server.
-     * @throws IOException
-     */
-    private OzoneFileStatusIterator(Path p, Function<FileStatus, T> transformFunc, boolean lite) throws IOException {
-      this.p = p;
-      this.lite = lite;
-      this.transformFunc = transformFunc;
-      // fetch the first batch of entries in the directory
-      thisListing = listFileStatus(p, startPath, lite);
-      if (thisListing != null && !thisListing.isEmpty()) {
-        startPath = pathToKey(
-            thisListing.get(thisListing.size() - 1).getPath());
-        LOG.debug("Got {} file status, next start path {}",
-            thisListing.size(), startPath);
-      }
-      i = 0;
-    }
-
-    /**
-     * @return true if next entry exists false otherwise.
-     * @throws IOException
-     */
-    @Override
-    public boolean hasNext() throws IOException {
-      while (curStat == null && hasNextNoFilter()) {
-        T next;
-        FileStatus fileStat = thisListing.get(i++);
-        next = transformFunc.apply(fileStat);
-        curStat = next;
-      }
-      return curStat != null;
+  @Override
+  protected DirectoryEntries listStatusBatch(Path f, byte[] token)
+      throws IOException {
+    String startPath = "";
+    if (token != null && token.length > 0) {
+      startPath = pathToKey(
+          new Path(f, new String(token, StandardCharsets.UTF_8)));
     }
-
-    /**
-     * Checks the next available entry from partial listing if not exhausted
-     * or fetches new batch for listing.
-     *
-     * @return true if next entry exists false otherwise.
-     * @throws IOException
-     */
-    private boolean hasNextNoFilter() throws IOException {
-      if (thisListing == null) {
-        return false;
-      }
-      if (i >= thisListing.size()) {
-        if (startPath != null && (!thisListing.isEmpty())) {
-          // current listing is exhausted & fetch a new listing
-          thisListing = listFileStatus(p, startPath, lite);
-          if (thisListing != null && !thisListing.isEmpty()) {
-            startPath = pathToKey(
-                thisListing.get(thisListing.size() - 1).getPath());
-            LOG.debug("Got {} file status, next start path {}",
-                thisListing.size(), startPath);
-          } else {
-            return false;
-          }
-          i = 0;
-        }
-      }
-      return (i < thisListing.size());
+    List<FileStatus> statuses = listFileStatus(f, startPath, true);
+    if (statuses.isEmpty()) {
+      return new DirectoryEntries(new FileStatus[0], null, false);
     }
+    // The first entry of a page that follows a start path is skipped.
+    int fullPage = startPath.isEmpty() ? listingPageSize : listingPageSize - 1;
+    String last = statuses.get(statuses.size() - 1).getPath().getName();
+    return new DirectoryEntries(statuses.toArray(new FileStatus[0]),
+        last.getBytes(StandardCharsets.UTF_8), statuses.size() >= fullPage);
+  }
 
-    /**
-     * @return next entry.
-     * @throws IOException
-     */
-    @Override
-    public T next() throws IOException {
-      if (hasNext()) {
-        T tmp = curStat;
-        curStat = null;
-        return tmp;
-      }
-      throw new java.util.NoSuchElementException("No more entry in " + p);
-    }
+  private <T extends FileStatus> RemoteIterator<T> newFileStatusIterator(
+      Path f, Function<FileStatus, T> transformFunc, boolean lite)
+      throws IOException {
+    return new FileStatusPageIterator<>(f,
+        startPath -> listFileStatus(f, startPath, lite), this::pathToKey,
+        transformFunc, listingPrefetchExecutor);
   }
 
   /**
@@ -1423,7 +1423,6 @@ private abstract class OzoneListingIterator {
     private final Path path;
     private final FileStatusAdapter status;
     private String pathKey;
-    private Iterator<BasicKeyInfo> keyIterator = null;
     private boolean isFSO;
 
     OzoneListingIterator(Path path, boolean isFSO)
@@ -1432,11 +1431,8 @@ private abstract class OzoneListingIterator {
       this.status = getFileStatusAdapter(path);
       this.pathKey = pathToKey(path);
       this.isFSO = isFSO;
-      if (!isFSO) {
-        if (status.isDir()) {
-          this.pathKey = addTrailingSlashIfNeeded(pathKey);
-        }
-        keyIterator = adapter.listKeys(pathKey);
+      if (!isFSO && status.isDir()) {
+        this.pathKey = addTrailingSlashIfNeeded(pathKey);
       }
     }
 
@@ -1455,6 +1451,14 @@ private abstract class OzoneListingIterator {
     abstract boolean processKeyPath(List<String> keyPathList)
         throws IOException;
 
+    /**
+     * @return the bucket of the path, if the subdirectories of a LEGACY
+     * bucket may be listed concurrently, null otherwise.
+     */
+    OzoneBucket getBucket() {
+      return null;
+    }
+
     /**
      * Iterates through all the keys prefixed with the input path's key and
      * processes the key though processKey().
@@ -1463,7 +1467,8 @@ abstract boolean processKeyPath(List<String> keyPathList)
      * be processed successfully.
      *
      * If isFSO is true, call is from DeleteIteratorWithFSO and the list of keys
-     * will only contain immediate children i.e top level dirs and files
+     * will only contain immediate children i.e top level dirs and files.
+     * Otherwise the keys are processed by the {@link KeyBatchProcessor}.
      *
      * @return true if all keys are processed successfully, false otherwise.
      * @throws IOException
@@ -1479,40 +1484,22 @@ boolean iterate() throws IOException {
             ozoneConfiguration);
         String ofsPathPrefix =
             ofsPath.getNonKeyPathNoPrefixDelim() + OZONE_URI_DELIMITER;
-        if (isFSO) {
-          List<FileStatusAdapter> fileStatuses;
-          fileStatuses = listStatusAdapter(path, true);
-          for (FileStatusAdapter fileStatus : fileStatuses) {
-            String keyName =
-                new OFSPath(fileStatus.getPath().toString(),
-                    ozoneConfiguration).getKeyName();
-            keyPathList.add(ofsPathPrefix + keyName);
-          }
-          if (keyPathList.size() >= batchSize) {
-            if (!processKeyPath(keyPathList)) {
-              return false;
-            } else {
-              keyPathList.clear();
-            }
-          }
-        } else {
-          while (keyIterator.hasNext()) {
-            BasicKeyInfo key = keyIterator.next();
-            // Convert key to full path before passing it to processKeyPath
-            // TODO: This conversion is redundant. But want to use only
-            //  full path outside AdapterImpl. - Maybe a refactor later.
-            String keyPath = ofsPathPrefix + key.getName();
-            LOG.trace("iterating key path: {}", keyPath);
-            if (!key.getName().equals("")) {
-              keyPathList.add(keyPath);
-            }
-            if (keyPathList.size() >= batchSize) {
-              if (!processKeyPath(keyPathList)) {
-                return false;
-              } else {
-                keyPathList.clear();
-              }
-            }
+        if (!isFSO) {
+          return iterateKeys(ofsPathPrefix);
+        }
+        List<FileStatusAdapter> fileStatuses;
+        fileStatuses = listStatusAdapter(path, true);
+        for (FileStatusAdapter fileStatus : fileStatuses) {
+          String keyName =
+              new OFSPath(fileStatus.getPath().toString(),
+                  ozoneConfiguration).getKeyName();
+          keyPathList.add(ofsPathPrefix + keyName);
+        }
+        if (keyPathList.size() >= batchSize) {
+          if (!processKeyPath(keyPathList)) {
+            return false;
+          } else {
+            keyPathList.clear();
           }
         }
         if (!keyPathList.isEmpty()) {
@@ -1528,6 +1515,35 @@ boolean iterate() throws IOException {
       }
     }
 
+    /**
+     * Processes the keys under the directory in batches.
+     * <p>
+     * In a LEGACY bucket the immediate children are listed first, and the
+     * keys under each subdirectory are listed concurrently.  The key of the
+     * directory itself, if any, is processed last.  Otherwise all the keys
+     * are listed by prefix from the calling thread.
+     */
+    private boolean iterateKeys(String ofsPathPrefix) throws IOException {
+      final OzoneBucket bucket = getBucket();
+      if (bucket == null || bucket.getBucketLayout() != BucketLayout.LEGACY) {
+        return keyBatchProcessor.process(
+            new KeyPathIterator(pathKey, ofsPathPrefix), key -> false,
+            null, this::processKeyPath);
+      }
+      final boolean processed = keyBatchProcessor.process(
+          new ChildKeyPathIterator(path),
+          key -> key.endsWith(OZONE_URI_DELIMITER),
+          prefix -> new KeyPathIterator(prefix, ofsPathPrefix),
+          this::processKeyPath);
+      final String dirKey = pathKey.substring(ofsPathPrefix.length());
+      if (!processed || dirKey.isEmpty() || !keyExists(bucket, dirKey)) {
+        return processed;
+      }
+      return keyBatchProcessor.process(
+          new KeyPathIterator(Collections.singletonList(pathKey).iterator()),
+          key -> false, null, this::processKeyPath);
+    }
+
     String getPathKey() {
       return pathKey;
     }
@@ -1541,6 +1557,128 @@ FileStatusAdapter getStatus() {
     }
   }
 
+  private static boolean keyExists(OzoneBucket bucket, String keyName)
+      throws IOException {
+    try {
+      bucket.headObject(keyName);
+      return true;
+    } catch (OMException e) {
+      if (e.getResult() == KEY_NOT_FOUND) {
+        return false;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Iterates the paths of the keys listed with a prefix, skipping the
+   * bucket itself.
+   */
+  private final class KeyPathIterator implements RemoteIterator<String> {
+    private final Iterator<String> keyPaths;
+    private String next;
+
+    KeyPathIterator(Iterator<String> keyPaths) {
+      this.keyPaths = keyPaths;
+    }
+
+    KeyPathIterator(String prefix, String ofsPathPrefix) throws IOException {
+      // Convert key to full path before passing it to processKeyPath
+      this(new TransformedIterator(adapter.listKeys(prefix), ofsPathPrefix));
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && keyPaths.hasNext()) {
+        next = keyPaths.next();
+      }
+      return next != null;
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final String keyPath = next;
+      next = null;
+      LOG.trace("iterating key path: {}", keyPath);
+      return keyPath;
+    }
+  }
+
+  /**
+   * Maps the listed keys to their paths, and the bucket itself to null.
+   */
+  private static final class TransformedIterator implements Iterator<String> {
+    private final Iterator<BasicKeyInfo> keys;
+    private final String ofsPathPrefix;
+
+    TransformedIterator(Iterator<BasicKeyInfo> keys, String ofsPathPrefix) {
+      this.keys = keys;
+      this.ofsPathPrefix = ofsPathPrefix;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return keys.hasNext();
+    }
+
+    @Override
+    public String next() {
+      final String name = keys.next().getName();
+      return name.isEmpty() ? null : ofsPathPrefix + name;
+    }
+  }
+
+  /**
+   * Iterates the paths of the immediate children of a directory page by
+   * page, with a trailing delimiter for subdirectories.
+   */
+  private final class ChildKeyPathIterator implements RemoteIterator<String> {
+    private final Path dir;
+    private final String dirKey;
+    private Iterator<FileStatusAdapter> page = Collections.emptyIterator();
+    private String startPath = "";
+    private boolean lastPage;
+
+    ChildKeyPathIterator(Path dir) {
+      this.dir = dir;
+      this.dirKey = pathToKey(dir);
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+      while (!page.hasNext() && !lastPage) {
+        List<FileStatusAdapter> statuses = adapter.listStatus(dirKey,
+            false, startPath, listingPageSize, uri, workingDir,
+            getUsername(), true);
+        // The page may start at startPath, which was already returned.
+        if (!statuses.isEmpty() && !startPath.isEmpty()
+            && startPath.equals(pathToKey(statuses.get(0).getPath()))) {
+          statuses = statuses.subList(1, statuses.size());
+        }
+        if (statuses.isEmpty()) {
+          lastPage = true;
+        } else {
+          startPath = pathToKey(statuses.get(statuses.size() - 1).getPath());
+        }
+        page = statuses.iterator();
+      }
+      return page.hasNext();
+    }
+
+    @Override
+    public String next() throws IOException {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final FileStatusAdapter status = page.next();
+      final String keyPath = pathToKey(status.getPath());
+      return status.isDir() ? addTrailingSlashIfNeeded(keyPath) : keyPath;
+    }
+  }
+
   public OzoneClientAdapter getAdapter() {
     return adapter;
   }
@@ -1606,13 +1744,41 @@ private ContentSummary getContentSummaryInSpan(Path f) throws IOException {
       return builder.build();
     }
     // f is a directory
+    return getDirectoryContentSummary(f, status, true);
+  }
+
+  /**
+   * Returns the content summary of the directory computed by the OM if
+   * possible, otherwise by listing it recursively.
+   * @param tryOm whether to ask the OM for the summary
+   */
+  private ContentSummary getDirectoryContentSummary(Path f,
+      FileStatusAdapter status, boolean tryOm) throws IOException {
+    boolean tryOmForChildren = false;
+    if (tryOm) {
+      try {
+        return toContentSummary(
+            adapter.getContentSummary(pathToKey(f)), status);
+      } catch (OMException ex) {
+        if (ex.getResult() != OMException.ResultCodes.NOT_SUPPORTED_OPERATION) {
+          throw ex;
+        }
+      }
+      // The OM cannot summarize the root, volumes or the snapshots of a
+      // bucket as a whole, but it may summarize their buckets or snapshots.
+      // Anything else it cannot summarize, e.g. a non-FSO bucket, is listed.
+      OFSPath ofsPath = new OFSPath(f, ozoneConfiguration);
+      tryOmForChildren = ofsPath.isRoot() || ofsPath.isVolume()
+          || ofsPath.isSnapshotPath();
+    }
+
     long[] summary = {0, 0, 0, 1};
     for (FileStatusAdapter s : listStatusAdapter(f, true)) {
       long length = s.getLength();
       long spaceConsumed = s.getDiskConsumed();
       ContentSummary c;
       if (s.isDir()) {
-        c = getContentSummary(s.getPath());
+        c = getDirectoryContentSummary(s.getPath(), s, tryOmForChildren);
       } else {
         ContentSummary.Builder childBuilder = new ContentSummary.Builder().length(length).
             fileCount(1).directoryCount(0).spaceConsumed(spaceConsumed);
@@ -1633,6 +1799,17 @@ private ContentSummary getContentSummaryInSpan(Path f) throws IOException {
     return builder.build();
   }
 
+  private ContentSummary toContentSummary(OmContentSummary summary,
+      FileStatusAdapter status) {
+    ContentSummary.Builder builder = new ContentSummary.Builder()
+        .length(summary.getLength())
+        .fileCount(summary.getFileCount())
+        .directoryCount(summary.getDirectoryCount())
+        .spaceConsumed(summary.getSpaceConsumed());
+    applyEcPolicy(builder, status.getErasureCodingPolicy());
+    return builder.build();
+  }
+
   /**
    * Apply the erasure coding policy on the {@link ContentSummary.Builder}.
    * Default implementation is a no-op so that this class can compile and run
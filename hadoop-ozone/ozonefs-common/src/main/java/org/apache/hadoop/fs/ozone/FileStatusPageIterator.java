@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.fs.ozone;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.PrivilegedExceptionAction;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.ratis.util.function.CheckedFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates the file statuses of a directory, listed page by page.
+ * <p>
+ * With an executor, the next page is fetched in the background as soon as
+ * a page is received, so that the caller does not wait for a round trip to
+ * OM for each page.  The background fetch runs as the user who created the
+ * iterator.
+ *
+ * @param <T> the type of the file status.
+ */
+final class FileStatusPageIterator<T extends FileStatus>
+    implements RemoteIterator<T> {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(FileStatusPageIterator.class);
+
+  private final Path path;
+  /** Lists the page following the given start path. */
+  private final CheckedFunction<String, List<FileStatus>, IOException> lister;
+  private final Function<Path, String> pathToKey;
+  private final Function<FileStatus, T> transformFunc;
+  private final ExecutorService prefetchExecutor;
+  private final UserGroupInformation ugi;
+
+  private List<FileStatus> thisListing;
+  private int i;
+  /** The next page, when it is prefetched. */
+  private Future<List<FileStatus>> nextListing;
+  /** The start path of the next page, when it is fetched on demand. */
+  private String startPath;
+
+  /**
+   * Gets the first page of entries for iteration.
+   *
+   * @param path path to file/directory.
+   * @param lister lists the page of entries following a start path.
+   * @param pathToKey converts the path of an entry to a start path.
+   * @param transformFunc converts FileStatus into an expected type.
+   * @param prefetchExecutor runs the fetch of the next page, or null to
+   * fetch the next page only when the current one is exhausted.
+   */
+  FileStatusPageIterator(Path path,
+      CheckedFunction<String, List<FileStatus>, IOException> lister,
+      Function<Path, String> pathToKey, Function<FileStatus, T> transformFunc,
+      ExecutorService prefetchExecutor) throws IOException {
+    this.path = path;
+    this.lister = lister;
+    this.pathToKey = pathToKey;
+    this.transformFunc = transformFunc;
+    this.prefetchExecutor = prefetchExecutor;
+    this.ugi = prefetchExecutor != null
+        ? UserGroupInformation.getCurrentUser() : null;
+    setListing(lister.apply(""));
+  }
+
+  private void setListing(List<FileStatus> listing) {
+    thisListing = listing;
+    i = 0;
+    if (listing.isEmpty()) {
+      return;
+    }
+    final String start =
+        pathToKey.apply(listing.get(listing.size() - 1).getPath());
+    LOG.debug("Got {} file status, next start path {}",
+        listing.size(), start);
+    if (prefetchExecutor != null) {
+      nextListing = prefetchExecutor.submit(() -> ugi.doAs(
+          (PrivilegedExceptionAction<List<FileStatus>>) () ->
+              lister.apply(start)));
+    } else {
+      startPath = start;
+    }
+  }
+
+  /**
+   * @return true if next entry exists false otherwise.
+   * @throws IOException
+   */
+  @Override
+  public boolean hasNext() throws IOException {
+    if (i < thisListing.size()) {
+      return true;
+    }
+    if (thisListing.isEmpty()) {
+      return false;
+    }
+    // current listing is exhausted & fetch a new listing
+    setListing(nextListing != null ? awaitNextListing()
+        : lister.apply(startPath));
+    return i < thisListing.size();
+  }
+
+  private List<FileStatus> awaitNextListing() throws IOException {
+    try {
+      return nextListing.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      nextListing.cancel(true);
+      throw new InterruptedIOException("Interrupted listing " + path);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException("Failed to list " + path, cause);
+    }
+  }
+
+  /**
+   * @return next entry.
+   * @throws IOException
+   */
+  @Override
+  public T next() throws IOException {
+    if (hasNext()) {
+      return transformFunc.apply(thisListing.get(i++));
+    }
+    throw new NoSuchElementException("No more entry in " + path);
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.fs.ozone;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.ratis.util.function.CheckedFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes the keys under a path in batches, for the recursive delete and
+ * rename of buckets which are not FSO.
+ * <p>
+ * The keys are given as a listing in which some entries stand for a
+ * partition of the key space, for example the subdirectories of the path.
+ * Partitions are listed concurrently, and the batches of keys are processed
+ * by a bounded number of concurrent operations while listing continues.
+ * A batch failing with an {@link IOException} other than
+ * {@link OMException} is retried.
+ * <p>
+ * With a single thread, everything runs in the calling thread.
+ */
+final class KeyBatchProcessor implements Closeable {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(KeyBatchProcessor.class);
+
+  /**
+   * Processes a batch of keys.
+   */
+  @FunctionalInterface
+  interface BatchOperation {
+    /**
+     * The operation may remove the keys it has processed from the batch, so
+     * that a retry only processes the rest.
+     *
+     * @return true if the processing should continue, false otherwise.
+     */
+    boolean process(List<String> batch) throws IOException;
+  }
+
+  /**
+   * Receives the progress of the processing.
+   */
+  interface Listener {
+    void batchProcessed(int keyCount);
+
+    void batchRetried(IOException cause);
+  }
+
+  private final int threads;
+  private final int batchSize;
+  private final int maxRetries;
+  private final Listener listener;
+  private final ExecutorService listingExecutor;
+  private final ExecutorService batchExecutor;
+
+  KeyBatchProcessor(int threads, int batchSize, int maxRetries,
+      Listener listener) {
+    this.threads = Math.max(1, threads);
+    this.batchSize = Math.max(1, batchSize);
+    this.maxRetries = Math.max(0, maxRetries);
+    this.listener = listener;
+    if (this.threads > 1) {
+      listingExecutor = newExecutor("KeyBatchLister-%d");
+      batchExecutor = newExecutor("KeyBatchProcessor-%d");
+    } else {
+      listingExecutor = null;
+      batchExecutor = null;
+    }
+  }
+
+  private ExecutorService newExecutor(String nameFormat) {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat(nameFormat)
+            .setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Processes the given keys, and the keys listed for the partitions among
+   * them, in batches.
+   *
+   * @param keys the keys and partitions to process
+   * @param isPartition tells whether an entry of keys is a partition
+   * @param lister lists the keys of a partition
+   * @param operation the operation to apply to the batches
+   * @return true if all the batches were processed and the operation
+   * returned true for each of them, false otherwise.
+   * @throws IOException if listing failed, or processing a batch failed
+   * more than the allowed retries.
+   */
+  boolean process(RemoteIterator<String> keys, Predicate<String> isPartition,
+      CheckedFunction<String, RemoteIterator<String>, IOException> lister,
+      BatchOperation operation) throws IOException {
+    return new Run(isPartition, lister, operation).run(keys);
+  }
+
+  @Override
+  public void close() {
+    if (listingExecutor != null) {
+      listingExecutor.shutdownNow();
+      batchExecutor.shutdownNow();
+    }
+  }
+
+  /** The state of a single {@link #process} call. */
+  private final class Run {
+    private final Predicate<String> isPartition;
+    private final CheckedFunction<String, RemoteIterator<String>, IOException>
+        lister;
+    private final BatchOperation operation;
+    /** Bounds the batches in flight, so that listing does not run ahead. */
+    private final Semaphore inFlight = new Semaphore(2 * threads);
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicBoolean succeeded = new AtomicBoolean(true);
+    private final AtomicReference<IOException> failure =
+        new AtomicReference<>();
+
+    Run(Predicate<String> isPartition,
+        CheckedFunction<String, RemoteIterator<String>, IOException> lister,
+        BatchOperation operation) {
+      this.isPartition = isPartition;
+      this.lister = lister;
+      this.operation = operation;
+    }
+
+    boolean run(RemoteIterator<String> keys) throws IOException {
+      final List<Future<?>> partitions = new ArrayList<>();
+      boolean completed = false;
+      try {
+        final List<String> batch = new ArrayList<>();
+        while (!stopped.get() && keys.hasNext()) {
+          final String key = keys.next();
+          if (isPartition.test(key)) {
+            if (listingExecutor == null) {
+              listPartition(key);
+            } else {
+              partitions.add(listingExecutor.submit(() -> {
+                listPartition(key);
+                return null;
+              }));
+            }
+          } else {
+            addToBatch(batch, key);
+          }
+        }
+        submitBatch(batch);
+        for (Future<?> partition : partitions) {
+          partition.get();
+        }
+        // All batches are done once all the permits are back.
+        inFlight.acquire(2 * threads);
+        inFlight.release(2 * threads);
+        completed = true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted processing keys");
+      } catch (ExecutionException e) {
+        failure.compareAndSet(null, toIOException(e.getCause()));
+      } finally {
+        if (!completed) {
+          stopped.set(true);
+          partitions.forEach(f -> f.cancel(true));
+          // Do not return while batches are still being processed.
+          inFlight.acquireUninterruptibly(2 * threads);
+          inFlight.release(2 * threads);
+        }
+      }
+      if (failure.get() != null) {
+        throw failure.get();
+      }
+      return succeeded.get();
+    }
+
+    private void listPartition(String partition)
+        throws IOException, InterruptedException {
+      LOG.trace("Listing partition {}", partition);
+      final RemoteIterator<String> keys = lister.apply(partition);
+      final List<String> batch = new ArrayList<>();
+      while (!stopped.get() && keys.hasNext()) {
+        addToBatch(batch, keys.next());
+      }
+      submitBatch(batch);
+    }
+
+    private void addToBatch(List<String> batch, String key)
+        throws InterruptedException {
+      batch.add(key);
+      if (batch.size() >= batchSize) {
+        submitBatch(batch);
+      }
+    }
+
+    private void submitBatch(List<String> batch) throws InterruptedException {
+      if (batch.isEmpty() || stopped.get()) {
+        return;
+      }
+      final List<String> keys = new ArrayList<>(batch);
+      batch.clear();
+      inFlight.acquire();
+      if (batchExecutor == null) {
+        processBatch(keys);
+      } else {
+        try {
+          batchExecutor.execute(() -> processBatch(keys));
+        } catch (RuntimeException e) {
+          inFlight.release();
+          throw e;
+        }
+      }
+    }
+
+    private void processBatch(List<String> batch) {
+      try {
+        final int keyCount = batch.size();
+        for (int attempt = 0; !stopped.get(); attempt++) {
+          try {
+            if (!operation.process(batch)) {
+              succeeded.set(false);
+              stopped.set(true);
+            }
+            listener.batchProcessed(keyCount);
+            return;
+          } catch (OMException e) {
+            fail(e);
+            return;
+          } catch (IOException e) {
+            if (attempt >= maxRetries) {
+              fail(e);
+              return;
+            }
+            LOG.warn("Retrying batch of {} keys after attempt {} failed",
+                batch.size(), attempt + 1, e);
+            listener.batchRetried(e);
+          }
+        }
+      } catch (RuntimeException e) {
+        fail(new IOException(e));
+      } finally {
+        inFlight.release();
+      }
+    }
+
+    private void fail(IOException e) {
+      failure.compareAndSet(null, e);
+      stopped.set(true);
+    }
+  }
+
+  private static IOException toIOException(Throwable t) {
+    return t instanceof IOException ? (IOException) t : new IOException(t);
+  }
+}
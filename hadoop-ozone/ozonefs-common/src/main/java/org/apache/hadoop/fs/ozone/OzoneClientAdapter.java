@@ -29,6 +29,7 @@
 import org.apache.hadoop.hdfs.protocol.SnapshotDiffReport;
 import org.apache.hadoop.ozone.OzoneFsServerDefaults;
 import org.apache.hadoop.ozone.om.helpers.LeaseKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 import org.apache.hadoop.ozone.security.OzoneTokenIdentifier;
@@ -104,6 +105,13 @@ default FileStatusAdapter getFileStatus(String key, URI uri,
 
   FileChecksum getFileChecksum(String keyName, long length) throws IOException;
 
+  /**
+   * Returns the content summary of the directory computed by the OM.
+   * @throws org.apache.hadoop.ozone.om.exceptions.OMException with
+   * NOT_SUPPORTED_OPERATION if the OM cannot compute it for the directory.
+   */
+  OmContentSummary getContentSummary(String key) throws IOException;
+
   String createSnapshot(String pathStr, String snapshotName) throws IOException;
 
   void renameSnapshot(String pathStr, String snapshotOldName, String snapshotNewName) throws IOException;
@@ -39,6 +39,8 @@ public enum Statistic {
       "Total number of objects queried from the object store."),
   OBJECTS_LIST("objects_list",
       "Total number of object list query from the object store."),
+  OBJECT_BATCHES_RETRIED("object_batches_retried",
+      "Total number of key batches retried in recursive delete and rename."),
   INVOCATION_COPY_FROM_LOCAL_FILE(CommonStatisticNames.OP_COPY_FROM_LOCAL_FILE,
       "Calls of copyFromLocalFile()"),
   INVOCATION_CREATE(CommonStatisticNames.OP_CREATE,
@@ -49,6 +51,8 @@ public enum Statistic {
       "Calls of delete()"),
   INVOCATION_EXISTS(CommonStatisticNames.OP_EXISTS,
       "Calls of exists()"),
+  INVOCATION_GET_CONTENT_SUMMARY("op_get_content_summary",
+      "Calls of getContentSummary()"),
   INVOCATION_GET_FILE_CHECKSUM(CommonStatisticNames.OP_GET_FILE_CHECKSUM,
       "Calls of getFileChecksum()"),
   INVOCATION_GET_FILE_STATUS(CommonStatisticNames.OP_GET_FILE_STATUS,
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.fs.ozone;
+
+import static java.util.Collections.synchronizedList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.ratis.util.function.CheckedFunction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link FileStatusPageIterator}.
+ */
+public class TestFileStatusPageIterator {
+
+  private static final Path DIR = new Path("/vol/bucket/dir");
+  private static final int PAGE_SIZE = 3;
+
+  private static ExecutorService executor;
+
+  @BeforeAll
+  public static void init() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterAll
+  public static void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static String toKey(Path path) {
+    return path.toUri().getPath().substring(1);
+  }
+
+  /** Lists the pages of a directory with the given number of entries. */
+  private static CheckedFunction<String, List<FileStatus>, IOException> lister(
+      int entries, List<String> requests) {
+    return startPath -> {
+      requests.add(startPath);
+      final int first = startPath.isEmpty() ? 0
+          : Integer.parseInt(startPath.substring(startPath.length() - 4)) + 1;
+      final List<FileStatus> page = new ArrayList<>();
+      for (int i = first; i < Math.min(entries, first + PAGE_SIZE); i++) {
+        page.add(new FileStatus(1, false, 1, 1, 0,
+            new Path(DIR, String.format("file%04d", i))));
+      }
+      return page;
+    };
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void iteratesAllPages(boolean prefetch) throws IOException {
+    final List<String> requests = synchronizedList(new ArrayList<>());
+    final FileStatusPageIterator<FileStatus> iterator =
+        new FileStatusPageIterator<>(DIR, lister(8, requests),
+            TestFileStatusPageIterator::toKey, Function.identity(),
+            prefetch ? executor : null);
+    for (int i = 0; i < 8; i++) {
+      assertEquals(String.format("file%04d", i),
+          iterator.next().getPath().getName());
+    }
+    assertFalse(iterator.hasNext());
+    assertThrows(NoSuchElementException.class, iterator::next);
+    // 3 full pages and an empty one
+    assertEquals(4, requests.size());
+  }
+
+  @Test
+  public void prefetchesNextPage() throws Exception {
+    final List<String> requests = synchronizedList(new ArrayList<>());
+    final FileStatusPageIterator<FileStatus> iterator =
+        new FileStatusPageIterator<>(DIR, lister(8, requests),
+            TestFileStatusPageIterator::toKey, Function.identity(), executor);
+    iterator.next();
+    // the second page is requested before the first one is consumed
+    for (int i = 0; i < 100 && requests.size() < 2; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(2, requests.size());
+  }
+
+  @Test
+  public void emptyDirectory() throws IOException {
+    final List<String> requests = synchronizedList(new ArrayList<>());
+    final FileStatusPageIterator<FileStatus> iterator =
+        new FileStatusPageIterator<>(DIR, lister(0, requests),
+            TestFileStatusPageIterator::toKey, Function.identity(), executor);
+    assertFalse(iterator.hasNext());
+    assertEquals(1, requests.size());
+  }
+
+  @Test
+  public void prefetchFailureIsThrown() throws IOException {
+    final IOException failure = new FileNotFoundException("deleted");
+    final CheckedFunction<String, List<FileStatus>, IOException> pages =
+        lister(8, new ArrayList<>());
+    final FileStatusPageIterator<FileStatus> iterator =
+        new FileStatusPageIterator<>(DIR, startPath -> {
+          if (startPath.isEmpty()) {
+            return pages.apply(startPath);
+          }
+          throw failure;
+        }, TestFileStatusPageIterator::toKey, Function.identity(), executor);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      iterator.next();
+    }
+    assertSame(failure, assertThrows(IOException.class, iterator::hasNext));
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.fs.ozone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link KeyBatchProcessor}.
+ */
+public class TestKeyBatchProcessor {
+
+  private final AtomicInteger processedKeys = new AtomicInteger();
+  private final AtomicInteger retries = new AtomicInteger();
+
+  private KeyBatchProcessor newProcessor(int threads) {
+    return new KeyBatchProcessor(threads, 3, 2,
+        new KeyBatchProcessor.Listener() {
+          @Override
+          public void batchProcessed(int keyCount) {
+            processedKeys.addAndGet(keyCount);
+          }
+
+          @Override
+          public void batchRetried(IOException cause) {
+            retries.incrementAndGet();
+          }
+        });
+  }
+
+  /** Lists 10 keys under each partition. */
+  private static RemoteIterator<String> list(String partition) {
+    final List<String> keys = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      keys.add(partition + "key" + i);
+    }
+    return remote(keys);
+  }
+
+  private static RemoteIterator<String> remote(List<String> list) {
+    final Iterator<String> i = list.iterator();
+    return new RemoteIterator<String>() {
+      @Override
+      public boolean hasNext() {
+        return i.hasNext();
+      }
+
+      @Override
+      public String next() {
+        return i.next();
+      }
+    };
+  }
+
+  private static void sleep(long millis) throws IOException {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  public void processesAllKeysOfAllPartitions(int threads) throws Exception {
+    final Set<String> processed = Collections.synchronizedSet(new HashSet<>());
+    final List<String> keys = Arrays.asList("a", "dir1/", "b", "dir2/", "c");
+    try (KeyBatchProcessor processor = newProcessor(threads)) {
+      assertTrue(processor.process(remote(keys), k -> k.endsWith("/"),
+          TestKeyBatchProcessor::list, batch -> {
+            assertTrue(batch.size() <= 3);
+            processed.addAll(batch);
+            return true;
+          }));
+    }
+    assertEquals(23, processed.size());
+    assertEquals(23, processedKeys.get());
+    assertTrue(processed.contains("dir2/key9"));
+    assertFalse(processed.contains("dir1/"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  public void retriesOnlyTheRemainingKeys(int threads) throws Exception {
+    final List<String> processed = Collections.synchronizedList(
+        new ArrayList<>());
+    final AtomicInteger failures = new AtomicInteger();
+    try (KeyBatchProcessor processor = newProcessor(threads)) {
+      assertTrue(processor.process(list(""), k -> false, null, batch -> {
+        for (Iterator<String> i = batch.iterator(); i.hasNext();) {
+          final String key = i.next();
+          if (key.equals("key4") && failures.getAndIncrement() < 2) {
+            throw new IOException("injected");
+          }
+          processed.add(key);
+          i.remove();
+        }
+        return true;
+      }));
+    }
+    assertEquals(10, processed.size());
+    assertEquals(2, retries.get());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  public void failsAfterRetries(int threads) {
+    final IOException injected = new IOException("injected");
+    try (KeyBatchProcessor processor = newProcessor(threads)) {
+      assertSame(injected, assertThrows(IOException.class,
+          () -> processor.process(list(""), k -> false, null, batch -> {
+            throw injected;
+          })));
+    }
+    if (threads == 1) {
+      assertEquals(2, retries.get());
+    } else {
+      // Batches in flight concurrently may each be retried.
+      assertTrue(retries.get() >= 2);
+    }
+  }
+
+  @Test
+  public void waitsForBatchesInFlightOnFailure() {
+    final IOException injected = new IOException("injected");
+    final AtomicBoolean inFlight = new AtomicBoolean();
+    try (KeyBatchProcessor processor = newProcessor(4)) {
+      assertSame(injected, assertThrows(IOException.class,
+          () -> processor.process(remote(Arrays.asList("dir1/", "dir2/")),
+              k -> k.endsWith("/"), partition -> {
+                if (partition.equals("dir1/")) {
+                  sleep(100);
+                  throw injected;
+                }
+                return list(partition);
+              }, batch -> {
+                inFlight.set(true);
+                sleep(500);
+                inFlight.set(false);
+                return true;
+              })));
+    }
+    assertFalse(inFlight.get());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  public void omExceptionIsNotRetried(int threads) {
+    try (KeyBatchProcessor processor = newProcessor(threads)) {
+      assertThrows(OMException.class,
+          () -> processor.process(list(""), k -> false, null, batch -> {
+            throw new OMException(OMException.ResultCodes.INTERNAL_ERROR);
+          }));
+    }
+    assertEquals(0, retries.get());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  public void stopsWhenOperationReturnsFalse(int threads) throws Exception {
+    final AtomicInteger batches = new AtomicInteger();
+    try (KeyBatchProcessor processor = newProcessor(threads)) {
+      assertFalse(processor.process(list(""), k -> false, null,
+          batch -> batches.incrementAndGet() != 2));
+    }
+    if (threads == 1) {
+      assertEquals(2, batches.get());
+    }
+  }
+}
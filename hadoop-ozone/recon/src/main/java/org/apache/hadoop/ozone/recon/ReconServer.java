@@ -47,6 +47,7 @@
 import org.apache.hadoop.hdds.utils.HddsServerUtil;
 import org.apache.hadoop.ozone.OzoneSecurityUtil;
 import org.apache.hadoop.ozone.recon.api.types.FeatureProvider;
+import org.apache.hadoop.ozone.recon.heatmap.HeatMapServiceImpl;
 import org.apache.hadoop.ozone.recon.metrics.ReconTaskStatusMetrics;
 import org.apache.hadoop.ozone.recon.scm.ReconSafeModeManager;
 import org.apache.hadoop.ozone.recon.scm.ReconStorageConfig;
@@ -88,6 +89,7 @@ public class ReconServer extends GenericCli implements Callable<Void> {
   private ReconStorageConfig reconStorage;
   private CertificateClient certClient;
   private ReconTaskStatusMetrics reconTaskStatusMetrics;
+  private HeatMapServiceImpl heatMapService;
   private OzoneAdmins reconAdmins;
 
   private volatile boolean isStarted = false;
@@ -172,6 +174,7 @@ public Void call() throws Exception {
 
       this.reconTaskStatusMetrics =
           injector.getInstance(ReconTaskStatusMetrics.class);
+      this.heatMapService = injector.getInstance(HeatMapServiceImpl.class);
 
       LOG.info("Initializing support of Recon Features...");
       FeatureProvider.initFeatureSupport(configuration);
@@ -309,6 +312,9 @@ public void start() throws Exception {
       if (jvmPauseMonitor != null) {
         jvmPauseMonitor.start();
       }
+      if (heatMapService != null) {
+        heatMapService.start();
+      }
     }
   }
 
@@ -336,6 +342,9 @@ public void stop() {
       if (reconTaskStatusMetrics != null) {
         reconTaskStatusMetrics.unregister();
       }
+      if (heatMapService != null) {
+        heatMapService.stop();
+      }
       isStarted = false;
       if (reconDBProvider != null) {
         try {
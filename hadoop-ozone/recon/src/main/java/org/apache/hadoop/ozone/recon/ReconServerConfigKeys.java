@@ -112,6 +112,10 @@ public final class  ReconServerConfigKeys {
       "ozone.recon.om.event.buffer.capacity";
   public static final int OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT = 20000;
 
+  public static final String OZONE_RECON_OM_EVENT_LOG_CAPACITY =
+      "ozone.recon.om.event.log.capacity";
+  public static final int OZONE_RECON_OM_EVENT_LOG_CAPACITY_DEFAULT = 64;
+
   public static final String OZONE_RECON_HTTP_AUTH_CONFIG_PREFIX =
       "ozone.recon.http.auth.";
 
@@ -238,6 +242,18 @@ public final class  ReconServerConfigKeys {
   public static final int OZONE_RECON_DN_METRICS_COLLECTION_THREAD_COUNT_DEFAULT =
       Runtime.getRuntime().availableProcessors() * 2;
 
+  public static final String OZONE_RECON_DN_METRICS_HISTORY_RETENTION =
+      "ozone.recon.dn.metrics.history.retention";
+  public static final String OZONE_RECON_DN_METRICS_HISTORY_RETENTION_DEFAULT = "7d";
+
+  public static final String OZONE_RECON_HEATMAP_STORE_REFRESH_INTERVAL =
+      "ozone.recon.heatmap.store.refresh.interval";
+  public static final String OZONE_RECON_HEATMAP_STORE_REFRESH_INTERVAL_DEFAULT = "0";
+
+  public static final String OZONE_RECON_HEATMAP_STORE_RETENTION =
+      "ozone.recon.heatmap.store.retention";
+  public static final String OZONE_RECON_HEATMAP_STORE_RETENTION_DEFAULT = "30d";
+
   /**
    * Application-level ceiling on the number of ContainerIDs fetched from SCM
    * per RPC call during container sync. The effective batch size is
@@ -23,6 +23,8 @@
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_DN_METRICS_COLLECTION_THREAD_COUNT_DEFAULT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_DN_METRICS_COLLECTION_TIMEOUT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_DN_METRICS_COLLECTION_TIMEOUT_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_DN_METRICS_HISTORY_RETENTION;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_DN_METRICS_HISTORY_RETENTION_DEFAULT;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
@@ -31,6 +33,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -51,6 +54,7 @@
 import org.apache.hadoop.ozone.recon.api.types.DataNodeMetricsCompleteResponse;
 import org.apache.hadoop.ozone.recon.api.types.DataNodeMetricsProgressResponse;
 import org.apache.hadoop.ozone.recon.api.types.DatanodePendingDeletionMetrics;
+import org.apache.hadoop.ozone.recon.metrics.TimeBucketedStore;
 import org.apache.hadoop.ozone.recon.scm.ReconNodeManager;
 import org.apache.hadoop.ozone.recon.tasks.DataNodeMetricsCollectionTask;
 import org.slf4j.Logger;
@@ -65,6 +69,8 @@ public class DataNodeMetricsService {
   
   private static final Logger LOG = LoggerFactory.getLogger(DataNodeMetricsService.class);
   private static final int POLL_INTERVAL_MS = 200;
+  private static final long MAX_MINUTE_BUCKETS = TimeUnit.HOURS.toMinutes(6);
+  private static final long MAX_HOUR_BUCKETS = TimeUnit.DAYS.toHours(31);
 
   private final ExecutorService executorService;
   private final ReconNodeManager reconNodeManager;
@@ -73,6 +79,8 @@ public class DataNodeMetricsService {
   private final MetricsServiceProviderFactory metricsServiceProviderFactory;
   private final int maximumTaskTimeout;
   private final AtomicBoolean isRunning = new AtomicBoolean(false);
+  /** Pending deletion size of each datanode by collection time. */
+  private final TimeBucketedStore pendingDeletionHistory;
   
   private MetricCollectionStatus currentStatus = MetricCollectionStatus.NOT_STARTED;
   private volatile String failedMessage = "Metrics collection task failed. Please retry after some time.";
@@ -107,6 +115,12 @@ public DataNodeMetricsService(
         .setNameFormat("DataNodeMetricsCollector-%d")
         .build();
     this.executorService = Executors.newFixedThreadPool(corePoolSize, threadFactory);
+    long retentionMs = config.getTimeDuration(OZONE_RECON_DN_METRICS_HISTORY_RETENTION,
+        OZONE_RECON_DN_METRICS_HISTORY_RETENTION_DEFAULT, TimeUnit.MILLISECONDS);
+    this.pendingDeletionHistory = new TimeBucketedStore(
+        (int) Math.min(TimeUnit.MILLISECONDS.toMinutes(retentionMs), MAX_MINUTE_BUCKETS),
+        (int) Math.min(TimeUnit.MILLISECONDS.toHours(retentionMs), MAX_HOUR_BUCKETS),
+        (int) Math.max(1, TimeUnit.MILLISECONDS.toDays(retentionMs)));
   }
 
   /**
@@ -289,11 +303,33 @@ private void updateFinalState(CollectionContext context) {
       isRunning.set(false);
       lastCollectionEndTime.set(System.currentTimeMillis());
     }
+    recordHistory(context.results, lastCollectionEndTime.get());
 
     LOG.debug("Metrics collection completed. Queried: {}, Failed: {}",
         context.totalQueried, context.failed);
   }
 
+  private void recordHistory(List<DatanodePendingDeletionMetrics> results, long timeMs) {
+    for (DatanodePendingDeletionMetrics metrics : results) {
+      if (metrics.getPendingBlockSize() >= 0) {
+        pendingDeletionHistory.set(metrics.getDatanodeUuid(), timeMs, metrics.getPendingBlockSize());
+      }
+    }
+  }
+
+  /**
+   * Returns the pending deletion size collected from the datanode by the
+   * start time of each bucket of the resolution from {@code fromMs} to
+   * {@code toMs}.  When a bucket has several collections the last one wins.
+   *
+   * @throws IllegalArgumentException if the history is not kept at the
+   *         resolution
+   */
+  public SortedMap<Long, Long> getPendingDeletionHistory(String datanodeUuid,
+      TimeBucketedStore.Resolution resolution, long fromMs, long toMs) {
+    return pendingDeletionHistory.getValues(datanodeUuid, resolution, fromMs, toMs);
+  }
+
   /**
    * Resets the collection state.
    */
@@ -18,7 +18,9 @@
 package org.apache.hadoop.ozone.recon.api;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
@@ -28,6 +30,8 @@
 import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
 import org.apache.hadoop.ozone.recon.api.types.DataNodeMetricsCompleteResponse;
 import org.apache.hadoop.ozone.recon.api.types.ScmPendingDeletion;
+import org.apache.hadoop.ozone.recon.metrics.TimeBucketedStore;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,6 +84,43 @@ public Response getPendingDeletionByComponent(
     }
   }
 
+  /**
+   * Returns the history of the pending deletion size of a datanode, by the
+   * start time of each bucket, from the collections triggered through
+   * {@code component=dn}.
+   *
+   * @param datanodeUuid the UUID of the datanode
+   * @param resolution the bucket width, one of MINUTE, HOUR and DAY
+   * @param fromMs the start of the range, one day before the end by default
+   * @param toMs the end of the range, now by default
+   */
+  @GET
+  @Path("/history")
+  public Response getDataNodePendingDeletionHistory(
+      @QueryParam("datanode")
+      String datanodeUuid,
+      @DefaultValue("HOUR") @QueryParam("resolution")
+      String resolution,
+      @QueryParam("from")
+      Long fromMs,
+      @QueryParam("to")
+      Long toMs
+  ) {
+    if (datanodeUuid == null || datanodeUuid.isEmpty()) {
+      return Response.status(Response.Status.BAD_REQUEST)
+          .entity("datanode query parameter is required").build();
+    }
+    final long end = toMs == null ? Time.now() : toMs;
+    final long start = fromMs == null ? end - TimeUnit.DAYS.toMillis(1) : fromMs;
+    try {
+      return Response.ok(dataNodeMetricsService.getPendingDeletionHistory(datanodeUuid,
+          TimeBucketedStore.Resolution.valueOf(resolution.trim().toUpperCase()), start, end)).build();
+    } catch (IllegalArgumentException e) {
+      return Response.status(Response.Status.BAD_REQUEST)
+          .entity("resolution query parameter must be a kept one of MINUTE, HOUR, DAY").build();
+    }
+  }
+
   private Response handleDataNodeMetrics(Integer limit) {
     if (null != limit && limit < 1) {
       return Response.status(Response.Status.BAD_REQUEST)
@@ -92,6 +92,14 @@ public class EntityReadAccessHeatMapResponse {
   @JsonInclude(JsonInclude.Include.NON_DEFAULT)
   private double color;
 
+  /**
+   * Whether the access counts are approximate, as they are summed from the
+   * most accessed entities of several polls of the provider.
+   */
+  @JsonProperty("approximate")
+  @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+  private boolean approximate;
+
   public EntityReadAccessHeatMapResponse() {
     this.children = new ArrayList<>();
   }
@@ -160,6 +168,14 @@ public void setColor(double color) {
     this.color = color;
   }
 
+  public boolean isApproximate() {
+    return approximate;
+  }
+
+  public void setApproximate(boolean approximate) {
+    this.approximate = approximate;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.api.types;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hashing;
+import java.util.Objects;
+
+/**
+ * Class to encapsulate the Key information stored in the key to container
+ * index of the Recon container DB.  Instead of the whole key, it holds a
+ * 64-bit reference computed from the key, along with the key version and
+ * the containerId.
+ * <p>
+ * Different keys may share a reference, so a lookup by reference only finds
+ * candidates which have to be checked against the container to key table.
+ * <p>
+ * This class is immutable.
+ */
+public final class KeyReferenceContainer {
+
+  private final long keyReference;
+  private final long keyVersion;
+  private final long containerId;
+
+  private KeyReferenceContainer(long keyReference, long keyVersion,
+      long containerId) {
+    this.keyReference = keyReference;
+    this.keyVersion = keyVersion;
+    this.containerId = containerId;
+  }
+
+  public static KeyReferenceContainer get(long keyReference, long keyVersion,
+      long containerId) {
+    return new KeyReferenceContainer(keyReference, keyVersion, containerId);
+  }
+
+  public static KeyReferenceContainer get(KeyPrefixContainer keyPrefixContainer) {
+    return get(toKeyReference(keyPrefixContainer.getKeyPrefix()),
+        keyPrefixContainer.getKeyVersion(),
+        keyPrefixContainer.getContainerId());
+  }
+
+  /**
+   * @return the reference stored in place of the given key prefix.
+   */
+  public static long toKeyReference(String keyPrefix) {
+    return Hashing.farmHashFingerprint64().hashString(keyPrefix, UTF_8)
+        .asLong();
+  }
+
+  public long getKeyReference() {
+    return keyReference;
+  }
+
+  public long getKeyVersion() {
+    return keyVersion;
+  }
+
+  public long getContainerId() {
+    return containerId;
+  }
+
+  /**
+   * @return the key of the given prefix in the container of this reference.
+   */
+  public ContainerKeyPrefix toContainerKeyPrefix(String keyPrefix) {
+    return ContainerKeyPrefix.get(containerId, keyPrefix, keyVersion);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(keyReference, keyVersion, containerId);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof KeyReferenceContainer)) {
+      return false;
+    }
+    final KeyReferenceContainer that = (KeyReferenceContainer) o;
+    return this.keyReference == that.keyReference
+        && this.keyVersion == that.keyVersion
+        && this.containerId == that.containerId;
+  }
+
+  @Override
+  public String toString() {
+    return "KeyReferenceContainer{keyReference=" + keyReference
+        + ", keyVersion=" + keyVersion + ", containerId=" + containerId + '}';
+  }
+}
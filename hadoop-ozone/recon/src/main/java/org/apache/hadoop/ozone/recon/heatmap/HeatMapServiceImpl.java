@@ -19,16 +19,33 @@
 
 import static org.apache.hadoop.hdds.recon.ReconConfigKeys.OZONE_RECON_HEATMAP_PROVIDER_KEY;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_HEATMAP_STORE_REFRESH_INTERVAL;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_HEATMAP_STORE_REFRESH_INTERVAL_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_HEATMAP_STORE_RETENTION;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_HEATMAP_STORE_RETENTION_DEFAULT;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.scm.server.OzoneStorageContainerManager;
+import org.apache.hadoop.ozone.recon.api.types.EntityMetaData;
 import org.apache.hadoop.ozone.recon.api.types.EntityReadAccessHeatMapResponse;
 import org.apache.hadoop.ozone.recon.api.types.HealthCheckResponse;
+import org.apache.hadoop.ozone.recon.metrics.TimeBucketedStore;
 import org.apache.hadoop.ozone.recon.recovery.ReconOMMetadataManager;
 import org.apache.hadoop.ozone.recon.spi.ReconNamespaceSummaryManager;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,12 +56,29 @@
 public class HeatMapServiceImpl extends HeatMapService {
   private static final Logger LOG =
       LoggerFactory.getLogger(HeatMapServiceImpl.class);
+  private static final String ENTITY_TYPE_KEY = "key";
+  /** Start dates like 24H or 7D, relative to now. */
+  private static final Pattern RELATIVE_START_DATE =
+      Pattern.compile("(\\d{1,6})([hHdD])");
+  private static final int MAX_ENTITIES = 100;
+  private static final int ACCESS_STORE_HOUR_BUCKETS = 48;
   private final OzoneConfiguration ozoneConfiguration;
   private final ReconNamespaceSummaryManager reconNamespaceSummaryManager;
   private final ReconOMMetadataManager omMetadataManager;
   private final OzoneStorageContainerManager reconSCM;
   private IHeatMapProvider heatMapProvider;
   private HeatMapUtil heatMapUtil;
+  /**
+   * Read access counts of keys polled from the provider.  The provider only
+   * returns the most accessed keys of each poll, so the counts summed over
+   * several polls are approximate.
+   */
+  private TimeBucketedStore accessStore;
+  /** The hours of access counts polled at a time. */
+  private long accessStoreRefreshHours;
+  private ScheduledExecutorService accessStoreRefresher;
+  /** The time from which the access store has all counts. */
+  private volatile long accessStoreStartMs = Long.MAX_VALUE;
 
   @Inject
   public HeatMapServiceImpl(OzoneConfiguration ozoneConfiguration,
@@ -60,6 +94,7 @@ public HeatMapServiceImpl(OzoneConfiguration ozoneConfiguration,
         new HeatMapUtil(reconNamespaceSummaryManager, omMetadataManager,
             reconSCM);
     initializeProvider();
+    initializeAccessStore();
   }
 
   private void initializeProvider() {
@@ -87,16 +122,159 @@ private void initializeProvider() {
     }
   }
 
+  private void initializeAccessStore() {
+    final long intervalMs = ozoneConfiguration.getTimeDuration(
+        OZONE_RECON_HEATMAP_STORE_REFRESH_INTERVAL,
+        OZONE_RECON_HEATMAP_STORE_REFRESH_INTERVAL_DEFAULT,
+        TimeUnit.MILLISECONDS);
+    if (null == heatMapProvider || intervalMs <= 0) {
+      return;
+    }
+    final long retentionMs = ozoneConfiguration.getTimeDuration(
+        OZONE_RECON_HEATMAP_STORE_RETENTION,
+        OZONE_RECON_HEATMAP_STORE_RETENTION_DEFAULT, TimeUnit.MILLISECONDS);
+    final long dayMs = TimeUnit.DAYS.toMillis(1);
+    accessStore = new TimeBucketedStore(0, ACCESS_STORE_HOUR_BUCKETS,
+        (int) Math.max(1, (retentionMs + dayMs - 1) / dayMs));
+
+    // The provider takes whole hours, so poll the last hours since the
+    // previous poll.
+    final long hourMs = TimeUnit.HOURS.toMillis(1);
+    accessStoreRefreshHours = Math.max(1, (intervalMs + hourMs - 1) / hourMs);
+  }
+
+  /**
+   * Starts polling the provider for the access store, if it is enabled.
+   */
+  public synchronized void start() {
+    if (null == accessStore || null != accessStoreRefresher) {
+      return;
+    }
+    final long hours = accessStoreRefreshHours;
+    accessStoreRefresher = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("HeatMapStoreRefresher-%d")
+            .setDaemon(true)
+            .build());
+    accessStoreRefresher.scheduleWithFixedDelay(
+        () -> refreshAccessStore(hours + "H",
+            TimeUnit.HOURS.toMillis(hours)),
+        0, hours, TimeUnit.HOURS);
+  }
+
+  /**
+   * Stops polling the provider for the access store.
+   */
+  public synchronized void stop() {
+    if (null != accessStoreRefresher) {
+      accessStoreRefresher.shutdownNow();
+      accessStoreRefresher = null;
+    }
+  }
+
+  /**
+   * Adds the read access counts of the keys over the last window to the
+   * access store.
+   */
+  void refreshAccessStore(String window, long windowMs) {
+    try {
+      final List<EntityMetaData> entities =
+          heatMapProvider.retrieveData("", ENTITY_TYPE_KEY, window);
+      final long now = Time.now();
+      if (null != entities) {
+        for (EntityMetaData entity : entities) {
+          accessStore.add(entity.getVal(), now, entity.getReadAccessCount());
+        }
+      }
+      if (accessStoreStartMs == Long.MAX_VALUE) {
+        accessStoreStartMs = now - windowMs;
+      }
+    } catch (Exception e) {
+      LOG.warn("Failed to refresh the heatmap access store", e);
+    }
+  }
+
   @Override
   public EntityReadAccessHeatMapResponse retrieveData(
       String path,
       String entityType,
       String startDate) throws Exception {
+    final String normalizedPath = validatePath(path);
+    if (StringUtils.isEmpty(normalizedPath)
+        && ENTITY_TYPE_KEY.equals(entityType)) {
+      final EntityReadAccessHeatMapResponse response =
+          retrieveFromAccessStore(startDate);
+      if (null != response) {
+        return response;
+      }
+    }
     return heatMapUtil.retrieveDataAndGenerateHeatMap(heatMapProvider,
-        validatePath(path),
+        normalizedPath,
         entityType, startDate);
   }
 
+  /**
+   * Generates the heatmap of the whole namespace from the access store.
+   * The store only has the keys the provider returned for the root, so
+   * heatmaps of a path still come from the provider.  A start date of N
+   * hours or days sums the N buckets of that width up to the current one.
+   * The heatmap is marked approximate, as keys that were not among the
+   * most accessed in every poll miss some of their counts.
+   *
+   * @return the heatmap, or null if the store does not cover the start date
+   */
+  private EntityReadAccessHeatMapResponse retrieveFromAccessStore(
+      String startDate) {
+    if (null == accessStore || null == startDate) {
+      return null;
+    }
+    final Matcher matcher = RELATIVE_START_DATE.matcher(startDate.trim());
+    if (!matcher.matches()) {
+      return null;
+    }
+    final TimeUnit unit = Character.toUpperCase(matcher.group(2).charAt(0))
+        == 'H' ? TimeUnit.HOURS : TimeUnit.DAYS;
+    final long now = Time.now();
+    final long durationMs = unit.toMillis(Long.parseLong(matcher.group(1)));
+    final TimeBucketedStore.Resolution resolution =
+        accessStore.resolutionFor(now - durationMs);
+    if (null == resolution) {
+      return null;
+    }
+    // Start at a bucket boundary, so the range has exactly as many buckets
+    // as the duration, up to and including the current bucket.
+    final long widthMs = resolution.getWidthMs();
+    final long fromMs = (Math.floorDiv(now, widthMs) + 1) * widthMs
+        - durationMs;
+    if (fromMs < accessStoreStartMs) {
+      return null;
+    }
+    final Map<String, Long> counts =
+        accessStore.sumByPrefix("", resolution, fromMs, now);
+    if (counts.isEmpty()) {
+      final EntityReadAccessHeatMapResponse response =
+          new EntityReadAccessHeatMapResponse();
+      response.setApproximate(true);
+      return response;
+    }
+    final List<EntityMetaData> entities = counts.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .limit(MAX_ENTITIES)
+        .map(e -> {
+          final EntityMetaData entity = new EntityMetaData();
+          entity.setVal(e.getKey());
+          entity.setReadAccessCount(
+              (int) Math.min(Integer.MAX_VALUE, e.getValue()));
+          return entity;
+        })
+        .sorted(Comparator.comparingInt(EntityMetaData::getReadAccessCount))
+        .collect(Collectors.toList());
+    final EntityReadAccessHeatMapResponse response =
+        heatMapUtil.generateHeatMap(entities);
+    response.setApproximate(true);
+    return response;
+  }
+
   private String validatePath(String path) {
     if (null != path && path.startsWith(OM_KEY_PREFIX)) {
       path = path.substring(1);
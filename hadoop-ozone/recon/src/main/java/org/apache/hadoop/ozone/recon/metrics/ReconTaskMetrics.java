@@ -29,6 +29,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.ozone.OzoneConsts;
 
@@ -57,6 +58,12 @@ public final class ReconTaskMetrics implements MetricsSource {
   private final ConcurrentMap<String, MutableRate> taskDeltaProcessingDuration =
       new ConcurrentHashMap<>();
 
+  // Per-task lag behind the OM updates handed to the tasks
+  private final ConcurrentMap<String, MutableGaugeLong> taskPendingBatches =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, MutableGaugeLong> taskLagSequenceNumbers =
+      new ConcurrentHashMap<>();
+
   // Per-task reprocess metrics
   private final ConcurrentMap<String, MutableCounterLong> taskReprocessFailures =
       new ConcurrentHashMap<>();
@@ -108,6 +115,28 @@ public void updateTaskDeltaProcessingDuration(String taskName, long duration) {
         .add(duration);
   }
 
+  /**
+   * Updates how far the task is behind the OM updates handed to it.
+   * @param pendingBatches the number of batches the task has yet to process
+   * @param lagSequenceNumbers the OM DB sequence numbers the task is behind
+   */
+  public void updateTaskLag(String taskName, long pendingBatches, long lagSequenceNumbers) {
+    taskPendingBatches
+        .computeIfAbsent(taskName, k ->
+            registry.newGauge(
+                "TaskPendingBatches_" + sanitizeTaskName(taskName),
+                "Batches pending for task " + taskName,
+                0L))
+        .set(pendingBatches);
+    taskLagSequenceNumbers
+        .computeIfAbsent(taskName, k ->
+            registry.newGauge(
+                "TaskLagSequenceNumbers_" + sanitizeTaskName(taskName),
+                "OM DB sequence numbers task " + taskName + " is behind",
+                0L))
+        .set(lagSequenceNumbers);
+  }
+
   // Task Reprocess Operations
   public void incrTaskReprocessFailures(String taskName) {
     taskReprocessFailures
@@ -151,6 +180,16 @@ public MutableRate getTaskDeltaProcessingDuration(String taskName) {
     return taskDeltaProcessingDuration.get(taskName);
   }
 
+  public long getTaskPendingBatches(String taskName) {
+    MutableGaugeLong gauge = taskPendingBatches.get(taskName);
+    return gauge != null ? gauge.value() : 0L;
+  }
+
+  public long getTaskLagSequenceNumbers(String taskName) {
+    MutableGaugeLong gauge = taskLagSequenceNumbers.get(taskName);
+    return gauge != null ? gauge.value() : 0L;
+  }
+
   public long getTaskReprocessFailures(String taskName) {
     MutableCounterLong counter = taskReprocessFailures.get(taskName);
     return counter != null ? counter.value() : 0L;
@@ -174,6 +213,10 @@ public void getMetrics(MetricsCollector collector, boolean all) {
         metric -> metric.snapshot(recordBuilder, all));
     taskDeltaProcessingDuration.values().forEach(
         metric -> metric.snapshot(recordBuilder, all));
+    taskPendingBatches.values().forEach(
+        metric -> metric.snapshot(recordBuilder, all));
+    taskLagSequenceNumbers.values().forEach(
+        metric -> metric.snapshot(recordBuilder, all));
     taskReprocessFailures.values().forEach(
         metric -> metric.snapshot(recordBuilder, all));
     taskReprocessDuration.values().forEach(
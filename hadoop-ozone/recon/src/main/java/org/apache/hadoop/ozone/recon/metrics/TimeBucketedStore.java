@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.metrics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience;
+
+/**
+ * In-memory store of time series, kept in fixed-width time buckets at
+ * minute, hour and day resolution.
+ * <p>
+ * Every value written is added to the bucket of its time in each
+ * resolution, so the coarser resolutions are always rolled up and a query
+ * reads only as many buckets as the chosen resolution needs.  Each
+ * resolution is a ring of buckets shared by all series and every series
+ * keeps one column of values per ring, so evicting the oldest bucket when
+ * the ring moves on clears one slot of each column.  A series without any
+ * value left in retention is dropped.
+ * <p>
+ * Series are kept sorted by name, so that the series of a path prefix can
+ * be read with a range scan.
+ */
+@InterfaceAudience.Private
+public final class TimeBucketedStore {
+
+  /**
+   * The width of the buckets of a ring.
+   */
+  public enum Resolution {
+    MINUTE(TimeUnit.MINUTES.toMillis(1)),
+    HOUR(TimeUnit.HOURS.toMillis(1)),
+    DAY(TimeUnit.DAYS.toMillis(1));
+
+    private final long widthMs;
+
+    Resolution(long widthMs) {
+      this.widthMs = widthMs;
+    }
+
+    public long getWidthMs() {
+      return widthMs;
+    }
+  }
+
+  private static final long EMPTY = Long.MIN_VALUE;
+  private static final int RESOLUTIONS = Resolution.values().length;
+
+  /** The rings by resolution, null for the resolutions not kept. */
+  private final Ring[] rings = new Ring[RESOLUTIONS];
+  /** The ring with the longest retention, which decides series eviction. */
+  private final Ring longestRing;
+  /** The columns of each series, indexed like {@link #rings}. */
+  private final TreeMap<String, long[][]> series = new TreeMap<>();
+
+  /**
+   * @param minuteBuckets the number of minute buckets to keep, 0 for none
+   * @param hourBuckets the number of hour buckets to keep, 0 for none
+   * @param dayBuckets the number of day buckets to keep, 0 for none
+   */
+  public TimeBucketedStore(int minuteBuckets, int hourBuckets,
+      int dayBuckets) {
+    final int[] counts = {minuteBuckets, hourBuckets, dayBuckets};
+    Ring longest = null;
+    for (Resolution r : Resolution.values()) {
+      final int count = counts[r.ordinal()];
+      if (count < 0) {
+        throw new IllegalArgumentException(
+            "Negative number of " + r + " buckets: " + count);
+      }
+      if (count > 0) {
+        rings[r.ordinal()] = new Ring(r, count);
+        if (longest == null
+            || longest.retentionMs() < rings[r.ordinal()].retentionMs()) {
+          longest = rings[r.ordinal()];
+        }
+      }
+    }
+    if (longest == null) {
+      throw new IllegalArgumentException("No buckets to keep");
+    }
+    this.longestRing = longest;
+  }
+
+  /**
+   * Adds the delta to the counter series at the given time.
+   */
+  public synchronized void add(String name, long timeMs, long delta) {
+    write(name, timeMs, delta, true);
+  }
+
+  /**
+   * Sets the gauge series at the given time.  The last value set in a
+   * bucket is the value of the bucket.
+   */
+  public synchronized void set(String name, long timeMs, long value) {
+    write(name, timeMs, value, false);
+  }
+
+  private void write(String name, long timeMs, long value, boolean add) {
+    for (Ring ring : rings) {
+      if (ring != null) {
+        advance(ring, ring.toBucket(timeMs));
+      }
+    }
+    long[][] columns = null;
+    for (Ring ring : rings) {
+      if (ring == null) {
+        continue;
+      }
+      final long bucket = ring.toBucket(timeMs);
+      if (!ring.contains(bucket)) {
+        continue;
+      }
+      if (columns == null) {
+        columns = series.computeIfAbsent(name, k -> newColumns());
+      }
+      final long[] column = columns[ring.resolution.ordinal()];
+      final int slot = ring.slotOf(bucket);
+      column[slot] = add && column[slot] != EMPTY
+          ? column[slot] + value : value;
+    }
+  }
+
+  /**
+   * @return the sum of the values of the series in the buckets from
+   *         {@code fromMs} to {@code toMs}, or 0 if it has none.
+   */
+  public synchronized long sum(String name, Resolution resolution,
+      long fromMs, long toMs) {
+    final long[][] columns = series.get(name);
+    return columns == null ? 0
+        : sum(columns, ring(resolution), fromMs, toMs);
+  }
+
+  /**
+   * @return the sum of the values in the buckets from {@code fromMs} to
+   *         {@code toMs} of each series whose name starts with the prefix
+   *         and has any value in the range.
+   */
+  public synchronized Map<String, Long> sumByPrefix(String prefix,
+      Resolution resolution, long fromMs, long toMs) {
+    final Ring ring = ring(resolution);
+    final Map<String, Long> sums = new HashMap<>();
+    for (Map.Entry<String, long[][]> e
+        : series.tailMap(prefix, true).entrySet()) {
+      if (!e.getKey().startsWith(prefix)) {
+        break;
+      }
+      if (hasValue(e.getValue(), ring, fromMs, toMs)) {
+        sums.put(e.getKey(), sum(e.getValue(), ring, fromMs, toMs));
+      }
+    }
+    return sums;
+  }
+
+  /**
+   * @return the values of the series from {@code fromMs} to {@code toMs}
+   *         by the start time of their bucket.
+   */
+  public synchronized SortedMap<Long, Long> getValues(String name,
+      Resolution resolution, long fromMs, long toMs) {
+    final SortedMap<Long, Long> values = new TreeMap<>();
+    final long[][] columns = series.get(name);
+    if (columns == null) {
+      return values;
+    }
+    final Ring ring = ring(resolution);
+    final long[] column = columns[resolution.ordinal()];
+    for (long b = ring.firstBucket(fromMs); b <= ring.lastBucket(toMs); b++) {
+      final long v = column[ring.slotOf(b)];
+      if (v != EMPTY) {
+        values.put(b * ring.resolution.getWidthMs(), v);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * @return the finest resolution kept whose retention goes back to
+   *         {@code fromMs}, or null if none does.
+   */
+  public synchronized Resolution resolutionFor(long fromMs) {
+    for (Ring ring : rings) {
+      if (ring != null && ring.oldestMs() <= fromMs) {
+        return ring.resolution;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the number of series in the store.
+   */
+  public synchronized int size() {
+    return series.size();
+  }
+
+  private Ring ring(Resolution resolution) {
+    final Ring ring = rings[resolution.ordinal()];
+    if (ring == null) {
+      throw new IllegalArgumentException(resolution + " buckets not kept");
+    }
+    return ring;
+  }
+
+  private long[][] newColumns() {
+    final long[][] columns = new long[RESOLUTIONS][];
+    for (Ring ring : rings) {
+      if (ring != null) {
+        columns[ring.resolution.ordinal()] = ring.newColumn();
+      }
+    }
+    return columns;
+  }
+
+  private static long sum(long[][] columns, Ring ring,
+      long fromMs, long toMs) {
+    final long[] column = columns[ring.resolution.ordinal()];
+    long sum = 0;
+    for (long b = ring.firstBucket(fromMs); b <= ring.lastBucket(toMs); b++) {
+      final long v = column[ring.slotOf(b)];
+      if (v != EMPTY) {
+        sum += v;
+      }
+    }
+    return sum;
+  }
+
+  private static boolean hasValue(long[][] columns, Ring ring,
+      long fromMs, long toMs) {
+    final long[] column = columns[ring.resolution.ordinal()];
+    for (long b = ring.firstBucket(fromMs); b <= ring.lastBucket(toMs); b++) {
+      if (column[ring.slotOf(b)] != EMPTY) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Moves the ring on to the given bucket, clearing the buckets that fall
+   * out of retention.
+   */
+  private void advance(Ring ring, long bucket) {
+    if (bucket <= ring.latest) {
+      return;
+    }
+    final int slots = ring.slotCount();
+    final long first = ring.latest == EMPTY
+        ? bucket - slots + 1 : Math.max(ring.latest + 1, bucket - slots + 1);
+    final int index = ring.resolution.ordinal();
+    for (long b = first; b <= bucket; b++) {
+      final int slot = ring.slotOf(b);
+      for (long[][] columns : series.values()) {
+        columns[index][slot] = EMPTY;
+      }
+    }
+    ring.latest = bucket;
+    if (ring == longestRing) {
+      evictEmptySeries();
+    }
+  }
+
+  private void evictEmptySeries() {
+    final int index = longestRing.resolution.ordinal();
+    final Iterator<long[][]> i = series.values().iterator();
+    while (i.hasNext()) {
+      if (isEmpty(i.next()[index])) {
+        i.remove();
+      }
+    }
+  }
+
+  private static boolean isEmpty(long[] column) {
+    for (long v : column) {
+      if (v != EMPTY) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * A ring of buckets of one resolution.
+   */
+  private static final class Ring {
+    private final Resolution resolution;
+    private final int slotCount;
+    /** The latest bucket written, EMPTY before the first write. */
+    private long latest = EMPTY;
+
+    private Ring(Resolution resolution, int slotCount) {
+      this.resolution = resolution;
+      this.slotCount = slotCount;
+    }
+
+    int slotCount() {
+      return slotCount;
+    }
+
+    long retentionMs() {
+      return slotCount * resolution.getWidthMs();
+    }
+
+    long toBucket(long timeMs) {
+      return Math.floorDiv(timeMs, resolution.getWidthMs());
+    }
+
+    boolean contains(long bucket) {
+      return latest != EMPTY && bucket <= latest
+          && bucket > latest - slotCount;
+    }
+
+    /** @return the oldest bucket in range and retention. */
+    long firstBucket(long fromMs) {
+      return latest == EMPTY ? 0
+          : Math.max(toBucket(fromMs), latest - slotCount + 1);
+    }
+
+    /** @return the latest bucket in range and retention. */
+    long lastBucket(long toMs) {
+      return latest == EMPTY ? -1 : Math.min(toBucket(toMs), latest);
+    }
+
+    /** @return the start time of the oldest bucket kept. */
+    long oldestMs() {
+      return latest == EMPTY ? Long.MAX_VALUE
+          : (latest - slotCount + 1) * resolution.getWidthMs();
+    }
+
+    int slotOf(long bucket) {
+      return (int) Math.floorMod(bucket, (long) slotCount);
+    }
+
+    long[] newColumn() {
+      final long[] column = new long[slotCount];
+      Arrays.fill(column, EMPTY);
+      return column;
+    }
+  }
+}
@@ -19,6 +19,7 @@
 
 import java.util.List;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerManager;
 import org.apache.hadoop.hdds.scm.container.ContainerReportHandler;
 import org.apache.hadoop.hdds.scm.node.NodeManager;
@@ -43,6 +44,12 @@ protected Logger getLogger() {
     return LOG;
   }
 
+  @Override
+  protected void notifyContainerUpdated(ContainerID containerID,
+      EventPublisher publisher) {
+    // Recon has no ReplicationManager to notify.
+  }
+
   @Override
   public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
                         final EventPublisher publisher) {
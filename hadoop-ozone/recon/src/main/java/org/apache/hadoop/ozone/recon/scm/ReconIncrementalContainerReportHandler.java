@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.recon.scm;
 
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerManager;
 import org.apache.hadoop.hdds.scm.container.IncrementalContainerReportHandler;
 import org.apache.hadoop.hdds.scm.ha.SCMContext;
@@ -46,6 +47,12 @@ protected Logger getLogger() {
     return LOG;
   }
 
+  @Override
+  protected void notifyContainerUpdated(ContainerID containerID,
+      EventPublisher publisher) {
+    // Recon has no ReplicationManager to notify.
+  }
+
   @Override
   public void onMessage(final IncrementalContainerReportFromDatanode report,
                         final EventPublisher publisher) {
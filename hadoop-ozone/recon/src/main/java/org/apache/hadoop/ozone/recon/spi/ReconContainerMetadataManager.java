@@ -25,10 +25,10 @@
 import org.apache.hadoop.hdds.utils.db.DBStore;
 import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
 import org.apache.hadoop.hdds.utils.db.Table;
-import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.recon.api.types.ContainerKeyPrefix;
 import org.apache.hadoop.ozone.recon.api.types.ContainerMetadata;
 import org.apache.hadoop.ozone.recon.api.types.KeyPrefixContainer;
+import org.apache.hadoop.ozone.recon.api.types.KeyReferenceContainer;
 import org.apache.hadoop.ozone.recon.scm.ContainerReplicaHistory;
 import org.apache.hadoop.ozone.recon.spi.impl.ReconDBProvider;
 import org.apache.hadoop.ozone.util.SeekableIterator;
@@ -75,6 +75,25 @@ void batchStoreContainerKeyMapping(BatchOperation batch,
                                      ContainerKeyPrefix containerKeyPrefix,
                                      Integer count) throws IOException;
 
+  /**
+   * Stage container to Key prefix mappings for a bulk load as sorted runs
+   * on disk.  The mappings are not visible until
+   * {@link #ingestStagedContainerKeyMappings()} is called.
+   *
+   * @param containerKeyPrefixCounts the mappings to load, with the count of
+   *                                 Keys with each prefix.
+   */
+  void stageContainerKeyMappings(
+      Map<ContainerKeyPrefix, Integer> containerKeyPrefixCounts)
+      throws IOException;
+
+  /**
+   * Bulk load all staged container to Key prefix mappings by merging them
+   * into one SST file per table and ingesting it, bypassing the memtable
+   * and the write-ahead log.
+   */
+  void ingestStagedContainerKeyMappings() throws IOException;
+
   /**
    * Store the containerID -&gt; no. of keys count into a batch.
    *
@@ -230,17 +249,11 @@ void batchDeleteContainerMapping(BatchOperation batch,
   void commitBatchOperation(RDBBatchOperation rdbBatchOperation)
       throws IOException;
       
-  /**
-   * Get iterator to the entire Key_Container DB.
-   * @return TableIterator
-   */
-  TableIterator getKeyContainerTableIterator() throws IOException;
-
   /**
    * Get the entire keyContainerTable.
    * @return keyContainerTable
    */
-  Table<KeyPrefixContainer, Integer> getKeyContainerTable();
+  Table<KeyReferenceContainer, Integer> getKeyContainerTable();
 
   /**
    * Get the stored key prefixes for the given containerId starting
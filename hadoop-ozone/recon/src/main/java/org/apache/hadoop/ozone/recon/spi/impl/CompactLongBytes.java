@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.spi.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes the non-negative numbers of the container key tables, such as the
+ * key version, in as few big-endian bytes as needed.  A version of 0 takes
+ * no bytes at all.
+ */
+final class CompactLongBytes {
+
+  private CompactLongBytes() {
+  }
+
+  /**
+   * @return the number of bytes needed to encode the given value.
+   */
+  static int length(long value) {
+    return (Long.SIZE - Long.numberOfLeadingZeros(value) + Byte.SIZE - 1)
+        / Byte.SIZE;
+  }
+
+  static void put(ByteBuffer buffer, long value, int length) {
+    for (int i = length - 1; i >= 0; i--) {
+      buffer.put((byte) (value >>> (i * Byte.SIZE)));
+    }
+  }
+
+  static long get(byte[] data, int offset, int length) {
+    long value = 0;
+    for (int i = offset; i < offset + length; i++) {
+      value = (value << Byte.SIZE) | (data[i] & 0xFF);
+    }
+    return value;
+  }
+}
@@ -21,19 +21,25 @@
 
 import java.nio.ByteBuffer;
 import java.util.Objects;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.utils.db.Codec;
-import org.apache.hadoop.hdds.utils.db.LongCodec;
 import org.apache.hadoop.ozone.recon.api.types.ContainerKeyPrefix;
 
 /**
  * Codec to serialize/deserialize {@link ContainerKeyPrefix}.
+ * <p>
+ * The persisted format is the containerId (8 bytes), the key prefix followed
+ * by a 0 byte, and the key version in as few bytes as needed followed by the
+ * number of these bytes with the high bit set.  The version is usually 0, in
+ * which case it only takes its length byte.  The length byte at the end
+ * allows decoding keys with any character, while the 0 byte after the key
+ * prefix sorts the versions of a key before any longer key starting with it.
  */
 public final class ContainerKeyPrefixCodec
     implements Codec<ContainerKeyPrefix> {
 
-  private static final String KEY_DELIMITER = "_";
+  private static final byte KEY_TERMINATOR = 0;
+  private static final int VERSION_LENGTH_FLAG = 0x80;
 
   private static final Codec<ContainerKeyPrefix> INSTANCE =
       new ContainerKeyPrefixCodec();
@@ -55,42 +61,53 @@ public Class<ContainerKeyPrefix> getTypeClass() {
   public byte[] toPersistedFormat(ContainerKeyPrefix containerKeyPrefix) {
     Objects.requireNonNull(containerKeyPrefix,
             "Null object can't be converted to byte array.");
-    byte[] containerIdBytes = LongCodec.get().toByteArray(containerKeyPrefix.getContainerId());
 
-    //Prefix seek can be done only with containerId. In that case, we can
-    // expect the key and version to be undefined.
+    //Prefix seek can be done only with containerId, or with the containerId
+    // and the key. In that case, we can expect the key and version to be
+    // undefined.
+    byte[] keyPrefixBytes = null;
+    int size = Long.BYTES;
     if (StringUtils.isNotEmpty(containerKeyPrefix.getKeyPrefix())) {
-      byte[] keyPrefixBytes = (KEY_DELIMITER +
-          containerKeyPrefix.getKeyPrefix()).getBytes(UTF_8);
-      containerIdBytes = ArrayUtils.addAll(containerIdBytes, keyPrefixBytes);
+      keyPrefixBytes = containerKeyPrefix.getKeyPrefix().getBytes(UTF_8);
+      size += keyPrefixBytes.length + 1;
+    }
+    final long version = containerKeyPrefix.getKeyVersion();
+    final int versionLength = CompactLongBytes.length(version);
+    if (keyPrefixBytes != null && version != -1) {
+      size += versionLength + 1;
     }
 
-    if (containerKeyPrefix.getKeyVersion() != -1) {
-      containerIdBytes = ArrayUtils.addAll(containerIdBytes, KEY_DELIMITER
-          .getBytes(UTF_8));
-      containerIdBytes = ArrayUtils.addAll(containerIdBytes,
-          LongCodec.get().toByteArray(containerKeyPrefix.getKeyVersion()));
+    final ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putLong(containerKeyPrefix.getContainerId());
+    if (keyPrefixBytes != null) {
+      buffer.put(keyPrefixBytes).put(KEY_TERMINATOR);
+      if (version != -1) {
+        CompactLongBytes.put(buffer, version, versionLength);
+        buffer.put((byte) (VERSION_LENGTH_FLAG | versionLength));
+      }
     }
-    return containerIdBytes;
+    return buffer.array();
   }
 
   @Override
   public ContainerKeyPrefix fromPersistedFormat(byte[] rawData) {
     // First 8 bytes is the containerId.
-    long containerIdFromDB = ByteBuffer.wrap(ArrayUtils.subarray(
-        rawData, 0, Long.BYTES)).getLong();
-    // When reading from byte[], we can always expect to have the containerId,
-    // key and version parts in the byte array.
-    byte[] keyBytes = ArrayUtils.subarray(rawData,
-        Long.BYTES + 1,
-        rawData.length - Long.BYTES - 1);
-    String keyPrefix = new String(keyBytes, UTF_8);
-
-    // Last 8 bytes is the key version.
-    byte[] versionBytes = ArrayUtils.subarray(rawData,
-        rawData.length - Long.BYTES,
-        rawData.length);
-    long version = ByteBuffer.wrap(versionBytes).getLong();
+    long containerIdFromDB = ByteBuffer.wrap(rawData).getLong();
+    if (rawData.length == Long.BYTES) {
+      return ContainerKeyPrefix.get(containerIdFromDB);
+    }
+    // Only the length byte of the version has the high bit set, without a
+    // version the key ends with its terminator.
+    int lastByte = rawData[rawData.length - 1] & 0xFF;
+    if ((lastByte & VERSION_LENGTH_FLAG) == 0) {
+      return ContainerKeyPrefix.get(containerIdFromDB, new String(rawData,
+          Long.BYTES, rawData.length - 1 - Long.BYTES, UTF_8));
+    }
+    int versionLength = lastByte & ~VERSION_LENGTH_FLAG;
+    int versionOffset = rawData.length - 1 - versionLength;
+    long version = CompactLongBytes.get(rawData, versionOffset, versionLength);
+    String keyPrefix = new String(rawData, Long.BYTES,
+        versionOffset - 1 - Long.BYTES, UTF_8);
     return ContainerKeyPrefix.get(containerIdFromDB, keyPrefix, version);
   }
 
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.spi.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.ozone.recon.api.types.KeyReferenceContainer;
+
+/**
+ * Codec to serialize/deserialize {@link KeyReferenceContainer}.
+ * <p>
+ * The persisted format is the key reference (8 bytes), the number of bytes
+ * of the key version followed by the version in as few bytes as needed, and
+ * the containerId (8 bytes).  Leading with the length keeps the versions of
+ * a key in numeric order and allows prefix seeks by reference and version.
+ */
+public final class KeyReferenceContainerCodec
+    implements Codec<KeyReferenceContainer> {
+
+  private static final Codec<KeyReferenceContainer> INSTANCE =
+      new KeyReferenceContainerCodec();
+
+  public static Codec<KeyReferenceContainer> get() {
+    return INSTANCE;
+  }
+
+  private KeyReferenceContainerCodec() {
+    // singleton
+  }
+
+  @Override
+  public Class<KeyReferenceContainer> getTypeClass() {
+    return KeyReferenceContainer.class;
+  }
+
+  @Override
+  public byte[] toPersistedFormat(KeyReferenceContainer keyReferenceContainer) {
+    Objects.requireNonNull(keyReferenceContainer,
+        "Null object can't be converted to byte array.");
+    final long version = keyReferenceContainer.getKeyVersion();
+    final long containerId = keyReferenceContainer.getContainerId();
+    final int versionLength = CompactLongBytes.length(version);
+
+    // Prefix seek can be done only with the key reference, or with the key
+    // reference and the version. In that case, we can expect the version
+    // and the containerId to be undefined.
+    int size = Long.BYTES;
+    if (version != -1) {
+      size += 1 + versionLength;
+      if (containerId != -1) {
+        size += Long.BYTES;
+      }
+    }
+
+    final ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putLong(keyReferenceContainer.getKeyReference());
+    if (version != -1) {
+      buffer.put((byte) versionLength);
+      CompactLongBytes.put(buffer, version, versionLength);
+      if (containerId != -1) {
+        buffer.putLong(containerId);
+      }
+    }
+    return buffer.array();
+  }
+
+  @Override
+  public KeyReferenceContainer fromPersistedFormat(byte[] rawData) {
+    // The version and the containerId are only missing in seek keys.
+    final ByteBuffer buffer = ByteBuffer.wrap(rawData);
+    final long keyReference = buffer.getLong();
+    if (!buffer.hasRemaining()) {
+      return KeyReferenceContainer.get(keyReference, -1, -1);
+    }
+    final int versionLength = buffer.get();
+    final long version = CompactLongBytes.get(rawData, buffer.position(),
+        versionLength);
+    buffer.position(buffer.position() + versionLength);
+    final long containerId = buffer.hasRemaining() ? buffer.getLong() : -1;
+    return KeyReferenceContainer.get(keyReference, version, containerId);
+  }
+
+  @Override
+  public KeyReferenceContainer copyObject(KeyReferenceContainer object) {
+    return object;
+  }
+}
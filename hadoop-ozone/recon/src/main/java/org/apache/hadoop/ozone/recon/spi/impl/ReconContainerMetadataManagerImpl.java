@@ -18,34 +18,53 @@
 package org.apache.hadoop.ozone.recon.spi.impl;
 
 import static org.apache.hadoop.ozone.recon.ReconConstants.CONTAINER_COUNT_KEY;
-import static org.apache.hadoop.ozone.recon.spi.impl.ReconDBDefinition.CONTAINER_KEY;
 import static org.apache.hadoop.ozone.recon.spi.impl.ReconDBDefinition.CONTAINER_KEY_COUNT;
-import static org.apache.hadoop.ozone.recon.spi.impl.ReconDBDefinition.KEY_CONTAINER;
+import static org.apache.hadoop.ozone.recon.spi.impl.ReconDBDefinition.CONTAINER_KEY_V2;
+import static org.apache.hadoop.ozone.recon.spi.impl.ReconDBDefinition.KEY_CONTAINER_V2;
 import static org.apache.hadoop.ozone.recon.spi.impl.ReconDBDefinition.REPLICA_HISTORY_V2;
 import static org.apache.hadoop.ozone.recon.spi.impl.ReconDBProvider.truncateTable;
 
+import com.google.common.primitives.UnsignedBytes;
 import jakarta.annotation.Nonnull;
+import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.Codec;
 import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.IntegerCodec;
 import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
+import org.apache.hadoop.hdds.utils.db.RDBSstFileWriter;
+import org.apache.hadoop.hdds.utils.db.RocksDatabaseException;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedOptions;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedReadOptions;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedSstFileReader;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedSstFileReaderIterator;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.recon.ReconConstants;
@@ -53,6 +72,7 @@
 import org.apache.hadoop.ozone.recon.api.types.ContainerKeyPrefix;
 import org.apache.hadoop.ozone.recon.api.types.ContainerMetadata;
 import org.apache.hadoop.ozone.recon.api.types.KeyPrefixContainer;
+import org.apache.hadoop.ozone.recon.api.types.KeyReferenceContainer;
 import org.apache.hadoop.ozone.recon.recovery.ReconOMMetadataManager;
 import org.apache.hadoop.ozone.recon.scm.ContainerReplicaHistory;
 import org.apache.hadoop.ozone.recon.scm.ContainerReplicaHistoryList;
@@ -61,6 +81,7 @@
 import org.apache.ozone.recon.schema.generated.tables.daos.GlobalStatsDao;
 import org.apache.ozone.recon.schema.generated.tables.pojos.GlobalStats;
 import org.jooq.Configuration;
+import org.rocksdb.RocksDBException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,8 +95,12 @@
   private static final Logger LOG =
       LoggerFactory.getLogger(ReconContainerMetadataManagerImpl.class);
 
+  private static final String SORTED_RUN_DIR_SUFFIX = ".sorted-runs";
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+
   private Table<ContainerKeyPrefix, Integer> containerKeyTable;
-  private Table<KeyPrefixContainer, Integer> keyContainerTable;
+  private Table<KeyReferenceContainer, Integer> keyContainerTable;
   private Table<Long, Long> containerKeyCountTable;
   private Table<Long, ContainerReplicaHistoryList>
       containerReplicaHistoryTable;
@@ -131,15 +156,16 @@ public void reinitWithNewContainerDataFromOm(Map<ContainerKeyPrefix, Integer>
     truncateTable(this.keyContainerTable);
     truncateTable(this.containerKeyCountTable);
     initializeTables();
+    FileUtils.deleteDirectory(getSortedRunDir());
 
     if (containerKeyPrefixCounts != null) {
-      KeyPrefixContainer tmpKeyPrefixContainer;
+      KeyReferenceContainer tmpKeyReferenceContainer;
       for (Map.Entry<ContainerKeyPrefix, Integer> entry :
           containerKeyPrefixCounts.entrySet()) {
         containerKeyTable.put(entry.getKey(), entry.getValue());
-        tmpKeyPrefixContainer = entry.getKey().toKeyPrefixContainer();
-        if (tmpKeyPrefixContainer != null) {
-          keyContainerTable.put(tmpKeyPrefixContainer, entry.getValue());
+        tmpKeyReferenceContainer = toKeyReferenceContainer(entry.getKey());
+        if (tmpKeyReferenceContainer != null) {
+          keyContainerTable.put(tmpKeyReferenceContainer, entry.getValue());
         }
       }
     }
@@ -153,11 +179,11 @@ public void reinitWithNewContainerDataFromOm(Map<ContainerKeyPrefix, Integer>
    */
   private void initializeTables() {
     try {
-      this.containerKeyTable = CONTAINER_KEY.getTable(containerDbStore);
-      this.keyContainerTable = KEY_CONTAINER.getTable(containerDbStore);
+      this.containerKeyTable = CONTAINER_KEY_V2.getTable(containerDbStore);
+      this.keyContainerTable = KEY_CONTAINER_V2.getTable(containerDbStore);
       if (keyContainerTable.isEmpty()) {
-        LOG.info("KEY_CONTAINER Table is empty, " +
-            "initializing from CONTAINER_KEY Table ...");
+        LOG.info("KEY_CONTAINER_V2 Table is empty, " +
+            "initializing from CONTAINER_KEY_V2 Table ...");
         initializeKeyContainerTable();
       }
       this.containerKeyCountTable =
@@ -184,9 +210,205 @@ public void batchStoreContainerKeyMapping(BatchOperation batch,
                                                 containerKeyPrefix,
                                             Integer count) throws IOException {
     containerKeyTable.putWithBatch(batch, containerKeyPrefix, count);
-    if (containerKeyPrefix.toKeyPrefixContainer() != null) {
-      keyContainerTable.putWithBatch(batch,
-          containerKeyPrefix.toKeyPrefixContainer(), count);
+    KeyReferenceContainer keyReferenceContainer =
+        toKeyReferenceContainer(containerKeyPrefix);
+    if (keyReferenceContainer != null) {
+      keyContainerTable.putWithBatch(batch, keyReferenceContainer, count);
+    }
+  }
+
+  /**
+   * @return the key to container index entry of the given mapping, null if
+   *         the mapping has no key.
+   */
+  private static KeyReferenceContainer toKeyReferenceContainer(
+      ContainerKeyPrefix containerKeyPrefix) {
+    KeyPrefixContainer keyPrefixContainer =
+        containerKeyPrefix.toKeyPrefixContainer();
+    return keyPrefixContainer == null ? null
+        : KeyReferenceContainer.get(keyPrefixContainer);
+  }
+
+  /**
+   * Write the container key mappings to a sorted run per table in the
+   * sorted run directory next to the DB, shared by all the tasks loading the
+   * DB.  The runs are only ingested into the tables by
+   * {@link #ingestStagedContainerKeyMappings()}.
+   *
+   * @param containerKeyPrefixCounts the containerID, key-prefix tuples with
+   *                                 the count of the keys matching them.
+   * @throws IOException on failure.
+   */
+  @Override
+  public void stageContainerKeyMappings(
+      Map<ContainerKeyPrefix, Integer> containerKeyPrefixCounts)
+      throws IOException {
+    if (containerKeyPrefixCounts.isEmpty()) {
+      return;
+    }
+    writeSortedRun(containerKeyTable, ContainerKeyPrefixCodec.get(),
+        Function.identity(), containerKeyPrefixCounts);
+    writeSortedRun(keyContainerTable, KeyReferenceContainerCodec.get(),
+        ReconContainerMetadataManagerImpl::toKeyReferenceContainer,
+        containerKeyPrefixCounts);
+  }
+
+  /**
+   * Merge the staged runs of each container key table into a single SST
+   * file and ingest it.  The runs of different workers overlap, so they are
+   * merged first to ingest one file per table instead of many small
+   * overlapping files.
+   *
+   * @throws IOException on failure.
+   */
+  @Override
+  public void ingestStagedContainerKeyMappings() throws IOException {
+    try {
+      ingestSortedRuns(containerKeyTable);
+      ingestSortedRuns(keyContainerTable);
+    } finally {
+      FileUtils.deleteDirectory(getSortedRunDir());
+    }
+  }
+
+  private File getSortedRunDir() {
+    File dbLocation = containerDbStore.getDbLocation();
+    return new File(dbLocation.getParentFile(),
+        dbLocation.getName() + SORTED_RUN_DIR_SUFFIX);
+  }
+
+  private <K> void writeSortedRun(Table<K, Integer> table, Codec<K> keyCodec,
+      Function<ContainerKeyPrefix, K> toKey,
+      Map<ContainerKeyPrefix, Integer> containerKeyPrefixCounts)
+      throws IOException {
+    // An SST file must be written in the order of the DB comparator.
+    SortedMap<byte[], byte[]> sorted = new TreeMap<>(KEY_COMPARATOR);
+    for (Map.Entry<ContainerKeyPrefix, Integer> entry
+        : containerKeyPrefixCounts.entrySet()) {
+      K key = toKey.apply(entry.getKey());
+      if (key != null) {
+        sorted.put(keyCodec.toPersistedFormat(key),
+            IntegerCodec.get().toPersistedFormat(entry.getValue()));
+      }
+    }
+    if (sorted.isEmpty()) {
+      return;
+    }
+    File sstFile = createSortedRunFile(table.getName());
+    try (RDBSstFileWriter writer = new RDBSstFileWriter(sstFile)) {
+      for (Map.Entry<byte[], byte[]> entry : sorted.entrySet()) {
+        writer.put(entry.getKey(), entry.getValue());
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(sstFile.toPath());
+      throw e;
+    }
+  }
+
+  private File createSortedRunFile(String tableName) throws IOException {
+    File dir = getSortedRunDir();
+    Files.createDirectories(dir.toPath());
+    return Files.createTempFile(dir.toPath(), tableName + "-", ".sst")
+        .toFile();
+  }
+
+  private List<File> listSortedRuns(String tableName) {
+    File[] runs = getSortedRunDir().listFiles(
+        (dir, name) -> name.startsWith(tableName + "-"));
+    return runs == null ? Collections.emptyList() : Arrays.asList(runs);
+  }
+
+  private void ingestSortedRuns(Table<?, Integer> table) throws IOException {
+    List<File> runs = listSortedRuns(table.getName());
+    if (runs.isEmpty()) {
+      return;
+    }
+    File sstFile = runs.size() == 1 ? runs.get(0)
+        : mergeSortedRuns(table.getName(), runs);
+    LOG.info("Ingesting {} container key mappings merged from {} sorted runs",
+        table.getName(), runs.size());
+    table.loadFromFile(sstFile);
+  }
+
+  /**
+   * Merge sorted SST runs into a new SST file.  Keys are unique per
+   * container key prefix, so of equal keys only the first is kept.
+   */
+  private File mergeSortedRuns(String tableName, List<File> runs)
+      throws IOException {
+    File merged = createSortedRunFile(tableName);
+    List<SortedRun> sortedRuns = new ArrayList<>(runs.size());
+    try (ManagedOptions options = new ManagedOptions();
+         ManagedReadOptions readOptions = new ManagedReadOptions();
+         RDBSstFileWriter writer = new RDBSstFileWriter(merged)) {
+      PriorityQueue<SortedRun> heads = new PriorityQueue<>(runs.size());
+      for (File run : runs) {
+        SortedRun sortedRun = new SortedRun(run, options, readOptions);
+        sortedRuns.add(sortedRun);
+        if (sortedRun.key != null) {
+          heads.add(sortedRun);
+        }
+      }
+      byte[] lastKey = null;
+      while (!heads.isEmpty()) {
+        SortedRun head = heads.poll();
+        if (lastKey == null || KEY_COMPARATOR.compare(lastKey, head.key) != 0) {
+          lastKey = head.key;
+          writer.put(head.key, head.value());
+        }
+        if (head.next()) {
+          heads.add(head);
+        }
+      }
+    } finally {
+      sortedRuns.forEach(SortedRun::close);
+    }
+    return merged;
+  }
+
+  /**
+   * A cursor over a sorted run, ordered by its current key.
+   */
+  private static final class SortedRun
+      implements Comparable<SortedRun>, AutoCloseable {
+    private final ManagedSstFileReader reader;
+    private final ManagedSstFileReaderIterator iterator;
+    private byte[] key;
+
+    SortedRun(File file, ManagedOptions options,
+        ManagedReadOptions readOptions) throws IOException {
+      reader = new ManagedSstFileReader(options);
+      try {
+        reader.open(file.getAbsolutePath());
+      } catch (RocksDBException e) {
+        reader.close();
+        throw new RocksDatabaseException("Failed to open " + file, e);
+      }
+      iterator = ManagedSstFileReaderIterator.managed(
+          reader.newIterator(readOptions));
+      iterator.get().seekToFirst();
+      key = iterator.get().isValid() ? iterator.get().key() : null;
+    }
+
+    byte[] value() {
+      return iterator.get().value();
+    }
+
+    boolean next() {
+      iterator.get().next();
+      key = iterator.get().isValid() ? iterator.get().key() : null;
+      return key != null;
+    }
+
+    @Override
+    public int compareTo(SortedRun other) {
+      return KEY_COMPARATOR.compare(key, other.key);
+    }
+
+    @Override
+    public void close() {
+      iterator.close();
+      reader.close();
     }
   }
 
@@ -523,7 +745,7 @@ public void deleteContainerMapping(ContainerKeyPrefix containerKeyPrefix)
       throws IOException {
     containerKeyTable.delete(containerKeyPrefix);
     if (!StringUtils.isEmpty(containerKeyPrefix.getKeyPrefix())) {
-      keyContainerTable.delete(containerKeyPrefix.toKeyPrefixContainer());
+      keyContainerTable.delete(toKeyReferenceContainer(containerKeyPrefix));
     }
   }
 
@@ -534,7 +756,7 @@ public void batchDeleteContainerMapping(BatchOperation batch,
     containerKeyTable.deleteWithBatch(batch, containerKeyPrefix);
     if (!StringUtils.isEmpty(containerKeyPrefix.getKeyPrefix())) {
       keyContainerTable.deleteWithBatch(batch,
-          containerKeyPrefix.toKeyPrefixContainer());
+          toKeyReferenceContainer(containerKeyPrefix));
     }
   }
 
@@ -557,12 +779,7 @@ public Table<ContainerKeyPrefix, Integer> getContainerKeyTableForTesting() {
   }
 
   @Override
-  public TableIterator getKeyContainerTableIterator() throws IOException {
-    return keyContainerTable.iterator();
-  }
-
-  @Override
-  public Table<KeyPrefixContainer, Integer> getKeyContainerTable() {
+  public Table<KeyReferenceContainer, Integer> getKeyContainerTable() {
     return keyContainerTable;
   }
 
@@ -600,8 +817,10 @@ public void commitBatchOperation(RDBBatchOperation rdbBatchOperation)
   }
     
   /**
-   * Use the DB's prefix seek iterator to start the scan from the given
-   * key prefix and key version.
+   * Use the DB's prefix seek iterator to start the scan from the reference of
+   * the given key prefix and key version.  The index only stores the key
+   * reference, so each container found is checked against the container key
+   * table to skip the containers of other keys sharing the reference.
    *
    * @param keyPrefix the given keyPrefix.
    * @param keyVersion the given keyVersion.
@@ -612,47 +831,32 @@ public Map<KeyPrefixContainer, Integer> getContainerForKeyPrefixes(
       String keyPrefix, long keyVersion) throws IOException {
 
     Map<KeyPrefixContainer, Integer> containers = new LinkedHashMap<>();
-    try (TableIterator<KeyPrefixContainer, Table.KeyValue<KeyPrefixContainer, Integer>> keyIterator =
+    if (StringUtils.isEmpty(keyPrefix)) {
+      return containers;
+    }
+    long keyReference = KeyReferenceContainer.toKeyReference(keyPrefix);
+    try (TableIterator<KeyReferenceContainer, Table.KeyValue<KeyReferenceContainer, Integer>> keyIterator =
              keyContainerTable.iterator()) {
-      KeyPrefixContainer seekKey;
-      if (keyVersion != -1) {
-        seekKey = KeyPrefixContainer.get(keyPrefix, keyVersion);
-      } else {
-        seekKey = KeyPrefixContainer.get(keyPrefix);
-      }
-      KeyValue<KeyPrefixContainer, Integer> seekKeyValue =
-          keyIterator.seek(seekKey);
-
-      // check if RocksDB was able to seek correctly to the given key prefix
-      // if not, then return empty result
-      // In case of an empty prevKeyPrefix, all the keys in the container are
-      // returned
-      if (seekKeyValue == null ||
-          (keyVersion != -1 &&
-              seekKeyValue.getKey().getKeyVersion() != keyVersion)) {
-        return containers;
-      }
+      keyIterator.seek(KeyReferenceContainer.get(keyReference, keyVersion, -1));
 
       while (keyIterator.hasNext()) {
-        KeyValue<KeyPrefixContainer, Integer> keyValue = keyIterator.next();
-        KeyPrefixContainer keyPrefixContainer = keyValue.getKey();
+        KeyReferenceContainer keyReferenceContainer = keyIterator.next().getKey();
 
         // The prefix seek only guarantees that the iterator's head will be
         // positioned at the first prefix match. We still have to check the key
-        // prefix.
-        if (keyPrefixContainer.getKeyPrefix().equals(keyPrefix)) {
-          if (keyPrefixContainer.getContainerId() != -1 &&
-              (keyVersion == -1 ||
-                  keyPrefixContainer.getKeyVersion() == keyVersion)) {
-            containers.put(keyPrefixContainer, keyValue.getValue());
-          } else {
-            LOG.warn("Null container returned for keyPrefix = {}," +
-                " keyVersion = {} ", keyPrefix, keyVersion);
-          }
-        } else {
+        // reference and version.
+        if (keyReferenceContainer.getKeyReference() != keyReference ||
+            (keyVersion != -1 &&
+                keyReferenceContainer.getKeyVersion() != keyVersion)) {
           // Break on first mismatch
           break;
         }
+        ContainerKeyPrefix containerKeyPrefix =
+            keyReferenceContainer.toContainerKeyPrefix(keyPrefix);
+        Integer count = containerKeyTable.get(containerKeyPrefix);
+        if (count != null) {
+          containers.put(containerKeyPrefix.toKeyPrefixContainer(), count);
+        }
       }
     }
     return containers;
@@ -670,13 +874,13 @@ private void initializeKeyContainerTable() throws IOException {
         ContainerKeyPrefix containerKeyPrefix = keyValue.getKey();
         if (!StringUtils.isEmpty(containerKeyPrefix.getKeyPrefix())
             && containerKeyPrefix.getContainerId() != -1) {
-          keyContainerTable.put(containerKeyPrefix.toKeyPrefixContainer(), 1);
+          keyContainerTable.put(toKeyReferenceContainer(containerKeyPrefix), 1);
         }
         count++;
       }
       long duration = Duration.between(start, Instant.now()).toMillis();
       LOG.info("It took {} seconds to initialized {} records"
-          + " to KEY_CONTAINER table", (double) duration / 1000, count);
+          + " to KEY_CONTAINER_V2 table", (double) duration / 1000, count);
     }
   }
 }
@@ -25,7 +25,7 @@
 import org.apache.hadoop.hdds.utils.db.StringCodec;
 import org.apache.hadoop.ozone.recon.ReconServerConfigKeys;
 import org.apache.hadoop.ozone.recon.api.types.ContainerKeyPrefix;
-import org.apache.hadoop.ozone.recon.api.types.KeyPrefixContainer;
+import org.apache.hadoop.ozone.recon.api.types.KeyReferenceContainer;
 import org.apache.hadoop.ozone.recon.api.types.NSSummary;
 import org.apache.hadoop.ozone.recon.codec.NSSummaryCodec;
 import org.apache.hadoop.ozone.recon.scm.ContainerReplicaHistoryList;
@@ -39,18 +39,22 @@ public class ReconDBDefinition extends DBDefinition.WithMap {
 
   private final String dbName;
 
+  // Container to key mappings in the compact format of
+  // ContainerKeyPrefixCodec, replacing containerKeyTable.
   public static final DBColumnFamilyDefinition<ContainerKeyPrefix, Integer>
-      CONTAINER_KEY =
+      CONTAINER_KEY_V2 =
       new DBColumnFamilyDefinition<>(
-          "containerKeyTable",
+          "containerKeyTable_v2",
           ContainerKeyPrefixCodec.get(),
           IntegerCodec.get());
 
-  public static final DBColumnFamilyDefinition<KeyPrefixContainer, Integer>
-      KEY_CONTAINER =
+  // Key to container index by key reference, replacing keyContainerTable
+  // which repeated the whole key of every mapping.
+  public static final DBColumnFamilyDefinition<KeyReferenceContainer, Integer>
+      KEY_CONTAINER_V2 =
       new DBColumnFamilyDefinition<>(
-          "keyContainerTable",
-          KeyPrefixContainerCodec.get(),
+          "keyContainerTable_v2",
+          KeyReferenceContainerCodec.get(),
           IntegerCodec.get());
 
   public static final DBColumnFamilyDefinition<Long, Long>
@@ -97,9 +101,9 @@ public class ReconDBDefinition extends DBDefinition.WithMap {
 
   private static final Map<String, DBColumnFamilyDefinition<?, ?>>
       COLUMN_FAMILIES = DBColumnFamilyDefinition.newUnmodifiableMap(
-          CONTAINER_KEY,
+          CONTAINER_KEY_V2,
           CONTAINER_KEY_COUNT,
-          KEY_CONTAINER,
+          KEY_CONTAINER_V2,
           NAMESPACE_SUMMARY,
           REPLICA_HISTORY,
           REPLICA_HISTORY_V2,
@@ -37,7 +37,6 @@
 import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
 import org.apache.hadoop.hdds.utils.db.StringCodec;
 import org.apache.hadoop.hdds.utils.db.Table;
-import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -154,10 +153,7 @@ public static boolean reprocess(OMMetadataManager omMetadataManager,
 
           // Flush this worker's map when it reaches threshold
           if (containerKeyPrefixMap.size() >= perWorkerThreshold) {
-            if (!flushAndCommitContainerKeyInfoToDB(containerKeyPrefixMap, Collections.emptyMap(),
-                reconContainerMetadataManager)) {
-              throw new UncheckedIOException(new IOException("Unable to flush containerKey information to the DB"));
-            }
+            stageContainerKeyInfo(containerKeyPrefixMap, reconContainerMetadataManager);
           }
           return null;
         } catch (IOException e) {
@@ -171,15 +167,9 @@ public static boolean reprocess(OMMetadataManager omMetadataManager,
         keyIter.performTaskOnTableVals(taskName, null, null, kvOperation);
       }
 
-      // Final flush: Write remaining entries from all worker local maps to DB
+      // Final flush: Stage remaining entries from all worker local maps
       for (Map<ContainerKeyPrefix, Integer> containerKeyPrefixMap : allLocalMaps.values()) {
-        if (!containerKeyPrefixMap.isEmpty()) {
-          if (!flushAndCommitContainerKeyInfoToDB(containerKeyPrefixMap, Collections.emptyMap(),
-              reconContainerMetadataManager)) {
-            LOG.error("Failed to flush worker local map for {}", taskName);
-            return false;
-          }
-        }
+        stageContainerKeyInfo(containerKeyPrefixMap, reconContainerMetadataManager);
       }
 
       // Decrement active task counter
@@ -189,6 +179,9 @@ public static boolean reprocess(OMMetadataManager omMetadataManager,
       // Only last task flushes shared map and writes container count
       if (remainingTasks == 0) {
         synchronized (INITIALIZATION_LOCK) {
+          // Ingest the mappings staged by all tasks once
+          reconContainerMetadataManager.ingestStagedContainerKeyMappings();
+
           // Capture total container count from shared map
           long totalContainers = SHARED_CONTAINER_KEY_COUNT_MAP.size();
 
@@ -378,22 +371,11 @@ private static void handleDeleteOMKeyEvent(String key,
       throws IOException {
 
     Set<ContainerKeyPrefix> keysToBeDeleted = new HashSet<>();
-    try (TableIterator<KeyPrefixContainer, Table.KeyValue<KeyPrefixContainer, Integer>>
-             keyContainerIterator = reconContainerMetadataManager.getKeyContainerTableIterator()) {
-
-      // Check if we have keys in this container in the DB
-      keyContainerIterator.seek(KeyPrefixContainer.get(key));
-      while (keyContainerIterator.hasNext()) {
-        Table.KeyValue<KeyPrefixContainer, Integer> keyValue = keyContainerIterator.next();
-        String keyPrefix = keyValue.getKey().getKeyPrefix();
-        if (keyPrefix.equals(key)) {
-          if (keyValue.getKey().getContainerId() != -1) {
-            keysToBeDeleted.add(keyValue.getKey().toContainerKeyPrefix());
-          }
-        } else {
-          break;
-        }
-      }
+
+    // Check if we have keys in this container in the DB
+    for (KeyPrefixContainer keyPrefixContainer
+        : reconContainerMetadataManager.getContainerForKeyPrefixes(key, -1).keySet()) {
+      keysToBeDeleted.add(keyPrefixContainer.toContainerKeyPrefix());
     }
 
     // Check if we have keys in this container in our containerKeyMap
@@ -508,6 +490,21 @@ public static void handleKeyReprocess(String key,
     // Container count will be written once at the end of reprocess, not here (Derby optimization)
   }
 
+  /**
+   * Stages the container key mappings found by a reprocess as a sorted run,
+   * to be bulk loaded into the freshly initialized tables by the last task
+   * instead of through write batches.
+   */
+  private static void stageContainerKeyInfo(
+      Map<ContainerKeyPrefix, Integer> localContainerKeyMap,
+      ReconContainerMetadataManager reconContainerMetadataManager) throws IOException {
+    if (localContainerKeyMap.isEmpty()) {
+      return;
+    }
+    reconContainerMetadataManager.stageContainerKeyMappings(localContainerKeyMap);
+    localContainerKeyMap.clear();
+  }
+
   public static boolean flushAndCommitContainerKeyInfoToDB(
       Map<ContainerKeyPrefix, Integer> localContainerKeyMap,
       Map<Long, AtomicLong> sharedContainerKeyCountMap,
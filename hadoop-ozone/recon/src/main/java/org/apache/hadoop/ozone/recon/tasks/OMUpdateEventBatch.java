@@ -17,11 +17,14 @@
 
 package org.apache.hadoop.ozone.recon.tasks;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 /**
  * Wrapper class to hold multiple OM DB update events.
+ * The events are decoded once and the batch is shared by all the Recon OM
+ * tasks, so it cannot be modified.
  */
 public class OMUpdateEventBatch implements ReconEvent {
 
@@ -29,7 +32,7 @@ public class OMUpdateEventBatch implements ReconEvent {
   private final long batchSequenceNumber;
 
   public OMUpdateEventBatch(List<OMDBUpdateEvent> e, long batchSequenceNumber) {
-    events = e;
+    events = Collections.unmodifiableList(e);
     this.batchSequenceNumber = batchSequenceNumber;
   }
 
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.tasks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.util.Time;
+
+/**
+ * Log of the OM update batches that the Recon OM tasks have not all
+ * processed yet.
+ * <p>
+ * A batch is appended once and shared by all the tasks, which consume it at
+ * their own pace.  Each entry counts the tasks that have yet to process it
+ * and leaves the log when the last of them releases it.  The log holds a
+ * bounded number of batches, so once it is full appending waits for the
+ * slowest task, and the batches not appended yet stay in the
+ * {@link OMUpdateEventBuffer} where overflow is detected.
+ */
+class OMUpdateEventLog {
+
+  private final int capacity;
+  private int size;
+
+  OMUpdateEventLog(int capacity) {
+    this.capacity = Math.max(1, capacity);
+  }
+
+  /**
+   * Appends the batch for the given number of tasks, waiting for space in
+   * the log if it is full.
+   *
+   * @return the entry of the batch, or null if the log is still full after
+   *         the timeout.
+   */
+  synchronized Entry append(OMUpdateEventBatch batch, int tasks,
+      long timeoutMs) throws InterruptedException {
+    final long deadline = Time.monotonicNow() + timeoutMs;
+    while (size >= capacity) {
+      final long remaining = deadline - Time.monotonicNow();
+      if (remaining <= 0) {
+        return null;
+      }
+      wait(remaining);
+    }
+    size++;
+    return new Entry(batch, tasks);
+  }
+
+  /**
+   * @return the number of batches in the log.
+   */
+  synchronized int size() {
+    return size;
+  }
+
+  private synchronized void remove() {
+    size--;
+    notifyAll();
+  }
+
+  /**
+   * A batch in the log, shared by the tasks that have yet to process it.
+   */
+  final class Entry {
+    private final OMUpdateEventBatch batch;
+    private final AtomicInteger references;
+
+    private Entry(OMUpdateEventBatch batch, int tasks) {
+      this.batch = batch;
+      this.references = new AtomicInteger(tasks);
+    }
+
+    OMUpdateEventBatch getBatch() {
+      return batch;
+    }
+
+    /**
+     * Called by each task once it is done with the batch.
+     */
+    void release() {
+      if (references.decrementAndGet() == 0) {
+        remove();
+      }
+    }
+  }
+}
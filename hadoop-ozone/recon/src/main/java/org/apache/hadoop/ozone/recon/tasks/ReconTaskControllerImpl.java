@@ -19,6 +19,8 @@
 
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_CAPACITY;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_LOG_CAPACITY;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_LOG_CAPACITY_DEFAULT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_THREAD_COUNT_DEFAULT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_THREAD_COUNT_KEY;
 
@@ -29,10 +31,11 @@
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.time.Clock;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,13 +43,14 @@
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.DBCheckpoint;
@@ -88,6 +92,10 @@ public class ReconTaskControllerImpl implements ReconTaskController {
   private final int threadCount;
   private final ReconTaskStatusUpdaterManager taskStatusUpdaterManager;
   private final OMUpdateEventBuffer eventBuffer;
+  private final OMUpdateEventLog eventLog;
+  /** The batches handed to each task, which it processes at its own pace. */
+  private final Map<String, TaskPipeline> pipelines = new ConcurrentHashMap<>();
+  private volatile long lastDispatchedSeqNumber;
   private ExecutorService eventProcessingExecutor;
   private volatile boolean running = false;
   private final AtomicBoolean tasksFailed = new AtomicBoolean(false);
@@ -123,7 +131,7 @@ public ReconTaskControllerImpl(OzoneConfiguration configuration,
     this.reconNamespaceSummaryManager = reconNamespaceSummaryManager;
     this.reconGlobalStatsManager = reconGlobalStatsManager;
     this.reconFileMetadataManager = reconFileMetadataManager;
-    reconOmTasks = new HashMap<>();
+    reconOmTasks = new ConcurrentHashMap<>();
     threadCount = configuration.getInt(OZONE_RECON_TASK_THREAD_COUNT_KEY,
         OZONE_RECON_TASK_THREAD_COUNT_DEFAULT);
     this.taskStatusUpdaterManager = taskStatusUpdaterManager;
@@ -135,6 +143,8 @@ public ReconTaskControllerImpl(OzoneConfiguration configuration,
     int eventBufferCapacity = configuration.getInt(OZONE_RECON_OM_EVENT_BUFFER_CAPACITY,
         OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT);
     this.eventBuffer = new OMUpdateEventBuffer(eventBufferCapacity, controllerMetrics);
+    this.eventLog = new OMUpdateEventLog(configuration.getInt(OZONE_RECON_OM_EVENT_LOG_CAPACITY,
+        OZONE_RECON_OM_EVENT_LOG_CAPACITY_DEFAULT));
     for (ReconOmTask task : tasks) {
       registerTask(task);
     }
@@ -209,6 +219,9 @@ public synchronized void consumeOMEvents(OMUpdateEventBatch events, OMMetadataMa
   public synchronized boolean reInitializeTasks(ReconOMMetadataManager omMetadataManager,
                                                 Map<String, ReconOmTask> reconOmTaskMap) {
     LOG.info("Starting Re-initialization of tasks. This is a blocking operation.");
+    // The tasks are rebuilt from the OM DB, so the batches they have not
+    // processed yet are superseded.
+    discardPendingBatches();
     Collection<NamedCallableTask<ReconOmTask.TaskResult>> tasks = new ArrayList<>();
     Map<String, ReconOmTask> localReconOmTaskMap = reconOmTaskMap;
     if (reconOmTaskMap == null) {
@@ -397,6 +410,10 @@ public synchronized void stop() {
     running = false;
     shutdownExecutorGracefully(this.executorService, "main task executor");
     shutdownExecutorGracefully(this.eventProcessingExecutor, "event processing executor");
+    for (TaskPipeline pipeline : pipelines.values()) {
+      shutdownExecutorGracefully(pipeline.executor, "pipeline of task " + pipeline.taskName);
+    }
+    pipelines.clear();
   }
 
   private void shutdownExecutorGracefully(ExecutorService executor, String name) {
@@ -421,86 +438,76 @@ private void shutdownExecutorGracefully(ExecutorService executor, String name) {
   }
 
   /**
-   * For a given list of {@code Callable} tasks process them and add any failed task to the provided list.
-   * The tasks are executed in parallel, but will wait for the tasks to complete i.e. the longest
-   * time taken by this method will be the time taken by the longest task in the list.
-   * @param tasks       A list of tasks to execute.
-   * @param events      A batch of {@link OMUpdateEventBatch} events to fetch sequence number of last event in batch.
-   * @param failedTasks Reference of the list to which we want to add the failed tasks for retry/reprocessing
+   * Processes a batch of OM updates with the task.  A task which fails to
+   * process the batch is retried once from the positions it reached, and
+   * the tasks are reinitialized if it fails again.
    */
-  private void processTasks(
-      Collection<NamedCallableTask<ReconOmTask.TaskResult>> tasks,
-      OMUpdateEventBatch events, List<ReconOmTask.TaskResult> failedTasks) {
-    List<CompletableFuture<Void>> futures = tasks.stream()
-        .map(task -> CompletableFuture.supplyAsync(() -> {
-          // Track task delta processing duration
-          long taskStartTime = Time.monotonicNow();
+  private void processBatch(ReconOmTask task, OMUpdateEventBatch events) {
+    ReconTaskStatusUpdater taskStatusUpdater =
+        taskStatusUpdaterManager.getTaskStatusUpdater(task.getTaskName());
+    taskStatusUpdater.recordRunStart();
+    ReconOmTask.TaskResult result = processTask(task, events, Collections.emptyMap());
+    if (result == null || result.isTaskSuccess()) {
+      return;
+    }
+    LOG.warn("Task {} failed while processing buffered events, retrying...", task.getTaskName());
+    result = processTask(task, events, result.getSubTaskSeekPositions());
+    if (result != null && !result.isTaskSuccess()) {
+      LOG.warn("Task {} still failed after retry while processing buffered events, signaling for " +
+          "task reinitialization", task.getTaskName());
+      // Set flag to indicate delta tasks failed even after retry
+      tasksFailed.compareAndSet(false, true);
+    }
+  }
 
-          try {
-            ReconOmTask.TaskResult result = task.call();
+  /**
+   * Runs the task on a batch of OM updates and records its status.
+   *
+   * @return the result of the task, or null if it threw an exception
+   */
+  private ReconOmTask.TaskResult processTask(ReconOmTask task, OMUpdateEventBatch events,
+      Map<String, Integer> subTaskSeekPositions) {
+    String taskName = task.getTaskName();
+    ReconTaskStatusUpdater taskStatusUpdater =
+        taskStatusUpdaterManager.getTaskStatusUpdater(taskName);
+    // Track task delta processing duration
+    long taskStartTime = Time.monotonicNow();
+    ReconOmTask.TaskResult result;
+    try {
+      result = task.process(events, subTaskSeekPositions);
+    } catch (Exception e) {
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      LOG.error("Task {} failed with exception: ", taskName, e);
 
-            // Update task delta processing duration
-            long taskDuration = Time.monotonicNow() - taskStartTime;
-            taskMetrics.updateTaskDeltaProcessingDuration(task.getTaskName(), taskDuration);
+      // Track task delta processing failure
+      taskMetrics.incrTaskDeltaProcessingFailures(taskName);
 
-            return result;
-          } catch (Exception e) {
-            if (e instanceof InterruptedException) {
-              Thread.currentThread().interrupt();
-            }
-            // Wrap the exception with the task name
-            throw new TaskExecutionException(task.getTaskName(), e);
-          }
-        }, executorService).thenAccept(result -> {
-          String taskName = result.getTaskName();
-          ReconTaskStatusUpdater taskStatusUpdater =
-              taskStatusUpdaterManager.getTaskStatusUpdater(taskName);
-          if (!result.isTaskSuccess()) {
-            LOG.error("Task {} failed", taskName);
-
-            // Track task delta processing failure
-            taskMetrics.incrTaskDeltaProcessingFailures(taskName);
-
-            failedTasks.add(new ReconOmTask.TaskResult.Builder()
-                .setTaskName(taskName)
-                .setSubTaskSeekPositions(result.getSubTaskSeekPositions())
-                .build());
-            taskStatusUpdater.setLastTaskRunStatus(-1);
-          } else {
-            // Track task delta processing success
-            taskMetrics.incrTaskDeltaProcessingSuccess(taskName);
-
-            taskStatusUpdater.setLastTaskRunStatus(0);
-            taskStatusUpdater.setLastUpdatedSeqNumber(events.getLastSequenceNumber());
-          }
-          taskStatusUpdater.recordRunCompletion();
-        }).exceptionally(ex -> {
-          LOG.error("Task failed with exception: ", ex);
-          if (ex.getCause() instanceof TaskExecutionException) {
-            TaskExecutionException taskEx = (TaskExecutionException) ex.getCause();
-            String taskName = taskEx.getTaskName();
-            LOG.error("The above error occurred while trying to execute task: {}", taskName);
-
-            // Track task delta processing failure
-            taskMetrics.incrTaskDeltaProcessingFailures(taskName);
-
-            ReconTaskStatusUpdater taskStatusUpdater =
-                taskStatusUpdaterManager.getTaskStatusUpdater(taskName);
-            taskStatusUpdater.setLastTaskRunStatus(-1);
-            taskStatusUpdater.recordRunCompletion();
-          }
-          return null;
-        })).collect(Collectors.toList());
+      taskStatusUpdater.setLastTaskRunStatus(-1);
+      taskStatusUpdater.recordRunCompletion();
+      return null;
+    }
+    taskMetrics.updateTaskDeltaProcessingDuration(taskName, Time.monotonicNow() - taskStartTime);
 
-    try {
-      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-    } catch (CompletionException ce) {
-      LOG.error("Completing all tasks failed with exception ", ce);
-    } catch (CancellationException ce) {
-      LOG.error("Some tasks were cancelled with exception", ce);
+    if (!result.isTaskSuccess()) {
+      LOG.error("Task {} failed", taskName);
+
+      // Track task delta processing failure
+      taskMetrics.incrTaskDeltaProcessingFailures(taskName);
+
+      taskStatusUpdater.setLastTaskRunStatus(-1);
+    } else {
+      // Track task delta processing success
+      taskMetrics.incrTaskDeltaProcessingSuccess(taskName);
+
+      taskStatusUpdater.setLastTaskRunStatus(0);
+      taskStatusUpdater.setLastUpdatedSeqNumber(events.getLastSequenceNumber());
     }
+    taskStatusUpdater.recordRunCompletion();
+    return result;
   }
-  
+
   /**
    * Async thread that continuously processes buffered events.
    */
@@ -543,47 +550,63 @@ void processReconEvent(ReconEvent event) {
   }
   
   /**
-   * Process an OM update batch event (used by async processing thread).
+   * Hands an OM update batch to the pipeline of every task (used by async
+   * processing thread).  The tasks process it at their own pace, so this
+   * only waits when the event log is full.
    */
   private void processOMUpdateBatch(OMUpdateEventBatch events) {
     if (events.isEmpty()) {
       return;
     }
 
-    Collection<NamedCallableTask<ReconOmTask.TaskResult>> tasks = new ArrayList<>();
-    List<ReconOmTask.TaskResult> failedTasks = new ArrayList<>();
-
-    for (Map.Entry<String, ReconOmTask> taskEntry : reconOmTasks.entrySet()) {
-      ReconOmTask task = taskEntry.getValue();
-      ReconTaskStatusUpdater taskStatusUpdater = taskStatusUpdaterManager.getTaskStatusUpdater(task.getTaskName());
-      taskStatusUpdater.recordRunStart();
-      tasks.add(new NamedCallableTask<>(task.getTaskName(), () -> task.process(events, Collections.emptyMap())));
+    List<TaskPipeline> taskPipelines = new ArrayList<>();
+    for (String taskName : reconOmTasks.keySet()) {
+      taskPipelines.add(pipelines.computeIfAbsent(taskName, TaskPipeline::new));
+    }
+    if (taskPipelines.isEmpty()) {
+      return;
     }
 
-    processTasks(tasks, events, failedTasks);
-
-    // Handle failed tasks with retry logic
-    List<ReconOmTask.TaskResult> retryFailedTasks = new ArrayList<>();
-    if (!failedTasks.isEmpty()) {
-      LOG.warn("Some tasks failed while processing buffered events, retrying...");
-      tasks.clear();
-
-      for (ReconOmTask.TaskResult taskResult : failedTasks) {
-        ReconOmTask task = reconOmTasks.get(taskResult.getTaskName());
-        tasks.add(new NamedCallableTask<>(task.getTaskName(),
-            () -> task.process(events, taskResult.getSubTaskSeekPositions())));
+    OMUpdateEventLog.Entry entry = null;
+    try {
+      while (entry == null) {
+        if (!running) {
+          LOG.info("Controller stopped, dropping batch up to sequence number {}",
+              events.getLastSequenceNumber());
+          return;
+        }
+        entry = eventLog.append(events, taskPipelines.size(), 1000);
       }
-      processTasks(tasks, events, retryFailedTasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    lastDispatchedSeqNumber = events.getLastSequenceNumber();
+    for (TaskPipeline pipeline : taskPipelines) {
+      pipeline.offer(entry);
+    }
+  }
 
-      if (!retryFailedTasks.isEmpty()) {
-        LOG.warn("Some tasks still failed after retry while processing buffered events, signaling for " +
-            "task reinitialization");
-        // Set flag to indicate delta tasks failed even after retry
-        tasksFailed.compareAndSet(false, true);
-      }
+  /**
+   * Drops the batches the tasks have not started processing and waits for
+   * the batches in progress.
+   */
+  private void discardPendingBatches() {
+    for (TaskPipeline pipeline : pipelines.values()) {
+      pipeline.discardAndAwaitIdle();
     }
   }
-  
+
+  @VisibleForTesting
+  int getEventLogSize() {
+    return eventLog.size();
+  }
+
+  @VisibleForTesting
+  ReconTaskMetrics getTaskMetrics() {
+    return taskMetrics;
+  }
+
   @Override
   public boolean hasEventBufferOverflowed() {
     return eventBuffer.getDroppedBatches() > 0;
@@ -957,4 +980,95 @@ private void cleanupCheckpointFiles(ReconOMMetadataManager checkpointedManager)
   public OMUpdateEventBuffer getEventBuffer() {
     return eventBuffer;
   }
+
+  /**
+   * The batches handed to a task, in order.  The task processes them one
+   * at a time on its own thread, independently of the other tasks, so a
+   * slow task only falls behind itself.
+   */
+  private final class TaskPipeline {
+    private final String taskName;
+    private final ExecutorService executor;
+    private final Deque<OMUpdateEventLog.Entry> pending = new ArrayDeque<>();
+    private boolean draining;
+    private volatile long lastProcessedSeqNumber;
+
+    private TaskPipeline(String taskName) {
+      this.taskName = taskName;
+      this.executor = Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setNameFormat("ReconTaskPipeline-" + taskName + "-%d")
+              .build());
+    }
+
+    synchronized void offer(OMUpdateEventLog.Entry entry) {
+      pending.add(entry);
+      updateLag();
+      if (draining) {
+        return;
+      }
+      try {
+        executor.execute(this::drain);
+        draining = true;
+      } catch (RejectedExecutionException e) {
+        LOG.warn("Pipeline of task {} is shut down, dropping its pending batches", taskName);
+        releaseAll();
+      }
+    }
+
+    private void drain() {
+      while (true) {
+        OMUpdateEventLog.Entry entry;
+        synchronized (this) {
+          entry = pending.poll();
+          if (entry == null) {
+            draining = false;
+            notifyAll();
+            return;
+          }
+        }
+        try {
+          ReconOmTask task = reconOmTasks.get(taskName);
+          if (task != null) {
+            processBatch(task, entry.getBatch());
+          }
+        } catch (RuntimeException e) {
+          LOG.error("Unexpected error while processing a batch with task {}", taskName, e);
+        } finally {
+          lastProcessedSeqNumber = entry.getBatch().getLastSequenceNumber();
+          entry.release();
+          synchronized (this) {
+            updateLag();
+          }
+        }
+      }
+    }
+
+    synchronized void discardAndAwaitIdle() {
+      releaseAll();
+      boolean interrupted = false;
+      while (draining) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void releaseAll() {
+      for (OMUpdateEventLog.Entry entry; (entry = pending.poll()) != null;) {
+        entry.release();
+      }
+      updateLag();
+    }
+
+    private void updateLag() {
+      long lag = pending.isEmpty() && !draining ? 0
+          : Math.max(0, lastDispatchedSeqNumber - lastProcessedSeqNumber);
+      taskMetrics.updateTaskLag(taskName, pending.size(), lag);
+    }
+  }
 }
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.upgrade;
+
+import com.google.inject.Injector;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.sql.DataSource;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.ozone.recon.ReconGuiceServletContextListener;
+import org.apache.hadoop.ozone.recon.spi.impl.ReconDBProvider;
+import org.apache.hadoop.ozone.recon.tasks.ReconTaskController;
+import org.apache.hadoop.ozone.recon.tasks.ReconTaskReInitializationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Upgrade action for the COMPACT_CONTAINER_KEY_MAPPINGS layout feature.
+ * The container key mappings moved to new tables in a compact encoding, so
+ * the action drops the tables of the previous encoding and triggers a full
+ * rebuild populating the new ones.
+ */
+@UpgradeActionRecon(feature = ReconLayoutFeature.COMPACT_CONTAINER_KEY_MAPPINGS)
+public class CompactContainerKeyMappingsUpgradeAction implements ReconUpgradeAction {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CompactContainerKeyMappingsUpgradeAction.class);
+
+  private static final List<String> LEGACY_TABLES = Collections.unmodifiableList(
+      Arrays.asList("containerKeyTable", "keyContainerTable"));
+
+  @Override
+  public void execute(DataSource dataSource) {
+    try {
+      Injector injector = ReconGuiceServletContextListener.getGlobalInjector();
+      if (injector == null) {
+        throw new IllegalStateException(
+            "Guice injector is not initialized. Cannot rebuild the container key mappings.");
+      }
+      DBStore reconDbStore = injector.getInstance(ReconDBProvider.class).getDbStore();
+      for (String table : LEGACY_TABLES) {
+        LOG.info("Dropping {} of the previous container key mapping encoding.", table);
+        reconDbStore.dropTable(table);
+      }
+
+      ReconTaskController reconTaskController = injector.getInstance(ReconTaskController.class);
+      LOG.info("Starting full rebuild of the container key mappings for COMPACT_CONTAINER_KEY_MAPPINGS upgrade...");
+      ReconTaskController.ReInitializationResult result = reconTaskController.queueReInitializationEvent(
+          ReconTaskReInitializationEvent.ReInitializationReason.MANUAL_TRIGGER);
+      if (result != ReconTaskController.ReInitializationResult.SUCCESS) {
+        throw new RuntimeException(
+            "Failed to queue reinitialization event (result: " + result + "). " +
+                "Container key mapping rebuild required for COMPACT_CONTAINER_KEY_MAPPINGS upgrade.");
+      }
+    } catch (Exception e) {
+      LOG.error("Error during container key mapping rebuild for COMPACT_CONTAINER_KEY_MAPPINGS upgrade.", e);
+      throw new RuntimeException("Failed to rebuild container key mappings during upgrade", e);
+    }
+    LOG.info("Completed full rebuild of the container key mappings for COMPACT_CONTAINER_KEY_MAPPINGS upgrade.");
+  }
+}
@@ -36,7 +36,9 @@ public enum ReconLayoutFeature {
   NSSUMMARY_AGGREGATED_TOTALS(3, "Aggregated totals for NSSummary and auto-rebuild on upgrade"),
   REPLICATED_SIZE_OF_FILES(4, "Adds replicatedSizeOfFiles to NSSummary"),
   UNHEALTHY_CONTAINERS_STATE_CONTAINER_ID_INDEX(5,
-      "Adds idx_state_container_id index on UNHEALTHY_CONTAINERS for upgrades");
+      "Adds idx_state_container_id index on UNHEALTHY_CONTAINERS for upgrades"),
+  COMPACT_CONTAINER_KEY_MAPPINGS(6,
+      "Compact encoding of the container key mappings and rebuild on upgrade");
 
   private final int version;
   private final String description;
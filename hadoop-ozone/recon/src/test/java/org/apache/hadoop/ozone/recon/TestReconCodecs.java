@@ -19,8 +19,11 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.google.common.primitives.UnsignedBytes;
 import java.io.IOException;
+import java.util.Arrays;
 import org.apache.hadoop.hdds.utils.db.Codec;
 import org.apache.hadoop.hdds.utils.db.IntegerCodec;
 import org.apache.hadoop.ozone.recon.api.types.ContainerKeyPrefix;
@@ -45,6 +48,52 @@ public void testContainerKeyPrefixCodec() throws IOException {
     assertEquals(containerKeyPrefix, fromPersistedFormat);
   }
 
+  @Test
+  public void testContainerKeyPrefixCodecEncoding() throws IOException {
+    Codec<ContainerKeyPrefix> codec = ContainerKeyPrefixCodec.get();
+    long containerId = 1L;
+    for (String key : new String[] {"key", "key_with_underscores",
+        "/vol/bucket/\u00e9\u00e8"}) {
+      for (long version : new long[] {0L, 1L, 256L, Long.MAX_VALUE}) {
+        ContainerKeyPrefix containerKeyPrefix =
+            ContainerKeyPrefix.get(containerId, key, version);
+        byte[] persistedFormat = codec.toPersistedFormat(containerKeyPrefix);
+        assertEquals(containerKeyPrefix,
+            codec.fromPersistedFormat(persistedFormat));
+
+        // Seeks by container and by container and key are prefixes.
+        assertTrue(startsWith(persistedFormat, codec.toPersistedFormat(
+            ContainerKeyPrefix.get(containerId))));
+        assertTrue(startsWith(persistedFormat, codec.toPersistedFormat(
+            ContainerKeyPrefix.get(containerId, key))));
+      }
+    }
+
+    // Seek keys are decoded as well.
+    assertEquals(ContainerKeyPrefix.get(containerId, "key"),
+        codec.fromPersistedFormat(codec.toPersistedFormat(
+            ContainerKeyPrefix.get(containerId, "key"))));
+    assertEquals(ContainerKeyPrefix.get(containerId),
+        codec.fromPersistedFormat(codec.toPersistedFormat(
+            ContainerKeyPrefix.get(containerId))));
+
+    // The containerId, the key, its terminator and the length of version 0.
+    assertEquals(Long.BYTES + 3 + 2, codec.toPersistedFormat(
+        ContainerKeyPrefix.get(containerId, "key", 0L)).length);
+
+    // All versions of a key sort before a longer key starting with it.
+    assertTrue(UnsignedBytes.lexicographicalComparator().compare(
+        codec.toPersistedFormat(
+            ContainerKeyPrefix.get(containerId, "key", Long.MAX_VALUE)),
+        codec.toPersistedFormat(
+            ContainerKeyPrefix.get(containerId, "key0", 0L))) < 0);
+  }
+
+  private static boolean startsWith(byte[] array, byte[] prefix) {
+    return array.length >= prefix.length && Arrays.equals(prefix,
+        Arrays.copyOf(array, prefix.length));
+  }
+
   @Test
   public void testIntegerCodec() throws IOException {
     Integer i = 1000;
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.metrics;
+
+import static org.apache.hadoop.ozone.recon.metrics.TimeBucketedStore.Resolution.DAY;
+import static org.apache.hadoop.ozone.recon.metrics.TimeBucketedStore.Resolution.HOUR;
+import static org.apache.hadoop.ozone.recon.metrics.TimeBucketedStore.Resolution.MINUTE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TimeBucketedStore}.
+ */
+class TestTimeBucketedStore {
+
+  private static final long MINUTE_MS = TimeUnit.MINUTES.toMillis(1);
+  private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+  private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+  private static final long START = 100 * DAY_MS;
+
+  @Test
+  void countersRollUp() {
+    TimeBucketedStore store = new TimeBucketedStore(60, 24, 7);
+    store.add("vol/bucket/a", START, 1);
+    store.add("vol/bucket/a", START + MINUTE_MS, 2);
+    store.add("vol/bucket/a", START + HOUR_MS, 4);
+
+    // The minute of START is out of the last 60 minutes.
+    assertEquals(0, store.sum("vol/bucket/a", MINUTE, START, START));
+    assertEquals(6, store.sum("vol/bucket/a", MINUTE, START, START + HOUR_MS));
+    assertEquals(3, store.sum("vol/bucket/a", HOUR, START, START));
+    assertEquals(7, store.sum("vol/bucket/a", DAY, START, START + HOUR_MS));
+    assertEquals(7, store.sum("vol/bucket/a", HOUR, START, START + HOUR_MS));
+    assertEquals(0, store.sum("vol/bucket/b", HOUR, START, START + HOUR_MS));
+  }
+
+  @Test
+  void lastGaugeValueWins() {
+    TimeBucketedStore store = new TimeBucketedStore(60, 24, 7);
+    store.set("dn1", START, 10);
+    store.set("dn1", START + MINUTE_MS, 0);
+    store.set("dn1", START + 2 * MINUTE_MS, 30);
+
+    assertThat(store.getValues("dn1", MINUTE, START, START + HOUR_MS))
+        .containsExactly(entry(START, 10L), entry(START + MINUTE_MS, 0L),
+            entry(START + 2 * MINUTE_MS, 30L));
+    assertThat(store.getValues("dn1", HOUR, START, START + HOUR_MS))
+        .containsExactly(entry(START, 30L));
+  }
+
+  @Test
+  void prefixQueryScansOnlyMatchingSeries() {
+    TimeBucketedStore store = new TimeBucketedStore(0, 24, 7);
+    store.add("vol1/b1/k1", START, 1);
+    store.add("vol1/b2/k1", START, 2);
+    store.add("vol10/b1/k1", START, 4);
+
+    assertThat(store.sumByPrefix("vol1/", HOUR, START, START))
+        .containsOnlyKeys("vol1/b1/k1", "vol1/b2/k1");
+    assertThat(store.sumByPrefix("", DAY, START, START)).hasSize(3);
+    assertThat(store.sumByPrefix("vol1/", HOUR, START - DAY_MS,
+        START - HOUR_MS)).isEmpty();
+    assertThrows(IllegalArgumentException.class,
+        () -> store.sumByPrefix("", MINUTE, START, START));
+  }
+
+  @Test
+  void oldBucketsAreEvicted() {
+    TimeBucketedStore store = new TimeBucketedStore(0, 2, 2);
+    store.add("a", START, 1);
+    store.add("b", START + HOUR_MS, 2);
+    // Hour of START falls out of the hour ring but not the day ring.
+    store.add("b", START + 2 * HOUR_MS, 4);
+    assertEquals(0, store.sum("a", HOUR, START, START + 2 * HOUR_MS));
+    assertEquals(1, store.sum("a", DAY, START, START + 2 * HOUR_MS));
+    // Too old to keep.
+    store.add("a", START - 2 * DAY_MS, 8);
+    assertEquals(1, store.sum("a", DAY, START - 2 * DAY_MS, START));
+
+    // Series without any values left are dropped.
+    store.add("b", START + DAY_MS, 1);
+    assertEquals(2, store.size());
+    store.add("b", START + 2 * DAY_MS, 1);
+    assertEquals(1, store.size());
+    assertEquals(0, store.sum("a", DAY, 0, START + 2 * DAY_MS));
+    assertEquals(2, store.sum("b", DAY, 0, START + 2 * DAY_MS));
+  }
+
+  @Test
+  void resolutionForPicksFinestCoveringRing() {
+    TimeBucketedStore store = new TimeBucketedStore(60, 24, 7);
+    assertNull(store.resolutionFor(START));
+    final long now = START + DAY_MS - 1;
+    store.add("a", now, 1);
+
+    assertEquals(MINUTE, store.resolutionFor(now - 30 * MINUTE_MS));
+    assertEquals(HOUR, store.resolutionFor(now - 12 * HOUR_MS));
+    assertEquals(DAY, store.resolutionFor(now - 3 * DAY_MS));
+    assertNull(store.resolutionFor(now - 30 * DAY_MS));
+  }
+}
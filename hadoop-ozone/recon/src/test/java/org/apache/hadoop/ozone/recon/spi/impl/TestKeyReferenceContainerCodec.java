@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.spi.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.primitives.UnsignedBytes;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.ozone.recon.api.types.KeyPrefixContainer;
+import org.apache.hadoop.ozone.recon.api.types.KeyReferenceContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class to test {@link KeyReferenceContainerCodec}.
+ */
+public class TestKeyReferenceContainerCodec {
+
+  private final Codec<KeyReferenceContainer> codec = KeyReferenceContainerCodec.get();
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    runTest("testKey", 0L, 456L);
+    runTest("test_key_with_underscores", 789L, 101112L);
+    runTest("/vol/bucket/dir/key", Long.MAX_VALUE, Long.MAX_VALUE);
+  }
+
+  @Test
+  public void testEncodingDoesNotDependOnKeyLength() throws Exception {
+    final byte[] shortKey = codec.toPersistedFormat(KeyReferenceContainer.get(
+        KeyPrefixContainer.get("k", 0L, 1L)));
+    final byte[] longKey = codec.toPersistedFormat(KeyReferenceContainer.get(
+        KeyPrefixContainer.get("/vol/bucket/" + String.join("/", "dir", "dir", "dir", "key"), 0L, 1L)));
+
+    // reference, the length of version 0 and the containerId
+    assertEquals(2 * Long.BYTES + 1, shortKey.length);
+    assertEquals(shortKey.length, longKey.length);
+  }
+
+  @Test
+  public void testVersionsInNumericOrder() throws Exception {
+    final long keyReference = KeyReferenceContainer.toKeyReference("key");
+    final long[] versions = {0L, 1L, 255L, 256L, 65536L, Long.MAX_VALUE};
+    for (int i = 1; i < versions.length; i++) {
+      final byte[] lower = codec.toPersistedFormat(
+          KeyReferenceContainer.get(keyReference, versions[i - 1], Long.MAX_VALUE));
+      final byte[] higher = codec.toPersistedFormat(
+          KeyReferenceContainer.get(keyReference, versions[i], 0L));
+      assertTrue(UnsignedBytes.lexicographicalComparator().compare(lower, higher) < 0);
+    }
+  }
+
+  @Test
+  public void testTypeClass() {
+    assertEquals(KeyReferenceContainer.class, codec.getTypeClass());
+  }
+
+  void runTest(String keyPrefix, long version, long containerId) throws Exception {
+    final long keyReference = KeyReferenceContainer.toKeyReference(keyPrefix);
+    final KeyReferenceContainer original = KeyReferenceContainer.get(
+        KeyPrefixContainer.get(keyPrefix, version, containerId));
+    assertEquals(KeyReferenceContainer.get(keyReference, version, containerId), original);
+
+    final byte[] originalBytes = codec.toPersistedFormat(original);
+    assertEquals(original, codec.fromPersistedFormat(originalBytes));
+
+    final byte[] keyAndVersionBytes = codec.toPersistedFormat(
+        KeyReferenceContainer.get(keyReference, version, -1));
+    assertPrefix(originalBytes.length - Long.BYTES, originalBytes, keyAndVersionBytes);
+    assertEquals(KeyReferenceContainer.get(keyReference, version, -1),
+        codec.fromPersistedFormat(keyAndVersionBytes));
+
+    final byte[] keyOnlyBytes = codec.toPersistedFormat(
+        KeyReferenceContainer.get(keyReference, -1, -1));
+    assertPrefix(Long.BYTES, originalBytes, keyOnlyBytes);
+    assertEquals(KeyReferenceContainer.get(keyReference, -1, -1),
+        codec.fromPersistedFormat(keyOnlyBytes));
+  }
+
+  static void assertPrefix(int expectedLength, byte[] array, byte[] prefix) {
+    assertEquals(expectedLength, prefix.length);
+    for (int i = 0; i < prefix.length; i++) {
+      assertEquals(array[i], prefix[i]);
+    }
+  }
+}
@@ -35,6 +35,7 @@
 import org.apache.hadoop.ozone.recon.api.types.ContainerKeyPrefix;
 import org.apache.hadoop.ozone.recon.api.types.ContainerMetadata;
 import org.apache.hadoop.ozone.recon.api.types.KeyPrefixContainer;
+import org.apache.hadoop.ozone.recon.api.types.KeyReferenceContainer;
 import org.apache.hadoop.ozone.recon.recovery.ReconOMMetadataManager;
 import org.apache.hadoop.ozone.recon.spi.ReconContainerMetadataManager;
 import org.junit.jupiter.api.BeforeAll;
@@ -188,6 +189,37 @@ public void testBatchStoreContainerKeyMapping() throws Exception {
                 0)).longValue());
   }
 
+  @Test
+  public void testIngestStagedContainerKeyMappings() throws Exception {
+    long containerId = 1L;
+    long nextContainerId = 2L;
+    Map<ContainerKeyPrefix, Integer> prefixCounts = new HashMap<>();
+    prefixCounts.put(ContainerKeyPrefix.get(containerId, keyPrefix1, 0), 1);
+    prefixCounts.put(ContainerKeyPrefix.get(nextContainerId, keyPrefix3, 0), 1);
+    reconContainerMetadataManager.stageContainerKeyMappings(prefixCounts);
+
+    // The staged runs overlap and are merged when ingested.
+    prefixCounts.clear();
+    prefixCounts.put(ContainerKeyPrefix.get(containerId, keyPrefix2, 0), 1);
+    prefixCounts.put(ContainerKeyPrefix.get(nextContainerId, keyPrefix1, 1), 1);
+    reconContainerMetadataManager.stageContainerKeyMappings(prefixCounts);
+    assertTrue(reconContainerMetadataManager
+        .getKeyPrefixesForContainer(containerId).isEmpty());
+
+    reconContainerMetadataManager.ingestStagedContainerKeyMappings();
+
+    assertEquals(2, reconContainerMetadataManager
+        .getKeyPrefixesForContainer(containerId).size());
+    assertEquals(2, reconContainerMetadataManager
+        .getKeyPrefixesForContainer(nextContainerId).size());
+    assertEquals(1, reconContainerMetadataManager
+        .getContainerForKeyPrefixes(keyPrefix1, 0).size());
+    assertEquals(1, reconContainerMetadataManager
+        .getContainerForKeyPrefixes(keyPrefix1, 1).size());
+    assertEquals(1, reconContainerMetadataManager
+        .getContainerForKeyPrefixes(keyPrefix3, 0).size());
+  }
+
   @Test
   public void testStoreContainerKeyCount() throws Exception {
     long containerId = 1L;
@@ -354,6 +386,26 @@ public void testGetContainerForKeyPrefixesWithKeyPrefix() throws Exception {
     assertEquals(0, keyPrefixMap.size());
   }
 
+  @Test
+  public void testGetContainerForKeyPrefixesChecksKeyReference()
+      throws Exception {
+    long containerId = 1L;
+    long nextContainerId = 2L;
+    populateKeysInContainers(containerId, nextContainerId);
+
+    // An index entry of another key with the same reference, which has no
+    // mapping for keyPrefix1, is skipped.
+    reconContainerMetadataManager.getKeyContainerTable().put(
+        KeyReferenceContainer.get(
+            KeyReferenceContainer.toKeyReference(keyPrefix1), 0, 10L), 1);
+
+    Map<KeyPrefixContainer, Integer> keyPrefixMap =
+        reconContainerMetadataManager.getContainerForKeyPrefixes(keyPrefix1, -1);
+    assertEquals(1, keyPrefixMap.size());
+    assertEquals(1, keyPrefixMap.get(
+        KeyPrefixContainer.get(keyPrefix1, 0, containerId)).intValue());
+  }
+
   @Test
   public void testGetContainersWithPrevContainer() throws Exception {
     long containerId = 1L;
@@ -407,7 +459,8 @@ public void testDeleteContainerMapping() throws Exception {
     keyPrefixMap.forEach((containerKeyPrefix, integer) -> {
       try {
         assertNotNull(reconContainerMetadataManager.getKeyContainerTable()
-                          .get(containerKeyPrefix.toKeyPrefixContainer()));
+                          .get(KeyReferenceContainer.get(
+                          containerKeyPrefix.toKeyPrefixContainer())));
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
@@ -424,7 +477,8 @@ public void testDeleteContainerMapping() throws Exception {
     assertEquals(1, keyPrefixMap.size());
 
     assertNull(reconContainerMetadataManager.getKeyContainerTable()
-                   .get(prefixForDelete.toKeyPrefixContainer()));
+                   .get(KeyReferenceContainer.get(
+                   prefixForDelete.toKeyPrefixContainer())));
   }
 
   @Test
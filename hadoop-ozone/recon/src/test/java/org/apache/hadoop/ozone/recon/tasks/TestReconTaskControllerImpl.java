@@ -45,6 +45,7 @@
 import org.apache.hadoop.hdds.utils.db.DBCheckpoint;
 import org.apache.hadoop.hdds.utils.db.DBStore;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.recon.metrics.ReconTaskMetrics;
 import org.apache.hadoop.ozone.recon.persistence.AbstractReconSqlDBTest;
 import org.apache.hadoop.ozone.recon.recovery.ReconOMMetadataManager;
 import org.apache.hadoop.ozone.recon.spi.ReconContainerMetadataManager;
@@ -273,6 +274,56 @@ public void testFailedTaskRetryLogic() throws Exception {
     assertEquals(Long.valueOf(100L), dbRecord.getLastUpdatedSeqNumber());
   }
 
+  @Test
+  public void testSlowTaskDoesNotHoldBackOtherTasks() throws Exception {
+    CountDownLatch slowTaskRelease = new CountDownLatch(1);
+    ReconOmTask slowTask = getMockTask("SlowTask");
+    when(slowTask.process(any(OMUpdateEventBatch.class), anyMap()))
+        .thenAnswer(invocation -> {
+          slowTaskRelease.await();
+          return new ReconOmTask.TaskResult.Builder()
+              .setTaskName("SlowTask").setTaskSuccess(true).build();
+        });
+    ReconOmTask fastTask = getMockTask("FastTask");
+    when(fastTask.process(any(OMUpdateEventBatch.class), anyMap()))
+        .thenReturn(new ReconOmTask.TaskResult.Builder()
+            .setTaskName("FastTask").setTaskSuccess(true).build());
+    reconTaskController.registerTask(slowTask);
+    reconTaskController.registerTask(fastTask);
+
+    for (long seq = 1; seq <= 3; seq++) {
+      OMUpdateEventBatch batch = mock(OMUpdateEventBatch.class);
+      when(batch.getLastSequenceNumber()).thenReturn(seq);
+      when(batch.isEmpty()).thenReturn(false);
+      when(batch.getEvents()).thenReturn(new ArrayList<>());
+      when(batch.getEventType()).thenReturn(ReconEvent.EventType.OM_UPDATE_BATCH);
+      when(batch.getEventCount()).thenReturn(1);
+      reconTaskController.consumeOMEvents(batch, mock(OMMetadataManager.class));
+    }
+
+    // The fast task catches up while the slow one is still on the first batch.
+    GenericTestUtils.waitFor(() -> lastUpdatedSeqNumber("FastTask") == 3L, 100, 5000);
+    ReconTaskControllerImpl controller = (ReconTaskControllerImpl) reconTaskController;
+    ReconTaskMetrics taskMetrics = controller.getTaskMetrics();
+    assertEquals(3, controller.getEventLogSize());
+    assertEquals(2, taskMetrics.getTaskPendingBatches("SlowTask"));
+    assertEquals(3, taskMetrics.getTaskLagSequenceNumbers("SlowTask"));
+    assertEquals(0, taskMetrics.getTaskPendingBatches("FastTask"));
+    assertEquals(0, taskMetrics.getTaskLagSequenceNumbers("FastTask"));
+
+    slowTaskRelease.countDown();
+    GenericTestUtils.waitFor(() -> lastUpdatedSeqNumber("SlowTask") == 3L, 100, 5000);
+    GenericTestUtils.waitFor(() -> controller.getEventLogSize() == 0, 100, 5000);
+    assertEquals(0, taskMetrics.getTaskLagSequenceNumbers("SlowTask"));
+    verify(slowTask, times(3)).process(any(), anyMap());
+    verify(fastTask, times(3)).process(any(), anyMap());
+  }
+
+  private long lastUpdatedSeqNumber(String taskName) {
+    ReconTaskStatus status = reconTaskStatusDao.findById(taskName);
+    return status == null ? -1 : status.getLastUpdatedSeqNumber();
+  }
+
   @Test
   @org.junit.jupiter.api.Disabled("Task removal logic not implemented in async processing")
   public void testBadBehavedTaskIsIgnored() throws Exception {
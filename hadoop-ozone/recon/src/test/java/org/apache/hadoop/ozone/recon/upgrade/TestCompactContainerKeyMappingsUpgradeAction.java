@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.upgrade;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.inject.Injector;
+import javax.sql.DataSource;
+import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.ozone.recon.ReconGuiceServletContextListener;
+import org.apache.hadoop.ozone.recon.spi.impl.ReconDBProvider;
+import org.apache.hadoop.ozone.recon.tasks.ReconTaskController;
+import org.apache.hadoop.ozone.recon.tasks.ReconTaskReInitializationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Test class for CompactContainerKeyMappingsUpgradeAction.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TestCompactContainerKeyMappingsUpgradeAction {
+
+  private CompactContainerKeyMappingsUpgradeAction upgradeAction;
+  @Mock
+  private DataSource mockDataSource;
+  @Mock
+  private Injector mockInjector;
+  @Mock
+  private ReconDBProvider mockReconDBProvider;
+  @Mock
+  private DBStore mockDbStore;
+  @Mock
+  private ReconTaskController mockReconTaskController;
+
+  @BeforeEach
+  public void setUp() {
+    upgradeAction = new CompactContainerKeyMappingsUpgradeAction();
+  }
+
+  @Test
+  public void testExecuteDropsLegacyTablesAndRebuilds() throws Exception {
+    try (MockedStatic<ReconGuiceServletContextListener> mockStaticContext =
+             Mockito.mockStatic(ReconGuiceServletContextListener.class)) {
+      mockStaticContext.when(ReconGuiceServletContextListener::getGlobalInjector).thenReturn(mockInjector);
+      when(mockInjector.getInstance(ReconDBProvider.class)).thenReturn(mockReconDBProvider);
+      when(mockReconDBProvider.getDbStore()).thenReturn(mockDbStore);
+      when(mockInjector.getInstance(ReconTaskController.class)).thenReturn(mockReconTaskController);
+      when(mockReconTaskController.queueReInitializationEvent(
+          any(ReconTaskReInitializationEvent.ReInitializationReason.class)))
+          .thenReturn(ReconTaskController.ReInitializationResult.SUCCESS);
+
+      upgradeAction.execute(mockDataSource);
+
+      InOrder inOrder = inOrder(mockDbStore, mockReconTaskController);
+      inOrder.verify(mockDbStore).dropTable("containerKeyTable");
+      inOrder.verify(mockDbStore).dropTable("keyContainerTable");
+      inOrder.verify(mockReconTaskController).queueReInitializationEvent(
+          ReconTaskReInitializationEvent.ReInitializationReason.MANUAL_TRIGGER);
+    }
+  }
+
+  @Test
+  public void testExecuteFailsWhenRebuildIsNotQueued() throws Exception {
+    try (MockedStatic<ReconGuiceServletContextListener> mockStaticContext =
+             Mockito.mockStatic(ReconGuiceServletContextListener.class)) {
+      mockStaticContext.when(ReconGuiceServletContextListener::getGlobalInjector).thenReturn(mockInjector);
+      when(mockInjector.getInstance(ReconDBProvider.class)).thenReturn(mockReconDBProvider);
+      when(mockReconDBProvider.getDbStore()).thenReturn(mockDbStore);
+      when(mockInjector.getInstance(ReconTaskController.class)).thenReturn(mockReconTaskController);
+      when(mockReconTaskController.queueReInitializationEvent(
+          any(ReconTaskReInitializationEvent.ReInitializationReason.class)))
+          .thenReturn(ReconTaskController.ReInitializationResult.RETRY_LATER);
+
+      RuntimeException thrown = assertThrows(RuntimeException.class, () -> upgradeAction.execute(mockDataSource));
+      assertEquals("Failed to rebuild container key mappings during upgrade", thrown.getMessage());
+    }
+  }
+
+  @Test
+  public void testExecuteFailsWithoutInjector() throws Exception {
+    try (MockedStatic<ReconGuiceServletContextListener> mockStaticContext =
+             Mockito.mockStatic(ReconGuiceServletContextListener.class)) {
+      mockStaticContext.when(ReconGuiceServletContextListener::getGlobalInjector).thenReturn(null);
+
+      assertThrows(RuntimeException.class, () -> upgradeAction.execute(mockDataSource));
+      verify(mockDbStore, never()).dropTable(any());
+    }
+  }
+}
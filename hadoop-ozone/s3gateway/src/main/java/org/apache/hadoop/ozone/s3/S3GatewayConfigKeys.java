@@ -86,6 +86,16 @@ public final class S3GatewayConfigKeys {
   public static final boolean OZONE_S3G_FSO_DIRECTORY_CREATION_ENABLED_DEFAULT =
       true;
 
+  /**
+   * Configuration key that enables reusing the ETag of the source of a copy
+   * if it is the MD5 of the data, instead of computing the MD5 of the
+   * copied data again.
+   */
+  public static final String OZONE_S3G_COPY_REUSE_SOURCE_ETAG_ENABLED =
+      "ozone.s3g.copy.reuse.source.etag.enabled";
+  public static final boolean
+      OZONE_S3G_COPY_REUSE_SOURCE_ETAG_ENABLED_DEFAULT = false;
+
   /**
    * Configuration key that enables shallow listing of Keys when results
    * with delimiter by '/'.
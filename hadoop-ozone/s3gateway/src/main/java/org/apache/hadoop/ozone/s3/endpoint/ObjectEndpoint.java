@@ -19,6 +19,8 @@
 
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType.EC;
 import static org.apache.hadoop.ozone.audit.AuditLogger.PerformanceStringBuilder;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_COPY_REUSE_SOURCE_ETAG_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_COPY_REUSE_SOURCE_ETAG_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_FSO_DIRECTORY_CREATION_ENABLED;
 import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_FSO_DIRECTORY_CREATION_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.s3.exception.S3ErrorTable.INVALID_ARGUMENT;
@@ -59,7 +61,9 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -124,6 +128,7 @@ public class ObjectEndpoint extends ObjectOperationHandler {
   private static final String PATH = "path";
   // Default Content-Type for objects stored without one, matching S3.
   private static final String DEFAULT_CONTENT_TYPE = "binary/octet-stream";
+  private static final Pattern MD5_HEX_PATTERN = Pattern.compile("[0-9a-f]{32}");
 
   private static final Logger LOG =
       LoggerFactory.getLogger(ObjectEndpoint.class);
@@ -937,6 +942,20 @@ private Response createMultipartKey(OzoneVolume volume, OzoneBucket ozoneBucket,
           throw newError(PRECOND_FAILED, sourceBucket + "/" + sourceKey);
         }
 
+        if (length == sourceKeyDetails.getDataSize()) {
+          String copiedETag = copyPartInOzoneManager(volume.getName(),
+              sourceBucket, sourceKey, sourceKeyDetails, bucketName, key,
+              uploadID, partNumber);
+          if (copiedETag != null) {
+            perf.appendMetaLatencyNanos(
+                getMetrics().updateCopyKeyMetadataStats(startNanos));
+            getMetrics().updateCopyObjectSuccessStats(startNanos);
+            return Response.ok(new CopyPartResult(
+                wrapInQuotes(stripQuotes(copiedETag))))
+                .build();
+          }
+        }
+
         try (OzoneInputStream sourceObject = sourceKeyDetails.getContent()) {
           long copyLength;
           if (range != null) {
@@ -1036,9 +1055,14 @@ private Response createMultipartKey(OzoneVolume volume, OzoneBucket ozoneBucket,
     }
   }
 
+  /**
+   * Copies the source data to the destination key.
+   * @param sourceETag the ETag of the source if it is the MD5 of the data,
+   *                   which is then not computed again; otherwise null.
+   */
   @SuppressWarnings("checkstyle:ParameterNumber")
-  void copy(OzoneVolume volume, DigestInputStream src, long srcKeyLen,
-      String destKey, String destBucket,
+  void copy(OzoneVolume volume, InputStream src, String sourceETag,
+      long srcKeyLen, String destKey, String destBucket,
       ReplicationConfig replication,
       Map<String, String> metadata,
       PerformanceStringBuilder perf, long startNanos,
@@ -1046,32 +1070,145 @@ void copy(OzoneVolume volume, DigestInputStream src, long srcKeyLen,
       S3ConditionalRequest.WriteConditions writeConditions)
       throws IOException {
     long copyLength;
-
-    if (isDatastreamEnabled() && !(replication != null &&
-        replication.getReplicationType() == EC) &&
-        srcKeyLen > getDatastreamMinLength()) {
-      perf.appendStreamMode();
-      copyLength = ObjectEndpointStreaming
-          .copyKeyWithStream(volume.getBucket(destBucket), destKey, srcKeyLen,
-              getChunkSize(), replication, metadata, src, perf, startNanos, tags,
-              writeConditions);
-    } else {
-      final long expectedLength = srcKeyLen;
-      try (S3ObjectWriteGuard dest = new S3ObjectWriteGuard(openKeyForPut(
-          volume.getName(), destBucket, destKey, expectedLength,
-          replication, metadata, tags, writeConditions), expectedLength, destKey)) {
-        long metadataLatencyNs =
-            getMetrics().updateCopyKeyMetadataStats(startNanos);
-        perf.appendMetaLatencyNanos(metadataLatencyNs);
-        copyLength = dest.copyFrom(src, getIOBufferSize(expectedLength));
-        String md5Hash = DatatypeConverter.printHexBinary(src.getMessageDigest().digest()).toLowerCase();
-        dest.getMetadata().put(OzoneConsts.ETAG, md5Hash);
+    final DigestInputStream digestSrc = sourceETag == null
+        ? new DigestInputStream(src, getMD5DigestInstance()) : null;
+    final InputStream body = digestSrc == null ? src : digestSrc;
+    final Supplier<String> eTag = digestSrc == null ? () -> sourceETag
+        : () -> DatatypeConverter.printHexBinary(
+            digestSrc.getMessageDigest().digest()).toLowerCase();
+    try {
+      if (isDatastreamEnabled() && !(replication != null &&
+          replication.getReplicationType() == EC) &&
+          srcKeyLen > getDatastreamMinLength()) {
+        perf.appendStreamMode();
+        copyLength = ObjectEndpointStreaming
+            .copyKeyWithStream(volume.getBucket(destBucket), destKey, srcKeyLen,
+                getChunkSize(), replication, metadata, body, eTag, perf,
+                startNanos, tags, writeConditions);
+      } else {
+        final long expectedLength = srcKeyLen;
+        try (S3ObjectWriteGuard dest = new S3ObjectWriteGuard(openKeyForPut(
+            volume.getName(), destBucket, destKey, expectedLength,
+            replication, metadata, tags, writeConditions), expectedLength, destKey)) {
+          long metadataLatencyNs =
+              getMetrics().updateCopyKeyMetadataStats(startNanos);
+          perf.appendMetaLatencyNanos(metadataLatencyNs);
+          copyLength = dest.copyFrom(body, getIOBufferSize(expectedLength));
+          dest.getMetadata().put(OzoneConsts.ETAG, eTag.get());
+        }
+      }
+    } finally {
+      // Reset the thread-local message digest instance in case of exception
+      // and MessageDigest#digest is never called
+      if (digestSrc != null) {
+        digestSrc.getMessageDigest().reset();
       }
     }
+    if (digestSrc == null) {
+      getMetrics().incCopyObjectETagReused();
+    }
     getMetrics().incCopyObjectSuccessLength(copyLength);
     perf.appendSizeBytes(copyLength);
   }
 
+  /**
+   * Returns the ETag of the source key if it is the MD5 of its data, which
+   * is also the ETag of a copy of the whole key.  The ETag of a key
+   * completed from a multipart upload is not.
+   */
+  private static String getCopyableETag(OzoneKeyDetails sourceKeyDetails) {
+    final String eTag = sourceKeyDetails.getMetadata().get(OzoneConsts.ETAG);
+    if (eTag == null) {
+      return null;
+    }
+    final String stripped = stripQuotes(eTag);
+    return MD5_HEX_PATTERN.matcher(stripped).matches() ? stripped : null;
+  }
+
+  /**
+   * Whether the whole source key may be copied in OzoneManager, which only
+   * adds references to its blocks.  OzoneManager may still reject it, for
+   * example if the destination bucket is encrypted.
+   */
+  private static boolean canCopyInOzoneManager(
+      OzoneKeyDetails sourceKeyDetails) {
+    return getCopyableETag(sourceKeyDetails) != null
+        && sourceKeyDetails.getFileEncryptionInfo() == null;
+  }
+
+  private static boolean isCopyNotSupported(OMException ex) {
+    return ex.getResult() == ResultCodes.NOT_SUPPORTED_OPERATION
+        || ex.getResult()
+        == ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION;
+  }
+
+  /**
+   * Copies the source key in OzoneManager if possible.
+   * @return false if the data has to be copied instead.
+   */
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  private boolean copyInOzoneManager(String volumeName, String sourceBucket,
+      String sourceKey, OzoneKeyDetails sourceKeyDetails, String destBucket,
+      String destKey, ReplicationConfig replicationConfig,
+      Map<String, String> metadata, Map<String, String> tags,
+      S3ConditionalRequest.WriteConditions writeConditions)
+      throws IOException {
+    if (!canCopyInOzoneManager(sourceKeyDetails)
+        || writeConditions.hasIfNoneMatch() || writeConditions.hasIfMatch()
+        || (replicationConfig != null && !replicationConfig.equals(
+            sourceKeyDetails.getReplicationConfig()))) {
+      return false;
+    }
+    try {
+      getClientProtocol().copyKey(volumeName, sourceBucket, sourceKey,
+          destBucket, destKey, replicationConfig, metadata, tags);
+    } catch (OMException ex) {
+      if (!isCopyNotSupported(ex)) {
+        throw ex;
+      }
+      LOG.debug("Copying {}/{} to {}/{} in OzoneManager is not supported, " +
+          "copying the data instead", sourceBucket, sourceKey, destBucket,
+          destKey, ex);
+      getMetrics().incCopyObjectServerSideFallback();
+      return false;
+    }
+    getMetrics().incCopyObjectServerSide();
+    return true;
+  }
+
+  /**
+   * Copies the whole source key to a multipart upload part in OzoneManager
+   * if possible.
+   * @return the ETag of the part, or null if the data has to be copied
+   *         instead.
+   */
+  @SuppressWarnings("checkstyle:ParameterNumber")
+  private String copyPartInOzoneManager(String volumeName,
+      String sourceBucket, String sourceKey, OzoneKeyDetails sourceKeyDetails,
+      String destBucket, String destKey, String uploadID, int partNumber)
+      throws IOException {
+    if (!canCopyInOzoneManager(sourceKeyDetails)) {
+      return null;
+    }
+    final OmMultipartCommitUploadPartInfo partInfo;
+    try {
+      partInfo = getClientProtocol().copyKeyToPart(volumeName, sourceBucket,
+          sourceKey, destBucket, destKey, uploadID, partNumber);
+    } catch (OMException ex) {
+      if (!isCopyNotSupported(ex)) {
+        throw ex;
+      }
+      LOG.debug("Copying {}/{} to part {} of {}/{} in OzoneManager is not " +
+          "supported, copying the data instead", sourceBucket, sourceKey,
+          partNumber, destBucket, destKey, ex);
+      getMetrics().incCopyObjectServerSideFallback();
+      return null;
+    }
+    getMetrics().incCopyObjectServerSide();
+    return StringUtils.isEmpty(partInfo.getETag())
+        ? partInfo.getPartName() : partInfo.getETag();
+  }
+
   private CopyObjectResponse copyObject(OzoneVolume volume,
       String destBucket, String destkey, ReplicationConfig replicationConfig,
       PerformanceStringBuilder perf)
@@ -1085,7 +1222,6 @@ private CopyObjectResponse copyObject(OzoneVolume volume,
 
     String sourceBucket = result.getLeft();
     String sourceKey = result.getRight();
-    DigestInputStream sourceDigestInputStream = null;
 
     if (S3Owner.hasBucketOwnershipVerificationConditions(getHeaders())) {
       String sourceBucketOwner = volume.getBucket(sourceBucket).getOwner();
@@ -1166,15 +1302,24 @@ private CopyObjectResponse copyObject(OzoneVolume volume,
         throw ex;
       }
 
-      try (OzoneInputStream src = getClientProtocol().getKey(volume.getName(),
-          sourceBucket, sourceKey)) {
-        getMetrics().updateCopyKeyMetadataStats(startNanos);
-        sourceDigestInputStream = new DigestInputStream(src, getMD5DigestInstance());
-        copy(volume, sourceDigestInputStream, sourceKeyLen, destkey, destBucket, replicationConfig,
-                customMetadata, perf, startNanos, tags, writeConditions);
+      // The source is read with the block locations already looked up.
+      // If enabled, its MD5 is not computed again if its ETag already is.
+      final String sourceETag = getOzoneConfiguration().getBoolean(
+          OZONE_S3G_COPY_REUSE_SOURCE_ETAG_ENABLED,
+          OZONE_S3G_COPY_REUSE_SOURCE_ETAG_ENABLED_DEFAULT)
+          ? getCopyableETag(sourceKeyDetails) : null;
+      if (!copyInOzoneManager(volume.getName(), sourceBucket, sourceKey,
+          sourceKeyDetails, destBucket, destkey, replicationConfig,
+          customMetadata, tags, writeConditions)) {
+        try (OzoneInputStream src = sourceKeyDetails.getContent()) {
+          getMetrics().updateCopyKeyMetadataStats(startNanos);
+          copy(volume, src, sourceETag, sourceKeyLen, destkey, destBucket,
+              replicationConfig, customMetadata, perf, startNanos, tags,
+              writeConditions);
+        }
       }
 
-      final OzoneKeyDetails destKeyDetails = getClientProtocol().getKeyDetails(
+      final OzoneKey destKeyDetails = getClientProtocol().headObject(
           volume.getName(), destBucket, destkey);
 
       getMetrics().updateCopyObjectSuccessStats(startNanos);
@@ -1197,12 +1342,6 @@ private CopyObjectResponse copyObject(OzoneVolume volume,
         throw newError(PRECOND_FAILED, destkey, ex);
       }
       throw newError(destBucket + "/" + destkey, ex);
-    } finally {
-      // Reset the thread-local message digest instance in case of exception
-      // and MessageDigest#digest is never called
-      if (sourceDigestInputStream != null) {
-        sourceDigestInputStream.getMessageDigest().reset();
-      }
     }
   }
 
@@ -24,9 +24,10 @@
 import static org.apache.hadoop.ozone.s3.util.S3Utils.wrapInQuotes;
 
 import java.io.IOException;
-import java.security.DigestInputStream;
+import java.io.InputStream;
 import java.security.MessageDigest;
 import java.util.Map;
+import java.util.function.Supplier;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.xml.bind.DatatypeConverter;
@@ -177,7 +178,8 @@ public static long copyKeyWithStream(
       int bufferSize,
       ReplicationConfig replicationConfig,
       Map<String, String> keyMetadata,
-      DigestInputStream body, PerformanceStringBuilder perf, long startNanos,
+      InputStream body, Supplier<String> eTag,
+      PerformanceStringBuilder perf, long startNanos,
       Map<String, String> tags,
       S3ConditionalRequest.WriteConditions writeConditions)
       throws IOException {
@@ -189,10 +191,8 @@ public static long copyKeyWithStream(
       long metadataLatencyNs =
           METRICS.updateCopyKeyMetadataStats(startNanos);
       writeLen = writeGuard.copyFrom(body, bufferSize);
-      String eTag = DatatypeConverter.printHexBinary(body.getMessageDigest().digest())
-          .toLowerCase();
       perf.appendMetaLatencyNanos(metadataLatencyNs);
-      writeGuard.getMetadata().put(OzoneConsts.ETAG, eTag);
+      writeGuard.getMetadata().put(OzoneConsts.ETAG, eTag.get());
     }
     return writeLen;
   }
@@ -93,6 +93,15 @@ public final class S3GatewayMetrics implements Closeable, MetricsSource {
   private @Metric MutableCounterLong deleteKeySuccess;
   private @Metric MutableCounterLong deleteKeyFailure;
   private @Metric MutableCounterLong copyObjectSuccessLength;
+  @Metric(about = "Number of copied objects whose ETag was taken from the " +
+      "source instead of computing the MD5 of the copied data")
+  private MutableCounterLong copyObjectETagReused;
+  @Metric(about = "Number of objects and parts copied in OzoneManager by " +
+      "sharing the blocks of the source")
+  private MutableCounterLong copyObjectServerSide;
+  @Metric(about = "Number of copies which could not be done in " +
+      "OzoneManager and copied the data instead")
+  private MutableCounterLong copyObjectServerSideFallback;
   private @Metric MutableCounterLong putKeySuccessLength;
   private @Metric MutableCounterLong getKeySuccessLength;
   private @Metric MutableCounterLong getObjectTaggingSuccess;
@@ -436,6 +445,9 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     getKeyMetadataLatencyNs.snapshot(recordBuilder, true);
     copyKeyMetadataLatencyNs.snapshot(recordBuilder, true);
     copyObjectSuccessLength.snapshot(recordBuilder, true);
+    copyObjectETagReused.snapshot(recordBuilder, true);
+    copyObjectServerSide.snapshot(recordBuilder, true);
+    copyObjectServerSideFallback.snapshot(recordBuilder, true);
     putKeySuccessLength.snapshot(recordBuilder, true);
     getKeySuccessLength.snapshot(recordBuilder, true);
     listKeyCount.snapshot(recordBuilder, true);
@@ -680,6 +692,18 @@ public void incCopyObjectSuccessLength(long bytes) {
     copyObjectSuccessLength.incr(bytes);
   }
 
+  public void incCopyObjectETagReused() {
+    copyObjectETagReused.incr();
+  }
+
+  public void incCopyObjectServerSide() {
+    copyObjectServerSide.incr();
+  }
+
+  public void incCopyObjectServerSideFallback() {
+    copyObjectServerSideFallback.incr();
+  }
+
   public void incPutKeySuccessLength(long bytes) {
     putKeySuccessLength.incr(bytes);
   }
@@ -851,6 +875,18 @@ public long getCopyObjectFailure() {
     return copyObjectFailure.value();
   }
 
+  public long getCopyObjectETagReused() {
+    return copyObjectETagReused.value();
+  }
+
+  public long getCopyObjectServerSide() {
+    return copyObjectServerSide.value();
+  }
+
+  public long getCopyObjectServerSideFallback() {
+    return copyObjectServerSideFallback.value();
+  }
+
   public long getCreateKeyFailure() {
     return createKeyFailure.value();
   }
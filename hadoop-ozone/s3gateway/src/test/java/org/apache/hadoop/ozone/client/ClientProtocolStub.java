@@ -37,12 +37,16 @@
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
 import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
 import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
 import org.apache.hadoop.ozone.om.helpers.ErrorInfo;
 import org.apache.hadoop.ozone.om.helpers.LeaseKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmContentSummary;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartInfo;
 import org.apache.hadoop.ozone.om.helpers.OmMultipartUploadCompleteInfo;
 import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
@@ -253,6 +257,13 @@ public OzoneOutputStream createKey(String volumeName, String bucketName,
         .createKey(keyName, size, replicationConfig, metadata, tags);
   }
 
+  @Override
+  public OzoneOutputStream createParallelKey(String volumeName,
+      String bucketName, String keyName, ReplicationConfig replicationConfig,
+      Map<String, String> metadata) throws IOException {
+    return null;
+  }
+
   @Override
   public OzoneOutputStream rewriteKey(String volumeName, String bucketName, String keyName,
       long size, long existingKeyGeneration, ReplicationConfig replicationConfig,
@@ -906,4 +917,31 @@ public void putBucketTagging(String volumeName, String bucketName, Map<String, S
   public void deleteBucketTagging(String volumeName, String bucketName) throws IOException {
     getBucket(volumeName, bucketName).deleteBucketTagging();
   }
+
+  @Override
+  public OmContentSummary getContentSummary(String volumeName,
+      String bucketName, String keyName) throws IOException {
+    return null;
+  }
+
+  /**
+   * Copying in OzoneManager is not supported, like by an OzoneManager
+   * older than {@code OzoneManagerVersion.COPY_KEY}.
+   */
+  @Override
+  @SuppressWarnings("checkstyle:parameternumber")
+  public void copyKey(String volumeName, String srcBucketName,
+      String srcKeyName, String dstBucketName, String dstKeyName,
+      ReplicationConfig replicationConfig, Map<String, String> metadata,
+      Map<String, String> tags) throws IOException {
+    throw new OMException(ResultCodes.NOT_SUPPORTED_OPERATION);
+  }
+
+  @Override
+  @SuppressWarnings("checkstyle:parameternumber")
+  public OmMultipartCommitUploadPartInfo copyKeyToPart(String volumeName,
+      String srcBucketName, String srcKeyName, String dstBucketName,
+      String dstKeyName, String uploadID, int partNumber) throws IOException {
+    throw new OMException(ResultCodes.NOT_SUPPORTED_OPERATION);
+  }
 }
@@ -32,7 +32,15 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -54,6 +62,8 @@
 import org.apache.hadoop.ozone.client.OzoneClient;
 import org.apache.hadoop.ozone.client.OzoneClientStub;
 import org.apache.hadoop.ozone.client.OzoneMultipartUploadPartListParts;
+import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
+import org.apache.hadoop.ozone.om.helpers.OmMultipartCommitUploadPartInfo;
 import org.apache.hadoop.ozone.s3.endpoint.CompleteMultipartUploadRequest.Part;
 import org.apache.hadoop.ozone.s3.exception.OS3Exception;
 import org.apache.hadoop.ozone.s3.exception.S3ErrorTable;
@@ -378,7 +388,41 @@ public void testUploadWithRangeCopyContentLength()
     assertEquals(4, parts.getPartInfoList().get(0).getSize());
   }
 
-  private void setHeaders(Map<String, String> additionalHeaders) {
+  @Test
+  public void testUploadPartCopyInOzoneManager() throws Exception {
+    ClientProtocol clientProtocol = spy(client.getProxy());
+    OzoneClient copyClient = spy(client);
+    doReturn(clientProtocol).when(copyClient).getProxy();
+    ObjectEndpoint copyEndpoint = EndpointBuilder.newObjectEndpointBuilder()
+        .setHeaders(newHeaders(new HashMap<>()))
+        .setClient(copyClient)
+        .build();
+    String uploadID = initiateMultipartUpload(copyEndpoint, OzoneConsts.S3_BUCKET, KEY);
+    String eTag = DigestUtils.md5Hex(EXISTING_KEY_CONTENT);
+    // OzoneManager would share the blocks of the source with the part.
+    doReturn(new OmMultipartCommitUploadPartInfo("part1", eTag))
+        .when(clientProtocol).copyKeyToPart(anyString(),
+            eq(OzoneConsts.S3_BUCKET), eq(EXISTING_KEY),
+            eq(OzoneConsts.S3_BUCKET), eq(KEY), eq(uploadID), eq(1));
+    long serverSide = copyEndpoint.getMetrics().getCopyObjectServerSide();
+
+    Map<String, String> additionalHeaders = new HashMap<>();
+    additionalHeaders.put(COPY_SOURCE_HEADER,
+        OzoneConsts.S3_BUCKET + "/" + EXISTING_KEY);
+    copyEndpoint.setHeaders(newHeaders(additionalHeaders));
+    try (Response response = put(copyEndpoint, OzoneConsts.S3_BUCKET, KEY, 1, uploadID, "")) {
+      assertEquals(200, response.getStatus());
+      assertEquals("\"" + eTag + "\"",
+          ((CopyPartResult) response.getEntity()).getETag());
+    }
+
+    verify(clientProtocol, never()).createMultipartKey(anyString(),
+        anyString(), anyString(), anyLong(), anyInt(), anyString());
+    assertEquals(serverSide + 1,
+        copyEndpoint.getMetrics().getCopyObjectServerSide());
+  }
+
+  private static HttpHeaders newHeaders(Map<String, String> additionalHeaders) {
     HttpHeaders headers = mock(HttpHeaders.class);
     when(headers.getHeaderString(STORAGE_CLASS_HEADER)).thenReturn(
         "STANDARD");
@@ -387,7 +431,11 @@ private void setHeaders(Map<String, String> additionalHeaders) {
 
     additionalHeaders
         .forEach((k, v) -> when(headers.getHeaderString(k)).thenReturn(v));
-    endpoint.setHeaders(headers);
+    return headers;
+  }
+
+  private void setHeaders(Map<String, String> additionalHeaders) {
+    endpoint.setHeaders(newHeaders(additionalHeaders));
   }
 
   private void setHeaders() {
@@ -48,9 +48,15 @@
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -58,6 +64,7 @@
 
 import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -69,6 +76,7 @@
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
@@ -82,8 +90,11 @@
 import org.apache.hadoop.ozone.client.OzoneClient;
 import org.apache.hadoop.ozone.client.OzoneKeyDetails;
 import org.apache.hadoop.ozone.client.OzoneVolume;
+import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
+import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.s3.HeaderPreprocessor;
+import org.apache.hadoop.ozone.s3.S3GatewayConfigKeys;
 import org.apache.hadoop.ozone.s3.exception.OS3Exception;
 import org.apache.hadoop.ozone.s3.exception.S3ErrorTable;
 import org.apache.hadoop.ozone.s3.util.S3Consts;
@@ -418,6 +429,102 @@ void testContentTypeStoredAndCopied() throws Exception {
         destBucket.getKey(DEST_KEY).getMetadata().get(HttpHeaders.CONTENT_TYPE));
   }
 
+  @Test
+  void testCopyObjectReusesSourceETag() throws Exception {
+    objectEndpoint.getOzoneConfiguration().setBoolean(
+        S3GatewayConfigKeys.OZONE_S3G_COPY_REUSE_SOURCE_ETAG_ENABLED, true);
+    assertSucceeds(() -> putObject(CONTENT));
+    String sourceETag = bucket.getKey(KEY_NAME).getMetadata().get(OzoneConsts.ETAG);
+    long reused = objectEndpoint.getMetrics().getCopyObjectETagReused();
+
+    MessageDigest messageDigest = mock(MessageDigest.class);
+    try (MockedStatic<EndpointBase> endpoint =
+        mockStatic(EndpointBase.class, CALLS_REAL_METHODS)) {
+      // The MD5 of the copied data is not computed
+      endpoint.when(EndpointBase::getMD5DigestInstance).thenReturn(messageDigest);
+      doThrow(new RuntimeException("digest interrupted"))
+          .when(messageDigest).update(any(byte[].class), anyInt(), anyInt());
+
+      when(headers.getHeaderString(COPY_SOURCE_HEADER)).thenReturn(
+          BUCKET_NAME + "/" + urlEncode(KEY_NAME));
+      assertSucceeds(() -> put(objectEndpoint, DEST_BUCKET_NAME, DEST_KEY, CONTENT));
+    }
+
+    OzoneKeyDetails destKeyDetails = assertKeyContent(destBucket, DEST_KEY, CONTENT);
+    assertEquals(sourceETag, destKeyDetails.getMetadata().get(OzoneConsts.ETAG));
+    assertEquals(reused + 1, objectEndpoint.getMetrics().getCopyObjectETagReused());
+  }
+
+  @Test
+  void testCopyObjectInOzoneManager() throws Exception {
+    assertSucceeds(() -> putObject(CONTENT));
+    String sourceETag = bucket.getKey(KEY_NAME).getMetadata().get(OzoneConsts.ETAG);
+    long serverSide = objectEndpoint.getMetrics().getCopyObjectServerSide();
+    ClientProtocol clientProtocol = spy(objectEndpoint.getClientProtocol());
+    OzoneClient client = spy(objectEndpoint.getClient());
+    doReturn(clientProtocol).when(client).getProxy();
+    ObjectEndpoint endpoint = EndpointBuilder.newObjectEndpointBuilder()
+        .setHeaders(headers).setClient(client).build();
+    // OzoneManager would share the blocks, the stub only writes the copy.
+    doAnswer(invocation -> {
+      try (OzoneOutputStream out = destBucket.createKey(DEST_KEY, CONTENT.length(),
+          bucket.getKey(KEY_NAME).getReplicationConfig(), invocation.getArgument(6))) {
+        out.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+      }
+      return null;
+    }).when(clientProtocol).copyKey(anyString(), eq(BUCKET_NAME), eq(KEY_NAME),
+        eq(DEST_BUCKET_NAME), eq(DEST_KEY), any(), any(), any());
+
+    when(headers.getHeaderString(COPY_SOURCE_HEADER)).thenReturn(
+        BUCKET_NAME + "/" + urlEncode(KEY_NAME));
+    assertSucceeds(() -> put(endpoint, DEST_BUCKET_NAME, DEST_KEY, CONTENT));
+
+    verify(clientProtocol, never()).createKey(anyString(), anyString(), anyString(),
+        anyLong(), any(ReplicationConfig.class), any(), any());
+    OzoneKeyDetails destKeyDetails = assertKeyContent(destBucket, DEST_KEY, CONTENT);
+    assertEquals(sourceETag, destKeyDetails.getMetadata().get(OzoneConsts.ETAG));
+    assertEquals(serverSide + 1, objectEndpoint.getMetrics().getCopyObjectServerSide());
+  }
+
+  @Test
+  void testCopyObjectFallsBackToDataCopy() throws Exception {
+    assertSucceeds(() -> putObject(CONTENT));
+    long fallbacks = objectEndpoint.getMetrics().getCopyObjectServerSideFallback();
+
+    // ClientProtocolStub does not support copying in OzoneManager.
+    when(headers.getHeaderString(COPY_SOURCE_HEADER)).thenReturn(
+        BUCKET_NAME + "/" + urlEncode(KEY_NAME));
+    assertSucceeds(() -> put(objectEndpoint, DEST_BUCKET_NAME, DEST_KEY, CONTENT));
+
+    assertKeyContent(destBucket, DEST_KEY, CONTENT);
+    assertEquals(fallbacks + 1, objectEndpoint.getMetrics().getCopyObjectServerSideFallback());
+  }
+
+  @Test
+  void testCopyObjectWithoutSourceETag() throws Exception {
+    objectEndpoint.getOzoneConfiguration().setBoolean(
+        S3GatewayConfigKeys.OZONE_S3G_COPY_REUSE_SOURCE_ETAG_ENABLED, true);
+    putKeyWithoutETag();
+
+    when(headers.getHeaderString(COPY_SOURCE_HEADER)).thenReturn(
+        BUCKET_NAME + "/" + urlEncode(KEY_NAME));
+    assertSucceeds(() -> put(objectEndpoint, DEST_BUCKET_NAME, DEST_KEY, CONTENT));
+
+    // The ETag is computed from the copied data
+    OzoneKeyDetails destKeyDetails = assertKeyContent(destBucket, DEST_KEY, CONTENT);
+    assertEquals(DigestUtils.md5Hex(CONTENT),
+        destKeyDetails.getMetadata().get(OzoneConsts.ETAG));
+  }
+
+  /** Writes the key without an S3 ETag, e.g. like through ofs. */
+  private void putKeyWithoutETag() throws IOException {
+    try (OutputStream out = bucket.createKey(KEY_NAME, CONTENT.length())) {
+      out.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+    OzoneKeyDetails keyDetails = assertKeyContent(bucket, KEY_NAME, CONTENT);
+    assertThat(keyDetails.getMetadata()).doesNotContainKey(OzoneConsts.ETAG);
+  }
+
   @Test
   public void testCopyObjectMessageDigestResetDuringException() throws Exception {
     assertSucceeds(() -> putObject(CONTENT));
@@ -22,6 +22,8 @@
 import static org.apache.hadoop.hdds.utils.HddsServerUtil.getScmRpcRetryCount;
 import static org.apache.hadoop.hdds.utils.HddsServerUtil.getScmRpcRetryInterval;
 
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -102,6 +104,11 @@
  * - ozone.scm.stale.node.interval: 1d
  * - ozone.scm.dead.node.interval: 2d
  * These make the faked datanodes long live.
+ *
+ * To compare the lock-free writable container selection of SCM with the
+ * locked one, run AllocateBlocks with ozone.scm.container.ring.enabled set
+ * to true and to false in the SCM, using --num-owners to simulate the
+ * block allocations of several OMs.
  */
 @CommandLine.Command(name = "scm-throughput-benchmark",
     aliases = "stb",
@@ -136,6 +143,12 @@ public final class SCMThroughputBenchmark implements Callable<Void>, VaporSubcom
       defaultValue = "4096")
   private long blockSize = 4096;
 
+  @CommandLine.Option(names = {"--num-owners"},
+      description = "Number of container owners allocating blocks, " +
+          "e.g. the number of OMs.",
+      defaultValue = "1")
+  private int numOwners = 1;
+
   @CommandLine.Option(names = {"--num-containers"},
       description = "Number of containers.",
       defaultValue = "100")
@@ -194,7 +207,8 @@ private ThroughputBenchmark createBenchmark() {
     BenchmarkType type = BenchmarkType.valueOf(benchmarkType);
     switch (type) {
     case AllocateBlocks:
-      benchmark = new BlockBenchmark(numThreads, numBlocks, blockSize);
+      benchmark = new BlockBenchmark(numThreads, numBlocks, blockSize,
+          numOwners);
       break;
     case AllocateContainers:
       benchmark = new ContainerBenchmark(numThreads, numContainers);
@@ -430,13 +444,16 @@ private class BlockBenchmark extends ThroughputBenchmark {
     private AtomicLong totalBlockCounter;
     private AtomicLong succBlockCounter;
     private AtomicLong failBlockCounter;
+    private final Timer allocateBlockTimer = new Timer();
     private int totalBlocks;
     private long blockSize;
+    private int owners;
 
-    BlockBenchmark(int threads, int blocks, long blockSize) {
+    BlockBenchmark(int threads, int blocks, long blockSize, int owners) {
       super(threads);
       this.totalBlocks = blocks;
       this.blockSize = blockSize;
+      this.owners = Math.max(1, owners);
       this.totalBlockCounter = new AtomicLong();
       this.succBlockCounter = new AtomicLong();
       this.failBlockCounter = new AtomicLong();
@@ -456,7 +473,8 @@ public boolean requiresPipelines() {
     public void prepare() {
       super.prepare();
       for (int i = 0; i < getNumThreads(); i++) {
-        enqueueTask(new BlockTask(blockSize, replicationConfig));
+        enqueueTask(new BlockTask(blockSize, replicationConfig,
+            "STB" + (i % owners)));
       }
     }
 
@@ -476,9 +494,19 @@ public void showSummary() {
           failBlockCounter.get());
       System.out.printf("Execution Time: %s%n", getFormattedTime());
       System.out.printf("Throughput: %f (ops)%n", blocksPerSec);
+      Snapshot latency = allocateBlockTimer.getSnapshot();
+      System.out.printf("Owners: %d%n", owners);
+      System.out.printf("Latency (ms): mean %.3f, p50 %.3f, p99 %.3f, " +
+              "max %.3f%n", toMillis(latency.getMean()),
+          toMillis(latency.getMedian()), toMillis(latency.get99thPercentile()),
+          toMillis(latency.getMax()));
       System.out.println("***************************************");
     }
 
+    private double toMillis(double nanos) {
+      return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
     @Override
     public void waitForComplete() throws InterruptedException {
       while (totalBlockCounter.get() < this.totalBlocks) {
@@ -488,9 +516,10 @@ public void waitForComplete() throws InterruptedException {
       }
     }
 
-    private void doAllocateBlock(long size, ReplicationConfig config) {
-      try {
-        scmBlockClient.allocateBlock(size, 1, config, "STB", excludeList);
+    private void doAllocateBlock(long size, ReplicationConfig config,
+        String owner) {
+      try (Timer.Context ignored = allocateBlockTimer.time()) {
+        scmBlockClient.allocateBlock(size, 1, config, owner, excludeList);
         succBlockCounter.incrementAndGet();
       } catch (IOException e) {
         LOG.error("Failed to allocate block", e);
@@ -502,16 +531,19 @@ private class BlockTask implements Runnable {
 
       private final long blockSize;
       private final ReplicationConfig replicationConfig;
+      private final String owner;
 
-      BlockTask(long blockSize, ReplicationConfig replicationConfig) {
+      BlockTask(long blockSize, ReplicationConfig replicationConfig,
+          String owner) {
         this.blockSize = blockSize;
         this.replicationConfig = replicationConfig;
+        this.owner = owner;
       }
 
       @Override
       public void run() {
         while (totalBlockCounter.getAndIncrement() < totalBlocks) {
-          doAllocateBlock(blockSize, replicationConfig);
+          doAllocateBlock(blockSize, replicationConfig, owner);
         }
       }
     }